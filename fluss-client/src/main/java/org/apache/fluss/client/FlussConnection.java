@@ -19,11 +19,13 @@ package org.apache.fluss.client;
 
 import org.apache.fluss.client.admin.Admin;
 import org.apache.fluss.client.admin.FlussAdmin;
+import org.apache.fluss.client.lookup.LookupCacheInvalidator;
 import org.apache.fluss.client.lookup.LookupClient;
 import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.client.table.FlussTable;
 import org.apache.fluss.client.table.Table;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
+import org.apache.fluss.client.table.scanner.log.LogScannerImpl;
 import org.apache.fluss.client.token.DefaultSecurityTokenManager;
 import org.apache.fluss.client.token.DefaultSecurityTokenProvider;
 import org.apache.fluss.client.token.SecurityTokenManager;
@@ -40,10 +42,14 @@ import org.apache.fluss.rpc.GatewayClientProxy;
 import org.apache.fluss.rpc.RpcClient;
 import org.apache.fluss.rpc.gateway.AdminReadOnlyGateway;
 import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+import org.apache.fluss.utils.MapUtils;
+
+import javax.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.fluss.client.utils.MetadataUtils.getOneAvailableTabletServerNode;
 import static org.apache.fluss.config.FlussConfigUtils.CLIENT_PREFIX;
@@ -62,6 +68,10 @@ public final class FlussConnection implements Connection {
     private volatile RemoteFileDownloader remoteFileDownloader;
     private volatile SecurityTokenManager securityTokenManager;
 
+    /** The invalidators of the lookup cache by table id. */
+    private final Map<Long, LookupCacheInvalidator> lookupCacheInvalidators =
+            MapUtils.newConcurrentHashMap();
+
     FlussConnection(Configuration conf) {
         this(conf, MetricRegistry.create(conf, null));
     }
@@ -133,13 +143,42 @@ public final class FlussConnection implements Connection {
         if (lookupClient == null) {
             synchronized (this) {
                 if (lookupClient == null) {
-                    lookupClient = new LookupClient(conf, metadataUpdater);
+                    lookupClient = new LookupClient(conf, metadataUpdater, clientMetricGroup);
                 }
             }
         }
         return lookupClient;
     }
 
+    /**
+     * Returns the invalidator of the cached lookup results of the table, or {@code null} if the
+     * lookup cache or the changelog invalidation of the lookup cache is disabled.
+     */
+    @Nullable
+    public LookupCacheInvalidator getOrCreateLookupCacheInvalidator(TableInfo tableInfo) {
+        if (!conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_ENABLED)
+                || !conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_CHANGELOG_INVALIDATION_ENABLED)
+                || !tableInfo.hasPrimaryKey()) {
+            return null;
+        }
+        return lookupCacheInvalidators.computeIfAbsent(
+                tableInfo.getTableId(),
+                tableId ->
+                        new LookupCacheInvalidator(
+                                tableInfo,
+                                getOrCreateLookupClient().getLookupCache(),
+                                new LogScannerImpl(
+                                        conf,
+                                        tableInfo,
+                                        metadataUpdater,
+                                        clientMetricGroup,
+                                        getOrCreateRemoteFileDownloader(),
+                                        null,
+                                        null),
+                                getAdmin(),
+                                metadataUpdater));
+    }
+
     public RemoteFileDownloader getOrCreateRemoteFileDownloader() {
         if (remoteFileDownloader == null) {
             synchronized (this) {
@@ -181,6 +220,10 @@ public final class FlussConnection implements Connection {
             writerClient.close(Duration.ofMillis(Long.MAX_VALUE));
         }
 
+        for (LookupCacheInvalidator lookupCacheInvalidator : lookupCacheInvalidators.values()) {
+            lookupCacheInvalidator.close();
+        }
+
         if (lookupClient != null) {
             // timeout is Long.MAX_VALUE to make the pending get request
             // to be processed
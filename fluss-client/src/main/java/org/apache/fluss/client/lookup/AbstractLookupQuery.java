@@ -20,6 +20,8 @@ package org.apache.fluss.client.lookup;
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.metadata.TableBucket;
 
+import javax.annotation.Nullable;
+
 import java.util.concurrent.CompletableFuture;
 
 /** Abstract Class to represent a lookup operation. */
@@ -28,10 +30,14 @@ public abstract class AbstractLookupQuery<T> {
 
     private final TableBucket tableBucket;
     private final byte[] key;
+    /** The projected fields of the lookup values. No projection if is null. */
+    @Nullable private final int[] projectedFields;
 
-    public AbstractLookupQuery(TableBucket tableBucket, byte[] key) {
+    public AbstractLookupQuery(
+            TableBucket tableBucket, byte[] key, @Nullable int[] projectedFields) {
         this.tableBucket = tableBucket;
         this.key = key;
+        this.projectedFields = projectedFields;
     }
 
     public byte[] key() {
@@ -42,6 +48,11 @@ public abstract class AbstractLookupQuery<T> {
         return tableBucket;
     }
 
+    @Nullable
+    public int[] projectedFields() {
+        return projectedFields;
+    }
+
     public abstract LookupType lookupType();
 
     public abstract CompletableFuture<T> future();
@@ -19,6 +19,8 @@ package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.annotation.PublicEvolving;
 
+import javax.annotation.Nullable;
+
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,7 +30,7 @@ import java.util.List;
  * that lookups by the prefix key of the primary key.
  *
  * <p>{@link Lookup} objects are immutable and can be shared between threads. Refinement methods,
- * like {@link #lookupBy}, create new Lookup instances.
+ * like {@link #lookupBy} and {@link #project}, create new Lookup instances.
  *
  * <p>Example1: Create a Primary Key Lookuper. Given a table with primary key column [k STRING].
  *
@@ -88,6 +90,23 @@ public interface Lookup {
         return lookupBy(Arrays.asList(lookupColumnNames));
     }
 
+    /**
+     * Returns a new Lookup instance that will return the given columns of the looked up rows. The
+     * projection is pushed down to the server, so only the projected columns are transferred.
+     *
+     * <p>Note: if the lookup cache of the client is enabled, the primary key lookuper still looks
+     * up and caches the whole rows, and the rows are projected in the client.
+     *
+     * @param projectedColumns the selected column indexes, no projection if is null
+     */
+    Lookup project(@Nullable int[] projectedColumns);
+
+    /**
+     * @see #project(int[]) for more details.
+     * @param projectedColumnNames the selected column names
+     */
+    Lookup project(List<String> projectedColumnNames);
+
     /**
      * Creates a {@link Lookuper} instance to lookup rows of a primary key table by the specified
      * lookup columns. By default, the lookup columns are the primary key columns, but can be
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.client.metrics.LookupMetricGroup;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.clock.SystemClock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the primary key lookup results of a lookup client, which is keyed by the table bucket
+ * and the encoded primary key. The cache is bounded by the estimated size of the cached keys and
+ * values, the least recently used results are evicted once the bound is exceeded, and the results
+ * expire after the configured ttl since they are written to the cache. The missing keys are cached
+ * too, which is represented by a {@code null} value.
+ *
+ * <p>A lookup fills the cache by {@link #startLoad} before sending the lookup request and {@link
+ * Load#complete} once the result is received. If the key is {@link #invalidate invalidated} in
+ * between, the received result may be older than the invalidating change, so it is not cached.
+ */
+@Internal
+@ThreadSafe
+public class LookupCache {
+
+    /** The estimated memory overhead of a cached result besides its key and value bytes. */
+    @VisibleForTesting static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final long maxSizeInBytes;
+    private final long ttlMs;
+    private final Clock clock;
+    private final LookupMetricGroup metricGroup;
+
+    private final Object lock = new Object();
+
+    /** The cached results in access order, the first one is the least recently used. */
+    @GuardedBy("lock")
+    private final LinkedHashMap<CacheKey, CachedValue> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The keys that are being looked up from server. */
+    @GuardedBy("lock")
+    private final Map<CacheKey, PendingLoad> pendingLoads = new HashMap<>();
+
+    @GuardedBy("lock")
+    private long sizeInBytes;
+
+    public LookupCache(Configuration conf, LookupMetricGroup metricGroup) {
+        this(
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_MAX_SIZE).getBytes(),
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_TTL).toMillis(),
+                SystemClock.getInstance(),
+                metricGroup);
+    }
+
+    @VisibleForTesting
+    LookupCache(long maxSizeInBytes, long ttlMs, Clock clock, LookupMetricGroup metricGroup) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+        this.metricGroup = metricGroup;
+        metricGroup.registerCacheGauges(this);
+    }
+
+    /**
+     * Gets the cached result of the key, returns {@code null} if the result is not cached or has
+     * expired.
+     */
+    @Nullable
+    public CachedValue get(TableBucket tableBucket, byte[] key) {
+        CacheKey cacheKey = new CacheKey(tableBucket, key);
+        synchronized (lock) {
+            CachedValue cachedValue = entries.get(cacheKey);
+            if (cachedValue != null && cachedValue.expireTimeMs <= clock.milliseconds()) {
+                removeEntry(cacheKey);
+                cachedValue = null;
+            }
+            if (cachedValue == null) {
+                metricGroup.cacheMissCount().inc();
+            } else {
+                metricGroup.cacheHitCount().inc();
+            }
+            return cachedValue;
+        }
+    }
+
+    /**
+     * Starts to load the result of the key from server, the returned {@link Load} must be completed
+     * or aborted once the lookup request is finished.
+     */
+    public Load startLoad(TableBucket tableBucket, byte[] key) {
+        CacheKey cacheKey = new CacheKey(tableBucket, key);
+        synchronized (lock) {
+            PendingLoad pendingLoad =
+                    pendingLoads.computeIfAbsent(cacheKey, k -> new PendingLoad());
+            pendingLoad.numLoads++;
+            return new Load(cacheKey, pendingLoad, pendingLoad.numInvalidations);
+        }
+    }
+
+    /**
+     * Removes the cached result of the key, and prevents the results of the in-flight lookups of
+     * the key from being cached.
+     */
+    public void invalidate(TableBucket tableBucket, byte[] key) {
+        CacheKey cacheKey = new CacheKey(tableBucket, key);
+        synchronized (lock) {
+            PendingLoad pendingLoad = pendingLoads.get(cacheKey);
+            if (pendingLoad != null) {
+                pendingLoad.numInvalidations++;
+            }
+            if (removeEntry(cacheKey)) {
+                metricGroup.cacheInvalidationCount().inc();
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached results of the table, and prevents the results of the in-flight
+     * lookups of the table from being cached.
+     */
+    public void invalidateTable(long tableId) {
+        synchronized (lock) {
+            for (Map.Entry<CacheKey, PendingLoad> pendingLoad : pendingLoads.entrySet()) {
+                if (pendingLoad.getKey().tableBucket.getTableId() == tableId) {
+                    pendingLoad.getValue().numInvalidations++;
+                }
+            }
+            Iterator<Map.Entry<CacheKey, CachedValue>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<CacheKey, CachedValue> entry = iterator.next();
+                if (entry.getKey().tableBucket.getTableId() == tableId) {
+                    iterator.remove();
+                    sizeInBytes -= entry.getValue().sizeInBytes;
+                    metricGroup.cacheInvalidationCount().inc();
+                }
+            }
+        }
+    }
+
+    public long sizeInBytes() {
+        synchronized (lock) {
+            return sizeInBytes;
+        }
+    }
+
+    public int numEntries() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean removeEntry(CacheKey cacheKey) {
+        CachedValue removed = entries.remove(cacheKey);
+        if (removed != null) {
+            sizeInBytes -= removed.sizeInBytes;
+            return true;
+        }
+        return false;
+    }
+
+    @GuardedBy("lock")
+    private void finishLoad(Load load, boolean cacheable, @Nullable byte[] value) {
+        load.pendingLoad.numLoads--;
+        if (load.pendingLoad.numLoads == 0) {
+            pendingLoads.remove(load.cacheKey);
+        }
+        if (!cacheable || load.pendingLoad.numInvalidations != load.numInvalidations) {
+            return;
+        }
+
+        long entrySize =
+                load.cacheKey.key.length
+                        + (value == null ? 0 : value.length)
+                        + (long) ENTRY_OVERHEAD_BYTES;
+        if (entrySize > maxSizeInBytes) {
+            return;
+        }
+        removeEntry(load.cacheKey);
+        entries.put(load.cacheKey, new CachedValue(value, entrySize, clock.milliseconds() + ttlMs));
+        sizeInBytes += entrySize;
+
+        // evict the least recently used results
+        Iterator<CachedValue> iterator = entries.values().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            sizeInBytes -= iterator.next().sizeInBytes;
+            iterator.remove();
+            metricGroup.cacheEvictionCount().inc();
+        }
+    }
+
+    /** A cached lookup result. */
+    public static final class CachedValue {
+        private final @Nullable byte[] value;
+        private final long sizeInBytes;
+        private final long expireTimeMs;
+
+        private CachedValue(@Nullable byte[] value, long sizeInBytes, long expireTimeMs) {
+            this.value = value;
+            this.sizeInBytes = sizeInBytes;
+            this.expireTimeMs = expireTimeMs;
+        }
+
+        /** Returns the value bytes of the key, or {@code null} if the key doesn't exist. */
+        @Nullable
+        public byte[] value() {
+            return value;
+        }
+    }
+
+    /** A load of a key from server which fills the cache once it is completed. */
+    public final class Load {
+        private final CacheKey cacheKey;
+        private final PendingLoad pendingLoad;
+        private final long numInvalidations;
+
+        private Load(CacheKey cacheKey, PendingLoad pendingLoad, long numInvalidations) {
+            this.cacheKey = cacheKey;
+            this.pendingLoad = pendingLoad;
+            this.numInvalidations = numInvalidations;
+        }
+
+        /** Caches the looked up value if the key is not invalidated since the load started. */
+        public void complete(@Nullable byte[] value) {
+            synchronized (lock) {
+                finishLoad(this, true, value);
+            }
+        }
+
+        /** Aborts the load when the lookup is failed. */
+        public void abort() {
+            synchronized (lock) {
+                finishLoad(this, false, null);
+            }
+        }
+    }
+
+    /** The state of the in-flight lookups of a key. */
+    private static final class PendingLoad {
+        private int numLoads;
+        private long numInvalidations;
+    }
+
+    private static final class CacheKey {
+        private final TableBucket tableBucket;
+        private final byte[] key;
+        private final int hashCode;
+
+        private CacheKey(TableBucket tableBucket, byte[] key) {
+            this.tableBucket = tableBucket;
+            this.key = key;
+            this.hashCode = 31 * tableBucket.hashCode() + Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return tableBucket.equals(that.tableBucket) && Arrays.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.client.admin.Admin;
+import org.apache.fluss.client.admin.OffsetSpec;
+import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.table.scanner.ScanRecord;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
+import org.apache.fluss.client.table.scanner.log.ScanRecords;
+import org.apache.fluss.metadata.DataLakeFormat;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidates the cached lookup results of a table in the {@link LookupCache} by tailing the
+ * changelog of the table.
+ *
+ * <p>The changelog of a bucket is subscribed from the latest offset of the bucket when the bucket
+ * is looked up for the first time, and the results of a bucket are only allowed to be cached once
+ * the bucket is subscribed, as the changes before are not tracked. Every change of a key in the
+ * changelog then invalidates the cached result of the key. If the changelog can't be read anymore,
+ * all the cached results of the table are invalidated and the table is not cached anymore.
+ */
+@Internal
+@ThreadSafe
+public class LookupCacheInvalidator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LookupCacheInvalidator.class);
+
+    public static final String INVALIDATOR_THREAD_PREFIX = "fluss-lookup-cache-invalidator";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final TableInfo tableInfo;
+    private final LookupCache cache;
+    private final LogScanner logScanner;
+    private final Admin admin;
+    private final MetadataUpdater metadataUpdater;
+
+    /** Encodes the primary key of the changelog the same way as the lookup key is encoded. */
+    private final KeyEncoder primaryKeyEncoder;
+
+    /** The buckets whose changelog is subscribed, the results of them can be cached. */
+    private final Set<TableBucket> trackedBuckets = ConcurrentHashMap.newKeySet();
+
+    /** The buckets whose latest offset is requested or already subscribed. */
+    private final Set<TableBucket> requestedBuckets = ConcurrentHashMap.newKeySet();
+
+    /** The subscriptions to be done by the invalidator thread, as the log scanner isn't shared. */
+    private final Queue<Subscription> pendingSubscriptions = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService invalidatorThread;
+
+    private volatile boolean running = true;
+
+    public LookupCacheInvalidator(
+            TableInfo tableInfo,
+            LookupCache cache,
+            LogScanner logScanner,
+            Admin admin,
+            MetadataUpdater metadataUpdater) {
+        this.tableInfo = tableInfo;
+        this.cache = cache;
+        this.logScanner = logScanner;
+        this.admin = admin;
+        this.metadataUpdater = metadataUpdater;
+        DataLakeFormat lakeFormat = tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
+        this.primaryKeyEncoder =
+                KeyEncoder.of(
+                        tableInfo.getRowType(), tableInfo.getPhysicalPrimaryKeys(), lakeFormat);
+        this.invalidatorThread =
+                Executors.newSingleThreadExecutor(
+                        new ExecutorThreadFactory(INVALIDATOR_THREAD_PREFIX));
+        invalidatorThread.submit(this::runInvalidation);
+    }
+
+    /**
+     * Returns whether the changes of the bucket are tracked, so that the lookup results of the
+     * bucket can be cached. If not, starts to track the bucket asynchronously.
+     */
+    public boolean isTracking(TableBucket tableBucket) {
+        if (trackedBuckets.contains(tableBucket)) {
+            return true;
+        }
+        if (running && requestedBuckets.add(tableBucket)) {
+            requestLatestOffset(tableBucket);
+        }
+        return false;
+    }
+
+    private void requestLatestOffset(TableBucket tableBucket) {
+        Set<Integer> buckets = Collections.singleton(tableBucket.getBucket());
+        OffsetSpec latest = new OffsetSpec.LatestSpec();
+        (tableBucket.getPartitionId() == null
+                        ? admin.listOffsets(tableInfo.getTablePath(), buckets, latest)
+                        : admin.listOffsets(
+                                tableInfo.getTablePath(),
+                                metadataUpdater
+                                        .getCluster()
+                                        .getPartitionNameOrElseThrow(tableBucket.getPartitionId()),
+                                buckets,
+                                latest))
+                .bucketResult(tableBucket.getBucket())
+                .whenComplete(
+                        (offset, throwable) -> {
+                            if (throwable != null) {
+                                LOG.warn(
+                                        "Failed to list the latest offset of {}, "
+                                                + "will retry on the next lookup.",
+                                        tableBucket,
+                                        throwable);
+                                requestedBuckets.remove(tableBucket);
+                            } else {
+                                pendingSubscriptions.add(new Subscription(tableBucket, offset));
+                            }
+                        });
+    }
+
+    private void runInvalidation() {
+        try {
+            while (running) {
+                Subscription subscription;
+                while ((subscription = pendingSubscriptions.poll()) != null) {
+                    TableBucket tableBucket = subscription.tableBucket;
+                    if (tableBucket.getPartitionId() == null) {
+                        logScanner.subscribe(tableBucket.getBucket(), subscription.offset);
+                    } else {
+                        logScanner.subscribe(
+                                tableBucket.getPartitionId(),
+                                tableBucket.getBucket(),
+                                subscription.offset);
+                    }
+                    trackedBuckets.add(tableBucket);
+                }
+
+                if (trackedBuckets.isEmpty()) {
+                    Thread.sleep(POLL_TIMEOUT.toMillis());
+                    continue;
+                }
+                ScanRecords scanRecords = logScanner.poll(POLL_TIMEOUT);
+                for (TableBucket tableBucket : scanRecords.buckets()) {
+                    for (ScanRecord record : scanRecords.records(tableBucket)) {
+                        // the update after record of an update invalidates the same key
+                        if (record.getChangeType() != ChangeType.UPDATE_BEFORE) {
+                            cache.invalidate(
+                                    tableBucket, primaryKeyEncoder.encodeKey(record.getRow()));
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            if (running) {
+                LOG.error(
+                        "Failed to read the changelog of table {}, "
+                                + "stop caching the lookup results of the table.",
+                        tableInfo.getTablePath(),
+                        t);
+            }
+        } finally {
+            running = false;
+            trackedBuckets.clear();
+            cache.invalidateTable(tableInfo.getTableId());
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        running = false;
+        logScanner.wakeup();
+        invalidatorThread.shutdown();
+        if (!invalidatorThread.awaitTermination(
+                POLL_TIMEOUT.toMillis() * 10, TimeUnit.MILLISECONDS)) {
+            invalidatorThread.shutdownNow();
+        }
+        logScanner.close();
+        admin.close();
+    }
+
+    private static final class Subscription {
+        private final TableBucket tableBucket;
+        private final long offset;
+
+        private Subscription(TableBucket tableBucket, long offset) {
+            this.tableBucket = tableBucket;
+            this.offset = offset;
+        }
+    }
+}
@@ -19,14 +19,17 @@ package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.metrics.LookupMetricGroup;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
 import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.time.Duration;
@@ -46,6 +49,9 @@ import java.util.concurrent.TimeUnit;
  * <p>The {@link #lookup(TableBucket, byte[])} method is asynchronous, when called, it adds the
  * lookup operation to a queue of pending lookup operations and immediately returns. This allows the
  * lookup operations to batch together individual lookup operations for efficiency.
+ *
+ * <p>If {@link ConfigOptions#CLIENT_LOOKUP_CACHE_ENABLED} is set, the lookup client holds a {@link
+ * LookupCache} shared by all the primary key lookupers of the connection.
  */
 @ThreadSafe
 @Internal
@@ -60,8 +66,17 @@ public class LookupClient {
     private final ExecutorService lookupSenderThreadPool;
     private final LookupSender lookupSender;
 
-    public LookupClient(Configuration conf, MetadataUpdater metadataUpdater) {
+    @Nullable private final LookupCache lookupCache;
+
+    public LookupClient(
+            Configuration conf,
+            MetadataUpdater metadataUpdater,
+            ClientMetricGroup clientMetricGroup) {
         this.lookupQueue = new LookupQueue(conf);
+        this.lookupCache =
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_ENABLED)
+                        ? new LookupCache(conf, new LookupMetricGroup(clientMetricGroup))
+                        : null;
         this.lookupSenderThreadPool = createThreadPool();
         this.lookupSender =
                 new LookupSender(
@@ -77,14 +92,39 @@ public class LookupClient {
         return Executors.newFixedThreadPool(1, new ExecutorThreadFactory(LOOKUP_THREAD_PREFIX));
     }
 
+    /** Returns the lookup cache, or {@code null} if the lookup cache is disabled. */
+    @Nullable
+    public LookupCache getLookupCache() {
+        return lookupCache;
+    }
+
     public CompletableFuture<byte[]> lookup(TableBucket tableBucket, byte[] keyBytes) {
-        LookupQuery lookup = new LookupQuery(tableBucket, keyBytes);
+        return lookup(tableBucket, keyBytes, null);
+    }
+
+    /**
+     * Lookups the value of the key, the value is projected to the given fields by the server if the
+     * projection isn't null.
+     */
+    public CompletableFuture<byte[]> lookup(
+            TableBucket tableBucket, byte[] keyBytes, @Nullable int[] projectedFields) {
+        LookupQuery lookup = new LookupQuery(tableBucket, keyBytes, projectedFields);
         lookupQueue.appendLookup(lookup);
         return lookup.future();
     }
 
     public CompletableFuture<List<byte[]>> prefixLookup(TableBucket tableBucket, byte[] keyBytes) {
-        PrefixLookupQuery prefixLookup = new PrefixLookupQuery(tableBucket, keyBytes);
+        return prefixLookup(tableBucket, keyBytes, null);
+    }
+
+    /**
+     * Lookups the values of the prefix key, the values are projected to the given fields by the
+     * server if the projection isn't null.
+     */
+    public CompletableFuture<List<byte[]>> prefixLookup(
+            TableBucket tableBucket, byte[] keyBytes, @Nullable int[] projectedFields) {
+        PrefixLookupQuery prefixLookup =
+                new PrefixLookupQuery(tableBucket, keyBytes, projectedFields);
         lookupQueue.appendLookup(prefixLookup);
         return prefixLookup.future();
     }
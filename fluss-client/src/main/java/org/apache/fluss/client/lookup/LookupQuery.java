@@ -20,6 +20,8 @@ package org.apache.fluss.client.lookup;
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.metadata.TableBucket;
 
+import javax.annotation.Nullable;
+
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -32,7 +34,11 @@ public class LookupQuery extends AbstractLookupQuery<byte[]> {
     private final CompletableFuture<byte[]> future;
 
     LookupQuery(TableBucket tableBucket, byte[] key) {
-        super(tableBucket, key);
+        this(tableBucket, key, null);
+    }
+
+    LookupQuery(TableBucket tableBucket, byte[] key, @Nullable int[] projectedFields) {
+        super(tableBucket, key, projectedFields);
         this.future = new CompletableFuture<>();
     }
 
@@ -22,6 +22,8 @@ import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.exception.LeaderNotAvailableException;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.row.encode.ValueProjector;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
@@ -36,6 +38,8 @@ import org.apache.fluss.utils.types.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -165,47 +169,59 @@ class LookupSender implements Runnable {
 
     private void sendLookupRequest(
             TabletServerGateway gateway, List<AbstractLookupQuery<?>> lookups) {
-        // table id -> (bucket -> lookups)
-        Map<Long, Map<TableBucket, LookupBatch>> lookupByTableId = new HashMap<>();
+        // <table id, projection> -> (bucket -> lookups), the projection is compared by reference
+        // as the lookups of the same lookuper share the same projection array
+        Map<Tuple2<Long, int[]>, Map<TableBucket, LookupBatch>> lookupByTableId = new HashMap<>();
         for (AbstractLookupQuery<?> abstractLookupQuery : lookups) {
             LookupQuery lookup = (LookupQuery) abstractLookupQuery;
             TableBucket tb = lookup.tableBucket();
             long tableId = tb.getTableId();
             lookupByTableId
-                    .computeIfAbsent(tableId, k -> new HashMap<>())
+                    .computeIfAbsent(
+                            Tuple2.of(tableId, lookup.projectedFields()), k -> new HashMap<>())
                     .computeIfAbsent(tb, k -> new LookupBatch(tb))
                     .addLookup(lookup);
         }
 
         lookupByTableId.forEach(
-                (tableId, lookupsByBucket) ->
+                (tableIdAndProjection, lookupsByBucket) ->
                         sendLookupRequestAndHandleResponse(
                                 gateway,
-                                makeLookupRequest(tableId, lookupsByBucket.values()),
-                                tableId,
+                                makeLookupRequest(
+                                        tableIdAndProjection.f0,
+                                        tableIdAndProjection.f1,
+                                        lookupsByBucket.values()),
+                                tableIdAndProjection.f0,
                                 lookupsByBucket));
     }
 
     private void sendPrefixLookupRequest(
             TabletServerGateway gateway, List<AbstractLookupQuery<?>> prefixLookups) {
-        // table id -> (bucket -> lookups)
-        Map<Long, Map<TableBucket, PrefixLookupBatch>> lookupByTableId = new HashMap<>();
+        // <table id, projection> -> (bucket -> lookups), the projection is compared by reference
+        // as the lookups of the same lookuper share the same projection array
+        Map<Tuple2<Long, int[]>, Map<TableBucket, PrefixLookupBatch>> lookupByTableId =
+                new HashMap<>();
         for (AbstractLookupQuery<?> abstractLookupQuery : prefixLookups) {
             PrefixLookupQuery prefixLookup = (PrefixLookupQuery) abstractLookupQuery;
             TableBucket tb = prefixLookup.tableBucket();
             long tableId = tb.getTableId();
             lookupByTableId
-                    .computeIfAbsent(tableId, k -> new HashMap<>())
+                    .computeIfAbsent(
+                            Tuple2.of(tableId, prefixLookup.projectedFields()),
+                            k -> new HashMap<>())
                     .computeIfAbsent(tb, k -> new PrefixLookupBatch(tb))
                     .addLookup(prefixLookup);
         }
 
         lookupByTableId.forEach(
-                (tableId, prefixLookupBatch) ->
+                (tableIdAndProjection, prefixLookupBatch) ->
                         sendPrefixLookupRequestAndHandleResponse(
                                 gateway,
-                                makePrefixLookupRequest(tableId, prefixLookupBatch.values()),
-                                tableId,
+                                makePrefixLookupRequest(
+                                        tableIdAndProjection.f0,
+                                        tableIdAndProjection.f1,
+                                        prefixLookupBatch.values()),
+                                tableIdAndProjection.f0,
                                 prefixLookupBatch));
     }
 
@@ -224,7 +240,8 @@ class LookupSender implements Runnable {
                 .thenAccept(
                         lookupResponse -> {
                             try {
-                                handleLookupResponse(tableId, lookupResponse, lookupsByBucket);
+                                handleLookupResponse(
+                                        tableId, lookupRequest, lookupResponse, lookupsByBucket);
                             } finally {
                                 maxInFlightReuqestsSemaphore.release();
                             }
@@ -256,7 +273,10 @@ class LookupSender implements Runnable {
                         prefixLookupResponse -> {
                             try {
                                 handlePrefixLookupResponse(
-                                        tableId, prefixLookupResponse, lookupsByBucket);
+                                        tableId,
+                                        prefixLookupRequest,
+                                        prefixLookupResponse,
+                                        lookupsByBucket);
                             } finally {
                                 maxInFlightReuqestsSemaphore.release();
                             }
@@ -274,8 +294,20 @@ class LookupSender implements Runnable {
 
     private void handleLookupResponse(
             long tableId,
+            LookupRequest lookupRequest,
             LookupResponse lookupResponse,
             Map<TableBucket, LookupBatch> lookupsByBucket) {
+        ValueProjector valueProjector;
+        try {
+            valueProjector =
+                    getClientValueProjector(
+                            tableId,
+                            lookupRequest.getProjectedFields(),
+                            lookupResponse.getProjectedFieldsCount());
+        } catch (Exception e) {
+            handleLookupRequestException(e, lookupsByBucket);
+            return;
+        }
         for (PbLookupRespForBucket pbLookupRespForBucket : lookupResponse.getBucketsRespsList()) {
             TableBucket tableBucket =
                     new TableBucket(
@@ -299,7 +331,10 @@ class LookupSender implements Runnable {
                                 .map(
                                         pbValue -> {
                                             if (pbValue.hasValues()) {
-                                                return pbValue.getValues();
+                                                return valueProjector == null
+                                                        ? pbValue.getValues()
+                                                        : valueProjector.project(
+                                                                pbValue.getValues());
                                             } else {
                                                 return null;
                                             }
@@ -312,8 +347,20 @@ class LookupSender implements Runnable {
 
     private void handlePrefixLookupResponse(
             long tableId,
+            PrefixLookupRequest prefixLookupRequest,
             PrefixLookupResponse prefixLookupResponse,
             Map<TableBucket, PrefixLookupBatch> prefixLookupsByBucket) {
+        ValueProjector valueProjector;
+        try {
+            valueProjector =
+                    getClientValueProjector(
+                            tableId,
+                            prefixLookupRequest.getProjectedFields(),
+                            prefixLookupResponse.getProjectedFieldsCount());
+        } catch (Exception e) {
+            handlePrefixLookupException(e, prefixLookupsByBucket);
+            return;
+        }
         for (PbPrefixLookupRespForBucket pbRespForBucket :
                 prefixLookupResponse.getBucketsRespsList()) {
             TableBucket tableBucket =
@@ -339,7 +386,9 @@ class LookupSender implements Runnable {
                     PbValueList pbValueList = pbRespForBucket.getValueListAt(i);
                     List<byte[]> keyResult = new ArrayList<>(pbValueList.getValuesCount());
                     for (int j = 0; j < pbValueList.getValuesCount(); j++) {
-                        keyResult.add(pbValueList.getValueAt(j));
+                        byte[] value = pbValueList.getValueAt(j);
+                        keyResult.add(
+                                valueProjector == null ? value : valueProjector.project(value));
                     }
                     result.add(keyResult);
                 }
@@ -348,6 +397,23 @@ class LookupSender implements Runnable {
         }
     }
 
+    /**
+     * Returns the projector to project the values in the client if the request is projected, but
+     * the server doesn't acknowledge the projection, i.e., the server doesn't support the
+     * projection and returns the whole rows. Otherwise, returns null.
+     */
+    private @Nullable ValueProjector getClientValueProjector(
+            long tableId, int[] requestProjectedFields, int responseProjectedFieldsCount) {
+        if (requestProjectedFields.length == 0 || responseProjectedFieldsCount > 0) {
+            return null;
+        }
+        TableInfo tableInfo = metadataUpdater.getTableInfoOrElseThrow(tableId);
+        return new ValueProjector(
+                tableInfo.getTableConfig().getKvFormat(),
+                tableInfo.getRowType(),
+                requestProjectedFields);
+    }
+
     private void handleLookupRequestException(
             Throwable t, Map<TableBucket, LookupBatch> lookupsByBucket) {
         ApiError error = ApiError.fromThrowable(t);
@@ -65,6 +65,9 @@ class PrefixKeyLookuper implements Lookuper {
      */
     private @Nullable final PartitionGetter partitionGetter;
 
+    /** The projected fields of the lookup results, no projection if is null. */
+    private @Nullable final int[] projectedFields;
+
     /** Decode the lookup bytes to result row. */
     private final ValueDecoder kvValueDecoder;
 
@@ -72,7 +75,8 @@ class PrefixKeyLookuper implements Lookuper {
             TableInfo tableInfo,
             MetadataUpdater metadataUpdater,
             LookupClient lookupClient,
-            List<String> lookupColumnNames) {
+            List<String> lookupColumnNames,
+            @Nullable int[] projectedFields) {
         // sanity check
         validatePrefixLookup(tableInfo, lookupColumnNames);
         // initialization
@@ -80,6 +84,7 @@ class PrefixKeyLookuper implements Lookuper {
         this.numBuckets = tableInfo.getNumBuckets();
         this.metadataUpdater = metadataUpdater;
         this.lookupClient = lookupClient;
+        this.projectedFields = projectedFields;
         // the row type of the input lookup row
         RowType lookupRowType = tableInfo.getRowType().project(lookupColumnNames);
         DataLakeFormat lakeFormat = tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
@@ -90,11 +95,16 @@ class PrefixKeyLookuper implements Lookuper {
                 tableInfo.isPartitioned()
                         ? new PartitionGetter(lookupRowType, tableInfo.getPartitionKeys())
                         : null;
+        // the values are projected by the server if the projection is set
+        RowType valueRowType =
+                projectedFields == null
+                        ? tableInfo.getRowType()
+                        : tableInfo.getRowType().project(projectedFields);
         this.kvValueDecoder =
                 new ValueDecoder(
                         RowDecoder.create(
                                 tableInfo.getTableConfig().getKvFormat(),
-                                tableInfo.getRowType().getChildren().toArray(new DataType[0])));
+                                valueRowType.getChildren().toArray(new DataType[0])));
     }
 
     private void validatePrefixLookup(TableInfo tableInfo, List<String> lookupColumns) {
@@ -166,7 +176,7 @@ class PrefixKeyLookuper implements Lookuper {
 
         TableBucket tableBucket = new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
         return lookupClient
-                .prefixLookup(tableBucket, bucketKeyBytes)
+                .prefixLookup(tableBucket, bucketKeyBytes, projectedFields)
                 .thenApply(
                         result -> {
                             List<InternalRow> rowList = new ArrayList<>(result.size());
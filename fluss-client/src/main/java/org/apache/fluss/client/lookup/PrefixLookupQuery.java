@@ -20,6 +20,8 @@ package org.apache.fluss.client.lookup;
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.metadata.TableBucket;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -31,8 +33,9 @@ import java.util.concurrent.CompletableFuture;
 public class PrefixLookupQuery extends AbstractLookupQuery<List<byte[]>> {
     private final CompletableFuture<List<byte[]>> future;
 
-    PrefixLookupQuery(TableBucket tableBucket, byte[] prefixKey) {
-        super(tableBucket, prefixKey);
+    PrefixLookupQuery(
+            TableBucket tableBucket, byte[] prefixKey, @Nullable int[] projectedFields) {
+        super(tableBucket, prefixKey, projectedFields);
         this.future = new CompletableFuture<>();
     }
 
@@ -25,6 +25,7 @@ import org.apache.fluss.metadata.DataLakeFormat;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.ProjectedRow;
 import org.apache.fluss.row.decode.RowDecoder;
 import org.apache.fluss.row.encode.KeyEncoder;
 import org.apache.fluss.row.encode.ValueDecoder;
@@ -39,7 +40,14 @@ import java.util.concurrent.CompletableFuture;
 import static org.apache.fluss.client.utils.ClientUtils.getPartitionId;
 import static org.apache.fluss.utils.Preconditions.checkArgument;
 
-/** An implementation of {@link Lookuper} that lookups by primary key. */
+/**
+ * An implementation of {@link Lookuper} that lookups by primary key. The lookup results are cached
+ * in the {@link LookupCache} of the lookup client if the lookup cache is enabled.
+ *
+ * <p>The projection is pushed down to the server if the lookup cache is disabled. Otherwise, the
+ * whole rows are looked up and cached, as the cache is shared by all the lookupers of the table,
+ * and the rows are projected in the client.
+ */
 class PrimaryKeyLookuper implements Lookuper {
 
     private final TableInfo tableInfo;
@@ -48,6 +56,14 @@ class PrimaryKeyLookuper implements Lookuper {
 
     private final LookupClient lookupClient;
 
+    /** The cache of the lookup results, null if the lookup cache is disabled. */
+    private @Nullable final LookupCache lookupCache;
+
+    /**
+     * The invalidator of the cached results, null if the cached results are only expired by ttl.
+     */
+    private @Nullable final LookupCacheInvalidator cacheInvalidator;
+
     private final KeyEncoder primaryKeyEncoder;
 
     /**
@@ -62,11 +78,21 @@ class PrimaryKeyLookuper implements Lookuper {
     /** a getter to extract partition from lookup key row, null when it's not a partitioned. */
     private @Nullable final PartitionGetter partitionGetter;
 
+    /** The projected fields pushed down to the server, null if not pushed down. */
+    private @Nullable final int[] serverProjectedFields;
+
+    /** The projected fields applied in the client, null if not projected in the client. */
+    private @Nullable final int[] clientProjectedFields;
+
     /** Decode the lookup bytes to result row. */
     private final ValueDecoder kvValueDecoder;
 
     public PrimaryKeyLookuper(
-            TableInfo tableInfo, MetadataUpdater metadataUpdater, LookupClient lookupClient) {
+            TableInfo tableInfo,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            @Nullable LookupCacheInvalidator cacheInvalidator,
+            @Nullable int[] projectedFields) {
         checkArgument(
                 tableInfo.hasPrimaryKey(),
                 "Log table %s doesn't support lookup",
@@ -75,6 +101,10 @@ class PrimaryKeyLookuper implements Lookuper {
         this.numBuckets = tableInfo.getNumBuckets();
         this.metadataUpdater = metadataUpdater;
         this.lookupClient = lookupClient;
+        this.lookupCache = lookupClient.getLookupCache();
+        this.cacheInvalidator = cacheInvalidator;
+        this.serverProjectedFields = lookupCache == null ? projectedFields : null;
+        this.clientProjectedFields = lookupCache == null ? null : projectedFields;
 
         // the row type of the input lookup row
         RowType lookupRowType = tableInfo.getRowType().project(tableInfo.getPrimaryKeys());
@@ -93,11 +123,15 @@ class PrimaryKeyLookuper implements Lookuper {
                 tableInfo.isPartitioned()
                         ? new PartitionGetter(lookupRowType, tableInfo.getPartitionKeys())
                         : null;
+        RowType valueRowType =
+                serverProjectedFields == null
+                        ? tableInfo.getRowType()
+                        : tableInfo.getRowType().project(serverProjectedFields);
         this.kvValueDecoder =
                 new ValueDecoder(
                         RowDecoder.create(
                                 tableInfo.getTableConfig().getKvFormat(),
-                                tableInfo.getRowType().getChildren().toArray(new DataType[0])));
+                                valueRowType.getChildren().toArray(new DataType[0])));
     }
 
     @Override
@@ -125,15 +159,36 @@ class PrimaryKeyLookuper implements Lookuper {
 
         int bucketId = bucketingFunction.bucketing(bkBytes, numBuckets);
         TableBucket tableBucket = new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
+        if (lookupCache == null
+                || (cacheInvalidator != null && !cacheInvalidator.isTracking(tableBucket))) {
+            return lookupClient
+                    .lookup(tableBucket, pkBytes, serverProjectedFields)
+                    .thenApply(this::toLookupResult);
+        }
+
+        LookupCache.CachedValue cachedValue = lookupCache.get(tableBucket, pkBytes);
+        if (cachedValue != null) {
+            return CompletableFuture.completedFuture(toLookupResult(cachedValue.value()));
+        }
+        LookupCache.Load load = lookupCache.startLoad(tableBucket, pkBytes);
         return lookupClient
                 .lookup(tableBucket, pkBytes)
-                .thenApply(
-                        valueBytes -> {
-                            InternalRow row =
-                                    valueBytes == null
-                                            ? null
-                                            : kvValueDecoder.decodeValue(valueBytes).row;
-                            return new LookupResult(row);
-                        });
+                .whenComplete(
+                        (valueBytes, throwable) -> {
+                            if (throwable == null) {
+                                load.complete(valueBytes);
+                            } else {
+                                load.abort();
+                            }
+                        })
+                .thenApply(this::toLookupResult);
+    }
+
+    private LookupResult toLookupResult(@Nullable byte[] valueBytes) {
+        InternalRow row = valueBytes == null ? null : kvValueDecoder.decodeValue(valueBytes).row;
+        if (row != null && clientProjectedFields != null) {
+            row = ProjectedRow.from(clientProjectedFields).replaceRow(row);
+        }
+        return new LookupResult(row);
     }
 }
@@ -19,6 +19,7 @@ package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.types.RowType;
 
 import javax.annotation.Nullable;
 
@@ -31,36 +32,91 @@ public class TableLookup implements Lookup {
     private final MetadataUpdater metadataUpdater;
     private final LookupClient lookupClient;
 
+    /** The invalidator of the cached results of the table, null if not invalidated by changelog. */
+    @Nullable private final LookupCacheInvalidator cacheInvalidator;
+
     @Nullable private final List<String> lookupColumnNames;
 
+    /** The projected fields of the looked up rows. No projection if is null. */
+    @Nullable private final int[] projectedFields;
+
     public TableLookup(
             TableInfo tableInfo, MetadataUpdater metadataUpdater, LookupClient lookupClient) {
-        this(tableInfo, metadataUpdater, lookupClient, null);
+        this(tableInfo, metadataUpdater, lookupClient, null, null, null);
+    }
+
+    public TableLookup(
+            TableInfo tableInfo,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            @Nullable LookupCacheInvalidator cacheInvalidator) {
+        this(tableInfo, metadataUpdater, lookupClient, cacheInvalidator, null, null);
     }
 
     private TableLookup(
             TableInfo tableInfo,
             MetadataUpdater metadataUpdater,
             LookupClient lookupClient,
-            @Nullable List<String> lookupColumnNames) {
+            @Nullable LookupCacheInvalidator cacheInvalidator,
+            @Nullable List<String> lookupColumnNames,
+            @Nullable int[] projectedFields) {
         this.tableInfo = tableInfo;
         this.metadataUpdater = metadataUpdater;
         this.lookupClient = lookupClient;
+        this.cacheInvalidator = cacheInvalidator;
         this.lookupColumnNames = lookupColumnNames;
+        this.projectedFields = projectedFields;
     }
 
     @Override
     public Lookup lookupBy(List<String> lookupColumnNames) {
-        return new TableLookup(tableInfo, metadataUpdater, lookupClient, lookupColumnNames);
+        return new TableLookup(
+                tableInfo,
+                metadataUpdater,
+                lookupClient,
+                cacheInvalidator,
+                lookupColumnNames,
+                projectedFields);
+    }
+
+    @Override
+    public Lookup project(@Nullable int[] projectedColumns) {
+        return new TableLookup(
+                tableInfo,
+                metadataUpdater,
+                lookupClient,
+                cacheInvalidator,
+                lookupColumnNames,
+                projectedColumns);
+    }
+
+    @Override
+    public Lookup project(List<String> projectedColumnNames) {
+        int[] columnIndexes = new int[projectedColumnNames.size()];
+        RowType rowType = tableInfo.getRowType();
+        for (int i = 0; i < projectedColumnNames.size(); i++) {
+            int index = rowType.getFieldIndex(projectedColumnNames.get(i));
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Field '%s' not found in table schema. Available fields: %s, Table: %s",
+                                projectedColumnNames.get(i),
+                                rowType.getFieldNames(),
+                                tableInfo.getTablePath()));
+            }
+            columnIndexes[i] = index;
+        }
+        return project(columnIndexes);
     }
 
     @Override
     public Lookuper createLookuper() {
         if (lookupColumnNames == null) {
-            return new PrimaryKeyLookuper(tableInfo, metadataUpdater, lookupClient);
+            return new PrimaryKeyLookuper(
+                    tableInfo, metadataUpdater, lookupClient, cacheInvalidator, projectedFields);
         } else {
             return new PrefixKeyLookuper(
-                    tableInfo, metadataUpdater, lookupClient, lookupColumnNames);
+                    tableInfo, metadataUpdater, lookupClient, lookupColumnNames, projectedFields);
         }
     }
 }
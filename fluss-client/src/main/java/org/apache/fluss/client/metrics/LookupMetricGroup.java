@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.metrics;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.client.lookup.LookupCache;
+import org.apache.fluss.metrics.CharacterFilter;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.metrics.MeterView;
+import org.apache.fluss.metrics.MetricNames;
+import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
+import org.apache.fluss.metrics.groups.AbstractMetricGroup;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+
+import static org.apache.fluss.metrics.utils.MetricGroupUtils.makeScope;
+
+/** The metric group for the {@link LookupCache} of lookup client. */
+@Internal
+public class LookupMetricGroup extends AbstractMetricGroup {
+
+    private static final String NAME = "lookup";
+
+    private final Counter cacheHitCount;
+    private final Counter cacheMissCount;
+    private final Counter cacheEvictionCount;
+    private final Counter cacheInvalidationCount;
+
+    public LookupMetricGroup(ClientMetricGroup parent) {
+        super(parent.getMetricRegistry(), makeScope(parent, NAME), parent);
+
+        cacheHitCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_HIT_RATE, new MeterView(cacheHitCount));
+        cacheMissCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_MISS_RATE, new MeterView(cacheMissCount));
+        cacheEvictionCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_EVICTION_RATE, new MeterView(cacheEvictionCount));
+        cacheInvalidationCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_INVALIDATION_RATE, new MeterView(cacheInvalidationCount));
+    }
+
+    public void registerCacheGauges(LookupCache cache) {
+        gauge(MetricNames.LOOKUP_CACHE_SIZE_BYTES, cache::sizeInBytes);
+        gauge(MetricNames.LOOKUP_CACHE_ENTRIES, cache::numEntries);
+    }
+
+    public Counter cacheHitCount() {
+        return cacheHitCount;
+    }
+
+    public Counter cacheMissCount() {
+        return cacheMissCount;
+    }
+
+    public Counter cacheEvictionCount() {
+        return cacheEvictionCount;
+    }
+
+    public Counter cacheInvalidationCount() {
+        return cacheInvalidationCount;
+    }
+
+    @Override
+    protected String getGroupName(CharacterFilter filter) {
+        return NAME;
+    }
+}
@@ -23,8 +23,8 @@ import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.metrics.CharacterFilter;
 import org.apache.fluss.metrics.Counter;
-import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
 import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.metrics.IntervalHistogram;
 import org.apache.fluss.metrics.MeterView;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
@@ -40,7 +40,6 @@ import static org.apache.fluss.metrics.utils.MetricGroupUtils.makeScope;
 public class ScannerMetricGroup extends AbstractMetricGroup {
 
     private static final String NAME = "scanner";
-    private static final int WINDOW_SIZE = 1024;
 
     private final TablePath tablePath;
 
@@ -72,10 +71,7 @@ public class ScannerMetricGroup extends AbstractMetricGroup {
         remoteFetchErrorCount = new ThreadSafeSimpleCounter();
         meter(MetricNames.SCANNER_REMOTE_FETCH_ERROR_RATE, new MeterView(remoteFetchErrorCount));
 
-        bytesPerRequest =
-                histogram(
-                        MetricNames.SCANNER_BYTES_PER_REQUEST,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        bytesPerRequest = histogram(MetricNames.SCANNER_BYTES_PER_REQUEST, new IntervalHistogram());
 
         gauge(MetricNames.SCANNER_TIME_MS_BETWEEN_POLL, () -> timeMsBetweenPoll);
         gauge(MetricNames.SCANNER_LAST_POLL_SECONDS_AGO, this::lastPollSecondsAgo);
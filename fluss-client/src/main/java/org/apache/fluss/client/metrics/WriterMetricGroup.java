@@ -21,8 +21,8 @@ import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.client.write.WriterClient;
 import org.apache.fluss.metrics.CharacterFilter;
 import org.apache.fluss.metrics.Counter;
-import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
 import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.metrics.IntervalHistogram;
 import org.apache.fluss.metrics.MeterView;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
@@ -35,7 +35,6 @@ import static org.apache.fluss.metrics.utils.MetricGroupUtils.makeScope;
 @Internal
 public class WriterMetricGroup extends AbstractMetricGroup {
     private static final String name = "writer";
-    private static final int WINDOW_SIZE = 1024;
 
     private final Counter recordsRetryTotal;
     private final Counter recordsSendTotal;
@@ -59,14 +58,8 @@ public class WriterMetricGroup extends AbstractMetricGroup {
         meter(MetricNames.WRITER_BYTES_SEND_RATE, new MeterView(bytesSendTotal));
         gauge(MetricNames.WRITER_SEND_LATENCY_MS, () -> sendLatencyInMs);
 
-        bytesPerBatch =
-                histogram(
-                        MetricNames.WRITER_BYTES_PER_BATCH,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
-        recordPerBatch =
-                histogram(
-                        MetricNames.WRITER_RECORDS_PER_BATCH,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        bytesPerBatch = histogram(MetricNames.WRITER_BYTES_PER_BATCH, new IntervalHistogram());
+        recordPerBatch = histogram(MetricNames.WRITER_RECORDS_PER_BATCH, new IntervalHistogram());
     }
 
     public void setBatchQueueTimeMs(long batchQueueTimeMs) {
@@ -67,6 +67,16 @@ public class RemoteFileDownloader implements Closeable {
      */
     public CompletableFuture<Long> downloadFileAsync(
             FsPathAndFileName fsPathAndFileName, Path targetDirectory) {
+        return downloadFileAsync(fsPathAndFileName, targetDirectory, 0L);
+    }
+
+    /**
+     * Downloads the part of the file from the given start position to the end asynchronously, the
+     * downloaded local file only contains the bytes after the start position. Returns a Future
+     * object of the number of downloaded bytes.
+     */
+    public CompletableFuture<Long> downloadFileAsync(
+            FsPathAndFileName fsPathAndFileName, Path targetDirectory, long startPosition) {
         CompletableFuture<Long> future = new CompletableFuture<>();
         downloadThreadPool.submit(
                 () -> {
@@ -74,7 +84,8 @@ public class RemoteFileDownloader implements Closeable {
                         Path targetFilePath =
                                 targetDirectory.resolve(fsPathAndFileName.getFileName());
                         FsPath remoteFilePath = fsPathAndFileName.getPath();
-                        long downloadBytes = downloadFile(targetFilePath, remoteFilePath);
+                        long downloadBytes =
+                                downloadFile(targetFilePath, remoteFilePath, startPosition);
                         future.complete(downloadBytes);
                     } catch (Exception e) {
                         future.completeExceptionally(e);
@@ -84,15 +95,43 @@ public class RemoteFileDownloader implements Closeable {
     }
 
     /**
-     * Copies the file from a remote file path to the given target file path, returns the number of
-     * downloaded bytes.
+     * Opens the remote file and seeks to the start position asynchronously, returns a Future object
+     * of the opened input stream which should be closed by the caller.
+     */
+    public CompletableFuture<FSDataInputStream> openFileAsync(
+            FsPath remoteFilePath, long startPosition) {
+        CompletableFuture<FSDataInputStream> future = new CompletableFuture<>();
+        downloadThreadPool.submit(
+                () -> {
+                    FSDataInputStream inputStream = null;
+                    try {
+                        inputStream = remoteFilePath.getFileSystem().open(remoteFilePath);
+                        if (startPosition > 0) {
+                            inputStream.seek(startPosition);
+                        }
+                        future.complete(inputStream);
+                    } catch (Exception e) {
+                        IOUtils.closeQuietly(inputStream);
+                        future.completeExceptionally(e);
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * Copies the file from the start position of a remote file path to the given target file path,
+     * returns the number of downloaded bytes.
      */
-    protected long downloadFile(Path targetFilePath, FsPath remoteFilePath) throws IOException {
+    protected long downloadFile(Path targetFilePath, FsPath remoteFilePath, long startPosition)
+            throws IOException {
         List<Closeable> closeableRegistry = new ArrayList<>(2);
         try {
             FileSystem fileSystem = remoteFilePath.getFileSystem();
             FSDataInputStream inputStream = fileSystem.open(remoteFilePath);
             closeableRegistry.add(inputStream);
+            if (startPosition > 0) {
+                inputStream.seek(startPosition);
+            }
 
             Files.createDirectories(targetFilePath.getParent());
             OutputStream outputStream = Files.newOutputStream(targetFilePath);
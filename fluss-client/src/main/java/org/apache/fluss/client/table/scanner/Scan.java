@@ -21,6 +21,7 @@ import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.client.table.scanner.batch.BatchScanner;
 import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.predicate.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -51,6 +52,22 @@ public interface Scan {
      */
     Scan project(List<String> projectedColumnNames);
 
+    /**
+     * Returns a new scan from this that will push down the given row filter to the server. The
+     * field indexes of the filter refer to the fields of the table schema (before projection).
+     *
+     * <p>Note: the server applies the filter on the granularity of record batches, it skips the
+     * record batches that have no records matching the filter. {@link LogScanner#poll} evaluates
+     * the conjuncts of the filter that only refer to the projected fields again on each returned
+     * record, so records failing them are dropped, while the other conjuncts still only prune
+     * batches. {@link LogScanner#pollBatches} returns the whole batches kept by the server, so the
+     * caller should evaluate the filter again if exact results are required. Currently, the filter
+     * is only used by {@link LogScanner}.
+     *
+     * @param filter the row filter to push down, no filter if is null
+     */
+    Scan filter(@Nullable Predicate filter);
+
     /**
      * Returns a new scan from this that will read the given limited row number.
      *
@@ -68,7 +85,8 @@ public interface Scan {
     /**
      * Creates a {@link BatchScanner} to read current data in the given table bucket for this scan.
      *
-     * <p>Note: this API doesn't support pre-configured with {@link #project}.
+     * <p>If {@link #limit(int)} is not set, the table must have primary key, and all the current
+     * rows of the bucket are read from a consistent snapshot of the bucket in pages.
      */
     BatchScanner createBatchScanner(TableBucket tableBucket);
 
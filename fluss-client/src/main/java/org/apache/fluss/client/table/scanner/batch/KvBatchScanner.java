@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.batch;
+
+import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.exception.LeaderNotAvailableException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
+import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link BatchScanner} implementation that scans all the current rows of a primary key table
+ * bucket from the leader tablet server in pages. The rows are read from a consistent snapshot of
+ * the bucket, and the projection is pushed down to the server.
+ *
+ * <p>The scanner requests the next page as soon as a page is received, so that the next page is
+ * read by the server while the client is consuming the current page.
+ */
+public class KvBatchScanner implements BatchScanner {
+
+    private final TableBucket tableBucket;
+    private final TabletServerGateway gateway;
+    @Nullable private final int[] projectedFields;
+    private final int maxBytes;
+    private final InternalRow.FieldGetter[] fieldGetters;
+    private final LogRecordReadContext readContext;
+
+    private CompletableFuture<ScanKvResponse> scanFuture;
+    /** The id of the scanner opened on the server, null if the scanner isn't opened yet. */
+    @Nullable private Long scannerId;
+
+    private boolean endOfInput;
+
+    public KvBatchScanner(
+            TableInfo tableInfo,
+            TableBucket tableBucket,
+            MetadataUpdater metadataUpdater,
+            @Nullable int[] projectedFields,
+            int maxBytes) {
+        this.tableBucket = tableBucket;
+        this.projectedFields = projectedFields;
+        this.maxBytes = maxBytes;
+
+        RowType rowType = tableInfo.getRowType();
+        RowType projectedRowType =
+                projectedFields == null ? rowType : rowType.project(projectedFields);
+        this.fieldGetters = new InternalRow.FieldGetter[projectedRowType.getFieldCount()];
+        for (int i = 0; i < projectedRowType.getFieldCount(); i++) {
+            this.fieldGetters[i] = InternalRow.createFieldGetter(projectedRowType.getTypeAt(i), i);
+        }
+        this.readContext =
+                LogRecordReadContext.createArrowReadContext(
+                        projectedRowType, tableInfo.getSchemaId());
+
+        if (tableBucket.getPartitionId() != null) {
+            metadataUpdater.checkAndUpdateMetadata(tableInfo.getTablePath(), tableBucket);
+        }
+        int leader = metadataUpdater.leaderFor(tableBucket);
+        TabletServerGateway gateway = metadataUpdater.newTabletServerClientForNode(leader);
+        if (gateway == null) {
+            throw new LeaderNotAvailableException(
+                    "Server " + leader + " is not found in metadata cache.");
+        }
+        this.gateway = gateway;
+        this.scanFuture = gateway.scanKv(newScanKvRequest());
+        this.endOfInput = false;
+    }
+
+    @Nullable
+    @Override
+    public CloseableIterator<InternalRow> pollBatch(Duration timeout) throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        try {
+            ScanKvResponse response = scanFuture.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (response.hasErrorCode()) {
+                endOfInput = true;
+                throw ApiError.fromErrorMessage(response).exception();
+            }
+            if (response.hasScannerId()) {
+                // request the next page before parsing the current page
+                scannerId = response.getScannerId();
+                scanFuture = gateway.scanKv(newScanKvRequest());
+            } else {
+                scannerId = null;
+                endOfInput = true;
+            }
+            return CloseableIterator.wrap(parseScanKvResponse(response).iterator());
+        } catch (TimeoutException e) {
+            // poll next time
+            return CloseableIterator.emptyIterator();
+        } catch (Exception e) {
+            throw new IOException(
+                    String.format("Failed to scan the kv of table bucket %s.", tableBucket), e);
+        }
+    }
+
+    private ScanKvRequest newScanKvRequest() {
+        ScanKvRequest request =
+                new ScanKvRequest()
+                        .setTableId(tableBucket.getTableId())
+                        .setBucketId(tableBucket.getBucket())
+                        .setMaxBytes(maxBytes);
+        if (tableBucket.getPartitionId() != null) {
+            request.setPartitionId(tableBucket.getPartitionId());
+        }
+        if (scannerId != null) {
+            request.setScannerId(scannerId);
+        } else if (projectedFields != null) {
+            // the projection only takes effect when the scanner is opened
+            request.setProjectedFields(projectedFields);
+        }
+        return request;
+    }
+
+    private List<InternalRow> parseScanKvResponse(ScanKvResponse response) {
+        List<InternalRow> scanRows = new ArrayList<>();
+        if (!response.hasRecords()) {
+            return scanRows;
+        }
+        MemoryLogRecords records =
+                MemoryLogRecords.pointToByteBuffer(ByteBuffer.wrap(response.getRecords()));
+        for (LogRecordBatch logRecordBatch : records.batches()) {
+            try (CloseableIterator<LogRecord> logRecordIterator =
+                    logRecordBatch.records(readContext)) {
+                while (logRecordIterator.hasNext()) {
+                    scanRows.add(copyRow(logRecordIterator.next().getRow()));
+                }
+            }
+        }
+        return scanRows;
+    }
+
+    private InternalRow copyRow(InternalRow originRow) {
+        // the row has to be deep copied as the underlying ArrowBatch is released after reading
+        GenericRow newRow = new GenericRow(fieldGetters.length);
+        for (int i = 0; i < fieldGetters.length; i++) {
+            newRow.setField(i, fieldGetters[i].getFieldOrNull(originRow));
+        }
+        return newRow;
+    }
+
+    @Override
+    public void close() throws IOException {
+        scanFuture.cancel(true);
+        if (!endOfInput && scannerId != null) {
+            // release the scanner on the server eagerly instead of waiting for its lease to expire
+            ScanKvRequest closeRequest =
+                    newScanKvRequest().setCloseScanner(true).setMaxBytes(0);
+            gateway.scanKv(closeRequest);
+        }
+        endOfInput = true;
+        readContext.close();
+    }
+}
@@ -19,11 +19,16 @@ package org.apache.fluss.client.table.scanner.log;
 
 import org.apache.fluss.annotation.Internal;
 
+import javax.annotation.Nullable;
+
 /** Bucket scan status for log fetch. */
 @Internal
 class BucketScanStatus {
     private long offset; // last consumed position
     private long highWatermark; // the high watermark from last fetch
+    // the replica in the same rack selected by the leader to fetch from, null to fetch from leader
+    private @Nullable Integer preferredReadReplica;
+    private long preferredReadReplicaExpireTimeMs;
     // TODO add resetStrategy and nextAllowedRetryTimeMs.
 
     public BucketScanStatus() {
@@ -49,4 +54,21 @@ class BucketScanStatus {
     public void setHighWatermark(Long highWatermark) {
         this.highWatermark = highWatermark;
     }
+
+    /** Returns the preferred read replica, or null if there is none or it has expired. */
+    public @Nullable Integer getPreferredReadReplica(long currentTimeMs) {
+        if (preferredReadReplica != null && currentTimeMs > preferredReadReplicaExpireTimeMs) {
+            preferredReadReplica = null;
+        }
+        return preferredReadReplica;
+    }
+
+    public void updatePreferredReadReplica(int preferredReadReplica, long expireTimeMs) {
+        this.preferredReadReplica = preferredReadReplica;
+        this.preferredReadReplicaExpireTimeMs = expireTimeMs;
+    }
+
+    public void clearPreferredReadReplica() {
+        this.preferredReadReplica = null;
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.exception.CorruptRecordException;
 import org.apache.fluss.exception.FetchException;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.ColumnarLogRecords;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.LogRecordReadContext;
@@ -59,6 +60,7 @@ abstract class CompletedFetch {
     private final LogScannerStatus logScannerStatus;
     protected final LogRecordReadContext readContext;
     protected final InternalRow.FieldGetter[] selectedFieldGetters;
+    private final int[] selectedFields;
 
     private LogRecordBatch currentBatch;
     private LogRecord lastRecord;
@@ -90,6 +92,7 @@ abstract class CompletedFetch {
         this.logScannerStatus = logScannerStatus;
         this.nextFetchOffset = fetchOffset;
         this.selectedFieldGetters = readContext.getSelectedFieldGetters();
+        this.selectedFields = readContext.getSelectedFields();
     }
 
     // TODO: optimize this to avoid deep copying the record.
@@ -195,6 +198,97 @@ abstract class CompletedFetch {
         return scanRecords;
     }
 
+    /**
+     * The {@link LogRecordBatch batches} are converted to a {@link List list} of {@link
+     * ColumnarLogRecords columnar records} without materializing the records row by row. The
+     * records before the next fetch offset are skipped.
+     *
+     * @param maxRecords The number of records to return; the batches are returned as a whole, so
+     *     the number of returned records may exceed it by the records of the last batch.
+     * @return {@link ColumnarLogRecords columnar records} which should be released by the caller
+     */
+    public List<ColumnarLogRecords> fetchBatches(int maxRecords) {
+        if (corruptLastRecord) {
+            throw new FetchException(
+                    "Received exception when fetching the next batch from "
+                            + tableBucket
+                            + ". If needed, please back to past the batch to continue scanning.",
+                    cachedRecordException);
+        }
+
+        if (isConsumed) {
+            return Collections.emptyList();
+        }
+
+        List<ColumnarLogRecords> columnarBatches = new ArrayList<>();
+        int recordsFetched = 0;
+        try {
+            while (recordsFetched < maxRecords) {
+                corruptLastRecord = true;
+                LogRecordBatch batch = nextFetchedBatch();
+                if (batch == null) {
+                    corruptLastRecord = false;
+                    break;
+                }
+                ColumnarLogRecords columnarBatch = toColumnarRecords(batch);
+                corruptLastRecord = false;
+
+                columnarBatches.add(columnarBatch);
+                recordsFetched += columnarBatch.getRowCount();
+                recordsRead += columnarBatch.getRowCount();
+                nextFetchOffset = batch.nextLogOffset();
+            }
+        } catch (Exception e) {
+            cachedRecordException = e;
+            if (columnarBatches.isEmpty()) {
+                throw new FetchException(
+                        "Received exception when fetching the next batch from "
+                                + tableBucket
+                                + ". If needed, please back to past the batch to continue scanning.",
+                        e);
+            }
+        }
+
+        return columnarBatches;
+    }
+
+    private ColumnarLogRecords toColumnarRecords(LogRecordBatch batch) {
+        ColumnarLogRecords columnarRecords = batch.columnarRecords(readContext);
+        // skip the records out of range
+        int fromRowId = (int) Math.max(0, nextFetchOffset - batch.baseLogOffset());
+        try {
+            return columnarRecords.project(fromRowId, selectedFields);
+        } finally {
+            columnarRecords.release();
+        }
+    }
+
+    /** Returns the next batch which contains records not less than the next fetch offset. */
+    private LogRecordBatch nextFetchedBatch() {
+        if (records != null) {
+            // the current batch may have been read partially by #fetchRecords
+            maybeCloseRecordStream();
+            if (currentBatch.nextLogOffset() > nextFetchOffset) {
+                return currentBatch;
+            }
+        }
+
+        while (batches.hasNext()) {
+            currentBatch = batches.next();
+            maybeEnsureValid(currentBatch);
+            if (currentBatch.getRecordCount() > 0
+                    && currentBatch.nextLogOffset() > nextFetchOffset) {
+                return currentBatch;
+            }
+        }
+
+        if (currentBatch != null) {
+            nextFetchOffset = currentBatch.nextLogOffset();
+        }
+        drain();
+        return null;
+    }
+
     private LogRecord nextFetchedRecord() throws Exception {
         while (true) {
             if (records == null || !records.hasNext()) {
@@ -27,6 +27,8 @@ import org.apache.fluss.exception.FetchException;
 import org.apache.fluss.exception.LogOffsetOutOfRangeException;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.record.ColumnarLogRecords;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.rpc.protocol.ApiError;
@@ -43,6 +45,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
@@ -63,28 +67,74 @@ public class LogFetchCollector {
     private final int maxPollRecords;
     private final MetadataUpdater metadataUpdater;
 
+    /**
+     * The row filter evaluated on the collected records, as the server filters the records on the
+     * granularity of record batches. Null if there is no filter.
+     */
+    @Nullable private final Predicate rowFilter;
+
     public LogFetchCollector(
             TablePath tablePath,
             LogScannerStatus logScannerStatus,
             Configuration conf,
-            MetadataUpdater metadataUpdater) {
+            MetadataUpdater metadataUpdater,
+            @Nullable Predicate rowFilter) {
         this.tablePath = tablePath;
         this.logScannerStatus = logScannerStatus;
         this.maxPollRecords = conf.getInt(ConfigOptions.CLIENT_SCANNER_LOG_MAX_POLL_RECORDS);
         this.metadataUpdater = metadataUpdater;
+        this.rowFilter = rowFilter;
     }
 
     /**
-     * Return the fetched log records, empty the record buffer and update the consumed position.
+     * Return the fetched log records, empty the record buffer and update the consumed position. The
+     * records not matching the row filter are skipped.
      *
-     * <p>NOTE: returning empty records guarantees the consumed position are NOT updated.
+     * <p>NOTE: returning empty records guarantees the consumed position are NOT updated, unless
+     * all the fetched records are skipped by the row filter.
      *
      * @return The fetched records per partition
      * @throws LogOffsetOutOfRangeException If there is OffsetOutOfRange error in fetchResponse and
      *     the defaultResetPolicy is NONE
      */
     public Map<TableBucket, List<ScanRecord>> collectFetch(final LogFetchBuffer logFetchBuffer) {
-        Map<TableBucket, List<ScanRecord>> fetched = new HashMap<>();
+        if (rowFilter == null) {
+            return collect(logFetchBuffer, CompletedFetch::fetchRecords, List::size);
+        }
+        return collect(
+                logFetchBuffer,
+                (completedFetch, maxRecords) -> {
+                    List<ScanRecord> records = completedFetch.fetchRecords(maxRecords);
+                    records.removeIf(record -> !rowFilter.test(record.getRow()));
+                    return records;
+                },
+                List::size);
+    }
+
+    /**
+     * Return the fetched log records in columnar format, empty the record buffer and update the
+     * consumed position. The returned {@link ColumnarLogRecords} should be released by the caller.
+     * The row filter isn't evaluated on the records, the record batches are returned as a whole.
+     *
+     * <p>NOTE: returning empty records guarantees the consumed position are NOT updated.
+     *
+     * @return The fetched columnar records per partition
+     * @throws LogOffsetOutOfRangeException If there is OffsetOutOfRange error in fetchResponse and
+     *     the defaultResetPolicy is NONE
+     */
+    public Map<TableBucket, List<ColumnarLogRecords>> collectBatches(
+            final LogFetchBuffer logFetchBuffer) {
+        return collect(
+                logFetchBuffer,
+                CompletedFetch::fetchBatches,
+                batches -> batches.stream().mapToInt(ColumnarLogRecords::getRowCount).sum());
+    }
+
+    private <T> Map<TableBucket, List<T>> collect(
+            LogFetchBuffer logFetchBuffer,
+            BiFunction<CompletedFetch, Integer, List<T>> fetchFunction,
+            ToIntFunction<List<T>> recordCounter) {
+        Map<TableBucket, List<T>> fetched = new HashMap<>();
         int recordsRemaining = maxPollRecords;
 
         try {
@@ -115,10 +165,11 @@ public class LogFetchCollector {
 
                     logFetchBuffer.poll();
                 } else {
-                    List<ScanRecord> records = fetchRecords(nextInLineFetch, recordsRemaining);
+                    List<T> records =
+                            fetchRecords(nextInLineFetch, recordsRemaining, fetchFunction);
                     if (!records.isEmpty()) {
                         TableBucket tableBucket = nextInLineFetch.tableBucket;
-                        List<ScanRecord> currentRecords = fetched.get(tableBucket);
+                        List<T> currentRecords = fetched.get(tableBucket);
                         if (currentRecords == null) {
                             fetched.put(tableBucket, records);
                         } else {
@@ -126,14 +177,14 @@ public class LogFetchCollector {
                             // a time per bucket, but it might conceivably happen in some rare
                             // cases (such as bucket leader changes). we have to copy to a new list
                             // because the old one may be immutable
-                            List<ScanRecord> newScanRecords =
+                            List<T> newScanRecords =
                                     new ArrayList<>(records.size() + currentRecords.size());
                             newScanRecords.addAll(currentRecords);
                             newScanRecords.addAll(records);
                             fetched.put(tableBucket, newScanRecords);
                         }
 
-                        recordsRemaining -= records.size();
+                        recordsRemaining -= recordCounter.applyAsInt(records);
                     }
                 }
             }
@@ -146,7 +197,10 @@ public class LogFetchCollector {
         return fetched;
     }
 
-    private List<ScanRecord> fetchRecords(CompletedFetch nextInLineFetch, int maxRecords) {
+    private <T> List<T> fetchRecords(
+            CompletedFetch nextInLineFetch,
+            int maxRecords,
+            BiFunction<CompletedFetch, Integer, List<T>> fetchFunction) {
         TableBucket tb = nextInLineFetch.tableBucket;
         Long offset = logScannerStatus.getBucketOffset(tb);
         if (offset == null) {
@@ -157,7 +211,7 @@ public class LogFetchCollector {
                     nextInLineFetch.nextFetchOffset());
         } else {
             if (nextInLineFetch.nextFetchOffset() == offset) {
-                List<ScanRecord> records = nextInLineFetch.fetchRecords(maxRecords);
+                List<T> records = fetchFunction.apply(nextInLineFetch, maxRecords);
                 LOG.trace(
                         "Returning {} fetched records at offset {} for assigned bucket {}.",
                         records.size(),
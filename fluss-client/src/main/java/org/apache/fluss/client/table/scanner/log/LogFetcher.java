@@ -34,6 +34,9 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePartition;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.record.ColumnarLogRecords;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
@@ -47,7 +50,11 @@ import org.apache.fluss.rpc.messages.PbFetchLogReqForBucket;
 import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.rpc.messages.PbTableBucket;
 import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.rpc.util.FetchSessionHandler;
+import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.IOUtils;
 import org.apache.fluss.utils.Projection;
 
@@ -60,15 +67,18 @@ import javax.annotation.concurrent.GuardedBy;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.getFetchLogResultForBucket;
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPbPredicate;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
@@ -88,11 +98,16 @@ public class LogFetcher implements Closeable {
     //  bytes from remote file.
     private final LogRecordReadContext remoteReadContext;
     @Nullable private final Projection projection;
+    // the row filter pushed down to the server in wire format, null if there is no filter
+    @Nullable private final PbPredicate filter;
     private final int maxFetchBytes;
     private final int maxBucketFetchBytes;
     private final int minFetchBytes;
     private final int maxFetchWaitMs;
     private final boolean isCheckCrcs;
+    // the rack of the client to fetch from the replicas in the same rack, null if not set
+    @Nullable private final String clientRack;
+    private final long preferredReadReplicaExpireMs;
     private final LogScannerStatus logScannerStatus;
     private final LogFetchBuffer logFetchBuffer;
     private final LogFetchCollector logFetchCollector;
@@ -101,6 +116,10 @@ public class LogFetcher implements Closeable {
     @GuardedBy("this")
     private final Set<Integer> nodesWithPendingFetchRequests;
 
+    /** The incremental fetch sessions with the tablet servers, keyed by server id. */
+    @GuardedBy("this")
+    private final Map<Integer, FetchSessionHandler> fetchSessionHandlers;
+
     @GuardedBy("this")
     private boolean isClosed = false;
 
@@ -110,6 +129,7 @@ public class LogFetcher implements Closeable {
     public LogFetcher(
             TableInfo tableInfo,
             @Nullable Projection projection,
+            @Nullable Predicate filter,
             LogScannerStatus logScannerStatus,
             Configuration conf,
             MetadataUpdater metadataUpdater,
@@ -121,6 +141,7 @@ public class LogFetcher implements Closeable {
         this.remoteReadContext =
                 LogRecordReadContext.createReadContext(tableInfo, true, projection);
         this.projection = projection;
+        this.filter = filter == null ? null : toPbPredicate(filter);
         this.logScannerStatus = logScannerStatus;
         this.maxFetchBytes =
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MAX_BYTES).getBytes();
@@ -134,11 +155,21 @@ public class LogFetcher implements Closeable {
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME).toMillis();
 
         this.isCheckCrcs = conf.getBoolean(ConfigOptions.CLIENT_SCANNER_LOG_CHECK_CRC);
+        this.clientRack = conf.get(ConfigOptions.CLIENT_RACK);
+        this.preferredReadReplicaExpireMs =
+                conf.get(ConfigOptions.CLIENT_SCANNER_LOG_PREFERRED_READ_REPLICA_EXPIRE_TIME)
+                        .toMillis();
         this.logFetchBuffer = new LogFetchBuffer();
         this.nodesWithPendingFetchRequests = new HashSet<>();
+        this.fetchSessionHandlers = new HashMap<>();
         this.metadataUpdater = metadataUpdater;
         this.logFetchCollector =
-                new LogFetchCollector(tablePath, logScannerStatus, conf, metadataUpdater);
+                new LogFetchCollector(
+                        tablePath,
+                        logScannerStatus,
+                        conf,
+                        metadataUpdater,
+                        toOutputRowFilter(filter, projection, tableInfo.getRowType()));
         this.scannerMetricGroup = scannerMetricGroup;
         this.remoteLogDownloader =
                 new RemoteLogDownloader(tablePath, conf, remoteFileDownloader, scannerMetricGroup);
@@ -158,6 +189,10 @@ public class LogFetcher implements Closeable {
         return logFetchCollector.collectFetch(logFetchBuffer);
     }
 
+    public Map<TableBucket, List<ColumnarLogRecords>> collectBatches() {
+        return logFetchCollector.collectBatches(logFetchBuffer);
+    }
+
     /**
      * Set up a fetch request for any node that we have assigned buckets for which doesn't already
      * have an in-flight fetch or pending fetch data.
@@ -235,15 +270,23 @@ public class LogFetcher implements Closeable {
             final long requestStartTime = System.currentTimeMillis();
             scannerMetricGroup.fetchRequestCount().inc();
 
-            gateway.fetchLog(fetchLogRequest)
+            Set<TableBucket> pausedBuckets = getPausedBucketsInFetchRequest(fetchLogRequest);
+            FetchSessionHandler fetchSessionHandler =
+                    fetchSessionHandlers.computeIfAbsent(destination, FetchSessionHandler::new);
+            gateway.fetchLog(fetchSessionHandler.build(fetchLogRequest))
                     .whenComplete(
                             (fetchLogResponse, e) -> {
                                 if (e != null) {
+                                    fetchSessionHandler.handleError();
                                     handleFetchLogException(
                                             destination, tableOrPartitionsInFetchRequest, e);
                                 } else {
                                     handleFetchLogResponse(
-                                            destination, requestStartTime, fetchLogResponse);
+                                            destination,
+                                            requestStartTime,
+                                            fetchSessionHandler,
+                                            pausedBuckets,
+                                            fetchLogResponse);
                                 }
                             });
         }
@@ -273,6 +316,21 @@ public class LogFetcher implements Closeable {
         return new TableOrPartitions(tableIdsInFetchRequest, tablePartitionsInFetchRequest);
     }
 
+    private Set<TableBucket> getPausedBucketsInFetchRequest(FetchLogRequest fetchLogRequest) {
+        if (fetchLogRequest.getPausedBucketsCount() == 0) {
+            return Collections.emptySet();
+        }
+        Set<TableBucket> pausedBuckets = new HashSet<>();
+        for (PbTableBucket pausedBucket : fetchLogRequest.getPausedBucketsList()) {
+            pausedBuckets.add(
+                    new TableBucket(
+                            pausedBucket.getTableId(),
+                            pausedBucket.hasPartitionId() ? pausedBucket.getPartitionId() : null,
+                            pausedBucket.getBucketId()));
+        }
+        return pausedBuckets;
+    }
+
     /** A helper class to hold table ids or table partitions. */
     @VisibleForTesting
     static class TableOrPartitions {
@@ -302,6 +360,8 @@ public class LogFetcher implements Closeable {
             }
 
             LOG.error("Failed to fetch log from node {}", destination, e);
+            // fall back to fetch from the leader if the node is a preferred read replica
+            logScannerStatus.clearPreferredReadReplicas(destination);
             // if is invalid metadata exception, we need to clear table bucket meta
             // to enable another round of log fetch to request new medata
             if (e instanceof InvalidMetadataException) {
@@ -319,11 +379,20 @@ public class LogFetcher implements Closeable {
 
     /** Implements the core logic for a successful fetch log response. */
     private synchronized void handleFetchLogResponse(
-            int destination, long requestStartTime, FetchLogResponse fetchLogResponse) {
+            int destination,
+            long requestStartTime,
+            FetchSessionHandler fetchSessionHandler,
+            Set<TableBucket> pausedBuckets,
+            FetchLogResponse fetchLogResponse) {
         try {
             if (isClosed) {
                 return;
             }
+            if (!fetchSessionHandler.handleResponse(fetchLogResponse)) {
+                // the fetch session error has no bucket response, the next fetch log request
+                // to the server will be a full fetch request.
+                return;
+            }
 
             // update fetch metrics only when request success
             scannerMetricGroup.updateFetchLatency(System.currentTimeMillis() - requestStartTime);
@@ -349,7 +418,34 @@ public class LogFetcher implements Closeable {
                                 "Ignoring fetch log response for bucket {} because the bucket has been "
                                         + "unsubscribed.",
                                 tb);
+                    } else if (pausedBuckets.contains(tb)) {
+                        // the records of the paused bucket are still buffered, the response of a
+                        // server not aware of the paused buckets is ignored
+                        LOG.debug(
+                                "Ignoring fetch log response for bucket {} because the bucket is "
+                                        + "paused in the fetch request.",
+                                tb);
+                    } else if (fetchResultForBucket.getErrorCode() != Errors.NONE.code()
+                            && Integer.valueOf(destination)
+                                    .equals(
+                                            logScannerStatus.getPreferredReadReplica(
+                                                    tb, System.currentTimeMillis()))) {
+                        // the error of the preferred read replica, e.g., it is not a replica of
+                        // the bucket anymore, is not exposed, fall back to fetch from the leader
+                        LOG.debug(
+                                "Failed to fetch log for bucket {} from the preferred read replica {}, "
+                                        + "fall back to fetch from the leader.",
+                                tb,
+                                destination,
+                                fetchResultForBucket.getError().exception());
+                        logScannerStatus.clearPreferredReadReplica(tb);
                     } else {
+                        if (fetchResultForBucket.getPreferredReadReplica() != null) {
+                            logScannerStatus.updatePreferredReadReplica(
+                                    tb,
+                                    fetchResultForBucket.getPreferredReadReplica(),
+                                    System.currentTimeMillis() + preferredReadReplicaExpireMs);
+                        }
                         if (fetchResultForBucket.fetchFromRemote()) {
                             pendRemoteFetches(
                                     fetchResultForBucket.remoteLogFetchInfo(),
@@ -397,7 +493,8 @@ public class LogFetcher implements Closeable {
                 fetchOffset = segment.remoteLogStartOffset();
             }
             RemoteLogDownloadFuture downloadFuture =
-                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment);
+                    remoteLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, posInLogSegment);
             RemotePendingFetch pendingFetch =
                     new RemotePendingFetch(
                             segment,
@@ -415,9 +512,13 @@ public class LogFetcher implements Closeable {
 
     private Map<Integer, FetchLogRequest> prepareFetchLogRequests() {
         Map<Integer, List<PbFetchLogReqForBucket>> fetchLogReqForBuckets = new HashMap<>();
+        Map<Integer, List<PbTableBucket>> pausedBuckets = new HashMap<>();
+        // the buckets with buffered records are kept in the fetch session as paused buckets
+        // instead of being forgotten, the server doesn't fetch records for them
+        Set<TableBucket> bufferedBuckets = logFetchBuffer.bufferedBuckets();
         int readyForFetchCount = 0;
         Long tableId = null;
-        for (TableBucket tb : fetchableBuckets()) {
+        for (TableBucket tb : logScannerStatus.fetchableBuckets(tableBucket -> true)) {
             if (tableId == null) {
                 tableId = tb.getTableId();
             }
@@ -430,19 +531,17 @@ public class LogFetcher implements Closeable {
                 continue;
             }
 
-            // TODO add select preferred read replica, currently we can only read from leader.
-
-            Integer leader = getTableBucketLeader(tb);
-            if (leader == null) {
+            Integer node = selectReadReplica(tb);
+            if (node == null) {
                 LOG.trace(
                         "Skipping fetch request for bucket {} because leader is not available.",
                         tb);
-            } else if (nodesWithPendingFetchRequests.contains(leader)) {
+            } else if (nodesWithPendingFetchRequests.contains(node)) {
                 LOG.trace(
                         "Skipping fetch request for bucket {} because previous request "
                                 + "to server {} has not been processed.",
                         tb,
-                        leader);
+                        node);
             } else {
                 PbFetchLogReqForBucket fetchLogReqForBucket =
                         new PbFetchLogReqForBucket()
@@ -453,9 +552,20 @@ public class LogFetcher implements Closeable {
                     fetchLogReqForBucket.setPartitionId(tb.getPartitionId());
                 }
                 fetchLogReqForBuckets
-                        .computeIfAbsent(leader, key -> new ArrayList<>())
+                        .computeIfAbsent(node, key -> new ArrayList<>())
                         .add(fetchLogReqForBucket);
-                readyForFetchCount++;
+                if (bufferedBuckets.contains(tb)) {
+                    PbTableBucket pausedBucket =
+                            new PbTableBucket()
+                                    .setTableId(tb.getTableId())
+                                    .setBucketId(tb.getBucket());
+                    if (tb.getPartitionId() != null) {
+                        pausedBucket.setPartitionId(tb.getPartitionId());
+                    }
+                    pausedBuckets.computeIfAbsent(node, key -> new ArrayList<>()).add(pausedBucket);
+                } else {
+                    readyForFetchCount++;
+                }
             }
         }
 
@@ -465,13 +575,22 @@ public class LogFetcher implements Closeable {
             Map<Integer, FetchLogRequest> fetchLogRequests = new HashMap<>();
             long finalTableId = tableId;
             fetchLogReqForBuckets.forEach(
-                    (leaderId, reqForBuckets) -> {
+                    (nodeId, reqForBuckets) -> {
+                        List<PbTableBucket> pausedBucketsOfNode =
+                                pausedBuckets.getOrDefault(nodeId, Collections.emptyList());
+                        if (pausedBucketsOfNode.size() == reqForBuckets.size()) {
+                            // all the buckets of the node have buffered records
+                            return;
+                        }
                         FetchLogRequest fetchLogRequest =
                                 new FetchLogRequest()
                                         .setFollowerServerId(-1)
                                         .setMaxBytes(maxFetchBytes)
                                         .setMinBytes(minFetchBytes)
                                         .setMaxWaitMs(maxFetchWaitMs);
+                        if (clientRack != null) {
+                            fetchLogRequest.setClientRack(clientRack);
+                        }
                         PbFetchLogReqForTable reqForTable =
                                 new PbFetchLogReqForTable().setTableId(finalTableId);
                         if (readContext.isProjectionPushDowned()) {
@@ -482,14 +601,39 @@ public class LogFetcher implements Closeable {
                         } else {
                             reqForTable.setProjectionPushdownEnabled(false);
                         }
+                        if (filter != null) {
+                            reqForTable.setFilter().copyFrom(filter);
+                        }
                         reqForTable.addAllBucketsReqs(reqForBuckets);
                         fetchLogRequest.addAllTablesReqs(Collections.singletonList(reqForTable));
-                        fetchLogRequests.put(leaderId, fetchLogRequest);
+                        fetchLogRequest.addAllPausedBuckets(pausedBucketsOfNode);
+                        fetchLogRequests.put(nodeId, fetchLogRequest);
                     });
             return fetchLogRequests;
         }
     }
 
+    /**
+     * Returns the filter on the output rows, which contain the projected fields of the table. Only
+     * the conjuncts of the filter on the projected fields can be evaluated on the output rows, the
+     * other conjuncts are only applied by the server on the granularity of record batches.
+     */
+    private static @Nullable Predicate toOutputRowFilter(
+            @Nullable Predicate filter, @Nullable Projection projection, RowType rowType) {
+        if (filter == null || projection == null) {
+            return filter;
+        }
+        int[] fieldIndexMapping = new int[rowType.getFieldCount()];
+        Arrays.fill(fieldIndexMapping, -1);
+        int[] projectedFields = projection.getProjection();
+        for (int i = 0; i < projectedFields.length; i++) {
+            fieldIndexMapping[projectedFields[i]] = i;
+        }
+        return PredicateBuilder.andNullable(
+                PredicateBuilder.pickTransformFieldMapping(
+                        PredicateBuilder.splitAnd(filter), fieldIndexMapping));
+    }
+
     private List<TableBucket> fetchableBuckets() {
         // This is the set of buckets we have in our buffer
         Set<TableBucket> exclude = logFetchBuffer.bufferedBuckets();
@@ -501,6 +645,29 @@ public class LogFetcher implements Closeable {
         return logScannerStatus.fetchableBuckets(tableBucket -> !exclude.contains(tableBucket));
     }
 
+    /**
+     * Returns the replica to fetch the bucket from, which is the preferred read replica selected by
+     * the leader if it is still a replica of the bucket, otherwise the leader. Returns null if the
+     * leader is not available.
+     */
+    private @Nullable Integer selectReadReplica(TableBucket tableBucket) {
+        Optional<BucketLocation> bucketLocation = metadataUpdater.getBucketLocation(tableBucket);
+        if (!bucketLocation.isPresent() || bucketLocation.get().getLeader() == null) {
+            return null;
+        }
+        Integer preferredReadReplica =
+                logScannerStatus.getPreferredReadReplica(tableBucket, System.currentTimeMillis());
+        if (preferredReadReplica != null) {
+            for (int replica : bucketLocation.get().getReplicas()) {
+                if (replica == preferredReadReplica) {
+                    return preferredReadReplica;
+                }
+            }
+            logScannerStatus.clearPreferredReadReplica(tableBucket);
+        }
+        return bucketLocation.get().getLeader();
+    }
+
     private Integer getTableBucketLeader(TableBucket tableBucket) {
         if (metadataUpdater.getBucketLocation(tableBucket).isPresent()) {
             BucketLocation bucketLocation = metadataUpdater.getBucketLocation(tableBucket).get();
@@ -18,6 +18,8 @@
 package org.apache.fluss.client.table.scanner.log;
 
 import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.record.ColumnarLogRecords;
 
 import java.time.Duration;
 
@@ -50,6 +52,32 @@ public interface LogScanner extends AutoCloseable {
      */
     ScanRecords poll(Duration timeout);
 
+    /**
+     * Poll log data from tablet server in columnar format. It's the same as {@link
+     * #poll(Duration)}, except that the records are returned as {@link ColumnarLogRecords} batches
+     * holding the Arrow column vectors, instead of being materialized row by row. It's only
+     * supported for tables in {@link LogFormat#ARROW} log format.
+     *
+     * <p>The returned batches hold the Arrow buffers which should be released after use, see {@link
+     * ScanBatches}. If a filter is pushed down, the batches are only pruned by the server and may
+     * still contain records that don't match the filter.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}, scanners that
+     * support reading columnar batches should override it.
+     *
+     * @param timeout the timeout to poll.
+     * @return the result of poll.
+     * @throws java.lang.IllegalStateException if the scanner is not subscribed to any buckets to
+     *     read from.
+     * @throws java.lang.UnsupportedOperationException if the table is not in ARROW log format, or
+     *     the scanner doesn't support polling batches.
+     * @since 0.9
+     */
+    default ScanBatches pollBatches(Duration timeout) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " doesn't support polling batches.");
+    }
+
     /**
      * Subscribe to the given table bucket in given offset dynamically. If the table bucket is
      * already subscribed, the offset will be updated.
@@ -21,12 +21,13 @@ import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.client.metrics.ScannerMetricGroup;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
-import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.WakeupException;
+import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.rpc.metrics.ClientMetricGroup;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.Projection;
@@ -44,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * The default impl of {@link LogScanner}.
@@ -65,6 +67,7 @@ public class LogScannerImpl implements LogScanner {
     private final LogFetcher logFetcher;
     private final long tableId;
     private final boolean isPartitionedTable;
+    private final LogFormat logFormat;
 
     private volatile boolean closed = false;
 
@@ -82,10 +85,12 @@ public class LogScannerImpl implements LogScanner {
             MetadataUpdater metadataUpdater,
             ClientMetricGroup clientMetricGroup,
             RemoteFileDownloader remoteFileDownloader,
-            @Nullable int[] projectedFields) {
+            @Nullable int[] projectedFields,
+            @Nullable Predicate filter) {
         this.tablePath = tableInfo.getTablePath();
         this.tableId = tableInfo.getTableId();
         this.isPartitionedTable = tableInfo.isPartitioned();
+        this.logFormat = tableInfo.getTableConfig().getLogFormat();
         // add this table to metadata updater.
         metadataUpdater.checkAndUpdateTableMetadata(Collections.singleton(tablePath));
         this.logScannerStatus = new LogScannerStatus();
@@ -96,6 +101,7 @@ public class LogScannerImpl implements LogScanner {
                 new LogFetcher(
                         tableInfo,
                         projection,
+                        filter,
                         logScannerStatus,
                         conf,
                         metadataUpdater,
@@ -128,6 +134,24 @@ public class LogScannerImpl implements LogScanner {
 
     @Override
     public ScanRecords poll(Duration timeout) {
+        return new ScanRecords(poll(timeout, logFetcher::collectFetch));
+    }
+
+    @Override
+    public ScanBatches pollBatches(Duration timeout) {
+        if (logFormat != LogFormat.ARROW) {
+            throw new UnsupportedOperationException(
+                    "Polling batches is only supported for ARROW log format, but the log format of table "
+                            + tablePath
+                            + " is "
+                            + logFormat
+                            + ".");
+        }
+        return new ScanBatches(poll(timeout, logFetcher::collectBatches));
+    }
+
+    private <T> Map<TableBucket, List<T>> poll(
+            Duration timeout, Supplier<Map<TableBucket, List<T>>> fetchCollector) {
         acquireAndEnsureOpen();
         try {
             if (!logScannerStatus.prepareToPoll()) {
@@ -138,17 +162,17 @@ public class LogScannerImpl implements LogScanner {
             long timeoutNanos = timeout.toNanos();
             long startNanos = System.nanoTime();
             do {
-                Map<TableBucket, List<ScanRecord>> fetchRecords = pollForFetches();
+                Map<TableBucket, List<T>> fetchRecords = pollForFetches(fetchCollector);
                 if (fetchRecords.isEmpty()) {
                     try {
                         if (!logFetcher.awaitNotEmpty(startNanos + timeoutNanos)) {
                             // logFetcher waits for the timeout and no data in buffer,
                             // so we return empty
-                            return new ScanRecords(fetchRecords);
+                            return fetchRecords;
                         }
                     } catch (WakeupException e) {
                         // wakeup() is called, we need to return empty
-                        return new ScanRecords(fetchRecords);
+                        return fetchRecords;
                     }
                 } else {
                     // before returning the fetched records, we can send off the next round of
@@ -156,11 +180,11 @@ public class LogScannerImpl implements LogScanner {
                     // while the user is handling the fetched records.
                     logFetcher.sendFetches();
 
-                    return new ScanRecords(fetchRecords);
+                    return fetchRecords;
                 }
             } while (System.nanoTime() - startNanos < timeoutNanos);
 
-            return ScanRecords.EMPTY;
+            return Collections.emptyMap();
         } finally {
             release();
             scannerMetricGroup.recordPollEnd(System.currentTimeMillis());
@@ -227,8 +251,9 @@ public class LogScannerImpl implements LogScanner {
         logFetcher.wakeup();
     }
 
-    private Map<TableBucket, List<ScanRecord>> pollForFetches() {
-        Map<TableBucket, List<ScanRecord>> fetchedRecords = logFetcher.collectFetch();
+    private <T> Map<TableBucket, List<T>> pollForFetches(
+            Supplier<Map<TableBucket, List<T>>> fetchCollector) {
+        Map<TableBucket, List<T>> fetchedRecords = fetchCollector.get();
         if (!fetchedRecords.isEmpty()) {
             return fetchedRecords;
         }
@@ -236,7 +261,7 @@ public class LogScannerImpl implements LogScanner {
         // send any new fetches (won't resend pending fetches).
         logFetcher.sendFetches();
 
-        return logFetcher.collectFetch();
+        return fetchCollector.get();
     }
 
     /**
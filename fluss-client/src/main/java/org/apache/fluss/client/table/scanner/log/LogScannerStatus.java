@@ -65,6 +65,46 @@ public class LogScannerStatus {
         bucketStatus(tableBucket).setOffset(offset);
     }
 
+    /**
+     * Return the preferred read replica of the bucket, if there is none, it has expired or the
+     * bucket has been unsubscribed, return null.
+     */
+    synchronized @Nullable Integer getPreferredReadReplica(
+            TableBucket tableBucket, long currentTimeMs) {
+        BucketScanStatus bucketScanStatus = bucketStatus(tableBucket);
+        if (bucketScanStatus == null) {
+            return null;
+        } else {
+            return bucketScanStatus.getPreferredReadReplica(currentTimeMs);
+        }
+    }
+
+    synchronized void updatePreferredReadReplica(
+            TableBucket tableBucket, int preferredReadReplica, long expireTimeMs) {
+        BucketScanStatus bucketScanStatus = bucketStatus(tableBucket);
+        if (bucketScanStatus != null) {
+            bucketScanStatus.updatePreferredReadReplica(preferredReadReplica, expireTimeMs);
+        }
+    }
+
+    synchronized void clearPreferredReadReplica(TableBucket tableBucket) {
+        BucketScanStatus bucketScanStatus = bucketStatus(tableBucket);
+        if (bucketScanStatus != null) {
+            bucketScanStatus.clearPreferredReadReplica();
+        }
+    }
+
+    /** Clear the preferred read replicas of all the buckets which prefer the given server. */
+    synchronized void clearPreferredReadReplicas(int serverId) {
+        bucketStatusMap.forEach(
+                (tableBucket, bucketScanStatus) -> {
+                    if (Integer.valueOf(serverId)
+                            .equals(bucketScanStatus.getPreferredReadReplica(Long.MIN_VALUE))) {
+                        bucketScanStatus.clearPreferredReadReplica();
+                    }
+                });
+    }
+
     synchronized void assignScanBuckets(Map<TableBucket, Long> scanBucketAndOffsets) {
         for (Map.Entry<TableBucket, Long> entry : scanBucketAndOffsets.entrySet()) {
             TableBucket scanBucket = entry.getKey();
@@ -20,44 +20,72 @@ package org.apache.fluss.client.table.scanner.log;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.record.FileLogRecords;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.CompletableFuture;
 
-/** Represents the future of a remote log download request. */
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
+/**
+ * Represents the future of a remote log download request. The future completes with either the
+ * downloaded local file, or the opened input stream of the remote file if reading in streaming way.
+ * In both cases, the log data starts from the requested start position in the remote log segment.
+ */
 public class RemoteLogDownloadFuture {
 
-    private final CompletableFuture<File> logFileFuture;
+    private final @Nullable CompletableFuture<File> logFileFuture;
+    private final @Nullable CompletableFuture<InputStream> logStreamFuture;
     private final Runnable recycleCallback;
 
     public RemoteLogDownloadFuture(
             CompletableFuture<File> logFileFuture, Runnable recycleCallback) {
+        this(logFileFuture, null, recycleCallback);
+    }
+
+    RemoteLogDownloadFuture(
+            @Nullable CompletableFuture<File> logFileFuture,
+            @Nullable CompletableFuture<InputStream> logStreamFuture,
+            Runnable recycleCallback) {
         this.logFileFuture = logFileFuture;
+        this.logStreamFuture = logStreamFuture;
         this.recycleCallback = recycleCallback;
     }
 
     public boolean isDone() {
-        return logFileFuture.isDone();
+        return logFileFuture != null ? logFileFuture.isDone() : logStreamFuture.isDone();
     }
 
-    public FileLogRecords getFileLogRecords(int startPosition) {
+    /** Whether the log data is read from the remote file directly in streaming way. */
+    public boolean isStreaming() {
+        return logStreamFuture != null;
+    }
+
+    public FileLogRecords getFileLogRecords() {
+        checkNotNull(logFileFuture, "The remote log is read in streaming way.");
         try {
-            FileLogRecords fileLogRecords = FileLogRecords.open(logFileFuture.join(), false);
-            if (startPosition > 0) {
-                return fileLogRecords.slice(startPosition, Integer.MAX_VALUE);
-            } else {
-                return fileLogRecords;
-            }
+            return FileLogRecords.open(logFileFuture.join(), false);
         } catch (IOException e) {
             throw new FlussRuntimeException(e);
         }
     }
 
+    public InputStream getInputStream() {
+        checkNotNull(logStreamFuture, "The remote log is downloaded to local file.");
+        return logStreamFuture.join();
+    }
+
     public Runnable getRecycleCallback() {
         return recycleCallback;
     }
 
     public void onComplete(Runnable callback) {
-        logFileFuture.thenRun(callback);
+        if (logFileFuture != null) {
+            logFileFuture.thenRun(callback);
+        } else {
+            logStreamFuture.thenRun(callback);
+        }
     }
 }
@@ -34,11 +34,14 @@ import org.apache.fluss.utils.concurrent.ShutdownableThread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -55,7 +58,12 @@ import static org.apache.fluss.utils.FlussPaths.LOG_FILE_SUFFIX;
 import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentDir;
 import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentFile;
 
-/** Downloader to read remote log files to local disk. */
+/**
+ * Downloader to read remote log files to local disk. Only the part of a remote log segment after
+ * the requested start position is downloaded. If {@link
+ * ConfigOptions#CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED} is true, the remote log files are
+ * opened at the start position and read directly in streaming way instead of being downloaded.
+ */
 @ThreadSafe
 @Internal
 public class RemoteLogDownloader implements Closeable {
@@ -84,6 +92,9 @@ public class RemoteLogDownloader implements Closeable {
 
     private final long pollTimeout;
 
+    // whether to read the remote log files directly instead of downloading them to local
+    private final boolean streamingRead;
+
     public RemoteLogDownloader(
             TablePath tablePath,
             Configuration conf,
@@ -105,6 +116,8 @@ public class RemoteLogDownloader implements Closeable {
         this.remoteFileDownloader = remoteFileDownloader;
         this.scannerMetricGroup = scannerMetricGroup;
         this.pollTimeout = pollTimeout;
+        this.streamingRead =
+                conf.getBoolean(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED);
         this.prefetchSemaphore =
                 new Semaphore(conf.getInt(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM));
         // The local tmp dir to store the fetched log segment files,
@@ -122,9 +135,20 @@ public class RemoteLogDownloader implements Closeable {
 
     /** Request to fetch remote log segment to local. This method is non-blocking. */
     public RemoteLogDownloadFuture requestRemoteLog(FsPath logTabletDir, RemoteLogSegment segment) {
-        RemoteLogDownloadRequest request = new RemoteLogDownloadRequest(segment, logTabletDir);
+        return requestRemoteLog(logTabletDir, segment, 0);
+    }
+
+    /**
+     * Request to fetch the part of remote log segment from the given start position, which is
+     * located by the offset index of the remote log segment. This method is non-blocking.
+     */
+    public RemoteLogDownloadFuture requestRemoteLog(
+            FsPath logTabletDir, RemoteLogSegment segment, int startPosition) {
+        RemoteLogDownloadRequest request =
+                new RemoteLogDownloadRequest(segment, logTabletDir, startPosition, streamingRead);
         segmentsToFetch.add(request);
-        return new RemoteLogDownloadFuture(request.future, () -> recycleRemoteLog(segment));
+        return new RemoteLogDownloadFuture(
+                request.future, request.streamFuture, () -> recycleRemoteLog(segment));
     }
 
     /**
@@ -158,11 +182,15 @@ public class RemoteLogDownloader implements Closeable {
             // 2. do the actual download work
             FsPathAndFileName fsPathAndFileName = request.getFsPathAndFileName();
             scannerMetricGroup.remoteFetchRequestCount().inc();
+            if (request.streamFuture != null) {
+                openRemoteLog(request, fsPathAndFileName);
+                return;
+            }
 
             long startTime = System.currentTimeMillis();
             // download the remote file to local
             remoteFileDownloader
-                    .downloadFileAsync(fsPathAndFileName, localLogDir)
+                    .downloadFileAsync(fsPathAndFileName, localLogDir, request.startPosition)
                     .whenComplete(
                             (bytes, throwable) -> {
                                 if (throwable != null) {
@@ -199,6 +227,32 @@ public class RemoteLogDownloader implements Closeable {
         }
     }
 
+    /** Opens the remote log file at the start position to read it directly. */
+    private void openRemoteLog(
+            RemoteLogDownloadRequest request, FsPathAndFileName fsPathAndFileName) {
+        remoteFileDownloader
+                .openFileAsync(fsPathAndFileName.getPath(), request.startPosition)
+                .whenComplete(
+                        (inputStream, throwable) -> {
+                            if (throwable != null) {
+                                LOG.error(
+                                        "Failed to open remote log segment file {}.",
+                                        fsPathAndFileName.getPath(),
+                                        ExceptionUtils.stripExecutionException(throwable));
+                                prefetchSemaphore.release();
+                                segmentsToFetch.add(request);
+                                scannerMetricGroup.remoteFetchErrorCount().inc();
+                            } else {
+                                scannerMetricGroup
+                                        .remoteFetchBytes()
+                                        .inc(
+                                                request.segment.segmentSizeInBytes()
+                                                        - request.startPosition);
+                                request.streamFuture.complete(new BufferedInputStream(inputStream));
+                            }
+                        });
+    }
+
     private void cleanupRemoteLogs() {
         RemoteLogSegment segment;
         while ((segment = segmentsToRecycle.poll()) != null) {
@@ -290,11 +344,25 @@ public class RemoteLogDownloader implements Closeable {
     static class RemoteLogDownloadRequest implements Comparable<RemoteLogDownloadRequest> {
         final RemoteLogSegment segment;
         final FsPath remoteLogTabletDir;
-        final CompletableFuture<File> future = new CompletableFuture<>();
+        final int startPosition;
+        // only one of the futures is non-null depending on whether to read in streaming way
+        final @Nullable CompletableFuture<File> future;
+        final @Nullable CompletableFuture<InputStream> streamFuture;
 
         public RemoteLogDownloadRequest(RemoteLogSegment segment, FsPath remoteLogTabletDir) {
+            this(segment, remoteLogTabletDir, 0, false);
+        }
+
+        public RemoteLogDownloadRequest(
+                RemoteLogSegment segment,
+                FsPath remoteLogTabletDir,
+                int startPosition,
+                boolean streamingRead) {
             this.segment = segment;
             this.remoteLogTabletDir = remoteLogTabletDir;
+            this.startPosition = startPosition;
+            this.future = streamingRead ? null : new CompletableFuture<>();
+            this.streamFuture = streamingRead ? new CompletableFuture<>() : null;
         }
 
         public FsPathAndFileName getFsPathAndFileName() {
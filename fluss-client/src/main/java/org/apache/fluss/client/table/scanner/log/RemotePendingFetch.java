@@ -24,7 +24,7 @@ import org.apache.fluss.remote.RemoteLogSegment;
 
 /**
  * {@link RemotePendingFetch} is a {@link PendingFetch} that represents a pending fetch that waiting
- * for the remote log file fetched to local disk.
+ * for the remote log file fetched to local disk or opened to read in streaming way.
  */
 class RemotePendingFetch implements PendingFetch {
 
@@ -69,7 +69,20 @@ class RemotePendingFetch implements PendingFetch {
 
     @Override
     public CompletedFetch toCompletedFetch() {
-        FileLogRecords fileLogRecords = downloadFuture.getFileLogRecords(posInLogSegment);
+        // the fetched log data starts from the position in log segment already
+        if (downloadFuture.isStreaming()) {
+            return new RemoteCompletedFetch(
+                    remoteLogSegment.tableBucket(),
+                    downloadFuture.getInputStream(),
+                    remoteLogSegment.segmentSizeInBytes() - posInLogSegment,
+                    highWatermark,
+                    readContext,
+                    logScannerStatus,
+                    isCheckCrc,
+                    fetchOffset,
+                    downloadFuture.getRecycleCallback());
+        }
+        FileLogRecords fileLogRecords = downloadFuture.getFileLogRecords();
         return new RemoteCompletedFetch(
                 remoteLogSegment.tableBucket(),
                 fileLogRecords,
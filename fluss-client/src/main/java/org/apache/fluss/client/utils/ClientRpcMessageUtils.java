@@ -146,8 +146,13 @@ public class ClientRpcMessageUtils {
     }
 
     public static LookupRequest makeLookupRequest(
-            long tableId, Collection<LookupBatch> lookupBatches) {
+            long tableId,
+            @Nullable int[] projectedFields,
+            Collection<LookupBatch> lookupBatches) {
         LookupRequest request = new LookupRequest().setTableId(tableId);
+        if (projectedFields != null) {
+            request.setProjectedFields(projectedFields);
+        }
         lookupBatches.forEach(
                 (batch) -> {
                     TableBucket tb = batch.tableBucket();
@@ -162,8 +167,13 @@ public class ClientRpcMessageUtils {
     }
 
     public static PrefixLookupRequest makePrefixLookupRequest(
-            long tableId, Collection<PrefixLookupBatch> lookupBatches) {
+            long tableId,
+            @Nullable int[] projectedFields,
+            Collection<PrefixLookupBatch> lookupBatches) {
         PrefixLookupRequest request = new PrefixLookupRequest().setTableId(tableId);
+        if (projectedFields != null) {
+            request.setProjectedFields(projectedFields);
+        }
         lookupBatches.forEach(
                 (batch) -> {
                     TableBucket tb = batch.tableBucket();
@@ -34,6 +34,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.io.IOException;
 import java.util.List;
 
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.utils.Preconditions.checkArgument;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 
@@ -56,10 +57,26 @@ public class ArrowLogWriteBatch extends WriteBatch {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView,
             long createdMs) {
+        this(bucketId, physicalTablePath, schemaId, arrowWriter, outputView, createdMs, false);
+    }
+
+    public ArrowLogWriteBatch(
+            int bucketId,
+            PhysicalTablePath physicalTablePath,
+            int schemaId,
+            ArrowWriter arrowWriter,
+            AbstractPagedOutputView outputView,
+            long createdMs,
+            boolean statisticsEnabled) {
         super(bucketId, physicalTablePath, createdMs);
         this.outputView = outputView;
+        // the batch statistics are only supported since log format V2
         this.recordsBuilder =
-                MemoryLogRecordsArrowBuilder.builder(schemaId, arrowWriter, outputView, true);
+                statisticsEnabled
+                        ? MemoryLogRecordsArrowBuilder.builder(
+                                schemaId, LOG_MAGIC_VALUE_V2, arrowWriter, outputView, true)
+                        : MemoryLogRecordsArrowBuilder.builder(
+                                schemaId, arrowWriter, outputView, true);
     }
 
     @Override
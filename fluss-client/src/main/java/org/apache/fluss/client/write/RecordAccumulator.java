@@ -89,6 +89,9 @@ public final class RecordAccumulator {
      */
     private final int batchTimeoutMs;
 
+    /** Whether to collect column statistics for arrow log write batches. */
+    private final boolean logBatchStatisticsEnabled;
+
     /**
      * The memory segment pool to allocate/deallocate {@link MemorySegment}s for {@link
      * ArrowLogWriteBatch}.
@@ -131,6 +134,8 @@ public final class RecordAccumulator {
                         (int) conf.get(ConfigOptions.CLIENT_WRITER_BATCH_TIMEOUT).toMillis());
         this.batchSize =
                 Math.max(1, (int) conf.get(ConfigOptions.CLIENT_WRITER_BATCH_SIZE).getBytes());
+        this.logBatchStatisticsEnabled =
+                conf.get(ConfigOptions.CLIENT_WRITER_LOG_BATCH_STATISTICS_ENABLED);
 
         this.writerBufferPool = LazyMemorySegmentPool.createWriterBufferPool(conf);
         this.bufferAllocator = new RootAllocator(Long.MAX_VALUE);
@@ -612,7 +617,8 @@ public final class RecordAccumulator {
                             schemaId,
                             arrowWriter,
                             outputView,
-                            clock.milliseconds());
+                            clock.milliseconds(),
+                            logBatchStatisticsEnabled);
         } else {
             batch =
                     new IndexedLogWriteBatch(
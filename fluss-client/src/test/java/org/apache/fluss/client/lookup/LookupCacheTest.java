@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.client.metrics.LookupMetricGroup;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.metrics.TestingClientMetricGroup;
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.apache.fluss.client.lookup.LookupCache.ENTRY_OVERHEAD_BYTES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LookupCache}. */
+class LookupCacheTest {
+
+    private static final TableBucket BUCKET = new TableBucket(1, 0);
+    private static final long TTL_MS = Duration.ofMinutes(1).toMillis();
+
+    private ManualClock clock;
+    private LookupMetricGroup metricGroup;
+
+    @BeforeEach
+    void setup() {
+        clock = new ManualClock(System.currentTimeMillis());
+        metricGroup = new LookupMetricGroup(TestingClientMetricGroup.newInstance());
+    }
+
+    @Test
+    void testCacheHitAndMiss() {
+        LookupCache cache = createCache(1024);
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+
+        cache.startLoad(BUCKET, key(1)).complete(value(1, 10));
+        cache.startLoad(BUCKET, key(2)).complete(null);
+        assertThat(cache.get(BUCKET, key(1)).value()).isEqualTo(value(1, 10));
+        // the missing key is cached too
+        assertThat(cache.get(BUCKET, key(2))).isNotNull();
+        assertThat(cache.get(BUCKET, key(2)).value()).isNull();
+        // the same key of another bucket isn't cached
+        assertThat(cache.get(new TableBucket(1, 1), key(1))).isNull();
+
+        assertThat(metricGroup.cacheHitCount().getCount()).isEqualTo(3);
+        assertThat(metricGroup.cacheMissCount().getCount()).isEqualTo(2);
+        assertThat(cache.numEntries()).isEqualTo(2);
+        assertThat(cache.sizeInBytes()).isEqualTo(1 + 10 + 1 + 2L * ENTRY_OVERHEAD_BYTES);
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        // enough for 3 entries
+        LookupCache cache = createCache(3 * (1 + 10 + ENTRY_OVERHEAD_BYTES));
+        for (int i = 0; i < 3; i++) {
+            cache.startLoad(BUCKET, key(i)).complete(value(i, 10));
+        }
+        // access the first key, so the second key is the least recently used
+        assertThat(cache.get(BUCKET, key(0))).isNotNull();
+
+        cache.startLoad(BUCKET, key(3)).complete(value(3, 10));
+        assertThat(cache.numEntries()).isEqualTo(3);
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+        assertThat(cache.get(BUCKET, key(0))).isNotNull();
+        assertThat(cache.get(BUCKET, key(2))).isNotNull();
+        assertThat(cache.get(BUCKET, key(3))).isNotNull();
+        assertThat(metricGroup.cacheEvictionCount().getCount()).isEqualTo(1);
+
+        // a value larger than the cache is never cached
+        cache.startLoad(BUCKET, key(4)).complete(value(4, 1024));
+        assertThat(cache.get(BUCKET, key(4))).isNull();
+        assertThat(cache.numEntries()).isEqualTo(3);
+    }
+
+    @Test
+    void testExpireAfterTtl() {
+        LookupCache cache = createCache(1024);
+        cache.startLoad(BUCKET, key(1)).complete(value(1, 10));
+        clock.advanceTime(Duration.ofMillis(TTL_MS - 1));
+        assertThat(cache.get(BUCKET, key(1))).isNotNull();
+
+        clock.advanceTime(Duration.ofMillis(1));
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+        assertThat(cache.numEntries()).isEqualTo(0);
+        assertThat(cache.sizeInBytes()).isEqualTo(0);
+    }
+
+    @Test
+    void testInvalidate() {
+        LookupCache cache = createCache(1024);
+        cache.startLoad(BUCKET, key(1)).complete(value(1, 10));
+        cache.invalidate(BUCKET, key(1));
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+        assertThat(metricGroup.cacheInvalidationCount().getCount()).isEqualTo(1);
+
+        // the key is invalidated while it is being looked up, the result may be stale
+        LookupCache.Load load = cache.startLoad(BUCKET, key(1));
+        LookupCache.Load anotherLoad = cache.startLoad(BUCKET, key(1));
+        cache.invalidate(BUCKET, key(1));
+        LookupCache.Load loadAfterInvalidation = cache.startLoad(BUCKET, key(1));
+        load.complete(value(1, 10));
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+        anotherLoad.abort();
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+        // the load started after the invalidation sees the change
+        loadAfterInvalidation.complete(value(2, 10));
+        assertThat(cache.get(BUCKET, key(1)).value()).isEqualTo(value(2, 10));
+
+        // the invalidation of other keys doesn't affect the load
+        load = cache.startLoad(BUCKET, key(2));
+        cache.invalidate(BUCKET, key(3));
+        load.complete(value(2, 10));
+        assertThat(cache.get(BUCKET, key(2))).isNotNull();
+    }
+
+    @Test
+    void testInvalidateTable() {
+        LookupCache cache = createCache(1024);
+        TableBucket anotherTableBucket = new TableBucket(2, 0);
+        cache.startLoad(BUCKET, key(1)).complete(value(1, 10));
+        cache.startLoad(anotherTableBucket, key(1)).complete(value(1, 10));
+        LookupCache.Load load = cache.startLoad(new TableBucket(1, 1), key(1));
+
+        cache.invalidateTable(1);
+        load.complete(value(1, 10));
+        assertThat(cache.get(BUCKET, key(1))).isNull();
+        assertThat(cache.get(new TableBucket(1, 1), key(1))).isNull();
+        assertThat(cache.get(anotherTableBucket, key(1))).isNotNull();
+        assertThat(cache.numEntries()).isEqualTo(1);
+    }
+
+    private LookupCache createCache(long maxSizeInBytes) {
+        return new LookupCache(maxSizeInBytes, TTL_MS, clock, metricGroup);
+    }
+
+    private static byte[] key(int key) {
+        return new byte[] {(byte) key};
+    }
+
+    private static byte[] value(int value, int length) {
+        byte[] bytes = new byte[length];
+        bytes[0] = (byte) value;
+        return bytes;
+    }
+}
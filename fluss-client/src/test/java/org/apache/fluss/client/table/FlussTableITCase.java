@@ -19,7 +19,9 @@ package org.apache.fluss.client.table;
 
 import org.apache.fluss.client.Connection;
 import org.apache.fluss.client.ConnectionFactory;
+import org.apache.fluss.client.FlussConnection;
 import org.apache.fluss.client.admin.ClientToServerITCaseBase;
+import org.apache.fluss.client.lookup.LookupCache;
 import org.apache.fluss.client.lookup.LookupResult;
 import org.apache.fluss.client.lookup.Lookuper;
 import org.apache.fluss.client.table.scanner.Scan;
@@ -64,7 +66,9 @@ import javax.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -83,6 +87,7 @@ import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
 import static org.apache.fluss.testutils.DataTestUtils.keyRow;
 import static org.apache.fluss.testutils.DataTestUtils.row;
 import static org.apache.fluss.testutils.InternalRowAssert.assertThatRow;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -263,6 +268,47 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         verifyPutAndLookup(table2, new Object[] {"a", 1});
     }
 
+    @Test
+    void testLookupWithCacheInvalidation() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_lookup_with_cache_invalidation");
+        createTable(tablePath, DATA1_TABLE_DESCRIPTOR_PK, false);
+
+        Configuration config = new Configuration(clientConf);
+        config.set(ConfigOptions.CLIENT_LOOKUP_CACHE_ENABLED, true);
+        config.set(ConfigOptions.CLIENT_LOOKUP_CACHE_CHANGELOG_INVALIDATION_ENABLED, true);
+        try (Connection conn = ConnectionFactory.createConnection(config);
+                Table table = conn.getTable(tablePath)) {
+            LookupCache lookupCache =
+                    ((FlussConnection) conn).getOrCreateLookupClient().getLookupCache();
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            upsertWriter.upsert(row(1, "a")).get();
+            Lookuper lookuper = table.newLookup().createLookuper();
+
+            // the result is only cached once the changelog of the bucket is subscribed
+            retry(
+                    Duration.ofMinutes(1),
+                    () -> {
+                        assertThatRow(lookupRow(lookuper, row(1)))
+                                .withSchema(DATA1_ROW_TYPE)
+                                .isEqualTo(row(1, "a"));
+                        assertThat(lookupCache.numEntries()).isEqualTo(1);
+                    });
+
+            // the update invalidates the cached result
+            upsertWriter.upsert(row(1, "b")).get();
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThatRow(lookupRow(lookuper, row(1)))
+                                    .withSchema(DATA1_ROW_TYPE)
+                                    .isEqualTo(row(1, "b")));
+
+            // the delete invalidates the cached result
+            upsertWriter.delete(row(1, "b")).get();
+            retry(Duration.ofMinutes(1), () -> assertThat(lookupRow(lookuper, row(1))).isNull());
+        }
+    }
+
     @Test
     void testPutAndPrefixLookup() throws Exception {
         TablePath tablePath = TablePath.of("test_db_1", "test_put_and_prefix_lookup_table");
@@ -317,6 +363,49 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         assertThat(rowList.size()).isEqualTo(0);
     }
 
+    @Test
+    void testLookupWithProjection() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_lookup_with_projection_table");
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.INT())
+                        .column("b", DataTypes.STRING())
+                        .column("c", DataTypes.BIGINT())
+                        .column("d", DataTypes.STRING())
+                        .primaryKey("a", "b", "c")
+                        .build();
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(schema).distributedBy(3, "a", "b").build();
+        createTable(tablePath, descriptor, false);
+        Table table = conn.getTable(tablePath);
+        verifyPutAndLookup(table, new Object[] {1, "a", 1L, "value1"});
+        verifyPutAndLookup(table, new Object[] {1, "a", 2L, "value2"});
+        RowType projectedRowType = schema.getRowType().project(new int[] {3, 0});
+
+        // primary key lookup with projection in any order
+        Lookuper lookuper = table.newLookup().project(Arrays.asList("d", "a")).createLookuper();
+        assertRowValueEquals(
+                projectedRowType,
+                lookupRow(lookuper, row(1, "a", 2L)),
+                new Object[] {"value2", 1});
+        assertThat(lookupRow(lookuper, row(1, "a", 3L))).isNull();
+
+        // prefix key lookup with projection
+        Lookuper prefixLookuper =
+                table.newLookup().lookupBy("a", "b").project(new int[] {3, 0}).createLookuper();
+        List<InternalRow> rowList = prefixLookuper.lookup(row(1, "a")).get().getRowList();
+        assertThat(rowList.size()).isEqualTo(2);
+        for (int i = 0; i < rowList.size(); i++) {
+            assertRowValueEquals(
+                    projectedRowType, rowList.get(i), new Object[] {"value" + (i + 1), 1});
+        }
+
+        // the projected column doesn't exist
+        assertThatThrownBy(() -> table.newLookup().project(Collections.singletonList("e")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field 'e' not found in table schema");
+    }
+
     @Test
     void testInvalidPrefixLookup() throws Exception {
         // First, test the bucket keys not a prefix subset of primary keys.
@@ -437,6 +526,49 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testFullScanPrimaryTable() throws Exception {
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA_PK).distributedBy(1).build();
+        long tableId = createTable(DATA1_TABLE_PATH_PK, descriptor, true);
+        int insertSize = 100;
+        // use a small page size to scan the bucket in multiple pages
+        Configuration scanConf = new Configuration(clientConf);
+        scanConf.set(ConfigOptions.CLIENT_SCANNER_KV_FETCH_MAX_BYTES, MemorySize.parse("1kb"));
+        try (Connection conn = ConnectionFactory.createConnection(scanConf)) {
+            Table table = conn.getTable(DATA1_TABLE_PATH_PK);
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            for (int i = 0; i < insertSize; i++) {
+                upsertWriter.upsert(row(i, BinaryString.fromString(StringUtils.repeat("a", i))));
+            }
+            upsertWriter.flush();
+
+            TableBucket tb = new TableBucket(tableId, 0);
+            List<InternalRow> actualRows = collectRows(table.newScan().createBatchScanner(tb));
+            assertThat(actualRows).hasSize(insertSize);
+            actualRows.sort(Comparator.comparingInt(r -> r.getInt(0)));
+            for (int i = 0; i < insertSize; i++) {
+                assertRowValueEquals(
+                        DATA1_SCHEMA.getRowType(),
+                        actualRows.get(i),
+                        new Object[] {i, StringUtils.repeat("a", i)});
+            }
+
+            // test projection scan, the projection is pushed down to the server
+            int[] projectedFields = new int[] {1, 0};
+            actualRows =
+                    collectRows(table.newScan().project(projectedFields).createBatchScanner(tb));
+            assertThat(actualRows).hasSize(insertSize);
+            actualRows.sort(Comparator.comparingInt(r -> r.getInt(1)));
+            for (int i = 0; i < insertSize; i++) {
+                assertRowValueEquals(
+                        DATA1_SCHEMA.getRowType().project(projectedFields),
+                        actualRows.get(i),
+                        new Object[] {StringUtils.repeat("a", i), i});
+            }
+        }
+    }
+
     @Test
     void testLimitScanLogTable() throws Exception {
         TableDescriptor descriptor =
@@ -24,6 +24,7 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableDescriptor;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.ColumnarLogRecords;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordReadContext;
@@ -122,6 +123,43 @@ public class DefaultCompletedFetchTest {
         assertThat(scanRecords.size()).isEqualTo(0);
     }
 
+    @ParameterizedTest
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    void testFetchBatches(byte recordBatchMagic) throws Exception {
+        long fetchOffset = 0L;
+        int bucketId = 0; // records for 0-10.
+        TableBucket tb = new TableBucket(DATA2_TABLE_ID, bucketId);
+        Projection projection = Projection.of(new int[] {2, 0});
+        FetchLogResultForBucket resultForBucket0 =
+                new FetchLogResultForBucket(
+                        tb, genRecordsWithProjection(DATA2, projection, recordBatchMagic), 10L);
+        DefaultCompletedFetch defaultCompletedFetch =
+                makeCompletedFetch(tb, resultForBucket0, fetchOffset, projection);
+        // read the first 3 records row by row
+        List<ScanRecord> scanRecords = defaultCompletedFetch.fetchRecords(3);
+        assertThat(scanRecords.size()).isEqualTo(3);
+
+        // the remaining records of the batch are returned in columnar format
+        List<ColumnarLogRecords> batches = defaultCompletedFetch.fetchBatches(8);
+        assertThat(batches).hasSize(1);
+        ColumnarLogRecords batch = batches.get(0);
+        assertThat(batch.baseLogOffset()).isEqualTo(3L);
+        assertThat(batch.getRowCount()).isEqualTo(7);
+        assertThat(batch.getRowType().getFieldNames()).containsExactly("c", "a");
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Object[] expectObject = DATA2.get(i + 3);
+            assertThat(batch.getChangeType(i)).isEqualTo(ChangeType.APPEND_ONLY);
+            InternalRow row = batch.getRow(i);
+            assertThat(row.getString(0).toString()).isEqualTo(expectObject[2]);
+            assertThat(row.getInt(1)).isEqualTo(expectObject[0]);
+        }
+        assertThat(defaultCompletedFetch.nextFetchOffset()).isEqualTo(10L);
+        assertThat(batch.release()).isTrue();
+
+        assertThat(defaultCompletedFetch.fetchBatches(8)).isEmpty();
+        assertThat(defaultCompletedFetch.isConsumed()).isTrue();
+    }
+
     @Test
     void testNoRecordsInFetch() {
         long fetchOffset = 0L;
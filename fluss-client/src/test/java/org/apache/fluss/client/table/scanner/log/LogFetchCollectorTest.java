@@ -22,6 +22,7 @@ import org.apache.fluss.client.metadata.TestingMetadataUpdater;
 import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 
@@ -64,7 +65,11 @@ public class LogFetchCollectorTest {
         logFetchBuffer = new LogFetchBuffer();
         logFetchCollector =
                 new LogFetchCollector(
-                        DATA1_TABLE_PATH, logScannerStatus, new Configuration(), metadataUpdater);
+                        DATA1_TABLE_PATH,
+                        logScannerStatus,
+                        new Configuration(),
+                        metadataUpdater,
+                        null);
         readContext =
                 LogRecordReadContext.createArrowReadContext(DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID);
     }
@@ -123,6 +128,32 @@ public class LogFetchCollectorTest {
         assertThat(bucketAndRecords.size()).isEqualTo(0);
     }
 
+    @Test
+    void testCollectWithRowFilter() throws Exception {
+        MetadataUpdater metadataUpdater =
+                new TestingMetadataUpdater(
+                        Collections.singletonMap(DATA1_TABLE_PATH, DATA1_TABLE_INFO));
+        logFetchCollector =
+                new LogFetchCollector(
+                        DATA1_TABLE_PATH,
+                        logScannerStatus,
+                        new Configuration(),
+                        metadataUpdater,
+                        new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 5));
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+        FetchLogResultForBucket resultForBucket =
+                new FetchLogResultForBucket(tb, genMemoryLogRecordsByObject(DATA1), 10L);
+        logFetchBuffer.add(makeCompletedFetch(tb, resultForBucket, 0L));
+
+        // the records not matching the filter are skipped, but still consumed
+        Map<TableBucket, List<ScanRecord>> bucketAndRecords =
+                logFetchCollector.collectFetch(logFetchBuffer);
+        assertThat(bucketAndRecords.get(tb))
+                .extracting(record -> record.getRow().getInt(0))
+                .containsExactly(6, 7, 8, 9, 10);
+        assertThat(logScannerStatus.getBucketOffset(tb)).isEqualTo(10L);
+    }
+
     @Test
     void testCollectAfterUnassign() throws Exception {
         TableBucket tb1 = new TableBucket(DATA1_TABLE_ID, 1L, 1);
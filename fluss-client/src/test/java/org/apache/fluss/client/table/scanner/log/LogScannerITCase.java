@@ -17,18 +17,25 @@
 
 package org.apache.fluss.client.table.scanner.log;
 
+import org.apache.fluss.client.Connection;
+import org.apache.fluss.client.ConnectionFactory;
 import org.apache.fluss.client.admin.ClientToServerITCaseBase;
 import org.apache.fluss.client.table.Table;
 import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.client.table.writer.AppendWriter;
 import org.apache.fluss.client.table.writer.UpsertWriter;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.FetchException;
 import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableDescriptor;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.ColumnarLogRecords;
 import org.apache.fluss.row.GenericRow;
 import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.server.replica.Replica;
 import org.apache.fluss.types.DataTypes;
 import org.apache.fluss.types.RowType;
 
@@ -86,6 +93,94 @@ public class LogScannerITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testPollBatches() throws Exception {
+        createTable(DATA1_TABLE_PATH, DATA1_TABLE_DESCRIPTOR, false);
+
+        // append a batch of data.
+        int recordSize = 10;
+        List<GenericRow> expectedRows = new ArrayList<>();
+        try (Table table = conn.getTable(DATA1_TABLE_PATH)) {
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            for (int i = 0; i < recordSize; i++) {
+                GenericRow row = row(i, "a");
+                expectedRows.add(row);
+                appendWriter.append(row).get();
+            }
+
+            LogScanner logScanner = createLogScanner(table);
+            subscribeFromBeginning(logScanner, table);
+            List<GenericRow> rowList = new ArrayList<>();
+            List<String> bucketOffsets = new ArrayList<>();
+            while (rowList.size() < recordSize) {
+                try (ScanBatches scanBatches = logScanner.pollBatches(Duration.ofSeconds(1))) {
+                    for (TableBucket bucket : scanBatches.buckets()) {
+                        for (ColumnarLogRecords batch : scanBatches.batches(bucket)) {
+                            for (int i = 0; i < batch.getRowCount(); i++) {
+                                assertThat(batch.getChangeType(i))
+                                        .isEqualTo(ChangeType.APPEND_ONLY);
+                                InternalRow row = batch.getRow(i);
+                                rowList.add(row(row.getInt(0), row.getString(1)));
+                                bucketOffsets.add(bucket + "@" + batch.getLogOffset(i));
+                            }
+                        }
+                    }
+                }
+            }
+            assertThat(rowList).hasSize(recordSize);
+            assertThat(rowList).containsExactlyInAnyOrderElementsOf(expectedRows);
+            assertThat(bucketOffsets).doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void testPollFromFollowerInSameRack() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_poll_from_follower_in_same_rack");
+        TableDescriptor tableDescriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA).distributedBy(1).build();
+        long tableId = createTable(tablePath, tableDescriptor, false);
+        TableBucket tb = new TableBucket(tableId, 0);
+        FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb);
+        Replica leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeaderReplica(tb);
+        int followerId =
+                leader.getIsr().stream()
+                        .filter(id -> !id.equals(leader.getLeaderId()))
+                        .findFirst()
+                        .orElseThrow(IllegalStateException::new);
+        Replica follower = FLUSS_CLUSTER_EXTENSION.waitAndGetFollowerReplica(tb, followerId);
+
+        int recordSize = 10;
+        List<GenericRow> expectedRows = new ArrayList<>();
+        try (Table table = conn.getTable(tablePath)) {
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            for (int i = 0; i < recordSize; i++) {
+                GenericRow row = row(i, "a");
+                expectedRows.add(row);
+                appendWriter.append(row).get();
+            }
+        }
+
+        // the racks of the tablet servers are "rack" + serverId
+        Configuration rackConf = new Configuration(clientConf);
+        rackConf.set(ConfigOptions.CLIENT_RACK, "rack" + followerId);
+        try (Connection rackConn = ConnectionFactory.createConnection(rackConf);
+                Table table = rackConn.getTable(tablePath);
+                LogScanner logScanner = createLogScanner(table)) {
+            logScanner.subscribeFromBeginning(0);
+            List<GenericRow> rowList = new ArrayList<>();
+            while (rowList.size() < recordSize) {
+                ScanRecords scanRecords = logScanner.poll(Duration.ofSeconds(1));
+                for (ScanRecord scanRecord : scanRecords) {
+                    InternalRow row = scanRecord.getRow();
+                    rowList.add(row(row.getInt(0), row.getString(1)));
+                }
+            }
+            assertThat(rowList).containsExactlyElementsOf(expectedRows);
+        }
+        // the client fetches are redirected to the follower in the same rack
+        assertThat(follower.tableMetrics().totalFetchLogRequests().getCount()).isGreaterThan(0);
+    }
+
     @Test
     void testPollWhileCreateTableNotReady() throws Exception {
         // create one table with 30 buckets.
@@ -44,6 +44,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 import javax.annotation.Nullable;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -125,6 +129,54 @@ class RemoteCompletedFetchTest {
         assertThat(scanRecords.size()).isEqualTo(0);
     }
 
+    @Test
+    void testStreamingRead() throws Exception {
+        long fetchOffset = 0L;
+        TableBucket tableBucket = new TableBucket(DATA2_TABLE_ID, 0);
+        AtomicBoolean recycleCalled = new AtomicBoolean(false);
+        AtomicBoolean streamClosed = new AtomicBoolean(false);
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        tableBucket, DATA2_PHYSICAL_TABLE_PATH, DATA2, LogFormat.ARROW);
+        InputStream inputStream =
+                new FilterInputStream(new FileInputStream(fileLogRecords.file())) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        streamClosed.set(true);
+                    }
+                };
+        RemoteCompletedFetch completedFetch =
+                new RemoteCompletedFetch(
+                        tableBucket,
+                        inputStream,
+                        fileLogRecords.sizeInBytes(),
+                        10L,
+                        LogRecordReadContext.createReadContext(tableInfo, true, null),
+                        logScannerStatus,
+                        true,
+                        fetchOffset,
+                        () -> recycleCalled.set(true));
+        fileLogRecords.close();
+
+        List<ScanRecord> scanRecords = completedFetch.fetchRecords(8);
+        assertThat(scanRecords.size()).isEqualTo(8);
+        assertThat(scanRecords.get(0).logOffset()).isEqualTo(0L);
+
+        assertThat(recycleCalled.get()).isFalse();
+        scanRecords = completedFetch.fetchRecords(8);
+        assertThat(scanRecords.size()).isEqualTo(2);
+        assertThat(scanRecords.get(0).logOffset()).isEqualTo(8L);
+        // when read finish, the input stream should be closed.
+        assertThat(streamClosed.get()).isTrue();
+        // and recycle should be called.
+        assertThat(recycleCalled.get()).isTrue();
+
+        // no more records can be read
+        scanRecords = completedFetch.fetchRecords(8);
+        assertThat(scanRecords.size()).isEqualTo(0);
+    }
+
     @Test
     void testFetchForPartitionTable() throws Exception {
         long fetchOffset = 0L;
@@ -36,6 +36,8 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -151,10 +153,11 @@ class RemoteLogDownloaderTest {
             }
 
             @Override
-            protected long downloadFile(Path targetFilePath, FsPath remoteFilePath)
+            protected long downloadFile(
+                    Path targetFilePath, FsPath remoteFilePath, long startPosition)
                     throws IOException {
                 threadNames.add(Thread.currentThread().getName());
-                return super.downloadFile(targetFilePath, remoteFilePath);
+                return super.downloadFile(targetFilePath, remoteFilePath, startPosition);
             }
         }
 
@@ -235,6 +238,70 @@ class RemoteLogDownloaderTest {
         }
     }
 
+    @Test
+    void testReadFromStartPosition() throws Exception {
+        RemoteFileDownloader remoteFileDownloader = new RemoteFileDownloader(1);
+        RemoteLogDownloader remoteLogDownloader =
+                new RemoteLogDownloader(
+                        DATA1_TABLE_PATH, conf, remoteFileDownloader, scannerMetricGroup, 10L);
+        conf.set(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED, true);
+        RemoteLogDownloader streamingLogDownloader =
+                new RemoteLogDownloader(
+                        DATA1_TABLE_PATH, conf, remoteFileDownloader, scannerMetricGroup, 10L);
+        try {
+            remoteLogDownloader.start();
+            streamingLogDownloader.start();
+
+            TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+            RemoteLogSegment segment =
+                    buildRemoteLogSegmentList(tb, DATA1_PHYSICAL_TABLE_PATH, 1, conf, 10).get(0);
+            FsPath remoteLogTabletDir =
+                    remoteLogTabletDir(remoteLogDir, DATA1_PHYSICAL_TABLE_PATH, tb);
+            File remoteFile =
+                    new File(
+                            RemoteLogDownloader.getFsPathAndFileName(remoteLogTabletDir, segment)
+                                    .getPath()
+                                    .getPath());
+            int startPosition = (int) remoteFile.length() / 2;
+            byte[] expectedBytes =
+                    Arrays.copyOfRange(
+                            Files.readAllBytes(remoteFile.toPath()),
+                            startPosition,
+                            (int) remoteFile.length());
+
+            // only the part after the start position is downloaded.
+            RemoteLogDownloadFuture future =
+                    remoteLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, startPosition);
+            waitUntil(future::isDone, Duration.ofMinutes(1), "segment download timeout");
+            assertThat(future.isStreaming()).isFalse();
+            Path[] localFiles = FileUtils.listDirectory(remoteLogDownloader.getLocalLogDir());
+            assertThat(localFiles).hasSize(1);
+            assertThat(Files.readAllBytes(localFiles[0])).isEqualTo(expectedBytes);
+            future.getRecycleCallback().run();
+
+            // the remote file is read directly from the start position without downloading.
+            RemoteLogDownloadFuture streamFuture =
+                    streamingLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, startPosition);
+            waitUntil(streamFuture::isDone, Duration.ofMinutes(1), "segment open timeout");
+            assertThat(streamFuture.isStreaming()).isTrue();
+            try (InputStream inputStream = streamFuture.getInputStream()) {
+                byte[] readBytes = new byte[expectedBytes.length];
+                IOUtils.readFully(inputStream, readBytes);
+                assertThat(readBytes).isEqualTo(expectedBytes);
+                assertThat(inputStream.read()).isEqualTo(-1);
+            }
+            // nothing is downloaded to local.
+            assertThat(streamingLogDownloader.getLocalLogDir()).doesNotExist();
+            streamFuture.getRecycleCallback().run();
+        } finally {
+            IOUtils.closeQuietly(remoteLogDownloader);
+            IOUtils.closeQuietly(streamingLogDownloader);
+            IOUtils.closeQuietly(remoteFileDownloader);
+        }
+    }
+
     @Test
     void testOrderOfRemoteLogDownloadRequest() {
         TableBucket bucket1 = new TableBucket(DATA1_TABLE_ID, 1);
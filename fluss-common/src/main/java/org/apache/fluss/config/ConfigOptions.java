@@ -334,6 +334,40 @@ public class ConfigOptions {
                                     + "Increase this value if you experience slow unnecessary snapshot files clean. "
                                     + "The default value is 10.");
 
+    public static final ConfigOption<Boolean> COORDINATOR_REBALANCE_ENABLED =
+            key("coordinator.rebalance.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to enable the rebalance of the coordinator server. If enabled, the "
+                                    + "coordinator server periodically moves the leaders of the table buckets "
+                                    + "back to their preferred replicas (i.e., the first replicas of the "
+                                    + "assignments), and moves the replicas of the table buckets from the most "
+                                    + "loaded tablet servers to the least loaded tablet servers, so that the "
+                                    + "replicas are spread evenly across the tablet servers, e.g., after new "
+                                    + "tablet servers join the cluster. The default value is false.");
+
+    public static final ConfigOption<Duration> COORDINATOR_REBALANCE_INTERVAL =
+            key("coordinator.rebalance.interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(5))
+                    .withDescription(
+                            "The interval at which the coordinator server checks whether the leaders and "
+                                    + "replicas of the table buckets need to be rebalanced, only takes effect "
+                                    + "when '"
+                                    + COORDINATOR_REBALANCE_ENABLED.key()
+                                    + "' is true. The default value is 5 minutes.");
+
+    public static final ConfigOption<Integer> COORDINATOR_REBALANCE_MAX_MOVES =
+            key("coordinator.rebalance.max-moves")
+                    .intType()
+                    .defaultValue(10)
+                    .withDescription(
+                            "The maximum number of replica moves that are in progress at the same time "
+                                    + "for the rebalance. A new round of rebalance only plans the moves "
+                                    + "after the moves of the previous rounds complete. The default value "
+                                    + "is 10.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Tablet Server
     // ------------------------------------------------------------------------
@@ -715,6 +749,69 @@ public class ConfigOptions {
                                     + LOG_REPLICA_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<MemorySize> LOG_REPLICA_FETCH_CATCH_UP_MAX_BYTES_PER_SECOND =
+            key("log.replica.fetch.catch-up-max-bytes-per-second")
+                    .memoryType()
+                    .defaultValue(MemorySize.MAX_VALUE)
+                    .withDescription(
+                            "The maximum bytes per second the follower replicas of a tablet server fetch "
+                                    + "for the table buckets that are catching up with the leaders, e.g., the "
+                                    + "replicas that are newly moved to the tablet server by the rebalance. "
+                                    + "It throttles the catch-up traffic so that it doesn't starve the "
+                                    + "replication of the in-sync replicas. The replicas that are already "
+                                    + "caught up are never throttled. It's unlimited by default.");
+
+    public static final ConfigOption<Integer> LOG_FETCH_SESSION_MAX_NUMBER =
+            key("log.fetch-session.max-number")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The maximum number of incremental fetch sessions cached by the tablet server. "
+                                    + "A fetch session caches the buckets of the fetch log requests from a "
+                                    + "follower or client, so that the following fetch log requests only need "
+                                    + "to contain the changed buckets. Set it to 0 to disable fetch sessions.");
+
+    public static final ConfigOption<Duration> LOG_FETCH_SESSION_IDLE_TIMEOUT =
+            key("log.fetch-session.idle-timeout")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(2))
+                    .withDescription(
+                            "The minimum time a fetch session must be idle before it can be evicted "
+                                    + "by a new fetch session when the number of cached fetch sessions "
+                                    + "reaches "
+                                    + LOG_FETCH_SESSION_MAX_NUMBER.key()
+                                    + ".");
+
+    public static final ConfigOption<Duration> LOG_CLEANER_INTERVAL =
+            key("log.cleaner.interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(30))
+                    .withDescription(
+                            "The interval at which the log cleaner checks the changelogs of the primary key "
+                                    + "tables that enable `table.log.compaction.enabled` for new inactive log "
+                                    + "segments to compact. The default value is 30 seconds.");
+
+    public static final ConfigOption<MemorySize> LOG_CLEANER_DEDUPE_BUFFER_SIZE =
+            key("log.cleaner.dedupe-buffer-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("128mb"))
+                    .withDescription(
+                            "The approximate memory used by the log cleaner to map the primary keys of the "
+                                    + "newly written log segments of a bucket to their latest offsets in one "
+                                    + "round of compaction. The records that don't fit into the buffer are "
+                                    + "compacted in the following rounds, but at least one record batch is "
+                                    + "compacted in each round.");
+
+    public static final ConfigOption<Duration> LOG_CLEANER_FILE_DELETE_DELAY =
+            key("log.cleaner.file-delete-delay")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The time to wait before deleting the files of a log segment that has been "
+                                    + "replaced by its compacted segment. The files are renamed with the "
+                                    + "suffix `.deleted` first, so that in-flight fetches and log tiering "
+                                    + "still reading the old segment can finish. The default value is 1 minute.");
+
     public static final ConfigOption<Integer> LOG_REPLICA_MIN_IN_SYNC_REPLICAS_NUMBER =
             key("log.replica.min-in-sync-replicas-number")
                     .intType()
@@ -794,6 +891,24 @@ public class ConfigOptions {
                     .withDescription(
                             "The number of queued requests allowed for worker threads, before blocking the I/O threads.");
 
+    public static final ConfigOption<RequestQueueType> NETTY_SERVER_REQUEST_QUEUE_TYPE =
+            key("netty.server.request-queue.type")
+                    .enumType(RequestQueueType.class)
+                    .defaultValue(RequestQueueType.BLOCKING)
+                    .withDescription(
+                            "The type of the request queues between the I/O threads and the worker threads. "
+                                    + "BLOCKING: a blocking queue per worker thread, the I/O threads are blocked "
+                                    + "when the queue is full. "
+                                    + "LOCK_FREE: a lock-free multi-producer single-consumer queue per worker "
+                                    + "thread, the I/O threads stop reading from the connections instead of "
+                                    + "blocking when there are more than `netty.server.max-queued-requests` "
+                                    + "queued requests. "
+                                    + "PRIORITY: same as LOCK_FREE, but with separate lanes for the replication "
+                                    + "requests, the write requests and the other requests, so that the "
+                                    + "replication requests are processed first, at most 8 of them in a row "
+                                    + "ahead of the waiting client requests. The requests of a connection are "
+                                    + "still processed in the order they're received.");
+
     public static final ConfigOption<Duration> NETTY_CONNECTION_MAX_IDLE_TIME =
             key("netty.connection.max-idle-time")
                     .durationType()
@@ -897,6 +1012,17 @@ public class ConfigOptions {
                                     + CLIENT_WRITER_BATCH_SIZE.key()
                                     + "`) for all batches, this may lead to frequent memory waits and suboptimal write performance if the incoming data rate is inconsistent across partitions.");
 
+    public static final ConfigOption<Boolean> CLIENT_WRITER_LOG_BATCH_STATISTICS_ENABLED =
+            key("client.writer.log-batch-statistics.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the client writer collects the column statistics (min/max values and null counts) "
+                                    + "of the records in each arrow log batch and stores them in the batch header. "
+                                    + "The statistics allow the tablet servers to skip the whole batch for a "
+                                    + "log scan with filter without decoding the records. Enabling it requires "
+                                    + "all the tablet servers to support the log format version 2. Disabled by default.");
+
     public static final ConfigOption<Duration> CLIENT_WRITER_BATCH_TIMEOUT =
             key("client.writer.batch-timeout")
                     .durationType()
@@ -1066,6 +1192,16 @@ public class ConfigOptions {
                                     + "from client. Records are fetched in batches, the max bytes size is config by "
                                     + "this option.");
 
+    public static final ConfigOption<MemorySize> CLIENT_SCANNER_KV_FETCH_MAX_BYTES =
+            key("client.scanner.kv.fetch.max-bytes")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The maximum amount of data the server should return for a scan request of "
+                                    + "the batch scanner which scans the full data of a primary key table "
+                                    + "bucket. The scan results are returned in pages of this size, at least "
+                                    + "one row is returned in a page even if it's larger than this value.");
+
     public static final ConfigOption<Duration> CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME =
             key("client.scanner.log.fetch.wait-max-time")
                     .durationType()
@@ -1084,6 +1220,30 @@ public class ConfigOptions {
                                     + CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<String> CLIENT_RACK =
+            key("client.rack")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The rack of the client, which should be the same as the `"
+                                    + TABLET_SERVER_RACK.key()
+                                    + "` of the tablet servers in the same rack. If set, the LogScanner "
+                                    + "fetches the log from an in-sync replica in the same rack as the "
+                                    + "client instead of the leader to reduce the cross-rack traffic, "
+                                    + "the replica is selected by the leader. The records are only "
+                                    + "fetched up to the high watermark of the leader either way.");
+
+    public static final ConfigOption<Duration>
+            CLIENT_SCANNER_LOG_PREFERRED_READ_REPLICA_EXPIRE_TIME =
+                    key("client.scanner.log.preferred-read-replica.expire-time")
+                            .durationType()
+                            .defaultValue(Duration.ofMinutes(5))
+                            .withDescription(
+                                    "The time after which the LogScanner stops fetching from the preferred read "
+                                            + "replica selected by the leader and fetches from the leader "
+                                            + "again to refresh the preferred read replica, which only takes "
+                                            + "effect when `client.rack` is set.");
+
     public static final ConfigOption<Integer> CLIENT_LOOKUP_QUEUE_SIZE =
             key("client.lookup.queue-size")
                     .intType()
@@ -1112,6 +1272,46 @@ public class ConfigOptions {
                             "The maximum time to wait for the lookup batch to full, if this timeout is reached, "
                                     + "the lookup batch will be closed to send.");
 
+    public static final ConfigOption<Boolean> CLIENT_LOOKUP_CACHE_ENABLED =
+            key("client.lookup.cache.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to cache the results of primary key lookups in the client. "
+                                    + "The cached results are keyed by the encoded primary key and are "
+                                    + "evicted in a LRU way once the cache exceeds 'client.lookup.cache.max-size', "
+                                    + "or once they are older than 'client.lookup.cache.ttl'. "
+                                    + "The prefix lookups are never cached.");
+
+    public static final ConfigOption<MemorySize> CLIENT_LOOKUP_CACHE_MAX_SIZE =
+            key("client.lookup.cache.max-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The maximum size of the lookup cache in bytes, which is shared by "
+                                    + "all the lookupers of the connection. The size of a cached result "
+                                    + "is estimated by the size of its key and value bytes.");
+
+    public static final ConfigOption<Duration> CLIENT_LOOKUP_CACHE_TTL =
+            key("client.lookup.cache.ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "The time to live of a cached lookup result after it is written to the "
+                                    + "cache. It bounds the staleness of the cached results when the "
+                                    + "changelog invalidation is disabled.");
+
+    public static final ConfigOption<Boolean> CLIENT_LOOKUP_CACHE_CHANGELOG_INVALIDATION_ENABLED =
+            key("client.lookup.cache.changelog-invalidation.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to invalidate the cached lookup results by tailing the changelog "
+                                    + "of the looked up tables. If enabled, the results of a bucket are "
+                                    + "only cached once the changelog of the bucket is subscribed from "
+                                    + "its latest offset, and every change of a key removes the cached "
+                                    + "result of the key. This costs a log scanner per looked up table.");
+
     public static final ConfigOption<Integer> CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM =
             key("client.scanner.remote-log.prefetch-num")
                     .intType()
@@ -1120,6 +1320,16 @@ public class ConfigOptions {
                             "The number of remote log segments to keep in local temp file for LogScanner, "
                                     + "which download from remote storage. The default setting is 4.");
 
+    public static final ConfigOption<Boolean> CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED =
+            key("client.scanner.remote-log.streaming-read.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the LogScanner reads the log batches of remote log segments directly from "
+                                    + "the remote storage in a streaming way, instead of downloading the segment "
+                                    + "files to `client.scanner.io.tmpdir` first. In both ways, only the part of the "
+                                    + "segment after the fetch offset is read. The default value is false.");
+
     public static final ConfigOption<String> CLIENT_SCANNER_IO_TMP_DIR =
             key("client.scanner.io.tmpdir")
                     .stringType()
@@ -1239,6 +1449,18 @@ public class ConfigOptions {
                             "The format of the kv records in kv store. The default value is `compacted`. "
                                     + "The supported formats are `compacted` and `indexed`.");
 
+    public static final ConfigOption<Boolean> TABLE_KV_STANDBY_ENABLED =
+            key("table.kv.standby.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the follower replicas of the primary key table keep a hot-standby kv tablet "
+                                    + "by applying the committed changelog replicated from the leader to their "
+                                    + "local RocksDB. When a follower becomes the leader, it only needs to recover "
+                                    + "the kv tablet from the changelog not applied yet, instead of downloading "
+                                    + "the latest kv snapshot and recovering from the changelog after the snapshot. "
+                                    + "This costs the disk space and CPU of the followers. Disable by default.");
+
     public static final ConfigOption<Boolean> TABLE_AUTO_PARTITION_ENABLED =
             key("table.auto-partition.enabled")
                     .booleanType()
@@ -1326,6 +1548,32 @@ public class ConfigOptions {
                             "The number of log segments to retain in local for each table when log tiered storage is enabled. "
                                     + "It must be greater that 0. The default is 2.");
 
+    public static final ConfigOption<Boolean> TABLE_LOG_COMPACTION_ENABLED =
+            key("table.log.compaction.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to compact the changelog of the primary key table by keeping only the "
+                                    + "latest change of each primary key. The log cleaner of the tablet servers "
+                                    + "removes the log record batches whose changes are all superseded by later "
+                                    + "changes of the same keys, the offsets of the remaining changes are "
+                                    + "unchanged. This reduces the disk usage and the time to replay the "
+                                    + "changelog, but the readers of the compacted part of the changelog only "
+                                    + "see the latest change of each key. Only applicable to primary key "
+                                    + "tables. Disable by default.");
+
+    public static final ConfigOption<Duration> TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION =
+            key("table.log.compaction.tombstone-retention")
+                    .durationType()
+                    .defaultValue(Duration.ofDays(1))
+                    .withDescription(
+                            "The minimum time to retain the delete changes (tombstones) in the compacted "
+                                    + "changelog, so that the readers of the changelog have the chance to see "
+                                    + "the deletions. A tombstone is only removed after it is included in a kv "
+                                    + "snapshot (and tiered to the lakehouse if the datalake is enabled). "
+                                    + "Only applicable when `table.log.compaction.enabled` is true. "
+                                    + "The default value is 1 day.");
+
     public static final ConfigOption<Boolean> TABLE_DATALAKE_ENABLED =
             key("table.datalake.enabled")
                     .booleanType()
@@ -1369,9 +1617,10 @@ public class ConfigOptions {
                     .noDefaultValue()
                     .withDescription(
                             "Defines the merge engine for the primary key table. By default, primary key table doesn't have merge engine. "
-                                    + "The supported merge engines are `first_row` and `versioned`. "
+                                    + "The supported merge engines are `first_row`, `versioned` and `aggregate`. "
                                     + "The `first_row` merge engine will keep the first row of the same primary key. "
-                                    + "The `versioned` merge engine will keep the row with the largest version of the same primary key.");
+                                    + "The `versioned` merge engine will keep the row with the largest version of the same primary key. "
+                                    + "The `aggregate` merge engine will aggregate the rows of the same primary key column by column.");
 
     public static final ConfigOption<String> TABLE_MERGE_ENGINE_VERSION_COLUMN =
             // we may need to introduce "del-column" in the future to support delete operation
@@ -1382,6 +1631,16 @@ public class ConfigOptions {
                             "The column name of the version column for the `versioned` merge engine. "
                                     + "If the merge engine is set to `versioned`, the version column must be set.");
 
+    public static final ConfigOption<Map<String, String>> TABLE_MERGE_ENGINE_AGGREGATE_FUNCTIONS =
+            key("table.merge-engine.aggregate.functions")
+                    .mapType()
+                    .defaultValue(Collections.emptyMap())
+                    .withDescription(
+                            "The aggregate functions of the columns for the `aggregate` merge engine. "
+                                    + "The format is `column1:function1,column2:function2`, e.g., `pv:sum,max_price:max`. "
+                                    + "The supported functions are `sum`, `min`, `max`, `count`, `last_non_null` and `last`. "
+                                    + "The columns not specified use `last_non_null`, the primary key columns can't be specified.");
+
     public static final ConfigOption<DeleteBehavior> TABLE_DELETE_BEHAVIOR =
             key("table.delete.behavior")
                     .enumType(DeleteBehavior.class)
@@ -1392,7 +1651,7 @@ public class ConfigOptions {
                                     + "The `allow` behavior allows normal delete operations (default). "
                                     + "The `ignore` behavior silently skips delete requests without error. "
                                     + "The `disable` behavior rejects delete requests with a clear error message. "
-                                    + "For tables with FIRST_ROW or VERSIONED merge engines, this option defaults to `ignore`.");
+                                    + "For tables with FIRST_ROW, VERSIONED or AGGREGATE merge engines, this option defaults to `ignore`.");
 
     // ------------------------------------------------------------------------
     //  ConfigOptions for Kv
@@ -1419,6 +1678,21 @@ public class ConfigOptions {
                     .withDescription(
                             "The number of threads the server uses to transfer (download and upload) kv snapshot files.");
 
+    public static final ConfigOption<Boolean> KV_SNAPSHOT_LOCAL_CACHE_ENABLED =
+            key("kv.snapshot.local-cache.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to keep the sst files of the latest kv snapshot of a leader "
+                                    + "replica in a local cache, keyed by the remote file names. "
+                                    + "When the server becomes the leader of the bucket again, "
+                                    + "e.g., after a restart or a leader switch, the cached sst "
+                                    + "files are hard-linked into the new kv tablet and only the "
+                                    + "missing files are downloaded from the remote snapshot. "
+                                    + "The cached files are kept on the local disk even if the "
+                                    + "replica becomes follower, so it costs up to one snapshot "
+                                    + "size of disk space per bucket. The default value is `false`.");
+
     public static final ConfigOption<Integer> KV_MAX_RETAINED_SNAPSHOTS =
             key("kv.snapshot.num-retained")
                     .intType()
@@ -1644,6 +1918,76 @@ public class ConfigOptions {
                             "If true, RocksDB will use block-based filter instead of full filter, this only take effect when bloom filter is used. "
                                     + "The default value is `false`.");
 
+    public static final ConfigOption<Boolean> KV_SHARED_MEMORY_ENABLED =
+            key("kv.rocksdb.shared-memory.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If true, all the RocksDB instances of the kv tablets in a TabletServer share "
+                                    + "one block cache and one write buffer manager bounded by `kv.rocksdb.shared-memory.size`, "
+                                    + "so that the memory of RocksDB doesn't grow with the number of buckets. "
+                                    + "The index and filter blocks are also cached in the shared block cache. "
+                                    + "In this case, `kv.rocksdb.block.cache-size` is ignored. The default value is `false`.");
+
+    public static final ConfigOption<MemorySize> KV_SHARED_MEMORY_SIZE =
+            key("kv.rocksdb.shared-memory.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("512mb"))
+                    .withDescription(
+                            "The total memory size shared by all the RocksDB instances in a TabletServer, "
+                                    + "including the block cache and the memtables. It only takes effect when "
+                                    + "`kv.rocksdb.shared-memory.enabled` is true. The default value is `512MB`.");
+
+    public static final ConfigOption<Double> KV_SHARED_MEMORY_WRITE_BUFFER_RATIO =
+            key("kv.rocksdb.shared-memory.write-buffer-ratio")
+                    .doubleType()
+                    .defaultValue(0.5)
+                    .withDescription(
+                            "The fraction of the shared memory used by the memtables of all the RocksDB instances, "
+                                    + "the memtables are flushed when exceeding it. It only takes effect when "
+                                    + "`kv.rocksdb.shared-memory.enabled` is true. The default value is `0.5`.");
+
+    public static final ConfigOption<Double> KV_SHARED_MEMORY_HIGH_PRIORITY_POOL_RATIO =
+            key("kv.rocksdb.shared-memory.high-priority-pool-ratio")
+                    .doubleType()
+                    .defaultValue(0.1)
+                    .withDescription(
+                            "The fraction of the shared block cache reserved for the high priority blocks, "
+                                    + "e.g., the index and filter blocks. It only takes effect when "
+                                    + "`kv.rocksdb.shared-memory.enabled` is true. The default value is `0.1`.");
+
+    // ------------------------------------------------------------------------
+    //  ConfigOptions for Kv pre-write buffer
+    // ------------------------------------------------------------------------
+    public static final ConfigOption<KvPreWriteBufferType> KV_PRE_WRITE_BUFFER_TYPE =
+            key("kv.pre-write-buffer.type")
+                    .enumType(KvPreWriteBufferType.class)
+                    .defaultValue(KvPreWriteBufferType.HEAP)
+                    .withDescription(
+                            "The type of the pre-write buffer which buffers the kv records waiting for the "
+                                    + "WAL to be persisted before flushing them to RocksDB. "
+                                    + "HEAP: the records are kept as objects in the JVM heap. "
+                                    + "OFF_HEAP: the records are kept in off-heap pages shared by all the kv tablets "
+                                    + "of the server, a put is rejected with a retriable exception if the pages are exhausted.");
+
+    public static final ConfigOption<MemorySize> KV_PRE_WRITE_BUFFER_MEMORY_SIZE =
+            key("kv.pre-write-buffer.memory-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("256mb"))
+                    .withDescription(
+                            "The total bytes of off-heap memory the pre-write buffers of all the kv "
+                                    + "tablets in the server can use, only takes effect when '"
+                                    + KV_PRE_WRITE_BUFFER_TYPE.key()
+                                    + "' is OFF_HEAP.");
+
+    public static final ConfigOption<MemorySize> KV_PRE_WRITE_BUFFER_PAGE_SIZE =
+            key("kv.pre-write-buffer.page-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64kb"))
+                    .withDescription(
+                            "Size of every page of the off-heap pre-write buffers. The records larger "
+                                    + "than the page size span multiple consecutive pages.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Kv recovering
     // ------------------------------------------------------------------------
@@ -1654,6 +1998,72 @@ public class ConfigOptions {
                     .withDescription(
                             "The max fetch size for fetching log to apply to kv during recovering kv.");
 
+    public static final ConfigOption<Integer> KV_RECOVER_THREAD_NUM =
+            key("kv.recover.thread-num")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of buckets the server initializes in parallel when it "
+                                    + "becomes the leader of a batch of buckets, e.g., on startup. "
+                                    + "Initializing the leader of a primary key table bucket "
+                                    + "restores its kv tablet from the kv snapshot and the log, "
+                                    + "the buckets with the smallest restore cost, i.e., the size "
+                                    + "of the kv snapshot and the log to apply, are initialized "
+                                    + "first.");
+
+    public static final ConfigOption<Integer> KV_SCANNER_MAX_NUMBER =
+            key("kv.scanner.max-number")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription(
+                            "The maximum number of kv scanners opened on the tablet server at the "
+                                    + "same time. A kv scanner streams the full data of a primary key "
+                                    + "table bucket to a client in pages, it holds a consistent snapshot "
+                                    + "of the RocksDB until it is exhausted, closed or expired. Opening "
+                                    + "a new kv scanner fails if the number is reached.");
+
+    public static final ConfigOption<Duration> KV_SCANNER_LEASE_TIMEOUT =
+            key("kv.scanner.lease-timeout")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The time a kv scanner is kept open on the tablet server without being "
+                                    + "read by the client. An expired kv scanner is closed to release "
+                                    + "the RocksDB snapshot it holds, and the client has to restart the "
+                                    + "scan.");
+
+    public static final ConfigOption<Boolean> KV_RECOVER_BULK_LOAD_ENABLED =
+            key("kv.recover.bulk-load.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to recover kv from log in bulk mode. In bulk mode, the log "
+                                    + "batches are decoded in parallel by the threads configured "
+                                    + "by `kv.recover.bulk-load.thread-num`, and the records up to "
+                                    + "the high watermark are sorted and written to sst files "
+                                    + "which are ingested into RocksDB directly, instead of being "
+                                    + "written one by one through the memtable. It speeds up "
+                                    + "recovering kv from a large log tail.");
+
+    public static final ConfigOption<Integer> KV_RECOVER_BULK_LOAD_THREAD_NUM =
+            key("kv.recover.bulk-load.thread-num")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of threads the server uses to decode the log batches "
+                                    + "when recovering kv in bulk mode. The threads are shared "
+                                    + "by all the kv tablets in the server.");
+
+    public static final ConfigOption<MemorySize> KV_RECOVER_BULK_LOAD_BUFFER_SIZE =
+            key("kv.recover.bulk-load.buffer-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The size of the buffer to sort the records when recovering kv in bulk "
+                                    + "mode. Every time the buffer is full, the records are "
+                                    + "written to a new sst file, so it's also about the size of "
+                                    + "the sst files to ingest.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for metrics
     // ------------------------------------------------------------------------
@@ -1761,6 +2171,19 @@ public class ConfigOptions {
         NUM_INFO_LOG_LEVELS,
     }
 
+    /** The type of the request queues of the worker threads of the RPC server. */
+    public enum RequestQueueType {
+        BLOCKING,
+        LOCK_FREE,
+        PRIORITY
+    }
+
+    /** The type of the pre-write buffer of a kv tablet. */
+    public enum KvPreWriteBufferType {
+        HEAP,
+        OFF_HEAP
+    }
+
     /** Append only row bucket assigner for Fluss writer. */
     public enum NoKeyAssigner {
         ROUND_ROBIN,
@@ -19,6 +19,7 @@ package org.apache.fluss.config;
 
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.metadata.AggregateFunctionType;
 import org.apache.fluss.metadata.DataLakeFormat;
 import org.apache.fluss.metadata.DeleteBehavior;
 import org.apache.fluss.metadata.KvFormat;
@@ -27,6 +28,8 @@ import org.apache.fluss.metadata.MergeEngineType;
 import org.apache.fluss.utils.AutoPartitionStrategy;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -74,6 +77,16 @@ public class TableConfig {
         return config.get(ConfigOptions.TABLE_TIERED_LOG_LOCAL_SEGMENTS);
     }
 
+    /** Whether the changelog of the primary key table is compacted by key. */
+    public boolean isLogCompactionEnabled() {
+        return config.get(ConfigOptions.TABLE_LOG_COMPACTION_ENABLED);
+    }
+
+    /** Gets the minimum time to retain the tombstones in the compacted changelog. */
+    public long getLogCompactionTombstoneRetentionMs() {
+        return config.get(ConfigOptions.TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION).toMillis();
+    }
+
     /** Whether the data lake is enabled. */
     public boolean isDataLakeEnabled() {
         return config.get(ConfigOptions.TABLE_DATALAKE_ENABLED);
@@ -100,6 +113,11 @@ public class TableConfig {
         return config.get(ConfigOptions.TABLE_DATALAKE_AUTO_COMPACTION);
     }
 
+    /** Whether the follower replicas keep a hot-standby kv tablet. */
+    public boolean isKvStandbyEnabled() {
+        return config.get(ConfigOptions.TABLE_KV_STANDBY_ENABLED);
+    }
+
     /** Gets the optional merge engine type of the table. */
     public Optional<MergeEngineType> getMergeEngineType() {
         return config.getOptional(ConfigOptions.TABLE_MERGE_ENGINE);
@@ -112,6 +130,19 @@ public class TableConfig {
         return config.getOptional(ConfigOptions.TABLE_MERGE_ENGINE_VERSION_COLUMN);
     }
 
+    /**
+     * Gets the aggregate functions of the columns for the {@link MergeEngineType#AGGREGATE} merge
+     * engine of the table, keyed by the column names.
+     */
+    public Map<String, AggregateFunctionType> getMergeEngineAggregateFunctions() {
+        Map<String, AggregateFunctionType> functions = new HashMap<>();
+        config.get(ConfigOptions.TABLE_MERGE_ENGINE_AGGREGATE_FUNCTIONS)
+                .forEach(
+                        (column, function) ->
+                                functions.put(column, AggregateFunctionType.fromString(function)));
+        return functions;
+    }
+
     /** Gets the delete behavior of the table. */
     public Optional<DeleteBehavior> getDeleteBehavior() {
         return config.getOptional(ConfigOptions.TABLE_DELETE_BEHAVIOR);
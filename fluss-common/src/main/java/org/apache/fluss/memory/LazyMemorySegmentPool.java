@@ -60,6 +60,7 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
     private final int maxPages;
     private final int perRequestPages;
     private final long maxTimeToBlockMs;
+    private final boolean offHeap;
 
     @GuardedBy("lock")
     private boolean closed;
@@ -69,6 +70,15 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
     @VisibleForTesting
     LazyMemorySegmentPool(
             int maxPages, int pageSize, long maxTimeToBlockMs, long perRequestMemorySize) {
+        this(maxPages, pageSize, maxTimeToBlockMs, perRequestMemorySize, false);
+    }
+
+    private LazyMemorySegmentPool(
+            int maxPages,
+            int pageSize,
+            long maxTimeToBlockMs,
+            long perRequestMemorySize,
+            boolean offHeap) {
         checkArgument(maxPages > 0, "MaxPages for LazyMemorySegmentPool should be greater than 0.");
         checkArgument(
                 pageSize >= 64,
@@ -90,6 +100,7 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
         this.closed = false;
         this.waiters = new ArrayDeque<>();
         this.maxTimeToBlockMs = maxTimeToBlockMs;
+        this.offHeap = offHeap;
     }
 
     public static LazyMemorySegmentPool createWriterBufferPool(Configuration conf) {
@@ -121,6 +132,19 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
         return new LazyMemorySegmentPool(segmentCount, pageSize, waitTimeout, perRequestMemorySize);
     }
 
+    /**
+     * Creates the off-heap pool shared by the kv pre-write buffers of a server. The pool never
+     * blocks, an {@link EOFException} is thrown immediately if there are not enough free pages, as
+     * the pages are only released when the high watermark advances, which may be waiting for the
+     * blocked writer.
+     */
+    public static LazyMemorySegmentPool createKvPreWriteBufferPool(Configuration conf) {
+        long totalBytes = conf.get(ConfigOptions.KV_PRE_WRITE_BUFFER_MEMORY_SIZE).getBytes();
+        int pageSize = (int) conf.get(ConfigOptions.KV_PRE_WRITE_BUFFER_PAGE_SIZE).getBytes();
+        int segmentCount = Math.max(1, (int) (totalBytes / pageSize));
+        return new LazyMemorySegmentPool(segmentCount, pageSize, 0, pageSize, true);
+    }
+
     @Override
     public MemorySegment nextSegment() throws IOException {
         return inLock(lock, () -> allocatePages(1).get(0));
@@ -168,7 +192,10 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
             int numPages = Math.min(maxAllocatePages, Math.max(minAllocatePages, perRequestPages));
 
             for (int i = 0; i < numPages; i++) {
-                cachePages.add(MemorySegment.allocateHeapMemory(pageSize));
+                cachePages.add(
+                        offHeap
+                                ? MemorySegment.allocateOffHeapMemory(pageSize)
+                                : MemorySegment.allocateHeapMemory(pageSize));
             }
         }
     }
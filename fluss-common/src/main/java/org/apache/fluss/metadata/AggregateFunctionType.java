@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.metadata;
+
+/**
+ * The aggregate function of a column for the {@link MergeEngineType#AGGREGATE} merge engine. Null
+ * values of the new row are ignored by all the functions except {@link #LAST}.
+ *
+ * @since 0.9
+ */
+public enum AggregateFunctionType {
+
+    /** Sums the values, supports the numeric types. */
+    SUM,
+
+    /** Keeps the minimum value, supports the numeric, string, date and time types. */
+    MIN,
+
+    /** Keeps the maximum value, supports the numeric, string, date and time types. */
+    MAX,
+
+    /** Counts the non-null values written to the column, supports INT and BIGINT. */
+    COUNT,
+
+    /** Keeps the latest non-null value, it's the default function of the columns. */
+    LAST_NON_NULL,
+
+    /** Keeps the latest value even if it is null. */
+    LAST;
+
+    /** Creates a {@link AggregateFunctionType} from the given string. */
+    public static AggregateFunctionType fromString(String type) {
+        switch (type.toUpperCase()) {
+            case "SUM":
+                return SUM;
+            case "MIN":
+                return MIN;
+            case "MAX":
+                return MAX;
+            case "COUNT":
+                return COUNT;
+            case "LAST_NON_NULL":
+                return LAST_NON_NULL;
+            case "LAST":
+                return LAST;
+            default:
+                throw new IllegalArgumentException("Unsupported aggregate function: " + type);
+        }
+    }
+}
@@ -52,9 +52,15 @@ public enum MergeEngineType {
      *   <li>Null version value is treated as the smallest version (i.e., Long.MIN_VALUE)
      * </ul>
      */
-    VERSIONED;
+    VERSIONED,
 
-    // introduce AGGREGATE merge engine in the future
+    /**
+     * A merge engine that aggregates the new row into the existing row with the same primary key
+     * column by column, using the {@link AggregateFunctionType} declared for each column. It allows
+     * clients to write small delta rows (e.g., increments of counters) instead of reading,
+     * aggregating and upserting the rows themselves.
+     */
+    AGGREGATE;
 
     /** Creates a {@link MergeEngineType} from the given string. */
     public static MergeEngineType fromString(String type) {
@@ -63,6 +69,8 @@ public enum MergeEngineType {
                 return FIRST_ROW;
             case "VERSIONED":
                 return VERSIONED;
+            case "AGGREGATE":
+                return AGGREGATE;
             default:
                 throw new IllegalArgumentException("Unsupported merge engine type: " + type);
         }
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.metrics;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.clock.SystemClock;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * A lock-free {@link Histogram} recording the values into log-linear buckets in the same way as
+ * HdrHistogram, so the memory footprint is fixed and the quantiles are accurate to the given number
+ * of significant decimal digits, e.g., a value is recorded with a relative error of less than 1%
+ * for 2 significant digits.
+ *
+ * <p>The values are recorded by any number of threads without locking into the active interval, and
+ * {@link #getStatistics()} swaps the active interval with the inactive one to take a snapshot of
+ * the values recorded since the previous snapshot, like the {@code Recorder} of HdrHistogram. As a
+ * histogram may be read by multiple reporters, e.g., by JMX attribute by attribute, the snapshot is
+ * reused if it was taken less than the minimum snapshot interval ago.
+ */
+public class IntervalHistogram implements Histogram {
+
+    /** The default number of significant decimal digits of the recorded values. */
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+    /** The default highest value to track, higher values are recorded as this value. */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = 1L << 36;
+
+    /** The default minimum interval between two snapshots. */
+    public static final long DEFAULT_MIN_SNAPSHOT_INTERVAL_MS = 5_000L;
+
+    private final int subBucketBits;
+    private final long highestTrackableValue;
+    private final long minSnapshotIntervalMs;
+    private final Clock clock;
+
+    private final LongAdder totalCount = new LongAdder();
+    private final WriterReaderPhaser phaser = new WriterReaderPhaser();
+    private volatile Interval activeInterval;
+
+    @GuardedBy("this")
+    private Interval inactiveInterval;
+
+    @GuardedBy("this")
+    private IntervalHistogramStatistics lastStatistics;
+
+    @GuardedBy("this")
+    private long lastSnapshotTimeMs;
+
+    public IntervalHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    public IntervalHistogram(long highestTrackableValue, int significantDigits) {
+        this(
+                highestTrackableValue,
+                significantDigits,
+                DEFAULT_MIN_SNAPSHOT_INTERVAL_MS,
+                SystemClock.getInstance());
+    }
+
+    @VisibleForTesting
+    IntervalHistogram(
+            long highestTrackableValue,
+            int significantDigits,
+            long minSnapshotIntervalMs,
+            Clock clock) {
+        checkArgument(
+                significantDigits >= 1 && significantDigits <= 3,
+                "The number of significant digits must be in [1, 3], but is %s.",
+                significantDigits);
+        checkArgument(
+                highestTrackableValue >= 1,
+                "The highest trackable value must be positive, but is %s.",
+                highestTrackableValue);
+        // the values less than the sub bucket count are recorded with single unit resolution
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        this.subBucketBits = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution);
+        this.highestTrackableValue = highestTrackableValue;
+        this.minSnapshotIntervalMs = minSnapshotIntervalMs;
+        this.clock = clock;
+        int bucketCount = bucketIndex(highestTrackableValue, subBucketBits) + 1;
+        this.activeInterval = new Interval(bucketCount);
+        this.inactiveInterval = new Interval(bucketCount);
+        this.lastStatistics = IntervalHistogramStatistics.empty(subBucketBits);
+        this.lastSnapshotTimeMs = clock.milliseconds();
+    }
+
+    @Override
+    public void update(long value) {
+        long trackedValue = Math.min(Math.max(value, 0L), highestTrackableValue);
+        int bucket = bucketIndex(trackedValue, subBucketBits);
+        long criticalValue = phaser.writerCriticalSectionEnter();
+        try {
+            activeInterval.record(bucket, trackedValue);
+        } finally {
+            phaser.writerCriticalSectionExit(criticalValue);
+        }
+        totalCount.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Returns the statistics of the values recorded in the last interval, which ends when the
+     * statistics are requested and at least the minimum snapshot interval after the previous
+     * interval ends.
+     */
+    @Override
+    public synchronized HistogramStatistics getStatistics() {
+        long currentTimeMs = clock.milliseconds();
+        if (currentTimeMs - lastSnapshotTimeMs >= minSnapshotIntervalMs) {
+            Interval interval = inactiveInterval;
+            interval.reset();
+            inactiveInterval = activeInterval;
+            activeInterval = interval;
+            // wait for the in-flight recordings to the previous active interval
+            phaser.flipPhase();
+            lastStatistics = inactiveInterval.snapshot(subBucketBits);
+            lastSnapshotTimeMs = currentTimeMs;
+        }
+        return lastStatistics;
+    }
+
+    /**
+     * Returns the index of the bucket of the given non-negative value. The values less than the sub
+     * bucket count {@code 2^subBucketBits} have a bucket per value, and the higher values are
+     * recorded in half of the sub buckets with the unit doubled for every power of 2.
+     */
+    static int bucketIndex(long value, int subBucketBits) {
+        if (value < (1L << subBucketBits)) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (subBucketBits - 1);
+        return (shift << (subBucketBits - 1)) + (int) (value >>> shift);
+    }
+
+    /** Returns the lowest value recorded in the bucket of the given index. */
+    static long lowestEquivalentValue(int bucketIndex, int subBucketBits) {
+        if (bucketIndex < (1 << subBucketBits)) {
+            return bucketIndex;
+        }
+        int halfCount = 1 << (subBucketBits - 1);
+        int shift = bucketIndex / halfCount - 1;
+        return (long) (bucketIndex % halfCount + halfCount) << shift;
+    }
+
+    /** Returns the highest value recorded in the bucket of the given index. */
+    static long highestEquivalentValue(int bucketIndex, int subBucketBits) {
+        if (bucketIndex < (1 << subBucketBits)) {
+            return bucketIndex;
+        }
+        int shift = bucketIndex / (1 << (subBucketBits - 1)) - 1;
+        return lowestEquivalentValue(bucketIndex, subBucketBits) + (1L << shift) - 1;
+    }
+
+    /** The values recorded in an interval. */
+    private static final class Interval {
+        private final AtomicLongArray counts;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        private Interval(int bucketCount) {
+            this.counts = new AtomicLongArray(bucketCount);
+        }
+
+        private void record(int bucket, long value) {
+            counts.incrementAndGet(bucket);
+            count.increment();
+            sum.add(value);
+            long currentMin = min.get();
+            while (value < currentMin && !min.compareAndSet(currentMin, value)) {
+                currentMin = min.get();
+            }
+            long currentMax = max.get();
+            while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+                currentMax = max.get();
+            }
+        }
+
+        /** Takes a snapshot of the interval, must be called when no thread records to it. */
+        private IntervalHistogramStatistics snapshot(int subBucketBits) {
+            long totalCount = count.sum();
+            if (totalCount == 0) {
+                return IntervalHistogramStatistics.empty(subBucketBits);
+            }
+            int lastBucket = bucketIndex(max.get(), subBucketBits);
+            long[] bucketCounts = new long[lastBucket + 1];
+            for (int i = 0; i <= lastBucket; i++) {
+                bucketCounts[i] = counts.get(i);
+            }
+            return new IntervalHistogramStatistics(
+                    subBucketBits, bucketCounts, totalCount, sum.sum(), min.get(), max.get());
+        }
+
+        private void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.lazySet(i, 0L);
+            }
+            count.reset();
+            sum.reset();
+            min.set(Long.MAX_VALUE);
+            max.set(Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * A phaser to let the reader wait for the writers in the previous phase without blocking the
+     * writers, which is the same as the {@code WriterReaderPhaser} of HdrHistogram. The phases are
+     * distinguished by the sign of the start epoch.
+     */
+    private static final class WriterReaderPhaser {
+        private final AtomicLong startEpoch = new AtomicLong(0);
+        private final AtomicLong evenEndEpoch = new AtomicLong(0);
+        private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+
+        private long writerCriticalSectionEnter() {
+            return startEpoch.getAndIncrement();
+        }
+
+        private void writerCriticalSectionExit(long criticalValueAtEnter) {
+            if (criticalValueAtEnter < 0) {
+                oddEndEpoch.getAndIncrement();
+            } else {
+                evenEndEpoch.getAndIncrement();
+            }
+        }
+
+        /** Flips the phase and waits for the writers entered in the previous phase to exit. */
+        private void flipPhase() {
+            boolean nextPhaseIsEven = startEpoch.get() < 0;
+            long initialStartValue = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+            if (nextPhaseIsEven) {
+                evenEndEpoch.lazySet(initialStartValue);
+            } else {
+                oddEndEpoch.lazySet(initialStartValue);
+            }
+            long startValueAtFlip = startEpoch.getAndSet(initialStartValue);
+            AtomicLong previousEndEpoch = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+            while (previousEndEpoch.get() != startValueAtFlip) {
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.metrics;
+
+import static org.apache.fluss.metrics.IntervalHistogram.highestEquivalentValue;
+import static org.apache.fluss.metrics.IntervalHistogram.lowestEquivalentValue;
+
+/**
+ * Histogram statistics implementation returned by {@link IntervalHistogram}, which is the snapshot
+ * of the bucket counts of the values recorded in an interval. The mean, min and max are exact, and
+ * the quantiles and the standard deviation are calculated in the precision of the buckets.
+ */
+public class IntervalHistogramStatistics extends HistogramStatistics {
+
+    private final int subBucketBits;
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    IntervalHistogramStatistics(
+            int subBucketBits, long[] bucketCounts, long count, long sum, long min, long max) {
+        this.subBucketBits = subBucketBits;
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    static IntervalHistogramStatistics empty(int subBucketBits) {
+        return new IntervalHistogramStatistics(subBucketBits, new long[0], 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Returns the highest value of the bucket which contains the value at the given quantile, which
+     * is the same as HdrHistogram.
+     */
+    @Override
+    public double getQuantile(double quantile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        if (quantile <= 0.0) {
+            return min;
+        }
+        long countAtQuantile = Math.max(1L, (long) Math.ceil(Math.min(quantile, 1.0) * count));
+        long totalToCurrentBucket = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            totalToCurrentBucket += bucketCounts[i];
+            if (totalToCurrentBucket >= countAtQuantile) {
+                return Math.max(min, Math.min(max, highestEquivalentValue(i, subBucketBits)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the recorded values in the precision of the buckets, i.e., every value is represented
+     * by the median of its bucket.
+     */
+    @Override
+    public long[] getValues() {
+        long[] values = new long[size()];
+        int pos = 0;
+        for (int i = 0; i < bucketCounts.length && pos < values.length; i++) {
+            long value = medianEquivalentValue(i);
+            for (long j = 0; j < bucketCounts[i] && pos < values.length; j++) {
+                values[pos++] = value;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /** Returns the sample standard deviation, the same as DescriptiveStatistics. */
+    @Override
+    public double getStdDev() {
+        if (count <= 1) {
+            return 0.0;
+        }
+        double mean = getMean();
+        double squaredDeviations = 0.0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            if (bucketCounts[i] > 0) {
+                double deviation = medianEquivalentValue(i) - mean;
+                squaredDeviations += deviation * deviation * bucketCounts[i];
+            }
+        }
+        return Math.sqrt(squaredDeviations / (count - 1));
+    }
+
+    @Override
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public long getMin() {
+        return min;
+    }
+
+    private long medianEquivalentValue(int bucketIndex) {
+        long lowest = lowestEquivalentValue(bucketIndex, subBucketBits);
+        long highest = highestEquivalentValue(bucketIndex, subBucketBits);
+        long median = lowest + (highest - lowest) / 2;
+        return Math.max(min, Math.min(max, median));
+    }
+}
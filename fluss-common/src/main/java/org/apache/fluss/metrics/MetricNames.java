@@ -68,6 +68,7 @@ public class MetricNames {
             "delayedFetchFromFollowerExpiresPerSecond";
     public static final String DELAYED_FETCH_FROM_CLIENT_EXPIRES_RATE =
             "delayedFetchFromClientExpiresPerSecond";
+    public static final String PENDING_LEADER_INIT_BUCKETS = "pendingLeaderInitBuckets";
 
     public static final String SERVER_LOGICAL_STORAGE_LOG_SIZE = "logSize";
     public static final String SERVER_LOGICAL_STORAGE_KV_SIZE = "kvSize";
@@ -124,6 +125,11 @@ public class MetricNames {
             "preWriteBufferTruncateAsDuplicatedPerSecond";
     public static final String KV_PRE_WRITE_BUFFER_TRUNCATE_AS_ERROR_RATE =
             "preWriteBufferTruncateAsErrorPerSecond";
+    public static final String KV_PRE_WRITE_BUFFER_MEMORY_USAGE = "preWriteBufferMemoryUsedBytes";
+    public static final String KV_ROCKSDB_BLOCK_CACHE_MEMORY_USAGE =
+            "rocksdbBlockCacheMemoryUsedBytes";
+    public static final String KV_ROCKSDB_BLOCK_CACHE_PINNED_MEMORY_USAGE =
+            "rocksdbBlockCachePinnedMemoryUsedBytes";
 
     // --------------------------------------------------------------------------------------------
     // metrics for table bucket
@@ -136,6 +142,21 @@ public class MetricNames {
     public static final String LOG_LAKE_PENDING_RECORDS = "pendingRecords";
     public static final String LOG_LAKE_TIMESTAMP_LAG = "timestampLag";
 
+    // for hot-standby kv tablet
+    public static final String KV_STANDBY_PENDING_RECORDS = "pendingRecords";
+    public static final String KV_STANDBY_APPLIED_OFFSET = "appliedOffset";
+
+    // for restoring kv tablet
+    public static final String KV_RESTORE_PENDING_RECORDS = "pendingRecords";
+    public static final String KV_RESTORE_RESTORED_OFFSET = "restoredOffset";
+    public static final String KV_RESTORE_TIME_MS = "restoreTimeMs";
+
+    // for rocksdb of kv tablet
+    public static final String KV_ROCKSDB_MEM_TABLE_MEMORY_USAGE = "memTableMemoryUsedBytes";
+    public static final String KV_ROCKSDB_TABLE_READERS_MEMORY_USAGE =
+            "tableReadersMemoryUsedBytes";
+    public static final String KV_ROCKSDB_BLOCK_CACHE_HIT_RATE = "blockCacheHitRate";
+
     // for logic storage
     public static final String LOCAL_STORAGE_LOG_SIZE = "logSize";
     public static final String LOCAL_STORAGE_KV_SIZE = "kvSize";
@@ -177,6 +198,14 @@ public class MetricNames {
     public static final String SCANNER_REMOTE_FETCH_RATE = "remoteFetchRequestsPerSecond";
     public static final String SCANNER_REMOTE_FETCH_ERROR_RATE = "remoteFetchErrorPerSecond";
 
+    // for lookup
+    public static final String LOOKUP_CACHE_HIT_RATE = "cacheHitsPerSecond";
+    public static final String LOOKUP_CACHE_MISS_RATE = "cacheMissesPerSecond";
+    public static final String LOOKUP_CACHE_EVICTION_RATE = "cacheEvictionsPerSecond";
+    public static final String LOOKUP_CACHE_INVALIDATION_RATE = "cacheInvalidationsPerSecond";
+    public static final String LOOKUP_CACHE_SIZE_BYTES = "cacheSizeBytes";
+    public static final String LOOKUP_CACHE_ENTRIES = "cacheEntries";
+
     // for netty
     public static final String NETTY_USED_DIRECT_MEMORY = "usedDirectMemory";
     public static final String NETTY_NUM_DIRECT_ARENAS = "numDirectArenas";
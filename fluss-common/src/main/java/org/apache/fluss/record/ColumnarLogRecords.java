@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.row.columnar.ColumnVector;
+import org.apache.fluss.row.columnar.ColumnarRow;
+import org.apache.fluss.row.columnar.VectorizedColumnBatch;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.FieldVector;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.util.TransferPair;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.ArrowUtils;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+import static org.apache.fluss.utils.Preconditions.checkState;
+
+/**
+ * The log records of a {@link LogRecordBatch} in columnar format, which exposes the Arrow {@link
+ * VectorSchemaRoot} and the {@link ColumnVector}s of the records directly, together with the change
+ * types and log offsets of the records. The i-th record has the log offset {@code baseLogOffset() +
+ * i}.
+ *
+ * <p>The Arrow buffers are owned by this object and are reference counted. The reference count is 1
+ * after creation, {@link #retain()} increases the reference count and {@link #release()} decreases
+ * it. The Arrow buffers are released when the reference count reaches 0, and the records can't be
+ * accessed anymore.
+ *
+ * @since 0.9
+ */
+@PublicEvolving
+public class ColumnarLogRecords implements AutoCloseable {
+
+    private final long baseLogOffset;
+    private final long commitTimestamp;
+    // the change types of the records, null if the records are append only
+    private final @Nullable byte[] changeTypes;
+    private final VectorSchemaRoot root;
+    private final RowType rowType;
+    private final VectorizedColumnBatch columnBatch;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    public ColumnarLogRecords(
+            long baseLogOffset,
+            long commitTimestamp,
+            @Nullable byte[] changeTypes,
+            VectorSchemaRoot root,
+            RowType rowType) {
+        checkArgument(
+                changeTypes == null || changeTypes.length == root.getRowCount(),
+                "The number of change types (%s) is not the same as the number of records (%s).",
+                changeTypes == null ? 0 : changeTypes.length,
+                root.getRowCount());
+        this.baseLogOffset = baseLogOffset;
+        this.commitTimestamp = commitTimestamp;
+        this.changeTypes = changeTypes;
+        this.root = root;
+        this.rowType = rowType;
+        this.columnBatch =
+                new VectorizedColumnBatch(ArrowUtils.createArrowColumnVectors(root, rowType));
+    }
+
+    /** Returns the log offset of the first record. */
+    public long baseLogOffset() {
+        return baseLogOffset;
+    }
+
+    /** Returns the log offset of the last record. */
+    public long lastLogOffset() {
+        return baseLogOffset + getRowCount() - 1;
+    }
+
+    /** Returns the commit timestamp of the records. */
+    public long commitTimestamp() {
+        return commitTimestamp;
+    }
+
+    /** Returns the number of records. */
+    public int getRowCount() {
+        return root.getRowCount();
+    }
+
+    /** Returns the row type of the records. */
+    public RowType getRowType() {
+        return rowType;
+    }
+
+    /** Returns the log offset of the record at the given row id. */
+    public long getLogOffset(int rowId) {
+        return baseLogOffset + rowId;
+    }
+
+    /** Returns true if all the records are {@link ChangeType#APPEND_ONLY}. */
+    public boolean isAppendOnly() {
+        return changeTypes == null;
+    }
+
+    /** Returns the change type of the record at the given row id. */
+    public ChangeType getChangeType(int rowId) {
+        ensureNotReleased();
+        return changeTypes == null
+                ? ChangeType.APPEND_ONLY
+                : ChangeType.fromByteValue(changeTypes[rowId]);
+    }
+
+    /**
+     * Returns the Arrow {@link VectorSchemaRoot} of the records. Don't close the returned schema
+     * root, it is closed when the records are released.
+     */
+    public VectorSchemaRoot getVectorSchemaRoot() {
+        ensureNotReleased();
+        return root;
+    }
+
+    /** Returns the column vectors of the records, which are views of the Arrow vectors. */
+    public VectorizedColumnBatch getColumnBatch() {
+        ensureNotReleased();
+        return columnBatch;
+    }
+
+    /** Returns the record at the given row id as a view of the column vectors. */
+    public ColumnarRow getRow(int rowId) {
+        ensureNotReleased();
+        return new ColumnarRow(columnBatch, rowId);
+    }
+
+    /**
+     * Creates new columnar records of the records starting from the given row id with the selected
+     * fields. The new records share the Arrow buffers with this one but have an independent
+     * reference count, so this one should still be released after use. If all the records and
+     * fields are kept, this one is returned with the reference count increased.
+     *
+     * @param fromRowId the row id of the first record to keep
+     * @param selectedFields the indexes of the fields to keep in order
+     */
+    public ColumnarLogRecords project(int fromRowId, int[] selectedFields) {
+        ensureNotReleased();
+        int rowCount = getRowCount();
+        checkArgument(
+                fromRowId >= 0 && fromRowId <= rowCount,
+                "The row id %s is out of the range [0, %s].",
+                fromRowId,
+                rowCount);
+        if (fromRowId == 0 && isAllFields(selectedFields)) {
+            return retain();
+        }
+        int length = rowCount - fromRowId;
+        List<FieldVector> fieldVectors = new ArrayList<>(selectedFields.length);
+        for (int field : selectedFields) {
+            FieldVector vector = root.getVector(field);
+            // the transferred vector retains the buffers of the source vector
+            TransferPair transferPair = vector.getTransferPair(vector.getAllocator());
+            transferPair.splitAndTransfer(fromRowId, length);
+            fieldVectors.add((FieldVector) transferPair.getTo());
+        }
+        VectorSchemaRoot projectedRoot = new VectorSchemaRoot(fieldVectors);
+        projectedRoot.setRowCount(length);
+        return new ColumnarLogRecords(
+                baseLogOffset + fromRowId,
+                commitTimestamp,
+                changeTypes == null ? null : Arrays.copyOfRange(changeTypes, fromRowId, rowCount),
+                projectedRoot,
+                rowType.project(selectedFields));
+    }
+
+    /** Increases the reference count. */
+    public ColumnarLogRecords retain() {
+        int count;
+        do {
+            count = refCount.get();
+            checkState(count > 0, "The columnar log records have been released.");
+        } while (!refCount.compareAndSet(count, count + 1));
+        return this;
+    }
+
+    /**
+     * Decreases the reference count and releases the Arrow buffers if the reference count reaches
+     * 0.
+     *
+     * @return true if the Arrow buffers are released.
+     */
+    public boolean release() {
+        int count = refCount.decrementAndGet();
+        checkState(count >= 0, "The columnar log records have been released.");
+        if (count == 0) {
+            root.close();
+            return true;
+        }
+        return false;
+    }
+
+    /** Returns the current reference count. */
+    public int refCount() {
+        return refCount.get();
+    }
+
+    /** Same as {@link #release()}. */
+    @Override
+    public void close() {
+        release();
+    }
+
+    private boolean isAllFields(int[] selectedFields) {
+        if (selectedFields.length != rowType.getFieldCount()) {
+            return false;
+        }
+        for (int i = 0; i < selectedFields.length; i++) {
+            if (selectedFields[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureNotReleased() {
+        checkState(refCount.get() > 0, "The columnar log records have been released.");
+    }
+}
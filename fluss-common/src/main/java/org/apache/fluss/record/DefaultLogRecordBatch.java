@@ -31,13 +31,17 @@ import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.MurmurHashUtils;
 import org.apache.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import static org.apache.fluss.record.LogRecordBatchFormat.BASE_OFFSET_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.COMMIT_TIMESTAMP_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
 import static org.apache.fluss.record.LogRecordBatchFormat.MAGIC_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_LEADER_EPOCH;
@@ -50,6 +54,7 @@ import static org.apache.fluss.record.LogRecordBatchFormat.leaderEpochOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.schemaIdOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.statisticsLengthOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.writeClientIdOffset;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
@@ -65,6 +70,7 @@ import static org.apache.fluss.record.LogRecordBatchFormat.writeClientIdOffset;
  * <ul>
  *   <li>V0 => {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V0}
  *   <li>V1 => {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V1}
+ *   <li>V2 => {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}
  * </ul>
  *
  * @since 0.1
@@ -207,6 +213,29 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
         return segment.getInt(position + recordsCountOffset(magic));
     }
 
+    /** Returns the size in bytes of the statistics at the end of the batch, 0 if absent. */
+    public int statisticsLength() {
+        if (magic >= LOG_MAGIC_VALUE_V2) {
+            return segment.getInt(position + statisticsLengthOffset(magic));
+        }
+        return 0;
+    }
+
+    @Override
+    public Optional<LogRecordBatchStatistics> getStatistics(RowType rowType) {
+        int statisticsLength = statisticsLength();
+        if (statisticsLength == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(
+                LogRecordBatchStatistics.read(
+                        segment,
+                        position + sizeInBytes() - statisticsLength,
+                        statisticsLength,
+                        rowType,
+                        getRecordCount()));
+    }
+
     @Override
     public CloseableIterator<LogRecord> records(ReadContext context) {
         if (getRecordCount() == 0) {
@@ -278,18 +307,54 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
         };
     }
 
+    @Override
+    public ColumnarLogRecords columnarRecords(ReadContext context) {
+        LogFormat logFormat = context.getLogFormat();
+        if (logFormat != LogFormat.ARROW) {
+            throw new UnsupportedOperationException(
+                    "Only ARROW log format supports reading records in columnar format, but is "
+                            + logFormat);
+        }
+        int schemaId = schemaId();
+        RowType rowType = context.getRowType(schemaId);
+        VectorSchemaRoot sharedRoot = context.getVectorSchemaRoot(schemaId);
+        BufferAllocator allocator = context.getBufferAllocator();
+        int recordCount = getRecordCount();
+        if (recordCount == 0) {
+            return new ColumnarLogRecords(
+                    baseLogOffset(),
+                    commitTimestamp(),
+                    null,
+                    VectorSchemaRoot.create(sharedRoot.getSchema(), allocator),
+                    rowType);
+        }
+
+        ChangeTypeVector changeTypeVector = changeTypeVector();
+        byte[] changeTypes = null;
+        if (changeTypeVector != null) {
+            // copy the change types, as the records may outlive the underlying memory segment
+            changeTypes = new byte[recordCount];
+            segment.get(position + arrowChangeTypeOffset(magic), changeTypes, 0, recordCount);
+        }
+        ArrowReader reader = createArrowReader(changeTypeVector, rowType, sharedRoot, allocator);
+        try {
+            // the sliced root retains the loaded buffers, so that the shared root can be reused
+            return new ColumnarLogRecords(
+                    baseLogOffset(),
+                    commitTimestamp(),
+                    changeTypes,
+                    sharedRoot.slice(0, recordCount),
+                    rowType);
+        } finally {
+            reader.close();
+        }
+    }
+
     private CloseableIterator<LogRecord> columnRecordIterator(
             RowType rowType, VectorSchemaRoot root, BufferAllocator allocator, long timestamp) {
-        boolean isAppendOnly = (attributes() & APPEND_ONLY_FLAG_MASK) > 0;
-        if (isAppendOnly) {
-            // append only batch, no change type vector,
-            // the start of the arrow data is the beginning of the batch records
-            int recordBatchHeaderSize = recordBatchHeaderSize(magic);
-            int arrowOffset = position + recordBatchHeaderSize;
-            int arrowLength = sizeInBytes() - recordBatchHeaderSize;
-            ArrowReader reader =
-                    ArrowUtils.createArrowReader(
-                            segment, arrowOffset, arrowLength, root, allocator, rowType);
+        ChangeTypeVector changeTypeVector = changeTypeVector();
+        ArrowReader reader = createArrowReader(changeTypeVector, rowType, root, allocator);
+        if (changeTypeVector == null) {
             return new ArrowLogRecordIterator(reader, timestamp) {
                 @Override
                 protected ChangeType getChangeType(int rowId) {
@@ -297,17 +362,6 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
                 }
             };
         } else {
-            // with change type, decode the change type vector first,
-            // the arrow data starts after the change type vector
-            int changeTypeOffset = position + arrowChangeTypeOffset(magic);
-            ChangeTypeVector changeTypeVector =
-                    new ChangeTypeVector(segment, changeTypeOffset, getRecordCount());
-            int arrowOffset = changeTypeOffset + changeTypeVector.sizeInBytes();
-            int arrowLength =
-                    sizeInBytes() - arrowChangeTypeOffset(magic) - changeTypeVector.sizeInBytes();
-            ArrowReader reader =
-                    ArrowUtils.createArrowReader(
-                            segment, arrowOffset, arrowLength, root, allocator, rowType);
             return new ArrowLogRecordIterator(reader, timestamp) {
                 @Override
                 protected ChangeType getChangeType(int rowId) {
@@ -317,6 +371,42 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
         }
     }
 
+    /** Returns the change type vector of the arrow batch, or null if it's an append only batch. */
+    private @Nullable ChangeTypeVector changeTypeVector() {
+        boolean isAppendOnly = (attributes() & APPEND_ONLY_FLAG_MASK) > 0;
+        if (isAppendOnly) {
+            return null;
+        }
+        return new ChangeTypeVector(
+                segment, position + arrowChangeTypeOffset(magic), getRecordCount());
+    }
+
+    private ArrowReader createArrowReader(
+            @Nullable ChangeTypeVector changeTypeVector,
+            RowType rowType,
+            VectorSchemaRoot root,
+            BufferAllocator allocator) {
+        int arrowOffset;
+        int arrowLength;
+        if (changeTypeVector == null) {
+            // append only batch, no change type vector,
+            // the start of the arrow data is the beginning of the batch records
+            int recordBatchHeaderSize = recordBatchHeaderSize(magic);
+            arrowOffset = position + recordBatchHeaderSize;
+            arrowLength = sizeInBytes() - recordBatchHeaderSize - statisticsLength();
+        } else {
+            // with change type, the arrow data starts after the change type vector
+            arrowOffset = position + arrowChangeTypeOffset(magic) + changeTypeVector.sizeInBytes();
+            arrowLength =
+                    sizeInBytes()
+                            - arrowChangeTypeOffset(magic)
+                            - changeTypeVector.sizeInBytes()
+                            - statisticsLength();
+        }
+        return ArrowUtils.createArrowReader(
+                segment, arrowOffset, arrowLength, root, allocator, rowType);
+    }
+
     /** The basic implementation for Arrow log record iterator. */
     private abstract class ArrowLogRecordIterator extends LogRecordIterator {
         private final ArrowReader reader;
@@ -19,6 +19,7 @@ package org.apache.fluss.record;
 
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.FileUtils;
 
@@ -27,6 +28,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.apache.fluss.record.LogRecordBatchFormat.BASE_OFFSET_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.HEADER_SIZE_UP_TO_MAGIC;
@@ -169,6 +171,36 @@ public class FileLogInputStream
             return loadFullBatch().records(context);
         }
 
+        @Override
+        public ColumnarLogRecords columnarRecords(ReadContext context) {
+            return loadFullBatch().columnarRecords(context);
+        }
+
+        @Override
+        public Optional<LogRecordBatchStatistics> getStatistics(RowType rowType) {
+            if (fullBatch != null) {
+                return fullBatch.getStatistics(rowType);
+            }
+            // only load the header and the statistics, skip the records in between
+            DefaultLogRecordBatch header = (DefaultLogRecordBatch) loadBatchHeader();
+            int statisticsLength = header.statisticsLength();
+            if (statisticsLength == 0) {
+                return Optional.empty();
+            }
+            ByteBuffer buffer =
+                    loadByteBufferWithSize(
+                            statisticsLength,
+                            position + sizeInBytes() - statisticsLength,
+                            "record batch statistics");
+            return Optional.ofNullable(
+                    LogRecordBatchStatistics.read(
+                            MemorySegment.wrap(buffer.array()),
+                            0,
+                            statisticsLength,
+                            rowType,
+                            header.getRecordCount()));
+        }
+
         @Override
         public boolean isValid() {
             return loadFullBatch().isValid();
@@ -58,14 +58,17 @@ import static org.apache.fluss.record.DefaultLogRecordBatch.APPEND_ONLY_FLAG_MAS
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
 import static org.apache.fluss.record.LogRecordBatchFormat.MAGIC_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.V0_RECORD_BATCH_HEADER_SIZE;
 import static org.apache.fluss.record.LogRecordBatchFormat.V1_RECORD_BATCH_HEADER_SIZE;
+import static org.apache.fluss.record.LogRecordBatchFormat.V2_RECORD_BATCH_HEADER_SIZE;
 import static org.apache.fluss.record.LogRecordBatchFormat.arrowChangeTypeOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.attributeOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.statisticsLengthOffset;
 import static org.apache.fluss.utils.FileUtils.readFully;
 import static org.apache.fluss.utils.FileUtils.readFullyOrFail;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
@@ -90,10 +93,10 @@ public class FileLogProjection {
     private final WriteChannel writeChannel;
 
     /**
-     * Buffer to read log records batch header. V1 is larger than V0, so use V1 head buffer can read
-     * V0 header even if there is no enough bytes in log file.
+     * Buffer to read log records batch header. V2 is the largest header, so use V2 head buffer can
+     * read V0 and V1 header even if there is no enough bytes in log file.
      */
-    private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(V1_RECORD_BATCH_HEADER_SIZE);
+    private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(V2_RECORD_BATCH_HEADER_SIZE);
 
     private final ByteBuffer arrowHeaderBuffer = ByteBuffer.allocate(ARROW_HEADER_SIZE);
     private ByteBuffer arrowMetadataBuffer;
@@ -267,6 +270,10 @@ public class FileLogProjection {
             // 4. update and copy log batch header
             logHeaderBuffer.position(LENGTH_OFFSET);
             logHeaderBuffer.putInt(newBatchSizeInBytes - LOG_OVERHEAD);
+            if (magic >= LOG_MAGIC_VALUE_V2) {
+                // the statistics are not copied to the projected batch
+                logHeaderBuffer.putInt(statisticsLengthOffset(magic), 0);
+            }
             logHeaderBuffer.rewind();
             // the logHeader can't be reused, as it will be sent to network
             byte[] logHeader = new byte[recordBatchHeaderSize];
@@ -401,7 +408,7 @@ public class FileLogProjection {
 
     /**
      * Read log header fully or fail with EOFException if there is no enough bytes to read a full
-     * log header. This handles different log header size for magic v0 and v1.
+     * log header. This handles different log header size for magic v0, v1 and v2.
      */
     static void readLogHeaderFullyOrFail(FileChannel channel, ByteBuffer buffer, int position)
             throws IOException {
@@ -425,6 +432,12 @@ public class FileLogProjection {
                                 "Failed to read v1 log header from file channel `%s`. Expected to read %d bytes, "
                                         + "but reached end of file after reading %d bytes. Started read from position %d.",
                                 channel, V1_RECORD_BATCH_HEADER_SIZE, size, position));
+            } else if (magic == LOG_MAGIC_VALUE_V2 && size < V2_RECORD_BATCH_HEADER_SIZE) {
+                throw new EOFException(
+                        String.format(
+                                "Failed to read v2 log header from file channel `%s`. Expected to read %d bytes, "
+                                        + "but reached end of file after reading %d bytes. Started read from position %d.",
+                                channel, V2_RECORD_BATCH_HEADER_SIZE, size, position));
             }
         }
     }
@@ -25,6 +25,7 @@ import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.CloseableIterator;
 
 import java.util.Iterator;
+import java.util.Optional;
 
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
@@ -162,6 +163,27 @@ public interface LogRecordBatch {
      */
     CloseableIterator<LogRecord> records(ReadContext context);
 
+    /**
+     * Returns the records of this batch in columnar format without materializing the records row by
+     * row. Only the {@link LogFormat#ARROW} record batch supports it. Callers should ensure that
+     * the returned records are released.
+     *
+     * @param context The context to read records from the record batch.
+     * @return The columnar records of the record batch.
+     * @throws UnsupportedOperationException if the record batch is not in ARROW log format.
+     */
+    ColumnarLogRecords columnarRecords(ReadContext context);
+
+    /**
+     * Returns the column statistics of the records in this batch, which can be used to skip the
+     * batch without decoding the records. The statistics are only available since {@link
+     * LogRecordBatchFormat#LOG_MAGIC_VALUE_V2} and only for the batches written with statistics.
+     *
+     * @param rowType The full (non-projected) row type of the schema of this batch.
+     * @return The statistics of this batch, or empty if not available.
+     */
+    Optional<LogRecordBatchStatistics> getStatistics(RowType rowType);
+
     /** The read context of a {@link LogRecordBatch} to read records. */
     interface ReadContext {
 
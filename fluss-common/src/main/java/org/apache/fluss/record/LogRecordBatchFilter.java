@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.record.FileLogInputStream.FileChannelLogRecordBatch;
+import org.apache.fluss.record.bytesview.MultiBytesView;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.crc.Crc32C;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+
+import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
+import static org.apache.fluss.record.LogRecordBatchFormat.crcOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.schemaIdOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.statisticsLengthOffset;
+import static org.apache.fluss.utils.FileUtils.readFullyOrFail;
+
+/**
+ * Row filter util on {@link FileLogRecords}. The filter works on the granularity of record batches:
+ * a record batch is returned as is if any of its records matches the predicate, otherwise it is
+ * replaced by an empty record batch (only the batch header with zero record count). The column
+ * statistics of the batch (see {@link LogRecordBatchStatistics}) are used to skip a batch without
+ * decoding its records if present. The empty batch keeps the offset range of the filtered batch, so
+ * that the reader can still move the fetch offset forward past the filtered batch.
+ *
+ * <p>Note: the returned record batches are not rewritten, so they may still contain records that
+ * don't match the predicate. The reader should evaluate the predicate again if exact results are
+ * required.
+ */
+public class LogRecordBatchFilter {
+
+    private final Predicate predicate;
+    private final LogFormat logFormat;
+    private final RowType rowType;
+
+    public LogRecordBatchFilter(Predicate predicate, LogFormat logFormat, RowType rowType) {
+        this.predicate = predicate;
+        this.logFormat = logFormat;
+        this.rowType = rowType;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Filter the record batches of the given log records, and apply the projection on the kept
+     * record batches if the projection is not null. The size of the returned log records shouldn't
+     * exceed maxBytes.
+     *
+     * @return the filtered records.
+     */
+    public BytesViewLogRecords filter(
+            FileLogRecords records, int maxBytes, @Nullable FileLogProjection projection)
+            throws IOException {
+        MultiBytesView.Builder builder = MultiBytesView.builder();
+        FileChannel channel = records.channel();
+        LogRecordReadContext readContext = null;
+        int schemaId = -1;
+        try {
+            for (LogRecordBatch batch : records.batches()) {
+                FileChannelLogRecordBatch fileBatch = (FileChannelLogRecordBatch) batch;
+                int position = fileBatch.position();
+                int batchSizeInBytes = fileBatch.sizeInBytes();
+                int headerSize = recordBatchHeaderSize(fileBatch.magic());
+                if (readContext == null) {
+                    schemaId = fileBatch.schemaId();
+                    readContext =
+                            LogRecordReadContext.createReadContext(logFormat, rowType, schemaId);
+                }
+
+                if (mayMatch(fileBatch, readContext, schemaId)) {
+                    if (projection == null) {
+                        if (batchSizeInBytes > maxBytes) {
+                            break;
+                        }
+                        builder.addBytes(channel, position, batchSizeInBytes);
+                        maxBytes -= batchSizeInBytes;
+                    } else {
+                        BytesViewLogRecords projected =
+                                projection.project(
+                                        channel, position, position + batchSizeInBytes, maxBytes);
+                        if (projected.sizeInBytes() == 0) {
+                            break;
+                        }
+                        builder.addBytes((MultiBytesView) projected.getBytesView());
+                        maxBytes -= projected.sizeInBytes();
+                    }
+                } else {
+                    if (headerSize > maxBytes) {
+                        break;
+                    }
+                    builder.addBytes(emptyBatchHeader(channel, position, fileBatch.magic()));
+                    maxBytes -= headerSize;
+                }
+            }
+        } finally {
+            if (readContext != null) {
+                readContext.close();
+            }
+        }
+        return new BytesViewLogRecords(builder.build());
+    }
+
+    private boolean mayMatch(LogRecordBatch batch, LogRecordReadContext readContext, int schemaId) {
+        if (batch.getRecordCount() == 0) {
+            // the batch has no record, keep it as is
+            return true;
+        }
+        if (batch.schemaId() != schemaId) {
+            // can't decode the batch with the current schema, keep it as is
+            return true;
+        }
+        Optional<LogRecordBatchStatistics> statistics = batch.getStatistics(rowType);
+        if (statistics.isPresent() && !statistics.get().test(predicate)) {
+            // no record can match the predicate, skip decoding the records
+            return false;
+        }
+        try (CloseableIterator<LogRecord> iterator = batch.records(readContext)) {
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next().getRow())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds an empty batch from the header of the batch at the given position, the empty batch has
+     * the same base offset and last offset delta with the original batch, but no records.
+     */
+    private static byte[] emptyBatchHeader(FileChannel channel, int position, byte magic)
+            throws IOException {
+        int headerSize = recordBatchHeaderSize(magic);
+        ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+        readFullyOrFail(channel, header, position, "log header");
+        header.putInt(LENGTH_OFFSET, headerSize - LOG_OVERHEAD);
+        header.putInt(recordsCountOffset(magic), 0);
+        if (magic >= LOG_MAGIC_VALUE_V2) {
+            header.putInt(statisticsLengthOffset(magic), 0);
+        }
+        int schemaIdOffset = schemaIdOffset(magic);
+        byte[] bytes = header.array();
+        long crc = Crc32C.compute(bytes, schemaIdOffset, headerSize - schemaIdOffset);
+        header.putInt(crcOffset(magic), (int) crc);
+        return bytes;
+    }
+}
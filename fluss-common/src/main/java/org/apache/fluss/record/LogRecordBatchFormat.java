@@ -49,6 +49,7 @@ public class LogRecordBatchFormat {
     private static final int WRITE_CLIENT_ID_LENGTH = 8;
     private static final int BATCH_SEQUENCE_LENGTH = 4;
     private static final int RECORDS_COUNT_LENGTH = 4;
+    private static final int STATISTICS_LENGTH_LENGTH = 4;
 
     public static final int BASE_OFFSET_OFFSET = 0;
     public static final int LENGTH_OFFSET = BASE_OFFSET_OFFSET + BASE_OFFSET_LENGTH;
@@ -57,6 +58,67 @@ public class LogRecordBatchFormat {
     public static final int LOG_OVERHEAD = LENGTH_OFFSET + LENGTH_LENGTH;
     public static final int HEADER_SIZE_UP_TO_MAGIC = MAGIC_OFFSET + MAGIC_LENGTH;
 
+    // ----------------------------------------------------------------------------------------
+    // Format of Magic Version: V2
+    // ----------------------------------------------------------------------------------------
+
+    /**
+     * LogRecordBatch implementation for magic 2 (V2). The schema of {@link LogRecordBatch} is given
+     * below:
+     *
+     * <ul>
+     *   RecordBatch =>
+     *   <li>BaseOffset => Int64
+     *   <li>Length => Int32
+     *   <li>Magic => Int8
+     *   <li>CommitTimestamp => Int64
+     *   <li>LeaderEpoch => Int32
+     *   <li>CRC => Uint32
+     *   <li>SchemaId => Int16
+     *   <li>Attributes => Int8
+     *   <li>LastOffsetDelta => Int32
+     *   <li>WriterID => Int64
+     *   <li>SequenceID => Int32
+     *   <li>RecordCount => Int32
+     *   <li>StatisticsLength => Int32
+     *   <li>Records => [Record]
+     *   <li>Statistics => {@link LogRecordBatchStatistics}
+     * </ul>
+     *
+     * <p>Newly added field in LogRecordBatch header of magic V2 is StatisticsLength, which is the
+     * size in bytes of the optional column statistics (min/max/null count of each column) stored at
+     * the end of the batch. The StatisticsLength is 0 if the batch doesn't carry statistics. The
+     * statistics are put after the records, so that the writer can fill them after all the records
+     * are written, and the readers can locate the records without parsing the statistics. The
+     * statistics are covered by the CRC as well.
+     *
+     * <p>The statistics allow the readers to skip a whole batch for a filter without decoding the
+     * records, see {@link LogRecordBatch#getStatistics(org.apache.fluss.types.RowType)}.
+     *
+     * @since 0.9
+     */
+    public static final byte LOG_MAGIC_VALUE_V2 = 2;
+
+    private static final int V2_LEADER_EPOCH_OFFSET =
+            COMMIT_TIMESTAMP_OFFSET + COMMIT_TIMESTAMP_LENGTH;
+    private static final int V2_CRC_OFFSET = V2_LEADER_EPOCH_OFFSET + LEADER_EPOCH_LENGTH;
+    private static final int V2_SCHEMA_ID_OFFSET = V2_CRC_OFFSET + CRC_LENGTH;
+    private static final int V2_ATTRIBUTES_OFFSET = V2_SCHEMA_ID_OFFSET + SCHEMA_ID_LENGTH;
+    private static final int V2_LAST_OFFSET_DELTA_OFFSET = V2_ATTRIBUTES_OFFSET + ATTRIBUTE_LENGTH;
+    private static final int V2_WRITE_CLIENT_ID_OFFSET =
+            V2_LAST_OFFSET_DELTA_OFFSET + LAST_OFFSET_DELTA_LENGTH;
+    private static final int V2_BATCH_SEQUENCE_OFFSET =
+            V2_WRITE_CLIENT_ID_OFFSET + WRITE_CLIENT_ID_LENGTH;
+    private static final int V2_RECORDS_COUNT_OFFSET =
+            V2_BATCH_SEQUENCE_OFFSET + BATCH_SEQUENCE_LENGTH;
+    private static final int V2_STATISTICS_LENGTH_OFFSET =
+            V2_RECORDS_COUNT_OFFSET + RECORDS_COUNT_LENGTH;
+    private static final int V2_RECORDS_OFFSET =
+            V2_STATISTICS_LENGTH_OFFSET + STATISTICS_LENGTH_LENGTH;
+
+    public static final int V2_RECORD_BATCH_HEADER_SIZE = V2_RECORDS_OFFSET;
+    private static final int V2_ARROW_CHANGETYPE_OFFSET = V2_RECORD_BATCH_HEADER_SIZE;
+
     // ----------------------------------------------------------------------------------------
     // Format of Magic Version: V1
     // ----------------------------------------------------------------------------------------
@@ -185,7 +247,9 @@ public class LogRecordBatchFormat {
     // ----------------------------------------------------------------------------------------
 
     public static int leaderEpochOffset(byte magic) {
-        if (magic == LOG_MAGIC_VALUE_V1) {
+        if (magic == LOG_MAGIC_VALUE_V2) {
+            return V2_LEADER_EPOCH_OFFSET;
+        } else if (magic == LOG_MAGIC_VALUE_V1) {
             return V1_LEADER_EPOCH_OFFSET;
         }
         throw new IllegalArgumentException("Unsupported magic value " + magic);
@@ -193,6 +257,8 @@ public class LogRecordBatchFormat {
 
     public static int crcOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_CRC_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_CRC_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -204,6 +270,8 @@ public class LogRecordBatchFormat {
 
     public static int schemaIdOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_SCHEMA_ID_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_SCHEMA_ID_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -215,6 +283,8 @@ public class LogRecordBatchFormat {
 
     public static int attributeOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_ATTRIBUTES_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_ATTRIBUTES_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -226,6 +296,8 @@ public class LogRecordBatchFormat {
 
     public static int lastOffsetDeltaOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_LAST_OFFSET_DELTA_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_LAST_OFFSET_DELTA_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -237,6 +309,8 @@ public class LogRecordBatchFormat {
 
     public static int writeClientIdOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_WRITE_CLIENT_ID_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_WRITE_CLIENT_ID_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -248,6 +322,8 @@ public class LogRecordBatchFormat {
 
     public static int batchSequenceOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_BATCH_SEQUENCE_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_BATCH_SEQUENCE_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -259,6 +335,8 @@ public class LogRecordBatchFormat {
 
     public static int recordsCountOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_RECORDS_COUNT_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_RECORDS_COUNT_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -268,8 +346,17 @@ public class LogRecordBatchFormat {
         }
     }
 
+    public static int statisticsLengthOffset(byte magic) {
+        if (magic == LOG_MAGIC_VALUE_V2) {
+            return V2_STATISTICS_LENGTH_OFFSET;
+        }
+        throw new IllegalArgumentException("Unsupported magic value " + magic);
+    }
+
     public static int recordBatchHeaderSize(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_RECORD_BATCH_HEADER_SIZE;
             case LOG_MAGIC_VALUE_V1:
                 return V1_RECORD_BATCH_HEADER_SIZE;
             case LOG_MAGIC_VALUE_V0:
@@ -281,6 +368,8 @@ public class LogRecordBatchFormat {
 
     public static int arrowChangeTypeOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
+                return V2_ARROW_CHANGETYPE_OFFSET;
             case LOG_MAGIC_VALUE_V1:
                 return V1_ARROW_CHANGETYPE_OFFSET;
             case LOG_MAGIC_VALUE_V0:
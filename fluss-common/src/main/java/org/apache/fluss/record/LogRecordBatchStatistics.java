@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.SimpleColStats;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypeRoot;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+
+/**
+ * The column statistics of the records in a {@link LogRecordBatch}, which are stored at the end of
+ * the batch since {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}. The statistics can be used to
+ * skip a whole batch for a {@link Predicate} without decoding the records.
+ *
+ * <p>The format of the statistics is given below:
+ *
+ * <ul>
+ *   Statistics =>
+ *   <li>FieldCount => Int16
+ *   <li>NullCounts => [Int32]
+ *   <li>MinValuesLength => Int32
+ *   <li>MinValues => IndexedRow
+ *   <li>MaxValuesLength => Int32
+ *   <li>MaxValues => IndexedRow
+ * </ul>
+ *
+ * <p>The min/max values of a field are null if the type of the field doesn't support statistics
+ * (see {@link #supportsStatistics(DataType)}) or all the values of the field are null.
+ *
+ * @since 0.9
+ */
+@PublicEvolving
+public class LogRecordBatchStatistics {
+
+    static final int FIELD_COUNT_LENGTH = 2;
+    static final int NULL_COUNT_LENGTH = 4;
+    static final int VALUES_LENGTH_LENGTH = 4;
+
+    private final long rowCount;
+    private final DataType[] statisticsTypes;
+    private final InternalRow minValues;
+    private final InternalRow maxValues;
+    private final Long[] nullCounts;
+
+    LogRecordBatchStatistics(
+            long rowCount,
+            DataType[] statisticsTypes,
+            InternalRow minValues,
+            InternalRow maxValues,
+            Long[] nullCounts) {
+        this.rowCount = rowCount;
+        this.statisticsTypes = statisticsTypes;
+        this.minValues = minValues;
+        this.maxValues = maxValues;
+        this.nullCounts = nullCounts;
+    }
+
+    /** Returns the number of records the statistics are collected from. */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public InternalRow getMinValues() {
+        return minValues;
+    }
+
+    public InternalRow getMaxValues() {
+        return maxValues;
+    }
+
+    public Long[] getNullCounts() {
+        return nullCounts;
+    }
+
+    /** Returns the statistics of the field at the given position. */
+    public SimpleColStats getFieldStats(int fieldIndex) {
+        InternalRow.FieldGetter getter =
+                InternalRow.createFieldGetter(statisticsTypes[fieldIndex], fieldIndex);
+        return new SimpleColStats(
+                getter.getFieldOrNull(minValues),
+                getter.getFieldOrNull(maxValues),
+                nullCounts[fieldIndex]);
+    }
+
+    /**
+     * Test the predicate against the statistics.
+     *
+     * @return false if there is absolutely no record matching the predicate in the batch, true
+     *     otherwise.
+     */
+    public boolean test(Predicate predicate) {
+        return predicate.test(rowCount, minValues, maxValues, nullCounts);
+    }
+
+    /**
+     * Reads the statistics from the given memory segment. Returns null if the statistics don't
+     * match the given row type, e.g., the statistics are written with a different schema.
+     */
+    @Nullable
+    public static LogRecordBatchStatistics read(
+            MemorySegment segment, int offset, int sizeInBytes, RowType rowType, long rowCount) {
+        int fieldCount = segment.getShort(offset);
+        if (fieldCount != rowType.getFieldCount()) {
+            return null;
+        }
+        int position = offset + FIELD_COUNT_LENGTH;
+        Long[] nullCounts = new Long[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            nullCounts[i] = (long) segment.getInt(position);
+            position += NULL_COUNT_LENGTH;
+        }
+        DataType[] statisticsTypes = statisticsTypes(rowType);
+        int minValuesLength = segment.getInt(position);
+        position += VALUES_LENGTH_LENGTH;
+        IndexedRow minValues = readRow(segment, position, minValuesLength, statisticsTypes);
+        position += minValuesLength;
+        int maxValuesLength = segment.getInt(position);
+        position += VALUES_LENGTH_LENGTH;
+        IndexedRow maxValues = readRow(segment, position, maxValuesLength, statisticsTypes);
+        position += maxValuesLength;
+        if (position - offset != sizeInBytes) {
+            throw new IllegalStateException(
+                    "Corrupt log record batch statistics, expected "
+                            + sizeInBytes
+                            + " bytes, but read "
+                            + (position - offset)
+                            + " bytes.");
+        }
+        return new LogRecordBatchStatistics(
+                rowCount, statisticsTypes, minValues, maxValues, nullCounts);
+    }
+
+    private static IndexedRow readRow(
+            MemorySegment segment, int position, int length, DataType[] types) {
+        // copy the bytes out, as the segment may be reused after the batch is consumed
+        byte[] bytes = new byte[length];
+        segment.get(position, bytes, 0, length);
+        return IndexedRow.from(types, bytes);
+    }
+
+    /** Whether the min/max statistics are collected for the given type. */
+    public static boolean supportsStatistics(DataType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case CHAR:
+            case STRING:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the types of the min/max values rows. The fields that don't support statistics are
+     * stored as always-null boolean fields, and the char fields are stored as string fields as the
+     * values may be shorter than the declared length.
+     */
+    static DataType[] statisticsTypes(RowType rowType) {
+        DataType[] types = new DataType[rowType.getFieldCount()];
+        for (int i = 0; i < types.length; i++) {
+            DataType fieldType = rowType.getTypeAt(i);
+            if (!supportsStatistics(fieldType)) {
+                types[i] = DataTypes.BOOLEAN();
+            } else if (fieldType.getTypeRoot() == DataTypeRoot.CHAR) {
+                types[i] = DataTypes.STRING();
+            } else {
+                types[i] = fieldType.copy(true);
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LogRecordBatchStatistics{rowCount=");
+        sb.append(rowCount).append(", fieldStats=[");
+        for (int i = 0; i < nullCounts.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getFieldStats(i));
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.memory.OutputView;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.indexed.IndexedRowWriter;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
+
+import java.io.IOException;
+
+import static org.apache.fluss.predicate.CompareUtils.compareLiteral;
+import static org.apache.fluss.record.LogRecordBatchStatistics.FIELD_COUNT_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.NULL_COUNT_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.VALUES_LENGTH_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.supportsStatistics;
+
+/**
+ * Collects the {@link LogRecordBatchStatistics} of the records appended to a log record batch.
+ *
+ * <p>The min/max values of a string field are dropped once a value exceeds {@link
+ * #MAX_STRING_STATISTICS_SIZE} bytes, to keep the statistics small compared to the records.
+ */
+class LogRecordBatchStatisticsCollector {
+
+    static final int MAX_STRING_STATISTICS_SIZE = 64;
+
+    private final int fieldCount;
+    private final DataType[] statisticsTypes;
+    private final InternalRow.FieldGetter[] fieldGetters;
+    private final IndexedRowWriter.FieldWriter[] fieldWriters;
+    private final boolean[] collectMinMax;
+    private final Object[] minValues;
+    private final Object[] maxValues;
+    private final int[] nullCounts;
+
+    LogRecordBatchStatisticsCollector(RowType rowType) {
+        this.fieldCount = rowType.getFieldCount();
+        this.statisticsTypes = LogRecordBatchStatistics.statisticsTypes(rowType);
+        this.fieldGetters = new InternalRow.FieldGetter[fieldCount];
+        this.fieldWriters = new IndexedRowWriter.FieldWriter[fieldCount];
+        this.collectMinMax = new boolean[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fieldGetters[i] = InternalRow.createFieldGetter(rowType.getTypeAt(i), i);
+            fieldWriters[i] = IndexedRowWriter.createFieldWriter(statisticsTypes[i]);
+            collectMinMax[i] = supportsStatistics(rowType.getTypeAt(i));
+        }
+        this.minValues = new Object[fieldCount];
+        this.maxValues = new Object[fieldCount];
+        this.nullCounts = new int[fieldCount];
+    }
+
+    void update(InternalRow row) {
+        for (int i = 0; i < fieldCount; i++) {
+            Object value = fieldGetters[i].getFieldOrNull(row);
+            if (value == null) {
+                nullCounts[i]++;
+                continue;
+            }
+            if (!collectMinMax[i]) {
+                continue;
+            }
+            if (value instanceof BinaryString
+                    && ((BinaryString) value).getSizeInBytes() > MAX_STRING_STATISTICS_SIZE) {
+                collectMinMax[i] = false;
+                minValues[i] = null;
+                maxValues[i] = null;
+                continue;
+            }
+            DataType type = statisticsTypes[i];
+            if (minValues[i] == null || compareLiteral(type, value, minValues[i]) < 0) {
+                minValues[i] = copy(value);
+            }
+            if (maxValues[i] == null || compareLiteral(type, value, maxValues[i]) > 0) {
+                maxValues[i] = copy(value);
+            }
+        }
+    }
+
+    /** Writes the collected statistics to the output view and returns the written size. */
+    int writeTo(OutputView outputView) throws IOException {
+        outputView.writeShort(fieldCount);
+        for (int nullCount : nullCounts) {
+            outputView.writeInt(nullCount);
+        }
+        IndexedRowWriter writer = new IndexedRowWriter(statisticsTypes);
+        int minValuesLength = writeValues(writer, minValues, outputView);
+        writer.reset();
+        int maxValuesLength = writeValues(writer, maxValues, outputView);
+        return FIELD_COUNT_LENGTH
+                + fieldCount * NULL_COUNT_LENGTH
+                + VALUES_LENGTH_LENGTH
+                + minValuesLength
+                + VALUES_LENGTH_LENGTH
+                + maxValuesLength;
+    }
+
+    private int writeValues(IndexedRowWriter writer, Object[] values, OutputView outputView)
+            throws IOException {
+        for (int i = 0; i < fieldCount; i++) {
+            fieldWriters[i].writeField(writer, i, values[i]);
+        }
+        outputView.writeInt(writer.position());
+        outputView.write(writer.buffer(), 0, writer.position());
+        return writer.position();
+    }
+
+    /** Returns an upper bound of the size of the serialized statistics. */
+    int estimatedSizeInBytes() {
+        int size = FIELD_COUNT_LENGTH + fieldCount * NULL_COUNT_LENGTH + 2 * VALUES_LENGTH_LENGTH;
+        for (int i = 0; i < fieldCount; i++) {
+            // 16 bytes covers all fixed-size values, plus the variable length of strings
+            size += 2 * (16 + (collectMinMax[i] ? MAX_STRING_STATISTICS_SIZE : 0));
+        }
+        return size;
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof BinaryString) {
+            return ((BinaryString) value).copy();
+        } else if (value instanceof Decimal) {
+            return ((Decimal) value).copy();
+        } else {
+            return value;
+        }
+    }
+}
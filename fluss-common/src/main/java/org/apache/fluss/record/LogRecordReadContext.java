@@ -51,6 +51,8 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
     @Nullable private final VectorSchemaRoot vectorSchemaRoot;
     // the Arrow memory buffer allocator for the table, should be null if not ARROW log format
     @Nullable private final BufferAllocator bufferAllocator;
+    // the indexes of the final selected fields in the read data
+    private final int[] selectedFields;
     // the final selected fields of the read data
     private final FieldGetter[] selectedFieldGetters;
     // whether the projection is push downed to the server side and the returned data is pruned.
@@ -93,20 +95,39 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         }
     }
 
+    /**
+     * Creates a LogRecordReadContext to read all the fields of the log records in the given log
+     * format.
+     *
+     * @param logFormat the log format of the table
+     * @param rowType the schema of the table
+     * @param schemaId the schemaId of the table
+     */
+    public static LogRecordReadContext createReadContext(
+            LogFormat logFormat, RowType rowType, int schemaId) {
+        if (logFormat == LogFormat.ARROW) {
+            int[] selectedFields = IntStream.range(0, rowType.getFieldCount()).toArray();
+            return createArrowReadContext(rowType, schemaId, selectedFields, false);
+        } else if (logFormat == LogFormat.INDEXED) {
+            return createIndexedReadContext(rowType, schemaId);
+        } else {
+            throw new IllegalArgumentException("Unsupported log format: " + logFormat);
+        }
+    }
+
     private static LogRecordReadContext createArrowReadContext(
             RowType dataRowType, int schemaId, int[] selectedFields, boolean projectionPushDowned) {
         // TODO: use a more reasonable memory limit
         BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
         VectorSchemaRoot vectorRoot =
                 VectorSchemaRoot.create(ArrowUtils.toArrowSchema(dataRowType), allocator);
-        FieldGetter[] fieldGetters = buildProjectedFieldGetters(dataRowType, selectedFields);
         return new LogRecordReadContext(
                 LogFormat.ARROW,
                 dataRowType,
                 schemaId,
                 vectorRoot,
                 allocator,
-                fieldGetters,
+                selectedFields,
                 projectionPushDowned);
     }
 
@@ -143,10 +164,9 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
      */
     public static LogRecordReadContext createIndexedReadContext(
             RowType rowType, int schemaId, int[] selectedFields) {
-        FieldGetter[] fieldGetters = buildProjectedFieldGetters(rowType, selectedFields);
         // for INDEXED log format, the projection is NEVER push downed to the server side
         return new LogRecordReadContext(
-                LogFormat.INDEXED, rowType, schemaId, null, null, fieldGetters, false);
+                LogFormat.INDEXED, rowType, schemaId, null, null, selectedFields, false);
     }
 
     private LogRecordReadContext(
@@ -155,14 +175,15 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
             int schemaId,
             VectorSchemaRoot vectorSchemaRoot,
             BufferAllocator bufferAllocator,
-            FieldGetter[] selectedFieldGetters,
+            int[] selectedFields,
             boolean projectionPushDowned) {
         this.logFormat = logFormat;
         this.dataRowType = dataRowType;
         this.schemaId = schemaId;
         this.vectorSchemaRoot = vectorSchemaRoot;
         this.bufferAllocator = bufferAllocator;
-        this.selectedFieldGetters = selectedFieldGetters;
+        this.selectedFields = selectedFields;
+        this.selectedFieldGetters = buildProjectedFieldGetters(dataRowType, selectedFields);
         this.projectionPushDowned = projectionPushDowned;
     }
 
@@ -181,6 +202,11 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         return dataRowType;
     }
 
+    /** Get the indexes of the selected fields in the read data. */
+    public int[] getSelectedFields() {
+        return selectedFields;
+    }
+
     /** Get the selected field getters for the read data. */
     public FieldGetter[] getSelectedFieldGetters() {
         return selectedFieldGetters;
@@ -27,12 +27,15 @@ import org.apache.fluss.row.InternalRow;
 import org.apache.fluss.row.arrow.ArrowWriter;
 import org.apache.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
 import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
 import static org.apache.fluss.record.LogRecordBatchFormat.BASE_OFFSET_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_LEADER_EPOCH;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
@@ -56,6 +59,8 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private final MemorySegment firstSegment;
     private final AbstractPagedOutputView pagedOutputView;
     private final boolean appendOnly;
+    // only collect statistics since V2
+    private final @Nullable LogRecordBatchStatisticsCollector statisticsCollector;
 
     private volatile MultiBytesView bytesView = null;
 
@@ -63,6 +68,7 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private int batchSequence;
     private int estimatedSizeInBytes;
     private int recordCount;
+    private int statisticsLength;
     private volatile boolean isClosed;
     private boolean reCalculateSizeInBytes = false;
     private boolean resetBatchHeader = false;
@@ -98,6 +104,10 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
                         + arrowChangeTypeOffset
                         + " bytes.");
         this.changeTypeWriter = new ChangeTypeVectorWriter(firstSegment, arrowChangeTypeOffset);
+        this.statisticsCollector =
+                magic >= LOG_MAGIC_VALUE_V2
+                        ? new LogRecordBatchStatisticsCollector(arrowWriter.getSchema())
+                        : null;
         this.estimatedSizeInBytes = recordBatchHeaderSize(magic);
         this.recordCount = 0;
     }
@@ -128,6 +138,20 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
                 appendOnly);
     }
 
+    /**
+     * Builder with limited write size and the memory segment used to serialize records in the given
+     * log magic version.
+     */
+    public static MemoryLogRecordsArrowBuilder builder(
+            int schemaId,
+            byte magic,
+            ArrowWriter arrowWriter,
+            AbstractPagedOutputView outputView,
+            boolean appendOnly) {
+        return new MemoryLogRecordsArrowBuilder(
+                BUILDER_DEFAULT_OFFSET, schemaId, magic, arrowWriter, outputView, appendOnly);
+    }
+
     public MultiBytesView build() throws IOException {
         if (aborted) {
             throw new IllegalStateException("Attempting to build an aborted record batch");
@@ -145,6 +169,10 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         arrowWriter.serializeToOutputView(
                 pagedOutputView, arrowChangeTypeOffset(magic) + changeTypeWriter.sizeInBytes());
         recordCount = arrowWriter.getRecordsCount();
+        if (statisticsCollector != null && recordCount > 0) {
+            // the statistics follow the records, see LogRecordBatchFormat V2
+            statisticsLength = statisticsCollector.writeTo(pagedOutputView);
+        }
         bytesView =
                 MultiBytesView.builder()
                         .addMemorySegmentByteViewList(pagedOutputView.getWrittenSegments())
@@ -181,6 +209,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         }
 
         arrowWriter.writeRow(row);
+        if (statisticsCollector != null) {
+            statisticsCollector.update(row);
+        }
         if (!appendOnly) {
             changeTypeWriter.writeChangeType(changeType);
         }
@@ -244,6 +275,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
                     arrowChangeTypeOffset(magic)
                             + changeTypeWriter.sizeInBytes()
                             + arrowWriter.estimatedSizeInBytes();
+            if (statisticsCollector != null) {
+                estimatedSizeInBytes += statisticsCollector.estimatedSizeInBytes();
+            }
         }
 
         reCalculateSizeInBytes = false;
@@ -286,6 +320,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         outputView.writeLong(writerId);
         outputView.writeInt(batchSequence);
         outputView.writeInt(recordCount);
+        if (magic >= LOG_MAGIC_VALUE_V2) {
+            outputView.writeInt(statisticsLength);
+        }
 
         // Update crc.
         long crc = Crc32C.compute(pagedOutputView.getWrittenSegments(), schemaIdOffset(magic));
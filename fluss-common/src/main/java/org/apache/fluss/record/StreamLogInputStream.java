@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.exception.CorruptMessageException;
+import org.apache.fluss.memory.MemorySegment;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
+import static org.apache.fluss.record.LogRecordBatchFormat.V0_RECORD_BATCH_HEADER_SIZE;
+
+/**
+ * A {@link LogInputStream} which reads the log record batches from an {@link InputStream}, e.g.,
+ * the input stream of a remote log segment file. Every batch is read into a new heap memory
+ * segment, so the returned batches are still valid after reading the next batch.
+ */
+@Internal
+public class StreamLogInputStream implements LogInputStream<LogRecordBatch> {
+
+    private final InputStream inputStream;
+    private final byte[] logHeaderBuffer = new byte[LOG_OVERHEAD];
+
+    public StreamLogInputStream(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    @Override
+    public LogRecordBatch nextBatch() throws IOException {
+        int headerBytes = readFully(logHeaderBuffer, 0, LOG_OVERHEAD);
+        if (headerBytes == 0) {
+            // reach the end of the stream
+            return null;
+        } else if (headerBytes < LOG_OVERHEAD) {
+            throw new EOFException("Failed to read the header of the log record batch.");
+        }
+
+        int batchSize = MemorySegment.wrap(logHeaderBuffer).getInt(LENGTH_OFFSET) + LOG_OVERHEAD;
+        if (batchSize < V0_RECORD_BATCH_HEADER_SIZE) {
+            throw new CorruptMessageException(
+                    String.format(
+                            "Found log record batch size %d is smaller than the minimum batch header size %d.",
+                            batchSize, V0_RECORD_BATCH_HEADER_SIZE));
+        }
+        byte[] batchBytes = new byte[batchSize];
+        System.arraycopy(logHeaderBuffer, 0, batchBytes, 0, LOG_OVERHEAD);
+        int remaining = batchSize - LOG_OVERHEAD;
+        if (readFully(batchBytes, LOG_OVERHEAD, remaining) < remaining) {
+            throw new EOFException(
+                    String.format("Failed to read the log record batch of size %d.", batchSize));
+        }
+
+        DefaultLogRecordBatch logRecordBatch = new DefaultLogRecordBatch();
+        logRecordBatch.pointTo(MemorySegment.wrap(batchBytes), 0);
+        return logRecordBatch;
+    }
+
+    /** Reads up to the given length of bytes, returns the number of bytes actually read. */
+    private int readFully(byte[] buffer, int offset, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int count = inputStream.read(buffer, offset + read, length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        return read;
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.fluss.shaded.netty4.io.netty.buffer.Unpooled;
 
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** A {@link BytesView} that is consisted of multiple {@link BytesView}s. */
@@ -125,6 +126,13 @@ public class MultiBytesView implements BytesView {
             return this;
         }
 
+        /** Adds all the bytes sections of the given {@link MultiBytesView}. */
+        public Builder addBytes(MultiBytesView multiBytesView) {
+            views.addAll(Arrays.asList(multiBytesView.views));
+            lastFileRegionView = null;
+            return this;
+        }
+
         /** Builds a {@link MultiBytesView}. */
         public MultiBytesView build() {
             return new MultiBytesView(views.toArray(new BytesView[0]));
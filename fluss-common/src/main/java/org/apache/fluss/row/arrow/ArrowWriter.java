@@ -135,6 +135,11 @@ public class ArrowWriter implements AutoCloseable {
         }
     }
 
+    /** Returns the row type of the records written by this writer. */
+    public RowType getSchema() {
+        return schema;
+    }
+
     public int getRecordsCount() {
         return recordsCount;
     }
@@ -19,14 +19,25 @@ package org.apache.fluss.row.compacted;
 
 import org.apache.fluss.row.GenericRow;
 import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypeRoot;
 
 /** A decoder for {@link CompactedRow}. */
 public class CompactedRowDeserializer {
     private final CompactedRowReader.FieldReader[] readers;
 
+    /** Whether the field is a length-prefixed field, which can be skipped without reading it. */
+    private final boolean[] lengthPrefixed;
+
     public CompactedRowDeserializer(DataType[] types) {
         this.readers = new CompactedRowReader.FieldReader[types.length];
+        this.lengthPrefixed = new boolean[types.length];
         for (int i = 0; i < types.length; i++) {
+            DataTypeRoot typeRoot = types[i].getTypeRoot();
+            lengthPrefixed[i] =
+                    typeRoot == DataTypeRoot.CHAR
+                            || typeRoot == DataTypeRoot.STRING
+                            || typeRoot == DataTypeRoot.BINARY
+                            || typeRoot == DataTypeRoot.BYTES;
             // Don't need to copy to nullable because decode method checks value is null or not
             readers[i] = CompactedRowReader.createFieldReader(types[i]);
         }
@@ -37,4 +48,31 @@ public class CompactedRowDeserializer {
             output.setField(i, readers[i].readField(reader, i));
         }
     }
+
+    /**
+     * Deserializes the required fields of the row only, the other fields of the output are left
+     * unchanged. The fields after the last required field are not read at all, and the strings and
+     * bytes which are not required are skipped without being copied.
+     *
+     * @param requiredFields whether the field at the position is required
+     */
+    public void deserialize(
+            CompactedRowReader reader, GenericRow output, boolean[] requiredFields) {
+        int lastRequiredField = requiredFields.length - 1;
+        while (lastRequiredField >= 0 && !requiredFields[lastRequiredField]) {
+            lastRequiredField--;
+        }
+        for (int i = 0; i <= lastRequiredField; i++) {
+            if (requiredFields[i]) {
+                output.setField(i, readers[i].readField(reader, i));
+            } else if (lengthPrefixed[i]) {
+                // a null field takes no bytes
+                if (!reader.isNullAt(i)) {
+                    reader.skipBytes();
+                }
+            } else {
+                readers[i].readField(reader, i);
+            }
+        }
+    }
 }
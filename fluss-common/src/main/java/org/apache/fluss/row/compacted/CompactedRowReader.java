@@ -233,6 +233,12 @@ public class CompactedRowReader {
         return readBytesInternal(length);
     }
 
+    /** Skips a length-prefixed field (i.e., string or bytes) without copying it. */
+    public void skipBytes() {
+        int length = readInt();
+        position += length;
+    }
+
     // ----------------------- internal methods -------------------------------
     private byte[] readBytesInternal(int length) {
         byte[] bytes = new byte[length];
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.row.encode;
+
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.compacted.CompactedRowDeserializer;
+import org.apache.fluss.row.compacted.CompactedRowReader;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static org.apache.fluss.row.encode.ValueEncoder.SCHEMA_ID_LENGTH;
+
+/**
+ * Projects the values stored in kv store to the given fields. The projected value is encoded in the
+ * same kv format and with the same schema id as the original value, so it can be decoded by a
+ * {@link ValueDecoder} of the projected fields.
+ *
+ * <p>For {@link KvFormat#COMPACTED}, the fields after the last projected field are not decoded at
+ * all, and the strings and bytes which are not projected are skipped. For {@link KvFormat#INDEXED},
+ * the projected fields are read in place.
+ */
+@NotThreadSafe
+public class ValueProjector {
+
+    private final KvFormat kvFormat;
+    private final InternalRow.FieldGetter[] fieldGetters;
+    private final RowEncoder rowEncoder;
+
+    // for COMPACTED format only
+    @Nullable private final CompactedRowReader compactedRowReader;
+    @Nullable private final CompactedRowDeserializer compactedRowDeserializer;
+    @Nullable private final GenericRow decodedRow;
+    @Nullable private final boolean[] requiredFields;
+
+    // for INDEXED format only
+    @Nullable private final IndexedRow indexedRow;
+
+    public ValueProjector(KvFormat kvFormat, RowType rowType, int[] projectedFields) {
+        DataType[] fieldTypes = rowType.getChildren().toArray(new DataType[0]);
+        this.kvFormat = kvFormat;
+        this.fieldGetters = new InternalRow.FieldGetter[projectedFields.length];
+        DataType[] projectedTypes = new DataType[projectedFields.length];
+        for (int i = 0; i < projectedFields.length; i++) {
+            projectedTypes[i] = fieldTypes[projectedFields[i]];
+            fieldGetters[i] = InternalRow.createFieldGetter(projectedTypes[i], projectedFields[i]);
+        }
+        this.rowEncoder = RowEncoder.create(kvFormat, projectedTypes);
+
+        if (kvFormat == KvFormat.COMPACTED) {
+            this.compactedRowReader = new CompactedRowReader(fieldTypes.length);
+            this.compactedRowDeserializer = new CompactedRowDeserializer(fieldTypes);
+            this.decodedRow = new GenericRow(fieldTypes.length);
+            this.requiredFields = new boolean[fieldTypes.length];
+            for (int field : projectedFields) {
+                requiredFields[field] = true;
+            }
+            this.indexedRow = null;
+        } else if (kvFormat == KvFormat.INDEXED) {
+            this.compactedRowReader = null;
+            this.compactedRowDeserializer = null;
+            this.decodedRow = null;
+            this.requiredFields = null;
+            this.indexedRow = new IndexedRow(fieldTypes);
+        } else {
+            throw new IllegalArgumentException("Unsupported kv format: " + kvFormat);
+        }
+    }
+
+    /** Projects the given value bytes, returns null if the value is null. */
+    @Nullable
+    public byte[] project(@Nullable byte[] valueBytes) {
+        if (valueBytes == null) {
+            return null;
+        }
+        MemorySegment segment = MemorySegment.wrap(valueBytes);
+        short schemaId = segment.getShort(0);
+        int rowSize = valueBytes.length - SCHEMA_ID_LENGTH;
+        InternalRow row;
+        if (kvFormat == KvFormat.COMPACTED) {
+            compactedRowReader.pointTo(segment, SCHEMA_ID_LENGTH, rowSize);
+            compactedRowDeserializer.deserialize(compactedRowReader, decodedRow, requiredFields);
+            row = decodedRow;
+        } else {
+            indexedRow.pointTo(segment, SCHEMA_ID_LENGTH, rowSize);
+            row = indexedRow;
+        }
+
+        rowEncoder.startNewRow();
+        for (int i = 0; i < fieldGetters.length; i++) {
+            rowEncoder.encodeField(i, fieldGetters[i].getFieldOrNull(row));
+        }
+        return ValueEncoder.encodeValue(schemaId, rowEncoder.finishRow());
+    }
+}
@@ -70,6 +70,9 @@ public class FlussPaths {
     /** The directory name for storing remote log index files. */
     public static final String REMOTE_LOG_INDEX_LOCAL_CACHE = "remote-log-index-cache";
 
+    /** The directory name for caching the sst files of the kv snapshots. */
+    public static final String KV_SNAPSHOT_LOCAL_CACHE = "kv-snapshot-cache";
+
     /** The directory name for storing remote log files. */
     public static final String REMOTE_LOG_DIR_NAME = "log";
 
@@ -82,6 +85,14 @@ public class FlussPaths {
     /** Suffix for a file that is scheduled to be deleted. */
     public static final String DELETED_FILE_SUFFIX = ".deleted";
 
+    /** Suffix for the files of a log segment being written by the log cleaner. */
+    public static final String CLEANED_FILE_SUFFIX = ".cleaned";
+
+    /**
+     * Suffix for the files of a cleaned log segment that is ready to replace the original segment.
+     */
+    public static final String SWAP_FILE_SUFFIX = ".swap";
+
     /** The directory name for storing remote kv snapshot files. */
     public static final String REMOTE_KV_DIR_NAME = "kv";
 
@@ -348,6 +359,36 @@ public class FlussPaths {
         return new File(dataDir, REMOTE_LOG_INDEX_LOCAL_CACHE);
     }
 
+    /**
+     * Returns the local cache directory for storing the sst files of the kv snapshots of a kv
+     * tablet.
+     *
+     * <p>The path contract:
+     *
+     * <pre>
+     * Non-Partitioned Table:
+     * {$data.dir}/kv-snapshot-cache/{tableId}-{bucket}
+     *
+     * Partitioned Table:
+     * {$data.dir}/kv-snapshot-cache/{tableId}-p{partitionId}-{bucket}
+     * </pre>
+     *
+     * @param dataDir the local data root directory, i.e. the "data.dir" in the configuration.
+     * @param tableBucket the table bucket of the kv tablet.
+     */
+    public static File kvSnapshotLocalCacheDir(File dataDir, TableBucket tableBucket) {
+        String dirName =
+                tableBucket.getPartitionId() == null
+                        ? tableBucket.getTableId() + "-" + tableBucket.getBucket()
+                        : tableBucket.getTableId()
+                                + "-"
+                                + PARTITION_DIR_PREFIX
+                                + tableBucket.getPartitionId()
+                                + "-"
+                                + tableBucket.getBucket();
+        return new File(new File(dataDir, KV_SNAPSHOT_LOCAL_CACHE), dirName);
+    }
+
     /**
      * Returns the local file for storing the remote log offset index file.
      *
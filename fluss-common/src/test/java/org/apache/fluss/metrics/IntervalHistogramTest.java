@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.metrics;
+
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+/** Tests for {@link IntervalHistogram} and {@link IntervalHistogramStatistics}. */
+class IntervalHistogramTest {
+
+    private static final long MIN_SNAPSHOT_INTERVAL_MS = 1000L;
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    void testBucketIndex() {
+        int subBucketBits = 8;
+        long previousHighest = -1;
+        for (int index = 0;
+                index <= IntervalHistogram.bucketIndex(1L << 40, subBucketBits);
+                index++) {
+            long lowest = IntervalHistogram.lowestEquivalentValue(index, subBucketBits);
+            long highest = IntervalHistogram.highestEquivalentValue(index, subBucketBits);
+            // the buckets are continuous and not overlapped
+            assertThat(lowest).isEqualTo(previousHighest + 1);
+            assertThat(IntervalHistogram.bucketIndex(lowest, subBucketBits)).isEqualTo(index);
+            assertThat(IntervalHistogram.bucketIndex(highest, subBucketBits)).isEqualTo(index);
+            // the relative error is less than 1% for 2 significant digits
+            assertThat((double) (highest - lowest) / Math.max(1, lowest)).isLessThan(0.01);
+            previousHighest = highest;
+        }
+    }
+
+    @Test
+    void testStatistics() {
+        IntervalHistogram histogram = createHistogram();
+        for (int i = 1; i <= 9; i++) {
+            histogram.update(i);
+        }
+        assertThat(histogram.getCount()).isEqualTo(9);
+
+        clock.advanceTime(MIN_SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.size()).isEqualTo(9);
+        assertThat(statistics.getMin()).isEqualTo(1);
+        assertThat(statistics.getMax()).isEqualTo(9);
+        assertThat(statistics.getMean()).isEqualTo(5);
+        assertThat(statistics.getStdDev()).isCloseTo(2.74, offset(0.01));
+        assertThat(statistics.getQuantile(0.5)).isEqualTo(5);
+        assertThat(statistics.getQuantile(1.0)).isEqualTo(9);
+        assertThat(statistics.getValues()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void testQuantileAccuracy() {
+        IntervalHistogram histogram = createHistogram();
+        int count = 100_000;
+        for (int i = 1; i <= count; i++) {
+            histogram.update(i * 1000L);
+        }
+
+        clock.advanceTime(MIN_SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.size()).isEqualTo(count);
+        assertThat(statistics.getMin()).isEqualTo(1000L);
+        assertThat(statistics.getMax()).isEqualTo(count * 1000L);
+        assertThat(statistics.getMean()).isEqualTo((count + 1) / 2.0 * 1000L);
+        for (double quantile : new double[] {0.5, 0.75, 0.95, 0.98, 0.99, 0.999}) {
+            double expected = quantile * count * 1000L;
+            assertThat(statistics.getQuantile(quantile))
+                    .isCloseTo(expected, offset(expected / 100));
+        }
+    }
+
+    @Test
+    void testValuesOutOfRange() {
+        IntervalHistogram histogram = new IntervalHistogram(1000L, 2, 0L, clock);
+        histogram.update(-1L);
+        histogram.update(Long.MAX_VALUE);
+
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.getMin()).isEqualTo(0L);
+        assertThat(statistics.getMax()).isEqualTo(1000L);
+
+        assertThatThrownBy(() -> new IntervalHistogram(1000L, 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("significant digits");
+    }
+
+    @Test
+    void testIntervalSnapshot() {
+        IntervalHistogram histogram = createHistogram();
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.size()).isEqualTo(0);
+        assertThat(statistics.getQuantile(0.99)).isEqualTo(0.0);
+        assertThat(statistics.getValues()).isEmpty();
+
+        histogram.update(10L);
+        histogram.update(20L);
+        // the snapshot is reused within the minimum snapshot interval
+        assertThat(histogram.getStatistics()).isSameAs(statistics);
+
+        clock.advanceTime(MIN_SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        statistics = histogram.getStatistics();
+        assertThat(statistics.getValues()).containsExactly(10L, 20L);
+
+        // only the values recorded in the last interval are in the snapshot
+        histogram.update(30L);
+        clock.advanceTime(MIN_SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        statistics = histogram.getStatistics();
+        assertThat(statistics.getValues()).containsExactly(30L);
+        assertThat(histogram.getCount()).isEqualTo(3);
+
+        clock.advanceTime(MIN_SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        assertThat(histogram.getStatistics().size()).isEqualTo(0);
+    }
+
+    @Test
+    void testConcurrentUpdate() throws Exception {
+        IntervalHistogram histogram = new IntervalHistogram(1_000_000L, 2, 0L, clock);
+        int numThreads = 4;
+        int numValuesPerThread = 100_000;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                try {
+                                    startLatch.await();
+                                } catch (InterruptedException e) {
+                                    throw new RuntimeException(e);
+                                }
+                                for (int j = 1; j <= numValuesPerThread; j++) {
+                                    histogram.update(j);
+                                }
+                            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        startLatch.countDown();
+        long snapshotCount = 0;
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            snapshotCount += histogram.getStatistics().size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        snapshotCount += histogram.getStatistics().size();
+
+        // no value is lost or counted twice across the snapshots
+        assertThat(snapshotCount).isEqualTo((long) numThreads * numValuesPerThread);
+        assertThat(histogram.getCount()).isEqualTo((long) numThreads * numValuesPerThread);
+    }
+
+    private IntervalHistogram createHistogram() {
+        return new IntervalHistogram(
+                IntervalHistogram.DEFAULT_HIGHEST_TRACKABLE_VALUE,
+                IntervalHistogram.DEFAULT_SIGNIFICANT_DIGITS,
+                MIN_SNAPSHOT_INTERVAL_MS,
+                clock);
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.fluss.record;
 
 import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.row.TestInternalRowGenerator;
 import org.apache.fluss.row.indexed.IndexedRow;
 import org.apache.fluss.testutils.DataTestUtils;
@@ -31,16 +32,21 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link DefaultLogRecordBatch}. */
 public class DefaultLogRecordBatchTest extends LogTestBase {
 
     @ParameterizedTest
-    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
     void testRecordBatchSize(byte magic) throws Exception {
         MemoryLogRecords memoryLogRecords =
                 DataTestUtils.genMemoryLogRecordsByObject(magic, TestData.DATA1);
@@ -52,7 +58,7 @@ public class DefaultLogRecordBatchTest extends LogTestBase {
     }
 
     @ParameterizedTest
-    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
     void testIndexedRowWriteAndReadBatch(byte magic) throws Exception {
         int recordNumber = 50;
         RowType allRowType = TestInternalRowGenerator.createAllRowType();
@@ -105,7 +111,7 @@ public class DefaultLogRecordBatchTest extends LogTestBase {
     }
 
     @ParameterizedTest
-    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
     void testNoRecordAppend(byte magic) throws Exception {
         // 1. no record append with baseOffset as 0.
         MemoryLogRecordsIndexedBuilder builder =
@@ -159,4 +165,80 @@ public class DefaultLogRecordBatchTest extends LogTestBase {
             assertThat(iter.hasNext()).isFalse();
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
+    void testColumnarRecords(byte magic) throws Exception {
+        List<Object[]> data = TestData.DATA1;
+        List<ChangeType> changeTypes = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            changeTypes.add(i % 2 == 0 ? ChangeType.INSERT : ChangeType.DELETE);
+        }
+        MemoryLogRecords memoryLogRecords =
+                DataTestUtils.createBasicMemoryLogRecords(
+                        TestData.DATA1_ROW_TYPE,
+                        TestData.DEFAULT_SCHEMA_ID,
+                        100L,
+                        System.currentTimeMillis(),
+                        magic,
+                        NO_WRITER_ID,
+                        NO_BATCH_SEQUENCE,
+                        changeTypes,
+                        data,
+                        LogFormat.ARROW,
+                        DEFAULT_COMPRESSION);
+        LogRecordBatch logRecordBatch = memoryLogRecords.batches().iterator().next();
+
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createArrowReadContext(
+                        TestData.DATA1_ROW_TYPE, TestData.DEFAULT_SCHEMA_ID)) {
+            ColumnarLogRecords columnarRecords = logRecordBatch.columnarRecords(readContext);
+            // the columnar records don't depend on the shared vector schema root of the context
+            logRecordBatch.columnarRecords(readContext).release();
+
+            assertThat(columnarRecords.getRowCount()).isEqualTo(data.size());
+            assertThat(columnarRecords.baseLogOffset()).isEqualTo(100L);
+            assertThat(columnarRecords.lastLogOffset()).isEqualTo(100L + data.size() - 1);
+            assertThat(columnarRecords.isAppendOnly()).isFalse();
+            assertThat(columnarRecords.getVectorSchemaRoot().getRowCount()).isEqualTo(data.size());
+            for (int i = 0; i < data.size(); i++) {
+                assertThat(columnarRecords.getLogOffset(i)).isEqualTo(100L + i);
+                assertThat(columnarRecords.getChangeType(i)).isEqualTo(changeTypes.get(i));
+                assertThat(columnarRecords.getRow(i).getInt(0)).isEqualTo(data.get(i)[0]);
+                assertThat(columnarRecords.getColumnBatch().getString(i, 1).toString())
+                        .isEqualTo(data.get(i)[1]);
+            }
+
+            // project the records from the 3rd record and reorder the fields
+            ColumnarLogRecords projected = columnarRecords.project(3, new int[] {1, 0});
+            assertThat(columnarRecords.release()).isTrue();
+            assertThat(projected.getRowCount()).isEqualTo(data.size() - 3);
+            assertThat(projected.baseLogOffset()).isEqualTo(103L);
+            assertThat(projected.getRowType().getFieldNames()).containsExactly("b", "a");
+            for (int i = 0; i < projected.getRowCount(); i++) {
+                assertThat(projected.getChangeType(i)).isEqualTo(changeTypes.get(i + 3));
+                assertThat(projected.getRow(i).getString(0).toString())
+                        .isEqualTo(data.get(i + 3)[1]);
+                assertThat(projected.getRow(i).getInt(1)).isEqualTo(data.get(i + 3)[0]);
+            }
+
+            // reference count
+            assertThat(projected.retain()).isSameAs(projected);
+            assertThat(projected.refCount()).isEqualTo(2);
+            assertThat(projected.release()).isFalse();
+            assertThat(projected.release()).isTrue();
+            assertThatThrownBy(() -> projected.getRow(0))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("have been released");
+            assertThatThrownBy(projected::retain).isInstanceOf(IllegalStateException.class);
+        }
+
+        // columnar records are not supported for INDEXED log format
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createIndexedReadContext(
+                        TestData.DATA1_ROW_TYPE, TestData.DEFAULT_SCHEMA_ID)) {
+            assertThatThrownBy(() -> logRecordBatch.columnarRecords(readContext))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
 }
@@ -42,6 +42,7 @@ import java.util.stream.Stream;
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.MAGIC_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.V0_RECORD_BATCH_HEADER_SIZE;
 import static org.apache.fluss.record.LogRecordBatchFormat.V1_RECORD_BATCH_HEADER_SIZE;
@@ -139,7 +140,10 @@ class FileLogProjectionTest {
                 Arguments.arguments((Object) new int[] {0, 1}, LOG_MAGIC_VALUE_V0),
                 Arguments.of((Object) new int[] {0}, LOG_MAGIC_VALUE_V1),
                 Arguments.arguments((Object) new int[] {1}, LOG_MAGIC_VALUE_V1),
-                Arguments.arguments((Object) new int[] {0, 1}, LOG_MAGIC_VALUE_V1));
+                Arguments.arguments((Object) new int[] {0, 1}, LOG_MAGIC_VALUE_V1),
+                Arguments.of((Object) new int[] {0}, LOG_MAGIC_VALUE_V2),
+                Arguments.arguments((Object) new int[] {1}, LOG_MAGIC_VALUE_V2),
+                Arguments.arguments((Object) new int[] {0, 1}, LOG_MAGIC_VALUE_V2));
     }
 
     @ParameterizedTest
@@ -174,7 +178,7 @@ class FileLogProjectionTest {
     }
 
     @ParameterizedTest
-    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
     void testIllegalByteOrder(byte recordBatchMagic) throws Exception {
         FileLogRecords fileLogRecords =
                 createFileLogRecords(
@@ -199,7 +203,7 @@ class FileLogProjectionTest {
     }
 
     @ParameterizedTest
-    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
     void testProjectSizeLimited(byte recordBatchMagic) throws Exception {
         List<Object[]> allData = new ArrayList<>();
         allData.addAll(TestData.DATA1);
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
+import static org.apache.fluss.record.TestData.ANOTHER_DATA1;
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LogRecordBatchFilter}. */
+class LogRecordBatchFilterTest {
+
+    private @TempDir File tempDir;
+
+    static Stream<Arguments> filterArgs() {
+        return Stream.of(
+                Arguments.of(LogFormat.ARROW, LOG_MAGIC_VALUE_V0),
+                Arguments.of(LogFormat.ARROW, LOG_MAGIC_VALUE_V1),
+                Arguments.of(LogFormat.ARROW, LOG_MAGIC_VALUE_V2),
+                // indexed log records are always generated in V0 format
+                Arguments.of(LogFormat.INDEXED, LOG_MAGIC_VALUE_V0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterArgs")
+    void testFilter(LogFormat logFormat, byte magic) throws Exception {
+        FileLogRecords fileLogRecords = createFileLogRecords(logFormat, magic);
+        Predicate predicate =
+                new PredicateBuilder(DATA1_ROW_TYPE).equal(1, BinaryString.fromString("c1"));
+        LogRecordBatchFilter filter =
+                new LogRecordBatchFilter(predicate, logFormat, DATA1_ROW_TYPE);
+
+        LogRecords filtered = filter.filter(fileLogRecords, Integer.MAX_VALUE, null);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        filtered.batches().forEach(batches::add);
+        assertThat(batches).hasSize(3);
+
+        // the filtered out batches are replaced by empty batches with the same offset range
+        assertEmptyBatch(batches.get(0), magic, 0L, DATA1.size());
+        assertEmptyBatch(batches.get(2), magic, DATA1.size() * 2L, DATA1.size());
+
+        // the matched batch is returned as is
+        LogRecordBatch matched = batches.get(1);
+        assertThat(matched.isValid()).isTrue();
+        assertThat(matched.baseLogOffset()).isEqualTo(DATA1.size());
+        assertThat(matched.getRecordCount()).isEqualTo(ANOTHER_DATA1.size());
+        assertThat(readValues(matched, logFormat))
+                .containsExactlyElementsOf(
+                        ANOTHER_DATA1.stream().map(row -> (String) row[1])::iterator);
+
+        assertThat(filtered.sizeInBytes())
+                .isEqualTo(recordBatchHeaderSize(magic) * 2 + matched.sizeInBytes());
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterArgs")
+    void testFilterWithMaxBytes(LogFormat logFormat, byte magic) throws Exception {
+        FileLogRecords fileLogRecords = createFileLogRecords(logFormat, magic);
+        Predicate predicate = new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 100);
+        LogRecordBatchFilter filter =
+                new LogRecordBatchFilter(predicate, logFormat, DATA1_ROW_TYPE);
+
+        // only two empty batches can fit in the max bytes
+        int headerSize = recordBatchHeaderSize(magic);
+        LogRecords filtered = filter.filter(fileLogRecords, headerSize * 2 + 1, null);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        filtered.batches().forEach(batches::add);
+        assertThat(batches).hasSize(2);
+        assertEmptyBatch(batches.get(0), magic, 0L, DATA1.size());
+        assertEmptyBatch(batches.get(1), magic, DATA1.size(), ANOTHER_DATA1.size());
+    }
+
+    @Test
+    void testFilterWithProjection() throws Exception {
+        FileLogRecords fileLogRecords = createFileLogRecords(LogFormat.ARROW, LOG_MAGIC_VALUE_V1);
+        Predicate predicate =
+                PredicateBuilder.or(
+                        new PredicateBuilder(DATA1_ROW_TYPE).equal(1, BinaryString.fromString("b")),
+                        new PredicateBuilder(DATA1_ROW_TYPE)
+                                .equal(1, BinaryString.fromString("j")));
+        LogRecordBatchFilter filter =
+                new LogRecordBatchFilter(predicate, LogFormat.ARROW, DATA1_ROW_TYPE);
+        FileLogProjection projection = new FileLogProjection();
+        projection.setCurrentProjection(1L, DATA1_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0});
+
+        LogRecords filtered = filter.filter(fileLogRecords, Integer.MAX_VALUE, projection);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        filtered.batches().forEach(batches::add);
+        assertThat(batches).hasSize(3);
+        assertEmptyBatch(batches.get(1), LOG_MAGIC_VALUE_V1, DATA1.size(), DATA1.size());
+
+        List<Integer> values = new ArrayList<>();
+        try (LogRecordReadContext context =
+                LogRecordReadContext.createArrowReadContext(
+                        DATA1_ROW_TYPE.project(new int[] {0}), DEFAULT_SCHEMA_ID)) {
+            for (LogRecordBatch batch : batches) {
+                try (CloseableIterator<LogRecord> records = batch.records(context)) {
+                    while (records.hasNext()) {
+                        values.add(records.next().getRow().getInt(0));
+                    }
+                }
+            }
+        }
+        assertThat(values).hasSize(DATA1.size() * 2);
+    }
+
+    private static void assertEmptyBatch(
+            LogRecordBatch batch, byte magic, long baseOffset, int offsetCount) {
+        assertThat(batch.isValid()).isTrue();
+        assertThat(batch.magic()).isEqualTo(magic);
+        assertThat(batch.getRecordCount()).isEqualTo(0);
+        assertThat(batch.sizeInBytes()).isEqualTo(recordBatchHeaderSize(magic));
+        assertThat(batch.baseLogOffset()).isEqualTo(baseOffset);
+        assertThat(batch.nextLogOffset()).isEqualTo(baseOffset + offsetCount);
+    }
+
+    private static List<String> readValues(LogRecordBatch batch, LogFormat logFormat) {
+        List<String> values = new ArrayList<>();
+        try (LogRecordReadContext context =
+                        LogRecordReadContext.createReadContext(
+                                logFormat, DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID);
+                CloseableIterator<LogRecord> records = batch.records(context)) {
+            while (records.hasNext()) {
+                InternalRow row = records.next().getRow();
+                values.add(row.getString(1).toString());
+            }
+        }
+        return values;
+    }
+
+    private FileLogRecords createFileLogRecords(LogFormat logFormat, byte magic) throws Exception {
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.tmp"));
+        long offsetBase = 0L;
+        for (List<Object[]> input : new List[] {DATA1, ANOTHER_DATA1, DATA1}) {
+            fileLogRecords.append(
+                    createRecordsWithoutBaseLogOffset(
+                            DATA1_ROW_TYPE,
+                            DEFAULT_SCHEMA_ID,
+                            offsetBase,
+                            System.currentTimeMillis(),
+                            magic,
+                            input,
+                            logFormat));
+            offsetBase += input.size();
+        }
+        fileLogRecords.flush();
+        return fileLogRecords;
+    }
+}
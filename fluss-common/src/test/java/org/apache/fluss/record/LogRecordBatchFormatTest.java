@@ -32,6 +32,7 @@ import static org.apache.fluss.record.LogRecordBatchFormat.leaderEpochOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.schemaIdOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.statisticsLengthOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.writeClientIdOffset;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -77,5 +78,24 @@ public class LogRecordBatchFormatTest {
         assertThat(recordsCountOffset(magic)).isEqualTo(48);
         assertThat(recordBatchHeaderSize(magic)).isEqualTo(52);
         assertThat(arrowChangeTypeOffset(magic)).isEqualTo(52);
+        assertThatThrownBy(() -> statisticsLengthOffset(magic))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported magic value 1");
+    }
+
+    @Test
+    void testLogRecordBatchFormatForMagicV2() {
+        byte magic = (byte) 2;
+        assertThat(leaderEpochOffset(magic)).isEqualTo(21);
+        assertThat(crcOffset(magic)).isEqualTo(25);
+        assertThat(schemaIdOffset(magic)).isEqualTo(29);
+        assertThat(attributeOffset(magic)).isEqualTo(31);
+        assertThat(lastOffsetDeltaOffset(magic)).isEqualTo(32);
+        assertThat(writeClientIdOffset(magic)).isEqualTo(36);
+        assertThat(batchSequenceOffset(magic)).isEqualTo(44);
+        assertThat(recordsCountOffset(magic)).isEqualTo(48);
+        assertThat(statisticsLengthOffset(magic)).isEqualTo(52);
+        assertThat(recordBatchHeaderSize(magic)).isEqualTo(56);
+        assertThat(arrowChangeTypeOffset(magic)).isEqualTo(56);
     }
 }
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.predicate.SimpleColStats;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LogRecordBatchStatistics}. */
+class LogRecordBatchStatisticsTest {
+
+    private static final RowType ROW_TYPE =
+            DataTypes.ROW(
+                    DataTypes.FIELD("a", DataTypes.INT()),
+                    DataTypes.FIELD("b", DataTypes.STRING()),
+                    DataTypes.FIELD("c", DataTypes.BYTES()),
+                    DataTypes.FIELD("d", DataTypes.DOUBLE()));
+
+    private static final List<Object[]> DATA =
+            Arrays.asList(
+                    new Object[] {5, "fluss", new byte[] {1}, 1.5d},
+                    new Object[] {-3, null, new byte[] {2}, null},
+                    new Object[] {null, "apache", null, -0.5d},
+                    new Object[] {12, "zoo", new byte[] {3}, 10.0d});
+
+    private @TempDir File tempDir;
+
+    @Test
+    void testStatistics() throws Exception {
+        LogRecordBatch batch = createBatch(ROW_TYPE, DATA, LOG_MAGIC_VALUE_V2);
+        Optional<LogRecordBatchStatistics> optional = batch.getStatistics(ROW_TYPE);
+        assertThat(optional).isPresent();
+        LogRecordBatchStatistics statistics = optional.get();
+        assertThat(statistics.getRowCount()).isEqualTo(DATA.size());
+        assertFieldStats(statistics.getFieldStats(0), -3, 12, 1L);
+        assertFieldStats(
+                statistics.getFieldStats(1),
+                BinaryString.fromString("apache"),
+                BinaryString.fromString("zoo"),
+                1L);
+        // min/max of bytes are not collected
+        assertFieldStats(statistics.getFieldStats(2), null, null, 1L);
+        assertFieldStats(statistics.getFieldStats(3), -0.5d, 10.0d, 1L);
+
+        // the records can still be read with the statistics at the end of the batch
+        try (LogRecordReadContext context =
+                        LogRecordReadContext.createArrowReadContext(ROW_TYPE, DEFAULT_SCHEMA_ID);
+                CloseableIterator<LogRecord> records = batch.records(context)) {
+            int count = 0;
+            while (records.hasNext()) {
+                assertThat(records.next().getRow().getFieldCount()).isEqualTo(4);
+                count++;
+            }
+            assertThat(count).isEqualTo(DATA.size());
+        }
+    }
+
+    @Test
+    void testTestPredicate() throws Exception {
+        LogRecordBatchStatistics statistics =
+                createBatch(ROW_TYPE, DATA, LOG_MAGIC_VALUE_V2).getStatistics(ROW_TYPE).get();
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        assertThat(statistics.test(builder.greaterThan(0, 12))).isFalse();
+        assertThat(statistics.test(builder.lessThan(0, -3))).isFalse();
+        assertThat(statistics.test(builder.equal(0, 7))).isTrue();
+        assertThat(statistics.test(builder.equal(1, BinaryString.fromString("a")))).isFalse();
+        assertThat(statistics.test(builder.equal(1, BinaryString.fromString("b")))).isTrue();
+        assertThat(statistics.test(builder.isNull(3))).isTrue();
+        assertThat(statistics.test(builder.greaterThan(3, 10.0d))).isFalse();
+        // unknown statistics never skip the batch
+        assertThat(statistics.test(builder.isNotNull(2))).isTrue();
+        assertThat(statistics.test(builder.equal(2, new byte[] {9}))).isTrue();
+    }
+
+    @Test
+    void testLongStringStatisticsDropped() throws Exception {
+        String longString =
+                StringUtils.repeat(
+                        'x', LogRecordBatchStatisticsCollector.MAX_STRING_STATISTICS_SIZE + 1);
+        List<Object[]> data = Arrays.asList(new Object[] {1, "a"}, new Object[] {2, longString});
+        LogRecordBatchStatistics statistics =
+                createBatch(DATA1_ROW_TYPE, data, LOG_MAGIC_VALUE_V2)
+                        .getStatistics(DATA1_ROW_TYPE)
+                        .get();
+        assertFieldStats(statistics.getFieldStats(0), 1, 2, 0L);
+        assertFieldStats(statistics.getFieldStats(1), null, null, 0L);
+    }
+
+    @Test
+    void testNoStatistics() throws Exception {
+        // no statistics before V2
+        assertThat(createBatch(DATA1_ROW_TYPE, DATA1, LOG_MAGIC_VALUE_V1).getStatistics(ROW_TYPE))
+                .isEmpty();
+        // no statistics for a different schema
+        assertThat(createBatch(ROW_TYPE, DATA, LOG_MAGIC_VALUE_V2).getStatistics(DATA1_ROW_TYPE))
+                .isEmpty();
+    }
+
+    @Test
+    void testFileChannelBatchStatistics() throws Exception {
+        MemoryLogRecords memoryLogRecords =
+                createRecordsWithoutBaseLogOffset(
+                        ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        0L,
+                        System.currentTimeMillis(),
+                        LOG_MAGIC_VALUE_V2,
+                        DATA,
+                        LogFormat.ARROW);
+        try (FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.log"))) {
+            fileLogRecords.append(memoryLogRecords);
+            fileLogRecords.flush();
+            LogRecordBatch fileBatch = fileLogRecords.batches().iterator().next();
+            LogRecordBatch memoryBatch = memoryLogRecords.batches().iterator().next();
+            assertThat(fileBatch.getStatistics(ROW_TYPE).get().toString())
+                    .isEqualTo(memoryBatch.getStatistics(ROW_TYPE).get().toString());
+            assertThat(fileBatch.isValid()).isTrue();
+        }
+    }
+
+    private static void assertFieldStats(
+            SimpleColStats stats, Object min, Object max, Long nullCount) {
+        assertThat(stats.min()).isEqualTo(min);
+        assertThat(stats.max()).isEqualTo(max);
+        assertThat(stats.nullCount()).isEqualTo(nullCount);
+    }
+
+    private static LogRecordBatch createBatch(RowType rowType, List<Object[]> data, byte magic)
+            throws Exception {
+        MemoryLogRecords records =
+                createRecordsWithoutBaseLogOffset(
+                        rowType,
+                        DEFAULT_SCHEMA_ID,
+                        0L,
+                        System.currentTimeMillis(),
+                        magic,
+                        data,
+                        LogFormat.ARROW);
+        LogRecordBatch batch = records.batches().iterator().next();
+        assertThat(batch.isValid()).isTrue();
+        return batch;
+    }
+}
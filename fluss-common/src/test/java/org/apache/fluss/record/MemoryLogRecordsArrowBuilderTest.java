@@ -55,6 +55,7 @@ import static org.apache.fluss.compression.ArrowCompressionInfo.NO_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.TestData.DATA1;
 import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
@@ -107,7 +108,7 @@ public class MemoryLogRecordsArrowBuilderTest {
     }
 
     @ParameterizedTest
-    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1, LOG_MAGIC_VALUE_V2})
     void testAppend(byte recordBatchMagic) throws Exception {
         int maxSizeInBytes = 1024;
         ArrowWriter writer =
@@ -360,6 +361,7 @@ public class MemoryLogRecordsArrowBuilderTest {
         List<Arguments> params = new ArrayList<>();
         params.add(Arguments.arguments(LOG_MAGIC_VALUE_V0, 48));
         params.add(Arguments.arguments(LOG_MAGIC_VALUE_V1, 52));
+        params.add(Arguments.arguments(LOG_MAGIC_VALUE_V2, 56));
         return params;
     }
 
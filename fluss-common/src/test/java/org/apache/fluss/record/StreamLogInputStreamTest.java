@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.exception.CorruptMessageException;
+import org.apache.fluss.testutils.DataTestUtils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link StreamLogInputStream}. */
+class StreamLogInputStreamTest {
+
+    @Test
+    void testNextBatch() throws Exception {
+        MemoryLogRecords memoryLogRecords = DataTestUtils.genMemoryLogRecordsByObject(DATA1);
+        byte[] batchBytes = toBytes(memoryLogRecords);
+        byte[] twoBatchBytes = new byte[batchBytes.length * 2];
+        System.arraycopy(batchBytes, 0, twoBatchBytes, 0, batchBytes.length);
+        System.arraycopy(batchBytes, 0, twoBatchBytes, batchBytes.length, batchBytes.length);
+
+        Iterator<LogRecordBatch> iterator = getIterator(twoBatchBytes);
+        LogRecordBatch expected = memoryLogRecords.batches().iterator().next();
+        for (int i = 0; i < 2; i++) {
+            assertThat(iterator.hasNext()).isTrue();
+            LogRecordBatch batch = iterator.next();
+            assertThat(batch.sizeInBytes()).isEqualTo(batchBytes.length);
+            assertThat(batch.checksum()).isEqualTo(expected.checksum());
+            assertThat(batch.isValid()).isTrue();
+        }
+        assertThat(iterator.hasNext()).isFalse();
+
+        // empty stream.
+        assertThat(getIterator(new byte[0]).hasNext()).isFalse();
+
+        // the stream ends in the middle of a batch.
+        Iterator<LogRecordBatch> truncatedIterator =
+                getIterator(Arrays.copyOf(batchBytes, batchBytes.length - 1));
+        assertThatThrownBy(truncatedIterator::hasNext).isInstanceOf(CorruptMessageException.class);
+    }
+
+    private static byte[] toBytes(MemoryLogRecords memoryLogRecords) {
+        byte[] bytes = new byte[memoryLogRecords.sizeInBytes()];
+        memoryLogRecords
+                .getMemorySegment()
+                .get(memoryLogRecords.getPosition(), bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    private static Iterator<LogRecordBatch> getIterator(byte[] bytes) {
+        return new LogRecordBatchIterator<>(
+                new StreamLogInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
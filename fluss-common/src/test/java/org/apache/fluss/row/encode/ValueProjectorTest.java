@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.row.encode;
+
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.apache.fluss.row.BinaryString.fromString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link ValueProjector}. */
+class ValueProjectorTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    DataTypes.INT(),
+                    DataTypes.STRING(),
+                    DataTypes.BYTES(),
+                    DataTypes.BIGINT(),
+                    DataTypes.STRING(),
+                    DataTypes.DOUBLE());
+
+    @ParameterizedTest
+    @EnumSource(KvFormat.class)
+    void testProject(KvFormat kvFormat) throws Exception {
+        int[] projectedFields = new int[] {3, 0, 4};
+        ValueProjector projector = new ValueProjector(kvFormat, ROW_TYPE, projectedFields);
+        ValueDecoder projectedDecoder =
+                new ValueDecoder(
+                        RowDecoder.create(
+                                kvFormat,
+                                ROW_TYPE.project(projectedFields)
+                                        .getChildren()
+                                        .toArray(new DataType[0])));
+
+        byte[] value =
+                encodeValue(
+                        kvFormat,
+                        1,
+                        fromString("a"),
+                        new byte[] {1, 2, 3},
+                        10L,
+                        null,
+                        1.5d);
+        ValueDecoder.Value projected = projectedDecoder.decodeValue(projector.project(value));
+        assertThat(projected.schemaId).isEqualTo((short) 3);
+        assertThat(projected.row.getFieldCount()).isEqualTo(3);
+        assertThat(projected.row.getLong(0)).isEqualTo(10L);
+        assertThat(projected.row.getInt(1)).isEqualTo(1);
+        assertThat(projected.row.isNullAt(2)).isTrue();
+
+        // the projector is reused for the following values
+        value = encodeValue(kvFormat, 2, null, null, 20L, fromString("b"), null);
+        projected = projectedDecoder.decodeValue(projector.project(value));
+        assertThat(projected.row.getLong(0)).isEqualTo(20L);
+        assertThat(projected.row.getInt(1)).isEqualTo(2);
+        assertThat(projected.row.getString(2).toString()).isEqualTo("b");
+
+        assertThat(projector.project(null)).isNull();
+    }
+
+    private static byte[] encodeValue(KvFormat kvFormat, Object... fields) throws Exception {
+        try (RowEncoder rowEncoder = RowEncoder.create(kvFormat, ROW_TYPE)) {
+            rowEncoder.startNewRow();
+            for (int i = 0; i < fields.length; i++) {
+                rowEncoder.encodeField(i, fields[i]);
+            }
+            BinaryRow row = rowEncoder.finishRow();
+            return ValueEncoder.encodeValue((short) 3, row);
+        }
+    }
+}
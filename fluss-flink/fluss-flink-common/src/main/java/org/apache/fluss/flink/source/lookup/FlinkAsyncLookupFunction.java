@@ -32,7 +32,6 @@ import org.apache.fluss.flink.utils.FlinkUtils;
 import org.apache.fluss.flink.utils.FlussRowToFlinkRowConverter;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.row.InternalRow;
-import org.apache.fluss.row.ProjectedRow;
 
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.AsyncLookupFunction;
@@ -106,6 +105,9 @@ public class FlinkAsyncLookupFunction extends AsyncLookupFunction {
             RowType lookupKeyRowType = FlinkUtils.projectRowType(flinkRowType, lookupKeyIndexes);
             lookup = lookup.lookupBy(lookupKeyRowType.getFieldNames());
         }
+        if (projection != null) {
+            lookup = lookup.project(projection);
+        }
         lookuper = lookup.createLookuper();
 
         LOG.info("end open.");
@@ -198,7 +200,7 @@ public class FlinkAsyncLookupFunction extends AsyncLookupFunction {
         List<RowData> projectedRow = new ArrayList<>();
         for (InternalRow row : lookupResult) {
             if (row != null) {
-                RowData flinkRow = flussRowToFlinkRowConverter.toFlinkRowData(maybeProject(row));
+                RowData flinkRow = flussRowToFlinkRowConverter.toFlinkRowData(row);
                 if (remainingFilter == null || remainingFilter.isMatch(flinkRow)) {
                     projectedRow.add(flinkRow);
                 }
@@ -207,14 +209,6 @@ public class FlinkAsyncLookupFunction extends AsyncLookupFunction {
         resultFuture.complete(projectedRow);
     }
 
-    private InternalRow maybeProject(InternalRow row) {
-        if (projection == null) {
-            return row;
-        }
-        // should not reuse objects for async operations
-        return ProjectedRow.from(projection).replaceRow(row);
-    }
-
     @Override
     public void close() throws Exception {
         LOG.info("start close ...");
@@ -30,7 +30,6 @@ import org.apache.fluss.flink.utils.FlinkUtils;
 import org.apache.fluss.flink.utils.FlussRowToFlinkRowConverter;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.row.InternalRow;
-import org.apache.fluss.row.ProjectedRow;
 
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
@@ -64,7 +63,6 @@ public class FlinkLookupFunction extends LookupFunction {
     private transient Table table;
     private transient Lookuper lookuper;
     private transient FlinkAsFlussRow lookupRow;
-    @Nullable private transient ProjectedRow projectedRow;
 
     public FlinkLookupFunction(
             Configuration flussConfig,
@@ -91,11 +89,8 @@ public class FlinkLookupFunction extends LookupFunction {
         final RowType outputRowType;
         if (projection == null) {
             outputRowType = flinkRowType;
-            projectedRow = null;
         } else {
             outputRowType = FlinkUtils.projectRowType(flinkRowType, projection);
-            // reuse the projected row
-            projectedRow = ProjectedRow.from(projection);
         }
         flussRowToFlinkRowConverter =
                 new FlussRowToFlinkRowConverter(FlinkConversions.toFlussRowType(outputRowType));
@@ -106,6 +101,9 @@ public class FlinkLookupFunction extends LookupFunction {
             RowType lookupKeyRowType = FlinkUtils.projectRowType(flinkRowType, lookupKeyIndexes);
             lookup = lookup.lookupBy(lookupKeyRowType.getFieldNames());
         }
+        if (projection != null) {
+            lookup = lookup.project(projection);
+        }
         lookuper = lookup.createLookuper();
 
         LOG.info("end open.");
@@ -133,8 +131,7 @@ public class FlinkLookupFunction extends LookupFunction {
                 List<RowData> projectedRows = new ArrayList<>();
                 for (InternalRow row : lookupRows) {
                     if (row != null) {
-                        RowData flinkRow =
-                                flussRowToFlinkRowConverter.toFlinkRowData(maybeProject(row));
+                        RowData flinkRow = flussRowToFlinkRowConverter.toFlinkRowData(row);
                         if (remainingFilter == null || remainingFilter.isMatch(flinkRow)) {
                             projectedRows.add(flinkRow);
                         }
@@ -161,13 +158,6 @@ public class FlinkLookupFunction extends LookupFunction {
         return Collections.emptyList();
     }
 
-    private InternalRow maybeProject(InternalRow row) {
-        if (projectedRow == null) {
-            return row;
-        }
-        return projectedRow.replaceRow(row);
-    }
-
     @Override
     public void close() throws Exception {
         LOG.info("start close ...");
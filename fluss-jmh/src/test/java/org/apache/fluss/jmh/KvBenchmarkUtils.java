@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.memory.LazyMemorySegmentPool;
+import org.apache.fluss.memory.TestingMemorySegmentPool;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.log.LogTablet;
+import org.apache.fluss.server.log.LogTestUtils;
+import org.apache.fluss.server.metrics.group.TestingMetricGroups;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.clock.SystemClock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.testutils.DataTestUtils.row;
+
+/** Utilities to set up the kv tablets for the kv benchmarks. */
+final class KvBenchmarkUtils {
+
+    /** The schema of the benchmark tables, the first column is the prefix of the primary key. */
+    static final Schema SCHEMA =
+            Schema.newBuilder()
+                    .column("id", DataTypes.INT())
+                    .column("seq", DataTypes.INT())
+                    .column("version", DataTypes.BIGINT())
+                    .column("name", DataTypes.STRING())
+                    .column("payload", DataTypes.STRING())
+                    .primaryKey("id", "seq")
+                    .build();
+
+    static final RowType ROW_TYPE = SCHEMA.getRowType();
+
+    static final short SCHEMA_ID = 1;
+
+    private static final CompactedKeyEncoder KEY_ENCODER =
+            CompactedKeyEncoder.createKeyEncoder(ROW_TYPE, Arrays.asList("id", "seq"));
+
+    private static final CompactedKeyEncoder PREFIX_KEY_ENCODER =
+            CompactedKeyEncoder.createKeyEncoder(ROW_TYPE, Collections.singletonList("id"));
+
+    private KvBenchmarkUtils() {}
+
+    static LogTablet createLogTablet(File dataDir, Configuration conf) throws Exception {
+        PhysicalTablePath tablePath = PhysicalTablePath.of(TablePath.of("benchmark_db", "t1"));
+        File logTabletDir =
+                LogTestUtils.makeRandomLogTabletDir(
+                        dataDir, tablePath.getDatabaseName(), 0L, tablePath.getTableName());
+        return LogTablet.create(
+                tablePath,
+                logTabletDir,
+                conf,
+                TestingMetricGroups.TABLET_SERVER_METRICS,
+                0,
+                new FlussScheduler(1),
+                LogFormat.ARROW,
+                1,
+                true,
+                SystemClock.getInstance(),
+                true);
+    }
+
+    static KvTablet createKvTablet(
+            LogTablet logTablet, File kvDir, Configuration conf, Map<String, String> tableConfig)
+            throws Exception {
+        RowMerger rowMerger =
+                RowMerger.create(
+                        new TableConfig(Configuration.fromMap(tableConfig)),
+                        SCHEMA,
+                        KvFormat.COMPACTED);
+        return KvTablet.create(
+                logTablet.getPhysicalTablePath(),
+                logTablet.getTableBucket(),
+                logTablet,
+                kvDir,
+                conf,
+                TestingMetricGroups.TABLET_SERVER_METRICS,
+                new RootAllocator(Long.MAX_VALUE),
+                new TestingMemorySegmentPool(64 * 1024),
+                LazyMemorySegmentPool.createKvPreWriteBufferPool(conf),
+                null,
+                KvFormat.COMPACTED,
+                SCHEMA,
+                rowMerger,
+                DEFAULT_COMPRESSION);
+    }
+
+    /** Encodes the primary key of the row with the given id and seq. */
+    static byte[] key(int id, int seq) {
+        return KEY_ENCODER.encodeKey(row(id, seq, null, null, null));
+    }
+
+    /** Encodes the prefix key of all the rows with the given id. */
+    static byte[] prefixKey(int id) {
+        return PREFIX_KEY_ENCODER.encodeKey(row(id, null, null, null, null));
+    }
+}
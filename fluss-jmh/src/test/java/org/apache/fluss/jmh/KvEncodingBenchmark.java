@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.row.encode.ValueEncoder;
+import org.apache.fluss.types.DataType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.ROW_TYPE;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
+
+/**
+ * Benchmark for encoding the keys by {@link CompactedKeyEncoder}, and encoding and decoding the
+ * values by {@link ValueEncoder} and {@link ValueDecoder}, which are done for every record written
+ * to or read from a kv tablet.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvEncodingBenchmark {
+
+    private static final int NUM_ROWS = 1_000;
+
+    private final BinaryRow[] rows = new BinaryRow[NUM_ROWS];
+    private final byte[][] encodedValues = new byte[NUM_ROWS][];
+    private CompactedKeyEncoder keyEncoder;
+    private ValueDecoder valueDecoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keyEncoder = CompactedKeyEncoder.createKeyEncoder(ROW_TYPE, Arrays.asList("id", "seq"));
+        valueDecoder =
+                new ValueDecoder(
+                        RowDecoder.create(
+                                KvFormat.COMPACTED,
+                                ROW_TYPE.getChildren().toArray(new DataType[0])));
+        for (int i = 0; i < NUM_ROWS; i++) {
+            rows[i] =
+                    compactedRow(
+                            ROW_TYPE,
+                            new Object[] {
+                                i, i % 10, (long) i, randomAlphanumeric(10), randomAlphanumeric(100)
+                            });
+            encodedValues[i] = ValueEncoder.encodeValue(SCHEMA_ID, rows[i]);
+        }
+    }
+
+    @Benchmark
+    public void encodeKey(Blackhole blackhole) {
+        for (BinaryRow row : rows) {
+            blackhole.consume(keyEncoder.encodeKey(row));
+        }
+    }
+
+    @Benchmark
+    public void encodeValue(Blackhole blackhole) {
+        for (BinaryRow row : rows) {
+            blackhole.consume(ValueEncoder.encodeValue(SCHEMA_ID, row));
+        }
+    }
+
+    @Benchmark
+    public void decodeValue(Blackhole blackhole) {
+        for (byte[] encodedValue : encodedValues) {
+            blackhole.consume(valueDecoder.decodeValue(encodedValue));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvEncodingBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions.KvPreWriteBufferType;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.memory.LazyMemorySegmentPool;
+import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
+import org.apache.fluss.server.metrics.group.TestingMetricGroups;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import javax.annotation.Nonnull;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.jmh.KvBenchmarkUtils.key;
+
+/**
+ * Benchmark for the put, get and flush of the heap and off-heap {@link KvPreWriteBuffer}. The
+ * buffer flushes to a no-op {@link KvBatchWriter}, so the scores only contain the cost of the
+ * buffer itself.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvPreWriteBufferBenchmark {
+
+    private static final int NUM_KEYS = 100_000;
+    private static final int RECORDS_PER_OP = 100;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public KvPreWriteBufferType type;
+
+    private final KvPreWriteBuffer.Key[] keys = new KvPreWriteBuffer.Key[NUM_KEYS];
+    private final byte[][] values = new byte[NUM_KEYS][];
+    private LazyMemorySegmentPool memorySegmentPool;
+    private KvPreWriteBuffer buffer;
+    private long nextLogSequenceNumber;
+    private int nextKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = KvPreWriteBuffer.Key.of(key(i / 10, i % 10));
+            values[i] = RandomUtils.nextBytes(100);
+        }
+        memorySegmentPool = LazyMemorySegmentPool.createKvPreWriteBufferPool(new Configuration());
+        buffer =
+                KvPreWriteBuffer.create(
+                        type,
+                        new NoOpKvBatchWriter(),
+                        memorySegmentPool,
+                        TestingMetricGroups.TABLET_SERVER_METRICS);
+        // fill the buffer for the get benchmark
+        for (int i = 0; i < NUM_KEYS; i++) {
+            buffer.put(keys[i], values[i], nextLogSequenceNumber++);
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        buffer.close();
+        memorySegmentPool.close();
+    }
+
+    /**
+     * Puts the updates of existing keys, the buffer is flushed once every {@code NUM_KEYS} puts to
+     * bound the memory, which is amortized to every put.
+     */
+    @Benchmark
+    public void put() throws Exception {
+        for (int i = 0; i < RECORDS_PER_OP; i++) {
+            putNext();
+            if (nextKey == 0) {
+                buffer.flush(nextLogSequenceNumber);
+            }
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (int i = 0; i < RECORDS_PER_OP; i++) {
+            blackhole.consume(buffer.get(keys[nextKey]));
+            nextKey = (nextKey + 1) % NUM_KEYS;
+        }
+    }
+
+    /** Puts a batch of records and flushes them, like a put kv request with a following fetch. */
+    @Benchmark
+    public void putAndFlush() throws Exception {
+        for (int i = 0; i < RECORDS_PER_OP; i++) {
+            putNext();
+        }
+        buffer.flush(nextLogSequenceNumber);
+    }
+
+    private void putNext() {
+        buffer.put(keys[nextKey], values[nextKey], nextLogSequenceNumber++);
+        nextKey = (nextKey + 1) % NUM_KEYS;
+    }
+
+    private static class NoOpKvBatchWriter implements KvBatchWriter {
+
+        @Override
+        public void put(@Nonnull byte[] key, @Nonnull byte[] value) {}
+
+        @Override
+        public void delete(@Nonnull byte[] key) {}
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvPreWriteBufferBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.record.KvRecord;
+import org.apache.fluss.record.KvRecordTestUtils;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.log.LogTablet;
+import org.apache.fluss.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.ROW_TYPE;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.SCHEMA_ID;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.createKvTablet;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.createLogTablet;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.key;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.prefixKey;
+
+/**
+ * Benchmark for {@link KvTablet#multiGet} and {@link KvTablet#prefixLookup} against the local
+ * RocksDB of a kv tablet. All the rows are flushed to RocksDB before the benchmark, so the lookups
+ * don't hit the kv pre-write buffer.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvTabletLookupBenchmark {
+
+    private static final int NUM_IDS = 10_000;
+    private static final int ROWS_PER_ID = 10;
+    private static final int KEYS_PER_LOOKUP = 100;
+    private static final int NUM_LOOKUPS = 1_000;
+
+    private final List<List<byte[]>> lookupKeys = new ArrayList<>();
+    private final List<byte[]> prefixKeys = new ArrayList<>();
+    private File tempDir;
+    private LogTablet logTablet;
+    private KvTablet kvTablet;
+    private int nextLookup;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        tempDir = Files.createTempDirectory("kv-lookup-benchmark").toFile();
+        Configuration conf = new Configuration();
+        logTablet = createLogTablet(new File(tempDir, "log"), conf);
+        kvTablet = createKvTablet(logTablet, new File(tempDir, "kv"), conf, Collections.emptyMap());
+
+        KvRecordTestUtils.KvRecordFactory recordFactory =
+                KvRecordTestUtils.KvRecordFactory.of(ROW_TYPE);
+        KvRecordTestUtils.KvRecordBatchFactory batchFactory =
+                KvRecordTestUtils.KvRecordBatchFactory.of(SCHEMA_ID);
+        for (int id = 0; id < NUM_IDS; id++) {
+            List<KvRecord> records = new ArrayList<>(ROWS_PER_ID);
+            for (int seq = 0; seq < ROWS_PER_ID; seq++) {
+                records.add(
+                        recordFactory.ofRecord(
+                                key(id, seq),
+                                new Object[] {
+                                    id,
+                                    seq,
+                                    (long) seq,
+                                    randomAlphanumeric(10),
+                                    randomAlphanumeric(100)
+                                }));
+            }
+            kvTablet.putAsLeader(batchFactory.ofRecords(records), null);
+        }
+        kvTablet.flush(
+                logTablet.localLogEndOffset(),
+                throwable -> {
+                    throw new RuntimeException(throwable);
+                });
+
+        Random random = new Random(0);
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            List<byte[]> keys = new ArrayList<>(KEYS_PER_LOOKUP);
+            for (int j = 0; j < KEYS_PER_LOOKUP; j++) {
+                keys.add(key(random.nextInt(NUM_IDS), random.nextInt(ROWS_PER_ID)));
+            }
+            lookupKeys.add(keys);
+            prefixKeys.add(prefixKey(random.nextInt(NUM_IDS)));
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        kvTablet.close();
+        logTablet.close();
+        FileUtils.deleteDirectoryQuietly(tempDir);
+    }
+
+    @Benchmark
+    public List<byte[]> multiGet() throws Exception {
+        List<byte[]> keys = lookupKeys.get(nextLookup);
+        nextLookup = (nextLookup + 1) % NUM_LOOKUPS;
+        return kvTablet.multiGet(keys);
+    }
+
+    @Benchmark
+    public List<byte[]> prefixLookup() throws Exception {
+        byte[] prefixKey = prefixKeys.get(nextLookup);
+        nextLookup = (nextLookup + 1) % NUM_LOOKUPS;
+        return kvTablet.prefixLookup(prefixKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletLookupBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.MergeEngineType;
+import org.apache.fluss.record.KvRecord;
+import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.record.KvRecordTestUtils;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.log.LogAppendInfo;
+import org.apache.fluss.server.log.LogTablet;
+import org.apache.fluss.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.ROW_TYPE;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.SCHEMA_ID;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.createKvTablet;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.createLogTablet;
+import static org.apache.fluss.jmh.KvBenchmarkUtils.key;
+
+/**
+ * Benchmark for {@link KvTablet#putAsLeader} with the different row mergers. Every invocation puts
+ * a batch of records and flushes the kv pre-write buffer to RocksDB as the high watermark of the
+ * log advances, so the score includes the read of the old values, the merge, the changelog append
+ * and the RocksDB write. The first half of the batches insert new keys and the second half update
+ * them.
+ *
+ * <p>The pre-built batches are put in a round-robin way. For the {@code VERSIONED} merge engine,
+ * the batches are rebuilt with larger versions before each round outside the measurement, so that
+ * the puts of the later rounds aren't rejected by the merger.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvTabletWriteBenchmark {
+
+    private static final int NUM_BATCHES = 1_000;
+    private static final int RECORDS_PER_BATCH = 100;
+    private static final int NUM_KEYS = NUM_BATCHES * RECORDS_PER_BATCH / 2;
+
+    /** The row merger, {@code PARTIAL_UPDATE} is the default merger with target columns. */
+    @Param({"DEFAULT", "FIRST_ROW", "VERSIONED", "PARTIAL_UPDATE"})
+    public String rowMerger;
+
+    private final List<KvRecordBatch> batches = new ArrayList<>();
+    private File tempDir;
+    private LogTablet logTablet;
+    private KvTablet kvTablet;
+    private int[] targetColumns;
+    private int nextBatch;
+    private long nextVersion;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        tempDir = Files.createTempDirectory("kv-write-benchmark").toFile();
+        Configuration conf = new Configuration();
+        Map<String, String> tableConfig = new HashMap<>();
+        switch (rowMerger) {
+            case "FIRST_ROW":
+                tableConfig.put(
+                        ConfigOptions.TABLE_MERGE_ENGINE.key(), MergeEngineType.FIRST_ROW.name());
+                break;
+            case "VERSIONED":
+                tableConfig.put(
+                        ConfigOptions.TABLE_MERGE_ENGINE.key(), MergeEngineType.VERSIONED.name());
+                tableConfig.put(ConfigOptions.TABLE_MERGE_ENGINE_VERSION_COLUMN.key(), "version");
+                break;
+            case "PARTIAL_UPDATE":
+                // only update the primary key and the name column
+                targetColumns = new int[] {0, 1, 3};
+                break;
+            default:
+                break;
+        }
+        logTablet = createLogTablet(new File(tempDir, "log"), conf);
+        kvTablet = createKvTablet(logTablet, new File(tempDir, "kv"), conf, tableConfig);
+        buildBatches();
+    }
+
+    // the setup of each invocation is affordable as an invocation puts a whole batch and flushes it
+    // to RocksDB, and it rebuilds the batches only once per round
+    @Setup(Level.Invocation)
+    public void nextRound() throws Exception {
+        if (nextBatch == 0 && logTablet.localLogEndOffset() > 0 && rowMerger.equals("VERSIONED")) {
+            // the versions of the last round have been put, use larger versions for this round
+            buildBatches();
+        }
+    }
+
+    private void buildBatches() throws Exception {
+        batches.clear();
+        KvRecordTestUtils.KvRecordFactory recordFactory =
+                KvRecordTestUtils.KvRecordFactory.of(ROW_TYPE);
+        KvRecordTestUtils.KvRecordBatchFactory batchFactory =
+                KvRecordTestUtils.KvRecordBatchFactory.of(SCHEMA_ID);
+        for (int i = 0; i < NUM_BATCHES; i++) {
+            List<KvRecord> records = new ArrayList<>(RECORDS_PER_BATCH);
+            for (int j = 0; j < RECORDS_PER_BATCH; j++) {
+                int keyIndex = (i * RECORDS_PER_BATCH + j) % NUM_KEYS;
+                int id = keyIndex / 10;
+                int seq = keyIndex % 10;
+                Object[] value =
+                        targetColumns == null
+                                ? new Object[] {
+                                    id,
+                                    seq,
+                                    nextVersion++,
+                                    randomAlphanumeric(10),
+                                    randomAlphanumeric(100)
+                                }
+                                : new Object[] {id, seq, null, randomAlphanumeric(10), null};
+                records.add(recordFactory.ofRecord(key(id, seq), value));
+            }
+            batches.add(batchFactory.ofRecords(records));
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        kvTablet.close();
+        logTablet.close();
+        FileUtils.deleteDirectoryQuietly(tempDir);
+    }
+
+    @Benchmark
+    public LogAppendInfo putAsLeader() throws Exception {
+        KvRecordBatch batch = batches.get(nextBatch);
+        nextBatch = (nextBatch + 1) % NUM_BATCHES;
+        LogAppendInfo appendInfo = kvTablet.putAsLeader(batch, targetColumns);
+        kvTablet.flush(
+                logTablet.localLogEndOffset(),
+                throwable -> {
+                    throw new RuntimeException(throwable);
+                });
+        return appendInfo;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletWriteBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
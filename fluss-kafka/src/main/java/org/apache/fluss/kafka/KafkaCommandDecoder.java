@@ -81,7 +81,12 @@ public class KafkaCommandDecoder extends SimpleChannelInboundHandler<ByteBuf> {
             future.whenCompleteAsync((r, t) -> sendResponse(ctx), ctx.executor());
             int channelIndex =
                     MathUtils.murmurHash(ctx.channel().id().asLongText().hashCode()) % numChannels;
-            requestChannels[channelIndex].putRequest(request);
+            RequestChannel requestChannel = requestChannels[channelIndex];
+            requestChannel.putRequest(request);
+            if (requestChannel.isOverloaded()) {
+                ctx.channel().config().setAutoRead(false);
+                requestChannel.resumeWhenAvailable(() -> ctx.channel().config().setAutoRead(true));
+            }
 
             if (!isActive.get()) {
                 LOG.warn("Received a request on an inactive channel: {}", remoteAddress);
@@ -24,6 +24,8 @@ import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.netty.server.RequestChannel;
 import org.apache.fluss.rpc.netty.server.RequestHandler;
 import org.apache.fluss.rpc.protocol.NetworkProtocolPlugin;
+import org.apache.fluss.server.kv.KvManager;
+import org.apache.fluss.server.tablet.TabletService;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelHandler;
 
 import java.util.List;
@@ -63,7 +65,17 @@ public class KafkaProtocolPlugin implements NetworkProtocolPlugin {
                     "Kafka protocol endpoints can only be enabled on TabletServers, but the service is "
                             + service.getClass().getSimpleName());
         }
-        TabletServerGateway gateway = (TabletServerGateway) service;
-        return new KafkaRequestHandler(gateway);
+        if (service instanceof TabletService) {
+            TabletService tabletService = (TabletService) service;
+            KvManager kvManager = tabletService.getReplicaManager().getKvManager();
+            return new KafkaRequestHandler(
+                    tabletService,
+                    tabletService.getReplicaManager(),
+                    tabletService.getMetadataCache(),
+                    kvManager.getMemorySegmentPool(),
+                    kvManager.getArrowBufferAllocator(),
+                    conf);
+        }
+        return new KafkaRequestHandler((TabletServerGateway) service);
     }
 }
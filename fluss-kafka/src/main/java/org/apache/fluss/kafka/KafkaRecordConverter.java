@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.kafka;
+
+import org.apache.fluss.memory.MemorySegmentPool;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.TimestampLtz;
+import org.apache.fluss.row.arrow.ArrowWriterProvider;
+import org.apache.fluss.row.encode.IndexedRowEncoder;
+import org.apache.fluss.server.kv.wal.ArrowWalBuilder;
+import org.apache.fluss.server.kv.wal.IndexWalBuilder;
+import org.apache.fluss.server.kv.wal.WalBuilder;
+import org.apache.fluss.server.replica.Replica;
+import org.apache.fluss.types.DataField;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Converts the records between the Kafka record batches and the Fluss log record batches of a Kafka
+ * topic.
+ *
+ * <p>A Kafka topic is a non-partitioned log table in the Kafka database, which has the schema of
+ * {@link #KAFKA_TOPIC_ROW_TYPE}, and a Kafka partition is a bucket of the table. The offsets of the
+ * Kafka records are the log offsets of the Fluss records. The headers of the Kafka records are not
+ * stored.
+ *
+ * <p>Note: the record batches can't be served to Kafka consumers without conversion, as the batch
+ * format of Fluss is different from Kafka's, so the fetched batches are decoded and re-encoded.
+ */
+final class KafkaRecordConverter {
+
+    /** The schema of the log table of a Kafka topic. */
+    static final RowType KAFKA_TOPIC_ROW_TYPE =
+            DataTypes.ROW(
+                    DataTypes.FIELD("key", DataTypes.BYTES()),
+                    DataTypes.FIELD("value", DataTypes.BYTES()),
+                    DataTypes.FIELD("timestamp", DataTypes.TIMESTAMP_LTZ(3)));
+
+    private static final int KEY_POS = 0;
+    private static final int VALUE_POS = 1;
+    private static final int TIMESTAMP_POS = 2;
+    private static final int TIMESTAMP_PRECISION = 3;
+
+    private final MemorySegmentPool memorySegmentPool;
+    private final ArrowWriterProvider arrowWriterProvider;
+
+    KafkaRecordConverter(
+            MemorySegmentPool memorySegmentPool, ArrowWriterProvider arrowWriterProvider) {
+        this.memorySegmentPool = memorySegmentPool;
+        this.arrowWriterProvider = arrowWriterProvider;
+    }
+
+    /** Returns true if the table of the given row type can be served as a Kafka topic. */
+    static boolean isKafkaTopicRowType(RowType rowType) {
+        List<DataField> fields = rowType.getFields();
+        List<DataField> expectedFields = KAFKA_TOPIC_ROW_TYPE.getFields();
+        if (fields.size() != expectedFields.size()) {
+            return false;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            DataField field = fields.get(i);
+            DataField expectedField = expectedFields.get(i);
+            if (!field.getName().equals(expectedField.getName())
+                    || !field.getType().copy(true).equals(expectedField.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the given Kafka records to a new {@link WalBuilder} in the log format of the replica.
+     * The caller should build the log records from the returned builder, and deallocate it after
+     * the log records are appended.
+     */
+    WalBuilder toLogRecords(Replica replica, MemoryRecords records) throws Exception {
+        WalBuilder walBuilder = createWalBuilder(replica);
+        try (IndexedRowEncoder rowEncoder =
+                replica.getLogFormat() == LogFormat.INDEXED
+                        ? new IndexedRowEncoder(replica.getRowType())
+                        : null) {
+            GenericRow row = new GenericRow(KAFKA_TOPIC_ROW_TYPE.getFieldCount());
+            for (Record record : records.records()) {
+                row.setField(KEY_POS, record.hasKey() ? Utils.toArray(record.key()) : null);
+                row.setField(VALUE_POS, record.hasValue() ? Utils.toArray(record.value()) : null);
+                row.setField(
+                        TIMESTAMP_POS,
+                        record.timestamp() < 0
+                                ? null
+                                : TimestampLtz.fromEpochMillis(record.timestamp()));
+                walBuilder.append(ChangeType.APPEND_ONLY, encode(row, rowEncoder));
+            }
+        } catch (Exception e) {
+            walBuilder.deallocate();
+            throw e;
+        }
+        return walBuilder;
+    }
+
+    /**
+     * Converts the given Fluss log records into a single Kafka record batch, the records before the
+     * fetch offset are skipped. The timestamp of a Kafka record is the timestamp column of the row,
+     * or the commit timestamp of the batch if the column is null.
+     */
+    static MemoryRecords toKafkaRecords(
+            LogRecords logRecords, LogRecordReadContext readContext, long fetchOffset) {
+        MemoryRecordsBuilder recordsBuilder = null;
+        for (LogRecordBatch batch : logRecords.batches()) {
+            if (batch.lastLogOffset() < fetchOffset) {
+                continue;
+            }
+            try (CloseableIterator<LogRecord> iterator = batch.records(readContext)) {
+                while (iterator.hasNext()) {
+                    LogRecord record = iterator.next();
+                    if (record.logOffset() < fetchOffset) {
+                        continue;
+                    }
+                    if (recordsBuilder == null) {
+                        recordsBuilder =
+                                MemoryRecords.builder(
+                                        ByteBuffer.allocate(logRecords.sizeInBytes()),
+                                        Compression.NONE,
+                                        TimestampType.CREATE_TIME,
+                                        record.logOffset());
+                    }
+                    InternalRow row = record.getRow();
+                    recordsBuilder.appendWithOffset(
+                            record.logOffset(),
+                            row.isNullAt(TIMESTAMP_POS)
+                                    ? record.timestamp()
+                                    : row.getTimestampLtz(TIMESTAMP_POS, TIMESTAMP_PRECISION)
+                                            .getEpochMillisecond(),
+                            row.isNullAt(KEY_POS) ? null : row.getBytes(KEY_POS),
+                            row.isNullAt(VALUE_POS) ? null : row.getBytes(VALUE_POS));
+                }
+            }
+        }
+        return recordsBuilder == null ? MemoryRecords.EMPTY : recordsBuilder.build();
+    }
+
+    private WalBuilder createWalBuilder(Replica replica) throws Exception {
+        switch (replica.getLogFormat()) {
+            case INDEXED:
+                return new IndexWalBuilder(replica.getSchemaId(), memorySegmentPool);
+            case ARROW:
+                return new ArrowWalBuilder(
+                        replica.getSchemaId(),
+                        arrowWriterProvider.getOrCreateWriter(
+                                replica.getTableBucket().getTableId(),
+                                replica.getSchemaId(),
+                                // all the records of a partition are appended in a single batch
+                                Integer.MAX_VALUE,
+                                replica.getRowType(),
+                                replica.getArrowCompressionInfo()),
+                        memorySegmentPool);
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported log format: " + replica.getLogFormat());
+        }
+    }
+
+    private static InternalRow encode(GenericRow row, IndexedRowEncoder rowEncoder) {
+        if (rowEncoder == null) {
+            return row;
+        }
+        rowEncoder.startNewRow();
+        for (int i = 0; i < row.getFieldCount(); i++) {
+            rowEncoder.encodeField(i, row.getField(i));
+        }
+        return rowEncoder.finishRow();
+    }
+}
@@ -17,27 +17,146 @@
 
 package org.apache.fluss.kafka;
 
+import org.apache.fluss.cluster.ServerNode;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.InvalidTableException;
+import org.apache.fluss.exception.UnknownTableOrBucketException;
+import org.apache.fluss.memory.MemorySegmentPool;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.entity.ListOffsetsResultForBucket;
+import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.netty.server.RequestHandler;
+import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.rpc.protocol.RequestType;
-
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.server.kv.wal.WalBuilder;
+import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.log.ListOffsetsParam;
+import org.apache.fluss.server.metadata.BucketMetadata;
+import org.apache.fluss.server.metadata.TableMetadata;
+import org.apache.fluss.server.metadata.TabletServerMetadataCache;
+import org.apache.fluss.server.replica.Replica;
+import org.apache.fluss.server.replica.ReplicaManager;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+
+import org.apache.kafka.common.TopicIdPartition;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.message.ApiVersionsResponseData;
+import org.apache.kafka.common.message.FetchResponseData;
+import org.apache.kafka.common.message.ListOffsetsRequestData.ListOffsetsPartition;
+import org.apache.kafka.common.message.ListOffsetsRequestData.ListOffsetsTopic;
+import org.apache.kafka.common.message.ListOffsetsResponseData;
+import org.apache.kafka.common.message.ListOffsetsResponseData.ListOffsetsPartitionResponse;
+import org.apache.kafka.common.message.ListOffsetsResponseData.ListOffsetsTopicResponse;
+import org.apache.kafka.common.message.MetadataResponseData;
+import org.apache.kafka.common.message.MetadataResponseData.MetadataResponseBroker;
+import org.apache.kafka.common.message.MetadataResponseData.MetadataResponsePartition;
+import org.apache.kafka.common.message.MetadataResponseData.MetadataResponseTopic;
+import org.apache.kafka.common.message.ProduceRequestData.PartitionProduceData;
+import org.apache.kafka.common.message.ProduceRequestData.TopicProduceData;
+import org.apache.kafka.common.message.ProduceResponseData;
+import org.apache.kafka.common.message.ProduceResponseData.PartitionProduceResponse;
+import org.apache.kafka.common.message.ProduceResponseData.TopicProduceResponse;
 import org.apache.kafka.common.protocol.ApiKeys;
 import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.record.MemoryRecords;
 import org.apache.kafka.common.record.RecordBatch;
 import org.apache.kafka.common.requests.AbstractRequest;
 import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.ApiVersionsResponse;
+import org.apache.kafka.common.requests.FetchMetadata;
+import org.apache.kafka.common.requests.FetchRequest;
+import org.apache.kafka.common.requests.FetchResponse;
+import org.apache.kafka.common.requests.ListOffsetsRequest;
+import org.apache.kafka.common.requests.ListOffsetsResponse;
+import org.apache.kafka.common.requests.MetadataRequest;
+import org.apache.kafka.common.requests.MetadataResponse;
+import org.apache.kafka.common.requests.ProduceRequest;
+import org.apache.kafka.common.requests.ProduceResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.apache.fluss.kafka.KafkaRecordConverter.KAFKA_TOPIC_ROW_TYPE;
+import static org.apache.fluss.kafka.KafkaRecordConverter.isKafkaTopicRowType;
+import static org.apache.fluss.kafka.KafkaRecordConverter.toKafkaRecords;
 
 /** Kafka protocol implementation for request handler. */
 public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
 
-    // TODO: we may need a new abstraction between TabletService and ReplicaManager to avoid
-    //  affecting Fluss protocol when supporting compatibility with Kafka.
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRequestHandler.class);
+
+    /** The replica id of the fetch and list offsets requests from clients. */
+    private static final int CLIENT_REPLICA_ID = -1;
+
+    /** The APIs to serve the Kafka topics, which need the data plane of the tablet server. */
+    private static final List<ApiKeys> TOPIC_API_KEYS =
+            Arrays.asList(ApiKeys.METADATA, ApiKeys.PRODUCE, ApiKeys.LIST_OFFSETS, ApiKeys.FETCH);
+
     private final TabletServerGateway gateway;
 
+    // the data plane to serve the Kafka topics from the Fluss log tables, the requests for the
+    // topics are rejected as unsupported if absent
+    private final @Nullable ReplicaManager replicaManager;
+    private final @Nullable TabletServerMetadataCache metadataCache;
+    private final @Nullable KafkaRecordConverter recordConverter;
+    private final String database;
+    private final String listenerName;
+
     public KafkaRequestHandler(TabletServerGateway gateway) {
         this.gateway = gateway;
+        this.replicaManager = null;
+        this.metadataCache = null;
+        this.recordConverter = null;
+        this.database = ConfigOptions.KAFKA_DATABASE.defaultValue();
+        this.listenerName = ConfigOptions.KAFKA_LISTENER_NAMES.defaultValue().get(0);
+    }
+
+    /**
+     * Creates the handler serving the Kafka topics, the memory segment pool and the arrow buffer
+     * allocator are shared with the tablet server and not closed by the handler.
+     */
+    public KafkaRequestHandler(
+            TabletServerGateway gateway,
+            ReplicaManager replicaManager,
+            TabletServerMetadataCache metadataCache,
+            MemorySegmentPool memorySegmentPool,
+            BufferAllocator arrowBufferAllocator,
+            Configuration conf) {
+        this.gateway = gateway;
+        this.replicaManager = replicaManager;
+        this.metadataCache = metadataCache;
+        this.recordConverter =
+                new KafkaRecordConverter(
+                        memorySegmentPool, new ArrowWriterPool(arrowBufferAllocator));
+        this.database = conf.get(ConfigOptions.KAFKA_DATABASE);
+        this.listenerName = conf.get(ConfigOptions.KAFKA_LISTENER_NAMES).get(0);
     }
 
     @Override
@@ -58,91 +177,15 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
             case PRODUCE:
                 handleProducerRequest(request);
                 break;
-            case FIND_COORDINATOR:
-                handleFindCoordinatorRequest(request);
-                break;
             case LIST_OFFSETS:
                 handleListOffsetRequest(request);
                 break;
-            case OFFSET_FETCH:
-                handleOffsetFetchRequest(request);
-                break;
-            case OFFSET_COMMIT:
-                handleOffsetCommitRequest(request);
-                break;
             case FETCH:
                 handleFetchRequest(request);
                 break;
-            case JOIN_GROUP:
-                handleJoinGroupRequest(request);
-                break;
-            case SYNC_GROUP:
-                handleSyncGroupRequest(request);
-                break;
-            case HEARTBEAT:
-                handleHeartbeatRequest(request);
-                break;
-            case LEAVE_GROUP:
-                handleLeaveGroupRequest(request);
-                break;
-            case DESCRIBE_GROUPS:
-                handleDescribeGroupsRequest(request);
-                break;
-            case LIST_GROUPS:
-                handleListGroupsRequest(request);
-                break;
-            case DELETE_GROUPS:
-                handleDeleteGroupsRequest(request);
-                break;
-            case SASL_HANDSHAKE:
-                handleSaslHandshakeRequest(request);
-                break;
-            case SASL_AUTHENTICATE:
-                handleSaslAuthenticateRequest(request);
-                break;
-            case CREATE_TOPICS:
-                handleCreateTopicsRequest(request);
-                break;
-            case INIT_PRODUCER_ID:
-                handleInitProducerIdRequest(request);
-                break;
-            case ADD_PARTITIONS_TO_TXN:
-                handleAddPartitionsToTxnRequest(request);
-                break;
-            case ADD_OFFSETS_TO_TXN:
-                handleAddOffsetsToTxnRequest(request);
-                break;
-            case TXN_OFFSET_COMMIT:
-                handleTxnOffsetCommitRequest(request);
-                break;
-            case END_TXN:
-                handleEndTxnRequest(request);
-                break;
-            case WRITE_TXN_MARKERS:
-                handleWriteTxnMarkersRequest(request);
-                break;
-            case DESCRIBE_CONFIGS:
-                handleDescribeConfigsRequest(request);
-                break;
-            case ALTER_CONFIGS:
-                handleAlterConfigsRequest(request);
-                break;
-            case DELETE_TOPICS:
-                handleDeleteTopicsRequest(request);
-                break;
-            case DELETE_RECORDS:
-                handleDeleteRecordsRequest(request);
-                break;
-            case OFFSET_DELETE:
-                handleOffsetDeleteRequest(request);
-                break;
-            case CREATE_PARTITIONS:
-                handleCreatePartitionsRequest(request);
-                break;
-            case DESCRIBE_CLUSTER:
-                handleDescribeClusterRequest(request);
-                break;
             default:
+                // the group coordinator, transactions, SASL and the admin APIs are not supported
+                // yet, so the Kafka consumers should assign the partitions manually
                 handleUnsupportedRequest(request);
         }
     }
@@ -161,8 +204,15 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
             request.fail(Errors.UNSUPPORTED_VERSION.exception());
             return;
         }
+        // only advertise the APIs handled by processRequest(), the group, transaction and admin
+        // APIs are rejected as unsupported
+        List<ApiKeys> supportedApiKeys = new ArrayList<>();
+        supportedApiKeys.add(ApiKeys.API_VERSIONS);
+        if (replicaManager != null && metadataCache != null) {
+            supportedApiKeys.addAll(TOPIC_API_KEYS);
+        }
         ApiVersionsResponseData data = new ApiVersionsResponseData();
-        for (ApiKeys apiKey : ApiKeys.values()) {
+        for (ApiKeys apiKey : supportedApiKeys) {
             if (apiKey.minRequiredInterBrokerMagic <= RecordBatch.CURRENT_MAGIC_VALUE) {
                 ApiVersionsResponseData.ApiVersion apiVersionData =
                         new ApiVersionsResponseData.ApiVersion()
@@ -184,63 +234,437 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
         request.complete(new ApiVersionsResponse(data));
     }
 
-    void handleProducerRequest(KafkaRequest request) {}
-
-    void handleMetadataRequest(KafkaRequest request) {}
-
-    void handleFindCoordinatorRequest(KafkaRequest request) {}
-
-    void handleListOffsetRequest(KafkaRequest request) {}
-
-    void handleOffsetFetchRequest(KafkaRequest request) {}
-
-    void handleOffsetCommitRequest(KafkaRequest request) {}
-
-    void handleFetchRequest(KafkaRequest request) {}
-
-    void handleJoinGroupRequest(KafkaRequest request) {}
-
-    void handleSyncGroupRequest(KafkaRequest request) {}
-
-    void handleHeartbeatRequest(KafkaRequest request) {}
-
-    void handleLeaveGroupRequest(KafkaRequest request) {}
-
-    void handleDescribeGroupsRequest(KafkaRequest request) {}
-
-    void handleListGroupsRequest(KafkaRequest request) {}
-
-    void handleDeleteGroupsRequest(KafkaRequest request) {}
+    void handleProducerRequest(KafkaRequest request) {
+        if (replicaManager == null) {
+            handleUnsupportedRequest(request);
+            return;
+        }
+        ProduceRequest produceRequest = request.request();
+        Map<TopicPartition, PartitionProduceResponse> responses = new LinkedHashMap<>();
+        Map<TableBucket, TopicPartition> topicPartitions = new HashMap<>();
+        Map<TableBucket, MemoryLogRecords> entriesPerBucket = new HashMap<>();
+        List<WalBuilder> walBuilders = new ArrayList<>();
+        try {
+            for (TopicProduceData topicData : produceRequest.data().topicData()) {
+                for (PartitionProduceData partitionData : topicData.partitionData()) {
+                    TopicPartition tp = new TopicPartition(topicData.name(), partitionData.index());
+                    try {
+                        Replica replica = getReplicaOrException(tp);
+                        WalBuilder walBuilder =
+                                recordConverter.toLogRecords(
+                                        replica, (MemoryRecords) partitionData.records());
+                        walBuilders.add(walBuilder);
+                        entriesPerBucket.put(replica.getTableBucket(), walBuilder.build());
+                        topicPartitions.put(replica.getTableBucket(), tp);
+                        // keep the order of the partitions in the response
+                        responses.put(tp, null);
+                    } catch (Exception e) {
+                        responses.put(
+                                tp,
+                                new PartitionProduceResponse()
+                                        .setIndex(tp.partition())
+                                        .setErrorCode(toKafkaError(e).code())
+                                        .setErrorMessage(e.getMessage()));
+                    }
+                }
+            }
 
-    void handleSaslHandshakeRequest(KafkaRequest request) {}
+            if (entriesPerBucket.isEmpty()) {
+                request.complete(makeProduceResponse(responses));
+                return;
+            }
+            // the records are appended to the local logs before the method returns, so the
+            // memory of the WAL builders can be released right after it
+            replicaManager.appendRecordsToLog(
+                    produceRequest.timeout(),
+                    produceRequest.acks(),
+                    entriesPerBucket,
+                    results -> {
+                        for (ProduceLogResultForBucket result : results) {
+                            TopicPartition tp = topicPartitions.get(result.getTableBucket());
+                            responses.put(
+                                    tp,
+                                    new PartitionProduceResponse()
+                                            .setIndex(tp.partition())
+                                            .setErrorCode(
+                                                    toKafkaError(result.getError().error()).code())
+                                            .setErrorMessage(result.getErrorMessage())
+                                            .setBaseOffset(
+                                                    result.failed() ? -1 : result.getBaseOffset()));
+                        }
+                        request.complete(makeProduceResponse(responses));
+                    });
+        } catch (Exception e) {
+            LOG.error("Error while handling Kafka produce request.", e);
+            request.fail(e);
+        } finally {
+            walBuilders.forEach(WalBuilder::deallocate);
+        }
+    }
 
-    void handleSaslAuthenticateRequest(KafkaRequest request) {}
+    void handleMetadataRequest(KafkaRequest request) {
+        if (metadataCache == null) {
+            handleUnsupportedRequest(request);
+            return;
+        }
+        MetadataRequest metadataRequest = request.request();
+        MetadataResponseData data = new MetadataResponseData();
+        for (ServerNode node : metadataCache.getAllAliveTabletServers(listenerName).values()) {
+            data.brokers()
+                    .add(
+                            new MetadataResponseBroker()
+                                    .setNodeId(node.id())
+                                    .setHost(node.host())
+                                    .setPort(node.port())
+                                    .setRack(node.rack()));
+        }
+        data.setControllerId(MetadataResponse.NO_CONTROLLER_ID);
+
+        boolean allTopics = metadataRequest.isAllTopics();
+        Collection<String> topics =
+                allTopics
+                        ? metadataCache.getTablePaths(database).stream()
+                                .map(TablePath::getTableName)
+                                .sorted()
+                                .collect(Collectors.toList())
+                        : metadataRequest.topics();
+        for (String topic : topics) {
+            MetadataResponseTopic topicMetadata = getTopicMetadata(topic);
+            // only list the tables that can be served as Kafka topics
+            if (!allTopics || topicMetadata.errorCode() == Errors.NONE.code()) {
+                data.topics().add(topicMetadata);
+            }
+        }
+        request.complete(new MetadataResponse(data, request.apiVersion()));
+    }
 
-    void handleCreateTopicsRequest(KafkaRequest request) {}
+    private MetadataResponseTopic getTopicMetadata(String topic) {
+        MetadataResponseTopic topicMetadata =
+                new MetadataResponseTopic().setName(topic).setIsInternal(false);
+        Optional<TableMetadata> tableMetadata =
+                metadataCache.getTableMetadata(TablePath.of(database, topic));
+        if (!tableMetadata.isPresent()) {
+            return topicMetadata.setErrorCode(Errors.UNKNOWN_TOPIC_OR_PARTITION.code());
+        }
+        TableInfo tableInfo = tableMetadata.get().getTableInfo();
+        if (tableInfo.hasPrimaryKey()
+                || tableInfo.isPartitioned()
+                || !isKafkaTopicRowType(tableInfo.getRowType())) {
+            return topicMetadata.setErrorCode(Errors.INVALID_TOPIC_EXCEPTION.code());
+        }
 
-    void handleInitProducerIdRequest(KafkaRequest request) {}
+        List<BucketMetadata> buckets = new ArrayList<>(tableMetadata.get().getBucketMetadataList());
+        buckets.sort(Comparator.comparingInt(BucketMetadata::getBucketId));
+        for (BucketMetadata bucket : buckets) {
+            OptionalInt leaderId = bucket.getLeaderId();
+            topicMetadata
+                    .partitions()
+                    .add(
+                            new MetadataResponsePartition()
+                                    .setErrorCode(
+                                            leaderId.isPresent()
+                                                    ? Errors.NONE.code()
+                                                    : Errors.LEADER_NOT_AVAILABLE.code())
+                                    .setPartitionIndex(bucket.getBucketId())
+                                    .setLeaderId(leaderId.orElse(-1))
+                                    .setLeaderEpoch(bucket.getLeaderEpoch().orElse(-1))
+                                    .setReplicaNodes(bucket.getReplicas())
+                                    // the isr isn't cached in the tablet servers
+                                    .setIsrNodes(bucket.getReplicas()));
+        }
+        return topicMetadata;
+    }
 
-    void handleAddPartitionsToTxnRequest(KafkaRequest request) {}
+    void handleListOffsetRequest(KafkaRequest request) {
+        if (replicaManager == null) {
+            handleUnsupportedRequest(request);
+            return;
+        }
+        ListOffsetsRequest listOffsetsRequest = request.request();
+        Map<TopicPartition, ListOffsetsPartitionResponse> responses = new LinkedHashMap<>();
+        Map<TableBucket, TopicPartition> topicPartitions = new HashMap<>();
+        Map<Long, Set<TableBucket>> bucketsByTimestamp = new HashMap<>();
+        for (ListOffsetsTopic topic : listOffsetsRequest.topics()) {
+            for (ListOffsetsPartition partition : topic.partitions()) {
+                TopicPartition tp = new TopicPartition(topic.name(), partition.partitionIndex());
+                ListOffsetsPartitionResponse response =
+                        new ListOffsetsPartitionResponse()
+                                .setPartitionIndex(tp.partition())
+                                .setTimestamp(ListOffsetsResponse.UNKNOWN_TIMESTAMP)
+                                .setOffset(ListOffsetsResponse.UNKNOWN_OFFSET);
+                long timestamp = partition.timestamp();
+                if (timestamp < 0
+                        && timestamp != ListOffsetsRequest.EARLIEST_TIMESTAMP
+                        && timestamp != ListOffsetsRequest.LATEST_TIMESTAMP) {
+                    // the max timestamp and the tiered offsets are not supported
+                    responses.put(tp, response.setErrorCode(Errors.UNSUPPORTED_VERSION.code()));
+                    continue;
+                }
+                try {
+                    TableBucket tableBucket = getReplicaOrException(tp).getTableBucket();
+                    bucketsByTimestamp
+                            .computeIfAbsent(timestamp, k -> new HashSet<>())
+                            .add(tableBucket);
+                    topicPartitions.put(tableBucket, tp);
+                    responses.put(tp, response);
+                } catch (Exception e) {
+                    responses.put(tp, response.setErrorCode(toKafkaError(e).code()));
+                }
+            }
+        }
 
-    void handleAddOffsetsToTxnRequest(KafkaRequest request) {}
+        if (bucketsByTimestamp.isEmpty()) {
+            request.complete(makeListOffsetsResponse(responses));
+            return;
+        }
+        AtomicInteger pendingRequests = new AtomicInteger(bucketsByTimestamp.size());
+        try {
+            bucketsByTimestamp.forEach(
+                    (timestamp, tableBuckets) ->
+                            replicaManager.listOffsets(
+                                    toListOffsetsParam(timestamp),
+                                    tableBuckets,
+                                    results -> {
+                                        synchronized (responses) {
+                                            for (ListOffsetsResultForBucket result : results) {
+                                                TopicPartition tp =
+                                                        topicPartitions.get(
+                                                                result.getTableBucket());
+                                                setListOffsetsResult(
+                                                        responses.get(tp), timestamp, result);
+                                            }
+                                        }
+                                        if (pendingRequests.decrementAndGet() == 0) {
+                                            request.complete(makeListOffsetsResponse(responses));
+                                        }
+                                    }));
+        } catch (Exception e) {
+            LOG.error("Error while handling Kafka list offsets request.", e);
+            request.fail(e);
+        }
+    }
 
-    void handleTxnOffsetCommitRequest(KafkaRequest request) {}
+    private static ListOffsetsParam toListOffsetsParam(long timestamp) {
+        if (timestamp == ListOffsetsRequest.EARLIEST_TIMESTAMP) {
+            return new ListOffsetsParam(
+                    CLIENT_REPLICA_ID, ListOffsetsParam.EARLIEST_OFFSET_TYPE, null);
+        } else if (timestamp == ListOffsetsRequest.LATEST_TIMESTAMP) {
+            return new ListOffsetsParam(
+                    CLIENT_REPLICA_ID, ListOffsetsParam.LATEST_OFFSET_TYPE, null);
+        } else {
+            return new ListOffsetsParam(
+                    CLIENT_REPLICA_ID, ListOffsetsParam.TIMESTAMP_OFFSET_TYPE, timestamp);
+        }
+    }
 
-    void handleEndTxnRequest(KafkaRequest request) {}
+    private static void setListOffsetsResult(
+            ListOffsetsPartitionResponse response,
+            long timestamp,
+            ListOffsetsResultForBucket result) {
+        if (result.failed()) {
+            response.setErrorCode(toKafkaError(result.getError().error()).code());
+        } else {
+            response.setOffset(result.getOffset());
+            if (timestamp >= 0) {
+                // kafka consumers require a valid timestamp for the offsets looked up by timestamp
+                response.setTimestamp(timestamp);
+            }
+        }
+    }
 
-    void handleWriteTxnMarkersRequest(KafkaRequest request) {}
+    void handleFetchRequest(KafkaRequest request) {
+        if (replicaManager == null) {
+            handleUnsupportedRequest(request);
+            return;
+        }
+        FetchRequest fetchRequest = request.request();
+        // the topic ids are not supported, so the topic names are always in the request
+        Map<TopicIdPartition, FetchRequest.PartitionData> fetchData =
+                fetchRequest.fetchData(Collections.emptyMap());
+        LinkedHashMap<TopicIdPartition, FetchResponseData.PartitionData> responses =
+                new LinkedHashMap<>();
+        Map<TableBucket, TopicIdPartition> topicPartitions = new HashMap<>();
+        Map<TableBucket, Replica> replicas = new HashMap<>();
+        Map<TableBucket, FetchReqInfo> bucketFetchInfo = new HashMap<>();
+        fetchData.forEach(
+                (tp, partitionData) -> {
+                    try {
+                        Replica replica = getReplicaOrException(tp.topicPartition());
+                        TableBucket tableBucket = replica.getTableBucket();
+                        bucketFetchInfo.put(
+                                tableBucket,
+                                new FetchReqInfo(
+                                        tableBucket.getTableId(),
+                                        partitionData.fetchOffset,
+                                        partitionData.maxBytes));
+                        replicas.put(tableBucket, replica);
+                        topicPartitions.put(tableBucket, tp);
+                        responses.put(tp, null);
+                    } catch (Exception e) {
+                        responses.put(tp, FetchResponse.partitionResponse(tp, toKafkaError(e)));
+                    }
+                });
+
+        if (bucketFetchInfo.isEmpty()) {
+            request.complete(makeFetchResponse(responses));
+            return;
+        }
+        try {
+            replicaManager.fetchLogRecords(
+                    new FetchParams(
+                            CLIENT_REPLICA_ID,
+                            fetchRequest.maxBytes(),
+                            fetchRequest.minBytes(),
+                            fetchRequest.maxWait()),
+                    bucketFetchInfo,
+                    results -> {
+                        results.forEach(
+                                (tableBucket, result) -> {
+                                    TopicIdPartition tp = topicPartitions.get(tableBucket);
+                                    responses.put(
+                                            tp,
+                                            toFetchPartitionData(
+                                                    tp,
+                                                    replicas.get(tableBucket),
+                                                    bucketFetchInfo
+                                                            .get(tableBucket)
+                                                            .getFetchOffset(),
+                                                    result));
+                                });
+                        request.complete(makeFetchResponse(responses));
+                    });
+        } catch (Exception e) {
+            LOG.error("Error while handling Kafka fetch request.", e);
+            request.fail(e);
+        }
+    }
 
-    void handleDescribeConfigsRequest(KafkaRequest request) {}
+    private static FetchResponseData.PartitionData toFetchPartitionData(
+            TopicIdPartition tp,
+            Replica replica,
+            long fetchOffset,
+            FetchLogResultForBucket result) {
+        if (result.failed()) {
+            return FetchResponse.partitionResponse(tp, toKafkaError(result.getError().error()));
+        }
+        if (result.fetchFromRemote()) {
+            // the log segments tiered to the remote storage can't be served by the Kafka protocol,
+            // the consumers will retry on the unknown server error
+            LOG.warn(
+                    "Can't serve the remote log of {} at offset {} to Kafka consumers.",
+                    tp,
+                    fetchOffset);
+            return FetchResponse.partitionResponse(tp, Errors.UNKNOWN_SERVER_ERROR);
+        }
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createReadContext(
+                        replica.getLogFormat(), replica.getRowType(), replica.getSchemaId())) {
+            return new FetchResponseData.PartitionData()
+                    .setPartitionIndex(tp.partition())
+                    .setHighWatermark(result.getHighWatermark())
+                    .setLastStableOffset(result.getHighWatermark())
+                    .setLogStartOffset(replica.getLogStartOffset())
+                    .setRecords(toKafkaRecords(result.recordsOrEmpty(), readContext, fetchOffset));
+        } catch (Exception e) {
+            LOG.error("Error while converting the fetched records of {}.", tp, e);
+            return FetchResponse.partitionResponse(tp, toKafkaError(e));
+        }
+    }
 
-    void handleAlterConfigsRequest(KafkaRequest request) {}
+    private Replica getReplicaOrException(TopicPartition tp) {
+        TablePath tablePath = TablePath.of(database, tp.topic());
+        OptionalLong tableId = metadataCache.getTableId(tablePath);
+        if (!tableId.isPresent()) {
+            throw new UnknownTableOrBucketException(
+                    "Unknown topic " + tp.topic() + ", the table " + tablePath + " doesn't exist.");
+        }
+        Replica replica =
+                replicaManager.getReplicaOrException(
+                        new TableBucket(tableId.getAsLong(), tp.partition()));
+        if (replica.isKvTable() || !isKafkaTopicRowType(replica.getRowType())) {
+            throw new InvalidTableException(
+                    String.format(
+                            "The table %s can't be served as a Kafka topic, only log tables with "
+                                    + "the schema %s are supported.",
+                            tablePath, KAFKA_TOPIC_ROW_TYPE));
+        }
+        return replica;
+    }
 
-    void handleDeleteTopicsRequest(KafkaRequest request) {}
+    private static ProduceResponse makeProduceResponse(
+            Map<TopicPartition, PartitionProduceResponse> responses) {
+        ProduceResponseData data = new ProduceResponseData();
+        responses.forEach(
+                (tp, response) -> {
+                    TopicProduceResponse topicResponse = data.responses().find(tp.topic());
+                    if (topicResponse == null) {
+                        topicResponse = new TopicProduceResponse().setName(tp.topic());
+                        data.responses().add(topicResponse);
+                    }
+                    topicResponse.partitionResponses().add(response);
+                });
+        return new ProduceResponse(data);
+    }
 
-    void handleDeleteRecordsRequest(KafkaRequest request) {}
+    private static ListOffsetsResponse makeListOffsetsResponse(
+            Map<TopicPartition, ListOffsetsPartitionResponse> responses) {
+        Map<String, ListOffsetsTopicResponse> topicResponses = new LinkedHashMap<>();
+        responses.forEach(
+                (tp, response) ->
+                        topicResponses
+                                .computeIfAbsent(
+                                        tp.topic(),
+                                        topic -> new ListOffsetsTopicResponse().setName(topic))
+                                .partitions()
+                                .add(response));
+        return new ListOffsetsResponse(
+                new ListOffsetsResponseData().setTopics(new ArrayList<>(topicResponses.values())));
+    }
 
-    void handleOffsetDeleteRequest(KafkaRequest request) {}
+    private static FetchResponse makeFetchResponse(
+            LinkedHashMap<TopicIdPartition, FetchResponseData.PartitionData> responses) {
+        // fetch sessions are not supported, so the consumers always send full fetch requests
+        return FetchResponse.of(Errors.NONE, 0, FetchMetadata.INVALID_SESSION_ID, responses);
+    }
 
-    void handleCreatePartitionsRequest(KafkaRequest request) {}
+    private static Errors toKafkaError(Throwable t) {
+        return toKafkaError(ApiError.fromThrowable(t).error());
+    }
 
-    void handleDescribeClusterRequest(KafkaRequest request) {}
+    private static Errors toKafkaError(org.apache.fluss.rpc.protocol.Errors error) {
+        switch (error) {
+            case NONE:
+                return Errors.NONE;
+            case NOT_LEADER_OR_FOLLOWER:
+                return Errors.NOT_LEADER_OR_FOLLOWER;
+            case LEADER_NOT_AVAILABLE_EXCEPTION:
+                return Errors.LEADER_NOT_AVAILABLE;
+            case UNKNOWN_TABLE_OR_BUCKET_EXCEPTION:
+            case TABLE_NOT_EXIST:
+                return Errors.UNKNOWN_TOPIC_OR_PARTITION;
+            case INVALID_TABLE_EXCEPTION:
+                return Errors.INVALID_TOPIC_EXCEPTION;
+            case LOG_OFFSET_OUT_OF_RANGE_EXCEPTION:
+                return Errors.OFFSET_OUT_OF_RANGE;
+            case RECORD_TOO_LARGE_EXCEPTION:
+                return Errors.RECORD_LIST_TOO_LARGE;
+            case CORRUPT_MESSAGE:
+            case CORRUPT_RECORD_EXCEPTION:
+                return Errors.CORRUPT_MESSAGE;
+            case INVALID_REQUIRED_ACKS:
+                return Errors.INVALID_REQUIRED_ACKS;
+            case REQUEST_TIME_OUT:
+                return Errors.REQUEST_TIMED_OUT;
+            case NOT_ENOUGH_REPLICAS_EXCEPTION:
+                return Errors.NOT_ENOUGH_REPLICAS;
+            case NOT_ENOUGH_REPLICAS_AFTER_APPEND_EXCEPTION:
+                return Errors.NOT_ENOUGH_REPLICAS_AFTER_APPEND;
+            case FENCED_LEADER_EPOCH_EXCEPTION:
+                return Errors.FENCED_LEADER_EPOCH;
+            case AUTHORIZATION_EXCEPTION:
+                return Errors.TOPIC_AUTHORIZATION_FAILED;
+            default:
+                return Errors.UNKNOWN_SERVER_ERROR;
+        }
+    }
 }
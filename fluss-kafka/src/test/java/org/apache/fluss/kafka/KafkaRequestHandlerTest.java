@@ -22,14 +22,22 @@ import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBufAllocator;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelHandlerContext;
 
+import org.apache.kafka.common.message.ApiVersionsResponseData;
+import org.apache.kafka.common.message.FindCoordinatorRequestData;
 import org.apache.kafka.common.protocol.ApiKeys;
 import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.requests.AbstractRequest;
 import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.ApiVersionsRequest;
 import org.apache.kafka.common.requests.ApiVersionsResponse;
+import org.apache.kafka.common.requests.FindCoordinatorRequest;
+import org.apache.kafka.common.requests.MetadataRequest;
 import org.apache.kafka.common.requests.RequestHeader;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -92,6 +100,10 @@ public class KafkaRequestHandlerTest {
         Map<Errors, Integer> errorCounts = response.errorCounts();
         assertThat(1).isEqualTo(errorCounts.size());
         assertThat(1).isEqualTo(errorCounts.get(Errors.NONE));
+        // the topic APIs are not advertised without the data plane
+        assertThat(response.data().apiKeys())
+                .extracting(ApiVersionsResponseData.ApiVersion::apiKey)
+                .containsExactly(ApiKeys.API_VERSIONS.id);
         response.data()
                 .apiKeys()
                 .forEach(
@@ -112,6 +124,39 @@ public class KafkaRequestHandlerTest {
                         });
     }
 
+    @Test
+    public void testUnsupportedRequests() {
+        KafkaRequestHandler handler = createKafkaRequestHandler();
+        // the group APIs are not supported, and the topics can't be served without data plane
+        List<AbstractRequest> requests =
+                Arrays.asList(
+                        new FindCoordinatorRequest.Builder(
+                                        new FindCoordinatorRequestData().setKey("group"))
+                                .build(),
+                        new MetadataRequest.Builder(Collections.singletonList("topic"), false)
+                                .build((short) 11));
+        for (AbstractRequest abstractRequest : requests) {
+            ApiKeys apiKey = abstractRequest.apiKey();
+            short version = abstractRequest.version();
+            KafkaRequest request =
+                    new KafkaRequest(
+                            apiKey,
+                            version,
+                            new RequestHeader(apiKey, version, "client-id", 0),
+                            abstractRequest,
+                            ByteBufAllocator.DEFAULT.buffer(),
+                            new TestingChannelHandlerContext(),
+                            new CompletableFuture<>());
+            handler.processRequest(request);
+
+            assertThat(request.future()).isDone();
+            AbstractResponse response =
+                    AbstractResponse.parseResponse(
+                            request.responseBuffer().nioBuffer(), request.header());
+            assertThat(response.errorCounts()).containsKey(Errors.UNKNOWN_SERVER_ERROR);
+        }
+    }
+
     private static KafkaRequestHandler createKafkaRequestHandler() {
         return new KafkaRequestHandler(new TestingTabletGatewayService());
     }
@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.kafka;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.rpc.TestingTabletGatewayService;
+import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
+import org.apache.fluss.server.metadata.BucketMetadata;
+import org.apache.fluss.server.metadata.TableMetadata;
+import org.apache.fluss.server.replica.ReplicaTestBase;
+import org.apache.fluss.server.zk.data.LeaderAndIsr;
+import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBufAllocator;
+
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.message.ApiVersionsResponseData;
+import org.apache.kafka.common.message.FetchResponseData;
+import org.apache.kafka.common.message.ListOffsetsRequestData.ListOffsetsPartition;
+import org.apache.kafka.common.message.ListOffsetsRequestData.ListOffsetsTopic;
+import org.apache.kafka.common.message.ListOffsetsResponseData.ListOffsetsPartitionResponse;
+import org.apache.kafka.common.message.MetadataResponseData.MetadataResponseTopic;
+import org.apache.kafka.common.message.ProduceRequestData;
+import org.apache.kafka.common.message.ProduceResponseData.PartitionProduceResponse;
+import org.apache.kafka.common.protocol.ApiKeys;
+import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.requests.AbstractRequest;
+import org.apache.kafka.common.requests.AbstractResponse;
+import org.apache.kafka.common.requests.ApiVersionsRequest;
+import org.apache.kafka.common.requests.ApiVersionsResponse;
+import org.apache.kafka.common.requests.FetchRequest;
+import org.apache.kafka.common.requests.FetchResponse;
+import org.apache.kafka.common.requests.ListOffsetsRequest;
+import org.apache.kafka.common.requests.ListOffsetsResponse;
+import org.apache.kafka.common.requests.MetadataRequest;
+import org.apache.kafka.common.requests.MetadataResponse;
+import org.apache.kafka.common.requests.ProduceRequest;
+import org.apache.kafka.common.requests.ProduceResponse;
+import org.apache.kafka.common.requests.RequestHeader;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.kafka.KafkaRecordConverter.KAFKA_TOPIC_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
+import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
+import static org.apache.fluss.server.zk.data.LeaderAndIsr.INITIAL_BUCKET_EPOCH;
+import static org.apache.fluss.server.zk.data.LeaderAndIsr.INITIAL_LEADER_EPOCH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for serving the Kafka topics from the Fluss log tables by {@link KafkaRequestHandler}. */
+class KafkaTopicRequestHandlerTest extends ReplicaTestBase {
+
+    private static final String TOPIC = "orders";
+    private static final long TOPIC_TABLE_ID = 150100L;
+    private static final int NUM_PARTITIONS = 3;
+
+    private KafkaRequestHandler handler;
+
+    private void createTopic(LogFormat logFormat) throws Exception {
+        TablePath tablePath = TablePath.of(ConfigOptions.KAFKA_DATABASE.defaultValue(), TOPIC);
+        Schema schema = Schema.newBuilder().fromRowType(KAFKA_TOPIC_ROW_TYPE).build();
+        registerTableInZkClient(
+                tablePath,
+                schema,
+                TOPIC_TABLE_ID,
+                Collections.emptyList(),
+                Collections.singletonMap(ConfigOptions.TABLE_LOG_FORMAT.key(), logFormat.name()));
+        TableInfo tableInfo =
+                TableInfo.of(
+                        tablePath,
+                        TOPIC_TABLE_ID,
+                        1,
+                        TableDescriptor.builder()
+                                .schema(schema)
+                                .distributedBy(NUM_PARTITIONS)
+                                .property(ConfigOptions.TABLE_LOG_FORMAT, logFormat)
+                                .build(),
+                        System.currentTimeMillis(),
+                        System.currentTimeMillis());
+        List<BucketMetadata> buckets = new ArrayList<>();
+        List<NotifyLeaderAndIsrData> leaderAndIsrData = new ArrayList<>();
+        for (int bucket = 0; bucket < NUM_PARTITIONS; bucket++) {
+            List<Integer> replicas = Collections.singletonList(TABLET_SERVER_ID);
+            buckets.add(
+                    new BucketMetadata(bucket, TABLET_SERVER_ID, INITIAL_LEADER_EPOCH, replicas));
+            leaderAndIsrData.add(
+                    new NotifyLeaderAndIsrData(
+                            PhysicalTablePath.of(tablePath),
+                            new TableBucket(TOPIC_TABLE_ID, bucket),
+                            replicas,
+                            new LeaderAndIsr(
+                                    TABLET_SERVER_ID,
+                                    INITIAL_LEADER_EPOCH,
+                                    replicas,
+                                    INITIAL_COORDINATOR_EPOCH,
+                                    INITIAL_BUCKET_EPOCH)));
+        }
+        serverMetadataCache.updateTableMetadata(new TableMetadata(tableInfo, buckets));
+        makeLeaderAndFollower(leaderAndIsrData);
+
+        Configuration handlerConf = new Configuration(conf);
+        // the tablet servers of the test cluster only have the CLIENT listener
+        handlerConf.set(ConfigOptions.KAFKA_LISTENER_NAMES, Collections.singletonList("CLIENT"));
+        handler =
+                new KafkaRequestHandler(
+                        new TestingTabletGatewayService(),
+                        replicaManager,
+                        serverMetadataCache,
+                        kvManager.getMemorySegmentPool(),
+                        kvManager.getArrowBufferAllocator(),
+                        handlerConf);
+    }
+
+    @Test
+    void testApiVersions() throws Exception {
+        ApiVersionsResponse response =
+                process(
+                        new ApiVersionsRequest.Builder()
+                                .build(ApiKeys.API_VERSIONS.latestVersion()));
+        assertThat(response.data().errorCode()).isEqualTo(Errors.NONE.code());
+        // only the handled APIs are advertised
+        assertThat(response.data().apiKeys())
+                .extracting(ApiVersionsResponseData.ApiVersion::apiKey)
+                .containsExactlyInAnyOrder(
+                        ApiKeys.API_VERSIONS.id,
+                        ApiKeys.METADATA.id,
+                        ApiKeys.PRODUCE.id,
+                        ApiKeys.LIST_OFFSETS.id,
+                        ApiKeys.FETCH.id);
+    }
+
+    @Test
+    void testMetadata() throws Exception {
+        createTopic(LogFormat.ARROW);
+        // a table which isn't a Kafka topic
+        registerTableInZkClient(
+                TablePath.of(ConfigOptions.KAFKA_DATABASE.defaultValue(), "not_a_topic"),
+                DATA1_SCHEMA,
+                TOPIC_TABLE_ID + 1,
+                Collections.emptyList(),
+                Collections.emptyMap());
+
+        MetadataResponse response =
+                process(
+                        new MetadataRequest.Builder(Arrays.asList(TOPIC, "unknown"), false)
+                                .build((short) 11));
+        assertThat(response.brokers()).hasSize(3);
+        assertThat(response.data().topics()).hasSize(2);
+
+        MetadataResponseTopic topic = response.data().topics().find(TOPIC);
+        assertThat(topic.errorCode()).isEqualTo(Errors.NONE.code());
+        assertThat(topic.partitions()).hasSize(NUM_PARTITIONS);
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            assertThat(topic.partitions().get(i).partitionIndex()).isEqualTo(i);
+            assertThat(topic.partitions().get(i).leaderId()).isEqualTo(TABLET_SERVER_ID);
+        }
+        assertThat(response.data().topics().find("unknown").errorCode())
+                .isEqualTo(Errors.UNKNOWN_TOPIC_OR_PARTITION.code());
+
+        // only the Kafka topics are listed
+        response = process(MetadataRequest.Builder.allTopics().build((short) 11));
+        assertThat(response.data().topics()).hasSize(1);
+        assertThat(response.data().topics().find(TOPIC)).isNotNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(LogFormat.class)
+    void testProduceFetchAndListOffsets(LogFormat logFormat) throws Exception {
+        createTopic(logFormat);
+        TopicPartition tp = new TopicPartition(TOPIC, 1);
+
+        ProduceResponse produceResponse = process(produceRequest(tp, 0, 10));
+        PartitionProduceResponse partitionResponse =
+                produceResponse.data().responses().find(TOPIC).partitionResponses().get(0);
+        assertThat(partitionResponse.errorCode()).isEqualTo(Errors.NONE.code());
+        assertThat(partitionResponse.baseOffset()).isEqualTo(0L);
+
+        produceResponse = process(produceRequest(tp, 10, 5));
+        partitionResponse =
+                produceResponse.data().responses().find(TOPIC).partitionResponses().get(0);
+        assertThat(partitionResponse.errorCode()).isEqualTo(Errors.NONE.code());
+        assertThat(partitionResponse.baseOffset()).isEqualTo(10L);
+
+        // fetch from the middle of the first batch
+        FetchResponse fetchResponse = process(fetchRequest(tp, 3L));
+        FetchResponseData.PartitionData partitionData =
+                fetchResponse.data().responses().get(0).partitions().get(0);
+        assertThat(partitionData.errorCode()).isEqualTo(Errors.NONE.code());
+        assertThat(partitionData.highWatermark()).isEqualTo(15L);
+        List<Record> records = new ArrayList<>();
+        FetchResponse.recordsOrFail(partitionData).records().forEach(records::add);
+        assertThat(records).hasSize(12);
+        for (int i = 0; i < records.size(); i++) {
+            Record record = records.get(i);
+            int index = i + 3;
+            assertThat(record.offset()).isEqualTo(index);
+            assertThat(record.timestamp()).isEqualTo(1000L + index);
+            if (index % 3 == 0) {
+                assertThat(record.hasKey()).isFalse();
+            } else {
+                assertThat(Utils.toArray(record.key())).isEqualTo(("k" + index).getBytes());
+            }
+            assertThat(Utils.toArray(record.value())).isEqualTo(("v" + index).getBytes());
+        }
+
+        ListOffsetsResponse listOffsetsResponse =
+                process(
+                        listOffsetsRequest(
+                                tp,
+                                ListOffsetsRequest.LATEST_TIMESTAMP,
+                                ListOffsetsRequest.EARLIEST_TIMESTAMP));
+        Map<Integer, ListOffsetsPartitionResponse> offsets = new LinkedHashMap<>();
+        listOffsetsResponse
+                .topics()
+                .forEach(t -> t.partitions().forEach(p -> offsets.put(p.partitionIndex(), p)));
+        assertThat(offsets.get(tp.partition()).errorCode()).isEqualTo(Errors.NONE.code());
+        assertThat(offsets.get(tp.partition()).offset()).isEqualTo(15L);
+        assertThat(offsets.get(tp.partition() + 1).errorCode()).isEqualTo(Errors.NONE.code());
+        assertThat(offsets.get(tp.partition() + 1).offset()).isEqualTo(0L);
+    }
+
+    @Test
+    void testUnknownTopic() throws Exception {
+        createTopic(LogFormat.ARROW);
+        TopicPartition tp = new TopicPartition("unknown", 0);
+
+        ProduceResponse produceResponse = process(produceRequest(tp, 0, 1));
+        assertThat(produceResponse.errorCounts())
+                .containsEntry(Errors.UNKNOWN_TOPIC_OR_PARTITION, 1);
+
+        FetchResponse fetchResponse = process(fetchRequest(tp, 0L));
+        assertThat(fetchResponse.errorCounts()).containsEntry(Errors.UNKNOWN_TOPIC_OR_PARTITION, 1);
+    }
+
+    private static ProduceRequest produceRequest(
+            TopicPartition tp, int startIndex, int numRecords) {
+        MemoryRecordsBuilder builder =
+                MemoryRecords.builder(
+                        ByteBuffer.allocate(1024), Compression.NONE, TimestampType.CREATE_TIME, 0L);
+        for (int i = startIndex; i < startIndex + numRecords; i++) {
+            byte[] key = i % 3 == 0 ? null : ("k" + i).getBytes();
+            builder.append(1000L + i, key, ("v" + i).getBytes());
+        }
+        ProduceRequestData.TopicProduceDataCollection topicData =
+                new ProduceRequestData.TopicProduceDataCollection();
+        topicData.add(
+                new ProduceRequestData.TopicProduceData()
+                        .setName(tp.topic())
+                        .setPartitionData(
+                                Collections.singletonList(
+                                        new ProduceRequestData.PartitionProduceData()
+                                                .setIndex(tp.partition())
+                                                .setRecords(builder.build()))));
+        return ProduceRequest.forCurrentMagic(
+                        new ProduceRequestData()
+                                .setAcks((short) 1)
+                                .setTimeoutMs(30_000)
+                                .setTopicData(topicData))
+                .build(ApiKeys.PRODUCE.latestVersion());
+    }
+
+    private static FetchRequest fetchRequest(TopicPartition tp, long fetchOffset) {
+        Map<TopicPartition, FetchRequest.PartitionData> fetchData = new LinkedHashMap<>();
+        fetchData.put(
+                tp,
+                new FetchRequest.PartitionData(
+                        Uuid.ZERO_UUID, fetchOffset, -1L, 1024 * 1024, Optional.empty()));
+        return FetchRequest.Builder.forConsumer((short) 12, 0, 0, fetchData).build((short) 12);
+    }
+
+    /** Lists the offset of the given partition by the first timestamp and the next partition. */
+    private static ListOffsetsRequest listOffsetsRequest(
+            TopicPartition tp, long timestamp, long nextPartitionTimestamp) {
+        return ListOffsetsRequest.Builder.forConsumer(false, IsolationLevel.READ_UNCOMMITTED)
+                .setTargetTimes(
+                        Collections.singletonList(
+                                new ListOffsetsTopic()
+                                        .setName(tp.topic())
+                                        .setPartitions(
+                                                Arrays.asList(
+                                                        new ListOffsetsPartition()
+                                                                .setPartitionIndex(tp.partition())
+                                                                .setTimestamp(timestamp),
+                                                        new ListOffsetsPartition()
+                                                                .setPartitionIndex(
+                                                                        tp.partition() + 1)
+                                                                .setTimestamp(
+                                                                        nextPartitionTimestamp)))))
+                .build(ApiKeys.LIST_OFFSETS.latestVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends AbstractResponse> T process(AbstractRequest abstractRequest)
+            throws Exception {
+        ApiKeys apiKey = abstractRequest.apiKey();
+        short version = abstractRequest.version();
+        KafkaRequest request =
+                new KafkaRequest(
+                        apiKey,
+                        version,
+                        new RequestHeader(apiKey, version, "client-id", 0),
+                        abstractRequest,
+                        ByteBufAllocator.DEFAULT.buffer(),
+                        new TestingChannelHandlerContext(),
+                        new CompletableFuture<>());
+        handler.processRequest(request);
+        request.future().get(1, TimeUnit.MINUTES);
+        // serialize and parse the response to verify it's valid for the request version
+        return (T)
+                AbstractResponse.parseResponse(
+                        request.responseBuffer().nioBuffer(), request.header());
+    }
+}
@@ -35,19 +35,30 @@ public class FetchLogResultForBucket extends ResultForBucket {
     private final @Nullable RemoteLogFetchInfo remoteLogFetchInfo;
     private final @Nullable LogRecords records;
     private final long highWatermark;
+    // the replica in the same rack as the client to fetch from, null if not selected
+    private final @Nullable Integer preferredReadReplica;
 
     public FetchLogResultForBucket(
             TableBucket tableBucket, LogRecords records, long highWatermark) {
+        this(tableBucket, records, highWatermark, null);
+    }
+
+    public FetchLogResultForBucket(
+            TableBucket tableBucket,
+            LogRecords records,
+            long highWatermark,
+            @Nullable Integer preferredReadReplica) {
         this(
                 tableBucket,
                 null,
                 checkNotNull(records, "records can not be null"),
                 highWatermark,
+                preferredReadReplica,
                 ApiError.NONE);
     }
 
     public FetchLogResultForBucket(TableBucket tableBucket, ApiError error) {
-        this(tableBucket, null, null, -1L, error);
+        this(tableBucket, null, null, -1L, null, error);
     }
 
     public FetchLogResultForBucket(
@@ -57,6 +68,7 @@ public class FetchLogResultForBucket extends ResultForBucket {
                 checkNotNull(remoteLogFetchInfo, "remote log fetch info can not be null"),
                 null,
                 highWatermark,
+                null,
                 ApiError.NONE);
     }
 
@@ -65,11 +77,13 @@ public class FetchLogResultForBucket extends ResultForBucket {
             @Nullable RemoteLogFetchInfo remoteLogFetchInfo,
             @Nullable LogRecords records,
             long highWatermark,
+            @Nullable Integer preferredReadReplica,
             ApiError error) {
         super(tableBucket, error);
         this.remoteLogFetchInfo = remoteLogFetchInfo;
         this.records = records;
         this.highWatermark = highWatermark;
+        this.preferredReadReplica = preferredReadReplica;
     }
 
     /**
@@ -102,4 +116,13 @@ public class FetchLogResultForBucket extends ResultForBucket {
     public long getHighWatermark() {
         return highWatermark;
     }
+
+    /**
+     * Returns the id of the in-sync replica in the same rack as the client, which the client should
+     * fetch from in the following fetches. Returns null if the client should keep fetching from the
+     * current replica.
+     */
+    public @Nullable Integer getPreferredReadReplica() {
+        return preferredReadReplica;
+    }
 }
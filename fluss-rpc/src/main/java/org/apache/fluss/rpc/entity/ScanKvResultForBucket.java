@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.entity;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.rpc.protocol.ApiError;
+
+import javax.annotation.Nullable;
+
+/** Result of {@link org.apache.fluss.rpc.messages.ScanKvRequest} for a table bucket. */
+public class ScanKvResultForBucket extends ResultForBucket {
+
+    @Nullable private final MemoryLogRecords records;
+    @Nullable private final Long scannerId;
+
+    public ScanKvResultForBucket(
+            TableBucket tableBucket, MemoryLogRecords records, @Nullable Long scannerId) {
+        this(tableBucket, ApiError.NONE, records, scannerId);
+    }
+
+    public ScanKvResultForBucket(TableBucket tableBucket, ApiError error) {
+        this(tableBucket, error, null, null);
+    }
+
+    private ScanKvResultForBucket(
+            TableBucket tableBucket,
+            ApiError error,
+            @Nullable MemoryLogRecords records,
+            @Nullable Long scannerId) {
+        super(tableBucket, error);
+        this.records = records;
+        this.scannerId = scannerId;
+    }
+
+    @Nullable
+    public MemoryLogRecords getRecords() {
+        return records;
+    }
+
+    /** Returns the id of the scanner to continue the scan, null if the scan is finished. */
+    @Nullable
+    public Long getScannerId() {
+        return scannerId;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.netty.server;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The lane of a {@link MpscRequestChannel} with priority lanes that the requests read from a
+ * connection are queued in. As long as any request of the connection is queued, the following
+ * requests of the connection are put into the same lane regardless of their types, so that the
+ * requests of a connection are still polled in the order they're read from the connection.
+ */
+@ThreadSafe
+public final class ConnectionLane {
+
+    /** The lane of the queued requests, only accessed by the I/O thread of the connection. */
+    private int lane = -1;
+
+    /** The number of the requests of the connection queued in the lane. */
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+
+    /**
+     * Returns the lane to put a request of the connection into, it's the lane of the request if
+     * no request of the connection is queued, otherwise, it's the lane of the queued requests.
+     */
+    int laneOf(int requestLane) {
+        if (queuedRequests.getAndIncrement() == 0) {
+            lane = requestLane;
+        }
+        return lane;
+    }
+
+    /** Called by the request processor when a request of the connection is polled. */
+    void onPolled() {
+        queuedRequests.decrementAndGet();
+    }
+}
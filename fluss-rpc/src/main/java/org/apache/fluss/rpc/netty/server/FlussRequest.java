@@ -27,6 +27,8 @@ import org.apache.fluss.shaded.netty4.io.netty.util.ReferenceCountUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.net.InetAddress;
 import java.util.concurrent.CompletableFuture;
 
@@ -53,6 +55,9 @@ public final class FlussRequest implements RpcRequest {
     private volatile long requestDequeTimeMs;
     private volatile long requestCompletedTimeMs;
     private volatile boolean cancelled = false;
+    // the lane of the connection the request is read from, null if the order of the requests of
+    // the connection needn't be kept
+    private @Nullable ConnectionLane connectionLane;
 
     public FlussRequest(
             short apiKey,
@@ -159,6 +164,15 @@ public final class FlussRequest implements RpcRequest {
         return address;
     }
 
+    public void setConnectionLane(@Nullable ConnectionLane connectionLane) {
+        this.connectionLane = connectionLane;
+    }
+
+    @Nullable
+    public ConnectionLane getConnectionLane() {
+        return connectionLane;
+    }
+
     public FlussPrincipal getPrincipal() {
         return principal;
     }
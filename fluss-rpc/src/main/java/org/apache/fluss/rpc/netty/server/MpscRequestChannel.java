@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.netty.server;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.protocol.ApiKeys;
+import org.apache.fluss.shaded.netty4.io.netty.util.internal.PlatformDependent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link RequestChannel} backed by lock-free multi-producer single-consumer queues. The I/O
+ * threads never block on putting requests, instead, they stop reading from the connections when the
+ * channel is overloaded, and resume reading once the request processor drained half of the queued
+ * requests.
+ *
+ * <p>If the priority lanes are enabled, the requests are put into three lanes: the replication lane
+ * for the fetch log requests from followers and the replica state change requests from the
+ * coordinator, the write lane for the produce log and put kv requests, and the lane for all the
+ * other requests. The replication lane is polled first so that the replication doesn't queue behind
+ * the client requests, but at most {@link #REPLICATION_BURST_LIMIT} requests in a row, so that the
+ * other lanes aren't starved by a flood of replication requests. The other two lanes are polled
+ * alternately. The requests in the same lane are processed in FIFO order.
+ *
+ * <p>The request processor of the channel processes the requests of a connection serially in the
+ * order they're read from the connection, which the priority lanes must not break. So the requests
+ * of a connection with a {@link ConnectionLane} are put into the lane of the queued requests of the
+ * connection if any, i.e., a request only jumps the queue if no earlier request of its connection
+ * is queued.
+ */
+@ThreadSafe
+final class MpscRequestChannel extends RequestChannel {
+    private static final Logger LOG = LoggerFactory.getLogger(MpscRequestChannel.class);
+
+    @VisibleForTesting static final int REPLICATION_LANE = 0;
+    @VisibleForTesting static final int WRITE_LANE = 1;
+    @VisibleForTesting static final int DEFAULT_LANE = 2;
+
+    /** The max number of requests polled from the replication lane in a row. */
+    @VisibleForTesting static final int REPLICATION_BURST_LIMIT = 8;
+
+    private final Queue<RpcRequest>[] lanes;
+    private final int overloadedThreshold;
+    private final int resumeThreshold;
+    private final Queue<Runnable> pausedReaders = new ConcurrentLinkedQueue<>();
+
+    /** The request processor thread waiting for new requests. */
+    private volatile Thread waitingConsumer;
+
+    /** The lane to poll after the replication lane, only accessed by the request processor. */
+    private int nextLane = WRITE_LANE;
+
+    /**
+     * The number of requests polled from the replication lane in a row, only accessed by the
+     * request processor.
+     */
+    private int replicationBurst;
+
+    @SuppressWarnings("unchecked")
+    MpscRequestChannel(int queueCapacity, boolean priorityLanesEnabled) {
+        this.lanes = new Queue[priorityLanesEnabled ? 3 : 1];
+        for (int i = 0; i < lanes.length; i++) {
+            // the queue is unbounded, as the requests already read from a connection before it
+            // is paused must be accepted
+            lanes[i] = PlatformDependent.newMpscQueue();
+        }
+        this.overloadedThreshold = Math.max(1, queueCapacity);
+        this.resumeThreshold = overloadedThreshold / 2;
+    }
+
+    @Override
+    public void putRequest(RpcRequest request) {
+        int lane = laneOf(request);
+        if (lanes.length > 1 && request instanceof FlussRequest) {
+            ConnectionLane connectionLane = ((FlussRequest) request).getConnectionLane();
+            if (connectionLane != null) {
+                lane = connectionLane.laneOf(lane);
+            }
+        }
+        lanes[lane].offer(request);
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public RpcRequest pollRequest(long timeoutMs) {
+        RpcRequest request = pollLanes();
+        if (request != null) {
+            return request;
+        }
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        waitingConsumer = Thread.currentThread();
+        try {
+            while (true) {
+                // poll again after publishing the waiting consumer, so that a request put before
+                // the publishing is not missed
+                request = pollLanes();
+                if (request != null) {
+                    return request;
+                }
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remainingNanos);
+                if (Thread.interrupted()) {
+                    LOG.warn("Interrupted while polling requests from channel queue.");
+                    return null;
+                }
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    @Override
+    public boolean isOverloaded() {
+        return requestsCount() >= overloadedThreshold;
+    }
+
+    @Override
+    public void resumeWhenAvailable(Runnable resumeAction) {
+        pausedReaders.offer(resumeAction);
+        // the requests may be drained before the registration
+        if (requestsCount() <= resumeThreshold) {
+            resumePausedReaders();
+        }
+    }
+
+    @Override
+    int requestsCount() {
+        int count = 0;
+        for (Queue<RpcRequest> lane : lanes) {
+            count += lane.size();
+        }
+        return count;
+    }
+
+    private RpcRequest pollLanes() {
+        RpcRequest request;
+        if (lanes.length == 1) {
+            request = lanes[0].poll();
+        } else {
+            request =
+                    replicationBurst < REPLICATION_BURST_LIMIT
+                            ? lanes[REPLICATION_LANE].poll()
+                            : null;
+            if (request != null) {
+                replicationBurst++;
+            } else {
+                replicationBurst = 0;
+                request = pollClientLanes();
+                if (request == null) {
+                    // the burst limit is reached, but no other request is waiting
+                    request = lanes[REPLICATION_LANE].poll();
+                    if (request != null) {
+                        replicationBurst = 1;
+                    }
+                }
+            }
+            if (request instanceof FlussRequest) {
+                ConnectionLane connectionLane = ((FlussRequest) request).getConnectionLane();
+                if (connectionLane != null) {
+                    connectionLane.onPolled();
+                }
+            }
+        }
+        if (request != null && !pausedReaders.isEmpty() && requestsCount() <= resumeThreshold) {
+            resumePausedReaders();
+        }
+        return request;
+    }
+
+    private RpcRequest pollClientLanes() {
+        int lane = nextLane;
+        nextLane = lane == WRITE_LANE ? DEFAULT_LANE : WRITE_LANE;
+        RpcRequest request = lanes[lane].poll();
+        if (request == null) {
+            request = lanes[nextLane].poll();
+        }
+        return request;
+    }
+
+    private void resumePausedReaders() {
+        Runnable resumeAction;
+        while ((resumeAction = pausedReaders.poll()) != null) {
+            try {
+                resumeAction.run();
+            } catch (Throwable t) {
+                LOG.warn("Failed to resume reading from a paused connection.", t);
+            }
+        }
+    }
+
+    private int laneOf(RpcRequest request) {
+        if (lanes.length == 1 || !(request instanceof FlussRequest)) {
+            return lanes.length == 1 ? 0 : DEFAULT_LANE;
+        }
+        FlussRequest flussRequest = (FlussRequest) request;
+        ApiKeys apiKey = ApiKeys.forId(flussRequest.getApiKey());
+        if (apiKey == null) {
+            return DEFAULT_LANE;
+        }
+        switch (apiKey) {
+            case FETCH_LOG:
+                return ((FetchLogRequest) flussRequest.getMessage()).getFollowerServerId() >= 0
+                        ? REPLICATION_LANE
+                        : DEFAULT_LANE;
+            case NOTIFY_LEADER_AND_ISR:
+            case STOP_REPLICA:
+            case ADJUST_ISR:
+            case UPDATE_METADATA:
+                return REPLICATION_LANE;
+            case PRODUCE_LOG:
+            case PUT_KV:
+                return WRITE_LANE;
+            default:
+                return DEFAULT_LANE;
+        }
+    }
+}
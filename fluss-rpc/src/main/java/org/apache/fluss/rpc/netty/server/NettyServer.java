@@ -95,6 +95,7 @@ public final class NettyServer implements RpcServer {
                 new RequestProcessorPool(
                         conf.getInt(ConfigOptions.NETTY_SERVER_NUM_WORKER_THREADS),
                         conf.getInt(ConfigOptions.NETTY_SERVER_MAX_QUEUED_REQUESTS),
+                        conf.get(ConfigOptions.NETTY_SERVER_REQUEST_QUEUE_TYPE),
                         service,
                         protocols,
                         requestsMetrics);
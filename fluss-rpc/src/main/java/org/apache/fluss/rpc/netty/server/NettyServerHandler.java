@@ -51,6 +51,7 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.fluss.rpc.protocol.MessageCodec.encodeErrorResponse;
 import static org.apache.fluss.rpc.protocol.MessageCodec.encodeServerFailure;
@@ -66,6 +67,9 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
     private final boolean isInternal;
     private final String listenerName;
     private final RequestsMetrics requestsMetrics;
+    private final ConnectionLane connectionLane = new ConnectionLane();
+    // whether a callback to resume reading from the paused connection is registered
+    private final AtomicBoolean resumePending = new AtomicBoolean(false);
     private volatile ChannelHandlerContext ctx;
     private SocketAddress remoteAddress;
 
@@ -142,7 +146,21 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
                 // 3. the channel is complete, but receive auth request (PLAINTEXT case)
                 handleAuthenticateRequest(apiKey, requestMessage, future);
             } else {
+                request.setConnectionLane(connectionLane);
                 requestChannel.putRequest(request);
+                if (requestChannel.isOverloaded()) {
+                    // stop reading from the connection instead of blocking the I/O thread
+                    ctx.channel().config().setAutoRead(false);
+                    // the reads still in flight before auto read is disabled may find the
+                    // channel overloaded again, register only one callback per connection
+                    if (resumePending.compareAndSet(false, true)) {
+                        requestChannel.resumeWhenAvailable(
+                                () -> {
+                                    resumePending.set(false);
+                                    ctx.channel().config().setAutoRead(true);
+                                });
+                    }
+                }
             }
 
             if (!state.isActive()) {
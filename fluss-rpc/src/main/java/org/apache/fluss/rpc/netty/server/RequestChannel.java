@@ -17,33 +17,33 @@
 
 package org.apache.fluss.rpc.netty.server;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.fluss.config.ConfigOptions.RequestQueueType;
 
 import javax.annotation.concurrent.ThreadSafe;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.TimeUnit;
-
-/** A blocking queue channel that can receive requests and send responses. */
+/**
+ * A channel that can receive requests from the I/O threads and hand them over to a single request
+ * processor.
+ */
 @ThreadSafe
-public class RequestChannel {
-    private static final Logger LOG = LoggerFactory.getLogger(RequestChannel.class);
+public abstract class RequestChannel {
 
-    protected final BlockingQueue<RpcRequest> requestQueue;
-
-    public RequestChannel(int queueCapacity) {
-        this.requestQueue = new ArrayBlockingQueue<>(queueCapacity);
+    /** Creates a request channel of the given type with the given capacity. */
+    public static RequestChannel create(RequestQueueType type, int queueCapacity) {
+        switch (type) {
+            case BLOCKING:
+                return new BlockingRequestChannel(queueCapacity);
+            case LOCK_FREE:
+                return new MpscRequestChannel(queueCapacity, false);
+            case PRIORITY:
+                return new MpscRequestChannel(queueCapacity, true);
+            default:
+                throw new IllegalArgumentException("Unsupported request queue type: " + type);
+        }
     }
 
-    /**
-     * Send a request to be handled, potentially blocking until there is room in the queue for the
-     * request.
-     */
-    public void putRequest(RpcRequest request) throws Exception {
-        requestQueue.put(request);
-    }
+    /** Send a request to be handled. */
+    public abstract void putRequest(RpcRequest request) throws Exception;
 
     /**
      * Sends a shutdown request to the channel. This can allow request processor gracefully
@@ -59,17 +59,25 @@ public class RequestChannel {
      * @return the head of this queue, or null if the specified waiting time elapses before an
      *     element is available.
      */
-    public RpcRequest pollRequest(long timeoutMs) {
-        try {
-            return requestQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            LOG.warn("Interrupted while polling requests from channel queue.", e);
-            return null;
-        }
+    public abstract RpcRequest pollRequest(long timeoutMs);
+
+    /**
+     * Whether the channel has too many queued requests, the I/O thread should stop reading from the
+     * connection and register a callback by {@link #resumeWhenAvailable(Runnable)}. A channel that
+     * blocks the I/O thread in {@link #putRequest(RpcRequest)} is never overloaded.
+     */
+    public boolean isOverloaded() {
+        return false;
     }
 
-    /** Get the number of requests in the queue. */
-    int requestsCount() {
-        return requestQueue.size();
+    /**
+     * Registers a callback to resume reading from a connection which is paused because the channel
+     * is overloaded. The callback is invoked once the queued requests are drained.
+     */
+    public void resumeWhenAvailable(Runnable resumeAction) {
+        resumeAction.run();
     }
+
+    /** Get the number of requests in the queue. */
+    abstract int requestsCount();
 }
@@ -17,6 +17,7 @@
 
 package org.apache.fluss.rpc.netty.server;
 
+import org.apache.fluss.config.ConfigOptions.RequestQueueType;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.rpc.RpcGatewayService;
 import org.apache.fluss.rpc.protocol.NetworkProtocolPlugin;
@@ -46,6 +47,7 @@ final class RequestProcessorPool {
     public RequestProcessorPool(
             int numProcessors,
             int totalQueueCapacity,
+            RequestQueueType requestQueueType,
             RpcGatewayService service,
             List<NetworkProtocolPlugin> protocols,
             RequestsMetrics requestsMetrics) {
@@ -54,7 +56,8 @@ final class RequestProcessorPool {
 
         RequestHandler<?>[] requestHandlers = initializeRequestHandlers(protocols, service);
         for (int i = 0; i < numProcessors; i++) {
-            requestChannels[i] = new RequestChannel(totalQueueCapacity / numProcessors);
+            requestChannels[i] =
+                    RequestChannel.create(requestQueueType, totalQueueCapacity / numProcessors);
             // bind processor to a single channel to make requests from the
             // same channel processed serializable
             processors[i] = new RequestProcessor(i, requestChannels[i], service, requestHandlers);
@@ -45,7 +45,7 @@ public enum ApiKeys {
     PRODUCE_LOG(1014, 0, 0, PUBLIC),
     FETCH_LOG(1015, 0, 0, PUBLIC),
     PUT_KV(1016, 0, 0, PUBLIC),
-    LOOKUP(1017, 0, 0, PUBLIC),
+    LOOKUP(1017, 0, 1, PUBLIC),
     NOTIFY_LEADER_AND_ISR(1018, 0, 0, PRIVATE),
     STOP_REPLICA(1019, 0, 0, PRIVATE),
     ADJUST_ISR(1020, 0, 0, PRIVATE),
@@ -62,7 +62,7 @@ public enum ApiKeys {
     NOTIFY_LAKE_TABLE_OFFSET(1031, 0, 0, PRIVATE),
     GET_LATEST_LAKE_SNAPSHOT(1032, 0, 0, PUBLIC),
     LIMIT_SCAN(1033, 0, 0, PUBLIC),
-    PREFIX_LOOKUP(1034, 0, 0, PUBLIC),
+    PREFIX_LOOKUP(1034, 0, 1, PUBLIC),
     GET_DATABASE_INFO(1035, 0, 0, PUBLIC),
     CREATE_PARTITION(1036, 0, 0, PUBLIC),
     DROP_PARTITION(1037, 0, 0, PUBLIC),
@@ -74,7 +74,8 @@ public enum ApiKeys {
     CONTROLLED_SHUTDOWN(1043, 0, 0, PRIVATE),
     ALTER_TABLE(1044, 0, 0, PUBLIC),
     DESCRIBE_CLUSTER_CONFIGS(1045, 0, 0, PUBLIC),
-    ALTER_CLUSTER_CONFIGS(1046, 0, 0, PUBLIC);
+    ALTER_CLUSTER_CONFIGS(1046, 0, 0, PUBLIC),
+    SCAN_KV(1047, 0, 0, PUBLIC);
 
     private static final Map<Integer, ApiKeys> ID_TO_TYPE =
             Arrays.stream(ApiKeys.values())
@@ -21,16 +21,43 @@ import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.ResolvedPartitionSpec;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.And;
+import org.apache.fluss.predicate.CompoundPredicate;
+import org.apache.fluss.predicate.Contains;
+import org.apache.fluss.predicate.EndsWith;
+import org.apache.fluss.predicate.Equal;
+import org.apache.fluss.predicate.GreaterOrEqual;
+import org.apache.fluss.predicate.GreaterThan;
+import org.apache.fluss.predicate.In;
+import org.apache.fluss.predicate.IsNotNull;
+import org.apache.fluss.predicate.IsNull;
+import org.apache.fluss.predicate.LeafFunction;
+import org.apache.fluss.predicate.LeafPredicate;
+import org.apache.fluss.predicate.LessOrEqual;
+import org.apache.fluss.predicate.LessThan;
+import org.apache.fluss.predicate.NotEqual;
+import org.apache.fluss.predicate.NotIn;
+import org.apache.fluss.predicate.Or;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.StartsWith;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.compacted.CompactedRow;
+import org.apache.fluss.row.compacted.CompactedRowDeserializer;
+import org.apache.fluss.row.encode.CompactedRowEncoder;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 import org.apache.fluss.rpc.messages.PbAclFilter;
 import org.apache.fluss.rpc.messages.PbAclInfo;
+import org.apache.fluss.rpc.messages.PbCompoundPredicate;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
 import org.apache.fluss.rpc.messages.PbKeyValue;
+import org.apache.fluss.rpc.messages.PbLeafPredicate;
 import org.apache.fluss.rpc.messages.PbPartitionSpec;
+import org.apache.fluss.rpc.messages.PbPredicate;
 import org.apache.fluss.rpc.messages.PbRemoteLogFetchInfo;
 import org.apache.fluss.rpc.messages.PbRemoteLogSegment;
 import org.apache.fluss.rpc.protocol.ApiError;
@@ -45,11 +72,15 @@ import org.apache.fluss.security.acl.Resource;
 import org.apache.fluss.security.acl.ResourceFilter;
 import org.apache.fluss.security.acl.ResourceType;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -59,6 +90,32 @@ import java.util.stream.Collectors;
  */
 public class CommonRpcMessageUtils {
 
+    private static final Map<String, LeafFunction> LEAF_FUNCTIONS = new HashMap<>();
+    private static final Map<String, CompoundPredicate.Function> COMPOUND_FUNCTIONS =
+            new HashMap<>();
+
+    static {
+        registerLeafFunction(Equal.INSTANCE);
+        registerLeafFunction(NotEqual.INSTANCE);
+        registerLeafFunction(LessThan.INSTANCE);
+        registerLeafFunction(LessOrEqual.INSTANCE);
+        registerLeafFunction(GreaterThan.INSTANCE);
+        registerLeafFunction(GreaterOrEqual.INSTANCE);
+        registerLeafFunction(IsNull.INSTANCE);
+        registerLeafFunction(IsNotNull.INSTANCE);
+        registerLeafFunction(In.INSTANCE);
+        registerLeafFunction(NotIn.INSTANCE);
+        registerLeafFunction(StartsWith.INSTANCE);
+        registerLeafFunction(EndsWith.INSTANCE);
+        registerLeafFunction(Contains.INSTANCE);
+        COMPOUND_FUNCTIONS.put(And.INSTANCE.toString(), And.INSTANCE);
+        COMPOUND_FUNCTIONS.put(Or.INSTANCE.toString(), Or.INSTANCE);
+    }
+
+    private static void registerLeafFunction(LeafFunction function) {
+        LEAF_FUNCTIONS.put(function.toString(), function);
+    }
+
     public static List<PbAclInfo> toPbAclInfos(Collection<AclBinding> aclBindings) {
         return aclBindings.stream()
                 .map(CommonRpcMessageUtils::toPbAclInfo)
@@ -203,7 +260,13 @@ public class CommonRpcMessageUtils {
                                 ? MemoryLogRecords.pointToByteBuffer(recordsBuffer)
                                 : MemoryLogRecords.EMPTY;
                 fetchLogResultForBucket =
-                        new FetchLogResultForBucket(tb, records, respForBucket.getHighWatermark());
+                        new FetchLogResultForBucket(
+                                tb,
+                                records,
+                                respForBucket.getHighWatermark(),
+                                respForBucket.hasPreferredReadReplica()
+                                        ? respForBucket.getPreferredReadReplica()
+                                        : null);
             }
         }
 
@@ -234,4 +297,104 @@ public class CommonRpcMessageUtils {
         }
         return new ResolvedPartitionSpec(partitionKeys, partitionValues);
     }
+
+    /**
+     * Converts the given {@link Predicate} to {@link PbPredicate}. The literals of the leaf
+     * predicates are encoded as compacted rows of the field types.
+     */
+    public static PbPredicate toPbPredicate(Predicate predicate) {
+        PbPredicate pbPredicate = new PbPredicate();
+        if (predicate instanceof LeafPredicate) {
+            LeafPredicate leaf = (LeafPredicate) predicate;
+            PbLeafPredicate pbLeaf =
+                    pbPredicate
+                            .setLeaf()
+                            .setFunction(leaf.function().toString())
+                            .setFieldIndex(leaf.index());
+            if (!LEAF_FUNCTIONS.containsKey(pbLeaf.getFunction())) {
+                throw new IllegalArgumentException(
+                        "Unsupported leaf function " + leaf.function() + " in " + predicate);
+            }
+            CompactedRowEncoder encoder = new CompactedRowEncoder(literalTypes(leaf.type()));
+            for (Object literal : leaf.literals()) {
+                encoder.startNewRow();
+                encoder.encodeField(0, literal);
+                BinaryRow row = encoder.finishRow();
+                byte[] bytes = new byte[row.getSizeInBytes()];
+                row.copyTo(bytes, 0);
+                pbLeaf.addLiteral(bytes);
+            }
+        } else if (predicate instanceof CompoundPredicate) {
+            CompoundPredicate compound = (CompoundPredicate) predicate;
+            PbCompoundPredicate pbCompound =
+                    pbPredicate.setCompound().setFunction(compound.function().toString());
+            if (!COMPOUND_FUNCTIONS.containsKey(pbCompound.getFunction())) {
+                throw new IllegalArgumentException(
+                        "Unsupported compound function "
+                                + compound.function()
+                                + " in "
+                                + predicate);
+            }
+            for (Predicate child : compound.children()) {
+                pbCompound.addChildren().copyFrom(toPbPredicate(child));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported predicate " + predicate);
+        }
+        return pbPredicate;
+    }
+
+    /**
+     * Converts the given {@link PbPredicate} to {@link Predicate}, the field indexes of the
+     * predicate refer to the fields of the given row type.
+     */
+    public static Predicate toPredicate(PbPredicate pbPredicate, RowType rowType) {
+        if (pbPredicate.hasLeaf()) {
+            PbLeafPredicate pbLeaf = pbPredicate.getLeaf();
+            LeafFunction function = LEAF_FUNCTIONS.get(pbLeaf.getFunction());
+            if (function == null) {
+                throw new IllegalArgumentException(
+                        "Unsupported leaf function " + pbLeaf.getFunction());
+            }
+            int fieldIndex = pbLeaf.getFieldIndex();
+            if (fieldIndex < 0 || fieldIndex >= rowType.getFieldCount()) {
+                throw new IllegalArgumentException(
+                        "Field index "
+                                + fieldIndex
+                                + " of the predicate is out of bound for schema "
+                                + rowType);
+            }
+            DataType type = rowType.getTypeAt(fieldIndex);
+            DataType[] literalTypes = literalTypes(type);
+            CompactedRowDeserializer deserializer = new CompactedRowDeserializer(literalTypes);
+            InternalRow.FieldGetter getter = InternalRow.createFieldGetter(literalTypes[0], 0);
+            List<Object> literals = new ArrayList<>(pbLeaf.getLiteralsCount());
+            for (int i = 0; i < pbLeaf.getLiteralsCount(); i++) {
+                CompactedRow row =
+                        CompactedRow.from(literalTypes, pbLeaf.getLiteralAt(i), deserializer);
+                literals.add(getter.getFieldOrNull(row));
+            }
+            return new LeafPredicate(
+                    function, type, fieldIndex, rowType.getFieldNames().get(fieldIndex), literals);
+        } else if (pbPredicate.hasCompound()) {
+            PbCompoundPredicate pbCompound = pbPredicate.getCompound();
+            CompoundPredicate.Function function = COMPOUND_FUNCTIONS.get(pbCompound.getFunction());
+            if (function == null) {
+                throw new IllegalArgumentException(
+                        "Unsupported compound function " + pbCompound.getFunction());
+            }
+            List<Predicate> children = new ArrayList<>(pbCompound.getChildrensCount());
+            for (PbPredicate child : pbCompound.getChildrensList()) {
+                children.add(toPredicate(child, rowType));
+            }
+            return new CompoundPredicate(function, children);
+        } else {
+            throw new IllegalArgumentException("Neither leaf nor compound predicate is set.");
+        }
+    }
+
+    private static DataType[] literalTypes(DataType fieldType) {
+        // literals may be null, e.g. IN (1, NULL)
+        return new DataType[] {fieldType.copy(true)};
+    }
 }
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
+import org.apache.fluss.rpc.messages.PbTableBucket;
+import org.apache.fluss.rpc.protocol.Errors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The fetcher side of an incremental fetch session with one tablet server. A fetch session caches
+ * the fetched buckets on the tablet server, so that the fetcher only needs to send the buckets
+ * whose fetch state changed since the last request, and the tablet server only returns the buckets
+ * that have new data, a new high watermark or an error.
+ *
+ * <p>The first request of a session is a full fetch request with {@link #INITIAL_EPOCH}, the tablet
+ * server creates the session and returns the session id. The following requests are incremental
+ * fetch requests with increasing epochs. If the tablet server returns a session error, e.g., the
+ * session is evicted, or the request failed, the handler falls back to a full fetch request.
+ *
+ * <p>The fetcher must not send a new request before the response of the previous request is handled
+ * by {@link #handleResponse(FetchLogResponse)} or {@link #handleError()}.
+ */
+@Internal
+@ThreadSafe
+public class FetchSessionHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FetchSessionHandler.class);
+
+    /** The session id that indicates no session. */
+    public static final int INVALID_SESSION_ID = 0;
+
+    /** The epoch of a full fetch request that creates a new session. */
+    public static final int INITIAL_EPOCH = 0;
+
+    /** The epoch of a full fetch request that closes the session and creates no new session. */
+    public static final int FINAL_EPOCH = -1;
+
+    private final int serverId;
+
+    /** The buckets and their fetch state cached in the session on the tablet server. */
+    private Map<TableBucket, BucketFetchState> sessionBuckets = Collections.emptyMap();
+
+    /** The buckets and their fetch state of the in-flight request. */
+    private Map<TableBucket, BucketFetchState> pendingBuckets = Collections.emptyMap();
+
+    private int sessionId = INVALID_SESSION_ID;
+    private int nextEpoch = INITIAL_EPOCH;
+
+    public FetchSessionHandler(int serverId) {
+        this.serverId = serverId;
+    }
+
+    /** Returns the next epoch of the given epoch. */
+    public static int nextEpoch(int prevEpoch) {
+        if (prevEpoch < 0) {
+            // the next epoch after FINAL_EPOCH is always FINAL_EPOCH
+            return FINAL_EPOCH;
+        } else if (prevEpoch == Integer.MAX_VALUE) {
+            return 1;
+        } else {
+            return prevEpoch + 1;
+        }
+    }
+
+    /**
+     * Builds the request to send given the full fetch request containing all the buckets to fetch.
+     * For an incremental fetch, the returned request only contains the buckets that are new or
+     * whose fetch state changed, and the buckets not to fetch anymore are put into the forgotten
+     * buckets. The paused buckets of the full request are kept in the session, as they're still
+     * contained in the full request.
+     */
+    public synchronized FetchLogRequest build(FetchLogRequest fullRequest) {
+        Map<TableBucket, BucketFetchState> nextBuckets = new HashMap<>();
+        for (PbFetchLogReqForTable reqForTable : fullRequest.getTablesReqsList()) {
+            TableFetchState tableState = new TableFetchState(reqForTable);
+            for (PbFetchLogReqForBucket reqForBucket : reqForTable.getBucketsReqsList()) {
+                nextBuckets.put(
+                        new TableBucket(
+                                reqForTable.getTableId(),
+                                reqForBucket.hasPartitionId()
+                                        ? reqForBucket.getPartitionId()
+                                        : null,
+                                reqForBucket.getBucketId()),
+                        new BucketFetchState(
+                                tableState,
+                                reqForBucket.getFetchOffset(),
+                                reqForBucket.getMaxFetchBytes()));
+            }
+        }
+        pendingBuckets = nextBuckets;
+
+        if (nextEpoch == INITIAL_EPOCH) {
+            // full fetch request to create a new session, the session id is set to close the
+            // previous session on the tablet server if any
+            return fullRequest.setSessionId(sessionId).setSessionEpoch(INITIAL_EPOCH);
+        }
+
+        FetchLogRequest request =
+                new FetchLogRequest()
+                        .setFollowerServerId(fullRequest.getFollowerServerId())
+                        .setMaxBytes(fullRequest.getMaxBytes())
+                        .setSessionId(sessionId)
+                        .setSessionEpoch(nextEpoch);
+        if (fullRequest.hasMinBytes()) {
+            request.setMinBytes(fullRequest.getMinBytes());
+        }
+        if (fullRequest.hasMaxWaitMs()) {
+            request.setMaxWaitMs(fullRequest.getMaxWaitMs());
+        }
+        if (fullRequest.hasClientRack()) {
+            request.setClientRack(fullRequest.getClientRack());
+        }
+        for (PbTableBucket pausedBucket : fullRequest.getPausedBucketsList()) {
+            request.addPausedBucket().copyFrom(pausedBucket);
+        }
+        for (PbFetchLogReqForTable reqForTable : fullRequest.getTablesReqsList()) {
+            PbFetchLogReqForTable changedReqForTable = null;
+            for (PbFetchLogReqForBucket reqForBucket : reqForTable.getBucketsReqsList()) {
+                TableBucket tb =
+                        new TableBucket(
+                                reqForTable.getTableId(),
+                                reqForBucket.hasPartitionId()
+                                        ? reqForBucket.getPartitionId()
+                                        : null,
+                                reqForBucket.getBucketId());
+                if (nextBuckets.get(tb).equals(sessionBuckets.get(tb))) {
+                    continue;
+                }
+                if (changedReqForTable == null) {
+                    changedReqForTable = copyTableReq(request.addTablesReq(), reqForTable);
+                }
+                changedReqForTable.addBucketsReq().copyFrom(reqForBucket);
+            }
+        }
+        for (TableBucket tb : sessionBuckets.keySet()) {
+            if (!nextBuckets.containsKey(tb)) {
+                PbTableBucket forgottenBucket =
+                        request.addForgottenBucket()
+                                .setTableId(tb.getTableId())
+                                .setBucketId(tb.getBucket());
+                if (tb.getPartitionId() != null) {
+                    forgottenBucket.setPartitionId(tb.getPartitionId());
+                }
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Handles the response of the request built by {@link #build(FetchLogRequest)}.
+     *
+     * @return false if the response is a session error and contains no bucket responses.
+     */
+    public synchronized boolean handleResponse(FetchLogResponse response) {
+        if (response.hasErrorCode()) {
+            Errors error = Errors.forCode(response.getErrorCode());
+            LOG.info(
+                    "Fetch session {} with server {} failed with error {}, "
+                            + "fallback to a full fetch request.",
+                    sessionId,
+                    serverId,
+                    error);
+            if (error == Errors.FETCH_SESSION_ID_NOT_FOUND_EXCEPTION) {
+                sessionId = INVALID_SESSION_ID;
+            }
+            resetSession();
+            return false;
+        }
+
+        if (!response.hasSessionId() || response.getSessionId() == INVALID_SESSION_ID) {
+            // the tablet server doesn't create a session for the request, e.g., the session cache
+            // is full or the server doesn't support fetch sessions, try to create one next time
+            sessionId = INVALID_SESSION_ID;
+            resetSession();
+        } else {
+            if (nextEpoch == INITIAL_EPOCH) {
+                sessionId = response.getSessionId();
+            }
+            nextEpoch = nextEpoch(nextEpoch);
+            sessionBuckets = pendingBuckets;
+        }
+        pendingBuckets = Collections.emptyMap();
+        return true;
+    }
+
+    /** Handles the failure of the request, the next request will be a full fetch request. */
+    public synchronized void handleError() {
+        resetSession();
+    }
+
+    private void resetSession() {
+        nextEpoch = INITIAL_EPOCH;
+        sessionBuckets = Collections.emptyMap();
+        pendingBuckets = Collections.emptyMap();
+    }
+
+    @VisibleForTesting
+    synchronized int sessionId() {
+        return sessionId;
+    }
+
+    @VisibleForTesting
+    synchronized int nextEpoch() {
+        return nextEpoch;
+    }
+
+    private static PbFetchLogReqForTable copyTableReq(
+            PbFetchLogReqForTable target, PbFetchLogReqForTable source) {
+        target.setTableId(source.getTableId())
+                .setProjectionPushdownEnabled(source.isProjectionPushdownEnabled())
+                .setProjectedFields(source.getProjectedFields());
+        if (source.hasFilter()) {
+            target.setFilter().copyFrom(source.getFilter());
+        }
+        return target;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** The table level fetch state shared by all the buckets of the table in a request. */
+    private static final class TableFetchState {
+        private final boolean projectionPushdownEnabled;
+        private final int[] projectedFields;
+        private final byte[] filter;
+
+        private TableFetchState(PbFetchLogReqForTable reqForTable) {
+            this.projectionPushdownEnabled = reqForTable.isProjectionPushdownEnabled();
+            this.projectedFields = reqForTable.getProjectedFields();
+            this.filter = reqForTable.hasFilter() ? reqForTable.getFilter().toByteArray() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TableFetchState that = (TableFetchState) o;
+            return projectionPushdownEnabled == that.projectionPushdownEnabled
+                    && Arrays.equals(projectedFields, that.projectedFields)
+                    && Arrays.equals(filter, that.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(projectionPushdownEnabled);
+            result = 31 * result + Arrays.hashCode(projectedFields);
+            result = 31 * result + Arrays.hashCode(filter);
+            return result;
+        }
+    }
+
+    /** The fetch state of a bucket sent to the tablet server. */
+    private static final class BucketFetchState {
+        private final TableFetchState tableState;
+        private final long fetchOffset;
+        private final int maxFetchBytes;
+
+        private BucketFetchState(TableFetchState tableState, long fetchOffset, int maxFetchBytes) {
+            this.tableState = tableState;
+            this.fetchOffset = fetchOffset;
+            this.maxFetchBytes = maxFetchBytes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BucketFetchState that = (BucketFetchState) o;
+            return fetchOffset == that.fetchOffset
+                    && maxFetchBytes == that.maxFetchBytes
+                    && tableState.equals(that.tableState);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableState, fetchOffset, maxFetchBytes);
+        }
+    }
+}
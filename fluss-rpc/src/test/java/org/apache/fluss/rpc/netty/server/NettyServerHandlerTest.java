@@ -18,6 +18,7 @@
 package org.apache.fluss.rpc.netty.server;
 
 import org.apache.fluss.cluster.ServerType;
+import org.apache.fluss.config.ConfigOptions.RequestQueueType;
 import org.apache.fluss.metrics.groups.MetricGroup;
 import org.apache.fluss.metrics.util.NOPMetricsGroup;
 import org.apache.fluss.rpc.messages.ApiVersionsRequest;
@@ -35,6 +36,7 @@ import org.apache.fluss.security.auth.PlainTextAuthenticationPlugin;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBufAllocator;
 import org.apache.fluss.shaded.netty4.io.netty.channel.Channel;
+import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelConfig;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelHandlerContext;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelId;
 import org.apache.fluss.shaded.netty4.io.netty.util.concurrent.DefaultEventExecutor;
@@ -43,6 +45,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Deque;
@@ -52,6 +56,9 @@ import java.util.Set;
 import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /** Test for {@link NettyServerHandler}. */
@@ -203,6 +210,55 @@ final class NettyServerHandlerTest {
         assertThat(inflightApiVersionResponses.size()).isEqualTo(5);
     }
 
+    @Test
+    void testRegisterOneResumeCallbackPerConnectionWhenOverloaded() throws Exception {
+        RequestChannel overloadedChannel = RequestChannel.create(RequestQueueType.PRIORITY, 2);
+        NettyServerHandler handler =
+                new NettyServerHandler(
+                        overloadedChannel,
+                        new ApiManager(ServerType.TABLET_SERVER),
+                        "FLUSS",
+                        true,
+                        RequestsMetrics.createCoordinatorServerRequestMetrics(
+                                NOPMetricsGroup.newInstance()),
+                        new PlainTextAuthenticationPlugin.PlainTextServerAuthenticator());
+        ChannelHandlerContext ctx = mockChannelHandlerContext();
+        ChannelConfig config = mock(ChannelConfig.class);
+        when(ctx.channel().config()).thenReturn(config);
+        when(ctx.channel().remoteAddress())
+                .thenReturn(new InetSocketAddress(InetAddress.getLoopbackAddress(), 9123));
+        handler.channelActive(ctx);
+
+        // the reads still in flight after the connection is paused find the channel overloaded
+        for (int i = 0; i < 3; i++) {
+            handler.channelRead(ctx, encodeApiVersionsRequest());
+        }
+        verify(config, times(2)).setAutoRead(false);
+
+        // drain the channel, the connection is resumed only once
+        assertThat(overloadedChannel.pollRequest(100)).isNotNull();
+        verify(config, never()).setAutoRead(true);
+        assertThat(overloadedChannel.pollRequest(100)).isNotNull();
+        verify(config, times(1)).setAutoRead(true);
+
+        // the connection can be paused and resumed again
+        handler.channelRead(ctx, encodeApiVersionsRequest());
+        verify(config, times(3)).setAutoRead(false);
+        assertThat(overloadedChannel.pollRequest(100)).isNotNull();
+        verify(config, times(2)).setAutoRead(true);
+    }
+
+    private static ByteBuf encodeApiVersionsRequest() {
+        ApiVersionsRequest request = new ApiVersionsRequest();
+        request.setClientSoftwareName("test").setClientSoftwareVersion("1.0.0");
+        return MessageCodec.encodeRequest(
+                ByteBufAllocator.DEFAULT,
+                ApiKeys.API_VERSIONS.id,
+                ApiKeys.API_VERSIONS.highestSupportedVersion,
+                1001,
+                request);
+    }
+
     private static ChannelHandlerContext mockChannelHandlerContext() {
         ChannelId channelId = mock(ChannelId.class);
         when(channelId.asShortText()).thenReturn("short_text");
@@ -20,7 +20,7 @@ package org.apache.fluss.rpc.netty.server;
 import java.util.Iterator;
 
 /** A testing request channel that can receive requests and deal with requests. */
-final class TestingRequestChannel extends RequestChannel {
+final class TestingRequestChannel extends BlockingRequestChannel {
 
     public TestingRequestChannel(int queueCapacity) {
         super(queueCapacity);
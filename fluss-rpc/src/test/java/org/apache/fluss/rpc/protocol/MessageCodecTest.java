@@ -27,6 +27,7 @@ import org.apache.fluss.rpc.messages.ApiVersionsResponse;
 import org.apache.fluss.rpc.messages.PbApiVersion;
 import org.apache.fluss.rpc.netty.client.ClientHandlerCallback;
 import org.apache.fluss.rpc.netty.client.NettyClientHandler;
+import org.apache.fluss.rpc.netty.server.BlockingRequestChannel;
 import org.apache.fluss.rpc.netty.server.FlussRequest;
 import org.apache.fluss.rpc.netty.server.NettyServerHandler;
 import org.apache.fluss.rpc.netty.server.RequestChannel;
@@ -63,7 +64,7 @@ class MessageCodecTest {
     void beforeEach() {
         this.responseReceiver = new ResponseReceiver();
         this.clientHandler = new NettyClientHandler(responseReceiver, false);
-        this.requestChannel = new RequestChannel(100);
+        this.requestChannel = new BlockingRequestChannel(100);
         MetricGroup metricGroup = NOPMetricsGroup.newInstance();
         this.serverHandler =
                 new NettyServerHandler(
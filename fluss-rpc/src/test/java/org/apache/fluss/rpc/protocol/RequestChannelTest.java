@@ -17,8 +17,14 @@
 
 package org.apache.fluss.rpc.protocol;
 
+import org.apache.fluss.config.ConfigOptions.RequestQueueType;
+import org.apache.fluss.rpc.messages.ApiMessage;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.GetTableInfoRequest;
+import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
+import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
+import org.apache.fluss.rpc.messages.ProduceLogRequest;
+import org.apache.fluss.rpc.netty.server.ConnectionLane;
 import org.apache.fluss.rpc.netty.server.FlussRequest;
 import org.apache.fluss.rpc.netty.server.RequestChannel;
 import org.apache.fluss.rpc.netty.server.RpcRequest;
@@ -26,37 +32,32 @@ import org.apache.fluss.shaded.netty4.io.netty.buffer.EmptyByteBuf;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.UnpooledByteBufAllocator;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** The test for {@link RequestChannel}. */
 public class RequestChannelTest {
 
-    @Test
-    void testRequestsFIFO() throws Exception {
-        RequestChannel channel = new RequestChannel(100);
+    @ParameterizedTest
+    @EnumSource(
+            value = RequestQueueType.class,
+            names = {"BLOCKING", "LOCK_FREE"})
+    void testRequestsFIFO(RequestQueueType type) throws Exception {
+        RequestChannel channel = RequestChannel.create(type, 100);
 
         // 1. Same request type, Use FIFO.
         List<RpcRequest> rpcRequests = new ArrayList<>();
         // push rpc requests
         for (int i = 0; i < 100; i++) {
             RpcRequest rpcRequest =
-                    new FlussRequest(
-                            ApiKeys.GET_TABLE_INFO.id,
-                            (short) 0,
-                            i,
-                            null,
-                            new GetTableInfoRequest(),
-                            new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
-                            "FLUSS",
-                            true,
-                            null,
-                            null,
-                            new CompletableFuture<>());
+                    newRequest(ApiKeys.GET_TABLE_INFO, i, new GetTableInfoRequest());
             channel.putRequest(rpcRequest);
             rpcRequests.add(rpcRequest);
         }
@@ -67,37 +68,172 @@ public class RequestChannelTest {
         }
 
         // 2. Different request type, Use FIFO.
-        RpcRequest rpcRequest1 =
-                new FlussRequest(
-                        ApiKeys.GET_TABLE_INFO.id,
-                        (short) 0,
-                        3,
-                        null,
-                        new GetTableInfoRequest(),
-                        new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
-                        "FLUSS",
-                        true,
-                        null,
-                        null,
-                        new CompletableFuture<>());
+        RpcRequest rpcRequest1 = newRequest(ApiKeys.GET_TABLE_INFO, 3, new GetTableInfoRequest());
         RpcRequest rpcRequest2 =
-                new FlussRequest(
-                        ApiKeys.FETCH_LOG.id,
-                        (short) 0,
+                newRequest(
+                        ApiKeys.FETCH_LOG,
                         100,
-                        null,
-                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2),
-                        new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
-                        "FLUSS",
-                        true,
-                        null,
-                        null,
-                        new CompletableFuture<>());
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2));
         channel.putRequest(rpcRequest1);
         channel.putRequest(rpcRequest2);
         RpcRequest rpcRequest = channel.pollRequest(100);
         assertThat(rpcRequest).isEqualTo(rpcRequest1);
         rpcRequest = channel.pollRequest(100);
         assertThat(rpcRequest).isEqualTo(rpcRequest2);
+
+        // 3. No request, timeout.
+        assertThat(channel.pollRequest(10)).isNull();
+    }
+
+    @Test
+    void testPriorityLanes() throws Exception {
+        RequestChannel channel = RequestChannel.create(RequestQueueType.PRIORITY, 100);
+
+        RpcRequest lookup1 = newRequest(ApiKeys.GET_TABLE_INFO, 1, new GetTableInfoRequest());
+        RpcRequest lookup2 = newRequest(ApiKeys.GET_TABLE_INFO, 2, new GetTableInfoRequest());
+        RpcRequest produce1 = newRequest(ApiKeys.PRODUCE_LOG, 3, new ProduceLogRequest());
+        RpcRequest produce2 = newRequest(ApiKeys.PRODUCE_LOG, 4, new ProduceLogRequest());
+        RpcRequest clientFetch =
+                newRequest(
+                        ApiKeys.FETCH_LOG,
+                        5,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(-1));
+        RpcRequest followerFetch =
+                newRequest(
+                        ApiKeys.FETCH_LOG,
+                        6,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2));
+        channel.putRequest(lookup1);
+        channel.putRequest(lookup2);
+        channel.putRequest(produce1);
+        channel.putRequest(produce2);
+        channel.putRequest(clientFetch);
+        channel.putRequest(followerFetch);
+
+        // the replication requests are always polled first, then the write requests and the
+        // other requests are polled alternately in FIFO order
+        List<RpcRequest> polled = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            polled.add(channel.pollRequest(100));
+        }
+        assertThat(polled)
+                .containsExactly(followerFetch, produce1, lookup1, produce2, lookup2, clientFetch);
+        assertThat(channel.pollRequest(10)).isNull();
+    }
+
+    @Test
+    void testReplicationBurstLimit() throws Exception {
+        RequestChannel channel = RequestChannel.create(RequestQueueType.PRIORITY, 100);
+
+        RpcRequest produce = newRequest(ApiKeys.PRODUCE_LOG, 0, new ProduceLogRequest());
+        channel.putRequest(produce);
+        List<RpcRequest> followerFetches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            RpcRequest followerFetch =
+                    newRequest(
+                            ApiKeys.FETCH_LOG,
+                            i + 1,
+                            new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2));
+            channel.putRequest(followerFetch);
+            followerFetches.add(followerFetch);
+        }
+
+        // the waiting client request is polled after 8 replication requests in a row
+        List<RpcRequest> expected = new ArrayList<>(followerFetches.subList(0, 8));
+        expected.add(produce);
+        expected.addAll(followerFetches.subList(8, 10));
+        List<RpcRequest> polled = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            polled.add(channel.pollRequest(100));
+        }
+        assertThat(polled).containsExactlyElementsOf(expected);
+        assertThat(channel.pollRequest(10)).isNull();
+    }
+
+    @Test
+    void testKeepRequestsOrderOfConnection() throws Exception {
+        RequestChannel channel = RequestChannel.create(RequestQueueType.PRIORITY, 100);
+        ConnectionLane coordinatorConnection = new ConnectionLane();
+
+        FlussRequest lookup = newRequest(ApiKeys.GET_TABLE_INFO, 1, new GetTableInfoRequest());
+        FlussRequest notifyLeader1 =
+                newRequest(ApiKeys.NOTIFY_LEADER_AND_ISR, 2, new NotifyLeaderAndIsrRequest());
+        FlussRequest notifyOffsets =
+                newRequest(
+                        ApiKeys.NOTIFY_KV_SNAPSHOT_OFFSET, 3, new NotifyKvSnapshotOffsetRequest());
+        FlussRequest notifyLeader2 =
+                newRequest(ApiKeys.NOTIFY_LEADER_AND_ISR, 4, new NotifyLeaderAndIsrRequest());
+        notifyOffsets.setConnectionLane(coordinatorConnection);
+        notifyLeader1.setConnectionLane(coordinatorConnection);
+        channel.putRequest(lookup);
+        channel.putRequest(notifyOffsets);
+        channel.putRequest(notifyLeader1);
+        // the request of another connection still jumps the queue
+        channel.putRequest(notifyLeader2);
+
+        // the replication request doesn't jump the queued request of the same connection
+        List<RpcRequest> polled = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            polled.add(channel.pollRequest(100));
+        }
+        assertThat(polled).containsExactly(notifyLeader2, lookup, notifyOffsets, notifyLeader1);
+
+        // the request jumps the queue again once no request of the connection is queued
+        channel.putRequest(lookup);
+        channel.putRequest(notifyLeader1);
+        assertThat(channel.pollRequest(100)).isEqualTo(notifyLeader1);
+        assertThat(channel.pollRequest(100)).isEqualTo(lookup);
+    }
+
+    @ParameterizedTest
+    @EnumSource(
+            value = RequestQueueType.class,
+            names = {"LOCK_FREE", "PRIORITY"})
+    void testPauseAndResumeWhenOverloaded(RequestQueueType type) throws Exception {
+        RequestChannel channel = RequestChannel.create(type, 10);
+        AtomicInteger resumed = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(channel.isOverloaded()).isFalse();
+            channel.putRequest(newRequest(ApiKeys.PRODUCE_LOG, i, new ProduceLogRequest()));
+        }
+        assertThat(channel.isOverloaded()).isTrue();
+        channel.resumeWhenAvailable(resumed::incrementAndGet);
+        assertThat(resumed).hasValue(0);
+
+        // the paused reader is resumed once half of the requests are drained
+        for (int i = 0; i < 4; i++) {
+            assertThat(channel.pollRequest(100)).isNotNull();
+            assertThat(resumed).hasValue(0);
+        }
+        assertThat(channel.pollRequest(100)).isNotNull();
+        assertThat(resumed).hasValue(1);
+        assertThat(channel.isOverloaded()).isFalse();
+
+        // a reader registered after the requests are drained is resumed immediately
+        channel.resumeWhenAvailable(resumed::incrementAndGet);
+        assertThat(resumed).hasValue(2);
+    }
+
+    @Test
+    void testBlockingChannelIsNeverOverloaded() throws Exception {
+        RequestChannel channel = RequestChannel.create(RequestQueueType.BLOCKING, 1);
+        channel.putRequest(newRequest(ApiKeys.PRODUCE_LOG, 1, new ProduceLogRequest()));
+        assertThat(channel.isOverloaded()).isFalse();
+    }
+
+    private static FlussRequest newRequest(ApiKeys apiKey, int requestId, ApiMessage message) {
+        return new FlussRequest(
+                apiKey.id,
+                (short) 0,
+                requestId,
+                null,
+                message,
+                new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
+                "FLUSS",
+                true,
+                null,
+                null,
+                new CompletableFuture<>());
     }
 }
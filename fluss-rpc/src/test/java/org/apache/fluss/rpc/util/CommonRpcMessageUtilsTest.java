@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPbPredicate;
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link CommonRpcMessageUtils}. */
+class CommonRpcMessageUtilsTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(DataTypes.INT(), DataTypes.STRING(), DataTypes.BIGINT());
+
+    @Test
+    void testPredicateRoundTrip() {
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        Predicate predicate =
+                PredicateBuilder.and(
+                        builder.greaterOrEqual(0, 10),
+                        PredicateBuilder.or(
+                                builder.startsWith(1, BinaryString.fromString("fluss")),
+                                builder.isNull(1)),
+                        builder.in(2, Arrays.asList(1L, null, 3L)));
+
+        PbPredicate pbPredicate = new PbPredicate();
+        pbPredicate.parseFrom(toPbPredicate(predicate).toByteArray());
+        assertThat(toPredicate(pbPredicate, ROW_TYPE)).isEqualTo(predicate);
+    }
+
+    @Test
+    void testIllegalPredicate() {
+        Predicate predicate = new PredicateBuilder(ROW_TYPE).equal(2, 1L);
+        PbPredicate pbPredicate = toPbPredicate(predicate);
+        RowType narrowRowType = RowType.of(DataTypes.INT(), DataTypes.STRING());
+        assertThatThrownBy(() -> toPredicate(pbPredicate, narrowRowType))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field index 2 of the predicate is out of bound");
+
+        pbPredicate.getLeaf().setFunction("Unknown");
+        assertThatThrownBy(() -> toPredicate(pbPredicate, ROW_TYPE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported leaf function Unknown");
+
+        assertThatThrownBy(() -> toPredicate(new PbPredicate(), ROW_TYPE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Neither leaf nor compound predicate is set.");
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
+import org.apache.fluss.rpc.messages.PbTableBucket;
+import org.apache.fluss.rpc.protocol.Errors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.fluss.rpc.util.FetchSessionHandler.FINAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.nextEpoch;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link FetchSessionHandler}. */
+class FetchSessionHandlerTest {
+
+    private static final long TABLE_ID = 150001L;
+
+    @Test
+    void testNextEpoch() {
+        assertThat(nextEpoch(INITIAL_EPOCH)).isEqualTo(1);
+        assertThat(nextEpoch(5)).isEqualTo(6);
+        assertThat(nextEpoch(Integer.MAX_VALUE)).isEqualTo(1);
+        assertThat(nextEpoch(FINAL_EPOCH)).isEqualTo(FINAL_EPOCH);
+    }
+
+    @Test
+    void testIncrementalFetch() {
+        FetchSessionHandler handler = new FetchSessionHandler(1);
+
+        // the first request is a full fetch request to create the session
+        FetchLogRequest request = handler.build(newRequest(0L, 0L, 0L));
+        assertThat(request.getSessionId()).isEqualTo(INVALID_SESSION_ID);
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        assertThat(fetchOffsets(request)).containsExactly("0@0", "1@0", "2@0");
+        assertThat(handler.handleResponse(new FetchLogResponse().setSessionId(100))).isTrue();
+        assertThat(handler.sessionId()).isEqualTo(100);
+        assertThat(handler.nextEpoch()).isEqualTo(1);
+
+        // only the changed bucket is sent
+        request = handler.build(newRequest(5L, 0L, 0L));
+        assertThat(request.getSessionId()).isEqualTo(100);
+        assertThat(request.getSessionEpoch()).isEqualTo(1);
+        assertThat(request.getMaxWaitMs()).isEqualTo(500);
+        assertThat(request.getTablesReqAt(0).getProjectedFields()).containsExactly(0, 2);
+        assertThat(fetchOffsets(request)).containsExactly("0@5");
+        assertThat(request.getForgottenBucketsCount()).isEqualTo(0);
+        assertThat(handler.handleResponse(new FetchLogResponse().setSessionId(100))).isTrue();
+
+        // the removed bucket is forgotten, no table request if nothing changed
+        request = handler.build(newRequest(5L, 0L, null));
+        assertThat(request.getSessionEpoch()).isEqualTo(2);
+        assertThat(request.getTablesReqsCount()).isEqualTo(0);
+        assertThat(request.getForgottenBucketsList())
+                .extracting(PbTableBucket::getBucketId)
+                .containsExactly(2);
+        assertThat(handler.handleResponse(new FetchLogResponse().setSessionId(100))).isTrue();
+
+        // the re-added bucket is sent again
+        request = handler.build(newRequest(5L, 0L, 3L));
+        assertThat(fetchOffsets(request)).containsExactly("2@3");
+    }
+
+    @Test
+    void testPausedBuckets() {
+        FetchSessionHandler handler = new FetchSessionHandler(1);
+        handler.build(newRequest(0L, 0L, 0L));
+        handler.handleResponse(new FetchLogResponse().setSessionId(100));
+
+        // the paused bucket is neither sent nor forgotten, but passed to the server to skip it
+        FetchLogRequest fullRequest = newRequest(5L, 0L, 0L);
+        fullRequest.addPausedBucket().setTableId(TABLE_ID).setBucketId(1);
+        FetchLogRequest request = handler.build(fullRequest);
+        assertThat(fetchOffsets(request)).containsExactly("0@5");
+        assertThat(request.getForgottenBucketsCount()).isEqualTo(0);
+        assertThat(request.getPausedBucketsList())
+                .extracting(PbTableBucket::getBucketId)
+                .containsExactly(1);
+        handler.handleResponse(new FetchLogResponse().setSessionId(100));
+
+        // the resumed bucket is only sent when its fetch offset changed
+        request = handler.build(newRequest(5L, 3L, 0L));
+        assertThat(fetchOffsets(request)).containsExactly("1@3");
+        assertThat(request.getPausedBucketsCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testSessionError() {
+        FetchSessionHandler handler = new FetchSessionHandler(1);
+        handler.build(newRequest(0L, 0L, 0L));
+        handler.handleResponse(new FetchLogResponse().setSessionId(100));
+
+        // invalid epoch, the next request is a full request to recreate the session
+        handler.build(newRequest(1L, 0L, 0L));
+        assertThat(
+                        handler.handleResponse(
+                                new FetchLogResponse()
+                                        .setErrorCode(
+                                                Errors.INVALID_FETCH_SESSION_EPOCH_EXCEPTION
+                                                        .code())))
+                .isFalse();
+        FetchLogRequest request = handler.build(newRequest(1L, 0L, 0L));
+        assertThat(request.getSessionId()).isEqualTo(100);
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        assertThat(fetchOffsets(request)).containsExactly("0@1", "1@0", "2@0");
+        handler.handleResponse(new FetchLogResponse().setSessionId(200));
+        assertThat(handler.sessionId()).isEqualTo(200);
+
+        // session not found
+        handler.build(newRequest(1L, 0L, 0L));
+        handler.handleResponse(
+                new FetchLogResponse()
+                        .setErrorCode(Errors.FETCH_SESSION_ID_NOT_FOUND_EXCEPTION.code()));
+        request = handler.build(newRequest(1L, 0L, 0L));
+        assertThat(request.getSessionId()).isEqualTo(INVALID_SESSION_ID);
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+
+        // request failure
+        handler.handleResponse(new FetchLogResponse().setSessionId(300));
+        handler.build(newRequest(2L, 0L, 0L));
+        handler.handleError();
+        assertThat(handler.build(newRequest(2L, 0L, 0L)).getSessionEpoch())
+                .isEqualTo(INITIAL_EPOCH);
+
+        // the server doesn't create a session
+        handler.handleResponse(new FetchLogResponse());
+        assertThat(handler.sessionId()).isEqualTo(INVALID_SESSION_ID);
+        assertThat(handler.build(newRequest(2L, 0L, 0L)).getSessionEpoch())
+                .isEqualTo(INITIAL_EPOCH);
+    }
+
+    private static FetchLogRequest newRequest(Long... fetchOffsets) {
+        FetchLogRequest request =
+                new FetchLogRequest()
+                        .setFollowerServerId(-1)
+                        .setMaxBytes(1024)
+                        .setMinBytes(1)
+                        .setMaxWaitMs(500);
+        PbFetchLogReqForTable reqForTable =
+                request.addTablesReq()
+                        .setTableId(TABLE_ID)
+                        .setProjectionPushdownEnabled(true)
+                        .setProjectedFields(new int[] {0, 2});
+        for (int bucket = 0; bucket < fetchOffsets.length; bucket++) {
+            if (fetchOffsets[bucket] != null) {
+                reqForTable
+                        .addBucketsReq()
+                        .setBucketId(bucket)
+                        .setFetchOffset(fetchOffsets[bucket])
+                        .setMaxFetchBytes(512);
+            }
+        }
+        return request;
+    }
+
+    private static List<String> fetchOffsets(FetchLogRequest request) {
+        List<String> fetchOffsets = new ArrayList<>();
+        for (PbFetchLogReqForTable reqForTable : request.getTablesReqsList()) {
+            for (PbFetchLogReqForBucket reqForBucket : reqForTable.getBucketsReqsList()) {
+                fetchOffsets.add(reqForBucket.getBucketId() + "@" + reqForBucket.getFetchOffset());
+            }
+        }
+        return fetchOffsets;
+    }
+}
@@ -59,9 +59,11 @@ import org.apache.fluss.server.coordinator.event.DropPartitionEvent;
 import org.apache.fluss.server.coordinator.event.DropTableEvent;
 import org.apache.fluss.server.coordinator.event.EventProcessor;
 import org.apache.fluss.server.coordinator.event.FencedCoordinatorEvent;
+import org.apache.fluss.server.coordinator.event.FlushRemoteLogManifestCommitsEvent;
 import org.apache.fluss.server.coordinator.event.NewTabletServerEvent;
 import org.apache.fluss.server.coordinator.event.NotifyKvSnapshotOffsetEvent;
 import org.apache.fluss.server.coordinator.event.NotifyLeaderAndIsrResponseReceivedEvent;
+import org.apache.fluss.server.coordinator.event.RebalanceEvent;
 import org.apache.fluss.server.coordinator.event.watcher.TableChangeWatcher;
 import org.apache.fluss.server.coordinator.event.watcher.TabletServerChangeWatcher;
 import org.apache.fluss.server.coordinator.statemachine.ReplicaStateMachine;
@@ -99,6 +101,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -110,6 +113,7 @@ import java.util.stream.Collectors;
 import static org.apache.fluss.server.coordinator.statemachine.BucketState.OfflineBucket;
 import static org.apache.fluss.server.coordinator.statemachine.BucketState.OnlineBucket;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionStrategy.CONTROLLED_SHUTDOWN_ELECTION;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.NonExistentReplica;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.OfflineReplica;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.OnlineReplica;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.ReplicaDeletionStarted;
@@ -123,6 +127,9 @@ public class CoordinatorEventProcessor implements EventProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CoordinatorEventProcessor.class);
 
+    /** The maximum number of the remote log manifest commits written in one transaction. */
+    private static final int MAX_REMOTE_LOG_MANIFEST_COMMIT_BATCH_SIZE = 1024;
+
     private final ZooKeeperClient zooKeeperClient;
     private final ExecutorService ioExecutor;
     private final CoordinatorContext coordinatorContext;
@@ -133,6 +140,7 @@ public class CoordinatorEventProcessor implements EventProcessor {
     private final TableManager tableManager;
     private final AutoPartitionManager autoPartitionManager;
     private final LakeTableTieringManager lakeTableTieringManager;
+    private final RebalanceManager rebalanceManager;
     private final TableChangeWatcher tableChangeWatcher;
     private final CoordinatorChannelManager coordinatorChannelManager;
     private final TabletServerChangeWatcher tabletServerChangeWatcher;
@@ -143,6 +151,13 @@ public class CoordinatorEventProcessor implements EventProcessor {
 
     private final CompletedSnapshotStoreManager completedSnapshotStoreManager;
 
+    /**
+     * The remote log manifest commits which are waiting to be written to ZooKeeper together, only
+     * accessed by the coordinator event thread.
+     */
+    private final Map<TableBucket, CommitRemoteLogManifestEvent> pendingRemoteLogManifestCommits =
+            new LinkedHashMap<>();
+
     public CoordinatorEventProcessor(
             ZooKeeperClient zooKeeperClient,
             CoordinatorMetadataCache serverMetadataCache,
@@ -197,6 +212,18 @@ public class CoordinatorEventProcessor implements EventProcessor {
                         ioExecutor,
                         zooKeeperClient,
                         coordinatorMetricGroup);
+        this.rebalanceManager =
+                new RebalanceManager(
+                        coordinatorContext,
+                        replicaStateMachine,
+                        tableBucketStateMachine,
+                        new CoordinatorRequestBatch(
+                                coordinatorChannelManager,
+                                coordinatorEventManager,
+                                coordinatorContext),
+                        zooKeeperClient,
+                        coordinatorEventManager,
+                        conf);
         this.autoPartitionManager = autoPartitionManager;
         this.lakeTableTieringManager = lakeTableTieringManager;
         this.coordinatorMetricGroup = coordinatorMetricGroup;
@@ -235,6 +262,9 @@ public class CoordinatorEventProcessor implements EventProcessor {
         // start table manager
         tableManager.startup();
 
+        // resume the ongoing replica reassignments after the state machines are started
+        rebalanceManager.startup();
+
         // start the event manager which will then process the event
         coordinatorEventManager.start();
     }
@@ -481,7 +511,8 @@ public class CoordinatorEventProcessor implements EventProcessor {
     }
 
     private void onShutdown() {
-        // first shutdown table manager
+        // first stop the rebalance and shutdown table manager
+        rebalanceManager.close();
         tableManager.shutdown();
 
         // then stop watchers
@@ -518,6 +549,8 @@ public class CoordinatorEventProcessor implements EventProcessor {
                             makeAdjustIsrResponse(
                                     tryProcessAdjustIsr(
                                             adjustIsrReceivedEvent.getLeaderAndIsrMap())));
+            // the replica reassignments complete once the target replicas join the isr
+            rebalanceManager.onIsrChanged(adjustIsrReceivedEvent.getLeaderAndIsrMap().keySet());
         } else if (event instanceof CommitKvSnapshotEvent) {
             CommitKvSnapshotEvent commitKvSnapshotEvent = (CommitKvSnapshotEvent) event;
             tryProcessCommitKvSnapshot(
@@ -525,11 +558,9 @@ public class CoordinatorEventProcessor implements EventProcessor {
         } else if (event instanceof NotifyKvSnapshotOffsetEvent) {
             processNotifyKvSnapshotOffsetEvent((NotifyKvSnapshotOffsetEvent) event);
         } else if (event instanceof CommitRemoteLogManifestEvent) {
-            CommitRemoteLogManifestEvent commitRemoteLogManifestEvent =
-                    (CommitRemoteLogManifestEvent) event;
-            completeFromCallable(
-                    commitRemoteLogManifestEvent.getRespCallback(),
-                    () -> tryProcessCommitRemoteLogManifest(commitRemoteLogManifestEvent));
+            addPendingRemoteLogManifestCommit((CommitRemoteLogManifestEvent) event);
+        } else if (event instanceof FlushRemoteLogManifestCommitsEvent) {
+            flushRemoteLogManifestCommits();
         } else if (event instanceof CommitLakeTableSnapshotEvent) {
             CommitLakeTableSnapshotEvent commitLakeTableSnapshotEvent =
                     (CommitLakeTableSnapshotEvent) event;
@@ -541,6 +572,8 @@ public class CoordinatorEventProcessor implements EventProcessor {
             completeFromCallable(
                     controlledShutdownEvent.getRespCallback(),
                     () -> tryProcessControlledShutdown(controlledShutdownEvent));
+        } else if (event instanceof RebalanceEvent) {
+            rebalanceManager.rebalance();
         } else if (event instanceof AccessContextEvent) {
             AccessContextEvent<?> accessContextEvent = (AccessContextEvent<?>) event;
             processAccessContext(accessContextEvent);
@@ -730,6 +763,18 @@ public class CoordinatorEventProcessor implements EventProcessor {
         successDeletedReplicas.addAll(retryDeleteAndSuccessDeleteReplicas.f1);
         // transmit to deletion successful for success deleted replicas
         replicaStateMachine.handleStateChanges(successDeletedReplicas, ReplicaDeletionSuccessful);
+        // the replicas removed by the replica reassignments are gone once deleted, while the
+        // replicas of the deleted tables are cleaned up by the table manager
+        replicaStateMachine.handleStateChanges(
+                successDeletedReplicas.stream()
+                        .filter(
+                                replica ->
+                                        !coordinatorContext.isTableQueuedForDeletion(
+                                                        replica.getTableBucket().getTableId())
+                                                && !coordinatorContext.isToBeDeleted(
+                                                        replica.getTableBucket()))
+                        .collect(Collectors.toList()),
+                NonExistentReplica);
         // if any success deletion, we can resume
         if (!successDeletedReplicas.isEmpty()) {
             tableManager.resumeDeletions();
@@ -1119,6 +1164,90 @@ public class CoordinatorEventProcessor implements EventProcessor {
         }
 
         response.setCommitSuccess(true);
+        notifyRemoteLogOffsets(tb, manifestData);
+        return response;
+    }
+
+    private void addPendingRemoteLogManifestCommit(CommitRemoteLogManifestEvent event) {
+        if (pendingRemoteLogManifestCommits.containsKey(event.getTableBucket())) {
+            // keep the commits of the same bucket in order
+            flushRemoteLogManifestCommits();
+        }
+        if (pendingRemoteLogManifestCommits.isEmpty()) {
+            // the commits queued before the flush event are written together, which bounds the
+            // latency of the commits by the length of the event queue
+            coordinatorEventManager.put(new FlushRemoteLogManifestCommitsEvent());
+        }
+        pendingRemoteLogManifestCommits.put(event.getTableBucket(), event);
+        if (pendingRemoteLogManifestCommits.size() >= MAX_REMOTE_LOG_MANIFEST_COMMIT_BATCH_SIZE) {
+            flushRemoteLogManifestCommits();
+        }
+    }
+
+    /**
+     * Writes the pending remote log manifest commits to ZooKeeper in batched transactions instead
+     * of one by one, so that the commits of many buckets don't hold the event thread for long.
+     */
+    private void flushRemoteLogManifestCommits() {
+        if (pendingRemoteLogManifestCommits.isEmpty()) {
+            return;
+        }
+        List<CommitRemoteLogManifestEvent> commits =
+                new ArrayList<>(pendingRemoteLogManifestCommits.values());
+        pendingRemoteLogManifestCommits.clear();
+
+        // the fencing is checked when the commits are written, as the leaders may have changed
+        // since the commits became pending
+        List<CommitRemoteLogManifestEvent> validCommits = new ArrayList<>();
+        Map<TableBucket, RemoteLogManifestHandle> manifestHandles = new HashMap<>();
+        for (CommitRemoteLogManifestEvent commit : commits) {
+            CommitRemoteLogManifestData manifestData = commit.getCommitRemoteLogManifestData();
+            try {
+                validateFencedEvent(commit);
+            } catch (Exception e) {
+                LOG.error(
+                        "Error when commit remote log manifest, the leader need to revert the commit.",
+                        e);
+                CommitRemoteLogManifestResponse response = new CommitRemoteLogManifestResponse();
+                response.setCommitSuccess(false);
+                commit.getRespCallback().complete(response);
+                continue;
+            }
+            validCommits.add(commit);
+            manifestHandles.put(
+                    commit.getTableBucket(),
+                    new RemoteLogManifestHandle(
+                            manifestData.getRemoteLogManifestPath(),
+                            manifestData.getRemoteLogEndOffset()));
+        }
+
+        try {
+            zooKeeperClient.batchUpdateRemoteLogManifestHandles(manifestHandles);
+        } catch (Exception e) {
+            // it happens if the remote log manifest of any bucket is committed for the first
+            // time, fall back to commit the manifests one by one
+            LOG.debug(
+                    "Fail to batch commit {} remote log manifests, commit them one by one.",
+                    validCommits.size(),
+                    e);
+            for (CommitRemoteLogManifestEvent commit : validCommits) {
+                completeFromCallable(
+                        commit.getRespCallback(),
+                        () -> tryProcessCommitRemoteLogManifest(commit));
+            }
+            return;
+        }
+
+        for (CommitRemoteLogManifestEvent commit : validCommits) {
+            notifyRemoteLogOffsets(
+                    commit.getTableBucket(), commit.getCommitRemoteLogManifestData());
+            CommitRemoteLogManifestResponse response = new CommitRemoteLogManifestResponse();
+            response.setCommitSuccess(true);
+            commit.getRespCallback().complete(response);
+        }
+    }
+
+    private void notifyRemoteLogOffsets(TableBucket tb, CommitRemoteLogManifestData manifestData) {
         // send notify remote log offsets request to all replicas.
         coordinatorRequestBatch.newBatch();
         coordinatorContext
@@ -1134,7 +1263,6 @@ public class CoordinatorEventProcessor implements EventProcessor {
                                                 manifestData.getRemoteLogEndOffset()));
         coordinatorRequestBatch.sendNotifyRemoteLogOffsetsRequest(
                 coordinatorContext.getCoordinatorEpoch());
-        return response;
     }
 
     private <T> void processAccessContext(AccessContextEvent<T> event) {
@@ -1357,4 +1485,9 @@ public class CoordinatorEventProcessor implements EventProcessor {
     CompletedSnapshotStoreManager completedSnapshotStoreManager() {
         return completedSnapshotStoreManager;
     }
+
+    @VisibleForTesting
+    RebalanceManager rebalanceManager() {
+        return rebalanceManager;
+    }
 }
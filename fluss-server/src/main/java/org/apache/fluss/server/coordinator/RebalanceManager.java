@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.FlussRuntimeException;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableBucketReplica;
+import org.apache.fluss.metadata.TablePartition;
+import org.apache.fluss.server.coordinator.event.EventManager;
+import org.apache.fluss.server.coordinator.event.RebalanceEvent;
+import org.apache.fluss.server.coordinator.statemachine.ReplicaStateMachine;
+import org.apache.fluss.server.coordinator.statemachine.TableBucketStateMachine;
+import org.apache.fluss.server.zk.ZooKeeperClient;
+import org.apache.fluss.server.zk.data.BucketAssignment;
+import org.apache.fluss.server.zk.data.LeaderAndIsr;
+import org.apache.fluss.server.zk.data.PartitionAssignment;
+import org.apache.fluss.server.zk.data.ReplicaReassignment;
+import org.apache.fluss.server.zk.data.TableAssignment;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.apache.fluss.server.coordinator.statemachine.BucketState.OnlineBucket;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionStrategy.PREFERRED_REPLICA_ELECTION;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.NewReplica;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.OfflineReplica;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.OnlineReplica;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaState.ReplicaDeletionStarted;
+
+/**
+ * The manager to rebalance the leaders and replicas of the table buckets across the tablet servers.
+ * It's only accessed by the coordinator event thread, except that the periodic rebalance is
+ * triggered by putting a {@link RebalanceEvent} to the coordinator event manager.
+ *
+ * <p>A replica reassignment moves the replicas of a bucket to the target replicas in two steps:
+ *
+ * <ol>
+ *   <li>The replicas of the bucket are extended to the target replicas followed by the replicas to
+ *       be removed, the new replicas are created and start to fetch from the leader.
+ *   <li>Once all the target replicas join the isr, the leader is moved to a target replica if
+ *       required, and the replicas to be removed are stopped and deleted.
+ * </ol>
+ *
+ * <p>The ongoing reassignments are persisted in ZooKeeper, so that they are resumed by a new
+ * coordinator server after failover.
+ */
+public class RebalanceManager implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RebalanceManager.class);
+
+    private final CoordinatorContext coordinatorContext;
+    private final ReplicaStateMachine replicaStateMachine;
+    private final TableBucketStateMachine tableBucketStateMachine;
+    private final CoordinatorRequestBatch coordinatorRequestBatch;
+    private final ZooKeeperClient zooKeeperClient;
+    private final EventManager eventManager;
+
+    private final boolean rebalanceEnabled;
+    private final long rebalanceIntervalMs;
+    private final int maxMoves;
+    private final ScheduledExecutorService periodicExecutor;
+
+    /** The target replicas of the buckets whose replicas are being reassigned. */
+    private final Map<TableBucket, List<Integer>> ongoingReassignments = new LinkedHashMap<>();
+
+    public RebalanceManager(
+            CoordinatorContext coordinatorContext,
+            ReplicaStateMachine replicaStateMachine,
+            TableBucketStateMachine tableBucketStateMachine,
+            CoordinatorRequestBatch coordinatorRequestBatch,
+            ZooKeeperClient zooKeeperClient,
+            EventManager eventManager,
+            Configuration conf) {
+        this.coordinatorContext = coordinatorContext;
+        this.replicaStateMachine = replicaStateMachine;
+        this.tableBucketStateMachine = tableBucketStateMachine;
+        this.coordinatorRequestBatch = coordinatorRequestBatch;
+        this.zooKeeperClient = zooKeeperClient;
+        this.eventManager = eventManager;
+        this.rebalanceEnabled = conf.getBoolean(ConfigOptions.COORDINATOR_REBALANCE_ENABLED);
+        this.rebalanceIntervalMs =
+                conf.get(ConfigOptions.COORDINATOR_REBALANCE_INTERVAL).toMillis();
+        this.maxMoves = conf.getInt(ConfigOptions.COORDINATOR_REBALANCE_MAX_MOVES);
+        this.periodicExecutor =
+                Executors.newScheduledThreadPool(
+                        1, new ExecutorThreadFactory("periodic-rebalance-manager"));
+    }
+
+    /**
+     * Resumes the ongoing reassignments persisted in ZooKeeper, and schedules the periodic
+     * rebalance if it's enabled.
+     */
+    public void startup() {
+        Optional<ReplicaReassignment> reassignment;
+        try {
+            reassignment = zooKeeperClient.getReplicaReassignment();
+        } catch (Exception e) {
+            throw new FlussRuntimeException("Fail to get the replica reassignments.", e);
+        }
+        if (reassignment.isPresent() && !reassignment.get().isEmpty()) {
+            LOG.info("Resume the replica reassignments {}.", reassignment.get());
+            reassignReplicas(reassignment.get().getTargetReplicas());
+        }
+
+        if (rebalanceEnabled) {
+            LOG.info("Schedule the rebalance with interval {} ms.", rebalanceIntervalMs);
+            periodicExecutor.scheduleWithFixedDelay(
+                    () -> eventManager.put(new RebalanceEvent()),
+                    rebalanceIntervalMs,
+                    rebalanceIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Rebalances the leaders and replicas of the table buckets. It moves the leaders back to the
+     * preferred replicas, and plans new replica moves only if there is no ongoing reassignment.
+     */
+    public void rebalance() {
+        tryCompleteReassignments(new ArrayList<>(ongoingReassignments.keySet()));
+        electPreferredLeaders();
+        if (!ongoingReassignments.isEmpty()) {
+            LOG.info(
+                    "Skip planning the replica moves as the reassignments of {} are in progress.",
+                    ongoingReassignments.keySet());
+            return;
+        }
+
+        Map<TableBucket, List<Integer>> assignments = new HashMap<>();
+        for (TableBucket tableBucket : coordinatorContext.allBuckets()) {
+            if (!coordinatorContext.isToBeDeleted(tableBucket)) {
+                assignments.put(tableBucket, coordinatorContext.getAssignment(tableBucket));
+            }
+        }
+        Map<Integer, String> serverRacks = new HashMap<>();
+        Set<Integer> shuttingDownServers = coordinatorContext.shuttingDownTabletServers();
+        coordinatorContext
+                .getLiveTabletServers()
+                .forEach(
+                        (serverId, serverInfo) -> {
+                            if (!shuttingDownServers.contains(serverId)) {
+                                serverRacks.put(serverId, serverInfo.rack());
+                            }
+                        });
+        Map<TableBucket, List<Integer>> moves =
+                RebalancePlanner.planReplicaMoves(assignments, serverRacks, maxMoves);
+        if (!moves.isEmpty()) {
+            LOG.info("Rebalance the replicas of the table buckets with moves {}.", moves);
+            reassignReplicas(moves);
+        }
+    }
+
+    /** Starts to reassign the replicas of the given buckets to the given target replicas. */
+    public void reassignReplicas(Map<TableBucket, List<Integer>> targetReplicas) {
+        Map<TableBucket, List<Integer>> newReassignments = new LinkedHashMap<>();
+        targetReplicas.forEach(
+                (tableBucket, target) -> {
+                    if (coordinatorContext.getAssignment(tableBucket).isEmpty()
+                            || coordinatorContext.isToBeDeleted(tableBucket)) {
+                        LOG.warn(
+                                "Skip the replica reassignment of bucket {} as it doesn't exist "
+                                        + "or is to be deleted.",
+                                tableBucket);
+                    } else if (!ongoingReassignments.containsKey(tableBucket)) {
+                        newReassignments.put(tableBucket, new ArrayList<>(target));
+                    }
+                });
+        if (newReassignments.isEmpty()) {
+            return;
+        }
+
+        // persist the reassignments before changing the assignments, so that the reassignments
+        // are always resumed after failover
+        ongoingReassignments.putAll(newReassignments);
+        if (!persistReassignments()) {
+            ongoingReassignments.keySet().removeAll(newReassignments.keySet());
+            return;
+        }
+        newReassignments.forEach(this::startReassignment);
+        tryCompleteReassignments(newReassignments.keySet());
+    }
+
+    /** Tries to complete the reassignments of the given buckets after their isr changed. */
+    public void onIsrChanged(Collection<TableBucket> tableBuckets) {
+        List<TableBucket> reassigningBuckets =
+                tableBuckets.stream()
+                        .filter(ongoingReassignments::containsKey)
+                        .collect(Collectors.toList());
+        if (!reassigningBuckets.isEmpty()) {
+            tryCompleteReassignments(reassigningBuckets);
+        }
+    }
+
+    private void startReassignment(TableBucket tableBucket, List<Integer> targetReplicas) {
+        List<Integer> currentReplicas = coordinatorContext.getAssignment(tableBucket);
+        // the target replicas go first, so that the leader is elected from the target replicas
+        List<Integer> reassigningReplicas = new ArrayList<>(targetReplicas);
+        for (Integer replica : currentReplicas) {
+            if (!targetReplicas.contains(replica)) {
+                reassigningReplicas.add(replica);
+            }
+        }
+        if (!reassigningReplicas.equals(currentReplicas)
+                && !updateAssignment(tableBucket, reassigningReplicas)) {
+            return;
+        }
+
+        Set<TableBucketReplica> newReplicas = new HashSet<>();
+        for (Integer replica : targetReplicas) {
+            TableBucketReplica bucketReplica = new TableBucketReplica(tableBucket, replica);
+            if (coordinatorContext.getReplicaState(bucketReplica) == null) {
+                newReplicas.add(bucketReplica);
+            }
+        }
+        replicaStateMachine.handleStateChanges(newReplicas, NewReplica);
+        replicaStateMachine.handleStateChanges(newReplicas, OnlineReplica);
+        // the new replicas start to fetch from the leader once they are notified, and the leader
+        // starts to track them
+        coordinatorContext
+                .getBucketLeaderAndIsr(tableBucket)
+                .ifPresent(
+                        leaderAndIsr ->
+                                notifyReplicas(tableBucket, reassigningReplicas, leaderAndIsr));
+        LOG.info(
+                "Started the replica reassignment of bucket {} from {} to {}.",
+                tableBucket,
+                currentReplicas,
+                targetReplicas);
+    }
+
+    private void tryCompleteReassignments(Collection<TableBucket> tableBuckets) {
+        boolean changed = false;
+        for (TableBucket tableBucket : tableBuckets) {
+            changed |= tryCompleteReassignment(tableBucket);
+        }
+        if (changed) {
+            persistReassignments();
+        }
+    }
+
+    /** Returns true if the reassignment of the bucket is completed or dropped. */
+    private boolean tryCompleteReassignment(TableBucket tableBucket) {
+        List<Integer> targetReplicas = ongoingReassignments.get(tableBucket);
+        if (targetReplicas == null) {
+            return false;
+        }
+        List<Integer> currentReplicas = coordinatorContext.getAssignment(tableBucket);
+        if (currentReplicas.isEmpty() || coordinatorContext.isToBeDeleted(tableBucket)) {
+            LOG.info(
+                    "Drop the replica reassignment of bucket {} as it's deleted.", tableBucket);
+            ongoingReassignments.remove(tableBucket);
+            return true;
+        }
+        Optional<LeaderAndIsr> leaderAndIsrOpt =
+                coordinatorContext.getBucketLeaderAndIsr(tableBucket);
+        if (!leaderAndIsrOpt.isPresent()
+                || !leaderAndIsrOpt.get().isr().containsAll(targetReplicas)) {
+            // wait for the target replicas to catch up with the leader
+            return false;
+        }
+
+        if (!targetReplicas.contains(leaderAndIsrOpt.get().leader())) {
+            // the default election picks the first alive replica in isr, which is a target
+            // replica as the target replicas go first
+            tableBucketStateMachine.handleStateChange(
+                    Collections.singleton(tableBucket), OnlineBucket);
+            Optional<LeaderAndIsr> newLeaderAndIsr =
+                    coordinatorContext.getBucketLeaderAndIsr(tableBucket);
+            if (!newLeaderAndIsr.isPresent()
+                    || !targetReplicas.contains(newLeaderAndIsr.get().leader())) {
+                LOG.warn(
+                        "Fail to move the leader of bucket {} to the target replicas {}, "
+                                + "will retry later.",
+                        tableBucket,
+                        targetReplicas);
+                return false;
+            }
+        }
+
+        Set<TableBucketReplica> removingReplicas = new HashSet<>();
+        for (Integer replica : currentReplicas) {
+            if (!targetReplicas.contains(replica)) {
+                removingReplicas.add(new TableBucketReplica(tableBucket, replica));
+            }
+        }
+        if (!updateAssignment(tableBucket, targetReplicas)) {
+            return false;
+        }
+        // the removed replicas are removed from the isr when they go offline, and are deleted
+        // from the tablet servers afterwards
+        replicaStateMachine.handleStateChanges(removingReplicas, OfflineReplica);
+        replicaStateMachine.handleStateChanges(removingReplicas, ReplicaDeletionStarted);
+        coordinatorContext
+                .getBucketLeaderAndIsr(tableBucket)
+                .ifPresent(
+                        leaderAndIsr -> notifyReplicas(tableBucket, targetReplicas, leaderAndIsr));
+        ongoingReassignments.remove(tableBucket);
+        LOG.info(
+                "Completed the replica reassignment of bucket {} to {}.",
+                tableBucket,
+                targetReplicas);
+        return true;
+    }
+
+    private void electPreferredLeaders() {
+        Set<TableBucket> buckets = new HashSet<>();
+        Set<Integer> shuttingDownServers = coordinatorContext.shuttingDownTabletServers();
+        coordinatorContext
+                .bucketLeaderAndIsr()
+                .forEach(
+                        (tableBucket, leaderAndIsr) -> {
+                            List<Integer> assignment =
+                                    coordinatorContext.getAssignment(tableBucket);
+                            if (assignment.isEmpty()
+                                    || ongoingReassignments.containsKey(tableBucket)
+                                    || coordinatorContext.isToBeDeleted(tableBucket)
+                                    || coordinatorContext.getBucketState(tableBucket)
+                                            != OnlineBucket) {
+                                return;
+                            }
+                            int preferredReplica = assignment.get(0);
+                            if (leaderAndIsr.leader() != preferredReplica
+                                    && leaderAndIsr.isr().contains(preferredReplica)
+                                    && coordinatorContext.isReplicaOnline(
+                                            preferredReplica, tableBucket)
+                                    && !shuttingDownServers.contains(preferredReplica)) {
+                                buckets.add(tableBucket);
+                            }
+                        });
+        if (!buckets.isEmpty()) {
+            LOG.info("Move the leaders of buckets {} back to the preferred replicas.", buckets);
+            tableBucketStateMachine.handleStateChange(
+                    buckets, OnlineBucket, PREFERRED_REPLICA_ELECTION);
+        }
+    }
+
+    /** Updates the replicas of the bucket in ZooKeeper and the coordinator context. */
+    private boolean updateAssignment(TableBucket tableBucket, List<Integer> replicas) {
+        long tableId = tableBucket.getTableId();
+        Long partitionId = tableBucket.getPartitionId();
+        Map<Integer, List<Integer>> bucketReplicas =
+                partitionId == null
+                        ? coordinatorContext.getTableAssignment(tableId)
+                        : coordinatorContext.getPartitionAssignment(
+                                new TablePartition(tableId, partitionId));
+        Map<Integer, BucketAssignment> bucketAssignments = new HashMap<>();
+        bucketReplicas.forEach(
+                (bucket, assignment) ->
+                        bucketAssignments.put(
+                                bucket,
+                                new BucketAssignment(
+                                        bucket == tableBucket.getBucket()
+                                                ? replicas
+                                                : assignment)));
+        try {
+            if (partitionId == null) {
+                zooKeeperClient.updateTableAssignment(
+                        tableId, new TableAssignment(bucketAssignments));
+            } else {
+                zooKeeperClient.updatePartitionAssignment(
+                        partitionId, new PartitionAssignment(tableId, bucketAssignments));
+            }
+        } catch (Exception e) {
+            LOG.error(
+                    "Fail to update the assignment of bucket {} to {}.", tableBucket, replicas, e);
+            return false;
+        }
+        coordinatorContext.updateBucketReplicaAssignment(tableBucket, replicas);
+        return true;
+    }
+
+    private void notifyReplicas(
+            TableBucket tableBucket, List<Integer> replicas, LeaderAndIsr leaderAndIsr) {
+        String partitionName = null;
+        if (tableBucket.getPartitionId() != null) {
+            partitionName = coordinatorContext.getPartitionName(tableBucket.getPartitionId());
+            if (partitionName == null) {
+                return;
+            }
+        }
+        Set<Integer> onlineReplicas =
+                replicas.stream()
+                        .filter(replica -> coordinatorContext.isReplicaOnline(replica, tableBucket))
+                        .collect(Collectors.toSet());
+        coordinatorRequestBatch.newBatch();
+        coordinatorRequestBatch.addNotifyLeaderRequestForTabletServers(
+                onlineReplicas,
+                PhysicalTablePath.of(
+                        coordinatorContext.getTablePathById(tableBucket.getTableId()),
+                        partitionName),
+                tableBucket,
+                coordinatorContext.getAssignment(tableBucket),
+                leaderAndIsr);
+        coordinatorRequestBatch.sendRequestToTabletServers(
+                coordinatorContext.getCoordinatorEpoch());
+    }
+
+    private boolean persistReassignments() {
+        try {
+            zooKeeperClient.upsertReplicaReassignment(
+                    new ReplicaReassignment(ongoingReassignments));
+            return true;
+        } catch (Exception e) {
+            LOG.error("Fail to persist the replica reassignments {}.", ongoingReassignments, e);
+            return false;
+        }
+    }
+
+    @VisibleForTesting
+    Map<TableBucket, List<Integer>> getOngoingReassignments() {
+        return Collections.unmodifiableMap(ongoingReassignments);
+    }
+
+    @Override
+    public void close() {
+        periodicExecutor.shutdownNow();
+    }
+}
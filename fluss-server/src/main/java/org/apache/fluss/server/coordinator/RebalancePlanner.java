@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator;
+
+import org.apache.fluss.metadata.TableBucket;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The planner to compute the replica moves which spread the replicas of the table buckets evenly
+ * across the live tablet servers. It moves a replica from the most loaded tablet server to the
+ * least loaded tablet server which doesn't hold the bucket yet, until the difference of the
+ * numbers of the replicas between any two tablet servers is at most one.
+ *
+ * <p>A moved replica takes the place of the replaced replica in the assignment, so the moved
+ * replica also takes over the preferred leadership if the replaced replica is the preferred
+ * replica. The planner prefers the destination tablet server whose rack doesn't hold the other
+ * replicas of the bucket yet.
+ */
+final class RebalancePlanner {
+
+    private static final Comparator<TableBucket> BUCKET_ORDER =
+            Comparator.comparingLong(TableBucket::getTableId)
+                    .thenComparingLong(
+                            tb -> tb.getPartitionId() == null ? -1L : tb.getPartitionId())
+                    .thenComparingInt(TableBucket::getBucket);
+
+    private RebalancePlanner() {}
+
+    /**
+     * Plans the replica moves.
+     *
+     * @param assignments the current replica assignments of the buckets which are allowed to move,
+     *     the buckets whose replicas are not all alive are never moved
+     * @param serverRacks the live tablet servers and their racks, the rack may be null
+     * @param maxMoves the maximum number of the buckets to move
+     * @return the target replicas of the buckets to move
+     */
+    static Map<TableBucket, List<Integer>> planReplicaMoves(
+            Map<TableBucket, List<Integer>> assignments,
+            Map<Integer, String> serverRacks,
+            int maxMoves) {
+        Map<Integer, List<TableBucket>> bucketsByServer = new TreeMap<>();
+        serverRacks.keySet().forEach(server -> bucketsByServer.put(server, new ArrayList<>()));
+        Map<TableBucket, List<Integer>> currentReplicas = new HashMap<>();
+        Set<TableBucket> movableBuckets = new HashSet<>();
+        for (Map.Entry<TableBucket, List<Integer>> entry : assignments.entrySet()) {
+            boolean allAlive = true;
+            for (Integer replica : entry.getValue()) {
+                List<TableBucket> buckets = bucketsByServer.get(replica);
+                if (buckets == null) {
+                    allAlive = false;
+                } else {
+                    buckets.add(entry.getKey());
+                }
+            }
+            currentReplicas.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            if (allAlive) {
+                movableBuckets.add(entry.getKey());
+            }
+        }
+        bucketsByServer.values().forEach(buckets -> buckets.sort(BUCKET_ORDER));
+
+        Map<TableBucket, List<Integer>> moves = new LinkedHashMap<>();
+        while (moves.size() < maxMoves) {
+            Move move = nextMove(bucketsByServer, currentReplicas, movableBuckets, serverRacks);
+            if (move == null) {
+                break;
+            }
+            List<Integer> replicas = currentReplicas.get(move.bucket);
+            replicas.set(replicas.indexOf(move.source), move.destination);
+            bucketsByServer.get(move.source).remove(move.bucket);
+            bucketsByServer.get(move.destination).add(move.bucket);
+            bucketsByServer.get(move.destination).sort(BUCKET_ORDER);
+            // every bucket is moved at most once in a plan
+            movableBuckets.remove(move.bucket);
+            moves.put(move.bucket, replicas);
+        }
+        return moves;
+    }
+
+    @Nullable
+    private static Move nextMove(
+            Map<Integer, List<TableBucket>> bucketsByServer,
+            Map<TableBucket, List<Integer>> currentReplicas,
+            Set<TableBucket> movableBuckets,
+            Map<Integer, String> serverRacks) {
+        List<Integer> servers = new ArrayList<>(bucketsByServer.keySet());
+        // from the least loaded to the most loaded, the ties are broken by the server id
+        servers.sort(Comparator.comparingInt(server -> bucketsByServer.get(server).size()));
+        for (boolean rackAware : new boolean[] {true, false}) {
+            for (int i = servers.size() - 1; i > 0; i--) {
+                int source = servers.get(i);
+                for (int j = 0; j < i; j++) {
+                    int destination = servers.get(j);
+                    if (bucketsByServer.get(source).size()
+                                    - bucketsByServer.get(destination).size()
+                            <= 1) {
+                        break;
+                    }
+                    for (TableBucket bucket : bucketsByServer.get(source)) {
+                        List<Integer> replicas = currentReplicas.get(bucket);
+                        if (movableBuckets.contains(bucket)
+                                && !replicas.contains(destination)
+                                && (!rackAware
+                                        || isRackDiverse(
+                                                replicas, source, destination, serverRacks))) {
+                            return new Move(bucket, source, destination);
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Returns true if the rack of the destination doesn't hold the other replicas. */
+    private static boolean isRackDiverse(
+            Collection<Integer> replicas,
+            int source,
+            int destination,
+            Map<Integer, String> serverRacks) {
+        String destinationRack = serverRacks.get(destination);
+        if (destinationRack == null) {
+            return true;
+        }
+        for (Integer replica : replicas) {
+            if (replica != source && Objects.equals(serverRacks.get(replica), destinationRack)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Move {
+        private final TableBucket bucket;
+        private final int source;
+        private final int destination;
+
+        private Move(TableBucket bucket, int source, int destination) {
+            this.bucket = bucket;
+            this.source = source;
+            this.destination = destination;
+        }
+    }
+}
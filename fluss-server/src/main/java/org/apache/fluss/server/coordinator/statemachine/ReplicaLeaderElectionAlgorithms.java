@@ -113,4 +113,28 @@ public class ReplicaLeaderElectionAlgorithms {
         }
         return Optional.empty();
     }
+
+    /**
+     * Preferred replica leader election, which moves the leader back to the preferred replica
+     * (i.e., the first replica in assignment) to spread the leaders across the tablet servers.
+     *
+     * @param assignments the assignments
+     * @param aliveReplicas the alive replicas
+     * @param leaderAndIsr the original leaderAndIsr
+     * @return the election result, empty if the preferred replica isn't alive or not in isr
+     */
+    public static Optional<ElectionResult> preferredReplicaLeaderElection(
+            List<Integer> assignments, List<Integer> aliveReplicas, LeaderAndIsr leaderAndIsr) {
+        if (assignments.isEmpty()) {
+            return Optional.empty();
+        }
+        int preferredReplica = assignments.get(0);
+        List<Integer> isr = leaderAndIsr.isr();
+        if (aliveReplicas.contains(preferredReplica) && isr.contains(preferredReplica)) {
+            return Optional.of(
+                    new ElectionResult(
+                            aliveReplicas, leaderAndIsr.newLeaderAndIsr(preferredReplica, isr)));
+        }
+        return Optional.empty();
+    }
 }
@@ -20,5 +20,6 @@ package org.apache.fluss.server.coordinator.statemachine;
 /** The strategies to elect the replica leader. */
 public enum ReplicaLeaderElectionStrategy {
     DEFAULT_ELECTION,
-    CONTROLLED_SHUTDOWN_ELECTION
+    CONTROLLED_SHUTDOWN_ELECTION,
+    PREFERRED_REPLICA_ELECTION
 }
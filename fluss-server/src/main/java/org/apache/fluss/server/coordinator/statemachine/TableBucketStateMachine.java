@@ -43,8 +43,10 @@ import java.util.stream.Collectors;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.controlledShutdownReplicaLeaderElection;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.defaultReplicaLeaderElection;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.initReplicaLeaderElection;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.preferredReplicaLeaderElection;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionStrategy.CONTROLLED_SHUTDOWN_ELECTION;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionStrategy.DEFAULT_ELECTION;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionStrategy.PREFERRED_REPLICA_ELECTION;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
@@ -580,6 +582,7 @@ public class TableBucketStateMachine {
      * <ol>
      *   <li>new or offline bucket
      *   <li>tabletServer controlled shutdown
+     *   <li>moving the leader back to the preferred replica
      * </ol>
      */
     private Optional<ElectionResult> electLeader(
@@ -606,6 +609,8 @@ public class TableBucketStateMachine {
             resultOpt =
                     controlledShutdownReplicaLeaderElection(
                             assignment, liveReplicas, leaderAndIsr, shuttingDownTabletServers);
+        } else if (electionStrategy == PREFERRED_REPLICA_ELECTION) {
+            resultOpt = preferredReplicaLeaderElection(assignment, liveReplicas, leaderAndIsr);
         }
 
         if (!resultOpt.isPresent()) {
@@ -18,6 +18,7 @@
 package org.apache.fluss.server.entity;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.rpc.messages.PbPredicate;
 
 import javax.annotation.Nullable;
 
@@ -30,6 +31,8 @@ public final class FetchReqInfo {
     private final long tableId;
     private final long fetchOffset;
     @Nullable private final int[] projectFields;
+    // the row filter in wire format, which is decoded against the schema of the replica
+    @Nullable private final PbPredicate filter;
 
     private int maxBytes;
 
@@ -39,10 +42,20 @@ public final class FetchReqInfo {
 
     public FetchReqInfo(
             long tableId, long fetchOffset, int maxBytes, @Nullable int[] projectFields) {
+        this(tableId, fetchOffset, maxBytes, projectFields, null);
+    }
+
+    public FetchReqInfo(
+            long tableId,
+            long fetchOffset,
+            int maxBytes,
+            @Nullable int[] projectFields,
+            @Nullable PbPredicate filter) {
         this.tableId = tableId;
         this.fetchOffset = fetchOffset;
         this.maxBytes = maxBytes;
         this.projectFields = projectFields;
+        this.filter = filter;
     }
 
     public long getTableId() {
@@ -66,6 +79,11 @@ public final class FetchReqInfo {
         return projectFields;
     }
 
+    @Nullable
+    public PbPredicate getFilter() {
+        return filter;
+    }
+
     @Override
     public String toString() {
         return "FetchData{"
@@ -77,6 +95,8 @@ public final class FetchReqInfo {
                 + maxBytes
                 + ", projectionFields="
                 + Arrays.toString(projectFields)
+                + ", filter="
+                + filter
                 + '}';
     }
 
@@ -97,11 +117,26 @@ public final class FetchReqInfo {
             return false;
         }
 
+        // the generated messages don't implement equals, compare the filters in wire format
+        if (!Arrays.equals(filterBytes(), fetchReqInfo.filterBytes())) {
+            return false;
+        }
+
         return fetchOffset == fetchReqInfo.fetchOffset && maxBytes == fetchReqInfo.maxBytes;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(tableId, fetchOffset, maxBytes, Arrays.hashCode(projectFields));
+        return Objects.hash(
+                tableId,
+                fetchOffset,
+                maxBytes,
+                Arrays.hashCode(projectFields),
+                Arrays.hashCode(filterBytes()));
+    }
+
+    @Nullable
+    private byte[] filterBytes() {
+        return filter == null ? null : filter.toByteArray();
     }
 }
@@ -32,8 +32,11 @@ import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.server.TabletManagerBase;
+import org.apache.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.kv.snapshot.KvSnapshotLocalCache;
 import org.apache.fluss.server.log.LogManager;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
@@ -48,6 +51,7 @@ import org.apache.fluss.utils.types.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.File;
@@ -85,6 +89,15 @@ public final class KvManager extends TabletManagerBase {
     /** The memory segment pool to allocate memorySegment. */
     private final MemorySegmentPool memorySegmentPool;
 
+    /** The pool shared by the off-heap pre-write buffers of all the kv tablets. */
+    private final LazyMemorySegmentPool preWriteBufferPool;
+
+    /**
+     * The block cache and write buffer manager shared by the RocksDB of all the kv tablets, null if
+     * the shared memory of RocksDB is disabled.
+     */
+    private final @Nullable RocksDBSharedResources rocksDBSharedResources;
+
     private final FsPath remoteKvDir;
 
     private final FileSystem remoteFileSystem;
@@ -101,10 +114,20 @@ public final class KvManager extends TabletManagerBase {
         this.logManager = logManager;
         this.arrowBufferAllocator = new RootAllocator(Long.MAX_VALUE);
         this.memorySegmentPool = LazyMemorySegmentPool.createServerBufferPool(conf);
+        this.preWriteBufferPool = LazyMemorySegmentPool.createKvPreWriteBufferPool(conf);
         this.zkClient = zkClient;
         this.remoteKvDir = FlussPaths.remoteKvDir(conf);
         this.remoteFileSystem = remoteKvDir.getFileSystem();
         this.serverMetricGroup = tabletServerMetricGroup;
+        this.rocksDBSharedResources = RocksDBSharedResources.create(conf);
+        if (rocksDBSharedResources != null) {
+            serverMetricGroup.gauge(
+                    MetricNames.KV_ROCKSDB_BLOCK_CACHE_MEMORY_USAGE,
+                    rocksDBSharedResources::getBlockCacheUsage);
+            serverMetricGroup.gauge(
+                    MetricNames.KV_ROCKSDB_BLOCK_CACHE_PINNED_MEMORY_USAGE,
+                    rocksDBSharedResources::getBlockCachePinnedUsage);
+        }
     }
 
     public static KvManager create(
@@ -140,6 +163,11 @@ public final class KvManager extends TabletManagerBase {
         }
         arrowBufferAllocator.close();
         memorySegmentPool.close();
+        preWriteBufferPool.close();
+        // close the shared resources after all the kv tablets using them are closed
+        if (rocksDBSharedResources != null) {
+            rocksDBSharedResources.close();
+        }
         LOG.info("Shut down KvManager complete.");
     }
 
@@ -183,6 +211,8 @@ public final class KvManager extends TabletManagerBase {
                                     serverMetricGroup,
                                     arrowBufferAllocator,
                                     memorySegmentPool,
+                                    preWriteBufferPool,
+                                    rocksDBSharedResources,
                                     kvFormat,
                                     schema,
                                     merger,
@@ -216,10 +246,34 @@ public final class KvManager extends TabletManagerBase {
         return tabletDir;
     }
 
+    /**
+     * Creates the local cache of the sst files of the kv snapshots for the given table bucket, see
+     * {@link KvSnapshotLocalCache}.
+     *
+     * @return the local cache, null if the local cache is disabled
+     */
+    @Nullable
+    public KvSnapshotLocalCache createSnapshotLocalCache(TableBucket tableBucket) {
+        if (!conf.getBoolean(ConfigOptions.KV_SNAPSHOT_LOCAL_CACHE_ENABLED)) {
+            return null;
+        }
+        return new KvSnapshotLocalCache(FlussPaths.kvSnapshotLocalCacheDir(dataDir, tableBucket));
+    }
+
     public Optional<KvTablet> getKv(TableBucket tableBucket) {
         return Optional.ofNullable(currentKvs.get(tableBucket));
     }
 
+    /** Returns the memory segment pool of the server to build the log records. */
+    public MemorySegmentPool getMemorySegmentPool() {
+        return memorySegmentPool;
+    }
+
+    /** Returns the arrow buffer allocator of the server to write the arrow log records. */
+    public BufferAllocator getArrowBufferAllocator() {
+        return arrowBufferAllocator;
+    }
+
     public void dropKv(TableBucket tableBucket) {
         KvTablet dropKvTablet =
                 inLock(tabletCreationOrDeletionLock, () -> currentKvs.remove(tableBucket));
@@ -292,6 +346,8 @@ public final class KvManager extends TabletManagerBase {
                         serverMetricGroup,
                         arrowBufferAllocator,
                         memorySegmentPool,
+                        preWriteBufferPool,
+                        rocksDBSharedResources,
                         tableInfo.getTableConfig().getKvFormat(),
                         tableInfo.getSchema(),
                         rowMerger,
@@ -45,6 +45,12 @@ import org.apache.fluss.utils.function.ThrowingConsumer;
 
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import static org.apache.fluss.server.TabletManagerBase.getTableInfo;
 
 /** A helper for recovering Kv from log. */
@@ -59,11 +65,16 @@ public class KvRecoverHelper {
     // will be initialized when first encounter a log record during recovering from log
     private Integer currentSchemaId;
     private RowType currentRowType;
+    private List<String> physicalPrimaryKeys;
+    private @Nullable DataLakeFormat lakeFormat;
+
+    // the decoder to decode the log batches in the recovering thread
+    private LogRecordDecoder decoder;
 
-    private KeyEncoder keyEncoder;
-    private RowEncoder rowEncoder;
+    private long nextApplyOffset;
 
-    private InternalRow.FieldGetter[] currentFieldGetters;
+    // the log offset before which the records have been read and applied, for reporting progress
+    private volatile long appliedOffset;
 
     public KvRecoverHelper(
             KvTablet kvTablet,
@@ -76,6 +87,8 @@ public class KvRecoverHelper {
         this.recoverPointOffset = recoverPointOffset;
         this.recoverContext = recoverContext;
         this.kvFormat = kvFormat;
+        this.nextApplyOffset = recoverPointOffset;
+        this.appliedOffset = recoverPointOffset;
     }
 
     public void recover() throws Exception {
@@ -89,9 +102,78 @@ public class KvRecoverHelper {
         // after the corresponding log offset is acked(when high watermark is advanced to the
         // offset)
 
-        long nextLogOffset = recoverPointOffset;
-        // read to high watermark
-        try (KvBatchWriter kvBatchWriter = kvTablet.createKvBatchWriter()) {
+        // read to high watermark, the all data up to nextLogOffset will be flush into kv,
+        // bulk load them by ingesting sst files if the bulk mode is enabled
+        long nextLogOffset =
+                applyToKv(
+                        recoverPointOffset,
+                        FetchIsolation.HIGH_WATERMARK,
+                        Long.MAX_VALUE,
+                        Long.MAX_VALUE,
+                        recoverContext.bulkLoadThreadPool != null);
+
+        // read to log end offset
+        ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordApplier =
+                (resumeRecord) ->
+                        kvTablet.putToPreWriteBuffer(
+                                resumeRecord.key, resumeRecord.value, resumeRecord.logOffset);
+        readLogRecordsAndApply(
+                nextLogOffset,
+                FetchIsolation.LOG_END,
+                Long.MAX_VALUE,
+                Long.MAX_VALUE,
+                resumeRecordApplier);
+    }
+
+    /**
+     * Applies the log records from the next offset to apply up to the given end offset to kv
+     * directly. It's used by a follower replica to keep a hot-standby kv tablet, the records before
+     * the end offset must have been committed, so that they won't be truncated. Only the whole log
+     * batches before the end offset are applied.
+     *
+     * <p>At most one read of the log, i.e., the max fetch log size in recovering kv, is applied in
+     * a call to not block the caller long, the remaining log is applied in the following calls.
+     *
+     * @return the next log offset to apply
+     */
+    public long applyCommittedLog(long endLogOffset) throws Exception {
+        if (endLogOffset > nextApplyOffset) {
+            nextApplyOffset =
+                    applyToKv(
+                            nextApplyOffset,
+                            FetchIsolation.LOG_END,
+                            endLogOffset,
+                            recoverContext.maxFetchLogSizeInRecoverKv,
+                            false);
+        }
+        return nextApplyOffset;
+    }
+
+    /** Gets the next log offset to apply, the log records before it have been applied to kv. */
+    public long getNextApplyOffset() {
+        return nextApplyOffset;
+    }
+
+    /**
+     * Gets the log offset before which the records have been read and applied to kv (or the
+     * pre-write buffer) so far, it's used to report the progress of recovering.
+     */
+    public long getAppliedOffset() {
+        return appliedOffset;
+    }
+
+    private long applyToKv(
+            long startLogOffset,
+            FetchIsolation fetchIsolation,
+            long endLogOffset,
+            long maxReadBytes,
+            boolean bulkLoad)
+            throws Exception {
+        long nextLogOffset;
+        try (KvBatchWriter kvBatchWriter =
+                bulkLoad
+                        ? kvTablet.createKvBulkLoadWriter(recoverContext.bulkLoadBufferSize)
+                        : kvTablet.createKvBatchWriter()) {
             ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordApplier =
                     (resumeRecord) -> {
                         if (resumeRecord.value == null) {
@@ -100,30 +182,29 @@ public class KvRecoverHelper {
                             kvBatchWriter.put(resumeRecord.key, resumeRecord.value);
                         }
                     };
-
             nextLogOffset =
                     readLogRecordsAndApply(
-                            nextLogOffset, FetchIsolation.HIGH_WATERMARK, resumeRecordApplier);
+                            startLogOffset,
+                            fetchIsolation,
+                            endLogOffset,
+                            maxReadBytes,
+                            resumeRecordApplier);
         }
-
         // the all data up to nextLogOffset has been flush into kv
         kvTablet.setFlushedLogOffset(nextLogOffset);
-
-        // read to log end offset
-        ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordApplier =
-                (resumeRecord) ->
-                        kvTablet.putToPreWriteBuffer(
-                                resumeRecord.key, resumeRecord.value, resumeRecord.logOffset);
-        readLogRecordsAndApply(nextLogOffset, FetchIsolation.LOG_END, resumeRecordApplier);
+        return nextLogOffset;
     }
 
     private long readLogRecordsAndApply(
             long startFetchOffset,
             FetchIsolation fetchIsolation,
+            long endFetchOffset,
+            long maxReadBytes,
             ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordConsumer)
             throws Exception {
         long nextFetchOffset = startFetchOffset;
-        while (true) {
+        long readBytes = 0;
+        while (nextFetchOffset < endFetchOffset && readBytes < maxReadBytes) {
             LogRecords logRecords =
                     logTablet
                             .read(
@@ -136,8 +217,15 @@ public class KvRecoverHelper {
             if (logRecords == MemoryLogRecords.EMPTY) {
                 break;
             }
+            readBytes += logRecords.sizeInBytes();
 
+            List<LogRecordBatch> logRecordBatches = new ArrayList<>();
+            boolean reachEndOffset = false;
             for (LogRecordBatch logRecordBatch : logRecords.batches()) {
+                if (logRecordBatch.nextLogOffset() > endFetchOffset) {
+                    reachEndOffset = true;
+                    break;
+                }
                 short schemaId = logRecordBatch.schemaId();
                 if (currentSchemaId == null) {
                     initSchema(schemaId);
@@ -148,51 +236,63 @@ public class KvRecoverHelper {
                                             + "Currently, schema change is not supported.",
                                     recoverContext.tableBucket, currentSchemaId, schemaId));
                 }
+                logRecordBatches.add(logRecordBatch);
+            }
 
-                try (LogRecordReadContext readContext =
-                                LogRecordReadContext.createArrowReadContext(
-                                        currentRowType, currentSchemaId);
-                        CloseableIterator<LogRecord> logRecordIter =
-                                logRecordBatch.records(readContext)) {
-                    while (logRecordIter.hasNext()) {
-                        LogRecord logRecord = logRecordIter.next();
-                        if (logRecord.getChangeType() != ChangeType.UPDATE_BEFORE) {
-                            InternalRow logRow = logRecord.getRow();
-                            byte[] key = keyEncoder.encodeKey(logRow);
-                            byte[] value = null;
-                            if (logRecord.getChangeType() != ChangeType.DELETE) {
-                                // the log row format may not compatible with kv row format,
-                                // e.g, arrow vs. compacted, thus needs a conversion here.
-                                BinaryRow row = toKvRow(logRecord.getRow());
-                                value = ValueEncoder.encodeValue(schemaId, row);
-                            }
-                            resumeRecordConsumer.accept(
-                                    new KeyValueAndLogOffset(key, value, logRecord.logOffset()));
-                        }
-                    }
-                }
-                nextFetchOffset = logRecordBatch.nextLogOffset();
+            applyLogRecordBatches(logRecordBatches, resumeRecordConsumer);
+            if (!logRecordBatches.isEmpty()) {
+                nextFetchOffset = logRecordBatches.get(logRecordBatches.size() - 1).nextLogOffset();
+                appliedOffset = nextFetchOffset;
+            }
+            if (reachEndOffset) {
+                break;
             }
         }
         return nextFetchOffset;
     }
 
-    // TODO: this is very in-efficient, because the conversion is CPU heavy. Should be optimized in
-    //  the future.
-    private BinaryRow toKvRow(InternalRow originalRow) {
-        if (kvFormat == KvFormat.INDEXED) {
-            // if the row is in indexed row format, just return the original row directly
-            if (originalRow instanceof IndexedRow) {
-                return (IndexedRow) originalRow;
+    /**
+     * Decodes the given log batches and applies the records to the consumer in order. If the bulk
+     * mode is enabled, the batches are decoded in parallel by the bulk load thread pool.
+     */
+    private void applyLogRecordBatches(
+            List<LogRecordBatch> logRecordBatches,
+            ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordConsumer)
+            throws Exception {
+        ExecutorService bulkLoadThreadPool = recoverContext.bulkLoadThreadPool;
+        if (bulkLoadThreadPool == null || logRecordBatches.size() <= 1) {
+            for (LogRecordBatch logRecordBatch : logRecordBatches) {
+                decoder.decode(logRecordBatch, resumeRecordConsumer);
             }
+            return;
         }
 
-        // then, we need to reconstruct the row
-        rowEncoder.startNewRow();
-        for (int i = 0; i < currentRowType.getFieldCount(); i++) {
-            rowEncoder.encodeField(i, currentFieldGetters[i].getFieldOrNull(originalRow));
+        List<Future<List<KeyValueAndLogOffset>>> futures = new ArrayList<>(logRecordBatches.size());
+        for (LogRecordBatch logRecordBatch : logRecordBatches) {
+            futures.add(
+                    bulkLoadThreadPool.submit(
+                            () -> {
+                                // the decoder is not thread-safe, use a new one for every batch
+                                List<KeyValueAndLogOffset> records = new ArrayList<>();
+                                new LogRecordDecoder().decode(logRecordBatch, records::add);
+                                return records;
+                            }));
+        }
+        try {
+            for (Future<List<KeyValueAndLogOffset>> future : futures) {
+                for (KeyValueAndLogOffset record : future.get()) {
+                    resumeRecordConsumer.accept(record);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new KvStorageException(
+                    String.format(
+                            "Fail to decode log batches to recover kv tablet for table bucket %s.",
+                            recoverContext.tableBucket),
+                    e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
         }
-        return rowEncoder.finishRow();
     }
 
     private void initSchema(int schemaId) throws Exception {
@@ -204,15 +304,74 @@ public class KvRecoverHelper {
         // table path has been created, so the kv tablet's table is consider to be
         // deleted. We can ignore the restore operation
         currentRowType = tableInfo.getRowType();
-        DataType[] dataTypes = currentRowType.getChildren().toArray(new DataType[0]);
         currentSchemaId = schemaId;
+        physicalPrimaryKeys = tableInfo.getPhysicalPrimaryKeys();
+        lakeFormat = tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
+        decoder = new LogRecordDecoder();
+    }
+
+    /** A decoder to decode the log records to the key-value pairs of kv, it's not thread-safe. */
+    private final class LogRecordDecoder {
+
+        private final KeyEncoder keyEncoder;
+        private final RowEncoder rowEncoder;
+        private final InternalRow.FieldGetter[] fieldGetters;
 
-        DataLakeFormat lakeFormat = tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
-        keyEncoder = KeyEncoder.of(currentRowType, tableInfo.getPhysicalPrimaryKeys(), lakeFormat);
-        rowEncoder = RowEncoder.create(kvFormat, dataTypes);
-        currentFieldGetters = new InternalRow.FieldGetter[currentRowType.getFieldCount()];
-        for (int i = 0; i < currentRowType.getFieldCount(); i++) {
-            currentFieldGetters[i] = InternalRow.createFieldGetter(currentRowType.getTypeAt(i), i);
+        private LogRecordDecoder() {
+            this.keyEncoder = KeyEncoder.of(currentRowType, physicalPrimaryKeys, lakeFormat);
+            this.rowEncoder =
+                    RowEncoder.create(
+                            kvFormat, currentRowType.getChildren().toArray(new DataType[0]));
+            this.fieldGetters = new InternalRow.FieldGetter[currentRowType.getFieldCount()];
+            for (int i = 0; i < currentRowType.getFieldCount(); i++) {
+                fieldGetters[i] = InternalRow.createFieldGetter(currentRowType.getTypeAt(i), i);
+            }
+        }
+
+        private void decode(
+                LogRecordBatch logRecordBatch,
+                ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordConsumer)
+                throws Exception {
+            short schemaId = logRecordBatch.schemaId();
+            try (LogRecordReadContext readContext =
+                            LogRecordReadContext.createArrowReadContext(currentRowType, schemaId);
+                    CloseableIterator<LogRecord> logRecordIter =
+                            logRecordBatch.records(readContext)) {
+                while (logRecordIter.hasNext()) {
+                    LogRecord logRecord = logRecordIter.next();
+                    if (logRecord.getChangeType() != ChangeType.UPDATE_BEFORE) {
+                        InternalRow logRow = logRecord.getRow();
+                        byte[] key = keyEncoder.encodeKey(logRow);
+                        byte[] value = null;
+                        if (logRecord.getChangeType() != ChangeType.DELETE) {
+                            // the log row format may not compatible with kv row format,
+                            // e.g, arrow vs. compacted, thus needs a conversion here.
+                            BinaryRow row = toKvRow(logRecord.getRow());
+                            value = ValueEncoder.encodeValue(schemaId, row);
+                        }
+                        resumeRecordConsumer.accept(
+                                new KeyValueAndLogOffset(key, value, logRecord.logOffset()));
+                    }
+                }
+            }
+        }
+
+        // TODO: this is very in-efficient, because the conversion is CPU heavy. Should be optimized
+        //  in the future.
+        private BinaryRow toKvRow(InternalRow originalRow) {
+            if (kvFormat == KvFormat.INDEXED) {
+                // if the row is in indexed row format, just return the original row directly
+                if (originalRow instanceof IndexedRow) {
+                    return (IndexedRow) originalRow;
+                }
+            }
+
+            // then, we need to reconstruct the row
+            rowEncoder.startNewRow();
+            for (int i = 0; i < currentRowType.getFieldCount(); i++) {
+                rowEncoder.encodeField(i, fieldGetters[i].getFieldOrNull(originalRow));
+            }
+            return rowEncoder.finishRow();
         }
     }
 
@@ -237,15 +396,23 @@ public class KvRecoverHelper {
         private final ZooKeeperClient zkClient;
         private final int maxFetchLogSizeInRecoverKv;
 
+        // null if the bulk mode is disabled
+        private final @Nullable ExecutorService bulkLoadThreadPool;
+        private final long bulkLoadBufferSize;
+
         public KvRecoverContext(
                 TablePath tablePath,
                 TableBucket tableBucket,
                 ZooKeeperClient zkClient,
-                int maxFetchLogSizeInRecoverKv) {
+                int maxFetchLogSizeInRecoverKv,
+                @Nullable ExecutorService bulkLoadThreadPool,
+                long bulkLoadBufferSize) {
             this.tablePath = tablePath;
             this.tableBucket = tableBucket;
             this.zkClient = zkClient;
             this.maxFetchLogSizeInRecoverKv = maxFetchLogSizeInRecoverKv;
+            this.bulkLoadThreadPool = bulkLoadThreadPool;
+            this.bulkLoadBufferSize = bulkLoadBufferSize;
         }
     }
 }
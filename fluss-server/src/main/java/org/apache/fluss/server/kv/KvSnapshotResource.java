@@ -23,6 +23,8 @@ import org.apache.fluss.server.kv.snapshot.KvSnapshotDataDownloader;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDataUploader;
 import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -37,6 +39,7 @@ import java.util.concurrent.TimeUnit;
  *   <li>A scheduler to schedule snapshot for kv periodically
  *   <li>A thread pool for the async part of kv snapshot
  *   <li>A uploader to upload snapshot data in the async part of kv snapshot
+ *   <li>A thread pool to decode log when recovering kv in bulk mode
  * </ul>
  */
 public class KvSnapshotResource {
@@ -57,17 +60,22 @@ public class KvSnapshotResource {
     /** A downloader to download snapshot data. */
     private final KvSnapshotDataDownloader kvSnapshotDataDownloader;
 
+    /** Thread pool to decode log when recovering kv in bulk mode, null if bulk mode is disabled. */
+    @Nullable private final ExecutorService kvRecoverBulkLoadThreadPool;
+
     private KvSnapshotResource(
             ScheduledExecutorService kvSnapshotScheduler,
             ExecutorService snapshotDataTransferService,
             KvSnapshotDataUploader kvSnapshotDataUploader,
             KvSnapshotDataDownloader kvSnapshotDataDownloader,
-            ExecutorService asyncOperationsThreadPool) {
+            ExecutorService asyncOperationsThreadPool,
+            @Nullable ExecutorService kvRecoverBulkLoadThreadPool) {
         this.kvSnapshotScheduler = kvSnapshotScheduler;
         this.snapshotDataTransferService = snapshotDataTransferService;
         this.kvSnapshotDataUploader = kvSnapshotDataUploader;
         this.kvSnapshotDataDownloader = kvSnapshotDataDownloader;
         this.asyncOperationsThreadPool = asyncOperationsThreadPool;
+        this.kvRecoverBulkLoadThreadPool = kvRecoverBulkLoadThreadPool;
     }
 
     public ScheduledExecutorService getKvSnapshotScheduler() {
@@ -86,6 +94,11 @@ public class KvSnapshotResource {
         return kvSnapshotDataDownloader;
     }
 
+    @Nullable
+    public ExecutorService getKvRecoverBulkLoadThreadPool() {
+        return kvRecoverBulkLoadThreadPool;
+    }
+
     public static KvSnapshotResource create(int serverId, Configuration conf) {
         ExecutorService dataTransferThreadPool =
                 Executors.newFixedThreadPool(
@@ -114,12 +127,21 @@ public class KvSnapshotResource {
                         TimeUnit.SECONDS,
                         new LinkedBlockingQueue<>(),
                         new ExecutorThreadFactory("fluss-kv-snapshot-async-operations"));
+
+        ExecutorService kvRecoverBulkLoadThreadPool = null;
+        if (conf.getBoolean(ConfigOptions.KV_RECOVER_BULK_LOAD_ENABLED)) {
+            kvRecoverBulkLoadThreadPool =
+                    Executors.newFixedThreadPool(
+                            conf.getInt(ConfigOptions.KV_RECOVER_BULK_LOAD_THREAD_NUM),
+                            new ExecutorThreadFactory("fluss-kv-recover-bulk-load"));
+        }
         return new KvSnapshotResource(
                 kvSnapshotScheduler,
                 dataTransferThreadPool,
                 kvSnapshotDataUploader,
                 kvSnapshotDataDownloader,
-                asyncOperationsThreadPool);
+                asyncOperationsThreadPool,
+                kvRecoverBulkLoadThreadPool);
     }
 
     public void close() {
@@ -129,6 +151,9 @@ public class KvSnapshotResource {
 
         // shutdown asyncOperationsThreadPool now
         asyncOperationsThreadPool.shutdownNow();
+        if (kvRecoverBulkLoadThreadPool != null) {
+            kvRecoverBulkLoadThreadPool.shutdownNow();
+        }
         // close kvSnapshotScheduler, also stop any actively executing task immediately
         // otherwise, a snapshot will still be take although it's closed, which will case exception
         kvSnapshotScheduler.shutdownNow();
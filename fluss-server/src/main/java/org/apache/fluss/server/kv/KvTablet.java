@@ -20,6 +20,7 @@ package org.apache.fluss.server.kv;
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
 import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.ConfigOptions.KvPreWriteBufferType;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.DeletionDisabledException;
 import org.apache.fluss.exception.KvStorageException;
@@ -35,19 +36,25 @@ import org.apache.fluss.record.ChangeType;
 import org.apache.fluss.record.KvRecord;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.KvRecordReadContext;
+import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.row.BinaryRow;
 import org.apache.fluss.row.arrow.ArrowWriterPool;
 import org.apache.fluss.row.arrow.ArrowWriterProvider;
 import org.apache.fluss.row.encode.ValueDecoder;
 import org.apache.fluss.row.encode.ValueEncoder;
+import org.apache.fluss.row.encode.ValueProjector;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.TruncateReason;
+import org.apache.fluss.server.kv.rocksdb.RocksDBBulkLoadWriter;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKv;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKvBuilder;
 import org.apache.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import org.apache.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.kv.scan.KvScanner;
 import org.apache.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDataUploader;
+import org.apache.fluss.server.kv.snapshot.KvSnapshotLocalCache;
 import org.apache.fluss.server.kv.snapshot.RocksIncrementalSnapshot;
 import org.apache.fluss.server.kv.wal.ArrowWalBuilder;
 import org.apache.fluss.server.kv.wal.IndexWalBuilder;
@@ -59,11 +66,12 @@ import org.apache.fluss.server.utils.FatalErrorHandler;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.types.DataType;
 import org.apache.fluss.types.RowType;
-import org.apache.fluss.utils.BytesUtils;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.types.Tuple2;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,9 +81,14 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -88,10 +101,14 @@ import static org.apache.fluss.utils.concurrent.LockUtils.inWriteLock;
 public final class KvTablet {
     private static final Logger LOG = LoggerFactory.getLogger(KvTablet.class);
 
+    /** The directory in the kv tablet directory to write the sst files to bulk load. */
+    private static final String BULK_LOAD_DIR_NAME = "bulk-load";
+
     private final PhysicalTablePath physicalPath;
     private final TableBucket tableBucket;
 
     private final LogTablet logTablet;
+    private final BufferAllocator arrowBufferAllocator;
     private final ArrowWriterProvider arrowWriterProvider;
     private final MemorySegmentPool memorySegmentPool;
 
@@ -109,6 +126,29 @@ public final class KvTablet {
     private final RowMerger rowMerger;
     private final ArrowCompressionInfo arrowCompressionInfo;
 
+    // the context to read the kv records of the put requests, and the decoders of the values of
+    // each schema, which are reused by all the put requests
+    private final KvRecordBatch.ReadContext readContext;
+
+    @GuardedBy("kvLock")
+    private final Map<Short, ValueDecoder> valueDecoders = new HashMap<>();
+
+    // the keys of the batch being put and the values pre-read from rocksdb for the keys, which
+    // are reused by all the put requests and cleared after each put
+    @GuardedBy("kvLock")
+    private final List<KvPreWriteBuffer.Key> batchKeys = new ArrayList<>();
+
+    @GuardedBy("kvLock")
+    private final Map<KvPreWriteBuffer.Key, byte[]> preReadValues = new HashMap<>();
+
+    // the projectors of the lookup values keyed by the projected fields, which are reused by the
+    // lookups of the same projection, a projector is only used by one lookup at a time
+    private final Cache<String, ValueProjector> valueProjectors =
+            Caffeine.newBuilder().maximumSize(5).build();
+
+    // the scanners opened on the kv, which must be closed before closing the kv
+    private final Set<KvScanner> openScanners = ConcurrentHashMap.newKeySet();
+
     /**
      * The kv data in pre-write buffer whose log offset is less than the flushedLogOffset has been
      * flushed into kv.
@@ -129,6 +169,8 @@ public final class KvTablet {
             LogFormat logFormat,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
+            KvPreWriteBufferType preWriteBufferType,
+            MemorySegmentPool preWriteBufferPool,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
@@ -139,14 +181,23 @@ public final class KvTablet {
         this.kvTabletDir = kvTabletDir;
         this.rocksDBKv = rocksDBKv;
         this.writeBatchSize = writeBatchSize;
-        this.kvPreWriteBuffer = new KvPreWriteBuffer(createKvBatchWriter(), serverMetricGroup);
+        this.kvPreWriteBuffer =
+                KvPreWriteBuffer.create(
+                        preWriteBufferType,
+                        createKvBatchWriter(),
+                        preWriteBufferPool,
+                        serverMetricGroup);
         this.logFormat = logFormat;
+        this.arrowBufferAllocator = arrowBufferAllocator;
         this.arrowWriterProvider = new ArrowWriterPool(arrowBufferAllocator);
         this.memorySegmentPool = memorySegmentPool;
         this.kvFormat = kvFormat;
         this.schema = schema;
         this.rowMerger = rowMerger;
         this.arrowCompressionInfo = arrowCompressionInfo;
+        this.readContext =
+                KvRecordReadContext.createReadContext(
+                        kvFormat, schema.getRowType().getChildren().toArray(new DataType[0]));
     }
 
     public static KvTablet create(
@@ -156,6 +207,8 @@ public final class KvTablet {
             TabletServerMetricGroup serverMetricGroup,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
+            MemorySegmentPool preWriteBufferPool,
+            @Nullable RocksDBSharedResources rocksDBSharedResources,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
@@ -172,6 +225,8 @@ public final class KvTablet {
                 serverMetricGroup,
                 arrowBufferAllocator,
                 memorySegmentPool,
+                preWriteBufferPool,
+                rocksDBSharedResources,
                 kvFormat,
                 schema,
                 rowMerger,
@@ -187,12 +242,14 @@ public final class KvTablet {
             TabletServerMetricGroup serverMetricGroup,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
+            MemorySegmentPool preWriteBufferPool,
+            @Nullable RocksDBSharedResources rocksDBSharedResources,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
             ArrowCompressionInfo arrowCompressionInfo)
             throws IOException {
-        RocksDBKv kv = buildRocksDBKv(serverConf, kvTabletDir);
+        RocksDBKv kv = buildRocksDBKv(serverConf, kvTabletDir, rocksDBSharedResources);
         return new KvTablet(
                 tablePath,
                 tableBucket,
@@ -204,16 +261,27 @@ public final class KvTablet {
                 logTablet.getLogFormat(),
                 arrowBufferAllocator,
                 memorySegmentPool,
+                serverConf.get(ConfigOptions.KV_PRE_WRITE_BUFFER_TYPE),
+                preWriteBufferPool,
                 kvFormat,
                 schema,
                 rowMerger,
                 arrowCompressionInfo);
     }
 
-    private static RocksDBKv buildRocksDBKv(Configuration configuration, File kvDir)
+    private static RocksDBKv buildRocksDBKv(
+            Configuration configuration,
+            File kvDir,
+            @Nullable RocksDBSharedResources rocksDBSharedResources)
             throws IOException {
+        // enable the statistics to report the block cache hit rate of the kv tablet when the
+        // block cache is shared, as the shared block cache can't tell it for a single kv tablet
         RocksDBResourceContainer rocksDBResourceContainer =
-                new RocksDBResourceContainer(configuration, kvDir);
+                new RocksDBResourceContainer(
+                        configuration,
+                        kvDir,
+                        rocksDBSharedResources != null,
+                        rocksDBSharedResources);
         RocksDBKvBuilder rocksDBKvBuilder =
                 new RocksDBKvBuilder(
                         kvDir,
@@ -261,23 +329,21 @@ public final class KvTablet {
                     rocksDBKv.checkIfRocksDBClosed();
                     short schemaId = kvRecords.schemaId();
                     RowMerger currentMerger = rowMerger.configureTargetColumns(targetColumns);
-                    RowType rowType = schema.getRowType();
-                    WalBuilder walBuilder = createWalBuilder(schemaId, rowType);
+                    WalBuilder walBuilder = createWalBuilder(schemaId, schema.getRowType());
                     walBuilder.setWriterState(kvRecords.writerId(), kvRecords.batchSequence());
                     // get offset to track the offset corresponded to the kv record
                     long logEndOffsetOfPrevBatch = logTablet.localLogEndOffset();
-                    DataType[] fieldTypes = rowType.getChildren().toArray(new DataType[0]);
                     try {
                         long logOffset = logEndOffsetOfPrevBatch;
 
-                        // TODO: reuse the read context and decoder
-                        KvRecordBatch.ReadContext readContext =
-                                KvRecordReadContext.createReadContext(kvFormat, fieldTypes);
-                        ValueDecoder valueDecoder =
-                                new ValueDecoder(readContext.getRowDecoder(schemaId));
+                        ValueDecoder valueDecoder = getOrCreateValueDecoder(schemaId);
+                        // resolve all the keys of the batch up front, so that the keys missed in
+                        // the pre-write buffer are read from rocksdb in a single multiGet instead
+                        // of one point read per record
+                        preReadValues(kvRecords);
+                        int recordIndex = 0;
                         for (KvRecord kvRecord : kvRecords.records(readContext)) {
-                            byte[] keyBytes = BytesUtils.toArray(kvRecord.getKey());
-                            KvPreWriteBuffer.Key key = KvPreWriteBuffer.Key.of(keyBytes);
+                            KvPreWriteBuffer.Key key = batchKeys.get(recordIndex++);
                             if (kvRecord.getRow() == null) {
                                 DeleteBehavior deleteBehavior = rowMerger.deleteBehavior();
                                 if (deleteBehavior == DeleteBehavior.IGNORE) {
@@ -289,7 +355,7 @@ public final class KvTablet {
                                                     + "The table.delete.behavior is set to 'disable'.");
                                 }
                                 // it's for deletion
-                                byte[] oldValue = getFromBufferOrKv(key);
+                                byte[] oldValue = getFromBufferOrPreRead(key);
                                 if (oldValue == null) {
                                     // there might be large amount of such deletion, so we don't log
                                     LOG.debug(
@@ -315,7 +381,7 @@ public final class KvTablet {
                                 }
                             } else {
                                 // upsert operation
-                                byte[] oldValue = getFromBufferOrKv(key);
+                                byte[] oldValue = getFromBufferOrPreRead(key);
                                 // it's update
                                 if (oldValue != null) {
                                     BinaryRow oldRow = valueDecoder.decodeValue(oldValue).row;
@@ -339,7 +405,7 @@ public final class KvTablet {
                                     // it's insert
                                     // TODO: we should add guarantees that all non-specified columns
                                     //  of the input row are set to null.
-                                    BinaryRow newRow = kvRecord.getRow();
+                                    BinaryRow newRow = currentMerger.insert(kvRecord.getRow());
                                     walBuilder.append(ChangeType.INSERT, newRow);
                                     kvPreWriteBuffer.put(
                                             key,
@@ -380,10 +446,23 @@ public final class KvTablet {
                     } finally {
                         // deallocate the memory and arrow writer used by the wal builder
                         walBuilder.deallocate();
+                        // release the key views over the memory of the request
+                        batchKeys.clear();
+                        preReadValues.clear();
                     }
                 });
     }
 
+    @GuardedBy("kvLock")
+    private ValueDecoder getOrCreateValueDecoder(short schemaId) {
+        ValueDecoder valueDecoder = valueDecoders.get(schemaId);
+        if (valueDecoder == null) {
+            valueDecoder = new ValueDecoder(readContext.getRowDecoder(schemaId));
+            valueDecoders.put(schemaId, valueDecoder);
+        }
+        return valueDecoder;
+    }
+
     private WalBuilder createWalBuilder(int schemaId, RowType rowType) throws Exception {
         switch (logFormat) {
             case INDEXED:
@@ -463,39 +542,155 @@ public final class KvTablet {
         return runnable -> inWriteLock(kvLock, runnable::run);
     }
 
-    // get from kv pre-write buffer first, if can't find, get from rocksdb
-    private byte[] getFromBufferOrKv(KvPreWriteBuffer.Key key) throws IOException {
+    /**
+     * Collects the keys of all the records in the given batch into {@link #batchKeys} (in record
+     * order) and reads the values of the keys that can't be found in the pre-write buffer from
+     * rocksdb in one {@link RocksDBKv#multiGet(List)} call into {@link #preReadValues}, a key maps
+     * to null if it doesn't exist in rocksdb either. The keys are views over the memory of the
+     * batch, which are only copied when put into the pre-write buffer.
+     */
+    @GuardedBy("kvLock")
+    private void preReadValues(KvRecordBatch kvRecords) throws IOException {
+        List<KvPreWriteBuffer.Key> missedKeys = new ArrayList<>();
+        for (KvRecord kvRecord : kvRecords.records(readContext)) {
+            KvPreWriteBuffer.Key key = KvPreWriteBuffer.Key.view(kvRecord.getKey());
+            batchKeys.add(key);
+            if (!preReadValues.containsKey(key) && kvPreWriteBuffer.get(key) == null) {
+                preReadValues.put(key, null);
+                missedKeys.add(key);
+            }
+        }
+
+        if (missedKeys.isEmpty()) {
+            return;
+        }
+        List<byte[]> missedKeyBytes = new ArrayList<>(missedKeys.size());
+        for (KvPreWriteBuffer.Key key : missedKeys) {
+            missedKeyBytes.add(key.get());
+        }
+        List<byte[]> values = rocksDBKv.multiGet(missedKeyBytes);
+        for (int i = 0; i < missedKeys.size(); i++) {
+            preReadValues.put(missedKeys.get(i), values.get(i));
+        }
+    }
+
+    // get from kv pre-write buffer first, as it always holds the latest value written by this
+    // batch, if can't find, get from the values pre-read from rocksdb
+    @GuardedBy("kvLock")
+    private byte[] getFromBufferOrPreRead(KvPreWriteBuffer.Key key) throws IOException {
         KvPreWriteBuffer.Value value = kvPreWriteBuffer.get(key);
-        if (value == null) {
-            return rocksDBKv.get(key.get());
+        if (value != null) {
+            return value.get();
+        }
+        if (preReadValues.containsKey(key)) {
+            return preReadValues.get(key);
         }
-        return value.get();
+        return rocksDBKv.get(key.get());
     }
 
     public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+        return multiGet(keys, null);
+    }
+
+    /**
+     * Gets the values of the given keys, the values are projected to the given fields if the
+     * projection isn't null.
+     */
+    public List<byte[]> multiGet(List<byte[]> keys, @Nullable int[] projectedFields)
+            throws IOException {
+        List<byte[]> values =
+                inReadLock(
+                        kvLock,
+                        () -> {
+                            rocksDBKv.checkIfRocksDBClosed();
+                            return rocksDBKv.multiGet(keys);
+                        });
+        return projectValues(values, projectedFields);
+    }
+
+    public List<byte[]> prefixLookup(byte[] prefixKey) throws IOException {
+        return prefixLookup(prefixKey, null);
+    }
+
+    /**
+     * Gets the values of the given prefix key, the values are projected to the given fields if the
+     * projection isn't null.
+     */
+    public List<byte[]> prefixLookup(byte[] prefixKey, @Nullable int[] projectedFields)
+            throws IOException {
+        List<byte[]> values =
+                inReadLock(
+                        kvLock,
+                        () -> {
+                            rocksDBKv.checkIfRocksDBClosed();
+                            return rocksDBKv.prefixLookup(prefixKey);
+                        });
+        return projectValues(values, projectedFields);
+    }
+
+    private List<byte[]> projectValues(List<byte[]> values, @Nullable int[] projectedFields) {
+        if (projectedFields == null || values.isEmpty()) {
+            return values;
+        }
+        // the values are copied out of RocksDB, so they are projected outside the lock
+        ValueProjector valueProjector =
+                valueProjectors.get(
+                        Arrays.toString(projectedFields),
+                        k -> new ValueProjector(kvFormat, schema.getRowType(), projectedFields));
+        List<byte[]> projectedValues = new ArrayList<>(values.size());
+        synchronized (valueProjector) {
+            for (byte[] value : values) {
+                projectedValues.add(valueProjector.project(value));
+            }
+        }
+        return projectedValues;
+    }
+
+    public List<byte[]> limitScan(int limit) throws IOException {
         return inReadLock(
                 kvLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.multiGet(keys);
+                    return rocksDBKv.limitScan(limit);
                 });
     }
 
-    public List<byte[]> prefixLookup(byte[] prefixKey) throws IOException {
+    /**
+     * Opens a scanner over a consistent snapshot of the kv to scan all the rows in pages, see
+     * {@link KvScanner}. The scanner is closed if the kv tablet is closed.
+     *
+     * @param schemaId the schema id of the pages of the scanner
+     * @param projectedFields the projected fields of the rows, null if read all the fields
+     */
+    public KvScanner openScanner(int schemaId, @Nullable int[] projectedFields)
+            throws IOException {
         return inReadLock(
                 kvLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.prefixLookup(prefixKey);
+                    KvScanner scanner =
+                            new KvScanner(
+                                    tableBucket,
+                                    schemaId,
+                                    schema.getRowType(),
+                                    kvFormat,
+                                    projectedFields,
+                                    arrowCompressionInfo,
+                                    arrowBufferAllocator,
+                                    rocksDBKv.newSnapshotIterator(),
+                                    openScanners::remove);
+                    openScanners.add(scanner);
+                    return scanner;
                 });
     }
 
-    public List<byte[]> limitScan(int limit) throws IOException {
+    /** Reads the next page of the given scanner opened on this kv tablet. */
+    public MemoryLogRecords scan(KvScanner scanner, int maxBytes) throws Exception {
         return inReadLock(
                 kvLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.limitScan(limit);
+                    return scanner.nextBatch(maxBytes);
                 });
     }
 
@@ -503,6 +698,14 @@ public final class KvTablet {
         return rocksDBKv.newWriteBatch(writeBatchSize);
     }
 
+    /**
+     * Creates a batch writer to bulk load a large amount of data into the underlying RocksDB by
+     * ingesting sst files, see {@link RocksDBBulkLoadWriter}.
+     */
+    public KvBatchWriter createKvBulkLoadWriter(long bufferSize) {
+        return rocksDBKv.newBulkLoadWriter(new File(kvTabletDir, BULK_LOAD_DIR_NAME), bufferSize);
+    }
+
     public void close() throws Exception {
         LOG.info("close kv tablet {} for table {}.", tableBucket, physicalPath);
         inWriteLock(
@@ -511,6 +714,13 @@ public final class KvTablet {
                     if (isClosed) {
                         return;
                     }
+                    // the snapshots held by the scanners must be released before closing rocksdb
+                    for (KvScanner scanner : openScanners) {
+                        scanner.close();
+                    }
+                    // return the memory of the pre-write buffer, the buffered kv records which
+                    // haven't been flushed can be recovered from the log
+                    kvPreWriteBuffer.close();
                     if (rocksDBKv != null) {
                         rocksDBKv.close();
                     }
@@ -533,14 +743,16 @@ public final class KvTablet {
     public RocksIncrementalSnapshot createIncrementalSnapshot(
             Map<Long, Collection<KvFileHandleAndLocalPath>> uploadedSstFiles,
             KvSnapshotDataUploader kvSnapshotDataUploader,
-            long lastCompletedSnapshotId) {
+            long lastCompletedSnapshotId,
+            @Nullable KvSnapshotLocalCache localCache) {
         return new RocksIncrementalSnapshot(
                 uploadedSstFiles,
                 rocksDBKv.getDb(),
                 rocksDBKv.getResourceGuard(),
                 kvSnapshotDataUploader,
                 kvTabletDir,
-                lastCompletedSnapshotId);
+                lastCompletedSnapshotId,
+                localCache);
     }
 
     // only for testing.
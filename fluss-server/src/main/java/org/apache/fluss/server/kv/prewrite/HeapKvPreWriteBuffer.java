@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.prewrite;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * A {@link KvPreWriteBuffer} keeping the key-value pairs as objects in the JVM heap.
+ *
+ * <p>In implementation, to achieve the two purposes of the pre-write buffer, it maintains a map
+ * kvEntryMap for put/get a key and a linked list kvEntryList to iterate the kv entries to be
+ * flushed.
+ *
+ * <p>The kvEntryMap is a map from key to the corresponding KvEntry. Each KvEntry wraps a key-value
+ * pair and a log sequence number corresponding to the offset of the WAL, with which, we can find
+ * the key-value pair to be flush when a perice of WAL was persisted.
+ *
+ * <p>When put a key-value pair, it will always create a new KvEntry wrapping the key-value and put
+ * it into the map.
+ *
+ * <p>Then it will append the new KvEntry to the tail of the kvEntryList. So, the kvEntryList
+ * maintains the key-value pair in putting order. When flushing, it will iterate the list to flush
+ * all the entries whose log sequence number is less or equal than the given log sequence number.
+ */
+@NotThreadSafe
+public class HeapKvPreWriteBuffer extends KvPreWriteBuffer {
+
+    // a mapping from the key to the kv-entry
+    private final Map<Key, KvEntry> kvEntryMap = new HashMap<>();
+
+    // a linked list for all kv entries
+    private final LinkedList<KvEntry> allKvEntries = new LinkedList<>();
+
+    public HeapKvPreWriteBuffer(
+            KvBatchWriter kvBatchWriter, TabletServerMetricGroup serverMetricGroup) {
+        super(kvBatchWriter, serverMetricGroup);
+    }
+
+    @Override
+    protected void doUpdate(Key key, @Nullable byte[] value, long lsn) {
+        // create the kv entry with previous pointer if exists, and put the new entry to the map.
+        // the key of the previous entry is reused, so the key is only copied for a new key if
+        // it's a view
+        KvEntry previousEntry = kvEntryMap.get(key);
+        KvEntry kvEntry;
+        if (previousEntry == null) {
+            Key ownedKey = key.toOwned();
+            kvEntry = KvEntry.of(ownedKey, Value.of(value), lsn);
+            kvEntryMap.put(ownedKey, kvEntry);
+        } else {
+            kvEntry = KvEntry.of(previousEntry.getKey(), Value.of(value), lsn, previousEntry);
+            kvEntryMap.put(previousEntry.getKey(), kvEntry);
+        }
+        // append the entry to the tail of the list for all kv entries
+        allKvEntries.addLast(kvEntry);
+    }
+
+    @Override
+    public @Nullable Value get(Key key) {
+        KvEntry kvEntry = kvEntryMap.get(key);
+
+        return kvEntry == null ? null : kvEntry.getValue();
+    }
+
+    @Override
+    protected void doTruncate(long targetLogSequenceNumber) {
+        Iterator<KvEntry> descIter = allKvEntries.descendingIterator();
+        while (descIter.hasNext()) {
+            KvEntry entry = descIter.next();
+            if (entry.getLogSequenceNumber() < targetLogSequenceNumber) {
+                maxLogSequenceNumber = entry.getLogSequenceNumber();
+                break;
+            }
+            descIter.remove();
+            boolean removed = kvEntryMap.remove(entry.getKey(), entry);
+            // if the latest entry is removed, we need to rollback the previous entry to the map
+            if (removed && entry.getPreviousEntry() != null) {
+                kvEntryMap.put(entry.getKey(), entry.getPreviousEntry());
+            }
+        }
+        if (!descIter.hasNext()) {
+            maxLogSequenceNumber = -1;
+        }
+    }
+
+    @Override
+    protected int writeEntries(long exclusiveUpToLogSequenceNumber) throws IOException {
+        int flushedCount = 0;
+        for (Iterator<KvEntry> it = allKvEntries.iterator(); it.hasNext(); ) {
+            KvEntry entry = it.next();
+            // if find one entry whose sequence number is greater than the given sequence number,
+            // break the loop
+            if (entry.getLogSequenceNumber() >= exclusiveUpToLogSequenceNumber) {
+                break;
+            }
+
+            // first remove the entry from the list
+            it.remove();
+
+            // then write data using write batch writer
+            byte[] value = entry.getValue().get();
+            flushedCount += 1;
+            if (value != null) {
+                kvBatchWriter.put(entry.getKey().get(), value);
+            } else {
+                kvBatchWriter.delete(entry.getKey().get());
+            }
+
+            // if the kv entry to be flushed is equal to the one in the kvEntryMap, we
+            // can remove it from the map. Although it's not a must to remove from the map,
+            // we remove it to reduce the memory usage
+            kvEntryMap.remove(entry.getKey(), entry);
+        }
+        return flushedCount;
+    }
+
+    @VisibleForTesting
+    public Map<Key, KvEntry> getKvEntryMap() {
+        return kvEntryMap;
+    }
+
+    @VisibleForTesting
+    public LinkedList<KvEntry> getAllKvEntries() {
+        return allKvEntries;
+    }
+}
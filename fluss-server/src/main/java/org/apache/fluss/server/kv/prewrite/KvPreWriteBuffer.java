@@ -18,7 +18,10 @@
 package org.apache.fluss.server.kv.prewrite;
 
 import org.apache.fluss.annotation.VisibleForTesting;
-import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.ConfigOptions.KvPreWriteBufferType;
+import org.apache.fluss.memory.MemorySegmentPool;
+import org.apache.fluss.memory.MemoryUtils;
 import org.apache.fluss.metrics.Counter;
 import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.server.kv.KvBatchWriter;
@@ -29,14 +32,12 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Map;
 import java.util.Objects;
 
+import static org.apache.fluss.memory.MemoryUtils.UNSAFE;
 import static org.apache.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
 
 /**
@@ -65,19 +66,9 @@ import static org.apache.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
  *       kv storage.
  * </ol>
  *
- * <p>In implementation, to achieve the above two purposes, it maintains a map kvEntryMap for
- * put/get a key and a linked list kvEntryList to iterate the kv entries to be flushed.
- *
- * <p>The kvEntryMap is a map from key to the corresponding KvEntry. Each KvEntry wraps a key-value
- * pair and a log sequence number corresponding to the offset of the WAL, with which, we can find
- * the key-value pair to be flush when a perice of WAL was persisted.
- *
- * <p>When put a key-value pair, it will always create a new KvEntry wrapping the key-value and put
- * it into the map.
- *
- * <p>Then it will append the new KvEntry to the tail of the kvEntryList. So, the kvEntryList
- * maintains the key-value pair in putting order. When flushing, it will iterate the list to flush
- * all the entries whose log sequence number is less or equal than the given log sequence number.
+ * <p>There are two implementations: {@link HeapKvPreWriteBuffer} keeps the key-value pairs as
+ * objects in the JVM heap, and {@link OffHeapKvPreWriteBuffer} keeps them in the off-heap pages of
+ * a {@link MemorySegmentPool}, see {@link ConfigOptions#KV_PRE_WRITE_BUFFER_TYPE}.
  *
  * <p>Note: The key-value pairs to be put into the buffer must be with non-decreasing log sequence
  * number. Otherwise, the flushing will not work as expected since once it found any kv entry whose
@@ -85,14 +76,8 @@ import static org.apache.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
  * head to tail, it will stop flush.
  */
 @NotThreadSafe
-public class KvPreWriteBuffer implements AutoCloseable {
-    private final KvBatchWriter kvBatchWriter;
-
-    // a mapping from the key to the kv-entry
-    private final Map<Key, KvEntry> kvEntryMap = new HashMap<>();
-
-    // a linked list for all kv entries
-    private final LinkedList<KvEntry> allKvEntries = new LinkedList<>();
+public abstract class KvPreWriteBuffer implements AutoCloseable {
+    protected final KvBatchWriter kvBatchWriter;
 
     // metrics related.
     private final Counter flushCount;
@@ -101,9 +86,9 @@ public class KvPreWriteBuffer implements AutoCloseable {
     private final Counter truncateAsErrorCount;
 
     // the max LSN in the buffer
-    private long maxLogSequenceNumber = -1;
+    protected long maxLogSequenceNumber = -1;
 
-    public KvPreWriteBuffer(
+    protected KvPreWriteBuffer(
             KvBatchWriter kvBatchWriter, TabletServerMetricGroup serverMetricGroup) {
         this.kvBatchWriter = kvBatchWriter;
 
@@ -113,13 +98,35 @@ public class KvPreWriteBuffer implements AutoCloseable {
         truncateAsErrorCount = serverMetricGroup.kvTruncateAsErrorCount();
     }
 
+    /**
+     * Creates a pre-write buffer of the given type.
+     *
+     * @param memorySegmentPool the pool to allocate the pages from, only used by the {@link
+     *     KvPreWriteBufferType#OFF_HEAP} buffer
+     */
+    public static KvPreWriteBuffer create(
+            KvPreWriteBufferType type,
+            KvBatchWriter kvBatchWriter,
+            MemorySegmentPool memorySegmentPool,
+            TabletServerMetricGroup serverMetricGroup) {
+        switch (type) {
+            case HEAP:
+                return new HeapKvPreWriteBuffer(kvBatchWriter, serverMetricGroup);
+            case OFF_HEAP:
+                return new OffHeapKvPreWriteBuffer(
+                        kvBatchWriter, memorySegmentPool, serverMetricGroup);
+            default:
+                throw new IllegalArgumentException("Unsupported pre-write buffer type: " + type);
+        }
+    }
+
     /**
      * Delete a key-value pair with the given key.
      *
      * @param logSequenceNumber the log sequence number for the delete operation
      */
     public void delete(Key key, long logSequenceNumber) {
-        update(key, Value.of(null), logSequenceNumber);
+        update(key, null, logSequenceNumber);
     }
 
     /**
@@ -128,10 +135,10 @@ public class KvPreWriteBuffer implements AutoCloseable {
      * @param logSequenceNumber the log sequence number for the put operation
      */
     public void put(Key key, @Nullable byte[] value, long logSequenceNumber) {
-        update(key, Value.of(value), logSequenceNumber);
+        update(key, value, logSequenceNumber);
     }
 
-    private void update(Key key, Value value, long lsn) {
+    private void update(Key key, @Nullable byte[] value, long lsn) {
         if (maxLogSequenceNumber >= lsn) {
             throw new IllegalArgumentException(
                     "The log sequence number must be non-decreasing. "
@@ -141,31 +148,26 @@ public class KvPreWriteBuffer implements AutoCloseable {
                             + lsn);
         }
 
-        // create the kv entry with previous pointer if exists, and put the new entry to the map
-        KvEntry kvEntry =
-                kvEntryMap.compute(
-                        key,
-                        (k, v) ->
-                                v == null
-                                        ? KvEntry.of(key, value, lsn)
-                                        : KvEntry.of(key, value, lsn, v));
-        // append the entry to the tail of the list for all kv entries
-        allKvEntries.addLast(kvEntry);
+        doUpdate(key, value, lsn);
         // update the max lsn
         maxLogSequenceNumber = lsn;
     }
 
+    /**
+     * Puts the key-value pair whose log sequence number is greater than all the ones in the buffer.
+     * The key may be a view, which must be copied if it's kept by the buffer.
+     *
+     * @param value the value, null if the key is marked as deleted
+     */
+    protected abstract void doUpdate(Key key, @Nullable byte[] value, long logSequenceNumber);
+
     /**
      * Return a value with the given key.
      *
      * @return A value wrapping a null byte array if the key is marked as deleted; null if any
      *     key-value pair can be found by the key in the buffer.
      */
-    public @Nullable Value get(Key key) {
-        KvEntry kvEntry = kvEntryMap.get(key);
-
-        return kvEntry == null ? null : kvEntry.getValue();
-    }
+    public abstract @Nullable Value get(Key key);
 
     /**
      * Truncate the buffer to the given log sequence number so that it only contains key-value pairs
@@ -180,26 +182,15 @@ public class KvPreWriteBuffer implements AutoCloseable {
         } else {
             truncateAsErrorCount.inc();
         }
-
-        Iterator<KvEntry> descIter = allKvEntries.descendingIterator();
-        while (descIter.hasNext()) {
-            KvEntry entry = descIter.next();
-            if (entry.getLogSequenceNumber() < targetLogSequenceNumber) {
-                maxLogSequenceNumber = entry.logSequenceNumber;
-                break;
-            }
-            descIter.remove();
-            boolean removed = kvEntryMap.remove(entry.getKey(), entry);
-            // if the latest entry is removed, we need to rollback the previous entry to the map
-            if (removed && entry.previousEntry != null) {
-                kvEntryMap.put(entry.getKey(), entry.previousEntry);
-            }
-        }
-        if (!descIter.hasNext()) {
-            maxLogSequenceNumber = -1;
-        }
+        doTruncate(targetLogSequenceNumber);
     }
 
+    /**
+     * Removes the key-value pairs whose log sequence number is greater than or equal to the given
+     * one, restores the previous values of the keys and updates {@link #maxLogSequenceNumber}.
+     */
+    protected abstract void doTruncate(long targetLogSequenceNumber);
+
     /**
      * To flush the key-value pairs whose sequence number is less than the given sequence number.
      *
@@ -207,33 +198,7 @@ public class KvPreWriteBuffer implements AutoCloseable {
      *     be flushed
      */
     public void flush(long exclusiveUpToLogSequenceNumber) throws IOException {
-        int flushedCount = 0;
-        for (Iterator<KvEntry> it = allKvEntries.iterator(); it.hasNext(); ) {
-            KvEntry entry = it.next();
-            // if find one entry whose sequence number is greater than the given sequence number,
-            // break the loop
-            if (entry.getLogSequenceNumber() >= exclusiveUpToLogSequenceNumber) {
-                break;
-            }
-
-            // first remove the entry from the list
-            it.remove();
-
-            // then write data using write batch writer
-            Value value = entry.getValue();
-            if (value.value != null) {
-                flushedCount += 1;
-                kvBatchWriter.put(entry.getKey().key, value.value);
-            } else {
-                flushedCount += 1;
-                kvBatchWriter.delete(entry.getKey().key);
-            }
-
-            // if the kv entry to be flushed is equal to the one in the kvEntryMap, we
-            // can remove it from the map. Although it's not a must to remove from the map,
-            // we remove it to reduce the memory usage
-            kvEntryMap.remove(entry.getKey(), entry);
-        }
+        int flushedCount = writeEntries(exclusiveUpToLogSequenceNumber);
         // flush to underlying kv tablet
         if (flushedCount > 0) {
             long start = System.nanoTime();
@@ -243,15 +208,13 @@ public class KvPreWriteBuffer implements AutoCloseable {
         }
     }
 
-    @VisibleForTesting
-    public Map<Key, KvEntry> getKvEntryMap() {
-        return kvEntryMap;
-    }
-
-    @VisibleForTesting
-    public LinkedList<KvEntry> getAllKvEntries() {
-        return allKvEntries;
-    }
+    /**
+     * Writes the key-value pairs whose sequence number is less than the given sequence number to
+     * the {@link #kvBatchWriter} in putting order, and removes them from the buffer.
+     *
+     * @return the number of the written key-value pairs
+     */
+    protected abstract int writeEntries(long exclusiveUpToLogSequenceNumber) throws IOException;
 
     @VisibleForTesting
     public long getMaxLSN() {
@@ -325,6 +288,11 @@ public class KvPreWriteBuffer implements AutoCloseable {
             return logSequenceNumber;
         }
 
+        @Nullable
+        KvEntry getPreviousEntry() {
+            return previousEntry;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -362,6 +330,7 @@ public class KvPreWriteBuffer implements AutoCloseable {
 
     /** A key wrapper to wrap a byte array with overriding the hashCode and equals method. */
     public static class Key {
+        // the bytes of the key, null if the key is a view over the memory of a request
         private final byte[] key;
 
         // Currently, in our design, the Key is always created for putting to a map, or getting from
@@ -370,19 +339,56 @@ public class KvPreWriteBuffer implements AutoCloseable {
         private final int hashCode;
 
         public static Key of(byte[] key) {
-            return new Key(key);
+            return new Key(
+                    key, MurmurHashUtils.hashUnsafeBytes(key, BYTE_ARRAY_BASE_OFFSET, key.length));
+        }
+
+        /**
+         * Creates a key viewing the remaining bytes of the given buffer without copying them. It's
+         * used to look up the keys of the kv records of a request. The view is copied when it's put
+         * into the pre-write buffer, but it must not be used after the buffer is released.
+         */
+        public static Key view(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                return new KeyView(
+                        buffer.array(),
+                        BYTE_ARRAY_BASE_OFFSET + buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+            } else {
+                return new KeyView(
+                        null,
+                        MemoryUtils.getByteBufferAddress(buffer) + buffer.position(),
+                        buffer.remaining());
+            }
         }
 
-        private Key(byte[] key) {
+        private Key(byte[] key, int hashCode) {
             this.key = key;
-            this.hashCode =
-                    MurmurHashUtils.hashUnsafeBytes(key, BYTE_ARRAY_BASE_OFFSET, key.length);
+            this.hashCode = hashCode;
         }
 
+        /** Returns the bytes of the key, the bytes are copied if the key is a view. */
         public byte[] get() {
             return key;
         }
 
+        Object base() {
+            return key;
+        }
+
+        long baseOffset() {
+            return BYTE_ARRAY_BASE_OFFSET;
+        }
+
+        int length() {
+            return key.length;
+        }
+
+        /** Returns the key owning the bytes, which can be put into the pre-write buffer. */
+        Key toOwned() {
+            return this;
+        }
+
         @Override
         public int hashCode() {
             return hashCode;
@@ -393,7 +399,7 @@ public class KvPreWriteBuffer implements AutoCloseable {
             if (this == o) {
                 return true;
             }
-            if (o == null || getClass() != o.getClass()) {
+            if (!(o instanceof Key)) {
                 return false;
             }
             Key that = (Key) o;
@@ -404,17 +410,57 @@ public class KvPreWriteBuffer implements AutoCloseable {
                 return false;
             }
 
-            // then, compare the key
-            // we use MemorySegment to compare the key since it's faster
-            // than Arrays.equals
-            MemorySegment s1 = MemorySegment.wrap(key);
-            MemorySegment s2 = MemorySegment.wrap(that.key);
-            return key.length == that.key.length && s1.equalTo(s2, 0, 0, key.length);
+            // then, compare the key in the underlying memory, which works for both the keys and
+            // the key views without copying
+            int length = length();
+            return length == that.length()
+                    && equalBytes(base(), baseOffset(), that.base(), that.baseOffset(), length);
         }
 
         @Override
         public String toString() {
-            return "[" + Base64.getEncoder().encodeToString(key) + "]";
+            return "[" + Base64.getEncoder().encodeToString(get()) + "]";
+        }
+    }
+
+    /** A {@link Key} viewing the heap or off-heap memory of a request. */
+    private static final class KeyView extends Key {
+        private final @Nullable Object base;
+        private final long baseOffset;
+        private final int length;
+
+        private KeyView(@Nullable Object base, long baseOffset, int length) {
+            super(null, MurmurHashUtils.hashUnsafeBytes(base, baseOffset, length));
+            this.base = base;
+            this.baseOffset = baseOffset;
+            this.length = length;
+        }
+
+        @Override
+        public byte[] get() {
+            byte[] bytes = new byte[length];
+            UNSAFE.copyMemory(base, baseOffset, bytes, BYTE_ARRAY_BASE_OFFSET, length);
+            return bytes;
+        }
+
+        @Override
+        Object base() {
+            return base;
+        }
+
+        @Override
+        long baseOffset() {
+            return baseOffset;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        Key toOwned() {
+            return new Key(get(), hashCode());
         }
     }
 
@@ -462,6 +508,22 @@ public class KvPreWriteBuffer implements AutoCloseable {
         }
     }
 
+    /** Compares the bytes in the given heap or off-heap memory. */
+    static boolean equalBytes(Object base1, long offset1, Object base2, long offset2, int length) {
+        int i = 0;
+        for (; i <= length - 8; i += 8) {
+            if (UNSAFE.getLong(base1, offset1 + i) != UNSAFE.getLong(base2, offset2 + i)) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (UNSAFE.getByte(base1, offset1 + i) != UNSAFE.getByte(base2, offset2 + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /** The reason why we truncate the kv pre-write buffer. */
     public enum TruncateReason {
         DUPLICATED,
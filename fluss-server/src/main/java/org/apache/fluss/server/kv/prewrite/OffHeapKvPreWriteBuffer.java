@@ -0,0 +1,511 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.prewrite;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.exception.KvStorageException;
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.memory.MemorySegmentPool;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.fluss.memory.MemoryUtils.UNSAFE;
+import static org.apache.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
+
+/**
+ * A {@link KvPreWriteBuffer} keeping the key-value pairs in the pages of a {@link
+ * MemorySegmentPool}, so that the buffered key-value pairs neither create small objects for the
+ * garbage collector, nor take more memory than the pool.
+ *
+ * <p>The entries are appended to the pages in putting order, every entry is addressed by the number
+ * of its page and the offset in the page. The layout of an entry is:
+ *
+ * <pre>
+ * +-----+------------------+--------------+----------+------------+--------------+-----+-------+
+ * | LSN | previous address | previous LSN | key hash | key length | value length | key | value |
+ * +-----+------------------+--------------+----------+------------+--------------+-----+-------+
+ * </pre>
+ *
+ * <p>The value length is -1 if the key is marked as deleted. The previous address is the address of
+ * the previous entry of the same key in the buffer, which is restored when the entry is truncated,
+ * if it hasn't been flushed.
+ *
+ * <p>The latest entry of every key is indexed by an open addressing hash table with linear probing,
+ * which only consists of primitive arrays of the entry addresses and the key hashes. The addresses
+ * of all the entries are also kept in a ring buffer in putting order, which is consumed from the
+ * head when flushing and from the tail when truncating. The pages are returned to the pool once all
+ * the entries in them have been flushed.
+ *
+ * <p>An entry larger than the page size starts at a new page and spans the following pages, which
+ * are allocated from the pool at once. The header of an entry always lies in one page, while the
+ * key and the value may cross the page boundaries. A {@link KvStorageException} is thrown if the
+ * pool is exhausted, the put will be retried by the client after the high watermark advances and
+ * the buffered entries are flushed.
+ */
+@NotThreadSafe
+public class OffHeapKvPreWriteBuffer extends KvPreWriteBuffer {
+
+    private static final int LSN_OFFSET = 0;
+    private static final int PREVIOUS_ADDRESS_OFFSET = 8;
+    private static final int PREVIOUS_LSN_OFFSET = 16;
+    private static final int KEY_HASH_OFFSET = 24;
+    private static final int KEY_LENGTH_OFFSET = 28;
+    private static final int VALUE_LENGTH_OFFSET = 32;
+    private static final int HEADER_SIZE = 36;
+
+    private static final int DELETED_VALUE_LENGTH = -1;
+    private static final long NULL_ADDRESS = -1L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final MemorySegmentPool memorySegmentPool;
+    private final int pageSize;
+
+    // the bytes of the pages held by the pre-write buffers of the server
+    private final Counter memoryUsage;
+
+    // the pages holding the entries, the number of the first page is firstPageNumber
+    private final List<MemorySegment> pages = new ArrayList<>();
+    private long firstPageNumber;
+    // the offset to write the next entry in the last page
+    private int writeOffset;
+    // the bytes of the pages held by this buffer
+    private long memorySize;
+
+    // the hash index from the keys to the addresses of their latest entries
+    private long[] indexAddresses;
+    private int[] indexHashes;
+    private int indexMask;
+    private int indexSize;
+
+    // the ring buffer of the addresses of all the entries in putting order
+    private long[] logAddresses;
+    private int logMask;
+    private int logHead;
+    private int logSize;
+
+    public OffHeapKvPreWriteBuffer(
+            KvBatchWriter kvBatchWriter,
+            MemorySegmentPool memorySegmentPool,
+            TabletServerMetricGroup serverMetricGroup) {
+        super(kvBatchWriter, serverMetricGroup);
+        this.memorySegmentPool = memorySegmentPool;
+        this.pageSize = memorySegmentPool.pageSize();
+        this.memoryUsage = serverMetricGroup.kvPreWriteBufferMemoryUsage();
+
+        this.indexAddresses = new long[INITIAL_CAPACITY];
+        Arrays.fill(indexAddresses, NULL_ADDRESS);
+        this.indexHashes = new int[INITIAL_CAPACITY];
+        this.indexMask = INITIAL_CAPACITY - 1;
+        this.logAddresses = new long[INITIAL_CAPACITY];
+        this.logMask = INITIAL_CAPACITY - 1;
+    }
+
+    @Override
+    protected void doUpdate(Key key, @Nullable byte[] value, long lsn) {
+        int hash = key.hashCode();
+        int keyLength = key.length();
+        int valueLength = value == null ? DELETED_VALUE_LENGTH : value.length;
+        int slot = findSlot(key, hash);
+        long previousAddress = indexAddresses[slot];
+        long previousLsn = previousAddress == NULL_ADDRESS ? -1L : lsnOf(previousAddress);
+
+        // allocate the memory first, nothing is changed if the memory is exhausted
+        long address = allocate(HEADER_SIZE + keyLength + Math.max(valueLength, 0));
+        MemorySegment page = pageOf(address);
+        int offset = offsetOf(address);
+        page.putLong(offset + LSN_OFFSET, lsn);
+        page.putLong(offset + PREVIOUS_ADDRESS_OFFSET, previousAddress);
+        page.putLong(offset + PREVIOUS_LSN_OFFSET, previousLsn);
+        page.putInt(offset + KEY_HASH_OFFSET, hash);
+        page.putInt(offset + KEY_LENGTH_OFFSET, keyLength);
+        page.putInt(offset + VALUE_LENGTH_OFFSET, valueLength);
+        writeBytes(address, HEADER_SIZE, key.base(), key.baseOffset(), keyLength);
+        if (value != null) {
+            writeBytes(address, HEADER_SIZE + keyLength, value, BYTE_ARRAY_BASE_OFFSET, valueLength);
+        }
+
+        indexAddresses[slot] = address;
+        indexHashes[slot] = hash;
+        if (previousAddress == NULL_ADDRESS && ++indexSize > (indexMask + 1) / 2) {
+            resizeIndex();
+        }
+        appendLog(address);
+    }
+
+    @Override
+    public @Nullable Value get(Key key) {
+        long address = indexAddresses[findSlot(key, key.hashCode())];
+        if (address == NULL_ADDRESS) {
+            return null;
+        }
+        MemorySegment page = pageOf(address);
+        int offset = offsetOf(address);
+        int valueLength = page.getInt(offset + VALUE_LENGTH_OFFSET);
+        if (valueLength == DELETED_VALUE_LENGTH) {
+            return Value.of(null);
+        }
+        byte[] value = new byte[valueLength];
+        readBytes(address, HEADER_SIZE + page.getInt(offset + KEY_LENGTH_OFFSET), value);
+        return Value.of(value);
+    }
+
+    @Override
+    protected void doTruncate(long targetLogSequenceNumber) {
+        while (logSize > 0) {
+            long address = logAddresses[(logHead + logSize - 1) & logMask];
+            MemorySegment page = pageOf(address);
+            int offset = offsetOf(address);
+            if (page.getLong(offset + LSN_OFFSET) < targetLogSequenceNumber) {
+                break;
+            }
+            logSize--;
+
+            // the truncated entry must be the latest entry of the key, rollback the index to the
+            // previous entry if it's still in the buffer
+            int slot = slotOf(address);
+            if (slot >= 0) {
+                long previousAddress = page.getLong(offset + PREVIOUS_ADDRESS_OFFSET);
+                long previousLsn = page.getLong(offset + PREVIOUS_LSN_OFFSET);
+                if (previousAddress != NULL_ADDRESS
+                        && logSize > 0
+                        && previousLsn >= lsnOf(logAddresses[logHead])) {
+                    indexAddresses[slot] = previousAddress;
+                } else {
+                    removeSlot(slot);
+                }
+            }
+        }
+
+        if (logSize == 0) {
+            releaseAllPages();
+            maxLogSequenceNumber = -1;
+        } else {
+            // rewind the write position to the end of the last entry, and return the pages after it
+            long address = logAddresses[(logHead + logSize - 1) & logMask];
+            MemorySegment page = pageOf(address);
+            int offset = offsetOf(address);
+            int endOffset =
+                    offset
+                            + HEADER_SIZE
+                            + page.getInt(offset + KEY_LENGTH_OFFSET)
+                            + Math.max(page.getInt(offset + VALUE_LENGTH_OFFSET), 0);
+            // the entry may span the following pages
+            int lastPageIndex = pageIndexOf(address) + (endOffset - 1) / pageSize;
+            while (pages.size() - 1 > lastPageIndex) {
+                releasePage(pages.remove(pages.size() - 1));
+            }
+            writeOffset = endOffset - (endOffset - 1) / pageSize * pageSize;
+            maxLogSequenceNumber = page.getLong(offset + LSN_OFFSET);
+        }
+    }
+
+    @Override
+    protected int writeEntries(long exclusiveUpToLogSequenceNumber) throws IOException {
+        int flushedCount = 0;
+        while (logSize > 0) {
+            long address = logAddresses[logHead];
+            MemorySegment page = pageOf(address);
+            int offset = offsetOf(address);
+            // if find one entry whose sequence number is greater than the given sequence number,
+            // break the loop
+            if (page.getLong(offset + LSN_OFFSET) >= exclusiveUpToLogSequenceNumber) {
+                break;
+            }
+
+            // first write data using write batch writer
+            int keyLength = page.getInt(offset + KEY_LENGTH_OFFSET);
+            int valueLength = page.getInt(offset + VALUE_LENGTH_OFFSET);
+            byte[] key = new byte[keyLength];
+            readBytes(address, HEADER_SIZE, key);
+            if (valueLength == DELETED_VALUE_LENGTH) {
+                kvBatchWriter.delete(key);
+            } else {
+                byte[] value = new byte[valueLength];
+                readBytes(address, HEADER_SIZE + keyLength, value);
+                kvBatchWriter.put(key, value);
+            }
+            flushedCount += 1;
+
+            // then remove the entry from the log, and from the index if it's the latest entry of
+            // the key
+            logHead = (logHead + 1) & logMask;
+            logSize--;
+            int slot = slotOf(address);
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+        }
+
+        // return the pages whose entries have all been flushed
+        if (logSize == 0) {
+            releaseAllPages();
+        } else {
+            long headPageNumber = logAddresses[logHead] >>> 32;
+            while (firstPageNumber < headPageNumber) {
+                releasePage(pages.remove(0));
+                firstPageNumber++;
+            }
+        }
+        return flushedCount;
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        releaseAllPages();
+    }
+
+    /** Returns the bytes of the pages held by this buffer. */
+    @VisibleForTesting
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    // ----------------------------------------------------------------------------------------
+    //  Pages
+    // ----------------------------------------------------------------------------------------
+
+    private long allocate(int size) {
+        if (!pages.isEmpty() && pageSize - writeOffset >= size) {
+            long address = ((firstPageNumber + pages.size() - 1) << 32) | writeOffset;
+            writeOffset += size;
+            return address;
+        }
+
+        // the entry starts at a new page, and spans the following pages if it's larger than a page
+        int numPages = (size - 1) / pageSize + 1;
+        List<MemorySegment> newPages = allocatePages(numPages, size);
+        long address = (firstPageNumber + pages.size()) << 32;
+        pages.addAll(newPages);
+        writeOffset = size - (numPages - 1) * pageSize;
+        memorySize += (long) numPages * pageSize;
+        memoryUsage.inc((long) numPages * pageSize);
+        return address;
+    }
+
+    private List<MemorySegment> allocatePages(int numPages, int entrySize) {
+        try {
+            return memorySegmentPool.allocatePages(numPages);
+        } catch (IOException e) {
+            throw new KvStorageException(
+                    String.format(
+                            "Failed to allocate %d page(s) for an entry of %d bytes in the kv "
+                                    + "pre-write buffer, %d bytes of %d bytes are available.",
+                            numPages,
+                            entrySize,
+                            memorySegmentPool.availableMemory(),
+                            memorySegmentPool.totalSize()),
+                    e);
+        }
+    }
+
+    private void releasePage(MemorySegment page) {
+        memorySize -= page.size();
+        memoryUsage.dec(page.size());
+        memorySegmentPool.returnPage(page);
+    }
+
+    private void releaseAllPages() {
+        for (MemorySegment page : pages) {
+            releasePage(page);
+        }
+        pages.clear();
+        firstPageNumber = 0;
+        writeOffset = 0;
+    }
+
+    private MemorySegment pageOf(long address) {
+        return pages.get(pageIndexOf(address));
+    }
+
+    private int pageIndexOf(long address) {
+        return (int) ((address >>> 32) - firstPageNumber);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    private long lsnOf(long address) {
+        return pageOf(address).getLong(offsetOf(address) + LSN_OFFSET);
+    }
+
+    private static long unsafeOffsetOf(MemorySegment page, int offset) {
+        return page.isOffHeap() ? page.getAddress() + offset : BYTE_ARRAY_BASE_OFFSET + offset;
+    }
+
+    /**
+     * Copies the given bytes into the entry of the given address at the given position, which may
+     * cross the page boundaries.
+     */
+    private void writeBytes(
+            long entryAddress, int position, @Nullable Object srcBase, long srcOffset, int length) {
+        int pageIndex = pageIndexOf(entryAddress) + (offsetOf(entryAddress) + position) / pageSize;
+        int offset = (offsetOf(entryAddress) + position) % pageSize;
+        while (length > 0) {
+            MemorySegment page = pages.get(pageIndex++);
+            int chunk = Math.min(length, pageSize - offset);
+            UNSAFE.copyMemory(
+                    srcBase, srcOffset, page.getHeapMemory(), unsafeOffsetOf(page, offset), chunk);
+            srcOffset += chunk;
+            length -= chunk;
+            offset = 0;
+        }
+    }
+
+    /**
+     * Copies the bytes of the entry of the given address from the given position into the target
+     * array, which may cross the page boundaries.
+     */
+    private void readBytes(long entryAddress, int position, byte[] target) {
+        int pageIndex = pageIndexOf(entryAddress) + (offsetOf(entryAddress) + position) / pageSize;
+        int offset = (offsetOf(entryAddress) + position) % pageSize;
+        int targetOffset = 0;
+        while (targetOffset < target.length) {
+            int chunk = Math.min(target.length - targetOffset, pageSize - offset);
+            pages.get(pageIndex++).get(offset, target, targetOffset, chunk);
+            targetOffset += chunk;
+            offset = 0;
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    //  Index
+    // ----------------------------------------------------------------------------------------
+
+    /** Returns the slot of the given key, or the empty slot to put the key if it's absent. */
+    private int findSlot(Key key, int hash) {
+        int slot = hash & indexMask;
+        while (true) {
+            long address = indexAddresses[slot];
+            if (address == NULL_ADDRESS || (indexHashes[slot] == hash && keyEquals(address, key))) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    /** Returns the slot pointing to the entry of the given address, or -1 if there is none. */
+    private int slotOf(long address) {
+        MemorySegment page = pageOf(address);
+        int slot = page.getInt(offsetOf(address) + KEY_HASH_OFFSET) & indexMask;
+        while (true) {
+            long slotAddress = indexAddresses[slot];
+            if (slotAddress == address) {
+                return slot;
+            } else if (slotAddress == NULL_ADDRESS) {
+                return -1;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    private boolean keyEquals(long address, Key key) {
+        int keyLength = pageOf(address).getInt(offsetOf(address) + KEY_LENGTH_OFFSET);
+        if (keyLength != key.length()) {
+            return false;
+        }
+        // the key may cross the page boundaries
+        int pageIndex = pageIndexOf(address) + (offsetOf(address) + HEADER_SIZE) / pageSize;
+        int offset = (offsetOf(address) + HEADER_SIZE) % pageSize;
+        long keyOffset = key.baseOffset();
+        int remaining = keyLength;
+        while (remaining > 0) {
+            MemorySegment page = pages.get(pageIndex++);
+            int chunk = Math.min(remaining, pageSize - offset);
+            if (!equalBytes(
+                    page.getHeapMemory(),
+                    unsafeOffsetOf(page, offset),
+                    key.base(),
+                    keyOffset,
+                    chunk)) {
+                return false;
+            }
+            keyOffset += chunk;
+            remaining -= chunk;
+            offset = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given slot by shifting the following slots of the probing sequence backward, so
+     * that no tombstone is needed.
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & indexMask;
+        while (indexAddresses[next] != NULL_ADDRESS) {
+            int distanceToIdeal = (next - (indexHashes[next] & indexMask)) & indexMask;
+            if (distanceToIdeal >= ((next - hole) & indexMask)) {
+                indexAddresses[hole] = indexAddresses[next];
+                indexHashes[hole] = indexHashes[next];
+                hole = next;
+            }
+            next = (next + 1) & indexMask;
+        }
+        indexAddresses[hole] = NULL_ADDRESS;
+        indexSize--;
+    }
+
+    private void resizeIndex() {
+        long[] oldAddresses = indexAddresses;
+        int[] oldHashes = indexHashes;
+        indexAddresses = new long[oldAddresses.length * 2];
+        Arrays.fill(indexAddresses, NULL_ADDRESS);
+        indexHashes = new int[oldHashes.length * 2];
+        indexMask = indexAddresses.length - 1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != NULL_ADDRESS) {
+                int slot = oldHashes[i] & indexMask;
+                while (indexAddresses[slot] != NULL_ADDRESS) {
+                    slot = (slot + 1) & indexMask;
+                }
+                indexAddresses[slot] = oldAddresses[i];
+                indexHashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    //  Log
+    // ----------------------------------------------------------------------------------------
+
+    private void appendLog(long address) {
+        if (logSize == logAddresses.length) {
+            long[] newLogAddresses = new long[logAddresses.length * 2];
+            for (int i = 0; i < logSize; i++) {
+                newLogAddresses[i] = logAddresses[(logHead + i) & logMask];
+            }
+            logAddresses = newLogAddresses;
+            logMask = newLogAddresses.length - 1;
+            logHead = 0;
+        }
+        logAddresses[(logHead + logSize) & logMask] = address;
+        logSize++;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.rocksdb;
+
+import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
+import org.apache.fluss.utils.FileUtils;
+
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * A {@link KvBatchWriter} which writes the key-value pairs to sst files by {@link SstFileWriter}
+ * and ingests the files into RocksDB, instead of writing them through the memtable. It's used to
+ * load a large amount of data into RocksDB, e.g., recovering kv from log.
+ *
+ * <p>The written pairs are buffered in memory and a pair overwrites the buffered pair with the same
+ * key. When the buffer is full or flushed, the buffered pairs are sorted and written to a new sst
+ * file, then the file is ingested into RocksDB. The ingested pairs overwrite the pairs already in
+ * RocksDB, so the pairs are applied in the order of writing.
+ */
+@NotThreadSafe
+public class RocksDBBulkLoadWriter implements KvBatchWriter {
+
+    /** The comparator of keys which is same as the default bytewise comparator of RocksDB. */
+    private static final Comparator<byte[]> KEY_COMPARATOR =
+            (left, right) -> {
+                int minLength = Math.min(left.length, right.length);
+                for (int i = 0; i < minLength; i++) {
+                    int result = (left[i] & 0xff) - (right[i] & 0xff);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return left.length - right.length;
+            };
+
+    private final RocksDB db;
+    private final ColumnFamilyOptions columnFamilyOptions;
+    private final File sstFileDir;
+    private final long bufferSize;
+
+    /** The buffered pairs, the value is null if the key is deleted. */
+    private final Map<KvPreWriteBuffer.Key, byte[]> buffer = new HashMap<>();
+
+    private long bufferedBytes;
+    private int nextSstFileId;
+
+    public RocksDBBulkLoadWriter(
+            RocksDB db, ColumnFamilyOptions columnFamilyOptions, File sstFileDir, long bufferSize) {
+        checkArgument(bufferSize > 0, "The buffer size must be positive.");
+        this.db = db;
+        this.columnFamilyOptions = columnFamilyOptions;
+        this.sstFileDir = sstFileDir;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void put(@Nonnull byte[] key, @Nonnull byte[] value) throws IOException {
+        buffer(key, value);
+    }
+
+    @Override
+    public void delete(@Nonnull byte[] key) throws IOException {
+        buffer(key, null);
+    }
+
+    private void buffer(byte[] key, byte[] value) throws IOException {
+        byte[] previous = buffer.put(KvPreWriteBuffer.Key.of(key), value);
+        if (previous == null) {
+            // a new key or the previous value is a deletion
+            bufferedBytes += key.length;
+        } else {
+            bufferedBytes -= previous.length;
+        }
+        bufferedBytes += value == null ? 0 : value.length;
+        if (bufferedBytes >= bufferSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<byte[]> keys = new ArrayList<>(buffer.size());
+        for (KvPreWriteBuffer.Key key : buffer.keySet()) {
+            keys.add(key.get());
+        }
+        keys.sort(KEY_COMPARATOR);
+
+        Files.createDirectories(sstFileDir.toPath());
+        File sstFile = new File(sstFileDir, "bulk-load-" + nextSstFileId++ + ".sst");
+        try {
+            try (EnvOptions envOptions = new EnvOptions();
+                    DBOptions dbOptions = new DBOptions();
+                    Options options = new Options(dbOptions, columnFamilyOptions);
+                    SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options)) {
+                sstFileWriter.open(sstFile.getAbsolutePath());
+                for (byte[] key : keys) {
+                    byte[] value = buffer.get(KvPreWriteBuffer.Key.of(key));
+                    if (value == null) {
+                        sstFileWriter.delete(key);
+                    } else {
+                        sstFileWriter.put(key, value);
+                    }
+                }
+                sstFileWriter.finish();
+            }
+            // ingest the files one by one, so that the later files overwrite the earlier ones
+            try (IngestExternalFileOptions ingestOptions =
+                    new IngestExternalFileOptions().setMoveFiles(true)) {
+                db.ingestExternalFile(
+                        Collections.singletonList(sstFile.getAbsolutePath()), ingestOptions);
+            }
+        } catch (RocksDBException e) {
+            throw new IOException("Failed to bulk load sst file " + sstFile + " to RocksDB.", e);
+        } finally {
+            FileUtils.deleteFileOrDirectory(sstFile);
+        }
+        buffer.clear();
+        bufferedBytes = 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            flush();
+        } finally {
+            FileUtils.deleteDirectoryQuietly(sstFileDir);
+        }
+    }
+}
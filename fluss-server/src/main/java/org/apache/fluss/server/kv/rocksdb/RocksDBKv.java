@@ -29,10 +29,13 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 import org.rocksdb.WriteOptions;
 
 import javax.annotation.Nullable;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -86,6 +89,15 @@ public class RocksDBKv implements AutoCloseable {
         return new RocksDBWriteBatchWrapper(db, writeBatchSize);
     }
 
+    /**
+     * Creates a writer to bulk load data into RocksDB by ingesting sst files, the sst files are
+     * written into the given directory temporarily.
+     */
+    public RocksDBBulkLoadWriter newBulkLoadWriter(File sstFileDir, long bufferSize) {
+        return new RocksDBBulkLoadWriter(
+                db, optionsContainer.getColumnOptions(), sstFileDir, bufferSize);
+    }
+
     public @Nullable byte[] get(byte[] key) throws IOException {
         try {
             return db.get(key);
@@ -141,6 +153,14 @@ public class RocksDBKv implements AutoCloseable {
         return pkList;
     }
 
+    /**
+     * Creates an iterator over the values of a consistent snapshot of the kv, the iterator must be
+     * closed before the kv is closed.
+     */
+    public RocksDBSnapshotIterator newSnapshotIterator() {
+        return new RocksDBSnapshotIterator(db, defaultColumnFamilyHandle);
+    }
+
     public void put(byte[] key, byte[] value) throws IOException {
         try {
             db.put(writeOptions, key, value);
@@ -157,6 +177,36 @@ public class RocksDBKv implements AutoCloseable {
         }
     }
 
+    /**
+     * Gets the value of the given integer property of RocksDB, e.g., {@code
+     * rocksdb.cur-size-all-mem-tables}. Returns -1 if the kv is closed or fails to get it.
+     */
+    public long getLongProperty(String property) {
+        try (ResourceGuard.Lease ignored = rocksDBResourceGuard.acquireResource()) {
+            return db.getLongProperty(defaultColumnFamilyHandle, property);
+        } catch (IOException | RocksDBException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Gets the hit rate of the block cache accessed by this RocksDB instance. Returns -1 if the
+     * statistics is disabled, the kv is closed or the block cache is never accessed.
+     */
+    public double getBlockCacheHitRate() {
+        Statistics statistics = optionsContainer.getStatistics();
+        if (statistics == null) {
+            return -1;
+        }
+        try (ResourceGuard.Lease ignored = rocksDBResourceGuard.acquireResource()) {
+            long hits = statistics.getTickerCount(TickerType.BLOCK_CACHE_HIT);
+            long misses = statistics.getTickerCount(TickerType.BLOCK_CACHE_MISS);
+            return hits + misses == 0 ? -1 : (double) hits / (hits + misses);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     public void checkIfRocksDBClosed() {
         if (this.closed) {
             throw new FlussRuntimeException(
@@ -73,6 +73,15 @@ public class RocksDBResourceContainer implements AutoCloseable {
 
     private final boolean enableStatistics;
 
+    /**
+     * The resources shared by all the RocksDB instances of the tablet server, null if the shared
+     * memory is disabled. They are owned by the kv manager, so are not closed by the container.
+     */
+    @Nullable private final RocksDBSharedResources sharedResources;
+
+    /** The statistics of the RocksDB instance, null if the statistics is disabled. */
+    @Nullable private Statistics statistics;
+
     /** The handles to be closed when the container is closed. */
     private final ArrayList<AutoCloseable> handlesToClose;
 
@@ -89,6 +98,14 @@ public class RocksDBResourceContainer implements AutoCloseable {
             ReadableConfig configuration,
             @Nullable File instanceBasePath,
             boolean enableStatistics) {
+        this(configuration, instanceBasePath, enableStatistics, null);
+    }
+
+    public RocksDBResourceContainer(
+            ReadableConfig configuration,
+            @Nullable File instanceBasePath,
+            boolean enableStatistics,
+            @Nullable RocksDBSharedResources sharedResources) {
         this.configuration = configuration;
 
         this.instanceRocksDBPath =
@@ -96,6 +113,7 @@ public class RocksDBResourceContainer implements AutoCloseable {
                         ? RocksDBKvBuilder.getInstanceRocksDBPath(instanceBasePath)
                         : null;
         this.enableStatistics = enableStatistics;
+        this.sharedResources = sharedResources;
 
         this.handlesToClose = new ArrayList<>();
     }
@@ -112,13 +130,16 @@ public class RocksDBResourceContainer implements AutoCloseable {
         // todo: maybe we can allow user define options factory and some predefined options
         //  just like Flink
 
-        // todo: introduce WriteBufferManager for controllable memory consume in FLUSS-54164814
+        if (sharedResources != null) {
+            // charge the memory of memtables to the shared block cache
+            opt.setWriteBufferManager(sharedResources.getWriteBufferManager());
+        }
 
         // add necessary default options
         opt = opt.setCreateIfMissing(true);
 
         if (enableStatistics) {
-            Statistics statistics = new Statistics();
+            statistics = new Statistics();
             opt.setStatistics(statistics);
             handlesToClose.add(statistics);
         }
@@ -138,6 +159,15 @@ public class RocksDBResourceContainer implements AutoCloseable {
         return opt;
     }
 
+    /**
+     * Gets the {@link Statistics} of the RocksDB instance, it's only available after {@link
+     * #getDbOptions()} is called with the statistics enabled.
+     */
+    @Nullable
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
     /** Gets the RocksDB {@link WriteOptions} to be used for write operations. */
     public WriteOptions getWriteOptions() {
         // Disable WAL by default
@@ -262,8 +292,17 @@ public class RocksDBResourceContainer implements AutoCloseable {
         blockBasedTableConfig.setMetadataBlockSize(
                 internalGetOption(ConfigOptions.KV_METADATA_BLOCK_SIZE).getBytes());
 
-        blockBasedTableConfig.setBlockCacheSize(
-                internalGetOption(ConfigOptions.KV_BLOCK_CACHE_SIZE).getBytes());
+        if (sharedResources != null) {
+            // cache the index and filter blocks in the shared block cache to bound their memory,
+            // and pin the top level ones to avoid the performance degradation of cache misses
+            blockBasedTableConfig.setBlockCache(sharedResources.getBlockCache());
+            blockBasedTableConfig.setCacheIndexAndFilterBlocks(true);
+            blockBasedTableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+            blockBasedTableConfig.setPinTopLevelIndexAndFilter(true);
+        } else {
+            blockBasedTableConfig.setBlockCacheSize(
+                    internalGetOption(ConfigOptions.KV_BLOCK_CACHE_SIZE).getBytes());
+        }
 
         if (internalGetOption(ConfigOptions.KV_USE_BLOOM_FILTER)) {
             final double bitsPerKey = internalGetOption(ConfigOptions.KV_BLOOM_FILTER_BITS_PER_KEY);
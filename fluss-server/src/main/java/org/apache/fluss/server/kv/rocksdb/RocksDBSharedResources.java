@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.rocksdb;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.ReadableConfig;
+import org.apache.fluss.utils.IOUtils;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.WriteBufferManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * The RocksDB resources shared by all the kv tablets of a tablet server to bound the memory used by
+ * RocksDB, which includes a block cache and a {@link WriteBufferManager} charging the memory of the
+ * memtables to the block cache. So the total memory is bounded by the capacity of the block cache
+ * no matter how many kv tablets there are.
+ *
+ * <p>The capacities are calculated in the same way as Flink's managed memory of RocksDB state
+ * backend: as the memtables may exceed the limit of the write buffer manager before flushing, the
+ * write buffer manager is given 2/3 of the write buffer memory and the overflow is reserved in the
+ * block cache.
+ */
+public class RocksDBSharedResources implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBSharedResources.class);
+
+    private final Cache blockCache;
+    private final WriteBufferManager writeBufferManager;
+
+    @VisibleForTesting
+    RocksDBSharedResources(Cache blockCache, WriteBufferManager writeBufferManager) {
+        this.blockCache = blockCache;
+        this.writeBufferManager = writeBufferManager;
+    }
+
+    /**
+     * Creates the shared resources if {@link ConfigOptions#KV_SHARED_MEMORY_ENABLED} is true,
+     * otherwise returns null.
+     */
+    public static @Nullable RocksDBSharedResources create(ReadableConfig conf) throws IOException {
+        if (!conf.get(ConfigOptions.KV_SHARED_MEMORY_ENABLED)) {
+            return null;
+        }
+        long totalMemorySize = conf.get(ConfigOptions.KV_SHARED_MEMORY_SIZE).getBytes();
+        double writeBufferRatio = conf.get(ConfigOptions.KV_SHARED_MEMORY_WRITE_BUFFER_RATIO);
+        double highPriorityPoolRatio =
+                conf.get(ConfigOptions.KV_SHARED_MEMORY_HIGH_PRIORITY_POOL_RATIO);
+        checkArgument(totalMemorySize > 0, "The shared memory size of RocksDB must be positive.");
+        checkArgument(
+                writeBufferRatio > 0 && writeBufferRatio < 1,
+                "The write buffer ratio of the shared memory must be in (0, 1), but is %s.",
+                writeBufferRatio);
+        checkArgument(
+                highPriorityPoolRatio >= 0 && highPriorityPoolRatio < 1,
+                "The high priority pool ratio of the shared memory must be in [0, 1), but is %s.",
+                highPriorityPoolRatio);
+
+        RocksDBKvBuilder.ensureRocksDBIsLoaded(System.getProperty("java.io.tmpdir"));
+        long cacheCapacity = (long) ((3 - writeBufferRatio) * totalMemorySize / 3);
+        long writeBufferManagerCapacity = (long) (2 * totalMemorySize * writeBufferRatio / 3);
+        // don't use strict capacity limit, otherwise the reads may fail when the cache is full
+        LRUCache blockCache = new LRUCache(cacheCapacity, -1, false, highPriorityPoolRatio);
+        WriteBufferManager writeBufferManager =
+                new WriteBufferManager(writeBufferManagerCapacity, blockCache);
+        LOG.info(
+                "Created shared RocksDB block cache with capacity {} bytes and write buffer manager"
+                        + " with capacity {} bytes.",
+                cacheCapacity,
+                writeBufferManagerCapacity);
+        return new RocksDBSharedResources(blockCache, writeBufferManager);
+    }
+
+    public Cache getBlockCache() {
+        return blockCache;
+    }
+
+    public WriteBufferManager getWriteBufferManager() {
+        return writeBufferManager;
+    }
+
+    /** Returns the memory size of the entries in the shared block cache, including memtables. */
+    public long getBlockCacheUsage() {
+        return blockCache.getUsage();
+    }
+
+    /** Returns the memory size of the entries pinned in the shared block cache. */
+    public long getBlockCachePinnedUsage() {
+        return blockCache.getPinnedUsage();
+    }
+
+    /**
+     * Closes the shared resources, which must be called after all the RocksDB instances using them
+     * are closed.
+     */
+    @Override
+    public void close() {
+        IOUtils.closeQuietly(writeBufferManager);
+        IOUtils.closeQuietly(blockCache);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.rocksdb;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Snapshot;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An iterator over the values of a consistent snapshot of a {@link RocksDB}, the writes after the
+ * iterator is created are invisible to it. The iterator must be closed before the RocksDB is
+ * closed to release the snapshot.
+ */
+@NotThreadSafe
+public class RocksDBSnapshotIterator implements AutoCloseable {
+
+    private final RocksDB db;
+    private final Snapshot snapshot;
+    private final ReadOptions readOptions;
+    private final RocksIterator iterator;
+
+    RocksDBSnapshotIterator(RocksDB db, ColumnFamilyHandle columnFamilyHandle) {
+        this.db = db;
+        this.snapshot = db.getSnapshot();
+        // the scanned blocks are unlikely to be read again, don't pollute the block cache
+        this.readOptions = new ReadOptions().setSnapshot(snapshot).setFillCache(false);
+        this.iterator = db.newIterator(columnFamilyHandle, readOptions);
+        iterator.seekToFirst();
+    }
+
+    public boolean isValid() {
+        return iterator.isValid();
+    }
+
+    public byte[] value() {
+        return iterator.value();
+    }
+
+    public void next() {
+        iterator.next();
+    }
+
+    @Override
+    public void close() {
+        iterator.close();
+        readOptions.close();
+        db.releaseSnapshot(snapshot);
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.rowmerger;
+
+import org.apache.fluss.metadata.AggregateFunctionType;
+import org.apache.fluss.metadata.DeleteBehavior;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.MergeEngineType;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.RowEncoder;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DecimalType;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A merger that aggregates the new row into the old row column by column with the aggregate
+ * functions declared for the columns, the primary key columns are kept as is.
+ *
+ * @see MergeEngineType#AGGREGATE
+ */
+@NotThreadSafe
+public class AggregateRowMerger implements RowMerger {
+
+    private final InternalRow.FieldGetter[] fieldGetters;
+    /** The aggregator of each column, null for the primary key columns. */
+    private final @Nullable FieldAggregator[] fieldAggregators;
+
+    private final RowEncoder rowEncoder;
+    /** Whether the inserted row needs to be aggregated, i.e., there is a COUNT column. */
+    private final boolean aggregateOnInsert;
+
+    private final DeleteBehavior deleteBehavior;
+
+    public AggregateRowMerger(
+            Schema schema,
+            KvFormat kvFormat,
+            Map<String, AggregateFunctionType> aggregateFunctions,
+            @Nullable DeleteBehavior deleteBehavior) {
+        if (deleteBehavior == DeleteBehavior.ALLOW) {
+            throw new IllegalArgumentException(
+                    "DELETE is not supported for the aggregate merge engine.");
+        }
+        this.deleteBehavior = deleteBehavior != null ? deleteBehavior : DeleteBehavior.IGNORE;
+
+        RowType rowType = schema.getRowType();
+        Map<String, AggregateFunctionType> functions = new HashMap<>(aggregateFunctions);
+        DataType[] fieldDataTypes = rowType.getChildren().toArray(new DataType[0]);
+        this.fieldGetters = new InternalRow.FieldGetter[fieldDataTypes.length];
+        this.fieldAggregators = new FieldAggregator[fieldDataTypes.length];
+        for (int i = 0; i < fieldDataTypes.length; i++) {
+            fieldGetters[i] = InternalRow.createFieldGetter(fieldDataTypes[i], i);
+        }
+        boolean hasCount = false;
+        int[] pkIndexes = schema.getPrimaryKeyIndexes();
+        for (int i = 0; i < fieldDataTypes.length; i++) {
+            String fieldName = rowType.getFieldNames().get(i);
+            AggregateFunctionType function = functions.remove(fieldName);
+            if (contains(pkIndexes, i)) {
+                if (function != null) {
+                    throw new IllegalArgumentException(
+                            String.format(
+                                    "The primary key column '%s' can't be aggregated by the aggregate merge engine.",
+                                    fieldName));
+                }
+                continue;
+            }
+            if (function == null) {
+                function = AggregateFunctionType.LAST_NON_NULL;
+            }
+            fieldAggregators[i] = createFieldAggregator(function, fieldDataTypes[i], fieldName);
+            hasCount |= function == AggregateFunctionType.COUNT;
+        }
+        if (!functions.isEmpty()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The columns %s for the aggregate merge engine don't exist in schema.",
+                            functions.keySet()));
+        }
+        this.aggregateOnInsert = hasCount;
+        this.rowEncoder = RowEncoder.create(kvFormat, fieldDataTypes);
+    }
+
+    @Override
+    public BinaryRow insert(BinaryRow newRow) {
+        if (!aggregateOnInsert) {
+            return newRow;
+        }
+        rowEncoder.startNewRow();
+        for (int i = 0; i < fieldGetters.length; i++) {
+            Object value = fieldGetters[i].getFieldOrNull(newRow);
+            FieldAggregator aggregator = fieldAggregators[i];
+            rowEncoder.encodeField(i, aggregator == null ? value : aggregator.agg(null, value));
+        }
+        return rowEncoder.finishRow();
+    }
+
+    @Override
+    public BinaryRow merge(BinaryRow oldRow, BinaryRow newRow) {
+        boolean changed = false;
+        rowEncoder.startNewRow();
+        for (int i = 0; i < fieldGetters.length; i++) {
+            FieldAggregator aggregator = fieldAggregators[i];
+            Object oldValue = fieldGetters[i].getFieldOrNull(oldRow);
+            if (aggregator == null) {
+                // the primary key columns are always the same
+                rowEncoder.encodeField(i, oldValue);
+            } else {
+                Object value = aggregator.agg(oldValue, fieldGetters[i].getFieldOrNull(newRow));
+                // the aggregators return the accumulator itself if it isn't changed
+                changed |= value != oldValue;
+                rowEncoder.encodeField(i, value);
+            }
+        }
+        BinaryRow mergedRow = rowEncoder.finishRow();
+        // nothing happens to the row if none of the columns is changed
+        return changed ? mergedRow : oldRow;
+    }
+
+    @Nullable
+    @Override
+    public BinaryRow delete(BinaryRow oldRow) {
+        throw new UnsupportedOperationException(
+                "DELETE is not supported for the aggregate merge engine.");
+    }
+
+    @Override
+    public DeleteBehavior deleteBehavior() {
+        return deleteBehavior;
+    }
+
+    @Override
+    public RowMerger configureTargetColumns(@Nullable int[] targetColumns) {
+        if (targetColumns == null) {
+            return this;
+        } else {
+            throw new UnsupportedOperationException(
+                    "Partial update is not supported for the aggregate merge engine.");
+        }
+    }
+
+    private static boolean contains(int[] indexes, int index) {
+        for (int i : indexes) {
+            if (i == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * An aggregator that aggregates a value of a column into the accumulator of the column. The
+     * accumulator is null for the rows being inserted.
+     */
+    @FunctionalInterface
+    public interface FieldAggregator {
+        @Nullable
+        Object agg(@Nullable Object accumulator, @Nullable Object value);
+    }
+
+    /**
+     * Create the aggregator of the given aggregate function for a column.
+     *
+     * @throws IllegalArgumentException if the aggregate function doesn't support the column type.
+     */
+    public static FieldAggregator createFieldAggregator(
+            AggregateFunctionType function, DataType fieldType, String fieldName) {
+        switch (function) {
+            case SUM:
+                return createSumAggregator(fieldType, fieldName);
+            case MIN:
+                checkComparable(function, fieldType, fieldName);
+                return (acc, value) ->
+                        value == null || (acc != null && compare(acc, value) <= 0) ? acc : value;
+            case MAX:
+                checkComparable(function, fieldType, fieldName);
+                return (acc, value) ->
+                        value == null || (acc != null && compare(acc, value) >= 0) ? acc : value;
+            case COUNT:
+                return createCountAggregator(fieldType, fieldName);
+            case LAST_NON_NULL:
+                return (acc, value) -> value == null ? acc : value;
+            case LAST:
+                return (acc, value) -> value;
+            default:
+                throw new IllegalArgumentException("Unsupported aggregate function: " + function);
+        }
+    }
+
+    private static FieldAggregator createSumAggregator(DataType fieldType, String fieldName) {
+        FieldAggregator sum;
+        switch (fieldType.getTypeRoot()) {
+            case TINYINT:
+                sum = (acc, value) -> (byte) ((byte) acc + (byte) value);
+                break;
+            case SMALLINT:
+                sum = (acc, value) -> (short) ((short) acc + (short) value);
+                break;
+            case INTEGER:
+                sum = (acc, value) -> (int) acc + (int) value;
+                break;
+            case BIGINT:
+                sum = (acc, value) -> (long) acc + (long) value;
+                break;
+            case FLOAT:
+                sum = (acc, value) -> (float) acc + (float) value;
+                break;
+            case DOUBLE:
+                sum = (acc, value) -> (double) acc + (double) value;
+                break;
+            case DECIMAL:
+                DecimalType decimalType = (DecimalType) fieldType;
+                int precision = decimalType.getPrecision();
+                int scale = decimalType.getScale();
+                sum =
+                        (acc, value) -> {
+                            Decimal result =
+                                    Decimal.fromBigDecimal(
+                                            ((Decimal) acc)
+                                                    .toBigDecimal()
+                                                    .add(((Decimal) value).toBigDecimal()),
+                                            precision,
+                                            scale);
+                            if (result == null) {
+                                throw new ArithmeticException(
+                                        String.format(
+                                                "The sum of column '%s' overflows %s.",
+                                                fieldName, fieldType));
+                            }
+                            return result;
+                        };
+                break;
+            default:
+                throw unsupportedType(AggregateFunctionType.SUM, fieldType, fieldName);
+        }
+        // null values are ignored by the sum
+        return (acc, value) -> value == null ? acc : acc == null ? value : sum.agg(acc, value);
+    }
+
+    private static FieldAggregator createCountAggregator(DataType fieldType, String fieldName) {
+        switch (fieldType.getTypeRoot()) {
+            case INTEGER:
+                return (acc, value) ->
+                        value == null && acc != null
+                                ? acc
+                                : (acc == null ? 0 : (int) acc) + (value == null ? 0 : 1);
+            case BIGINT:
+                return (acc, value) ->
+                        value == null && acc != null
+                                ? acc
+                                : (acc == null ? 0L : (long) acc) + (value == null ? 0L : 1L);
+            default:
+                throw unsupportedType(AggregateFunctionType.COUNT, fieldType, fieldName);
+        }
+    }
+
+    private static void checkComparable(
+            AggregateFunctionType function, DataType fieldType, String fieldName) {
+        switch (fieldType.getTypeRoot()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case CHAR:
+            case STRING:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return;
+            default:
+                throw unsupportedType(function, fieldType, fieldName);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object left, Object right) {
+        return ((Comparable) left).compareTo(right);
+    }
+
+    private static IllegalArgumentException unsupportedType(
+            AggregateFunctionType function, DataType fieldType, String fieldName) {
+        return new IllegalArgumentException(
+                String.format(
+                        "The aggregate function '%s' of column '%s' doesn't support type %s.",
+                        function.name().toLowerCase(), fieldName, fieldType));
+    }
+}
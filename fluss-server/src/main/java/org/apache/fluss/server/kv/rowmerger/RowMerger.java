@@ -42,6 +42,16 @@ public interface RowMerger {
      */
     BinaryRow merge(BinaryRow oldRow, BinaryRow newRow);
 
+    /**
+     * Prepare the new row to insert when there is no old row of the same primary key.
+     *
+     * @param newRow the new row
+     * @return the row to insert, the new row itself by default.
+     */
+    default BinaryRow insert(BinaryRow newRow) {
+        return newRow;
+    }
+
     /**
      * Merge the old row with a delete row.
      *
@@ -83,6 +93,12 @@ public interface RowMerger {
                     }
                     return new VersionedRowMerger(
                             schema.getRowType(), versionColumn.get(), deleteBehavior);
+                case AGGREGATE:
+                    return new AggregateRowMerger(
+                            schema,
+                            kvFormat,
+                            tableConf.getMergeEngineAggregateFunctions(),
+                            deleteBehavior);
                 default:
                     throw new IllegalArgumentException(
                             "Unsupported merge engine type: " + mergeEngineType.get());
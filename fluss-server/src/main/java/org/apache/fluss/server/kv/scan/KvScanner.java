@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.scan;
+
+import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.exception.KvScannerNotFoundException;
+import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.MemoryLogRecordsArrowBuilder;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.ProjectedRow;
+import org.apache.fluss.row.arrow.ArrowWriter;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.server.kv.rocksdb.RocksDBSnapshotIterator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.function.Consumer;
+
+/**
+ * A scanner which streams all the rows of a kv tablet in pages. The scanner reads a consistent
+ * snapshot of the RocksDB taken when it's opened, so the rows written after that, and the rows
+ * which are still in the pre-write buffer (i.e., not committed yet) at that time, are invisible to
+ * the scanner. Each page is encoded into an append-only Arrow {@link MemoryLogRecords} of the
+ * projected fields.
+ */
+@ThreadSafe
+public class KvScanner implements AutoCloseable {
+
+    /** The page size of the output view to serialize the Arrow batches. */
+    private static final int OUTPUT_PAGE_SIZE = 64 * 1024;
+
+    private final TableBucket tableBucket;
+    private final int schemaId;
+    private final RowType projectedRowType;
+    private final ArrowCompressionInfo arrowCompressionInfo;
+    private final ValueDecoder valueDecoder;
+    @Nullable private final ProjectedRow projectedRow;
+    private final Consumer<KvScanner> closeCallback;
+
+    @GuardedBy("this")
+    private final RocksDBSnapshotIterator iterator;
+
+    /** The pool of the Arrow writer of this scanner, which is reused by all the pages. */
+    @GuardedBy("this")
+    private final ArrowWriterPool arrowWriterPool;
+
+    @GuardedBy("this")
+    private boolean closed = false;
+
+    public KvScanner(
+            TableBucket tableBucket,
+            int schemaId,
+            RowType rowType,
+            KvFormat kvFormat,
+            @Nullable int[] projectedFields,
+            ArrowCompressionInfo arrowCompressionInfo,
+            BufferAllocator arrowBufferAllocator,
+            RocksDBSnapshotIterator iterator,
+            Consumer<KvScanner> closeCallback) {
+        this.tableBucket = tableBucket;
+        this.schemaId = schemaId;
+        this.projectedRowType =
+                projectedFields == null ? rowType : rowType.project(projectedFields);
+        this.arrowCompressionInfo = arrowCompressionInfo;
+        this.valueDecoder =
+                new ValueDecoder(
+                        RowDecoder.create(
+                                kvFormat, rowType.getChildren().toArray(new DataType[0])));
+        this.projectedRow = projectedFields == null ? null : ProjectedRow.from(projectedFields);
+        this.iterator = iterator;
+        this.arrowWriterPool = new ArrowWriterPool(arrowBufferAllocator);
+        this.closeCallback = closeCallback;
+    }
+
+    public TableBucket getTableBucket() {
+        return tableBucket;
+    }
+
+    /** Returns true if there are more rows to scan. */
+    public synchronized boolean hasNext() {
+        return !closed && iterator.isValid();
+    }
+
+    /**
+     * Reads the next page of rows, the page contains at least one row if there are more rows to
+     * scan, and stops at the first row which makes the page exceed the given max bytes.
+     */
+    public synchronized MemoryLogRecords nextBatch(int maxBytes) throws Exception {
+        if (closed) {
+            throw new KvScannerNotFoundException(
+                    String.format("The kv scanner of bucket %s has been closed.", tableBucket));
+        }
+        if (!iterator.isValid()) {
+            return MemoryLogRecords.EMPTY;
+        }
+
+        ArrowWriter arrowWriter =
+                arrowWriterPool.getOrCreateWriter(
+                        tableBucket.getTableId(),
+                        schemaId,
+                        maxBytes,
+                        projectedRowType,
+                        arrowCompressionInfo);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        schemaId,
+                        arrowWriter,
+                        new UnmanagedPagedOutputView(OUTPUT_PAGE_SIZE),
+                        true);
+        try {
+            while (iterator.isValid() && !builder.isFull()) {
+                BinaryRow row = valueDecoder.decodeValue(iterator.value()).row;
+                InternalRow scanRow = projectedRow == null ? row : projectedRow.replaceRow(row);
+                builder.append(ChangeType.APPEND_ONLY, scanRow);
+                iterator.next();
+            }
+            builder.close();
+            return MemoryLogRecords.pointToByteBuffer(
+                    builder.build().getByteBuf().nioBuffer());
+        } catch (Exception e) {
+            builder.abort();
+            throw e;
+        }
+    }
+
+    /** Closes the scanner and releases the RocksDB snapshot, it's a no-op if already closed. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            iterator.close();
+            arrowWriterPool.close();
+        }
+        closeCallback.accept(this);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.scan;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.exception.KvScannerNotFoundException;
+import org.apache.fluss.exception.KvStorageException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The manager of the {@link KvScanner}s opened on the tablet server. A scanner is leased to the
+ * client by its scanner id, the lease is renewed every time the scanner is read, and the scanner is
+ * closed if the lease expires, so that the RocksDB snapshot held by an abandoned scanner is
+ * released.
+ */
+@ThreadSafe
+public class KvScannerManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KvScannerManager.class);
+
+    private final int maxScanners;
+    private final long leaseTimeoutMs;
+    private final Clock clock;
+
+    @GuardedBy("this")
+    private final Map<Long, LeasedScanner> scanners = new HashMap<>();
+
+    @GuardedBy("this")
+    private long nextScannerId = 1L;
+
+    public KvScannerManager(int maxScanners, long leaseTimeoutMs, Clock clock) {
+        this.maxScanners = maxScanners;
+        this.leaseTimeoutMs = leaseTimeoutMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens a scanner with the given opener and registers it.
+     *
+     * @return the id of the opened scanner.
+     * @throws KvStorageException if the number of opened scanners reaches the maximum number.
+     */
+    public synchronized long openScanner(Supplier<KvScanner> scannerOpener) {
+        if (scanners.size() >= maxScanners) {
+            expireScanners();
+        }
+        if (scanners.size() >= maxScanners) {
+            throw new KvStorageException(
+                    String.format(
+                            "The number of opened kv scanners reaches the maximum number %s.",
+                            maxScanners));
+        }
+        long scannerId = nextScannerId++;
+        scanners.put(scannerId, new LeasedScanner(scannerOpener.get(), clock.milliseconds()));
+        return scannerId;
+    }
+
+    /**
+     * Gets the scanner of the given id on the given bucket and renews its lease.
+     *
+     * @throws KvScannerNotFoundException if the scanner is not found.
+     */
+    public synchronized KvScanner getScanner(long scannerId, TableBucket tableBucket) {
+        LeasedScanner leasedScanner = scanners.get(scannerId);
+        if (leasedScanner == null || !leasedScanner.scanner.getTableBucket().equals(tableBucket)) {
+            throw new KvScannerNotFoundException(
+                    String.format(
+                            "The kv scanner %s of bucket %s is not found, it may have expired.",
+                            scannerId, tableBucket));
+        }
+        leasedScanner.lastAccessTimeMs = clock.milliseconds();
+        return leasedScanner.scanner;
+    }
+
+    /** Closes and removes the scanner of the given id, it's a no-op if the scanner isn't found. */
+    public void closeScanner(long scannerId) {
+        LeasedScanner leasedScanner;
+        synchronized (this) {
+            leasedScanner = scanners.remove(scannerId);
+        }
+        if (leasedScanner != null) {
+            leasedScanner.scanner.close();
+        }
+    }
+
+    /** Closes the scanners whose lease has expired. */
+    public void expireScanners() {
+        List<KvScanner> expiredScanners = new ArrayList<>();
+        long now = clock.milliseconds();
+        synchronized (this) {
+            Iterator<Map.Entry<Long, LeasedScanner>> iterator = scanners.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, LeasedScanner> entry = iterator.next();
+                LeasedScanner leasedScanner = entry.getValue();
+                if (now - leasedScanner.lastAccessTimeMs >= leaseTimeoutMs) {
+                    LOG.info(
+                            "Close the kv scanner {} of bucket {} as its lease has expired.",
+                            entry.getKey(),
+                            leasedScanner.scanner.getTableBucket());
+                    expiredScanners.add(leasedScanner.scanner);
+                    iterator.remove();
+                }
+            }
+        }
+        expiredScanners.forEach(KvScanner::close);
+    }
+
+    /** Closes all the scanners. */
+    public void shutdown() {
+        List<KvScanner> openScanners = new ArrayList<>();
+        synchronized (this) {
+            for (LeasedScanner leasedScanner : scanners.values()) {
+                openScanners.add(leasedScanner.scanner);
+            }
+            scanners.clear();
+        }
+        openScanners.forEach(KvScanner::close);
+    }
+
+    @VisibleForTesting
+    synchronized int numScanners() {
+        return scanners.size();
+    }
+
+    private static final class LeasedScanner {
+        private final KvScanner scanner;
+        private long lastAccessTimeMs;
+
+        private LeasedScanner(KvScanner scanner, long lastAccessTimeMs) {
+            this.scanner = scanner;
+            this.lastAccessTimeMs = lastAccessTimeMs;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.function.FunctionWithException;
 
+import javax.annotation.Nullable;
+
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -50,6 +52,10 @@ public class DefaultSnapshotContext implements SnapshotContext {
 
     private final int maxFetchLogSizeInRecoverKv;
 
+    @Nullable private final ExecutorService kvRecoverBulkLoadThreadPool;
+
+    private final long kvRecoverBulkLoadBufferSize;
+
     private final FsPath remoteKvDir;
 
     private DefaultSnapshotContext(
@@ -63,7 +69,9 @@ public class DefaultSnapshotContext implements SnapshotContext {
             int writeBufferSizeInBytes,
             FsPath remoteKvDir,
             CompletedSnapshotHandleStore completedSnapshotHandleStore,
-            int maxFetchLogSizeInRecoverKv) {
+            int maxFetchLogSizeInRecoverKv,
+            @Nullable ExecutorService kvRecoverBulkLoadThreadPool,
+            long kvRecoverBulkLoadBufferSize) {
         this.zooKeeperClient = zooKeeperClient;
         this.completedKvSnapshotCommitter = completedKvSnapshotCommitter;
         this.snapshotScheduler = snapshotScheduler;
@@ -76,6 +84,8 @@ public class DefaultSnapshotContext implements SnapshotContext {
 
         this.completedSnapshotHandleStore = completedSnapshotHandleStore;
         this.maxFetchLogSizeInRecoverKv = maxFetchLogSizeInRecoverKv;
+        this.kvRecoverBulkLoadThreadPool = kvRecoverBulkLoadThreadPool;
+        this.kvRecoverBulkLoadBufferSize = kvRecoverBulkLoadBufferSize;
     }
 
     public static DefaultSnapshotContext create(
@@ -94,7 +104,9 @@ public class DefaultSnapshotContext implements SnapshotContext {
                 (int) conf.get(ConfigOptions.REMOTE_FS_WRITE_BUFFER_SIZE).getBytes(),
                 FlussPaths.remoteKvDir(conf),
                 new ZooKeeperCompletedSnapshotHandleStore(zkClient),
-                (int) conf.get(ConfigOptions.KV_RECOVER_LOG_RECORD_BATCH_MAX_SIZE).getBytes());
+                (int) conf.get(ConfigOptions.KV_RECOVER_LOG_RECORD_BATCH_MAX_SIZE).getBytes(),
+                kvSnapshotResource.getKvRecoverBulkLoadThreadPool(),
+                conf.get(ConfigOptions.KV_RECOVER_BULK_LOAD_BUFFER_SIZE).getBytes());
     }
 
     public ZooKeeperClient getZooKeeperClient() {
@@ -156,6 +168,17 @@ public class DefaultSnapshotContext implements SnapshotContext {
         return maxFetchLogSizeInRecoverKv;
     }
 
+    @Nullable
+    @Override
+    public ExecutorService getKvRecoverBulkLoadThreadPool() {
+        return kvRecoverBulkLoadThreadPool;
+    }
+
+    @Override
+    public long getKvRecoverBulkLoadBufferSize() {
+        return kvRecoverBulkLoadBufferSize;
+    }
+
     @Override
     public void handleSnapshotBroken(CompletedSnapshot snapshot) throws Exception {
         completedSnapshotHandleStore.remove(snapshot.getTableBucket(), snapshot.getSnapshotID());
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.snapshot;
+
+import org.apache.fluss.fs.FsPath;
+import org.apache.fluss.utils.FileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A local cache of the shared sst files of the kv snapshots of a kv tablet. The cached files are
+ * hard links of the local sst files and are named by the file names of the uploaded remote files.
+ * As the remote file names are unique and the uploaded files are never modified, a cached file
+ * always has the same content as the remote file of the same name.
+ *
+ * <p>When restoring a kv tablet from a snapshot, the cached sst files are hard-linked into the kv
+ * tablet directory, so that only the missing files have to be downloaded.
+ */
+public class KvSnapshotLocalCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KvSnapshotLocalCache.class);
+
+    private final File cacheDir;
+
+    public KvSnapshotLocalCache(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * Adds the given sst files to the cache by creating hard links of the local files in the given
+     * source directory. The files failed to add are just skipped.
+     *
+     * @param sourceDir the directory of the local sst files
+     * @param sstFiles the remote sst file handles and the file names in the source directory
+     */
+    public synchronized void add(Path sourceDir, Collection<KvFileHandleAndLocalPath> sstFiles) {
+        try {
+            Files.createDirectories(cacheDir.toPath());
+        } catch (IOException e) {
+            LOG.warn("Fail to create kv snapshot local cache directory {}.", cacheDir, e);
+            return;
+        }
+        for (KvFileHandleAndLocalPath sstFile : sstFiles) {
+            Path cachedFile = cachedFile(sstFile.getKvFileHandle());
+            if (Files.exists(cachedFile)) {
+                continue;
+            }
+            try {
+                Files.createLink(cachedFile, sourceDir.resolve(sstFile.getLocalPath()));
+            } catch (IOException e) {
+                LOG.warn(
+                        "Fail to add sst file {} to kv snapshot local cache {}.",
+                        sstFile,
+                        cacheDir,
+                        e);
+            }
+        }
+    }
+
+    /**
+     * Creates the hard links of the cached sst files in the target directory with their local
+     * names.
+     *
+     * @return the sst files that are not in the cache and should be downloaded
+     */
+    public synchronized List<KvFileHandleAndLocalPath> linkTo(
+            Path targetDir, Collection<KvFileHandleAndLocalPath> sstFiles) throws IOException {
+        List<KvFileHandleAndLocalPath> missingFiles = new ArrayList<>();
+        if (!cacheDir.exists()) {
+            missingFiles.addAll(sstFiles);
+            return missingFiles;
+        }
+        Files.createDirectories(targetDir);
+        for (KvFileHandleAndLocalPath sstFile : sstFiles) {
+            KvFileHandle handle = sstFile.getKvFileHandle();
+            Path cachedFile = cachedFile(handle);
+            if (Files.exists(cachedFile) && Files.size(cachedFile) == handle.getSize()) {
+                Files.createLink(targetDir.resolve(sstFile.getLocalPath()), cachedFile);
+            } else {
+                missingFiles.add(sstFile);
+            }
+        }
+        return missingFiles;
+    }
+
+    /** Removes the cached files that are not in the given sst files. */
+    public synchronized void retain(Collection<KvFileHandleAndLocalPath> sstFiles) {
+        File[] cachedFiles = cacheDir.listFiles();
+        if (cachedFiles == null) {
+            return;
+        }
+        Set<String> retainedFileNames = new HashSet<>();
+        for (KvFileHandleAndLocalPath sstFile : sstFiles) {
+            retainedFileNames.add(cachedFileName(sstFile.getKvFileHandle()));
+        }
+        for (File cachedFile : cachedFiles) {
+            if (!retainedFileNames.contains(cachedFile.getName())) {
+                try {
+                    FileUtils.deleteFileOrDirectory(cachedFile);
+                } catch (IOException e) {
+                    LOG.warn("Fail to delete cached sst file {}.", cachedFile, e);
+                }
+            }
+        }
+    }
+
+    /** Removes all the cached files and the cache directory. */
+    public synchronized void clear() {
+        FileUtils.deleteDirectoryQuietly(cacheDir);
+    }
+
+    private Path cachedFile(KvFileHandle handle) {
+        return cacheDir.toPath().resolve(cachedFileName(handle));
+    }
+
+    private static String cachedFileName(KvFileHandle handle) {
+        return new FsPath(handle.getFilePath()).getName();
+    }
+}
@@ -80,6 +80,11 @@ public class RocksIncrementalSnapshot implements AutoCloseable {
     /** The help class used to upload kv snapshot files. */
     private final KvSnapshotDataUploader kvSnapshotDataUploader;
 
+    /**
+     * The local cache to keep the sst files of the snapshots, null if the local cache is disabled.
+     */
+    @Nullable private final KvSnapshotLocalCache localCache;
+
     public RocksIncrementalSnapshot(
             Map<Long, Collection<KvFileHandleAndLocalPath>> uploadedSstFiles,
             @Nonnull RocksDB db,
@@ -87,12 +92,31 @@ public class RocksIncrementalSnapshot implements AutoCloseable {
             KvSnapshotDataUploader kvSnapshotDataUploader,
             @Nonnull File instanceBasePath,
             long lastCompletedSnapshotId) {
+        this(
+                uploadedSstFiles,
+                db,
+                rocksDBResourceGuard,
+                kvSnapshotDataUploader,
+                instanceBasePath,
+                lastCompletedSnapshotId,
+                null);
+    }
+
+    public RocksIncrementalSnapshot(
+            Map<Long, Collection<KvFileHandleAndLocalPath>> uploadedSstFiles,
+            @Nonnull RocksDB db,
+            ResourceGuard rocksDBResourceGuard,
+            KvSnapshotDataUploader kvSnapshotDataUploader,
+            @Nonnull File instanceBasePath,
+            long lastCompletedSnapshotId,
+            @Nullable KvSnapshotLocalCache localCache) {
         this.uploadedSstFiles = uploadedSstFiles;
         this.db = db;
         this.rocksDBResourceGuard = rocksDBResourceGuard;
         this.kvSnapshotDataUploader = kvSnapshotDataUploader;
         this.instanceBasePath = instanceBasePath;
         this.lastCompletedSnapshotId = lastCompletedSnapshotId;
+        this.localCache = localCache;
     }
 
     public SnapshotResultSupplier asyncSnapshot(
@@ -112,12 +136,23 @@ public class RocksIncrementalSnapshot implements AutoCloseable {
         synchronized (uploadedSstFiles) {
             uploadedSstFiles.keySet().removeIf(snapshotId -> snapshotId < completedSnapshotId);
             lastCompletedSnapshotId = completedSnapshotId;
+            retainLocalCache();
         }
     }
 
     public void notifySnapshotAbort(long abortedSnapshotId) {
         synchronized (uploadedSstFiles) {
             uploadedSstFiles.remove(abortedSnapshotId);
+            retainLocalCache();
+        }
+    }
+
+    /** Removes the cached sst files that don't belong to any snapshot tracked any more. */
+    private void retainLocalCache() {
+        if (localCache != null) {
+            List<KvFileHandleAndLocalPath> sstFiles = new ArrayList<>();
+            uploadedSstFiles.values().forEach(sstFiles::addAll);
+            localCache.retain(sstFiles);
         }
     }
 
@@ -275,7 +310,15 @@ public class RocksIncrementalSnapshot implements AutoCloseable {
                             .sum();
             miscFiles.addAll(miscFilesUploadResult);
 
-            uploadedSstFiles.put(snapshotId, Collections.unmodifiableList(sstFiles));
+            synchronized (uploadedSstFiles) {
+                uploadedSstFiles.put(snapshotId, Collections.unmodifiableList(sstFiles));
+                if (localCache != null) {
+                    // the files of the snapshot directory are hard links of the sst files of
+                    // RocksDB, they will be removed from the cache once they don't belong to
+                    // any tracked snapshot
+                    localCache.add(localSnapshotDirectory.toPath(), sstFiles);
+                }
+            }
             return size;
         }
 
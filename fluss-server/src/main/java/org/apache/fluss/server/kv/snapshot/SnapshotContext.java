@@ -22,6 +22,8 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.utils.function.FunctionWithException;
 
+import javax.annotation.Nullable;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -82,4 +84,14 @@ public interface SnapshotContext {
      * log during recovering.
      */
     int maxFetchLogSizeInRecoverKv();
+
+    /**
+     * Get the thread pool to decode log when recovering kv in bulk mode, null if the bulk mode is
+     * disabled.
+     */
+    @Nullable
+    ExecutorService getKvRecoverBulkLoadThreadPool();
+
+    /** Get the size of the buffer to sort the records when recovering kv in bulk mode. */
+    long getKvRecoverBulkLoadBufferSize();
 }
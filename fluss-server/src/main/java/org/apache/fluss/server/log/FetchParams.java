@@ -19,7 +19,10 @@ package org.apache.fluss.server.log;
 
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.types.RowType;
 
@@ -48,9 +51,11 @@ public final class FetchParams {
     public static final long DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE = 100L;
 
     private final int replicaId;
-    // Currently, FetchOnlyLeader can be set to false only for test,
-    // which indicate that the client can read log data from follower.
+    // FetchOnlyLeader is false for the client fetches with a client rack, which indicate that the
+    // client can read log data from follower. It can also be set to false for test.
     private final boolean fetchOnlyLeader;
+    // the rack of the client, null if the fetch is from follower or the client rack is not set
+    @Nullable private final String clientRack;
     private final FetchIsolation fetchIsolation;
 
     // need to read at least one message
@@ -63,6 +68,8 @@ public final class FetchParams {
     private boolean projectionEnabled = false;
     // the lazily initialized projection util to read and project file logs
     @Nullable private FileLogProjection fileLogProjection;
+    // the row filter of the current fetch, null if there is no filter
+    @Nullable private LogRecordBatchFilter filter;
 
     private final int minFetchBytes;
     private final long maxWaitMs;
@@ -73,7 +80,21 @@ public final class FetchParams {
     }
 
     public FetchParams(int replicaId, int maxFetchBytes, int minFetchBytes, long maxWaitMs) {
-        this(replicaId, true, maxFetchBytes, minFetchBytes, maxWaitMs);
+        this(replicaId, true, null, maxFetchBytes, minFetchBytes, maxWaitMs);
+    }
+
+    /**
+     * Creates the fetch params of a client fetch with the given client rack. The client fetch with
+     * a client rack can be served by a follower, as the leader may return a follower in the same
+     * rack as the preferred read replica.
+     */
+    public FetchParams(
+            int replicaId,
+            @Nullable String clientRack,
+            int maxFetchBytes,
+            int minFetchBytes,
+            long maxWaitMs) {
+        this(replicaId, clientRack == null, clientRack, maxFetchBytes, minFetchBytes, maxWaitMs);
     }
 
     @VisibleForTesting
@@ -83,8 +104,19 @@ public final class FetchParams {
             int maxFetchBytes,
             int minFetchBytes,
             long maxWaitMs) {
+        this(replicaId, fetchOnlyLeader, null, maxFetchBytes, minFetchBytes, maxWaitMs);
+    }
+
+    private FetchParams(
+            int replicaId,
+            boolean fetchOnlyLeader,
+            @Nullable String clientRack,
+            int maxFetchBytes,
+            int minFetchBytes,
+            long maxWaitMs) {
         this.replicaId = replicaId;
         this.fetchOnlyLeader = fetchOnlyLeader;
+        this.clientRack = replicaId >= 0 ? null : clientRack;
         this.maxFetchBytes = maxFetchBytes;
         this.fetchIsolation = FetchIsolation.of(replicaId >= 0);
         this.minOneMessage = true;
@@ -100,6 +132,26 @@ public final class FetchParams {
             RowType schema,
             ArrowCompressionInfo compressionInfo,
             @Nullable int[] projectedFields) {
+        setCurrentFetch(
+                tableId,
+                fetchOffset,
+                maxFetchBytes,
+                schema,
+                LogFormat.ARROW,
+                compressionInfo,
+                projectedFields,
+                null);
+    }
+
+    public void setCurrentFetch(
+            long tableId,
+            long fetchOffset,
+            int maxFetchBytes,
+            RowType schema,
+            LogFormat logFormat,
+            ArrowCompressionInfo compressionInfo,
+            @Nullable int[] projectedFields,
+            @Nullable Predicate filter) {
         this.fetchOffset = fetchOffset;
         this.maxFetchBytes = maxFetchBytes;
         if (projectedFields != null) {
@@ -112,6 +164,12 @@ public final class FetchParams {
         } else {
             projectionEnabled = false;
         }
+        // the filter is only used by client fetches, followers always replicate the whole log
+        if (filter != null && !isFromFollower()) {
+            this.filter = new LogRecordBatchFilter(filter, logFormat, schema);
+        } else {
+            this.filter = null;
+        }
     }
 
     /**
@@ -127,6 +185,15 @@ public final class FetchParams {
         }
     }
 
+    /**
+     * Returns the row filter to skip the record batches that have no matching records. Returns null
+     * if there is no filter registered for the current fetch.
+     */
+    @Nullable
+    public LogRecordBatchFilter filter() {
+        return filter;
+    }
+
     /**
      * Marks that at least one message has been read. This turns off the {@link #minOneMessage}
      * flag.
@@ -171,6 +238,12 @@ public final class FetchParams {
         return isFromFollower() || fetchOnlyLeader;
     }
 
+    /** Returns the rack of the client, null if the fetch is from follower or has no client rack. */
+    @Nullable
+    public String clientRack() {
+        return clientRack;
+    }
+
     public long fetchOffset() {
         return fetchOffset;
     }
@@ -187,12 +260,13 @@ public final class FetchParams {
         return replicaId == that.replicaId
                 && maxFetchBytes == that.maxFetchBytes
                 && minFetchBytes == that.minFetchBytes
-                && maxWaitMs == that.maxWaitMs;
+                && maxWaitMs == that.maxWaitMs
+                && Objects.equals(clientRack, that.clientRack);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(replicaId, maxFetchBytes, minFetchBytes, maxWaitMs);
+        return Objects.hash(replicaId, maxFetchBytes, minFetchBytes, maxWaitMs, clientRack);
     }
 
     @Override
@@ -206,6 +280,8 @@ public final class FetchParams {
                 + minFetchBytes
                 + ", maxWaitMs="
                 + maxWaitMs
+                + ", clientRack="
+                + clientRack
                 + ')';
     }
 }
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.exception.FetchSessionIdNotFoundException;
+import org.apache.fluss.exception.InvalidFetchSessionEpochException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.fluss.rpc.util.FetchSessionHandler.FINAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.nextEpoch;
+
+/**
+ * The cache of the incremental fetch sessions on the tablet server. A fetch session remembers the
+ * buckets a follower or client fetches and the high watermarks returned for them, so that the
+ * fetcher only sends the changed buckets in the following fetch log requests, and the tablet server
+ * only returns the buckets which have new records, a new high watermark or an error.
+ *
+ * <p>If the cache is full, a new session evicts the least recently used session only if that
+ * session has been idle for the idle timeout, otherwise no session is created and the request is
+ * handled as a sessionless full fetch request.
+ *
+ * @see org.apache.fluss.rpc.util.FetchSessionHandler
+ */
+@ThreadSafe
+public class FetchSessionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FetchSessionCache.class);
+
+    private final int maxSessions;
+    private final long idleTimeoutMs;
+    private final Clock clock;
+
+    /** The cached sessions in the least recently used order. */
+    @GuardedBy("this")
+    private final LinkedHashMap<Integer, FetchSession> sessions =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    public FetchSessionCache(int maxSessions, long idleTimeoutMs, Clock clock) {
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the fetch context of a fetch log request.
+     *
+     * @param sessionId the session id of the request, {@link
+     *     org.apache.fluss.rpc.util.FetchSessionHandler#INVALID_SESSION_ID} if not set.
+     * @param sessionEpoch the session epoch of the request, {@link
+     *     org.apache.fluss.rpc.util.FetchSessionHandler#FINAL_EPOCH} if not set.
+     * @param fetchData the buckets to fetch in the request.
+     * @param forgottenBuckets the buckets to remove from the session.
+     */
+    public FetchContext newContext(
+            int sessionId,
+            int sessionEpoch,
+            Map<TableBucket, FetchReqInfo> fetchData,
+            Collection<TableBucket> forgottenBuckets) {
+        if (sessionEpoch == FINAL_EPOCH) {
+            if (sessionId != INVALID_SESSION_ID) {
+                removeSession(sessionId);
+            }
+            return new FetchContext(fetchData, null, false, null);
+        } else if (sessionEpoch == INITIAL_EPOCH) {
+            if (sessionId != INVALID_SESSION_ID) {
+                removeSession(sessionId);
+            }
+            FetchSession session = maybeCreateSession(fetchData);
+            return new FetchContext(fetchData, session, false, null);
+        } else {
+            return newIncrementalContext(sessionId, sessionEpoch, fetchData, forgottenBuckets);
+        }
+    }
+
+    private FetchContext newIncrementalContext(
+            int sessionId,
+            int sessionEpoch,
+            Map<TableBucket, FetchReqInfo> fetchData,
+            Collection<TableBucket> forgottenBuckets) {
+        FetchSession session;
+        synchronized (this) {
+            session = sessions.get(sessionId);
+        }
+        if (session == null) {
+            return errorContext(
+                    new FetchSessionIdNotFoundException(
+                            "The fetch session " + sessionId + " is not found."));
+        }
+        synchronized (session) {
+            if (session.epoch != sessionEpoch) {
+                return errorContext(
+                        new InvalidFetchSessionEpochException(
+                                String.format(
+                                        "The epoch %s of fetch session %s is invalid, expected epoch is %s.",
+                                        sessionEpoch, sessionId, session.epoch)));
+            }
+            for (TableBucket tb : forgottenBuckets) {
+                session.buckets.remove(tb);
+            }
+            for (Map.Entry<TableBucket, FetchReqInfo> entry : fetchData.entrySet()) {
+                // a new or updated bucket is always returned in the next response
+                session.buckets.put(entry.getKey(), new CachedBucket(copyOf(entry.getValue())));
+            }
+            session.epoch = nextEpoch(sessionEpoch);
+            session.lastUsedMs = clock.milliseconds();
+            Map<TableBucket, FetchReqInfo> sessionFetchData = new HashMap<>();
+            for (Map.Entry<TableBucket, CachedBucket> entry : session.buckets.entrySet()) {
+                sessionFetchData.put(entry.getKey(), entry.getValue().fetchReqInfo);
+            }
+            return new FetchContext(sessionFetchData, session, true, null);
+        }
+    }
+
+    @Nullable
+    private synchronized FetchSession maybeCreateSession(Map<TableBucket, FetchReqInfo> fetchData) {
+        if (maxSessions <= 0) {
+            return null;
+        }
+        long currentMs = clock.milliseconds();
+        if (sessions.size() >= maxSessions) {
+            Iterator<FetchSession> iterator = sessions.values().iterator();
+            FetchSession eldest = iterator.next();
+            if (currentMs - eldest.lastUsedMs < idleTimeoutMs) {
+                LOG.debug(
+                        "No fetch session is created as the fetch session cache is full "
+                                + "with {} sessions.",
+                        sessions.size());
+                return null;
+            }
+            LOG.debug("Evict idle fetch session {}.", eldest.id);
+            iterator.remove();
+        }
+
+        int sessionId;
+        do {
+            sessionId = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+        } while (sessions.containsKey(sessionId));
+        FetchSession session = new FetchSession(sessionId, currentMs);
+        for (Map.Entry<TableBucket, FetchReqInfo> entry : fetchData.entrySet()) {
+            session.buckets.put(entry.getKey(), new CachedBucket(copyOf(entry.getValue())));
+        }
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    private synchronized void removeSession(int sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return sessions.size();
+    }
+
+    private static FetchContext errorContext(Exception e) {
+        return new FetchContext(new HashMap<>(), null, false, ApiError.fromThrowable(e));
+    }
+
+    /**
+     * Copies the fetch request info to cache it in the session, as the filter may reference the
+     * buffer of the request which is released after the request is handled.
+     */
+    private static FetchReqInfo copyOf(FetchReqInfo fetchReqInfo) {
+        PbPredicate filter = fetchReqInfo.getFilter();
+        if (filter == null) {
+            return fetchReqInfo;
+        }
+        PbPredicate copiedFilter = new PbPredicate();
+        copiedFilter.parseFrom(filter.toByteArray());
+        return new FetchReqInfo(
+                fetchReqInfo.getTableId(),
+                fetchReqInfo.getFetchOffset(),
+                fetchReqInfo.getMaxBytes(),
+                fetchReqInfo.getProjectFields(),
+                copiedFilter);
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** The context to handle a fetch log request with or without a fetch session. */
+    public static final class FetchContext {
+        private final Map<TableBucket, FetchReqInfo> fetchData;
+        private final @Nullable FetchSession session;
+        private final boolean incremental;
+        private final @Nullable ApiError error;
+
+        private FetchContext(
+                Map<TableBucket, FetchReqInfo> fetchData,
+                @Nullable FetchSession session,
+                boolean incremental,
+                @Nullable ApiError error) {
+            this.fetchData = fetchData;
+            this.session = session;
+            this.incremental = incremental;
+            this.error = error;
+        }
+
+        /** Returns all the buckets to fetch, including the buckets cached in the session. */
+        public Map<TableBucket, FetchReqInfo> fetchData() {
+            return fetchData;
+        }
+
+        /** Returns the session id to return, or 0 if the request is not in a session. */
+        public int sessionId() {
+            return session == null ? INVALID_SESSION_ID : session.id;
+        }
+
+        /** Returns the session error of the request if any. */
+        public @Nullable ApiError error() {
+            return error;
+        }
+
+        /**
+         * Filters the fetch results to return. An incremental fetch only returns the buckets which
+         * have records, a new high watermark, a preferred read replica or an error.
+         */
+        public Map<TableBucket, FetchLogResultForBucket> filterResponse(
+                Map<TableBucket, FetchLogResultForBucket> fetchResults) {
+            if (session == null) {
+                return fetchResults;
+            }
+            synchronized (session) {
+                Map<TableBucket, FetchLogResultForBucket> filtered =
+                        incremental ? new HashMap<>() : fetchResults;
+                for (Map.Entry<TableBucket, FetchLogResultForBucket> entry :
+                        fetchResults.entrySet()) {
+                    FetchLogResultForBucket result = entry.getValue();
+                    CachedBucket cachedBucket = session.buckets.get(entry.getKey());
+                    boolean changed = cachedBucket == null || cachedBucket.update(result);
+                    if (incremental
+                            && (changed
+                                    || result.failed()
+                                    || result.fetchFromRemote()
+                                    || result.getPreferredReadReplica() != null
+                                    || result.recordsOrEmpty().sizeInBytes() > 0)) {
+                        filtered.put(entry.getKey(), result);
+                    }
+                }
+                return filtered;
+            }
+        }
+    }
+
+    /** A fetch session cached on the tablet server. */
+    private static final class FetchSession {
+        private final int id;
+        private final Map<TableBucket, CachedBucket> buckets = new HashMap<>();
+
+        /** The expected epoch of the next incremental fetch request. */
+        private int epoch;
+
+        private long lastUsedMs;
+
+        private FetchSession(int id, long lastUsedMs) {
+            this.id = id;
+            this.epoch = nextEpoch(INITIAL_EPOCH);
+            this.lastUsedMs = lastUsedMs;
+        }
+    }
+
+    /** A bucket cached in a fetch session. */
+    private static final class CachedBucket {
+        private final FetchReqInfo fetchReqInfo;
+        private long highWatermark = -1L;
+
+        private CachedBucket(FetchReqInfo fetchReqInfo) {
+            this.fetchReqInfo = fetchReqInfo;
+        }
+
+        /** Updates the returned high watermark and returns true if it is changed. */
+        private boolean update(FetchLogResultForBucket result) {
+            if (result.failed() || result.getHighWatermark() == highWatermark) {
+                return false;
+            }
+            highWatermark = result.getHighWatermark();
+            return true;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metrics.Counter;
 import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
 import org.apache.fluss.utils.FileUtils;
@@ -332,6 +333,36 @@ public final class LocalLog {
         return newSegment;
     }
 
+    /**
+     * Replaces the given inactive segment with the cleaned segment of the same base offset written
+     * by the {@link LogCleaner}. The files of the cleaned segment are named with the suffix {@link
+     * FlussPaths#CLEANED_FILE_SUFFIX}, they are renamed to the suffix {@link
+     * FlussPaths#SWAP_FILE_SUFFIX} before the files of the old segment are renamed to the suffix
+     * {@link FlussPaths#DELETED_FILE_SUFFIX}, so that the {@link LogLoader} completes the
+     * replacement if the server crashes in between.
+     *
+     * <p>The files of the old segment are not deleted here, as in-flight fetches and log tiering
+     * may still read from the old segment. The caller is expected to delete the old segment after
+     * a delay.
+     *
+     * <p>This method does not convert IOException to {@link LogStorageException}, the immediate
+     * caller is expected to catch and handle IOException.
+     *
+     * @param oldSegment The segment to be replaced
+     * @param cleanedSegment The cleaned segment to replace the old segment
+     */
+    void replaceSegment(LogSegment oldSegment, LogSegment cleanedSegment) throws IOException {
+        checkIfMemoryMappedBufferClosed();
+        cleanedSegment.changeFileSuffixes(
+                FlussPaths.CLEANED_FILE_SUFFIX, FlussPaths.SWAP_FILE_SUFFIX);
+        flushDirIfExists(logTabletDir.toPath());
+
+        segments.add(cleanedSegment);
+        oldSegment.changeFileSuffixes("", FlussPaths.DELETED_FILE_SUFFIX);
+        cleanedSegment.changeFileSuffixes(FlussPaths.SWAP_FILE_SUFFIX, "");
+        flushDirIfExists(logTabletDir.toPath());
+    }
+
     /**
      * Given a message offset, find its corresponding offset metadata in the log. If the message
      * offset is out of range, throw an OffsetOutOfRangeException.
@@ -360,6 +391,32 @@ public final class LocalLog {
             LogOffsetMetadata maxOffsetMetadata,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, null);
+    }
+
+    /**
+     * Read messages from the log, the record batches that have no records matching the given filter
+     * are returned as empty batches.
+     *
+     * @param readOffset The offset to begin reading at
+     * @param maxLength The maximum number of bytes to read
+     * @param minOneMessage If this is true, the first message will be returned even if it exceeds
+     *     `maxLength` (if one exists)
+     * @param maxOffsetMetadata The metadata of the maximum offset to be fetched
+     * @param projection The column projection to apply to the log records
+     * @param filter The row filter to apply to the record batches
+     * @throws LogOffsetOutOfRangeException If startOffset is beyond the log start and end offset
+     * @return The fetch data information including fetch starting offset metadata and messages
+     *     read.
+     */
+    public FetchDataInfo read(
+            long readOffset,
+            int maxLength,
+            boolean minOneMessage,
+            LogOffsetMetadata maxOffsetMetadata,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         if (LOG.isTraceEnabled()) {
             LOG.trace(
                     "Reading maximum {} bytes at offset {} from log with total length {} bytes for bucket {}",
@@ -406,7 +463,13 @@ public final class LocalLog {
                                 ? maxOffsetMetadata.getRelativePositionInSegment()
                                 : segment.getSizeInBytes();
                 fetchDataInfo =
-                        segment.read(readOffset, maxLength, maxPosition, minOneMessage, projection);
+                        segment.read(
+                                readOffset,
+                                maxLength,
+                                maxPosition,
+                                minOneMessage,
+                                projection,
+                                filter);
                 if (fetchDataInfo == null) {
                     segmentOpt = segments.higherSegment(baseOffset);
                 }
@@ -619,6 +682,7 @@ public final class LocalLog {
         SegmentDeletionReason LOG_ROLL = new LogRoll();
         SegmentDeletionReason LOG_DELETION = new LogDeletion();
         SegmentDeletionReason LOG_MOVE_TO_REMOTE = new LogMoveToRemote();
+        SegmentDeletionReason LOG_COMPACTION = new LogCompaction();
 
         void logReason(List<LogSegment> toDelete);
     }
@@ -654,4 +718,12 @@ public final class LocalLog {
             LOG.info("Deleting segments as the log has been moved to remote: " + toDelete);
         }
     }
+
+    /** Replaced by the cleaned segment. */
+    private static class LogCompaction implements SegmentDeletionReason {
+        @Override
+        public void logReason(List<LogSegment> toDelete) {
+            LOG.info("Deleting segments as they have been compacted: " + toDelete);
+        }
+    }
 }
@@ -0,0 +1,500 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.exception.LogStorageException;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.FileLogInputStream.FileChannelLogRecordBatch;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.server.log.checkpoint.OffsetCheckpointFile;
+import org.apache.fluss.server.zk.ZooKeeperClient;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.IOUtils;
+import org.apache.fluss.utils.MapUtils;
+import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
+import static org.apache.fluss.server.TabletManagerBase.getTableInfo;
+
+/* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
+ * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership. */
+
+/**
+ * The cleaner to compact the changelogs of the primary key tables which enable {@link
+ * ConfigOptions#TABLE_LOG_COMPACTION_ENABLED}, so that only the latest change of each primary key
+ * is retained.
+ *
+ * <p>The cleaner periodically checks the logs for the inactive segments whose records are all
+ * below the high watermark. The cleanable segments which haven't been checked yet are the dirty
+ * segments. The cleaner builds a map from the primary keys of the records in the dirty segments to
+ * their latest offsets, and then rewrites all the cleanable segments up to the end of the map, a
+ * segment is rewritten with the same base offset and only the record batches that contain a
+ * record which is the latest change of its key. The map is bounded by {@link
+ * ConfigOptions#LOG_CLEANER_DEDUPE_BUFFER_SIZE} and may end in the middle of a segment, the record
+ * batches after the end of the map are retained and mapped in the following rounds. As the offsets of the records in a record batch
+ * are consecutive, the record batches are copied as is or removed as a whole, this keeps the
+ * offsets of the retained records unchanged and the rebuilt offset and time indexes valid.
+ *
+ * <p>A delete change (tombstone) which is the latest change of its key is only removed if it's
+ * older than {@link ConfigOptions#TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION}, and it has been
+ * included in the kv snapshot (and tiered to the lakehouse if the datalake is enabled), otherwise
+ * the deleted key may be resurrected when recovering the kv from the snapshot and the log. The
+ * last record batch of each active writer is always retained to keep the writer state.
+ */
+@ThreadSafe
+public final class LogCleaner {
+    private static final Logger LOG = LoggerFactory.getLogger(LogCleaner.class);
+
+    @VisibleForTesting
+    static final String CLEANER_OFFSET_CHECKPOINT_FILE = "cleaner-offset-checkpoint";
+
+    // the estimated memory of an entry in the offset map besides the key bytes
+    private static final int OFFSET_MAP_ENTRY_OVERHEAD = 96;
+
+    private final Configuration conf;
+    private final ZooKeeperClient zkClient;
+    private final Clock clock;
+    private final Supplier<Collection<LogTablet>> logsSupplier;
+    private final long cleanIntervalMs;
+    private final long dedupeBufferSize;
+    private final OffsetCheckpointFile cleanerOffsetCheckpoint;
+    private final FlussScheduler scheduler;
+
+    /**
+     * The first dirty offset of each log, the segments before it have been checked by the cleaner.
+     */
+    private final Map<TableBucket, Long> firstDirtyOffsets = MapUtils.newConcurrentHashMap();
+
+    private volatile Map<TableBucket, Long> lastCheckpointedOffsets = new HashMap<>();
+
+    public LogCleaner(
+            File dataDir,
+            Configuration conf,
+            ZooKeeperClient zkClient,
+            Clock clock,
+            Supplier<Collection<LogTablet>> logsSupplier)
+            throws IOException {
+        this.conf = conf;
+        this.zkClient = zkClient;
+        this.clock = clock;
+        this.logsSupplier = logsSupplier;
+        this.cleanIntervalMs = conf.get(ConfigOptions.LOG_CLEANER_INTERVAL).toMillis();
+        this.dedupeBufferSize = conf.get(ConfigOptions.LOG_CLEANER_DEDUPE_BUFFER_SIZE).getBytes();
+        this.cleanerOffsetCheckpoint =
+                new OffsetCheckpointFile(new File(dataDir, CLEANER_OFFSET_CHECKPOINT_FILE));
+        this.scheduler = new FlussScheduler(1, true, "log-cleaner-");
+        try {
+            firstDirtyOffsets.putAll(cleanerOffsetCheckpoint.read());
+        } catch (Exception e) {
+            LOG.warn(
+                    "Error occurred while reading cleaner-offset-checkpoint file of directory {}, "
+                            + "the logs will be checked from the beginning.",
+                    dataDir.getAbsolutePath(),
+                    e);
+        }
+    }
+
+    public void startup() {
+        scheduler.startup();
+        scheduler.schedule("log-cleaner", this::cleanLogs, cleanIntervalMs, cleanIntervalMs);
+    }
+
+    public void shutdown() {
+        try {
+            scheduler.shutdown();
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while shutting down the log cleaner.");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Cleans all the changelogs that have new cleanable segments. */
+    @VisibleForTesting
+    void cleanLogs() {
+        Map<TablePath, TableInfo> tableInfos = new HashMap<>();
+        Map<TableBucket, Long> checkpointOffsets = new HashMap<>();
+        for (LogTablet log : logsSupplier.get()) {
+            if (!log.isChangelog()) {
+                continue;
+            }
+            TableBucket tableBucket = log.getTableBucket();
+            try {
+                cleanLog(log, tableInfos);
+            } catch (Exception e) {
+                LOG.warn(
+                        "Failed to clean the log of bucket {}, will retry in the next round.",
+                        tableBucket,
+                        e);
+            }
+            Long firstDirtyOffset = firstDirtyOffsets.get(tableBucket);
+            if (firstDirtyOffset != null) {
+                checkpointOffsets.put(tableBucket, firstDirtyOffset);
+            }
+        }
+        // forget the logs which have been dropped
+        firstDirtyOffsets.keySet().retainAll(checkpointOffsets.keySet());
+
+        if (!checkpointOffsets.equals(lastCheckpointedOffsets)) {
+            try {
+                cleanerOffsetCheckpoint.write(checkpointOffsets);
+                lastCheckpointedOffsets = checkpointOffsets;
+            } catch (Exception e) {
+                LOG.warn("Failed to write the cleaner offset checkpoint.", e);
+            }
+        }
+    }
+
+    private void cleanLog(LogTablet log, Map<TablePath, TableInfo> tableInfos) throws Exception {
+        TableBucket tableBucket = log.getTableBucket();
+        List<LogSegment> segments = log.logSegments();
+        long highWatermark = log.getHighWatermark();
+        // the inactive segments whose records are all below the high watermark are cleanable
+        int numCleanableSegments = 0;
+        while (numCleanableSegments < segments.size() - 1
+                && segments.get(numCleanableSegments + 1).getBaseOffset() <= highWatermark) {
+            numCleanableSegments++;
+        }
+        if (numCleanableSegments == 0) {
+            return;
+        }
+
+        long cleanableEndOffset = segments.get(numCleanableSegments).getBaseOffset();
+        long firstDirtyOffset = firstDirtyOffsets.getOrDefault(tableBucket, 0L);
+        if (firstDirtyOffset > log.localLogEndOffset()) {
+            // the log has been truncated fully and started at a smaller offset
+            firstDirtyOffset = 0L;
+        }
+        firstDirtyOffset = Math.max(firstDirtyOffset, segments.get(0).getBaseOffset());
+        if (firstDirtyOffset >= cleanableEndOffset) {
+            return;
+        }
+
+        TablePath tablePath = log.getTablePath();
+        TableInfo tableInfo = tableInfos.get(tablePath);
+        if (tableInfo == null) {
+            tableInfo = getTableInfo(zkClient, tablePath);
+            tableInfos.put(tablePath, tableInfo);
+        }
+        if (tableInfo.getTableId() != tableBucket.getTableId()
+                || !tableInfo.getTableConfig().isLogCompactionEnabled()) {
+            // nothing to clean, only mark the segments as checked
+            firstDirtyOffsets.put(tableBucket, cleanableEndOffset);
+            return;
+        }
+
+        try (RecordKeyDecoder decoder = new RecordKeyDecoder(log.getLogFormat(), tableInfo)) {
+            Map<ByteBuffer, Long> offsetMap = new HashMap<>();
+            long mapEndOffset =
+                    buildOffsetMap(
+                            segments, numCleanableSegments, firstDirtyOffset, decoder, offsetMap);
+            CleanerStats stats = new CleanerStats();
+            TombstoneFilter tombstoneFilter = new TombstoneFilter(log, tableInfo.getTableConfig());
+            for (LogSegment segment : segments) {
+                if (segment.getBaseOffset() >= mapEndOffset) {
+                    break;
+                }
+                cleanSegment(
+                        log, segment, offsetMap, mapEndOffset, decoder, tombstoneFilter, stats);
+            }
+            firstDirtyOffsets.put(tableBucket, mapEndOffset);
+            LOG.info(
+                    "Cleaned the log of bucket {} up to offset {} with {} keys mapped from "
+                            + "offset {}, {} segments are rewritten from {} bytes to {} bytes.",
+                    tableBucket,
+                    mapEndOffset,
+                    offsetMap.size(),
+                    firstDirtyOffset,
+                    stats.rewrittenSegments,
+                    stats.bytesRead,
+                    stats.bytesWritten);
+        }
+    }
+
+    /**
+     * Builds the map from the keys of the records in the dirty segments to their latest offsets.
+     * The record batches of the dirty segments are mapped one by one until the map exceeds the
+     * dedupe buffer size, but at least one record batch is mapped to make progress.
+     *
+     * @return the end offset of the map, i.e., the base offset of the first record batch not mapped
+     */
+    private long buildOffsetMap(
+            List<LogSegment> segments,
+            int numCleanableSegments,
+            long firstDirtyOffset,
+            RecordKeyDecoder decoder,
+            Map<ByteBuffer, Long> offsetMap)
+            throws Exception {
+        long mapEndOffset = firstDirtyOffset;
+        long mapMemorySize = 0;
+        for (int i = 0; i < numCleanableSegments; i++) {
+            LogSegment segment = segments.get(i);
+            long nextSegmentBaseOffset = segments.get(i + 1).getBaseOffset();
+            if (nextSegmentBaseOffset <= firstDirtyOffset) {
+                continue;
+            }
+
+            for (LogRecordBatch batch : segment.getFileLogRecords().batches()) {
+                if (batch.lastLogOffset() < firstDirtyOffset) {
+                    continue;
+                }
+                if (mapMemorySize >= dedupeBufferSize && !offsetMap.isEmpty()) {
+                    return batch.baseLogOffset();
+                }
+                if (batch.getRecordCount() == 0) {
+                    continue;
+                }
+                try (CloseableIterator<LogRecord> records = decoder.records(batch)) {
+                    while (records.hasNext()) {
+                        LogRecord record = records.next();
+                        byte[] key = decoder.encodeKey(record);
+                        if (offsetMap.put(ByteBuffer.wrap(key), record.logOffset()) == null) {
+                            mapMemorySize += key.length + OFFSET_MAP_ENTRY_OVERHEAD;
+                        }
+                    }
+                }
+            }
+            mapEndOffset = nextSegmentBaseOffset;
+        }
+        return mapEndOffset;
+    }
+
+    /**
+     * Rewrites the given segment with the record batches to retain, the segment is left untouched
+     * if all the record batches are retained. The record batches from the end of the map on are
+     * not mapped yet and always retained.
+     */
+    private void cleanSegment(
+            LogTablet log,
+            LogSegment segment,
+            Map<ByteBuffer, Long> offsetMap,
+            long mapEndOffset,
+            RecordKeyDecoder decoder,
+            TombstoneFilter tombstoneFilter,
+            CleanerStats stats)
+            throws Exception {
+        Map<Long, WriterStateEntry> activeWriters = log.activeWriters();
+        List<FileChannelLogRecordBatch> retainedBatches = new ArrayList<>();
+        boolean anyBatchRemoved = false;
+        for (LogRecordBatch batch : segment.getFileLogRecords().batches()) {
+            if (batch.baseLogOffset() >= mapEndOffset
+                    || shouldRetain(batch, offsetMap, decoder, tombstoneFilter, activeWriters)) {
+                retainedBatches.add((FileChannelLogRecordBatch) batch);
+            } else {
+                anyBatchRemoved = true;
+            }
+        }
+        if (!anyBatchRemoved) {
+            return;
+        }
+
+        LogSegment cleanedSegment =
+                LogSegment.open(
+                        log.getLogDir(),
+                        segment.getBaseOffset(),
+                        conf,
+                        false,
+                        0,
+                        log.getLogFormat(),
+                        FlussPaths.CLEANED_FILE_SUFFIX);
+        boolean replaced = false;
+        try {
+            for (FileChannelLogRecordBatch batch : retainedBatches) {
+                ByteBuffer buffer = ByteBuffer.allocate(batch.sizeInBytes());
+                segment.getFileLogRecords().readInto(buffer, batch.position());
+                cleanedSegment.append(
+                        batch.lastLogOffset(),
+                        batch.commitTimestamp(),
+                        batch.baseLogOffset(),
+                        MemoryLogRecords.pointToByteBuffer(buffer));
+            }
+            cleanedSegment.onBecomeInactiveSegment();
+            cleanedSegment.flush();
+
+            int originalSize = segment.getSizeInBytes();
+            replaced = log.replaceSegment(segment, cleanedSegment);
+            if (replaced) {
+                stats.rewrittenSegments++;
+                stats.bytesRead += originalSize;
+                stats.bytesWritten += cleanedSegment.getSizeInBytes();
+            }
+        } finally {
+            if (!replaced) {
+                cleanedSegment.deleteIfExists();
+            }
+        }
+    }
+
+    private boolean shouldRetain(
+            LogRecordBatch batch,
+            Map<ByteBuffer, Long> offsetMap,
+            RecordKeyDecoder decoder,
+            TombstoneFilter tombstoneFilter,
+            Map<Long, WriterStateEntry> activeWriters)
+            throws Exception {
+        long writerId = batch.writerId();
+        if (writerId != NO_WRITER_ID) {
+            WriterStateEntry writerState = activeWriters.get(writerId);
+            if (writerState != null && writerState.lastDataOffset() == batch.lastLogOffset()) {
+                // retain the last batch of the active writer to keep the writer state
+                return true;
+            }
+        }
+        if (batch.getRecordCount() == 0) {
+            return false;
+        }
+
+        boolean removableTombstones = tombstoneFilter.canRemoveTombstones(batch);
+        try (CloseableIterator<LogRecord> records = decoder.records(batch)) {
+            while (records.hasNext()) {
+                LogRecord record = records.next();
+                Long latestOffset = offsetMap.get(ByteBuffer.wrap(decoder.encodeKey(record)));
+                // the keys not in the map have no changes in the dirty segments
+                if (latestOffset == null || latestOffset == record.logOffset()) {
+                    if (record.getChangeType() != ChangeType.DELETE || !removableTombstones) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /** Decides whether the tombstones in a record batch can be removed. */
+    private final class TombstoneFilter {
+        private final long deleteHorizonMs;
+        private final long kvSnapshotOffset;
+        private final long lakeLogEndOffset;
+
+        private TombstoneFilter(LogTablet log, TableConfig tableConfig) {
+            this.deleteHorizonMs =
+                    clock.milliseconds() - tableConfig.getLogCompactionTombstoneRetentionMs();
+            this.kvSnapshotOffset = log.getMinRetainOffset();
+            this.lakeLogEndOffset =
+                    tableConfig.isDataLakeEnabled() ? log.getLakeLogEndOffset() : Long.MAX_VALUE;
+        }
+
+        private boolean canRemoveTombstones(LogRecordBatch batch) {
+            long nextOffset = batch.nextLogOffset();
+            return batch.commitTimestamp() < deleteHorizonMs
+                    && nextOffset <= kvSnapshotOffset
+                    && nextOffset <= lakeLogEndOffset;
+        }
+    }
+
+    /**
+     * Decodes the records of the record batches and encodes their primary keys, the read contexts
+     * and key encoders are created per schema id of the record batches.
+     */
+    private final class RecordKeyDecoder implements AutoCloseable {
+        private final LogFormat logFormat;
+        private final TableInfo tableInfo;
+        private final Map<Integer, LogRecordReadContext> readContexts = new HashMap<>();
+        private final Map<Integer, KeyEncoder> keyEncoders = new HashMap<>();
+
+        private KeyEncoder currentKeyEncoder;
+
+        private RecordKeyDecoder(LogFormat logFormat, TableInfo tableInfo) {
+            this.logFormat = logFormat;
+            this.tableInfo = tableInfo;
+        }
+
+        private CloseableIterator<LogRecord> records(LogRecordBatch batch) throws Exception {
+            int schemaId = batch.schemaId();
+            LogRecordReadContext readContext = readContexts.get(schemaId);
+            if (readContext == null) {
+                RowType rowType = getRowType(schemaId);
+                readContext = LogRecordReadContext.createReadContext(logFormat, rowType, schemaId);
+                readContexts.put(schemaId, readContext);
+                keyEncoders.put(
+                        schemaId,
+                        CompactedKeyEncoder.createKeyEncoder(
+                                rowType, tableInfo.getPhysicalPrimaryKeys()));
+            }
+            currentKeyEncoder = keyEncoders.get(schemaId);
+            return batch.records(readContext);
+        }
+
+        /** Encodes the key of the record returned by the last {@link #records} iterator. */
+        private byte[] encodeKey(LogRecord record) {
+            return currentKeyEncoder.encodeKey(record.getRow());
+        }
+
+        private RowType getRowType(int schemaId) throws Exception {
+            if (schemaId == tableInfo.getSchemaId()) {
+                return tableInfo.getRowType();
+            }
+            TablePath tablePath = tableInfo.getTablePath();
+            Optional<SchemaInfo> schemaInfo = zkClient.getSchemaById(tablePath, schemaId);
+            if (!schemaInfo.isPresent()) {
+                throw new LogStorageException(
+                        String.format(
+                                "Failed to clean the log of table '%s': schema %d not found in zookeeper metadata.",
+                                tablePath, schemaId));
+            }
+            return schemaInfo.get().getSchema().getRowType();
+        }
+
+        @Override
+        public void close() {
+            readContexts.values().forEach(context -> IOUtils.closeQuietly(context, "read context"));
+        }
+    }
+
+    /** Statistics of cleaning a log. */
+    private static final class CleanerStats {
+        private int rewrittenSegments;
+        private long bytesRead;
+        private long bytesWritten;
+    }
+}
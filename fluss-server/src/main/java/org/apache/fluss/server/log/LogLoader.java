@@ -22,6 +22,7 @@ import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.LogSegmentOffsetOverflowException;
 import org.apache.fluss.exception.LogStorageException;
 import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.types.Tuple2;
 
@@ -137,8 +138,50 @@ final class LogLoader {
         return Tuple2.of(recoveryPointCheckpoint, logEndOffset);
     }
 
+    /**
+     * Completes or aborts the segment replacements of the log cleaner interrupted by a crash. The
+     * files of a segment being cleaned and the files of a replaced segment waiting for the delayed
+     * deletion are deleted, while the files of a cleaned segment that is ready to swap in replace
+     * the files of the original segment.
+     */
+    private void completeSegmentSwaps() throws IOException {
+        File[] files = logTabletDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.isFile()) {
+                continue;
+            }
+            String path = file.getPath();
+            if (path.endsWith(FlussPaths.DELETED_FILE_SUFFIX)) {
+                LOG.info(
+                        "Deleting the replaced file {} for bucket {}.",
+                        path,
+                        logSegments.getTableBucket());
+                Files.deleteIfExists(file.toPath());
+            } else if (path.endsWith(FlussPaths.CLEANED_FILE_SUFFIX)) {
+                LOG.info(
+                        "Deleting the unfinished cleaned file {} for bucket {}.",
+                        path,
+                        logSegments.getTableBucket());
+                Files.deleteIfExists(file.toPath());
+            } else if (path.endsWith(FlussPaths.SWAP_FILE_SUFFIX)) {
+                File swapTarget =
+                        new File(FileUtils.replaceSuffix(path, FlussPaths.SWAP_FILE_SUFFIX, ""));
+                LOG.info(
+                        "Replacing {} with the cleaned file {} for bucket {}.",
+                        swapTarget.getPath(),
+                        path,
+                        logSegments.getTableBucket());
+                FileUtils.atomicMoveWithFallback(file.toPath(), swapTarget.toPath());
+            }
+        }
+    }
+
     /** Loads segments from disk into the provided segments. */
     private void loadSegmentFiles() throws IOException {
+        completeSegmentSwaps();
         File[] sortedFiles = logTabletDir.listFiles();
         if (sortedFiles != null) {
             Arrays.sort(sortedFiles, Comparator.comparing(File::getName));
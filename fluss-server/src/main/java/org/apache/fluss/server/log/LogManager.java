@@ -90,6 +90,7 @@ public final class LogManager extends TabletManagerBase {
     private final Scheduler scheduler;
     private final Clock clock;
     private final TabletServerMetricGroup serverMetricGroup;
+    private final LogCleaner logCleaner;
     private final ReentrantLock logCreationOrDeletionLock = new ReentrantLock();
 
     private final Map<TableBucket, LogTablet> currentLogs = MapUtils.newConcurrentHashMap();
@@ -112,6 +113,7 @@ public final class LogManager extends TabletManagerBase {
         this.clock = clock;
         this.serverMetricGroup = serverMetricGroup;
         createAndValidateDataDir(dataDir);
+        this.logCleaner = new LogCleaner(dataDir, conf, zkClient, clock, currentLogs::values);
 
         initializeCheckpointMaps();
     }
@@ -137,6 +139,7 @@ public final class LogManager extends TabletManagerBase {
 
     public void startup() {
         loadLogs();
+        logCleaner.startup();
 
         // TODO add more scheduler, like log-flusher etc.
     }
@@ -404,6 +407,7 @@ public final class LogManager extends TabletManagerBase {
     /** Close all the logs. */
     public void shutdown() {
         LOG.info("Shutting down LogManager.");
+        logCleaner.shutdown();
 
         String dataDirAbsolutePath = dataDir.getAbsolutePath();
         ExecutorService pool = createThreadPool("log-tablet-closing-" + dataDirAbsolutePath);
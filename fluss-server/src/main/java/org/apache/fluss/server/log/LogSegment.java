@@ -18,6 +18,7 @@
 package org.apache.fluss.server.log;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.CorruptRecordException;
@@ -29,6 +30,7 @@ import org.apache.fluss.record.FileChannelChunk;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.record.TimestampAndOffset;
@@ -68,6 +70,12 @@ public final class LogSegment {
 
     private static final Logger LOG = LoggerFactory.getLogger(LogSegment.class);
 
+    /**
+     * The maximum bytes scanned by a read with a row filter, in multiples of the max size of the
+     * read, so that a selective filter doesn't scan the whole segment in one read.
+     */
+    @VisibleForTesting static final int FILTER_SCAN_SIZE_FACTOR = 16;
+
     // the log format of the log segment
     private final LogFormat logFormat;
 
@@ -138,23 +146,48 @@ public final class LogSegment {
             int initFileSize,
             LogFormat logFormat)
             throws IOException {
+        return open(dir, baseOffset, logConfig, fileAlreadyExists, initFileSize, logFormat, "");
+    }
+
+    /**
+     * Opens a log segment whose log and index files are named with the given suffix appended, e.g.
+     * the segment written by the log cleaner with the suffix {@link
+     * FlussPaths#CLEANED_FILE_SUFFIX}.
+     */
+    public static LogSegment open(
+            File dir,
+            long baseOffset,
+            Configuration logConfig,
+            boolean fileAlreadyExists,
+            int initFileSize,
+            LogFormat logFormat,
+            String fileSuffix)
+            throws IOException {
         int maxIndexSize = (int) logConfig.get(ConfigOptions.LOG_INDEX_FILE_SIZE).getBytes();
 
         return new LogSegment(
                 logFormat,
                 FileLogRecords.open(
-                        FlussPaths.logFile(dir, baseOffset),
+                        withSuffix(FlussPaths.logFile(dir, baseOffset), fileSuffix),
                         fileAlreadyExists,
                         initFileSize,
                         logConfig.getBoolean(ConfigOptions.LOG_FILE_PREALLOCATE)),
                 LazyIndex.forOffset(
-                        FlussPaths.offsetIndexFile(dir, baseOffset), baseOffset, maxIndexSize),
+                        withSuffix(FlussPaths.offsetIndexFile(dir, baseOffset), fileSuffix),
+                        baseOffset,
+                        maxIndexSize),
                 LazyIndex.forTime(
-                        FlussPaths.timeIndexFile(dir, baseOffset), baseOffset, maxIndexSize),
+                        withSuffix(FlussPaths.timeIndexFile(dir, baseOffset), fileSuffix),
+                        baseOffset,
+                        maxIndexSize),
                 baseOffset,
                 (int) logConfig.get(ConfigOptions.LOG_INDEX_INTERVAL_SIZE).getBytes());
     }
 
+    private static File withSuffix(File file, String fileSuffix) {
+        return fileSuffix.isEmpty() ? file : new File(file.getPath() + fileSuffix);
+    }
+
     public OffsetIndex offsetIndex() throws IOException {
         return lazyOffsetIndex.get();
     }
@@ -482,6 +515,33 @@ public final class LogSegment {
             boolean minOneMessage,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(startOffset, maxSize, maxPosition, minOneMessage, projection, null);
+    }
+
+    /**
+     * Read a message set from this segment beginning with the first offset >= startOffset. The
+     * message set will include no more than maxSize bytes and will end before maxOffset if a
+     * maxOffset is specified.
+     *
+     * @param startOffset A lower bound on the first offset to include in the message set we read
+     * @param maxSize The maximum number of bytes to include in the message set we read
+     * @param maxPosition The maximum position in the log segment that should be exposed for read
+     * @param minOneMessage If this is true, the first message will be returned even if it exceeds
+     *     `maxSize` (if one exists)
+     * @param projection The column projection to apply to the log records
+     * @param filter The row filter to apply to the record batches
+     * @return The fetched data and the offset metadata of the first message whose offset is >=
+     *     startOffset, or null if the startOffset is larger than the largest offset in this log
+     */
+    @Nullable
+    public FetchDataInfo read(
+            long startOffset,
+            int maxSize,
+            long maxPosition,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         if (maxSize < 0) {
             throw new IllegalArgumentException(
                     "Invalid max size " + maxSize + " for log read from segment " + fileLogRecords);
@@ -499,15 +559,30 @@ public final class LogSegment {
         if (adjustedMaxSize <= V0_RECORD_BATCH_HEADER_SIZE) {
             return new FetchDataInfo(offsetMetadata, MemoryLogRecords.EMPTY);
         }
-        if (projection == null) {
+        if (projection != null && logFormat != LogFormat.ARROW) {
+            throw new InvalidColumnProjectionException(
+                    "Only Arrow log format supports column projection, but is: " + logFormat);
+        }
+        if (filter != null) {
+            // allow to scan more data than the max size, as the filtered out batches only take
+            // the space of the batch header. The empty batches of the filtered out batches keep
+            // their offset ranges, so the next read resumes from the end of the scanned data.
+            int fetchSize =
+                    (int)
+                            Math.min(
+                                    maxPosition - startPosition,
+                                    (long) adjustedMaxSize * FILTER_SCAN_SIZE_FACTOR);
+            LogRecords filteredRecords =
+                    filter.filter(
+                            fileLogRecords.slice(startPosition, fetchSize),
+                            adjustedMaxSize,
+                            projection);
+            return new FetchDataInfo(offsetMetadata, filteredRecords);
+        } else if (projection == null) {
             int fetchSize = Math.min((int) (maxPosition - startPosition), adjustedMaxSize);
             return new FetchDataInfo(
                     offsetMetadata, fileLogRecords.slice(startPosition, fetchSize));
         } else {
-            if (logFormat != LogFormat.ARROW) {
-                throw new InvalidColumnProjectionException(
-                        "Only Arrow log format supports column projection, but is: " + logFormat);
-            }
             // allow to fetch all the data available in the segment
             int fetchSize = (int) (maxPosition - startPosition);
             FileChannelChunk chunk = fileLogRecords.slice(startPosition, fetchSize).toChunk();
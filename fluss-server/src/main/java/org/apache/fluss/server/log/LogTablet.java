@@ -36,6 +36,7 @@ import org.apache.fluss.record.DefaultLogRecordBatch;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.server.log.LocalLog.SegmentDeletionReason;
@@ -101,6 +102,7 @@ public final class LogTablet {
     private final ScheduledFuture<?> writerExpireCheck;
     private final LogFormat logFormat;
     private final int tieredLogLocalSegments;
+    private final long cleanedFileDeleteDelayMs;
     private final Clock clock;
     private final boolean isChangeLog;
 
@@ -143,6 +145,8 @@ public final class LogTablet {
         this.logFlushIntervalMessages = conf.get(ConfigOptions.LOG_FLUSH_INTERVAL_MESSAGES);
         int writerExpirationCheckIntervalMs =
                 (int) conf.get(ConfigOptions.WRITER_ID_EXPIRATION_CHECK_INTERVAL).toMillis();
+        this.cleanedFileDeleteDelayMs =
+                conf.get(ConfigOptions.LOG_CLEANER_FILE_DELETE_DELAY).toMillis();
         this.writerStateManager = writerStateManager;
         this.highWatermarkMetadata = new LogOffsetMetadata(0L);
 
@@ -271,6 +275,11 @@ public final class LogTablet {
         return logFormat;
     }
 
+    /** Whether the log is the changelog of a primary key table. */
+    public boolean isChangelog() {
+        return isChangeLog;
+    }
+
     public long getLeaderEndOffsetSnapshot() {
         return leaderEndOffsetSnapshot;
     }
@@ -393,6 +402,21 @@ public final class LogTablet {
             boolean minOneMessage,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(readOffset, maxLength, fetchIsolation, minOneMessage, projection, null);
+    }
+
+    /**
+     * Read messages from the local log, the record batches that have no records matching the given
+     * filter are returned as empty batches.
+     */
+    public FetchDataInfo read(
+            long readOffset,
+            int maxLength,
+            FetchIsolation fetchIsolation,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         LogOffsetMetadata maxOffsetMetadata = null;
         if (fetchIsolation == FetchIsolation.LOG_END) {
             maxOffsetMetadata = localLog.getLocalLogEndOffsetMetadata();
@@ -400,7 +424,42 @@ public final class LogTablet {
             maxOffsetMetadata = fetchHighWatermarkMetadata();
         }
 
-        return localLog.read(readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection);
+        return localLog.read(
+                readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, filter);
+    }
+
+    /**
+     * Read messages from the local log up to the given high watermark, which is used by a follower
+     * to serve the client fetches up to the high watermark of the leader, as the high watermark of
+     * a follower is its log end offset.
+     */
+    public FetchDataInfo readUpTo(
+            long readOffset,
+            int maxLength,
+            long highWatermark,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
+        return localLog.read(
+                readOffset,
+                maxLength,
+                minOneMessage,
+                fetchHighWatermarkMetadata(highWatermark),
+                projection,
+                filter);
+    }
+
+    /**
+     * Returns the offset metadata of the high watermark of the local log bounded by the given high
+     * watermark, which is lower bounded by the local log start offset.
+     */
+    public LogOffsetMetadata fetchHighWatermarkMetadata(long highWatermark) throws IOException {
+        LogOffsetMetadata highWatermarkMetadata = fetchHighWatermarkMetadata();
+        if (highWatermark >= highWatermarkMetadata.getMessageOffset()) {
+            return highWatermarkMetadata;
+        }
+        return convertToOffsetMetadataOrThrow(Math.max(highWatermark, localLogStartOffset()));
     }
 
     /**
@@ -961,6 +1020,45 @@ public final class LogTablet {
         }
     }
 
+    /**
+     * Replaces the given inactive segment with the cleaned segment of the same base offset written
+     * by the {@link LogCleaner}. The files of the replaced segment are deleted asynchronously
+     * after {@link ConfigOptions#LOG_CLEANER_FILE_DELETE_DELAY}, so that the readers still holding
+     * the replaced segment can finish.
+     *
+     * @return false if the segment has been deleted or replaced in the meantime, the cleaned
+     *     segment is not used then.
+     */
+    boolean replaceSegment(LogSegment segment, LogSegment cleanedSegment) throws IOException {
+        synchronized (lock) {
+            LogSegments segments = localLog.getSegments();
+            Optional<LogSegment> currentSegment = segments.get(segment.getBaseOffset());
+            if (!currentSegment.isPresent()
+                    || currentSegment.get() != segment
+                    || segments.activeSegment() == segment) {
+                return false;
+            }
+            localLog.replaceSegment(segment, cleanedSegment);
+        }
+        scheduler.scheduleOnce(
+                "delete-cleaned-log-segment",
+                () -> {
+                    try {
+                        LocalLog.deleteSegmentFiles(
+                                Collections.singletonList(segment),
+                                SegmentDeletionReason.LOG_COMPACTION);
+                    } catch (IOException e) {
+                        LOG.warn(
+                                "Failed to delete the replaced segment {} for bucket {}.",
+                                segment,
+                                getTableBucket(),
+                                e);
+                    }
+                },
+                cleanedFileDeleteDelayMs);
+        return true;
+    }
+
     public void close() {
         LOG.debug("close log tablet for bucket {}", getTableBucket());
         synchronized (lock) {
@@ -1307,7 +1405,6 @@ public final class LogTablet {
         return localLog.getSegments().values();
     }
 
-    @VisibleForTesting
     public long getMinRetainOffset() {
         return minRetainOffset;
     }
@@ -19,8 +19,8 @@ package org.apache.fluss.server.metrics.group;
 
 import org.apache.fluss.metrics.CharacterFilter;
 import org.apache.fluss.metrics.Counter;
-import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
 import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.metrics.IntervalHistogram;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
 import org.apache.fluss.metrics.groups.AbstractMetricGroup;
@@ -49,9 +49,7 @@ public class CoordinatorEventMetricGroup extends AbstractMetricGroup {
         this.eventClass = eventClass;
 
         this.eventProcessingTime =
-                histogram(
-                        MetricNames.EVENT_PROCESSING_TIME_MS,
-                        new DescriptiveStatisticsHistogram(100));
+                histogram(MetricNames.EVENT_PROCESSING_TIME_MS, new IntervalHistogram());
         this.queuedEventCount =
                 counter(MetricNames.EVENT_QUEUE_SIZE, new ThreadSafeSimpleCounter());
     }
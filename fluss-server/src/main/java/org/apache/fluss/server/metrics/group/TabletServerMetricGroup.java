@@ -22,8 +22,8 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.metrics.CharacterFilter;
 import org.apache.fluss.metrics.Counter;
-import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
 import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.metrics.IntervalHistogram;
 import org.apache.fluss.metrics.MeterView;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.SimpleCounter;
@@ -39,7 +39,6 @@ import java.util.Map;
 public class TabletServerMetricGroup extends AbstractMetricGroup {
 
     private static final String NAME = "tabletserver";
-    private static final int WINDOW_SIZE = 1024;
 
     private final Map<TablePath, TableMetricGroup> metricGroupByTable =
             MapUtils.newConcurrentHashMap();
@@ -70,6 +69,7 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
     private final Histogram kvFlushLatencyHistogram;
     private final Counter kvTruncateAsDuplicatedCount;
     private final Counter kvTruncateAsErrorCount;
+    private final Counter kvPreWriteBufferMemoryUsage;
 
     // aggregated replica metrics
     private final Counter isrShrinks;
@@ -111,13 +111,13 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         // about flush
         logFlushCount = new SimpleCounter();
         logMetricGroup.meter(MetricNames.LOG_FLUSH_RATE, new MeterView(logFlushCount));
-        logFlushLatencyHistogram = new DescriptiveStatisticsHistogram(WINDOW_SIZE);
+        logFlushLatencyHistogram = new IntervalHistogram();
         logMetricGroup.histogram(MetricNames.LOG_FLUSH_LATENCY_MS, logFlushLatencyHistogram);
 
         // about pre-write buffer.
         kvFlushCount = new SimpleCounter();
         meter(MetricNames.KV_FLUSH_RATE, new MeterView(kvFlushCount));
-        kvFlushLatencyHistogram = new DescriptiveStatisticsHistogram(WINDOW_SIZE);
+        kvFlushLatencyHistogram = new IntervalHistogram();
         histogram(MetricNames.KV_FLUSH_LATENCY_MS, kvFlushLatencyHistogram);
         kvTruncateAsDuplicatedCount = new SimpleCounter();
         meter(
@@ -127,6 +127,9 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         meter(
                 MetricNames.KV_PRE_WRITE_BUFFER_TRUNCATE_AS_ERROR_RATE,
                 new MeterView(kvTruncateAsErrorCount));
+        // the bytes of the pages held by the off-heap pre-write buffers of all the kv tablets
+        kvPreWriteBufferMemoryUsage = new ThreadSafeSimpleCounter();
+        gauge(MetricNames.KV_PRE_WRITE_BUFFER_MEMORY_USAGE, kvPreWriteBufferMemoryUsage::getCount);
 
         // replica metrics
         isrExpands = new SimpleCounter();
@@ -211,6 +214,10 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         return kvTruncateAsErrorCount;
     }
 
+    public Counter kvPreWriteBufferMemoryUsage() {
+        return kvPreWriteBufferMemoryUsage;
+    }
+
     public Counter isrShrinks() {
         return isrShrinks;
     }
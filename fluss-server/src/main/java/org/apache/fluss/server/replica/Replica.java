@@ -21,6 +21,7 @@ import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.exception.ApiException;
 import org.apache.fluss.exception.FencedLeaderEpochException;
 import org.apache.fluss.exception.InvalidColumnProjectionException;
 import org.apache.fluss.exception.InvalidTimestampException;
@@ -52,11 +53,14 @@ import org.apache.fluss.server.kv.KvManager;
 import org.apache.fluss.server.kv.KvRecoverHelper;
 import org.apache.fluss.server.kv.KvTablet;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import org.apache.fluss.server.kv.scan.KvScanner;
 import org.apache.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshot;
 import org.apache.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDataDownloader;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDownloadSpec;
+import org.apache.fluss.server.kv.snapshot.KvSnapshotHandle;
+import org.apache.fluss.server.kv.snapshot.KvSnapshotLocalCache;
 import org.apache.fluss.server.kv.snapshot.KvTabletSnapshotTarget;
 import org.apache.fluss.server.kv.snapshot.PeriodicSnapshotManager;
 import org.apache.fluss.server.kv.snapshot.RocksIncrementalSnapshot;
@@ -70,6 +74,7 @@ import org.apache.fluss.server.log.LogManager;
 import org.apache.fluss.server.log.LogOffsetMetadata;
 import org.apache.fluss.server.log.LogOffsetSnapshot;
 import org.apache.fluss.server.log.LogReadInfo;
+import org.apache.fluss.server.log.LogSegment;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.log.checkpoint.OffsetCheckpointFile;
 import org.apache.fluss.server.log.remote.RemoteLogManager;
@@ -117,6 +122,7 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -160,6 +166,8 @@ public final class Replica {
     private final SnapshotContext snapshotContext;
     // null if table without pk
     private final @Nullable KvManager kvManager;
+    // null if table without pk or the local cache of kv snapshots is disabled
+    private final @Nullable KvSnapshotLocalCache kvSnapshotLocalCache;
 
     private final int localTabletServerId;
     private final DelayedOperationManager<DelayedWrite<?>> delayedWriteManager;
@@ -168,6 +176,7 @@ public final class Replica {
     private final AdjustIsrManager adjustIsrManager;
 
     private final Schema schema;
+    private final int schemaId;
     private final TableConfig tableConfig;
     // logFormat and arrowCompressionInfo are used in hot-path, so cache them here.
     private final LogFormat logFormat;
@@ -191,6 +200,13 @@ public final class Replica {
     private volatile int bucketEpoch = LeaderAndIsr.INITIAL_BUCKET_EPOCH;
     private volatile int coordinatorEpoch = CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
 
+    /**
+     * The high watermark of the leader received by the follower replica, which bounds the client
+     * fetches served by the follower replica, as the high watermark of a follower is its log end
+     * offset.
+     */
+    private volatile long leaderHighWatermark = 0L;
+
     // null if table without pk or haven't become leader
     private volatile @Nullable KvTablet kvTablet;
     private volatile @Nullable CloseableRegistry closeableRegistryForKv;
@@ -203,6 +219,33 @@ public final class Replica {
 
     private MetricGroup lakeTieringMetricGroup;
 
+    // ------- hot-standby kv tablet of follower, see ConfigOptions#TABLE_KV_STANDBY_ENABLED
+    private final boolean kvStandbyEnabled;
+    /**
+     * The applier of the committed log to the hot-standby kv tablet, null if the replica is not a
+     * follower keeping a hot-standby kv tablet.
+     */
+    private volatile @Nullable KvRecoverHelper standbyKvApplier;
+    /**
+     * The future of the hot-standby kv tablet being built outside the leaderIsrUpdateLock with the
+     * log offset it restores from, null if no hot-standby kv tablet is being built.
+     */
+    private @Nullable CompletableFuture<Tuple2<KvTablet, Long>> standbyKvBuildFuture;
+    /** The log offset the hot-standby kv tablet restored from, i.e., the kv snapshot offset. */
+    private long standbyKvRestoreOffset;
+    /** The committed offset of the leader, which the hot-standby kv tablet is applied to. */
+    private volatile long standbyKvCommittedOffset;
+
+    private @Nullable MetricGroup kvStandbyMetricGroup;
+
+    // ------- restoring the kv tablet when becoming leader
+    /** The helper applying the log to the restoring kv tablet, null if not restoring from log. */
+    private volatile @Nullable KvRecoverHelper restoringKvHelper;
+
+    private volatile long kvRestoreStartTimeMs = -1L;
+    private volatile long kvRestoreEndTimeMs = -1L;
+    private @Nullable MetricGroup kvRestoreMetricGroup;
+
     public Replica(
             PhysicalTablePath physicalPath,
             TableBucket tableBucket,
@@ -226,6 +269,8 @@ public final class Replica {
         this.tableBucket = tableBucket;
         this.logManager = logManager;
         this.kvManager = kvManager;
+        this.kvSnapshotLocalCache =
+                kvManager != null ? kvManager.createSnapshotLocalCache(tableBucket) : null;
         this.metadataCache = metadataCache;
         this.replicaMaxLagTime = replicaMaxLagTime;
         this.minInSyncReplicas = minInSyncReplicas;
@@ -236,9 +281,11 @@ public final class Replica {
         this.fatalErrorHandler = fatalErrorHandler;
         this.bucketMetricGroup = bucketMetricGroup;
         this.schema = tableInfo.getSchema();
+        this.schemaId = tableInfo.getSchemaId();
         this.tableConfig = tableInfo.getTableConfig();
         this.logFormat = tableConfig.getLogFormat();
         this.arrowCompressionInfo = tableConfig.getArrowCompressionInfo();
+        this.kvStandbyEnabled = kvManager != null && tableConfig.isKvStandbyEnabled();
         this.snapshotContext = snapshotContext;
         // create a closeable registry for the replica
         this.closeableRegistry = new CloseableRegistry();
@@ -261,6 +308,28 @@ public final class Replica {
         logicalStorageMetrics.gauge(
                 MetricNames.LOCAL_STORAGE_LOG_SIZE, this::logicalStorageLogSize);
         logicalStorageMetrics.gauge(MetricNames.LOCAL_STORAGE_KV_SIZE, this::logicalStorageKvSize);
+
+        if (isKvTable()) {
+            // the memory of the RocksDB of the kv tablet, 0 if there is no kv tablet
+            MetricGroup rocksDBMetrics = bucketMetricGroup.addGroup("rocksdb");
+            rocksDBMetrics.gauge(
+                    MetricNames.KV_ROCKSDB_MEM_TABLE_MEMORY_USAGE,
+                    () -> rocksDBLongProperty("rocksdb.cur-size-all-mem-tables"));
+            rocksDBMetrics.gauge(
+                    MetricNames.KV_ROCKSDB_TABLE_READERS_MEMORY_USAGE,
+                    () -> rocksDBLongProperty("rocksdb.estimate-table-readers-mem"));
+            rocksDBMetrics.gauge(
+                    MetricNames.KV_ROCKSDB_BLOCK_CACHE_HIT_RATE,
+                    () -> {
+                        KvTablet kv = kvTablet;
+                        return kv == null ? -1 : kv.getRocksDBKv().getBlockCacheHitRate();
+                    });
+        }
+    }
+
+    private long rocksDBLongProperty(String property) {
+        KvTablet kv = kvTablet;
+        return kv == null ? 0L : Math.max(0L, kv.getRocksDBKv().getLongProperty(property));
     }
 
     public long logicalStorageLogSize() {
@@ -290,6 +359,14 @@ public final class Replica {
         return schema.getRowType();
     }
 
+    public int getSchemaId() {
+        return schemaId;
+    }
+
+    public LogFormat getLogFormat() {
+        return logFormat;
+    }
+
     public ArrowCompressionInfo getArrowCompressionInfo() {
         return arrowCompressionInfo;
     }
@@ -488,6 +565,9 @@ public final class Replica {
                     if (isKvTable()) {
                         dropKv();
                     }
+                    if (kvSnapshotLocalCache != null) {
+                        kvSnapshotLocalCache.clear();
+                    }
                     // drop log then
                     logManager.dropLog(tableBucket);
                     // close the closeable registry
@@ -529,7 +609,17 @@ public final class Replica {
                 leaderIsrUpdateLock,
                 () -> {
                     LogTablet logTablet = localLogOrThrow(fetchOnlyFromLeader);
-                    return logTablet.fetchOffsetSnapshot();
+                    LogOffsetSnapshot snapshot = logTablet.fetchOffsetSnapshot();
+                    if (isLeader()) {
+                        return snapshot;
+                    }
+                    // the client fetches served by the follower are bounded by the high
+                    // watermark of the leader
+                    return new LogOffsetSnapshot(
+                            snapshot.logStartOffset,
+                            snapshot.localLogStartOffset,
+                            snapshot.logEndOffset,
+                            logTablet.fetchHighWatermarkMetadata(leaderHighWatermark));
                 });
     }
 
@@ -543,12 +633,22 @@ public final class Replica {
         }
 
         if (isKvTable()) {
-            // if it's become new leader, we must
-            // first destroy the old kv tablet
-            // if exist. Otherwise, it'll use still the old kv tablet which will cause data loss
-            dropKv();
-            // now, we can create a new kv tablet
-            createKv();
+            // take over the hot-standby kv tablet if it's still being built, which costs no more
+            // than restoring the kv tablet from the kv snapshot
+            awaitStandbyKvBuild();
+            if (standbyKvApplier != null) {
+                // the hot-standby kv tablet has applied the log committed when being follower,
+                // promote it to avoid restoring from the kv snapshot
+                promoteStandbyKv();
+            } else {
+                // if it's become new leader, we must
+                // first destroy the old kv tablet
+                // if exist. Otherwise, it'll use still the old kv tablet which will cause data
+                // loss
+                dropKv();
+                // now, we can create a new kv tablet
+                createKv();
+            }
         }
     }
 
@@ -569,9 +669,15 @@ public final class Replica {
     }
 
     private void onBecomeNewFollower() {
-        if (isKvTable()) {
-            // it should be from leader to follower, we need to destroy the kv tablet
+        // keep the hot-standby kv tablet if it's from follower to follower, as it only contains
+        // the committed log which is still valid under the new leader
+        if (isKvTable() && standbyKvApplier == null && standbyKvBuildFuture == null) {
+            // it should be from leader to follower, we need to destroy the kv tablet, as the kv
+            // data in pre-write buffer may be truncated
             dropKv();
+            if (kvStandbyEnabled) {
+                buildStandbyKv();
+            }
         }
         if (lakeTieringMetricGroup != null) {
             lakeTieringMetricGroup.close();
@@ -596,6 +702,10 @@ public final class Replica {
                     e);
         }
 
+        kvRestoreStartTimeMs = clock.milliseconds();
+        kvRestoreEndTimeMs = -1L;
+        registerKvRestoreMetrics();
+
         // init kv tablet and get the snapshot it uses to init if have any
         Optional<CompletedSnapshot> snapshotUsed = Optional.empty();
         for (int i = 1; i <= INIT_KV_TABLET_MAX_RETRY_TIMES; i++) {
@@ -610,11 +720,26 @@ public final class Replica {
                         e);
             }
         }
+        kvRestoreEndTimeMs = clock.milliseconds();
         // start periodic kv snapshot
         startPeriodicKvSnapshot(snapshotUsed.orElse(null));
     }
 
     private void dropKv() {
+        // wait for the hot-standby kv tablet being built, so that it's dropped as well
+        awaitStandbyKvBuild();
+        standbyKvApplier = null;
+        if (kvStandbyMetricGroup != null) {
+            kvStandbyMetricGroup.close();
+            kvStandbyMetricGroup = null;
+        }
+        restoringKvHelper = null;
+        kvRestoreStartTimeMs = -1L;
+        kvRestoreEndTimeMs = -1L;
+        if (kvRestoreMetricGroup != null) {
+            kvRestoreMetricGroup.close();
+            kvRestoreMetricGroup = null;
+        }
         // close any closeable registry for kv
         if (closeableRegistry.unregisterCloseable(closeableRegistryForKv)) {
             IOUtils.closeQuietly(closeableRegistryForKv);
@@ -656,47 +781,13 @@ public final class Replica {
 
         // currently for simplicity, we'll always download the snapshot files and restore from
         // the snapshots as kv files won't exist in our current implementation for
-        // when replica become follower, we'll always delete the kv files.
+        // when replica become follower, we'll always delete the kv files, unless the follower
+        // keeps a hot-standby kv tablet which is promoted instead, see promoteStandbyKv().
 
-        // get the offset from which, we should restore from. default is 0
-        long restoreStartOffset = 0;
         Optional<CompletedSnapshot> optCompletedSnapshot = getLatestSnapshot(tableBucket);
         try {
-            if (optCompletedSnapshot.isPresent()) {
-                LOG.info(
-                        "Use snapshot {} to restore kv tablet for {} of table {}.",
-                        optCompletedSnapshot.get(),
-                        tableBucket,
-                        physicalPath);
-                CompletedSnapshot completedSnapshot = optCompletedSnapshot.get();
-                // always create a new dir for the kv tablet
-                File tabletDir = kvManager.createTabletDir(physicalPath, tableBucket);
-                // down the snapshot to target tablet dir
-                downloadKvSnapshots(completedSnapshot, tabletDir.toPath());
-
-                // as we have downloaded kv files into the tablet dir, now, we can load it
-                kvTablet = kvManager.loadKv(tabletDir);
-
-                checkNotNull(kvTablet, "kv tablet should not be null.");
-                restoreStartOffset = completedSnapshot.getLogOffset();
-            } else {
-                LOG.info(
-                        "No snapshot found for {} of {}, restore from log.",
-                        tableBucket,
-                        physicalPath);
-                // actually, kv manager always create a kv tablet since we will drop the kv
-                // if it exists before init kv tablet
-                kvTablet =
-                        kvManager.getOrCreateKv(
-                                physicalPath,
-                                tableBucket,
-                                logTablet,
-                                tableConfig.getKvFormat(),
-                                schema,
-                                tableConfig,
-                                arrowCompressionInfo);
-            }
-
+            // get the offset from which, we should restore from
+            long restoreStartOffset = loadKvTablet(optCompletedSnapshot.orElse(null));
             logTablet.updateMinRetainOffset(restoreStartOffset);
             recoverKvTablet(restoreStartOffset);
         } catch (Exception e) {
@@ -715,11 +806,328 @@ public final class Replica {
         return optCompletedSnapshot;
     }
 
+    /**
+     * Loads the kv tablet from the given snapshot, or creates an empty kv tablet if no any
+     * snapshot.
+     *
+     * @return the log offset to restore the kv tablet from, default is 0
+     */
+    private long loadKvTablet(@Nullable CompletedSnapshot completedSnapshot) throws Exception {
+        kvTablet = openKvTablet(completedSnapshot);
+        return completedSnapshot == null ? 0 : completedSnapshot.getLogOffset();
+    }
+
+    private KvTablet openKvTablet(@Nullable CompletedSnapshot completedSnapshot) throws Exception {
+        checkNotNull(kvManager);
+        if (completedSnapshot != null) {
+            LOG.info(
+                    "Use snapshot {} to restore kv tablet for {} of table {}.",
+                    completedSnapshot,
+                    tableBucket,
+                    physicalPath);
+            // always create a new dir for the kv tablet
+            File tabletDir = kvManager.createTabletDir(physicalPath, tableBucket);
+            // down the snapshot to target tablet dir
+            downloadKvSnapshots(completedSnapshot, tabletDir.toPath());
+
+            // as we have downloaded kv files into the tablet dir, now, we can load it
+            return checkNotNull(kvManager.loadKv(tabletDir), "kv tablet should not be null.");
+        } else {
+            LOG.info(
+                    "No snapshot found for {} of {}, restore from log.", tableBucket, physicalPath);
+            // actually, kv manager always create a kv tablet since we will drop the kv
+            // if it exists before init kv tablet
+            return kvManager.getOrCreateKv(
+                    physicalPath,
+                    tableBucket,
+                    logTablet,
+                    tableConfig.getKvFormat(),
+                    schema,
+                    tableConfig,
+                    arrowCompressionInfo);
+        }
+    }
+
+    /**
+     * Builds the hot-standby kv tablet of the follower from the latest snapshot in the async
+     * operations thread pool, as downloading the snapshot can take long and mustn't block the
+     * leaderIsrUpdateLock. The kv tablet is installed by {@link #initStandbyKv} once built, and
+     * the committed log after the snapshot will be applied to it by {@link
+     * #applyToStandbyKv(long)}.
+     */
+    private void buildStandbyKv() {
+        long startTime = clock.milliseconds();
+        LOG.info("Start to build standby kv tablet for {} of table {}.", tableBucket, physicalPath);
+        CompletableFuture<Tuple2<KvTablet, Long>> buildFuture =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                CompletedSnapshot snapshot =
+                                        getLatestSnapshot(tableBucket).orElse(null);
+                                return Tuple2.of(
+                                        openKvTablet(snapshot),
+                                        snapshot == null ? 0L : snapshot.getLogOffset());
+                            } catch (Exception e) {
+                                throw new CompletionException(e);
+                            }
+                        },
+                        snapshotContext.getAsyncOperationsThreadPool());
+        standbyKvBuildFuture = buildFuture;
+        buildFuture.whenComplete(
+                (standbyKv, throwable) ->
+                        inWriteLock(
+                                leaderIsrUpdateLock,
+                                () -> {
+                                    // the building is taken over when becoming leader or dropped
+                                    if (standbyKvBuildFuture == buildFuture) {
+                                        standbyKvBuildFuture = null;
+                                        initStandbyKv(standbyKv, throwable, startTime);
+                                    }
+                                }));
+    }
+
+    /**
+     * Waits for the hot-standby kv tablet being built if any, and inits it. It's only called when
+     * the kv tablet must be settled, i.e., when becoming leader or dropping the kv tablet.
+     */
+    private void awaitStandbyKvBuild() {
+        CompletableFuture<Tuple2<KvTablet, Long>> buildFuture = standbyKvBuildFuture;
+        if (buildFuture == null) {
+            return;
+        }
+        standbyKvBuildFuture = null;
+        long startTime = clock.milliseconds();
+        Tuple2<KvTablet, Long> standbyKv = null;
+        Throwable throwable = null;
+        try {
+            standbyKv = buildFuture.join();
+        } catch (Throwable t) {
+            throwable = t;
+        }
+        initStandbyKv(standbyKv, throwable, startTime);
+    }
+
+    /** Inits the hot-standby kv tablet built by {@link #buildStandbyKv()}. */
+    private void initStandbyKv(
+            @Nullable Tuple2<KvTablet, Long> standbyKv,
+            @Nullable Throwable buildFailure,
+            long startTime) {
+        try {
+            if (buildFailure != null) {
+                throw buildFailure;
+            }
+            kvTablet = checkNotNull(standbyKv).f0;
+            long restoreStartOffset = standbyKv.f1;
+            if (restoreStartOffset < logTablet.localLogStartOffset()) {
+                throw new KvStorageException(
+                        String.format(
+                                "The local log start offset %s is larger than the offset %s "
+                                        + "to restore the kv tablet from.",
+                                logTablet.localLogStartOffset(), restoreStartOffset));
+            }
+            standbyKvRestoreOffset = restoreStartOffset;
+            standbyKvCommittedOffset = restoreStartOffset;
+            standbyKvApplier = createKvRecoverHelper(restoreStartOffset);
+            registerKvStandbyMetrics();
+        } catch (Throwable t) {
+            LOG.warn(
+                    "Fail to init standby kv tablet for {} of table {}, "
+                            + "the kv tablet will be restored from snapshot when becoming leader.",
+                    tableBucket,
+                    physicalPath,
+                    t);
+            // the kv tablet may be created even if the building fails
+            checkNotNull(kvManager).dropKv(tableBucket);
+            dropKv();
+            return;
+        }
+        LOG.info(
+                "Init standby kv tablet for {} of {} finish, cost {} ms.",
+                tableBucket,
+                physicalPath,
+                clock.milliseconds() - startTime);
+    }
+
+    private void registerKvRestoreMetrics() {
+        if (kvRestoreMetricGroup != null) {
+            return;
+        }
+        kvRestoreMetricGroup = bucketMetricGroup.addGroup("kvRestore");
+        kvRestoreMetricGroup.gauge(
+                MetricNames.KV_RESTORE_PENDING_RECORDS,
+                () -> {
+                    KvRecoverHelper helper = restoringKvHelper;
+                    if (kvRestoreEndTimeMs >= 0L) {
+                        return 0L;
+                    }
+                    return helper == null
+                            ? -1L
+                            : Math.max(
+                                    0L,
+                                    logTablet.localLogEndOffset() - helper.getAppliedOffset());
+                });
+        kvRestoreMetricGroup.gauge(
+                MetricNames.KV_RESTORE_RESTORED_OFFSET,
+                () -> {
+                    KvRecoverHelper helper = restoringKvHelper;
+                    return helper == null ? -1L : helper.getAppliedOffset();
+                });
+        kvRestoreMetricGroup.gauge(
+                MetricNames.KV_RESTORE_TIME_MS,
+                () -> {
+                    long startTimeMs = kvRestoreStartTimeMs;
+                    long endTimeMs = kvRestoreEndTimeMs;
+                    if (startTimeMs < 0L) {
+                        return -1L;
+                    }
+                    return (endTimeMs < 0L ? clock.milliseconds() : endTimeMs) - startTimeMs;
+                });
+    }
+
+    /**
+     * Estimates the cost to initialize this replica as the leader, which is the size in bytes of
+     * the local log to apply to restore the kv tablet after the latest kv snapshot known locally.
+     * It's 0 if no kv tablet needs to be restored, i.e., for log tables or when a hot-standby kv
+     * tablet can be promoted.
+     *
+     * <p>The estimation only uses the local metadata, as it runs for every bucket on the request
+     * thread and fetching the latest snapshot from ZooKeeper would cost a round trip per bucket.
+     */
+    public long estimateLeaderInitCost() {
+        if (!isKvTable() || standbyKvApplier != null) {
+            return 0L;
+        }
+        // the min retain offset is the log offset of the latest kv snapshot notified by the
+        // coordinator, or the offset the kv tablet was restored from
+        long restoreStartOffset = logTablet.getMinRetainOffset();
+        long cost = 0L;
+        for (LogSegment segment : logTablet.logSegments(restoreStartOffset, Long.MAX_VALUE)) {
+            cost += segment.getSizeInBytes();
+        }
+        return cost;
+    }
+
+    private void registerKvStandbyMetrics() {
+        kvStandbyMetricGroup = bucketMetricGroup.addGroup("kvStandby");
+        kvStandbyMetricGroup.gauge(
+                MetricNames.KV_STANDBY_PENDING_RECORDS,
+                () -> {
+                    KvRecoverHelper applier = standbyKvApplier;
+                    return applier == null
+                            ? -1L
+                            : Math.max(0L, standbyKvCommittedOffset - applier.getNextApplyOffset());
+                });
+        kvStandbyMetricGroup.gauge(
+                MetricNames.KV_STANDBY_APPLIED_OFFSET,
+                () -> {
+                    KvRecoverHelper applier = standbyKvApplier;
+                    return applier == null ? -1L : applier.getNextApplyOffset();
+                });
+    }
+
+    /**
+     * Applies the log replicated from leader to the hot-standby kv tablet of the follower. Only the
+     * log before the high watermark of the leader is applied, as the log after it may be truncated.
+     * The log is applied incrementally, at most one read of the log in a call, so that the fetcher
+     * thread isn't blocked long to catch up the log after the kv snapshot. If it fails, the
+     * hot-standby kv tablet is dropped and the kv tablet will be restored from snapshot when
+     * becoming leader.
+     *
+     * @param leaderHighWatermark the high watermark of the leader in the fetch log response
+     */
+    public void applyToStandbyKv(long leaderHighWatermark) {
+        if (standbyKvApplier == null) {
+            return;
+        }
+        inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    KvRecoverHelper applier = standbyKvApplier;
+                    if (applier == null || isLeader()) {
+                        return;
+                    }
+                    long committedOffset =
+                            Math.min(leaderHighWatermark, logTablet.localLogEndOffset());
+                    standbyKvCommittedOffset = committedOffset;
+                    try {
+                        applier.applyCommittedLog(committedOffset);
+                    } catch (Exception e) {
+                        LOG.warn(
+                                "Fail to apply log to the standby kv tablet for {} of table {}, "
+                                        + "drop the standby kv tablet.",
+                                tableBucket,
+                                physicalPath,
+                                e);
+                        // the standby kv tablet is only touched by the fetcher thread of the
+                        // bucket when being follower, so it's safe to drop it in read lock
+                        dropKv();
+                    }
+                });
+    }
+
+    private void promoteStandbyKv() {
+        KvRecoverHelper applier = checkNotNull(standbyKvApplier);
+        long startTime = clock.milliseconds();
+        LOG.info(
+                "Start to promote standby kv tablet for {} of table {} from log offset {}.",
+                tableBucket,
+                physicalPath,
+                applier.getNextApplyOffset());
+        standbyKvApplier = null;
+        if (kvStandbyMetricGroup != null) {
+            kvStandbyMetricGroup.close();
+            kvStandbyMetricGroup = null;
+        }
+        try {
+            closeableRegistryForKv = new CloseableRegistry();
+            closeableRegistry.registerCloseable(closeableRegistryForKv);
+            logTablet.updateMinRetainOffset(standbyKvRestoreOffset);
+            recoverKvTablet(applier.getNextApplyOffset());
+        } catch (Exception e) {
+            LOG.warn(
+                    "Fail to promote standby kv tablet for {} of table {}, "
+                            + "restore the kv tablet from snapshot.",
+                    tableBucket,
+                    physicalPath,
+                    e);
+            dropKv();
+            createKv();
+            return;
+        }
+        LOG.info(
+                "Promote standby kv tablet for {} of {} finish, cost {} ms.",
+                tableBucket,
+                physicalPath,
+                clock.milliseconds() - startTime);
+        // the sst files of the standby kv tablet are not the ones of the latest snapshot, so
+        // don't reuse the uploaded sst files of the snapshot
+        startPeriodicKvSnapshot(null);
+    }
+
     private void downloadKvSnapshots(CompletedSnapshot completedSnapshot, Path kvTabletDir)
             throws IOException {
         Path kvDbPath = kvTabletDir.resolve(RocksDBKvBuilder.DB_INSTANCE_DIR_STRING);
+        KvSnapshotHandle kvSnapshotHandle = completedSnapshot.getKvSnapshotHandle();
+        List<KvFileHandleAndLocalPath> sharedFileHandles =
+                kvSnapshotHandle.getSharedKvFileHandles();
+        if (kvSnapshotLocalCache != null) {
+            // reuse the sst files in the local cache, only download the missing files
+            List<KvFileHandleAndLocalPath> missingSharedFileHandles =
+                    kvSnapshotLocalCache.linkTo(kvDbPath, sharedFileHandles);
+            LOG.info(
+                    "Reuse {} of {} sst files of kv snapshot {} from local cache {}.",
+                    sharedFileHandles.size() - missingSharedFileHandles.size(),
+                    sharedFileHandles.size(),
+                    completedSnapshot,
+                    kvSnapshotLocalCache.getCacheDir());
+            kvSnapshotHandle =
+                    new KvSnapshotHandle(
+                            missingSharedFileHandles,
+                            kvSnapshotHandle.getPrivateFileHandles(),
+                            kvSnapshotHandle.getIncrementalSize());
+        }
         KvSnapshotDownloadSpec downloadSpec =
-                new KvSnapshotDownloadSpec(completedSnapshot.getKvSnapshotHandle(), kvDbPath);
+                new KvSnapshotDownloadSpec(kvSnapshotHandle, kvDbPath);
         long start = clock.milliseconds();
         LOG.info("Start to download kv snapshot {} to directory {}.", completedSnapshot, kvDbPath);
         KvSnapshotDataDownloader kvSnapshotDataDownloader =
@@ -736,6 +1144,11 @@ public final class Replica {
             }
             throw new IOException("Fail to download kv snapshot.", e);
         }
+        if (kvSnapshotLocalCache != null) {
+            // now the local cache only needs to keep the sst files of the downloaded snapshot
+            kvSnapshotLocalCache.retain(sharedFileHandles);
+            kvSnapshotLocalCache.add(kvDbPath, sharedFileHandles);
+        }
         long end = clock.milliseconds();
         LOG.info(
                 "Download kv snapshot {} to directory {} finish, cost {} ms.",
@@ -762,20 +1175,9 @@ public final class Replica {
         long start = clock.milliseconds();
         checkNotNull(kvTablet, "kv tablet should not be null.");
         try {
-            KvRecoverHelper.KvRecoverContext recoverContext =
-                    new KvRecoverHelper.KvRecoverContext(
-                            getTablePath(),
-                            tableBucket,
-                            snapshotContext.getZooKeeperClient(),
-                            snapshotContext.maxFetchLogSizeInRecoverKv());
-            KvRecoverHelper kvRecoverHelper =
-                    new KvRecoverHelper(
-                            kvTablet,
-                            logTablet,
-                            startRecoverLogOffset,
-                            recoverContext,
-                            tableConfig.getKvFormat());
-            kvRecoverHelper.recover();
+            KvRecoverHelper recoverHelper = createKvRecoverHelper(startRecoverLogOffset);
+            restoringKvHelper = recoverHelper;
+            recoverHelper.recover();
         } catch (Exception e) {
             throw new KvStorageException(
                     String.format(
@@ -792,6 +1194,23 @@ public final class Replica {
                 end - start);
     }
 
+    private KvRecoverHelper createKvRecoverHelper(long startRecoverLogOffset) {
+        KvRecoverHelper.KvRecoverContext recoverContext =
+                new KvRecoverHelper.KvRecoverContext(
+                        getTablePath(),
+                        tableBucket,
+                        snapshotContext.getZooKeeperClient(),
+                        snapshotContext.maxFetchLogSizeInRecoverKv(),
+                        snapshotContext.getKvRecoverBulkLoadThreadPool(),
+                        snapshotContext.getKvRecoverBulkLoadBufferSize());
+        return new KvRecoverHelper(
+                checkNotNull(kvTablet),
+                logTablet,
+                startRecoverLogOffset,
+                recoverContext,
+                tableConfig.getKvFormat());
+    }
+
     private void startPeriodicKvSnapshot(@Nullable CompletedSnapshot completedSnapshot) {
         checkNotNull(kvTablet);
         KvTabletSnapshotTarget kvTabletSnapshotTarget;
@@ -819,7 +1238,8 @@ public final class Replica {
                     kvTablet.createIncrementalSnapshot(
                             uploadedSstFiles,
                             snapshotContext.getSnapshotDataUploader(),
-                            lastCompletedSnapshotId);
+                            lastCompletedSnapshotId,
+                            kvSnapshotLocalCache);
 
             // create snapshot ID counter
             SequenceIDCounter snapshotIDCounter =
@@ -984,11 +1404,26 @@ public final class Replica {
                     leaderIsrUpdateLock,
                     () -> {
                         LogTablet localLog = localLogOrThrow(fetchParams.fetchOnlyLeader());
-                        return readRecords(fetchParams, localLog);
+                        if (isLeader()) {
+                            return readRecords(fetchParams, localLog);
+                        } else {
+                            return readRecordsAsFollower(fetchParams, localLog);
+                        }
                     });
         }
     }
 
+    /**
+     * Updates the high watermark of the leader received by the follower replica and completes the
+     * delayed client fetches served by the follower replica.
+     */
+    public void updateLeaderHighWatermark(long highWatermark) {
+        if (leaderHighWatermark != highWatermark) {
+            leaderHighWatermark = highWatermark;
+            delayedFetchLogManager.checkAndComplete(new DelayedTableBucketKey(tableBucket));
+        }
+    }
+
     /**
      * Check and maybe increment the high watermark of the replica (leader). this function can be
      * triggered when:
@@ -1149,10 +1584,19 @@ public final class Replica {
     }
 
     public List<byte[]> lookups(List<byte[]> keys) {
+        return lookups(keys, null);
+    }
+
+    /**
+     * Lookups the values of the given keys, the values are projected to the given fields if the
+     * projection isn't null.
+     */
+    public List<byte[]> lookups(List<byte[]> keys, @Nullable int[] projectedFields) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
                     "the primary key table not exists for " + tableBucket);
         }
+        checkLookupProjection(projectedFields);
         return inReadLock(
                 leaderIsrUpdateLock,
                 () -> {
@@ -1165,7 +1609,7 @@ public final class Replica {
                         }
                         checkNotNull(
                                 kvTablet, "KvTablet for the replica to get key shouldn't be null.");
-                        return kvTablet.multiGet(keys);
+                        return kvTablet.multiGet(keys, projectedFields);
                     } catch (IOException e) {
                         String errorMsg =
                                 String.format(
@@ -1178,10 +1622,19 @@ public final class Replica {
     }
 
     public List<byte[]> prefixLookup(byte[] prefixKey) {
+        return prefixLookup(prefixKey, null);
+    }
+
+    /**
+     * Lookups the values of the given prefix key, the values are projected to the given fields if
+     * the projection isn't null.
+     */
+    public List<byte[]> prefixLookup(byte[] prefixKey, @Nullable int[] projectedFields) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
                     "Try to do prefix lookup on a non primary key table: " + getTablePath());
         }
+        checkLookupProjection(projectedFields);
 
         return inReadLock(
                 leaderIsrUpdateLock,
@@ -1195,7 +1648,7 @@ public final class Replica {
                         }
                         checkNotNull(
                                 kvTablet, "KvTablet for the replica to get key shouldn't be null.");
-                        return kvTablet.prefixLookup(prefixKey);
+                        return kvTablet.prefixLookup(prefixKey, projectedFields);
                     } catch (IOException e) {
                         String errorMsg =
                                 String.format(
@@ -1207,6 +1660,27 @@ public final class Replica {
                 });
     }
 
+    /**
+     * Checks the projection of the lookup values. Different from the projection of log fetch, the
+     * projected fields can be in any order, as the values are re-encoded in the projected order.
+     */
+    private void checkLookupProjection(@Nullable int[] projectedFields) {
+        if (projectedFields == null) {
+            return;
+        }
+        int fieldCount = schema.getColumns().size();
+        for (int i : projectedFields) {
+            if (i < 0 || i >= fieldCount) {
+                throw new InvalidColumnProjectionException(
+                        "Projected fields "
+                                + Arrays.toString(projectedFields)
+                                + " is out of bound for schema with "
+                                + fieldCount
+                                + " fields.");
+            }
+        }
+    }
+
     public DefaultValueRecordBatch limitKvScan(int limit) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
@@ -1243,6 +1717,67 @@ public final class Replica {
                 });
     }
 
+    /**
+     * Opens a {@link KvScanner} on the kv tablet of the leader replica to scan all the rows of the
+     * bucket in pages.
+     */
+    public KvScanner openKvScanner(@Nullable int[] projectedFields) {
+        if (!isKvTable()) {
+            throw new NonPrimaryKeyTableException(
+                    "the primary key table not exists for " + tableBucket);
+        }
+
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    try {
+                        if (!isLeader()) {
+                            throw new NotLeaderOrFollowerException(
+                                    String.format(
+                                            "Leader not local for bucket %s on tabletServer %d",
+                                            tableBucket, localTabletServerId));
+                        }
+                        checkNotNull(
+                                kvTablet, "KvTablet for the replica to scan shouldn't be null.");
+                        return kvTablet.openScanner(getSchemaId(), projectedFields);
+                    } catch (IOException e) {
+                        String errorMsg =
+                                String.format(
+                                        "Failed to open kv scanner for table bucket %s, the cause is: %s",
+                                        tableBucket, e.getMessage());
+                        LOG.error(errorMsg, e);
+                        throw new KvStorageException(errorMsg, e);
+                    }
+                });
+    }
+
+    /** Reads the next page of the given {@link KvScanner} opened on this replica. */
+    public MemoryLogRecords scanKv(KvScanner scanner, int maxBytes) {
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    if (!isLeader()) {
+                        throw new NotLeaderOrFollowerException(
+                                String.format(
+                                        "Leader not local for bucket %s on tabletServer %d",
+                                        tableBucket, localTabletServerId));
+                    }
+                    checkNotNull(kvTablet, "KvTablet for the replica to scan shouldn't be null.");
+                    try {
+                        return kvTablet.scan(scanner, maxBytes);
+                    } catch (ApiException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        String errorMsg =
+                                String.format(
+                                        "Failed to scan from local kv for table bucket %s, the cause is: %s",
+                                        tableBucket, e.getMessage());
+                        LOG.error(errorMsg, e);
+                        throw new KvStorageException(errorMsg, e);
+                    }
+                });
+    }
+
     public LogRecords limitLogScan(int limit) {
         return inReadLock(
                 leaderIsrUpdateLock,
@@ -1389,14 +1924,40 @@ public final class Replica {
      * @param offset offset to be used for truncation.
      */
     public void truncateTo(long offset) throws LogStorageException {
-        inReadLock(leaderIsrUpdateLock, () -> logManager.truncateTo(tableBucket, offset));
+        inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    KvRecoverHelper applier = standbyKvApplier;
+                    if (applier != null && applier.getNextApplyOffset() > offset) {
+                        // should never happen as only the committed log is applied
+                        LOG.warn(
+                                "Drop the standby kv tablet for {} as the log is truncated to {} "
+                                        + "which is before the applied offset {}.",
+                                tableBucket,
+                                offset,
+                                applier.getNextApplyOffset());
+                        dropKv();
+                    }
+                    logManager.truncateTo(tableBucket, offset);
+                });
     }
 
     /** Delete all data in the local log of this bucket and start the log at the new offset. */
     public void truncateFullyAndStartAt(long newOffset) {
         inReadLock(
                 leaderIsrUpdateLock,
-                () -> logManager.truncateFullyAndStartAt(tableBucket, newOffset));
+                () -> {
+                    if (standbyKvApplier != null) {
+                        // there will be a gap between the applied log and the new log
+                        LOG.info(
+                                "Drop the standby kv tablet for {} as the log is truncated fully "
+                                        + "and starts at {}.",
+                                tableBucket,
+                                newOffset);
+                        dropKv();
+                    }
+                    logManager.truncateFullyAndStartAt(tableBucket, newOffset);
+                });
     }
 
     private LogReadInfo readRecords(FetchParams fetchParams, LogTablet logTablet)
@@ -1405,23 +1966,46 @@ public final class Replica {
         // the fetch do not prevent a follower from coming into sync.
         long initialHighWatermark = logTablet.getHighWatermark();
         long initialLogEndOffset = logTablet.localLogEndOffset();
-        long readOffset =
-                fetchParams.fetchOffset() == FetchParams.FETCH_FROM_EARLIEST_OFFSET
-                        ? logTablet.logStartOffset()
-                        : fetchParams.fetchOffset();
 
         // todo validate fetched epoch.
 
         FetchDataInfo fetchDataInfo =
                 logTablet.read(
-                        readOffset,
+                        readOffset(fetchParams, logTablet),
                         fetchParams.maxFetchBytes(),
                         fetchParams.isolation(),
                         fetchParams.minOneMessage(),
-                        fetchParams.projection());
+                        fetchParams.projection(),
+                        fetchParams.filter());
         return new LogReadInfo(fetchDataInfo, initialHighWatermark, initialLogEndOffset);
     }
 
+    /**
+     * Reads the records for a client fetch served by the follower replica. The records are read up
+     * to the high watermark of the leader, as the high watermark of a follower is its log end
+     * offset which may contain the records not committed yet.
+     */
+    private LogReadInfo readRecordsAsFollower(FetchParams fetchParams, LogTablet logTablet)
+            throws IOException {
+        long highWatermark = Math.min(leaderHighWatermark, logTablet.getHighWatermark());
+        long initialLogEndOffset = logTablet.localLogEndOffset();
+        FetchDataInfo fetchDataInfo =
+                logTablet.readUpTo(
+                        readOffset(fetchParams, logTablet),
+                        fetchParams.maxFetchBytes(),
+                        highWatermark,
+                        fetchParams.minOneMessage(),
+                        fetchParams.projection(),
+                        fetchParams.filter());
+        return new LogReadInfo(fetchDataInfo, highWatermark, initialLogEndOffset);
+    }
+
+    private static long readOffset(FetchParams fetchParams, LogTablet logTablet) {
+        return fetchParams.fetchOffset() == FetchParams.FETCH_FROM_EARLIEST_OFFSET
+                ? logTablet.logStartOffset()
+                : fetchParams.fetchOffset();
+    }
+
     private void tryCompleteDelayedOperations() {
         DelayedTableBucketKey delayedTableBucketKey = new DelayedTableBucketKey(tableBucket);
         delayedWriteManager.checkAndComplete(delayedTableBucketKey);
@@ -1933,7 +2517,6 @@ public final class Replica {
         return bucketEpoch;
     }
 
-    @VisibleForTesting
     public List<Integer> getIsr() {
         return isrState.isr();
     }
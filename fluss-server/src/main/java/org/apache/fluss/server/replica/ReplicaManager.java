@@ -18,6 +18,7 @@
 package org.apache.fluss.server.replica;
 
 import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.cluster.TabletServerInfo;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.FencedLeaderEpochException;
@@ -35,6 +36,7 @@ import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.groups.MetricGroup;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
@@ -47,6 +49,7 @@ import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.entity.PrefixLookupResultForBucket;
 import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.entity.PutKvResultForBucket;
+import org.apache.fluss.rpc.entity.ScanKvResultForBucket;
 import org.apache.fluss.rpc.entity.WriteResultForBucket;
 import org.apache.fluss.rpc.gateway.CoordinatorGateway;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
@@ -66,11 +69,14 @@ import org.apache.fluss.server.entity.StopReplicaData;
 import org.apache.fluss.server.entity.StopReplicaResultForBucket;
 import org.apache.fluss.server.kv.KvManager;
 import org.apache.fluss.server.kv.KvSnapshotResource;
+import org.apache.fluss.server.kv.scan.KvScanner;
+import org.apache.fluss.server.kv.scan.KvScannerManager;
 import org.apache.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import org.apache.fluss.server.kv.snapshot.DefaultSnapshotContext;
 import org.apache.fluss.server.kv.snapshot.SnapshotContext;
 import org.apache.fluss.server.log.FetchDataInfo;
 import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.log.FetchSessionCache;
 import org.apache.fluss.server.log.ListOffsetsParam;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogManager;
@@ -98,6 +104,7 @@ import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.MapUtils;
 import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 import org.apache.fluss.utils.concurrent.Scheduler;
 
 import org.slf4j.Logger;
@@ -112,18 +119,24 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPredicate;
 import static org.apache.fluss.server.TabletManagerBase.getTableInfo;
 import static org.apache.fluss.utils.FileUtils.isDirectoryEmpty;
 import static org.apache.fluss.utils.Preconditions.checkState;
@@ -162,6 +175,12 @@ public class ReplicaManager {
      */
     private final DelayedOperationManager<DelayedFetchLog> delayedFetchLogManager;
 
+    /** The incremental fetch sessions of the fetch log requests to this server. */
+    private final FetchSessionCache fetchSessionCache;
+
+    /** The kv scanners opened by the scan kv requests to this server. */
+    private final KvScannerManager kvScannerManager;
+
     private final ReplicaFetcherManager replicaFetcherManager;
     // The manager used to manager the replica alter, especially the isr expand and shrink.
     private final AdjustIsrManager adjustIsrManager;
@@ -178,6 +197,10 @@ public class ReplicaManager {
     // remote log manager for remote log storage.
     private final RemoteLogManager remoteLogManager;
 
+    // thread pool to initialize the buckets becoming leader in parallel
+    private final ExecutorService leaderInitThreadPool;
+    private final AtomicInteger pendingLeaderInitBuckets = new AtomicInteger(0);
+
     // for metrics
     private final TabletServerMetricGroup serverMetricGroup;
     private final String internalListenerName;
@@ -256,6 +279,16 @@ public class ReplicaManager {
                         "delay fetch log",
                         serverId,
                         conf.getInt(ConfigOptions.LOG_REPLICA_FETCH_OPERATION_PURGE_NUMBER));
+        this.fetchSessionCache =
+                new FetchSessionCache(
+                        conf.getInt(ConfigOptions.LOG_FETCH_SESSION_MAX_NUMBER),
+                        conf.get(ConfigOptions.LOG_FETCH_SESSION_IDLE_TIMEOUT).toMillis(),
+                        clock);
+        this.kvScannerManager =
+                new KvScannerManager(
+                        conf.getInt(ConfigOptions.KV_SCANNER_MAX_NUMBER),
+                        conf.get(ConfigOptions.KV_SCANNER_LEASE_TIMEOUT).toMillis(),
+                        clock);
         this.internalListenerName = conf.get(ConfigOptions.INTERNAL_LISTENER_NAME);
 
         this.replicaFetcherManager =
@@ -274,6 +307,10 @@ public class ReplicaManager {
                 DefaultSnapshotContext.create(
                         zkClient, completedKvSnapshotCommitter, kvSnapshotResource, conf);
         this.remoteLogManager = remoteLogManager;
+        this.leaderInitThreadPool =
+                Executors.newFixedThreadPool(
+                        conf.getInt(ConfigOptions.KV_RECOVER_THREAD_NUM),
+                        new ExecutorThreadFactory("fluss-leader-init-" + serverId));
         this.serverMetricGroup = serverMetricGroup;
         this.clock = clock;
         registerMetrics();
@@ -288,12 +325,22 @@ public class ReplicaManager {
                 this::maybeShrinkIsr,
                 0L,
                 conf.get(ConfigOptions.LOG_REPLICA_MAX_LAG_TIME).toMillis() / 2);
+        // close the kv scanners abandoned by the clients to release the rocksdb snapshots
+        scheduler.schedule(
+                "kv-scanner-expiration",
+                kvScannerManager::expireScanners,
+                0L,
+                conf.get(ConfigOptions.KV_SCANNER_LEASE_TIMEOUT).toMillis() / 2);
     }
 
     public RemoteLogManager getRemoteLogManager() {
         return remoteLogManager;
     }
 
+    public KvManager getKvManager() {
+        return kvManager;
+    }
+
     private void registerMetrics() {
         serverMetricGroup.gauge(
                 MetricNames.REPLICA_LEADER_COUNT,
@@ -303,6 +350,8 @@ public class ReplicaManager {
         serverMetricGroup.gauge(MetricNames.DELAYED_WRITE_COUNT, delayedWriteManager::numDelayed);
         serverMetricGroup.gauge(
                 MetricNames.DELAYED_FETCH_COUNT, delayedFetchLogManager::numDelayed);
+        serverMetricGroup.gauge(
+                MetricNames.PENDING_LEADER_INIT_BUCKETS, pendingLeaderInitBuckets::get);
 
         serverMetricGroup.gauge(MetricNames.UNDER_REPLICATED, this::underReplicatedCount);
         serverMetricGroup.gauge(MetricNames.UNDER_MIN_ISR, this::underMinIsrCount);
@@ -380,12 +429,18 @@ public class ReplicaManager {
     /**
      * Receive a request to make these replicas to become leader or follower, if the replica doesn't
      * exit, we will create it.
+     *
+     * <p>The response callback is invoked once all the replicas becoming leader are initialized,
+     * which may happen asynchronously in the leader init threads if the kv tablets need to be
+     * restored.
      */
     public void becomeLeaderOrFollower(
             int requestCoordinatorEpoch,
             List<NotifyLeaderAndIsrData> notifyLeaderAndIsrDataList,
             Consumer<List<NotifyLeaderAndIsrResultForBucket>> responseCallback) {
-        Map<TableBucket, NotifyLeaderAndIsrResultForBucket> result = new HashMap<>();
+        Map<TableBucket, NotifyLeaderAndIsrResultForBucket> result =
+                MapUtils.newConcurrentHashMap();
+        List<CompletableFuture<Void>> leaderInitFutures = new ArrayList<>();
         inLock(
                 replicaStateChangeLock,
                 () -> {
@@ -411,7 +466,7 @@ public class ReplicaManager {
                         }
                     }
 
-                    makeLeaders(replicasToBeLeader, result);
+                    leaderInitFutures.addAll(makeLeaders(replicasToBeLeader, result));
                     makeFollowers(replicasToBeFollower, result);
 
                     // We initialize highWatermark thread after the first LeaderAndIsr request. This
@@ -421,7 +476,12 @@ public class ReplicaManager {
                     replicaFetcherManager.shutdownIdleFetcherThreads();
                 });
 
-        responseCallback.accept(new ArrayList<>(result.values()));
+        // don't block the request thread on the leader initialization, which may take a long time
+        // to restore the kv tablets
+        CompletableFuture.allOf(leaderInitFutures.toArray(new CompletableFuture[0]))
+                .whenComplete(
+                        (ignored, throwable) ->
+                                responseCallback.accept(new ArrayList<>(result.values())));
     }
 
     public void maybeUpdateMetadataCache(int coordinatorEpoch, ClusterMetadata clusterMetadata) {
@@ -515,6 +575,7 @@ public class ReplicaManager {
     protected void lookup(TableBucket tableBucket, byte[] key, Consumer<byte[]> responseCallback) {
         lookups(
                 Collections.singletonMap(tableBucket, Collections.singletonList(key)),
+                null,
                 multiLookupResponseCallBack -> {
                     LookupResultForBucket result = multiLookupResponseCallBack.get(tableBucket);
                     List<byte[]> values = result.lookupValues();
@@ -527,9 +588,13 @@ public class ReplicaManager {
                 });
     }
 
-    /** Lookup with multi key from leader replica of the buckets. */
+    /**
+     * Lookup with multi key from leader replica of the buckets, the values are projected to the
+     * given fields if the projection isn't null.
+     */
     public void lookups(
             Map<TableBucket, List<byte[]>> entriesPerBucket,
+            @Nullable int[] projectedFields,
             Consumer<Map<TableBucket, LookupResultForBucket>> responseCallback) {
         Map<TableBucket, LookupResultForBucket> lookupResultForBucketMap = new HashMap<>();
         long startTime = System.currentTimeMillis();
@@ -541,7 +606,9 @@ public class ReplicaManager {
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalLookupRequests().inc();
                 lookupResultForBucketMap.put(
-                        tb, new LookupResultForBucket(tb, replica.lookups(entry.getValue())));
+                        tb,
+                        new LookupResultForBucket(
+                                tb, replica.lookups(entry.getValue(), projectedFields)));
             } catch (Exception e) {
                 if (isUnexpectedException(e)) {
                     LOG.error("Error lookup from local kv on replica {}", tb, e);
@@ -560,9 +627,13 @@ public class ReplicaManager {
         responseCallback.accept(lookupResultForBucketMap);
     }
 
-    /** Lookup multi prefixKeys by prefix scan on kv store. */
+    /**
+     * Lookup multi prefixKeys by prefix scan on kv store, the values are projected to the given
+     * fields if the projection isn't null.
+     */
     public void prefixLookups(
             Map<TableBucket, List<byte[]>> entriesPerBucket,
+            @Nullable int[] projectedFields,
             Consumer<Map<TableBucket, PrefixLookupResultForBucket>> responseCallback) {
         TableMetricGroup tableMetrics = null;
         Map<TableBucket, PrefixLookupResultForBucket> result = new HashMap<>();
@@ -574,7 +645,7 @@ public class ReplicaManager {
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalPrefixLookupRequests().inc();
                 for (byte[] prefixKey : entry.getValue()) {
-                    List<byte[]> resultForPerKey = replica.prefixLookup(prefixKey);
+                    List<byte[]> resultForPerKey = replica.prefixLookup(prefixKey, projectedFields);
                     resultForBucket.add(resultForPerKey);
                 }
                 result.put(tb, new PrefixLookupResultForBucket(tb, resultForBucket));
@@ -777,35 +848,90 @@ public class ReplicaManager {
      *     1. Stop fetchers for these replicas
      *     2. Make these replicas to the leader
      * </pre>
+     *
+     * <p>The replicas are made to the leader in parallel by the threads configured by {@link
+     * ConfigOptions#KV_RECOVER_THREAD_NUM}, the replicas with the smallest cost to restore the kv
+     * tablet are made to the leader first, so that as many buckets as possible become available
+     * as soon as possible instead of waiting behind a long restore.
+     *
+     * @return the futures completed once the replicas are made to the leader, the results of the
+     *     replicas are put into the given result map before the futures are completed.
      */
-    private void makeLeaders(
+    private List<CompletableFuture<Void>> makeLeaders(
             List<NotifyLeaderAndIsrData> replicasToBeLeader,
             Map<TableBucket, NotifyLeaderAndIsrResultForBucket> result) {
         if (replicasToBeLeader.isEmpty()) {
-            return;
+            return Collections.emptyList();
         }
         replicaFetcherManager.removeFetcherForBuckets(
                 replicasToBeLeader.stream()
                         .map(NotifyLeaderAndIsrData::getTableBucket)
                         .collect(Collectors.toSet()));
 
+        List<LeaderInit> leaderInits = new ArrayList<>();
         for (NotifyLeaderAndIsrData data : replicasToBeLeader) {
             TableBucket tb = data.getTableBucket();
             try {
                 Replica replica = getReplicaOrException(tb);
-                replica.makeLeader(data);
-                if (replica.isDataLakeEnabled()) {
-                    updateWithLakeTableSnapshot(replica);
-                }
-                // start the remote log tiering tasks for leaders
-                remoteLogManager.startLogTiering(replica);
-                result.put(tb, new NotifyLeaderAndIsrResultForBucket(tb));
+                long cost = replicasToBeLeader.size() > 1 ? replica.estimateLeaderInitCost() : 0L;
+                leaderInits.add(new LeaderInit(data, replica, cost));
             } catch (Exception e) {
                 LOG.error("Error make replica {} to leader", tb, e);
                 result.put(
                         tb, new NotifyLeaderAndIsrResultForBucket(tb, ApiError.fromThrowable(e)));
             }
         }
+
+        // the thread pool executes the tasks in submission order
+        leaderInits.sort(Comparator.comparingLong(leaderInit -> leaderInit.cost));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (LeaderInit leaderInit : leaderInits) {
+            TableBucket tb = leaderInit.data.getTableBucket();
+            pendingLeaderInitBuckets.incrementAndGet();
+            try {
+                futures.add(
+                        CompletableFuture.runAsync(
+                                () -> makeLeader(leaderInit, result), leaderInitThreadPool));
+            } catch (Exception e) {
+                pendingLeaderInitBuckets.decrementAndGet();
+                LOG.error("Error make replica {} to leader", tb, e);
+                result.put(
+                        tb, new NotifyLeaderAndIsrResultForBucket(tb, ApiError.fromThrowable(e)));
+            }
+        }
+        return futures;
+    }
+
+    private void makeLeader(
+            LeaderInit leaderInit, Map<TableBucket, NotifyLeaderAndIsrResultForBucket> result) {
+        TableBucket tb = leaderInit.data.getTableBucket();
+        Replica replica = leaderInit.replica;
+        try {
+            replica.makeLeader(leaderInit.data);
+            // hold the state change lock, so that the tasks are not started after a later request
+            // has made the replica to a follower or stopped the replica
+            inLock(
+                    replicaStateChangeLock,
+                    () -> {
+                        HostedReplica hostedReplica = getReplica(tb);
+                        if (!(hostedReplica instanceof OnlineReplica)
+                                || ((OnlineReplica) hostedReplica).getReplica() != replica
+                                || !replica.isLeader()) {
+                            return;
+                        }
+                        if (replica.isDataLakeEnabled()) {
+                            updateWithLakeTableSnapshot(replica);
+                        }
+                        // start the remote log tiering tasks for leaders
+                        remoteLogManager.startLogTiering(replica);
+                    });
+            result.put(tb, new NotifyLeaderAndIsrResultForBucket(tb));
+        } catch (Exception e) {
+            LOG.error("Error make replica {} to leader", tb, e);
+            result.put(tb, new NotifyLeaderAndIsrResultForBucket(tb, ApiError.fromThrowable(e)));
+        } finally {
+            pendingLeaderInitBuckets.decrementAndGet();
+        }
     }
 
     private void updateWithLakeTableSnapshot(Replica replica) throws Exception {
@@ -1046,11 +1172,62 @@ public class ReplicaManager {
         responseCallback.accept(limitScanResultForBucket);
     }
 
+    /**
+     * Scans the next page of the full data of a primary key table bucket. A new kv scanner is
+     * opened if the scanner id is null, and the scanner is closed once all the rows are scanned.
+     */
+    public void scanKv(
+            TableBucket tableBucket,
+            @Nullable Long scannerId,
+            @Nullable int[] projectedFields,
+            int maxBytes,
+            boolean closeScanner,
+            Consumer<ScanKvResultForBucket> responseCallback) {
+        ScanKvResultForBucket result;
+        Long currentScannerId = scannerId;
+        try {
+            if (closeScanner) {
+                if (scannerId != null) {
+                    kvScannerManager.closeScanner(scannerId);
+                }
+                result = new ScanKvResultForBucket(tableBucket, MemoryLogRecords.EMPTY, null);
+            } else {
+                Replica replica = getReplicaOrException(tableBucket);
+                if (currentScannerId == null) {
+                    currentScannerId =
+                            kvScannerManager.openScanner(
+                                    () -> replica.openKvScanner(projectedFields));
+                }
+                KvScanner scanner = kvScannerManager.getScanner(currentScannerId, tableBucket);
+                MemoryLogRecords records = replica.scanKv(scanner, maxBytes);
+                if (scanner.hasNext()) {
+                    result = new ScanKvResultForBucket(tableBucket, records, currentScannerId);
+                } else {
+                    kvScannerManager.closeScanner(currentScannerId);
+                    result = new ScanKvResultForBucket(tableBucket, records, null);
+                }
+            }
+        } catch (Exception e) {
+            if (currentScannerId != null) {
+                // the scan can't be resumed after a failure, the client has to restart the scan
+                kvScannerManager.closeScanner(currentScannerId);
+            }
+            if (isUnexpectedException(e)) {
+                LOG.error("Error scanning kv on replica {}", tableBucket, e);
+            }
+            result = new ScanKvResultForBucket(tableBucket, ApiError.fromThrowable(e));
+        }
+        responseCallback.accept(result);
+    }
+
     public Map<TableBucket, LogReadResult> readFromLog(
             FetchParams fetchParams, Map<TableBucket, FetchReqInfo> bucketFetchInfo) {
         Map<TableBucket, LogReadResult> logReadResult = new HashMap<>();
         boolean isFromFollower = fetchParams.isFromFollower();
         int limitBytes = fetchParams.maxFetchBytes();
+        // the racks of the alive tablet servers, lazily initialized to select the preferred read
+        // replicas for the client fetch with a client rack
+        Map<Integer, String> serverRacks = null;
         for (Map.Entry<TableBucket, FetchReqInfo> entry : bucketFetchInfo.entrySet()) {
             TableBucket tb = entry.getKey();
             TableMetricGroup tableMetrics = null;
@@ -1067,13 +1244,19 @@ public class ReplicaManager {
                         tb,
                         fetchReqInfo.getFetchOffset());
                 replica.checkProjection(fetchReqInfo.getProjectFields());
+                Predicate filter =
+                        fetchReqInfo.getFilter() == null
+                                ? null
+                                : toPredicate(fetchReqInfo.getFilter(), replica.getRowType());
                 fetchParams.setCurrentFetch(
                         tb.getTableId(),
                         fetchOffset,
                         adjustedMaxBytes,
                         replica.getRowType(),
+                        replica.getLogFormat(),
                         replica.getArrowCompressionInfo(),
-                        fetchReqInfo.getProjectFields());
+                        fetchReqInfo.getProjectFields(),
+                        filter);
                 LogReadInfo readInfo = replica.fetchRecords(fetchParams);
 
                 // Once we read from a non-empty bucket, we stop ignoring request and bucket
@@ -1085,11 +1268,23 @@ public class ReplicaManager {
                 }
                 limitBytes = Math.max(0, limitBytes - recordBatchSize);
 
+                Integer preferredReadReplica = null;
+                if (fetchParams.clientRack() != null && replica.isLeader()) {
+                    if (serverRacks == null) {
+                        serverRacks = aliveServerRacks();
+                    }
+                    preferredReadReplica =
+                            selectPreferredReadReplica(
+                                    replica, fetchParams.clientRack(), serverRacks);
+                }
                 logReadResult.put(
                         tb,
                         new LogReadResult(
                                 new FetchLogResultForBucket(
-                                        tb, fetchedData.getRecords(), readInfo.getHighWatermark()),
+                                        tb,
+                                        fetchedData.getRecords(),
+                                        readInfo.getHighWatermark(),
+                                        preferredReadReplica),
                                 fetchedData.getFetchOffsetMetadata()));
 
                 // update metrics
@@ -1122,6 +1317,40 @@ public class ReplicaManager {
         return logReadResult;
     }
 
+    private Map<Integer, String> aliveServerRacks() {
+        Map<Integer, String> serverRacks = new HashMap<>();
+        for (TabletServerInfo serverInfo : metadataCache.getAliveTabletServerInfos()) {
+            if (serverInfo.getRack() != null) {
+                serverRacks.put(serverInfo.getId(), serverInfo.getRack());
+            }
+        }
+        return serverRacks;
+    }
+
+    /**
+     * Selects an in-sync follower in the same rack as the client for the client to fetch from.
+     * Returns null if the leader is in the same rack as the client or there is no such follower. If
+     * there are multiple such followers, the follower is selected by the bucket to spread the
+     * client fetches of different buckets over the followers.
+     */
+    private @Nullable Integer selectPreferredReadReplica(
+            Replica replica, String clientRack, Map<Integer, String> serverRacks) {
+        if (clientRack.equals(serverRacks.get(serverId))) {
+            return null;
+        }
+        List<Integer> candidates = new ArrayList<>();
+        for (int replicaId : replica.getIsr()) {
+            if (replicaId != serverId && clientRack.equals(serverRacks.get(replicaId))) {
+                candidates.add(replicaId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(
+                Math.floorMod(replica.getTableBucket().hashCode(), candidates.size()));
+    }
+
     private FetchLogResultForBucket handleFetchOutOfRangeException(
             Replica replica, long fetchOffset, Exception e) {
         TableBucket tb = replica.getTableBucket();
@@ -1592,6 +1821,15 @@ public class ReplicaManager {
         return delayedFetchLogManager;
     }
 
+    public FetchSessionCache getFetchSessionCache() {
+        return fetchSessionCache;
+    }
+
+    @VisibleForTesting
+    public KvScannerManager getKvScannerManager() {
+        return kvScannerManager;
+    }
+
     @VisibleForTesting
     public AdjustIsrManager getAdjustIsrManager() {
         return adjustIsrManager;
@@ -1632,12 +1870,27 @@ public class ReplicaManager {
     /** This TabletServer hosts the {@link Replica}, but it is in an offline log directory. */
     public static final class OfflineReplica implements HostedReplica {}
 
+    /** The state of making a replica to the leader. */
+    private static final class LeaderInit {
+        private final NotifyLeaderAndIsrData data;
+        private final Replica replica;
+        private final long cost;
+
+        private LeaderInit(NotifyLeaderAndIsrData data, Replica replica, long cost) {
+            this.data = data;
+            this.replica = replica;
+            this.cost = cost;
+        }
+    }
+
     public void shutdown() throws InterruptedException {
+        leaderInitThreadPool.shutdownNow();
         // Close the resources for snapshot kv
         kvSnapshotResource.close();
         replicaFetcherManager.shutdown();
         delayedWriteManager.shutdown();
         delayedFetchLogManager.shutdown();
+        kvScannerManager.shutdown();
 
         // Checkpoint highWatermark.
         checkpointHighWatermarks();
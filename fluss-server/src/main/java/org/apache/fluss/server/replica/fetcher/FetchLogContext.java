@@ -40,4 +40,9 @@ public class FetchLogContext {
     public TablePath getTablePath(long tableId) {
         return tableIdToTablePath.get(tableId);
     }
+
+    /** Returns a context with the same tables to send the given request, e.g., incrementally. */
+    FetchLogContext withFetchLogRequest(FetchLogRequest fetchLogRequest) {
+        return new FetchLogContext(tableIdToTablePath, fetchLogRequest);
+    }
 }
@@ -29,6 +29,7 @@ import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
 import org.apache.fluss.rpc.messages.PbListOffsetsRespForBucket;
 import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.rpc.util.FetchSessionHandler;
 import org.apache.fluss.server.log.ListOffsetsParam;
 
 import java.util.ArrayList;
@@ -54,6 +55,9 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
     private final int minFetchBytes;
     private final int maxFetchWaitMs;
 
+    /** The incremental fetch session with the remote leader. */
+    private final FetchSessionHandler fetchSessionHandler;
+
     RemoteLeaderEndpoint(
             Configuration conf,
             int followerServerId,
@@ -68,6 +72,7 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
         this.maxFetchWaitMs =
                 (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_WAIT_MAX_TIME).toMillis();
         this.tabletServerGateway = tabletServerGateway;
+        this.fetchSessionHandler = new FetchSessionHandler(remoteServerId);
     }
 
     @Override
@@ -95,10 +100,21 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
         FetchLogRequest fetchLogRequest = fetchLogContext.getFetchLogRequest();
         return tabletServerGateway
                 .fetchLog(fetchLogRequest)
+                .whenComplete(
+                        (fetchLogResponse, throwable) -> {
+                            if (throwable != null) {
+                                fetchSessionHandler.handleError();
+                            }
+                        })
                 .thenApply(
                         fetchLogResponse -> {
                             Map<TableBucket, FetchLogResultForBucket> fetchLogResultMap =
                                     new HashMap<>();
+                            if (!fetchSessionHandler.handleResponse(fetchLogResponse)) {
+                                // the fetch session error is not a bucket error, the next
+                                // request will be a full fetch request.
+                                return new FetchData(fetchLogResponse, fetchLogResultMap);
+                            }
                             List<PbFetchLogRespForTable> tablesRespList =
                                     fetchLogResponse.getTablesRespsList();
                             for (PbFetchLogRespForTable tableResp : tablesRespList) {
@@ -129,12 +145,16 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
     public Optional<FetchLogContext> buildFetchLogContext(
             Map<TableBucket, BucketFetchStatus> replicas) {
         return buildFetchLogContext(
-                replicas,
-                followerServerId,
-                maxFetchSize,
-                maxFetchSizeForBucket,
-                minFetchBytes,
-                maxFetchWaitMs);
+                        replicas,
+                        followerServerId,
+                        maxFetchSize,
+                        maxFetchSizeForBucket,
+                        minFetchBytes,
+                        maxFetchWaitMs)
+                .map(
+                        context ->
+                                context.withFetchLogRequest(
+                                        fetchSessionHandler.build(context.getFetchLogRequest())));
     }
 
     @Override
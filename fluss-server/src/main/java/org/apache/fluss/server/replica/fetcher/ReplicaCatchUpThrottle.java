@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.fetcher;
+
+import org.apache.fluss.utils.clock.Clock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * The throttle of the bytes per second fetched by the follower replicas which are catching up with
+ * their leaders, e.g., the replicas newly moved to the tablet server. It's shared by all the
+ * fetcher threads of the tablet server, so that the catch-up traffic doesn't starve the replication
+ * of the in-sync replicas.
+ *
+ * <p>The fetched bytes are recorded in windows of one second. Once the bytes of the current window
+ * exceed the quota, the bucket is delayed for the time that the bytes would take at the quota rate.
+ */
+@ThreadSafe
+final class ReplicaCatchUpThrottle {
+
+    private static final long WINDOW_MS = 1000L;
+
+    private final long maxBytesPerSecond;
+    private final Clock clock;
+
+    @GuardedBy("this")
+    private long windowStartMs;
+
+    @GuardedBy("this")
+    private long windowBytes;
+
+    ReplicaCatchUpThrottle(long maxBytesPerSecond, Clock clock) {
+        checkArgument(
+                maxBytesPerSecond > 0,
+                "The max catch-up bytes per second must be positive, but is %s.",
+                maxBytesPerSecond);
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.clock = clock;
+        this.windowStartMs = clock.milliseconds();
+        this.windowBytes = 0L;
+    }
+
+    /** Returns true if the catch-up traffic is unlimited. */
+    boolean isUnlimited() {
+        return maxBytesPerSecond == Long.MAX_VALUE;
+    }
+
+    /**
+     * Records the bytes fetched for a catching up replica.
+     *
+     * @return the time in milliseconds to delay the next fetch of the replica, 0 if the quota isn't
+     *     exceeded.
+     */
+    synchronized long record(long bytes) {
+        if (isUnlimited()) {
+            return 0L;
+        }
+        long now = clock.milliseconds();
+        if (now - windowStartMs >= WINDOW_MS) {
+            windowStartMs = now;
+            windowBytes = 0L;
+        }
+        windowBytes += bytes;
+        if (windowBytes <= maxBytesPerSecond) {
+            return 0L;
+        }
+        long expectedMs = (long) ((double) windowBytes / maxBytesPerSecond * WINDOW_MS);
+        return Math.max(expectedMs - (now - windowStartMs), 0L);
+    }
+}
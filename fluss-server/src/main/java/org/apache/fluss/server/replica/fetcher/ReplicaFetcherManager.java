@@ -26,6 +26,7 @@ import org.apache.fluss.rpc.GatewayClientProxy;
 import org.apache.fluss.rpc.RpcClient;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.server.replica.ReplicaManager;
+import org.apache.fluss.utils.clock.SystemClock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +68,7 @@ public class ReplicaFetcherManager {
     private final ReplicaManager replicaManager;
     private final int numFetchersPerServer;
     private final Function<Integer, Optional<ServerNode>> serverNodeMetadataCache;
+    private final ReplicaCatchUpThrottle catchUpThrottle;
     private final Object lock = new Object();
 
     public ReplicaFetcherManager(
@@ -81,6 +83,11 @@ public class ReplicaFetcherManager {
         this.replicaManager = replicaManager;
         this.numFetchersPerServer = conf.getInt(ConfigOptions.LOG_REPLICA_FETCHER_NUMBER);
         this.serverNodeMetadataCache = serverNodeMetadataCache;
+        this.catchUpThrottle =
+                new ReplicaCatchUpThrottle(
+                        conf.get(ConfigOptions.LOG_REPLICA_FETCH_CATCH_UP_MAX_BYTES_PER_SECOND)
+                                .getBytes(),
+                        SystemClock.getInstance());
     }
 
     public void addFetcherForBuckets(Map<TableBucket, InitialFetchStatus> bucketAndStatus) {
@@ -187,7 +194,8 @@ public class ReplicaFetcherManager {
                 threadName,
                 replicaManager,
                 leaderEndpoint,
-                (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_BACKOFF_INTERVAL).toMillis());
+                (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_BACKOFF_INTERVAL).toMillis(),
+                catchUpThrottle);
     }
 
     @VisibleForTesting
@@ -17,6 +17,7 @@
 
 package org.apache.fluss.server.replica.fetcher;
 
+import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.exception.CorruptRecordException;
 import org.apache.fluss.exception.DuplicateSequenceException;
 import org.apache.fluss.exception.InvalidOffsetException;
@@ -42,6 +43,7 @@ import org.apache.fluss.server.replica.fetcher.LeaderEndpoint.FetchData;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.clock.SystemClock;
 import org.apache.fluss.utils.concurrent.ShutdownableThread;
 import org.apache.fluss.utils.log.FairBucketStatusMap;
 
@@ -101,14 +103,31 @@ final class ReplicaFetcherThread extends ShutdownableThread {
     private final Condition bucketStatusMapCondition = bucketStatusMapLock.newCondition();
 
     private final TabletServerMetricGroup serverMetricGroup;
+    private final ReplicaCatchUpThrottle catchUpThrottle;
 
+    @VisibleForTesting
     public ReplicaFetcherThread(
             String name, ReplicaManager replicaManager, LeaderEndpoint leader, int fetchBackOffMs) {
+        this(
+                name,
+                replicaManager,
+                leader,
+                fetchBackOffMs,
+                new ReplicaCatchUpThrottle(Long.MAX_VALUE, SystemClock.getInstance()));
+    }
+
+    ReplicaFetcherThread(
+            String name,
+            ReplicaManager replicaManager,
+            LeaderEndpoint leader,
+            int fetchBackOffMs,
+            ReplicaCatchUpThrottle catchUpThrottle) {
         super(name, false);
         this.replicaManager = replicaManager;
         this.leader = leader;
         this.fetchBackOffMs = fetchBackOffMs;
         this.serverMetricGroup = replicaManager.getServerMetricGroup();
+        this.catchUpThrottle = catchUpThrottle;
     }
 
     public LeaderEndpoint getLeader() {
@@ -212,7 +231,6 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         }
     }
 
-    // TODO add fetch session to reduce the fetch request byte size.
     private void processFetchLogRequest(FetchLogContext fetchLogContext) {
         Set<TableBucket> bucketsWithError = new HashSet<>();
         FetchData responseData = null;
@@ -297,6 +315,7 @@ final class ReplicaFetcherThread extends ShutdownableThread {
             FetchLogResultForBucket replicaData) {
         try {
             long nextFetchOffset = -1L;
+            long throttleMs = 0L;
             if (replicaData.fetchFromRemote()) {
                 nextFetchOffset = processFetchResultFromRemoteStorage(tableBucket, replicaData);
             } else {
@@ -305,6 +324,12 @@ final class ReplicaFetcherThread extends ShutdownableThread {
                                 tableBucket, currentFetchStatus.fetchOffset(), replicaData);
                 if (logAppendInfo.validBytes() > 0) {
                     nextFetchOffset = logAppendInfo.lastOffset() + 1;
+                    // only throttle the replica which is still catching up with the leader, the
+                    // in-sync replicas are never delayed
+                    if (!catchUpThrottle.isUnlimited()
+                            && replicaData.getHighWatermark() > nextFetchOffset) {
+                        throttleMs = catchUpThrottle.record(logAppendInfo.validBytes());
+                    }
                 }
             }
 
@@ -314,7 +339,7 @@ final class ReplicaFetcherThread extends ShutdownableThread {
                                 currentFetchStatus.tableId(),
                                 currentFetchStatus.tablePath(),
                                 nextFetchOffset,
-                                null);
+                                throttleMs > 0 ? new DelayedItem(throttleMs) : null);
                 fairBucketStatusMap.updateAndMoveToEnd(tableBucket, newFetchStatus);
             }
         } catch (Exception e) {
@@ -554,6 +579,8 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         // consistency guarantee, we should do as KIP-101 do, trace by:
         // https://github.com/apache/fluss/issues/673
         logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        // the client fetches served by the follower are bounded by the high watermark of leader
+        replica.updateLeaderHighWatermark(replicaData.getHighWatermark());
         LOG.trace(
                 "Follower received high watermark {} from the leader for replica {}",
                 replicaData.getHighWatermark(),
@@ -561,6 +588,9 @@ final class ReplicaFetcherThread extends ShutdownableThread {
 
         serverMetricGroup.replicationBytesIn().inc(records.sizeInBytes());
 
+        // apply the committed log to the hot-standby kv tablet if any
+        replica.applyToStandbyKv(replicaData.getHighWatermark());
+
         return logAppendInfo;
     }
 
@@ -56,6 +56,8 @@ import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.UpdateMetadataRequest;
@@ -71,6 +73,7 @@ import org.apache.fluss.server.coordinator.MetadataManager;
 import org.apache.fluss.server.entity.FetchReqInfo;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
 import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.log.FetchSessionCache.FetchContext;
 import org.apache.fluss.server.log.ListOffsetsParam;
 import org.apache.fluss.server.metadata.TabletServerMetadataCache;
 import org.apache.fluss.server.metadata.TabletServerMetadataProvider;
@@ -90,21 +93,31 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import static org.apache.fluss.rpc.util.FetchSessionHandler.FINAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
 import static org.apache.fluss.security.acl.OperationType.READ;
 import static org.apache.fluss.security.acl.OperationType.WRITE;
 import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
+import static org.apache.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS;
 import static org.apache.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE;
+import static org.apache.fluss.server.log.FetchParams.DEFAULT_MIN_FETCH_BYTES;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getFetchLogData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getForgottenBuckets;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getListOffsetsData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getLookupProjectedFields;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyLakeTableOffset;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyLeaderAndIsrRequestData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyRemoteLogOffsetsData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifySnapshotOffsetData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getPausedBuckets;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getPrefixLookupProjectedFields;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getProduceLogData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getPutKvData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getScanKvProjectedFields;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getStopReplicaData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getTargetColumns;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getUpdateMetadataRequestData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeFetchLogErrorResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeFetchLogResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeInitWriterResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeLimitScanResponse;
@@ -114,6 +127,7 @@ import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeNotifyLead
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makePrefixLookupResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeProduceLogResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makePutKvResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeScanKvResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeStopReplicaResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.toLookupData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.toPrefixLookupData;
@@ -157,6 +171,14 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
     @Override
     public void shutdown() {}
 
+    public ReplicaManager getReplicaManager() {
+        return replicaManager;
+    }
+
+    public TabletServerMetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
     @Override
     public CompletableFuture<ProduceLogResponse> produceLog(ProduceLogRequest request) {
         authorizeTable(WRITE, request.getTableId());
@@ -172,7 +194,28 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
 
     @Override
     public CompletableFuture<FetchLogResponse> fetchLog(FetchLogRequest request) {
-        Map<TableBucket, FetchReqInfo> fetchLogData = getFetchLogData(request);
+        FetchContext fetchContext =
+                replicaManager
+                        .getFetchSessionCache()
+                        .newContext(
+                                request.hasSessionId()
+                                        ? request.getSessionId()
+                                        : INVALID_SESSION_ID,
+                                request.hasSessionEpoch() ? request.getSessionEpoch() : FINAL_EPOCH,
+                                getFetchLogData(request),
+                                getForgottenBuckets(request));
+        if (fetchContext.error() != null) {
+            return CompletableFuture.completedFuture(
+                    makeFetchLogErrorResponse(fetchContext.error()));
+        }
+
+        Map<TableBucket, FetchReqInfo> fetchLogData = fetchContext.fetchData();
+        List<TableBucket> pausedBuckets = getPausedBuckets(request);
+        if (!pausedBuckets.isEmpty()) {
+            // the paused buckets are kept in the fetch session, but not fetched in this request
+            fetchLogData = new HashMap<>(fetchLogData);
+            fetchLogData.keySet().removeAll(pausedBuckets);
+        }
         Map<TableBucket, FetchLogResultForBucket> errorResponseMap = new HashMap<>();
         Map<TableBucket, FetchReqInfo> interesting =
                 // TODO: we should also authorize for follower, otherwise, users can mock follower
@@ -182,7 +225,8 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
                                 READ, fetchLogData, errorResponseMap, FetchLogResultForBucket::new)
                         : fetchLogData;
         if (interesting.isEmpty()) {
-            return CompletableFuture.completedFuture(makeFetchLogResponse(errorResponseMap));
+            return CompletableFuture.completedFuture(
+                    setSessionId(makeFetchLogResponse(errorResponseMap), fetchContext));
         }
 
         CompletableFuture<FetchLogResponse> response = new CompletableFuture<>();
@@ -192,25 +236,41 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
                 interesting,
                 fetchResponseMap ->
                         response.complete(
-                                makeFetchLogResponse(fetchResponseMap, errorResponseMap)));
+                                setSessionId(
+                                        makeFetchLogResponse(
+                                                fetchContext.filterResponse(fetchResponseMap),
+                                                errorResponseMap),
+                                        fetchContext)));
+        return response;
+    }
+
+    private static FetchLogResponse setSessionId(
+            FetchLogResponse response, FetchContext fetchContext) {
+        if (fetchContext.sessionId() != INVALID_SESSION_ID) {
+            response.setSessionId(fetchContext.sessionId());
+        }
         return response;
     }
 
     private static FetchParams getFetchParams(FetchLogRequest request) {
-        FetchParams fetchParams;
+        String clientRack = request.hasClientRack() ? request.getClientRack() : null;
         if (request.hasMinBytes()) {
-            fetchParams =
-                    new FetchParams(
-                            request.getFollowerServerId(),
-                            request.getMaxBytes(),
-                            request.getMinBytes(),
-                            request.hasMaxWaitMs()
-                                    ? request.getMaxWaitMs()
-                                    : DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE);
+            return new FetchParams(
+                    request.getFollowerServerId(),
+                    clientRack,
+                    request.getMaxBytes(),
+                    request.getMinBytes(),
+                    request.hasMaxWaitMs()
+                            ? request.getMaxWaitMs()
+                            : DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE);
         } else {
-            fetchParams = new FetchParams(request.getFollowerServerId(), request.getMaxBytes());
+            return new FetchParams(
+                    request.getFollowerServerId(),
+                    clientRack,
+                    request.getMaxBytes(),
+                    DEFAULT_MIN_FETCH_BYTES,
+                    DEFAULT_MAX_WAIT_MS);
         }
-        return fetchParams;
     }
 
     @Override
@@ -239,10 +299,14 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
             return CompletableFuture.completedFuture(makeLookupResponse(errorResponseMap));
         }
 
+        int[] projectedFields = getLookupProjectedFields(request);
         CompletableFuture<LookupResponse> response = new CompletableFuture<>();
         replicaManager.lookups(
                 lookupData,
-                value -> response.complete(makeLookupResponse(value, errorResponseMap)));
+                projectedFields,
+                value ->
+                        response.complete(
+                                makeLookupResponse(value, errorResponseMap, projectedFields)));
         return response;
     }
 
@@ -257,10 +321,15 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
             return CompletableFuture.completedFuture(makePrefixLookupResponse(errorResponseMap));
         }
 
+        int[] projectedFields = getPrefixLookupProjectedFields(request);
         CompletableFuture<PrefixLookupResponse> response = new CompletableFuture<>();
         replicaManager.prefixLookups(
                 prefixLookupData,
-                value -> response.complete(makePrefixLookupResponse(value, errorResponseMap)));
+                projectedFields,
+                value ->
+                        response.complete(
+                                makePrefixLookupResponse(
+                                        value, errorResponseMap, projectedFields)));
         return response;
     }
 
@@ -279,6 +348,24 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         return response;
     }
 
+    @Override
+    public CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request) {
+        authorizeTable(READ, request.getTableId());
+
+        CompletableFuture<ScanKvResponse> response = new CompletableFuture<>();
+        replicaManager.scanKv(
+                new TableBucket(
+                        request.getTableId(),
+                        request.hasPartitionId() ? request.getPartitionId() : null,
+                        request.getBucketId()),
+                request.hasScannerId() ? request.getScannerId() : null,
+                getScanKvProjectedFields(request),
+                request.getMaxBytes(),
+                request.hasCloseScanner() && request.isCloseScanner(),
+                value -> response.complete(makeScanKvResponse(value)));
+        return response;
+    }
+
     @Override
     public CompletableFuture<NotifyLeaderAndIsrResponse> notifyLeaderAndIsr(
             NotifyLeaderAndIsrRequest notifyLeaderAndIsrRequest) {
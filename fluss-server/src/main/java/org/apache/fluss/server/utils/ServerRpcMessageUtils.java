@@ -50,6 +50,7 @@ import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.entity.PrefixLookupResultForBucket;
 import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.entity.PutKvResultForBucket;
+import org.apache.fluss.rpc.entity.ScanKvResultForBucket;
 import org.apache.fluss.rpc.messages.AdjustIsrRequest;
 import org.apache.fluss.rpc.messages.AdjustIsrResponse;
 import org.apache.fluss.rpc.messages.CommitKvSnapshotRequest;
@@ -107,6 +108,7 @@ import org.apache.fluss.rpc.messages.PbNotifyLeaderAndIsrRespForBucket;
 import org.apache.fluss.rpc.messages.PbPartitionMetadata;
 import org.apache.fluss.rpc.messages.PbPartitionSpec;
 import org.apache.fluss.rpc.messages.PbPhysicalTablePath;
+import org.apache.fluss.rpc.messages.PbPredicate;
 import org.apache.fluss.rpc.messages.PbPrefixLookupReqForBucket;
 import org.apache.fluss.rpc.messages.PbPrefixLookupRespForBucket;
 import org.apache.fluss.rpc.messages.PbProduceLogReqForBucket;
@@ -129,6 +131,8 @@ import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.UpdateMetadataRequest;
@@ -727,6 +731,8 @@ public class ServerRpcMessageUtils {
             } else {
                 projectionFields = null;
             }
+            PbPredicate filter =
+                    fetchLogReqForTable.hasFilter() ? fetchLogReqForTable.getFilter() : null;
 
             List<PbFetchLogReqForBucket> bucketsReqsList = fetchLogReqForTable.getBucketsReqsList();
             for (PbFetchLogReqForBucket fetchLogReqForBucket : bucketsReqsList) {
@@ -742,13 +748,40 @@ public class ServerRpcMessageUtils {
                                 tableId,
                                 fetchLogReqForBucket.getFetchOffset(),
                                 fetchLogReqForBucket.getMaxFetchBytes(),
-                                projectionFields));
+                                projectionFields,
+                                filter));
             }
         }
 
         return fetchDataMap;
     }
 
+    public static List<TableBucket> getForgottenBuckets(FetchLogRequest request) {
+        return toTableBuckets(request.getForgottenBucketsList());
+    }
+
+    public static List<TableBucket> getPausedBuckets(FetchLogRequest request) {
+        return toTableBuckets(request.getPausedBucketsList());
+    }
+
+    private static List<TableBucket> toTableBuckets(List<PbTableBucket> pbTableBuckets) {
+        List<TableBucket> tableBuckets = new ArrayList<>();
+        for (PbTableBucket pbTableBucket : pbTableBuckets) {
+            tableBuckets.add(
+                    new TableBucket(
+                            pbTableBucket.getTableId(),
+                            pbTableBucket.hasPartitionId() ? pbTableBucket.getPartitionId() : null,
+                            pbTableBucket.getBucketId()));
+        }
+        return tableBuckets;
+    }
+
+    public static FetchLogResponse makeFetchLogErrorResponse(ApiError error) {
+        return new FetchLogResponse()
+                .setErrorCode(error.error().code())
+                .setErrorMessage(error.messageWithFallback());
+    }
+
     public static FetchLogResponse makeFetchLogResponse(
             Map<TableBucket, FetchLogResultForBucket> fetchLogResult,
             Map<TableBucket, FetchLogResultForBucket> fetchLogErrors) {
@@ -774,6 +807,10 @@ public class ServerRpcMessageUtils {
                         .setHighWatermark(bucketResult.getHighWatermark())
                         // TODO: set log start offset here if we support log clean.
                         .setLogStartOffset(0L);
+                if (bucketResult.getPreferredReadReplica() != null) {
+                    fetchLogRespForBucket.setPreferredReadReplica(
+                            bucketResult.getPreferredReadReplica());
+                }
 
                 if (bucketResult.fetchFromRemote()) {
                     // set remote log fetch info.
@@ -912,6 +949,20 @@ public class ServerRpcMessageUtils {
         return lookupEntryData;
     }
 
+    @Nullable
+    public static int[] getLookupProjectedFields(LookupRequest lookupRequest) {
+        return lookupRequest.getProjectedFieldsCount() > 0
+                ? lookupRequest.getProjectedFields()
+                : null;
+    }
+
+    @Nullable
+    public static int[] getPrefixLookupProjectedFields(PrefixLookupRequest prefixLookupRequest) {
+        return prefixLookupRequest.getProjectedFieldsCount() > 0
+                ? prefixLookupRequest.getProjectedFields()
+                : null;
+    }
+
     public static @Nullable int[] getTargetColumns(PutKvRequest putKvRequest) {
         int[] targetColumns = putKvRequest.getTargetColumns();
         return targetColumns.length == 0 ? null : targetColumns;
@@ -990,10 +1041,42 @@ public class ServerRpcMessageUtils {
         return limitScanResponse;
     }
 
+    @Nullable
+    public static int[] getScanKvProjectedFields(ScanKvRequest request) {
+        return request.getProjectedFieldsCount() > 0 ? request.getProjectedFields() : null;
+    }
+
+    public static ScanKvResponse makeScanKvResponse(ScanKvResultForBucket bucketResult) {
+        ScanKvResponse scanKvResponse = new ScanKvResponse();
+        if (bucketResult.failed()) {
+            scanKvResponse.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        } else {
+            Long scannerId = bucketResult.getScannerId();
+            if (scannerId != null) {
+                scanKvResponse.setScannerId(scannerId);
+            }
+            MemoryLogRecords records = bucketResult.getRecords();
+            if (records == null || records == MemoryLogRecords.EMPTY) {
+                scanKvResponse.setRecords(new byte[0]);
+            } else {
+                scanKvResponse.setRecords(
+                        records.getMemorySegment(), records.getPosition(), records.sizeInBytes());
+            }
+        }
+        return scanKvResponse;
+    }
+
     public static LookupResponse makeLookupResponse(
             Map<TableBucket, LookupResultForBucket> lookupResult,
-            Map<TableBucket, LookupResultForBucket> lookupError) {
-        return makeLookupResponse(mergeResponse(lookupResult, lookupError));
+            Map<TableBucket, LookupResultForBucket> lookupError,
+            @Nullable int[] projectedFields) {
+        LookupResponse lookupResponse =
+                makeLookupResponse(mergeResponse(lookupResult, lookupError));
+        if (projectedFields != null) {
+            // acknowledge the projection, so that the client knows the values are projected
+            lookupResponse.setProjectedFields(projectedFields);
+        }
+        return lookupResponse;
     }
 
     public static LookupResponse makeLookupResponse(
@@ -1024,8 +1107,15 @@ public class ServerRpcMessageUtils {
 
     public static PrefixLookupResponse makePrefixLookupResponse(
             Map<TableBucket, PrefixLookupResultForBucket> prefixLookupResult,
-            Map<TableBucket, PrefixLookupResultForBucket> prefixLookupErrors) {
-        return makePrefixLookupResponse(mergeResponse(prefixLookupResult, prefixLookupErrors));
+            Map<TableBucket, PrefixLookupResultForBucket> prefixLookupErrors,
+            @Nullable int[] projectedFields) {
+        PrefixLookupResponse prefixLookupResponse =
+                makePrefixLookupResponse(mergeResponse(prefixLookupResult, prefixLookupErrors));
+        if (projectedFields != null) {
+            // acknowledge the projection, so that the client knows the values are projected
+            prefixLookupResponse.setProjectedFields(projectedFields);
+        }
+        return prefixLookupResponse;
     }
 
     public static PrefixLookupResponse makePrefixLookupResponse(
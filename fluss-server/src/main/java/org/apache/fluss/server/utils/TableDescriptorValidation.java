@@ -26,12 +26,14 @@ import org.apache.fluss.exception.InvalidAlterTableException;
 import org.apache.fluss.exception.InvalidConfigException;
 import org.apache.fluss.exception.InvalidTableException;
 import org.apache.fluss.exception.TooManyBucketsException;
+import org.apache.fluss.metadata.AggregateFunctionType;
 import org.apache.fluss.metadata.DeleteBehavior;
 import org.apache.fluss.metadata.KvFormat;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.MergeEngineType;
 import org.apache.fluss.metadata.TableDescriptor;
 import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.server.kv.rowmerger.AggregateRowMerger;
 import org.apache.fluss.types.DataType;
 import org.apache.fluss.types.DataTypeRoot;
 import org.apache.fluss.types.RowType;
@@ -43,6 +45,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -100,7 +103,11 @@ public class TableDescriptorValidation {
         checkReplicationFactor(tableConf);
         checkLogFormat(tableConf, hasPrimaryKey);
         checkArrowCompression(tableConf);
-        checkMergeEngine(tableConf, hasPrimaryKey, schema);
+        checkMergeEngine(
+                tableConf,
+                hasPrimaryKey,
+                schema,
+                tableDescriptor.getSchema().getPrimaryKeyColumnNames());
         checkDeleteBehavior(tableConf, hasPrimaryKey);
         checkTieredLog(tableConf);
         checkPartition(tableConf, tableDescriptor.getPartitionKeys(), schema);
@@ -202,7 +209,10 @@ public class TableDescriptorValidation {
     }
 
     private static void checkMergeEngine(
-            Configuration tableConf, boolean hasPrimaryKey, RowType schema) {
+            Configuration tableConf,
+            boolean hasPrimaryKey,
+            RowType schema,
+            List<String> primaryKeys) {
         MergeEngineType mergeEngine = tableConf.get(ConfigOptions.TABLE_MERGE_ENGINE);
         if (mergeEngine != null) {
             if (!hasPrimaryKey) {
@@ -240,6 +250,38 @@ public class TableDescriptorValidation {
                                             + ", but got %s.",
                                     versionColumn.get(), columnType));
                 }
+            } else if (mergeEngine == MergeEngineType.AGGREGATE) {
+                checkAggregateFunctions(tableConf, schema, primaryKeys);
+            }
+        }
+    }
+
+    private static void checkAggregateFunctions(
+            Configuration tableConf, RowType schema, List<String> primaryKeys) {
+        Map<String, String> functions =
+                tableConf.get(ConfigOptions.TABLE_MERGE_ENGINE_AGGREGATE_FUNCTIONS);
+        for (Map.Entry<String, String> entry : functions.entrySet()) {
+            String column = entry.getKey();
+            int columnIndex = schema.getFieldIndex(column);
+            if (columnIndex < 0) {
+                throw new InvalidConfigException(
+                        String.format(
+                                "The column '%s' for aggregate merge engine doesn't exist in schema.",
+                                column));
+            }
+            if (primaryKeys.contains(column)) {
+                throw new InvalidConfigException(
+                        String.format(
+                                "The primary key column '%s' can't be aggregated by the aggregate merge engine.",
+                                column));
+            }
+            try {
+                AggregateRowMerger.createFieldAggregator(
+                        AggregateFunctionType.fromString(entry.getValue()),
+                        schema.getTypeAt(columnIndex),
+                        column);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidConfigException(e.getMessage());
             }
         }
     }
@@ -328,8 +370,11 @@ public class TableDescriptorValidation {
 
         // For tables with merge engines, automatically set appropriate delete behavior
         MergeEngineType mergeEngine = tableConf.get(ConfigOptions.TABLE_MERGE_ENGINE);
-        if (mergeEngine == MergeEngineType.FIRST_ROW || mergeEngine == MergeEngineType.VERSIONED) {
-            // For FIRST_ROW and VERSIONED merge engines, delete operations are not supported
+        if (mergeEngine == MergeEngineType.FIRST_ROW
+                || mergeEngine == MergeEngineType.VERSIONED
+                || mergeEngine == MergeEngineType.AGGREGATE) {
+            // For FIRST_ROW, VERSIONED and AGGREGATE merge engines, delete operations are not
+            // supported
             // If user explicitly sets delete behavior to ALLOW, throw an exception
             if (deleteBehaviorOptional.isPresent()
                     && deleteBehaviorOptional.get() == DeleteBehavior.ALLOW) {
@@ -44,6 +44,7 @@ import org.apache.fluss.server.zk.data.LakeTableSnapshot;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 import org.apache.fluss.server.zk.data.PartitionAssignment;
 import org.apache.fluss.server.zk.data.RemoteLogManifestHandle;
+import org.apache.fluss.server.zk.data.ReplicaReassignment;
 import org.apache.fluss.server.zk.data.ResourceAcl;
 import org.apache.fluss.server.zk.data.TableAssignment;
 import org.apache.fluss.server.zk.data.TableRegistration;
@@ -64,6 +65,7 @@ import org.apache.fluss.server.zk.data.ZkData.PartitionIdZNode;
 import org.apache.fluss.server.zk.data.ZkData.PartitionSequenceIdZNode;
 import org.apache.fluss.server.zk.data.ZkData.PartitionZNode;
 import org.apache.fluss.server.zk.data.ZkData.PartitionsZNode;
+import org.apache.fluss.server.zk.data.ZkData.ReplicaReassignmentZNode;
 import org.apache.fluss.server.zk.data.ZkData.ResourceAclNode;
 import org.apache.fluss.server.zk.data.ZkData.SchemaZNode;
 import org.apache.fluss.server.zk.data.ZkData.SchemasZNode;
@@ -292,6 +294,16 @@ public class ZooKeeperClient implements AutoCloseable {
         LOG.info("Updated table assignment {} for table id {}.", tableAssignment, tableId);
     }
 
+    public void updatePartitionAssignment(long partitionId, PartitionAssignment partitionAssignment)
+            throws Exception {
+        String path = PartitionIdZNode.path(partitionId);
+        zkClient.setData().forPath(path, PartitionIdZNode.encode(partitionAssignment));
+        LOG.info(
+                "Updated partition assignment {} for partition id {}.",
+                partitionAssignment,
+                partitionId);
+    }
+
     public void deleteTableAssignment(long tableId) throws Exception {
         String path = TableIdZNode.path(tableId);
         zkClient.delete().deletingChildrenIfNeeded().forPath(path);
@@ -304,6 +316,30 @@ public class ZooKeeperClient implements AutoCloseable {
         LOG.info("Deleted table assignment for partition id {}.", partitionId);
     }
 
+    /** Get the ongoing replica reassignments in ZK. */
+    public Optional<ReplicaReassignment> getReplicaReassignment() throws Exception {
+        return getOrEmpty(ReplicaReassignmentZNode.path()).map(ReplicaReassignmentZNode::decode);
+    }
+
+    /**
+     * Register or update the ongoing replica reassignments in ZK, the znode is deleted if there
+     * isn't any ongoing reassignment.
+     */
+    public void upsertReplicaReassignment(ReplicaReassignment reassignment) throws Exception {
+        String path = ReplicaReassignmentZNode.path();
+        if (reassignment.isEmpty()) {
+            zkClient.delete().quietly().forPath(path);
+        } else if (zkClient.checkExists().forPath(path) != null) {
+            zkClient.setData().forPath(path, ReplicaReassignmentZNode.encode(reassignment));
+        } else {
+            zkClient.create()
+                    .creatingParentsIfNeeded()
+                    .withMode(CreateMode.PERSISTENT)
+                    .forPath(path, ReplicaReassignmentZNode.encode(reassignment));
+        }
+        LOG.info("Updated replica reassignment {}.", reassignment);
+    }
+
     // --------------------------------------------------------------------------------------------
     // Table state
     // --------------------------------------------------------------------------------------------
@@ -987,6 +1023,35 @@ public class ZooKeeperClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Batch update the existing remote log manifest handles of the given table buckets, the
+     * handles are written in transactions of at most {@link #MAX_BATCH_SIZE} operations.
+     *
+     * <p>Note: A transaction fails as a whole if the remote log manifest of any table bucket in it
+     * doesn't exist yet.
+     */
+    public void batchUpdateRemoteLogManifestHandles(
+            Map<TableBucket, RemoteLogManifestHandle> remoteLogManifestHandles) throws Exception {
+        if (remoteLogManifestHandles.isEmpty()) {
+            return;
+        }
+
+        List<CuratorOp> ops = new ArrayList<>(remoteLogManifestHandles.size());
+        for (Map.Entry<TableBucket, RemoteLogManifestHandle> entry :
+                remoteLogManifestHandles.entrySet()) {
+            String path = BucketRemoteLogsZNode.path(entry.getKey());
+            byte[] data = BucketRemoteLogsZNode.encode(entry.getValue());
+            ops.add(zkClient.transactionOp().setData().forPath(path, data));
+            if (ops.size() == MAX_BATCH_SIZE) {
+                zkClient.transaction().forOperations(ops);
+                ops.clear();
+            }
+        }
+        if (!ops.isEmpty()) {
+            zkClient.transaction().forOperations(ops);
+        }
+    }
+
     public Optional<RemoteLogManifestHandle> getRemoteLogManifestHandle(TableBucket tableBucket)
             throws Exception {
         String path = BucketRemoteLogsZNode.path(tableBucket);
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.zk.data;
+
+import org.apache.fluss.metadata.TableBucket;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The ongoing replica reassignments of the cluster, which maps a table bucket to the target
+ * replicas it's being moved to. A bucket is removed from the reassignments once its replicas are
+ * moved to the target replicas completely.
+ *
+ * <p>The reassignments are stored in {@link ZkData.ReplicaReassignmentZNode}, so that the
+ * reassignments can be resumed after the coordinator server fails over.
+ *
+ * @see ReplicaReassignmentJsonSerde for json serialization and deserialization.
+ */
+public class ReplicaReassignment {
+
+    private final Map<TableBucket, List<Integer>> targetReplicas;
+
+    public ReplicaReassignment(Map<TableBucket, List<Integer>> targetReplicas) {
+        this.targetReplicas = Collections.unmodifiableMap(new LinkedHashMap<>(targetReplicas));
+    }
+
+    public Map<TableBucket, List<Integer>> getTargetReplicas() {
+        return targetReplicas;
+    }
+
+    public boolean isEmpty() {
+        return targetReplicas.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ReplicaReassignment that = (ReplicaReassignment) o;
+        return Objects.equals(targetReplicas, that.targetReplicas);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetReplicas);
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaReassignment{" + "targetReplicas=" + targetReplicas + '}';
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.zk.data;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.shaded.jackson2.com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.fluss.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.fluss.utils.json.JsonDeserializer;
+import org.apache.fluss.utils.json.JsonSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Json serializer and deserializer for {@link ReplicaReassignment}. */
+@Internal
+public class ReplicaReassignmentJsonSerde
+        implements JsonSerializer<ReplicaReassignment>, JsonDeserializer<ReplicaReassignment> {
+
+    public static final ReplicaReassignmentJsonSerde INSTANCE = new ReplicaReassignmentJsonSerde();
+
+    private static final String VERSION_KEY = "version";
+    private static final String REASSIGNMENTS = "reassignments";
+    private static final String TABLE_ID = "table_id";
+    private static final String PARTITION_ID = "partition_id";
+    private static final String BUCKET_ID = "bucket_id";
+    private static final String REPLICAS = "replicas";
+    private static final int VERSION = 1;
+
+    @Override
+    public void serialize(ReplicaReassignment reassignment, JsonGenerator generator)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(VERSION_KEY, VERSION);
+
+        generator.writeArrayFieldStart(REASSIGNMENTS);
+        for (Map.Entry<TableBucket, List<Integer>> entry :
+                reassignment.getTargetReplicas().entrySet()) {
+            TableBucket tableBucket = entry.getKey();
+            generator.writeStartObject();
+            generator.writeNumberField(TABLE_ID, tableBucket.getTableId());
+            if (tableBucket.getPartitionId() != null) {
+                generator.writeNumberField(PARTITION_ID, tableBucket.getPartitionId());
+            }
+            generator.writeNumberField(BUCKET_ID, tableBucket.getBucket());
+            generator.writeArrayFieldStart(REPLICAS);
+            for (Integer replica : entry.getValue()) {
+                generator.writeNumber(replica);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    @Override
+    public ReplicaReassignment deserialize(JsonNode node) {
+        Map<TableBucket, List<Integer>> targetReplicas = new LinkedHashMap<>();
+        Iterator<JsonNode> reassignments = node.get(REASSIGNMENTS).elements();
+        while (reassignments.hasNext()) {
+            JsonNode reassignment = reassignments.next();
+            JsonNode partitionIdNode = reassignment.get(PARTITION_ID);
+            TableBucket tableBucket =
+                    new TableBucket(
+                            reassignment.get(TABLE_ID).asLong(),
+                            partitionIdNode == null ? null : partitionIdNode.asLong(),
+                            reassignment.get(BUCKET_ID).asInt());
+            List<Integer> replicas = new ArrayList<>();
+            Iterator<JsonNode> replicaNodes = reassignment.get(REPLICAS).elements();
+            while (replicaNodes.hasNext()) {
+                replicas.add(replicaNodes.next().asInt());
+            }
+            targetReplicas.put(tableBucket, replicas);
+        }
+        return new ReplicaReassignment(targetReplicas);
+    }
+}
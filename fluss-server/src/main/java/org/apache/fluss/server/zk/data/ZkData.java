@@ -382,6 +382,27 @@ public final class ZkData {
         }
     }
 
+    /**
+     * The znode for the ongoing replica reassignments of the table buckets, which are triggered by
+     * the rebalance of the coordinator server. The znode path is:
+     *
+     * <p>/tabletservers/reassignments
+     */
+    public static final class ReplicaReassignmentZNode {
+        public static String path() {
+            return "/tabletservers/reassignments";
+        }
+
+        public static byte[] encode(ReplicaReassignment reassignment) {
+            return JsonSerdeUtils.writeValueAsBytes(
+                    reassignment, ReplicaReassignmentJsonSerde.INSTANCE);
+        }
+
+        public static ReplicaReassignment decode(byte[] json) {
+            return JsonSerdeUtils.readValue(json, ReplicaReassignmentJsonSerde.INSTANCE);
+        }
+    }
+
     /**
      * The znode for buckets of a table/partition.
      *
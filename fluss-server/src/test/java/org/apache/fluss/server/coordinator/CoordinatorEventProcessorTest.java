@@ -59,9 +59,12 @@ import org.apache.fluss.server.zk.data.BucketAssignment;
 import org.apache.fluss.server.zk.data.CoordinatorAddress;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 import org.apache.fluss.server.zk.data.PartitionAssignment;
+import org.apache.fluss.server.zk.data.RemoteLogManifestHandle;
+import org.apache.fluss.server.zk.data.ReplicaReassignment;
 import org.apache.fluss.server.zk.data.TableAssignment;
 import org.apache.fluss.server.zk.data.TabletServerRegistration;
 import org.apache.fluss.server.zk.data.ZkData.PartitionIdsZNode;
+import org.apache.fluss.server.zk.data.ZkData.ReplicaReassignmentZNode;
 import org.apache.fluss.server.zk.data.ZkData.TableIdsZNode;
 import org.apache.fluss.testutils.common.AllCallbackWrapper;
 import org.apache.fluss.types.DataTypes;
@@ -109,6 +112,7 @@ import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.apache.fluss.testutils.common.CommonTestUtils.waitValue;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 /** Test for {@link CoordinatorEventProcessor}. */
 class CoordinatorEventProcessorTest {
@@ -195,6 +199,9 @@ class CoordinatorEventProcessorTest {
         // clear the assignment info for all tables;
         ZOO_KEEPER_EXTENSION_WRAPPER.getCustomExtension().cleanupPath(TableIdsZNode.path());
         ZOO_KEEPER_EXTENSION_WRAPPER.getCustomExtension().cleanupPath(PartitionIdsZNode.path());
+        ZOO_KEEPER_EXTENSION_WRAPPER
+                .getCustomExtension()
+                .cleanupPath(ReplicaReassignmentZNode.path());
     }
 
     @Test
@@ -763,6 +770,26 @@ class CoordinatorEventProcessorTest {
         responseCompletableFuture1.get();
         verifyReceiveRequestExceptFor(3, leader, NotifyRemoteLogOffsetsRequest.class);
 
+        // the following commits of the bucket are written in batch
+        initCoordinatorChannel();
+        FsPath newManifestPath = new FsPath(tempDir.toString(), "1.manifest");
+        CompletableFuture<CommitRemoteLogManifestResponse> responseCompletableFuture3 =
+                new CompletableFuture<>();
+        coordinatorEventManager.put(
+                new CommitRemoteLogManifestEvent(
+                        new CommitRemoteLogManifestData(
+                                tableBucket,
+                                newManifestPath,
+                                0,
+                                10,
+                                coordinatorEpoch,
+                                bucketLeaderEpoch),
+                        responseCompletableFuture3));
+        assertThat(responseCompletableFuture3.get().isCommitSuccess()).isTrue();
+        verifyReceiveRequestExceptFor(3, leader, NotifyRemoteLogOffsetsRequest.class);
+        assertThat(zookeeperClient.getRemoteLogManifestHandle(tableBucket))
+                .hasValue(new RemoteLogManifestHandle(newManifestPath, 10));
+
         // verify CommitKvSnapshot trigger notify offsets request
         initCoordinatorChannel();
         CompletedSnapshot completedSnapshot = mockCompletedSnapshot(tempDir, tableBucket, 0);
@@ -833,6 +860,115 @@ class CoordinatorEventProcessorTest {
         assertThat(resultForBucketMap.values()).allMatch(AdjustIsrResultForBucket::succeeded);
     }
 
+    @Test
+    void testReassignReplicas() throws Exception {
+        initCoordinatorChannel();
+        TablePath tablePath = TablePath.of(defaultDatabase, "t_reassign");
+        TableAssignment tableAssignment =
+                TableAssignment.builder()
+                        .add(0, BucketAssignment.of(0, 1))
+                        .add(1, BucketAssignment.of(1, 0))
+                        .add(2, BucketAssignment.of(0, 1))
+                        .build();
+        long tableId = metadataManager.createTable(tablePath, TEST_TABLE, tableAssignment, false);
+        TableBucket tableBucket = new TableBucket(tableId, 0);
+        verifyBucketForTableInState(tableId, 3, OnlineBucket);
+        LeaderAndIsr leaderAndIsr =
+                waitValue(
+                        () -> fromCtx(ctx -> ctx.getBucketLeaderAndIsr(tableBucket)),
+                        Duration.ofMinutes(1),
+                        "leader not elected");
+        assertThat(leaderAndIsr.leader()).isEqualTo(0);
+
+        // move the replica on the leader 0 to the tablet server 2
+        List<Integer> targetReplicas = Arrays.asList(2, 1);
+        fromCtx(
+                ctx -> {
+                    eventProcessor
+                            .rebalanceManager()
+                            .reassignReplicas(
+                                    Collections.singletonMap(tableBucket, targetReplicas));
+                    return null;
+                });
+        // the replicas are extended to the target replicas followed by the removed replicas
+        retryVerifyContext(
+                ctx -> {
+                    assertThat(ctx.getAssignment(tableBucket)).containsExactly(2, 1, 0);
+                    assertThat(ctx.getReplicaState(new TableBucketReplica(tableBucket, 2)))
+                            .isEqualTo(OnlineReplica);
+                });
+        assertThat(zookeeperClient.getReplicaReassignment())
+                .contains(
+                        new ReplicaReassignment(
+                                Collections.singletonMap(tableBucket, targetReplicas)));
+
+        // the reassignment completes once the new replica joins the isr
+        CompletableFuture<AdjustIsrResponse> response = new CompletableFuture<>();
+        eventProcessor
+                .getCoordinatorEventManager()
+                .put(
+                        new AdjustIsrReceivedEvent(
+                                Collections.singletonMap(
+                                        tableBucket,
+                                        new LeaderAndIsr(
+                                                leaderAndIsr.leader(),
+                                                leaderAndIsr.leaderEpoch(),
+                                                Arrays.asList(0, 1, 2),
+                                                leaderAndIsr.coordinatorEpoch(),
+                                                leaderAndIsr.bucketEpoch())),
+                                response));
+        assertThat(getAdjustIsrResponseData(response.get()).get(tableBucket).succeeded())
+                .isTrue();
+        retryVerifyContext(
+                ctx -> {
+                    assertThat(ctx.getAssignment(tableBucket)).isEqualTo(targetReplicas);
+                    assertThat(ctx.getBucketLeaderAndIsr(tableBucket).get().leader())
+                            .isEqualTo(2);
+                    // the removed replica is deleted from the tablet server
+                    assertThat(ctx.getReplicaState(new TableBucketReplica(tableBucket, 0)))
+                            .isNull();
+                    assertThat(ctx.getReplicaState(new TableBucketReplica(tableBucket, 2)))
+                            .isEqualTo(OnlineReplica);
+                });
+        assertThat(zookeeperClient.getTableAssignment(tableId).get().getBucketAssignment(0))
+                .isEqualTo(new BucketAssignment(targetReplicas));
+        assertThat(zookeeperClient.getReplicaReassignment()).isEmpty();
+        assertThat(getOngoingReassignments()).isEmpty();
+    }
+
+    @Test
+    void testRestartResumeReassignReplicas() throws Exception {
+        initCoordinatorChannel();
+        TablePath tablePath = TablePath.of(defaultDatabase, "t_restart_reassign");
+        TableAssignment tableAssignment =
+                TableAssignment.builder()
+                        .add(0, BucketAssignment.of(0, 1))
+                        .add(1, BucketAssignment.of(1, 0))
+                        .add(2, BucketAssignment.of(0, 1))
+                        .build();
+        long tableId = metadataManager.createTable(tablePath, TEST_TABLE, tableAssignment, false);
+        TableBucket tableBucket = new TableBucket(tableId, 1);
+        verifyBucketForTableInState(tableId, 3, OnlineBucket);
+
+        // a reassignment persisted by the previous coordinator is resumed after restart
+        eventProcessor.shutdown();
+        List<Integer> targetReplicas = Arrays.asList(1, 2);
+        zookeeperClient.upsertReplicaReassignment(
+                new ReplicaReassignment(Collections.singletonMap(tableBucket, targetReplicas)));
+        eventProcessor = buildCoordinatorEventProcessor();
+        eventProcessor.startup();
+
+        retryVerifyContext(
+                ctx -> {
+                    assertThat(ctx.getAssignment(tableBucket)).containsExactly(1, 2, 0);
+                    assertThat(ctx.getReplicaState(new TableBucketReplica(tableBucket, 2)))
+                            .isEqualTo(OnlineReplica);
+                });
+        assertThat(getOngoingReassignments()).containsExactly(entry(tableBucket, targetReplicas));
+        assertThat(zookeeperClient.getTableAssignment(tableId).get().getBucketAssignment(1))
+                .isEqualTo(BucketAssignment.of(1, 2, 0));
+    }
+
     private CoordinatorEventProcessor buildCoordinatorEventProcessor() {
         return new CoordinatorEventProcessor(
                 zookeeperClient,
@@ -1128,6 +1264,11 @@ class CoordinatorEventProcessorTest {
         return event.getResultFuture().get(30, TimeUnit.SECONDS);
     }
 
+    private Map<TableBucket, List<Integer>> getOngoingReassignments() throws Exception {
+        return fromCtx(
+                ctx -> new HashMap<>(eventProcessor.rebalanceManager().getOngoingReassignments()));
+    }
+
     private long createTable(TablePath tablePath, TabletServerInfo[] servers) {
         TableAssignment tableAssignment =
                 generateAssignment(N_BUCKETS, REPLICATION_FACTOR, servers);
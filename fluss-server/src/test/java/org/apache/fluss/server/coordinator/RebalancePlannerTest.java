@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator;
+
+import org.apache.fluss.metadata.TableBucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RebalancePlanner}. */
+class RebalancePlannerTest {
+
+    private static final TableBucket T0 = new TableBucket(1, 0);
+    private static final TableBucket T1 = new TableBucket(1, 1);
+    private static final TableBucket T2 = new TableBucket(1, 2);
+    private static final TableBucket T3 = new TableBucket(1, 3);
+
+    @Test
+    void testMoveReplicasToNewServer() {
+        Map<TableBucket, List<Integer>> assignments = new HashMap<>();
+        assignments.put(T0, Arrays.asList(0, 1));
+        assignments.put(T1, Arrays.asList(0, 1));
+        assignments.put(T2, Arrays.asList(1, 0));
+        assignments.put(T3, Arrays.asList(1, 0));
+
+        Map<TableBucket, List<Integer>> moves =
+                RebalancePlanner.planReplicaMoves(assignments, racks(0, 1, 2), 10);
+        Map<TableBucket, List<Integer>> expected = new HashMap<>();
+        expected.put(T0, Arrays.asList(0, 2));
+        expected.put(T1, Arrays.asList(2, 1));
+        assertThat(moves).isEqualTo(expected);
+
+        // the moves are limited by the max moves
+        moves = RebalancePlanner.planReplicaMoves(assignments, racks(0, 1, 2), 1);
+        assertThat(moves).containsOnlyKeys(T0).containsEntry(T0, Arrays.asList(0, 2));
+
+        // the balanced assignments don't need any move
+        assertThat(RebalancePlanner.planReplicaMoves(assignments, racks(0, 1), 10)).isEmpty();
+    }
+
+    @Test
+    void testNotMoveBucketsWithDeadReplicas() {
+        Map<TableBucket, List<Integer>> assignments = new HashMap<>();
+        assignments.put(T0, Arrays.asList(0, 3));
+        assignments.put(T1, Arrays.asList(3, 0));
+
+        // server 3 is not alive, so none of the buckets can be moved
+        assertThat(RebalancePlanner.planReplicaMoves(assignments, racks(0, 1, 2), 10)).isEmpty();
+    }
+
+    @Test
+    void testRackAwareMoves() {
+        Map<TableBucket, List<Integer>> assignments = new HashMap<>();
+        assignments.put(T0, Arrays.asList(0, 1));
+        assignments.put(T1, Arrays.asList(0, 1));
+        Map<Integer, String> serverRacks = new HashMap<>();
+        serverRacks.put(0, "rack0");
+        serverRacks.put(1, "rack1");
+        serverRacks.put(2, "rack0");
+        serverRacks.put(3, "rack1");
+
+        Map<TableBucket, List<Integer>> moves =
+                RebalancePlanner.planReplicaMoves(assignments, serverRacks, 10);
+        Map<TableBucket, List<Integer>> expected = new HashMap<>();
+        // the replicas of a bucket are kept in different racks
+        expected.put(T0, Arrays.asList(0, 3));
+        expected.put(T1, Arrays.asList(2, 1));
+        assertThat(moves).isEqualTo(expected);
+    }
+
+    private static Map<Integer, String> racks(int... servers) {
+        Map<Integer, String> serverRacks = new HashMap<>();
+        for (int server : servers) {
+            serverRacks.put(server, null);
+        }
+        return serverRacks;
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Set;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.controlledShutdownReplicaLeaderElection;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.defaultReplicaLeaderElection;
 import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.initReplicaLeaderElection;
+import static org.apache.fluss.server.coordinator.statemachine.ReplicaLeaderElectionAlgorithms.preferredReplicaLeaderElection;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** Test for {@link ReplicaLeaderElectionAlgorithms}. */
@@ -109,4 +110,32 @@ public class ReplicaLeaderElectionAlgorithmsTest {
                         assignments, liveReplicas, originLeaderAndIsr, shutdownTabletServers);
         assertThat(leaderElectionResultOpt).isEmpty();
     }
+
+    @Test
+    void testPreferredReplicaLeaderElection() {
+        List<Integer> assignments = Arrays.asList(2, 4);
+        List<Integer> liveReplicas = Arrays.asList(2, 4);
+        LeaderAndIsr originLeaderAndIsr = new LeaderAndIsr(4, 1, Arrays.asList(2, 4), 0, 1);
+
+        Optional<ElectionResult> leaderElectionResultOpt =
+                preferredReplicaLeaderElection(assignments, liveReplicas, originLeaderAndIsr);
+        assertThat(leaderElectionResultOpt.isPresent()).isTrue();
+        ElectionResult leaderElectionResult = leaderElectionResultOpt.get();
+        assertThat(leaderElectionResult.getLiveReplicas()).containsExactlyInAnyOrder(2, 4);
+        assertThat(leaderElectionResult.getLeaderAndIsr().leader()).isEqualTo(2);
+        assertThat(leaderElectionResult.getLeaderAndIsr().leaderEpoch()).isEqualTo(2);
+        assertThat(leaderElectionResult.getLeaderAndIsr().isr()).containsExactlyInAnyOrder(2, 4);
+
+        // the preferred replica isn't in isr
+        originLeaderAndIsr = new LeaderAndIsr(4, 1, Collections.singletonList(4), 0, 1);
+        assertThat(preferredReplicaLeaderElection(assignments, liveReplicas, originLeaderAndIsr))
+                .isEmpty();
+
+        // the preferred replica isn't alive
+        originLeaderAndIsr = new LeaderAndIsr(4, 1, Arrays.asList(2, 4), 0, 1);
+        assertThat(
+                        preferredReplicaLeaderElection(
+                                assignments, Collections.singletonList(4), originLeaderAndIsr))
+                .isEmpty();
+    }
 }
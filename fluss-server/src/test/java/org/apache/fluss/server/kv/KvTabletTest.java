@@ -20,6 +20,7 @@ package org.apache.fluss.server.kv;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.config.TableConfig;
 import org.apache.fluss.exception.InvalidTargetColumnException;
+import org.apache.fluss.exception.KvScannerNotFoundException;
 import org.apache.fluss.exception.OutOfOrderSequenceException;
 import org.apache.fluss.memory.TestingMemorySegmentPool;
 import org.apache.fluss.metadata.KvFormat;
@@ -33,6 +34,9 @@ import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.KvRecord;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.KvRecordTestUtils;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.LogTestBase;
 import org.apache.fluss.record.MemoryLogRecords;
@@ -40,10 +44,12 @@ import org.apache.fluss.record.TestData;
 import org.apache.fluss.record.bytesview.MultiBytesView;
 import org.apache.fluss.row.BinaryRow;
 import org.apache.fluss.row.encode.ValueEncoder;
+import org.apache.fluss.server.kv.prewrite.HeapKvPreWriteBuffer;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Key;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.KvEntry;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Value;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.kv.scan.KvScanner;
 import org.apache.fluss.server.log.FetchIsolation;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogTablet;
@@ -53,6 +59,7 @@ import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
 import org.apache.fluss.types.DataTypes;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.types.StringType;
+import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.clock.SystemClock;
 import org.apache.fluss.utils.concurrent.FlussScheduler;
 
@@ -178,12 +185,18 @@ class KvTabletTest {
                 TestingMetricGroups.TABLET_SERVER_METRICS,
                 new RootAllocator(Long.MAX_VALUE),
                 new TestingMemorySegmentPool(10 * 1024),
+                new TestingMemorySegmentPool(10 * 1024),
+                null,
                 KvFormat.COMPACTED,
                 schema,
                 rowMerger,
                 DEFAULT_COMPRESSION);
     }
 
+    private HeapKvPreWriteBuffer heapPreWriteBuffer() {
+        return (HeapKvPreWriteBuffer) kvTablet.getKvPreWriteBuffer();
+    }
+
     @Test
     void testInvalidPartialUpdate1() throws Exception {
         final Schema schema1 = DATA2_SCHEMA;
@@ -585,8 +598,8 @@ class KvTabletTest {
         for (KvEntry kvEntry : expectedEntries) {
             expectedMap.put(kvEntry.getKey(), kvEntry);
         }
-        assertThat(kvTablet.getKvPreWriteBuffer().getAllKvEntries()).isEqualTo(expectedEntries);
-        assertThat(kvTablet.getKvPreWriteBuffer().getKvEntryMap()).isEqualTo(expectedMap);
+        assertThat(heapPreWriteBuffer().getAllKvEntries()).isEqualTo(expectedEntries);
+        assertThat(heapPreWriteBuffer().getKvEntryMap()).isEqualTo(expectedMap);
         assertThat(kvTablet.getKvPreWriteBuffer().getMaxLSN()).isEqualTo(3);
 
         // the second batch will be ignored.
@@ -595,8 +608,8 @@ class KvTabletTest {
                 .hasMessageContaining(
                         "Out of order batch sequence for writer 100 at offset 8 in table-bucket "
                                 + "TableBucket{tableId=0, bucket=587113} : 3 (incoming batch seq.), 0 (current batch seq.)");
-        assertThat(kvTablet.getKvPreWriteBuffer().getAllKvEntries()).isEqualTo(expectedEntries);
-        assertThat(kvTablet.getKvPreWriteBuffer().getKvEntryMap()).isEqualTo(expectedMap);
+        assertThat(heapPreWriteBuffer().getAllKvEntries()).isEqualTo(expectedEntries);
+        assertThat(heapPreWriteBuffer().getKvEntryMap()).isEqualTo(expectedMap);
         assertThat(kvTablet.getKvPreWriteBuffer().getMaxLSN()).isEqualTo(3);
     }
 
@@ -864,6 +877,118 @@ class KvTabletTest {
         assertThat(kvTablet.getKvPreWriteBuffer().getMaxLSN()).isEqualTo(9);
     }
 
+    @Test
+    void testPutAsLeaderWithKeysFlushedToKv() throws Exception {
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        KvRecordBatch kvRecordBatch1 =
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v11"}),
+                                kvRecordFactory.ofRecord(
+                                        "k2".getBytes(), new Object[] {2, "v21"})));
+        kvTablet.putAsLeader(kvRecordBatch1, null);
+        long endOffset = logTablet.localLogEndOffset();
+        // flush all the entries of the pre-write buffer to rocksdb
+        kvTablet.flush(endOffset, e -> fail("Fail to flush kv pre-write buffer.", e));
+        assertThat(heapPreWriteBuffer().getAllKvEntries()).isEmpty();
+
+        // the keys of the batch are read from rocksdb at once, then the later records of the
+        // same key in the batch should see the value written by the earlier records
+        KvRecordBatch kvRecordBatch2 =
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v12"}),
+                                kvRecordFactory.ofRecord("k2".getBytes(), null),
+                                kvRecordFactory.ofRecord("k3".getBytes(), new Object[] {3, "v31"}),
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v13"}),
+                                kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "v22"}),
+                                kvRecordFactory.ofRecord("k4".getBytes(), null)));
+        kvTablet.putAsLeader(kvRecordBatch2, null);
+
+        List<MemoryLogRecords> expectedLogs =
+                Collections.singletonList(
+                        logRecords(
+                                endOffset,
+                                Arrays.asList(
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        ChangeType.DELETE,
+                                        ChangeType.INSERT,
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        ChangeType.INSERT),
+                                Arrays.asList(
+                                        new Object[] {1, "v11"},
+                                        new Object[] {1, "v12"},
+                                        new Object[] {2, "v21"},
+                                        new Object[] {3, "v31"},
+                                        new Object[] {1, "v12"},
+                                        new Object[] {1, "v13"},
+                                        new Object[] {2, "v22"})));
+        checkEqual(readLogRecords(endOffset), expectedLogs);
+    }
+
+    @Test
+    void testScanKv() throws Exception {
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v1"}),
+                                kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "v2"}),
+                                kvRecordFactory.ofRecord(
+                                        "k3".getBytes(), new Object[] {3, "v3"}))),
+                null);
+        kvTablet.flush(
+                logTablet.localLogEndOffset(), e -> fail("Fail to flush kv pre-write buffer.", e));
+
+        int[] projectedFields = new int[] {1};
+        KvScanner scanner = kvTablet.openScanner(schemaId, projectedFields);
+
+        // the rows written after the scanner is opened are invisible to the scanner
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), null),
+                                kvRecordFactory.ofRecord(
+                                        "k4".getBytes(), new Object[] {4, "v4"}))),
+                null);
+        kvTablet.flush(
+                logTablet.localLogEndOffset(), e -> fail("Fail to flush kv pre-write buffer.", e));
+
+        // a page contains at least one row even if the max bytes is exceeded
+        RowType projectedRowType = baseRowType.project(projectedFields);
+        List<Object> scannedValues = new ArrayList<>();
+        int pages = 0;
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createArrowReadContext(projectedRowType, schemaId)) {
+            while (scanner.hasNext()) {
+                MemoryLogRecords records = kvTablet.scan(scanner, 1);
+                pages++;
+                for (LogRecordBatch batch : records.batches()) {
+                    try (CloseableIterator<LogRecord> iterator = batch.records(readContext)) {
+                        while (iterator.hasNext()) {
+                            LogRecord record = iterator.next();
+                            assertThat(record.getChangeType()).isEqualTo(ChangeType.APPEND_ONLY);
+                            scannedValues.add(record.getRow().getString(0).toString());
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(pages).isEqualTo(3);
+        assertThat(scannedValues).containsExactly("v1", "v2", "v3");
+        assertThat(kvTablet.scan(scanner, 1)).isSameAs(MemoryLogRecords.EMPTY);
+
+        // the scanners are closed with the kv tablet
+        KvScanner scanner2 = kvTablet.openScanner(schemaId, null);
+        assertThat(scanner2.hasNext()).isTrue();
+        kvTablet.close();
+        assertThat(scanner2.hasNext()).isFalse();
+        assertThatThrownBy(() -> scanner2.nextBatch(1))
+                .isInstanceOf(KvScannerNotFoundException.class);
+    }
+
     private LogRecords readLogRecords() throws Exception {
         return readLogRecords(0L);
     }
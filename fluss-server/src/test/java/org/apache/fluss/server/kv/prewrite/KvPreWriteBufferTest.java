@@ -25,16 +25,18 @@ import org.junit.jupiter.api.Test;
 
 import javax.annotation.Nonnull;
 
+import java.nio.ByteBuffer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-/** Test for {@link org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer}. */
+/** Test for {@link HeapKvPreWriteBuffer} and the keys of {@link KvPreWriteBuffer}. */
 class KvPreWriteBufferTest {
 
     @Test
     void testIllegalLSN() {
-        KvPreWriteBuffer buffer =
-                new KvPreWriteBuffer(
+        HeapKvPreWriteBuffer buffer =
+                new HeapKvPreWriteBuffer(
                         new NopKvBatchWriter(), TestingMetricGroups.TABLET_SERVER_METRICS);
         bufferPut(buffer, "key1", "value1", 1);
         bufferDelete(buffer, "key1", 3);
@@ -54,8 +56,8 @@ class KvPreWriteBufferTest {
 
     @Test
     void testWriteAndFlush() throws Exception {
-        KvPreWriteBuffer buffer =
-                new KvPreWriteBuffer(
+        HeapKvPreWriteBuffer buffer =
+                new HeapKvPreWriteBuffer(
                         new NopKvBatchWriter(), TestingMetricGroups.TABLET_SERVER_METRICS);
         int elementCount = 0;
 
@@ -137,8 +139,8 @@ class KvPreWriteBufferTest {
 
     @Test
     void testTruncate() {
-        KvPreWriteBuffer buffer =
-                new KvPreWriteBuffer(
+        HeapKvPreWriteBuffer buffer =
+                new HeapKvPreWriteBuffer(
                         new NopKvBatchWriter(), TestingMetricGroups.TABLET_SERVER_METRICS);
         int elementCount = 0;
 
@@ -190,6 +192,46 @@ class KvPreWriteBufferTest {
         assertThat(buffer.getKvEntryMap().size()).isEqualTo(0);
     }
 
+    @Test
+    void testKeyView() {
+        HeapKvPreWriteBuffer buffer =
+                new HeapKvPreWriteBuffer(
+                        new NopKvBatchWriter(), TestingMetricGroups.TABLET_SERVER_METRICS);
+        byte[] keyBytes = "a-long-key-with-more-than-8-bytes".getBytes();
+        ByteBuffer heapBuffer = ByteBuffer.allocate(keyBytes.length + 4);
+        heapBuffer.position(2);
+        heapBuffer.put(keyBytes);
+        heapBuffer.position(2).limit(2 + keyBytes.length);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(keyBytes.length + 4);
+        directBuffer.position(3);
+        directBuffer.put(keyBytes);
+        directBuffer.position(3).limit(3 + keyBytes.length);
+
+        KvPreWriteBuffer.Key key = KvPreWriteBuffer.Key.of(keyBytes);
+        KvPreWriteBuffer.Key heapView = KvPreWriteBuffer.Key.view(heapBuffer.slice());
+        KvPreWriteBuffer.Key directView = KvPreWriteBuffer.Key.view(directBuffer);
+        assertThat(heapView).isEqualTo(key).hasSameHashCodeAs(key);
+        assertThat(directView).isEqualTo(key).hasSameHashCodeAs(key);
+        assertThat(key).isEqualTo(heapView).isEqualTo(directView);
+        assertThat(directView.get()).isEqualTo(keyBytes);
+        assertThat(
+                        KvPreWriteBuffer.Key.view(
+                                ByteBuffer.wrap("a-long-key-with-more-than-8-byteZ".getBytes())))
+                .isNotEqualTo(key);
+
+        // the view is copied when put into the buffer
+        buffer.put(directView, "value1".getBytes(), 0);
+        directBuffer.put(3, (byte) 'b');
+        assertThat(getValue(buffer, "a-long-key-with-more-than-8-bytes")).isEqualTo("value1");
+        assertThat(buffer.getAllKvEntries().get(0).getKey().get()).isEqualTo(keyBytes);
+
+        // the key in the buffer is reused when the key is updated
+        buffer.put(heapView, "value2".getBytes(), 1);
+        assertThat(buffer.getAllKvEntries().get(1).getKey())
+                .isSameAs(buffer.getAllKvEntries().get(0).getKey());
+        assertThat(buffer.get(heapView).get()).isEqualTo("value2".getBytes());
+    }
+
     private static void bufferPut(
             KvPreWriteBuffer kvPreWriteBuffer, String key, String value, int elementCount) {
         kvPreWriteBuffer.put(toKey(key), value.getBytes(), elementCount);
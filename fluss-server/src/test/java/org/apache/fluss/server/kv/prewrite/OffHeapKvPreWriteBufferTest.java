@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.prewrite;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.exception.KvStorageException;
+import org.apache.fluss.memory.LazyMemorySegmentPool;
+import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Key;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.TruncateReason;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Value;
+import org.apache.fluss.server.metrics.group.TestingMetricGroups;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link OffHeapKvPreWriteBuffer}. */
+class OffHeapKvPreWriteBufferTest {
+
+    private static final int PAGE_SIZE = 1024;
+    private static final int NUM_PAGES = 8;
+
+    private LazyMemorySegmentPool memorySegmentPool;
+
+    @BeforeEach
+    void beforeEach() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.KV_PRE_WRITE_BUFFER_PAGE_SIZE, new MemorySize(PAGE_SIZE));
+        conf.set(
+                ConfigOptions.KV_PRE_WRITE_BUFFER_MEMORY_SIZE,
+                new MemorySize((long) PAGE_SIZE * NUM_PAGES));
+        memorySegmentPool = LazyMemorySegmentPool.createKvPreWriteBufferPool(conf);
+    }
+
+    @AfterEach
+    void afterEach() {
+        memorySegmentPool.close();
+    }
+
+    @Test
+    void testSameBehaviorAsHeapBuffer() throws Exception {
+        RecordingKvBatchWriter heapWriter = new RecordingKvBatchWriter();
+        RecordingKvBatchWriter offHeapWriter = new RecordingKvBatchWriter();
+        KvPreWriteBuffer heapBuffer =
+                new HeapKvPreWriteBuffer(heapWriter, TestingMetricGroups.TABLET_SERVER_METRICS);
+        KvPreWriteBuffer offHeapBuffer = createBuffer(offHeapWriter);
+
+        Random random = new Random(42);
+        int numKeys = 50;
+        long lsn = 0;
+        long flushedLsn = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(100);
+            if (op < 60) {
+                Key key = toKey(random.nextInt(numKeys));
+                byte[] value = new byte[random.nextInt(40)];
+                random.nextBytes(value);
+                heapBuffer.put(key, value, lsn);
+                offHeapBuffer.put(key, value, lsn);
+                lsn++;
+            } else if (op < 75) {
+                Key key = toKey(random.nextInt(numKeys));
+                heapBuffer.delete(key, lsn);
+                offHeapBuffer.delete(key, lsn);
+                lsn++;
+            } else if (op < 90) {
+                flushedLsn = flushedLsn + random.nextInt((int) (lsn - flushedLsn) + 1);
+                heapBuffer.flush(flushedLsn);
+                offHeapBuffer.flush(flushedLsn);
+            } else {
+                // only the entries which haven't been flushed can be truncated
+                long target = flushedLsn + random.nextInt((int) (lsn - flushedLsn) + 1);
+                heapBuffer.truncateTo(target, TruncateReason.ERROR);
+                offHeapBuffer.truncateTo(target, TruncateReason.ERROR);
+                lsn = target;
+            }
+
+            // the heap buffer may keep the flushed value of a key after truncating, while the
+            // off-heap buffer doesn't, so compare the values read from the buffer or the kv
+            for (int k = 0; k < numKeys; k++) {
+                assertThat(offHeapWriter.read(offHeapBuffer, k))
+                        .isEqualTo(heapWriter.read(heapBuffer, k));
+            }
+            assertThat(offHeapWriter.records).isEqualTo(heapWriter.records);
+        }
+
+        offHeapBuffer.flush(Long.MAX_VALUE);
+        assertThat(((OffHeapKvPreWriteBuffer) offHeapBuffer).getMemorySize()).isZero();
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES);
+        heapBuffer.close();
+        offHeapBuffer.close();
+    }
+
+    @Test
+    void testReleasePagesAfterFlush() throws Exception {
+        RecordingKvBatchWriter writer = new RecordingKvBatchWriter();
+        OffHeapKvPreWriteBuffer buffer = createBuffer(writer);
+
+        // every entry takes more than a quarter of a page, so every page holds 3 entries
+        byte[] value = new byte[300];
+        for (int i = 0; i < 9; i++) {
+            buffer.put(toKey(i), value, i);
+        }
+        assertThat(buffer.getMemorySize()).isEqualTo(3 * PAGE_SIZE);
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES - 3);
+
+        // the first page is still referenced by the entry with lsn 2
+        buffer.flush(2);
+        assertThat(buffer.getMemorySize()).isEqualTo(3 * PAGE_SIZE);
+        buffer.flush(3);
+        assertThat(buffer.getMemorySize()).isEqualTo(2 * PAGE_SIZE);
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES - 2);
+        assertThat(buffer.get(toKey(2))).isNull();
+        assertThat(buffer.get(toKey(3)).get()).isEqualTo(value);
+
+        // the entry larger than a page spans 3 pages of the pool
+        byte[] largeValue = new byte[2 * PAGE_SIZE];
+        for (int i = 0; i < largeValue.length; i++) {
+            largeValue[i] = (byte) i;
+        }
+        buffer.put(toKey(9), largeValue, 9);
+        assertThat(buffer.get(toKey(9)).get()).isEqualTo(largeValue);
+        assertThat(buffer.getMemorySize()).isEqualTo(5 * PAGE_SIZE);
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES - 5);
+
+        // the following entries are appended to the last page of the large entry
+        buffer.put(toKey(10), value, 10);
+        assertThat(buffer.getMemorySize()).isEqualTo(5 * PAGE_SIZE);
+        buffer.truncateTo(10, TruncateReason.ERROR);
+        buffer.put(toKey(10), value, 10);
+        assertThat(buffer.get(toKey(10)).get()).isEqualTo(value);
+        assertThat(buffer.getMemorySize()).isEqualTo(5 * PAGE_SIZE);
+
+        // truncating returns the pages of the truncated entries
+        buffer.truncateTo(6, TruncateReason.ERROR);
+        assertThat(buffer.getMaxLSN()).isEqualTo(5);
+        assertThat(buffer.get(toKey(6))).isNull();
+        assertThat(buffer.getMemorySize()).isEqualTo(PAGE_SIZE);
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES - 1);
+
+        buffer.flush(Long.MAX_VALUE);
+        assertThat(writer.records).hasSize(6);
+        assertThat(buffer.getMemorySize()).isZero();
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES);
+        buffer.close();
+    }
+
+    @Test
+    void testLargeEntryExceedingPool() throws Exception {
+        OffHeapKvPreWriteBuffer buffer = createBuffer(new RecordingKvBatchWriter());
+        byte[] value = new byte[PAGE_SIZE / 2];
+        buffer.put(toKey(0), value, 0);
+
+        // the large entry is counted against the pool and fails if there are not enough pages
+        byte[] largeValue = new byte[(NUM_PAGES - 1) * PAGE_SIZE];
+        assertThatThrownBy(() -> buffer.put(toKey(1), largeValue, 1))
+                .isInstanceOf(KvStorageException.class)
+                .hasMessageContaining("Failed to allocate 8 page(s)");
+        assertThat(buffer.get(toKey(1))).isNull();
+        assertThat(buffer.getMemorySize()).isEqualTo(PAGE_SIZE);
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES - 1);
+
+        // the large key crossing the page boundaries is also supported
+        byte[] largeKey = new byte[PAGE_SIZE + 100];
+        Arrays.fill(largeKey, (byte) 1);
+        buffer.put(Key.of(largeKey), value, 1);
+        assertThat(buffer.get(Key.of(largeKey)).get()).isEqualTo(value);
+        largeKey[PAGE_SIZE + 50] = 2;
+        assertThat(buffer.get(Key.of(largeKey))).isNull();
+        buffer.close();
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES);
+    }
+
+    @Test
+    void testMemoryExhausted() throws Exception {
+        OffHeapKvPreWriteBuffer buffer = createBuffer(new RecordingKvBatchWriter());
+        byte[] value = new byte[PAGE_SIZE / 2];
+        int lsn = 0;
+        for (; lsn < NUM_PAGES; lsn++) {
+            buffer.put(toKey(lsn), value, lsn);
+        }
+        int failedLsn = lsn;
+        assertThatThrownBy(() -> buffer.put(toKey(0), value, failedLsn))
+                .isInstanceOf(KvStorageException.class)
+                .hasMessageContaining("Failed to allocate 1 page(s)");
+        // nothing is changed by the failed put
+        assertThat(buffer.get(toKey(0)).get()).isEqualTo(value);
+        assertThat(buffer.getMaxLSN()).isEqualTo(NUM_PAGES - 1);
+
+        // the put succeeds after the buffered entries are flushed
+        buffer.flush(lsn);
+        buffer.put(toKey(0), value, lsn);
+        assertThat(buffer.getMemorySize()).isEqualTo(PAGE_SIZE);
+        buffer.close();
+        assertThat(memorySegmentPool.freePages()).isEqualTo(NUM_PAGES);
+    }
+
+    private OffHeapKvPreWriteBuffer createBuffer(KvBatchWriter kvBatchWriter) {
+        return new OffHeapKvPreWriteBuffer(
+                kvBatchWriter, memorySegmentPool, TestingMetricGroups.TABLET_SERVER_METRICS);
+    }
+
+    private static Key toKey(int key) {
+        return Key.of(("key" + key).getBytes());
+    }
+
+    /** A {@link KvBatchWriter} recording the written key-value pairs. */
+    private static class RecordingKvBatchWriter implements KvBatchWriter {
+        private final List<String> records = new ArrayList<>();
+        private final Map<String, byte[]> kv = new HashMap<>();
+
+        /** Reads the value of the key from the buffer, or from the written key-value pairs. */
+        private @Nullable String read(KvPreWriteBuffer buffer, int key) {
+            Value value = buffer.get(toKey(key));
+            byte[] bytes = value != null ? value.get() : kv.get("key" + key);
+            return bytes == null ? null : Arrays.toString(bytes);
+        }
+
+        @Override
+        public void put(@Nonnull byte[] key, @Nonnull byte[] value) {
+            records.add(new String(key) + "=" + Arrays.toString(value));
+            kv.put(new String(key), value);
+        }
+
+        @Override
+        public void delete(@Nonnull byte[] key) {
+            records.add(new String(key) + "=null");
+            kv.remove(new String(key));
+        }
+
+        @Override
+        public void flush() {
+            // do nothing
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+}
@@ -64,4 +64,39 @@ class RocksDBKvTest {
             assertThat(rocksDBKv.multiGet(Arrays.asList(key, key2))).containsExactly(null, val2);
         }
     }
+
+    @Test
+    void testBulkLoadWriter(@TempDir Path tempDir) throws Exception {
+        File instanceBasePath = new File(tempDir.toFile(), "db");
+        RocksDBResourceContainer rocksDBResourceContainer =
+                new RocksDBResourceContainer(new Configuration(), instanceBasePath);
+        RocksDBKvBuilder rocksDBKvBuilder =
+                new RocksDBKvBuilder(
+                        instanceBasePath,
+                        rocksDBResourceContainer,
+                        rocksDBResourceContainer.getColumnOptions());
+
+        try (RocksDBKv rocksDBKv = rocksDBKvBuilder.build()) {
+            byte[] key1 = new byte[] {1};
+            byte[] key2 = new byte[] {2};
+            byte[] key3 = new byte[] {(byte) 0xff};
+            rocksDBKv.put(key1, new byte[] {0});
+            rocksDBKv.put(key2, new byte[] {0});
+
+            File sstFileDir = new File(tempDir.toFile(), "bulk-load");
+            // a small buffer to flush a sst file for every two pairs
+            try (RocksDBBulkLoadWriter writer = rocksDBKv.newBulkLoadWriter(sstFileDir, 4)) {
+                writer.put(key3, new byte[] {1});
+                writer.put(key3, new byte[] {2});
+                // the later file overwrites the earlier file and the existing pairs
+                writer.put(key1, new byte[] {3});
+                writer.delete(key2);
+                writer.put(key3, new byte[] {4});
+            }
+
+            assertThat(sstFileDir).doesNotExist();
+            assertThat(rocksDBKv.multiGet(Arrays.asList(key1, key2, key3)))
+                    .containsExactly(new byte[] {3}, null, new byte[] {4});
+        }
+    }
 }
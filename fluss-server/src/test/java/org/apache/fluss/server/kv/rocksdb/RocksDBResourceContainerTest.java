@@ -28,6 +28,7 @@ import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionStyle;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
+import org.rocksdb.FlushOptions;
 import org.rocksdb.InfoLogLevel;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.WriteOptions;
@@ -193,4 +194,46 @@ class RocksDBResourceContainerTest {
             assertThat(tableConfig.filterPolicy() instanceof BloomFilter).isTrue();
         }
     }
+
+    @Test
+    void testSharedResources(@TempDir Path tempFolder) throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(ConfigOptions.KV_SHARED_MEMORY_ENABLED, true);
+        configuration.setString(ConfigOptions.KV_SHARED_MEMORY_SIZE.key(), "64 mb");
+
+        try (RocksDBSharedResources sharedResources =
+                RocksDBSharedResources.create(configuration)) {
+            assertThat(sharedResources).isNotNull();
+            File instanceBasePath = tempFolder.toFile();
+            RocksDBResourceContainer container =
+                    new RocksDBResourceContainer(
+                            configuration, instanceBasePath, true, sharedResources);
+            ColumnFamilyOptions columnOptions = container.getColumnOptions();
+            BlockBasedTableConfig tableConfig =
+                    (BlockBasedTableConfig) columnOptions.tableFormatConfig();
+            assertThat(tableConfig.cacheIndexAndFilterBlocks()).isTrue();
+            assertThat(tableConfig.cacheIndexAndFilterBlocksWithHighPriority()).isTrue();
+
+            try (RocksDBKv rocksDBKv =
+                    new RocksDBKvBuilder(instanceBasePath, container, columnOptions).build()) {
+                for (int i = 0; i < 1000; i++) {
+                    rocksDBKv.put(("key-" + i).getBytes(), new byte[100]);
+                }
+                // the memory of memtables is charged to the shared block cache
+                assertThat(rocksDBKv.getLongProperty("rocksdb.cur-size-all-mem-tables"))
+                        .isPositive();
+                assertThat(sharedResources.getBlockCacheUsage()).isPositive();
+
+                rocksDBKv.getDb().flush(new FlushOptions().setWaitForFlush(true));
+                for (int i = 0; i < 1000; i++) {
+                    assertThat(rocksDBKv.get(("key-" + i).getBytes())).hasSize(100);
+                }
+                assertThat(rocksDBKv.getBlockCacheHitRate()).isBetween(0.0, 1.0);
+            }
+            assertThat(sharedResources.getBlockCache().isOwningHandle()).isTrue();
+        }
+
+        // the shared resources are not created if disabled
+        assertThat(RocksDBSharedResources.create(new Configuration())).isNull();
+    }
 }
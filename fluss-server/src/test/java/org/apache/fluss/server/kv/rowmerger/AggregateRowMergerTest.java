@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.rowmerger;
+
+import org.apache.fluss.metadata.AggregateFunctionType;
+import org.apache.fluss.metadata.DeleteBehavior;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link AggregateRowMerger}. */
+class AggregateRowMergerTest {
+
+    private static final Schema SCHEMA =
+            Schema.newBuilder()
+                    .column("id", DataTypes.INT())
+                    .column("pv", DataTypes.BIGINT())
+                    .column("cnt", DataTypes.INT())
+                    .column("min_price", DataTypes.DOUBLE())
+                    .column("max_name", DataTypes.STRING())
+                    .column("comment", DataTypes.STRING())
+                    .column("tag", DataTypes.STRING())
+                    .primaryKey("id")
+                    .build();
+    private static final RowType ROW_TYPE = SCHEMA.getRowType();
+
+    @Test
+    void testAggregate() {
+        Map<String, AggregateFunctionType> functions = new HashMap<>();
+        functions.put("pv", AggregateFunctionType.SUM);
+        functions.put("cnt", AggregateFunctionType.COUNT);
+        functions.put("min_price", AggregateFunctionType.MIN);
+        functions.put("max_name", AggregateFunctionType.MAX);
+        functions.put("tag", AggregateFunctionType.LAST);
+        AggregateRowMerger merger =
+                new AggregateRowMerger(SCHEMA, KvFormat.COMPACTED, functions, null);
+        assertThat(merger.deleteBehavior()).isEqualTo(DeleteBehavior.IGNORE);
+        assertThat(merger.configureTargetColumns(null)).isSameAs(merger);
+
+        // the count column is initialized by the inserted row
+        assertThat(merger.insert(row(1, 10L, 7, 3.0, "b", "c1", "t1")))
+                .isEqualTo(row(1, 10L, 1, 3.0, "b", "c1", "t1"));
+
+        // the merged rows are backed by the reused encoder, so the expected rows are used as the
+        // old rows of the next merges
+        assertThat(
+                        merger.merge(
+                                row(1, 10L, 1, 3.0, "b", "c1", "t1"),
+                                row(1, 5L, null, 2.0, "a", null, null)))
+                .isEqualTo(row(1, 15L, 1, 2.0, "b", "c1", null));
+        assertThat(
+                        merger.merge(
+                                row(1, 15L, 1, 2.0, "b", "c1", null),
+                                row(1, null, 9, 4.0, "c", "c2", "t2")))
+                .isEqualTo(row(1, 15L, 2, 2.0, "c", "c2", "t2"));
+
+        // nothing changes if no column is aggregated into a new value
+        BinaryRow oldRow = row(1, 15L, 2, 2.0, "c", "c2", null);
+        assertThat(merger.merge(oldRow, row(1, null, null, 5.0, "a", null, null)))
+                .isSameAs(oldRow);
+    }
+
+    @Test
+    void testInsertWithoutCount() {
+        AggregateRowMerger merger =
+                new AggregateRowMerger(
+                        SCHEMA,
+                        KvFormat.COMPACTED,
+                        Collections.singletonMap("pv", AggregateFunctionType.SUM),
+                        DeleteBehavior.DISABLE);
+        BinaryRow newRow = row(1, 10L, 7, 3.0, "b", "c1", "t1");
+        assertThat(merger.insert(newRow)).isSameAs(newRow);
+        assertThat(merger.deleteBehavior()).isEqualTo(DeleteBehavior.DISABLE);
+    }
+
+    @Test
+    void testInvalidAggregateFunctions() {
+        assertThatThrownBy(
+                        () ->
+                                new AggregateRowMerger(
+                                        SCHEMA,
+                                        KvFormat.COMPACTED,
+                                        Collections.singletonMap("id", AggregateFunctionType.SUM),
+                                        null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The primary key column 'id' can't be aggregated");
+        assertThatThrownBy(
+                        () ->
+                                new AggregateRowMerger(
+                                        SCHEMA,
+                                        KvFormat.COMPACTED,
+                                        Collections.singletonMap("uv", AggregateFunctionType.SUM),
+                                        null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The columns [uv] for the aggregate merge engine");
+        assertThatThrownBy(
+                        () ->
+                                new AggregateRowMerger(
+                                        SCHEMA,
+                                        KvFormat.COMPACTED,
+                                        Collections.singletonMap(
+                                                "comment", AggregateFunctionType.SUM),
+                                        null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(
+                        "The aggregate function 'sum' of column 'comment' doesn't support type");
+        assertThatThrownBy(
+                        () ->
+                                new AggregateRowMerger(
+                                        SCHEMA,
+                                        KvFormat.COMPACTED,
+                                        Collections.emptyMap(),
+                                        DeleteBehavior.ALLOW))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("DELETE is not supported for the aggregate merge engine.");
+    }
+
+    @Test
+    void testPartialUpdateNotSupported() {
+        AggregateRowMerger merger =
+                new AggregateRowMerger(SCHEMA, KvFormat.COMPACTED, Collections.emptyMap(), null);
+        assertThatThrownBy(() -> merger.configureTargetColumns(new int[] {0, 1}))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Partial update is not supported for the aggregate merge engine.");
+    }
+
+    private static BinaryRow row(Object... values) {
+        return compactedRow(ROW_TYPE, values);
+    }
+}
@@ -33,13 +33,19 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.api.io.TempDir;
 import org.rocksdb.RocksDB;
 
+import javax.annotation.Nullable;
+
+import java.io.File;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.apache.fluss.server.testutils.KvTestUtils.checkSnapshotIncrementWithNewlyFiles;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -148,6 +154,77 @@ class RocksIncrementalSnapshotTest {
         }
     }
 
+    @Test
+    void testIncrementalSnapshotWithLocalCache(
+            @TempDir Path snapshotBaseDir, @TempDir Path localCacheDir, @TempDir Path restoreDir)
+            throws Exception {
+        FsPath testingTabletDir = FsPath.fromLocalFile(snapshotBaseDir.toFile());
+        SnapshotLocation snapshotLocation =
+                new SnapshotLocation(
+                        LocalFileSystem.getSharedInstance(),
+                        FlussPaths.remoteKvSnapshotDir(testingTabletDir, 1L),
+                        FlussPaths.remoteKvSharedDir(testingTabletDir),
+                        1024);
+        KvSnapshotLocalCache localCache = new KvSnapshotLocalCache(localCacheDir.toFile());
+        try (CloseableRegistry closeableRegistry = new CloseableRegistry();
+                RocksIncrementalSnapshot incrementalSnapshot =
+                        createIncrementalSnapshot(localCache)) {
+            RocksDB rocksDB = rocksDBExtension.getRocksDb();
+            rocksDB.put("key1".getBytes(), "val1".getBytes());
+            KvSnapshotHandle kvSnapshotHandle1 =
+                    snapshot(1L, incrementalSnapshot, snapshotLocation, closeableRegistry);
+            incrementalSnapshot.notifySnapshotComplete(1L);
+            assertThat(cachedFileNames(localCacheDir))
+                    .containsExactlyInAnyOrderElementsOf(remoteFileNames(kvSnapshotHandle1));
+
+            rocksDB.put("key2".getBytes(), "val2".getBytes());
+            KvSnapshotHandle kvSnapshotHandle2 =
+                    snapshot(2L, incrementalSnapshot, snapshotLocation, closeableRegistry);
+            // the aborted snapshot shouldn't be kept in the cache
+            incrementalSnapshot.notifySnapshotAbort(2L);
+            assertThat(cachedFileNames(localCacheDir))
+                    .containsExactlyInAnyOrderElementsOf(remoteFileNames(kvSnapshotHandle1));
+
+            rocksDB.put("key3".getBytes(), "val3".getBytes());
+            KvSnapshotHandle kvSnapshotHandle3 =
+                    snapshot(3L, incrementalSnapshot, snapshotLocation, closeableRegistry);
+            incrementalSnapshot.notifySnapshotComplete(3L);
+            List<String> abortedFileNames = remoteFileNames(kvSnapshotHandle2);
+            abortedFileNames.removeAll(remoteFileNames(kvSnapshotHandle1));
+            assertThat(cachedFileNames(localCacheDir))
+                    .containsExactlyInAnyOrderElementsOf(remoteFileNames(kvSnapshotHandle3))
+                    .doesNotContainAnyElementsOf(abortedFileNames);
+
+            // all the sst files of the latest snapshot can be restored from the local cache
+            Path dbPath = restoreDir.resolve("db");
+            assertThat(localCache.linkTo(dbPath, kvSnapshotHandle3.getSharedKvFileHandles()))
+                    .isEmpty();
+            for (KvFileHandleAndLocalPath handle : kvSnapshotHandle3.getSharedKvFileHandles()) {
+                assertThat(dbPath.resolve(handle.getLocalPath()))
+                        .hasSize(handle.getKvFileHandle().getSize());
+            }
+            // but the sst file of the aborted snapshot should be downloaded
+            assertThat(
+                            localCache.linkTo(
+                                    restoreDir.resolve("db2"),
+                                    kvSnapshotHandle2.getSharedKvFileHandles()))
+                    .hasSize(1);
+        }
+    }
+
+    private static List<String> cachedFileNames(Path localCacheDir) {
+        File[] files = localCacheDir.toFile().listFiles();
+        return files == null
+                ? Collections.emptyList()
+                : Arrays.stream(files).map(File::getName).collect(Collectors.toList());
+    }
+
+    private static List<String> remoteFileNames(KvSnapshotHandle kvSnapshotHandle) {
+        return kvSnapshotHandle.getSharedKvFileHandles().stream()
+                .map(handle -> new FsPath(handle.getKvFileHandle().getFilePath()).getName())
+                .collect(Collectors.toList());
+    }
+
     private void verifyShareFileEqual(
             KvSnapshotHandle kvSnapshotHandle1, KvSnapshotHandle kvSnapshotHandle2) {
         List<KvFileHandleAndLocalPath> handles1 = kvSnapshotHandle1.getSharedKvFileHandles();
@@ -163,6 +240,11 @@ class RocksIncrementalSnapshotTest {
     }
 
     private RocksIncrementalSnapshot createIncrementalSnapshot() {
+        return createIncrementalSnapshot(null);
+    }
+
+    private RocksIncrementalSnapshot createIncrementalSnapshot(
+            @Nullable KvSnapshotLocalCache localCache) {
         long lastCompletedSnapshotId = -1L;
         Map<Long, Collection<KvFileHandleAndLocalPath>> uploadedSstFiles = new HashMap<>();
         ResourceGuard rocksDBResourceGuard = new ResourceGuard();
@@ -177,7 +259,8 @@ class RocksIncrementalSnapshotTest {
                 rocksDBResourceGuard,
                 snapshotDataUploader,
                 rocksDBExtension.getRockDbDir(),
-                lastCompletedSnapshotId);
+                lastCompletedSnapshotId,
+                localCache);
     }
 
     public KvSnapshotHandle snapshot(
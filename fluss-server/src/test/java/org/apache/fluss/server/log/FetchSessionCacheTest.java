@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.server.log.FetchSessionCache.FetchContext;
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.FINAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link FetchSessionCache}. */
+class FetchSessionCacheTest {
+
+    private static final TableBucket TB0 = new TableBucket(1L, 0);
+    private static final TableBucket TB1 = new TableBucket(1L, 1);
+    private static final TableBucket TB2 = new TableBucket(1L, 2);
+
+    private ManualClock clock;
+    private FetchSessionCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        clock = new ManualClock(System.currentTimeMillis());
+        cache = new FetchSessionCache(2, 1000L, clock);
+    }
+
+    @Test
+    void testSessionlessFetch() {
+        Map<TableBucket, FetchReqInfo> fetchData = fetchData(TB0, 0L, TB1, 0L);
+        FetchContext context =
+                cache.newContext(
+                        INVALID_SESSION_ID, FINAL_EPOCH, fetchData, Collections.emptyList());
+        assertThat(context.error()).isNull();
+        assertThat(context.sessionId()).isEqualTo(INVALID_SESSION_ID);
+        assertThat(context.fetchData()).isEqualTo(fetchData);
+        Map<TableBucket, FetchLogResultForBucket> results = results(TB0, 10L, TB1, 10L);
+        assertThat(context.filterResponse(results)).isEqualTo(results);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testIncrementalFetch() throws Exception {
+        FetchContext fullContext =
+                cache.newContext(
+                        INVALID_SESSION_ID,
+                        INITIAL_EPOCH,
+                        fetchData(TB0, 0L, TB1, 0L),
+                        Collections.emptyList());
+        int sessionId = fullContext.sessionId();
+        assertThat(sessionId).isNotEqualTo(INVALID_SESSION_ID);
+        Map<TableBucket, FetchLogResultForBucket> results = results(TB0, 10L, TB1, 0L);
+        assertThat(fullContext.filterResponse(results)).isEqualTo(results);
+
+        // no bucket changed, only the buckets with a new high watermark or records are returned
+        FetchContext context =
+                cache.newContext(sessionId, 1, Collections.emptyMap(), Collections.emptyList());
+        assertThat(context.error()).isNull();
+        assertThat(context.sessionId()).isEqualTo(sessionId);
+        assertThat(context.fetchData()).isEqualTo(fetchData(TB0, 0L, TB1, 0L));
+        assertThat(context.filterResponse(results(TB0, 10L, TB1, 5L)).keySet())
+                .containsExactly(TB1);
+
+        // update TB0, add TB2 and forget TB1
+        FetchLogResultForBucket recordsResult =
+                new FetchLogResultForBucket(TB0, genMemoryLogRecordsByObject(DATA1), 15L);
+        context =
+                cache.newContext(
+                        sessionId, 2, fetchData(TB0, 10L, TB2, 0L), Collections.singletonList(TB1));
+        assertThat(context.fetchData()).isEqualTo(fetchData(TB0, 10L, TB2, 0L));
+        Map<TableBucket, FetchLogResultForBucket> filtered =
+                context.filterResponse(
+                        results(
+                                TB0,
+                                recordsResult,
+                                TB2,
+                                new FetchLogResultForBucket(
+                                        TB2, Errors.NOT_LEADER_OR_FOLLOWER.toApiError())));
+        assertThat(filtered.keySet()).containsExactlyInAnyOrder(TB0, TB2);
+    }
+
+    @Test
+    void testCachedFetchDataWithFilter() {
+        Map<TableBucket, FetchReqInfo> fetchData = new HashMap<>();
+        for (TableBucket tb : new TableBucket[] {TB0, TB1}) {
+            PbPredicate filter = new PbPredicate();
+            filter.setLeaf().setFunction("IS_NOT_NULL").setFieldIndex(0);
+            fetchData.put(tb, new FetchReqInfo(tb.getTableId(), 0L, 1024, null, filter));
+        }
+        int sessionId =
+                cache.newContext(
+                                INVALID_SESSION_ID,
+                                INITIAL_EPOCH,
+                                fetchData,
+                                Collections.emptyList())
+                        .sessionId();
+
+        // the filters copied into the session are equal to the filters of the request
+        FetchContext context =
+                cache.newContext(sessionId, 1, Collections.emptyMap(), Collections.emptyList());
+        assertThat(context.fetchData()).isEqualTo(fetchData);
+    }
+
+    @Test
+    void testSessionErrors() {
+        FetchContext context =
+                cache.newContext(1, 1, Collections.emptyMap(), Collections.emptyList());
+        assertThat(context.error().error()).isEqualTo(Errors.FETCH_SESSION_ID_NOT_FOUND_EXCEPTION);
+
+        int sessionId =
+                cache.newContext(
+                                INVALID_SESSION_ID,
+                                INITIAL_EPOCH,
+                                fetchData(TB0, 0L, TB1, 0L),
+                                Collections.emptyList())
+                        .sessionId();
+        context = cache.newContext(sessionId, 2, Collections.emptyMap(), Collections.emptyList());
+        assertThat(context.error().error()).isEqualTo(Errors.INVALID_FETCH_SESSION_EPOCH_EXCEPTION);
+        // the epoch is not advanced by an invalid request
+        context = cache.newContext(sessionId, 1, Collections.emptyMap(), Collections.emptyList());
+        assertThat(context.error()).isNull();
+
+        // close the session
+        cache.newContext(sessionId, FINAL_EPOCH, Collections.emptyMap(), Collections.emptyList());
+        assertThat(cache.size()).isEqualTo(0);
+        context = cache.newContext(sessionId, 2, Collections.emptyMap(), Collections.emptyList());
+        assertThat(context.error().error()).isEqualTo(Errors.FETCH_SESSION_ID_NOT_FOUND_EXCEPTION);
+    }
+
+    @Test
+    void testEvictIdleSession() {
+        int session1 = newSession();
+        clock.advanceTime(600L, TimeUnit.MILLISECONDS);
+        int session2 = newSession();
+        assertThat(cache.size()).isEqualTo(2);
+
+        // the cache is full and no session is idle for the timeout
+        assertThat(newSession()).isEqualTo(INVALID_SESSION_ID);
+
+        // the least recently used session is evicted once it is idle for the timeout
+        clock.advanceTime(500L, TimeUnit.MILLISECONDS);
+        int session3 = newSession();
+        assertThat(session3).isNotEqualTo(INVALID_SESSION_ID);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(
+                        cache.newContext(
+                                        session1,
+                                        1,
+                                        Collections.emptyMap(),
+                                        Collections.emptyList())
+                                .error()
+                                .error())
+                .isEqualTo(Errors.FETCH_SESSION_ID_NOT_FOUND_EXCEPTION);
+        assertThat(
+                        cache.newContext(
+                                        session2,
+                                        1,
+                                        Collections.emptyMap(),
+                                        Collections.emptyList())
+                                .error())
+                .isNull();
+    }
+
+    @Test
+    void testDisableSessions() {
+        cache = new FetchSessionCache(0, 1000L, clock);
+        assertThat(newSession()).isEqualTo(INVALID_SESSION_ID);
+    }
+
+    private int newSession() {
+        return cache.newContext(
+                        INVALID_SESSION_ID,
+                        INITIAL_EPOCH,
+                        fetchData(TB0, 0L, TB1, 0L),
+                        Collections.emptyList())
+                .sessionId();
+    }
+
+    private static Map<TableBucket, FetchReqInfo> fetchData(
+            TableBucket tb1, long offset1, TableBucket tb2, long offset2) {
+        Map<TableBucket, FetchReqInfo> fetchData = new HashMap<>();
+        fetchData.put(tb1, new FetchReqInfo(tb1.getTableId(), offset1, 1024));
+        fetchData.put(tb2, new FetchReqInfo(tb2.getTableId(), offset2, 1024));
+        return fetchData;
+    }
+
+    private static Map<TableBucket, FetchLogResultForBucket> results(
+            TableBucket tb1, long highWatermark1, TableBucket tb2, long highWatermark2) {
+        return results(
+                tb1,
+                new FetchLogResultForBucket(tb1, MemoryLogRecords.EMPTY, highWatermark1),
+                tb2,
+                new FetchLogResultForBucket(tb2, MemoryLogRecords.EMPTY, highWatermark2));
+    }
+
+    private static Map<TableBucket, FetchLogResultForBucket> results(
+            TableBucket tb1,
+            FetchLogResultForBucket result1,
+            TableBucket tb2,
+            FetchLogResultForBucket result2) {
+        Map<TableBucket, FetchLogResultForBucket> results = new HashMap<>();
+        results.put(tb1, result1);
+        results.put(tb2, result2);
+        return results;
+    }
+}
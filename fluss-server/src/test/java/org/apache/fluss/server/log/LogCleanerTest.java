@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogTestBase;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.server.metrics.group.TestingMetricGroups;
+import org.apache.fluss.server.zk.NOPErrorHandler;
+import org.apache.fluss.server.zk.ZooKeeperClient;
+import org.apache.fluss.server.zk.ZooKeeperExtension;
+import org.apache.fluss.server.zk.data.TableRegistration;
+import org.apache.fluss.testutils.common.AllCallbackWrapper;
+import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.clock.ManualClock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
+import static org.apache.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link LogCleaner}. */
+final class LogCleanerTest extends LogTestBase {
+    @RegisterExtension
+    public static final AllCallbackWrapper<ZooKeeperExtension> ZOO_KEEPER_EXTENSION_WRAPPER =
+            new AllCallbackWrapper<>(new ZooKeeperExtension());
+
+    private static ZooKeeperClient zkClient;
+
+    private @TempDir File tempDir;
+    private File logDir;
+    private FlussScheduler scheduler;
+    private ManualClock clock;
+    private LogTablet logTablet;
+    private LogCleaner logCleaner;
+
+    @BeforeAll
+    static void baseBeforeAll() {
+        zkClient =
+                ZOO_KEEPER_EXTENSION_WRAPPER
+                        .getCustomExtension()
+                        .getZooKeeperClient(NOPErrorHandler.INSTANCE);
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        super.before();
+        ZOO_KEEPER_EXTENSION_WRAPPER.getCustomExtension().cleanupRoot();
+        TableDescriptor tableDescriptor =
+                TableDescriptor.builder()
+                        .schema(DATA1_SCHEMA_PK)
+                        .distributedBy(3, "a")
+                        .property(ConfigOptions.TABLE_LOG_COMPACTION_ENABLED, true)
+                        .property(
+                                ConfigOptions.TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION,
+                                Duration.ofHours(1))
+                        .build();
+        zkClient.registerTable(
+                DATA1_TABLE_PATH_PK,
+                TableRegistration.newTable(DATA1_TABLE_ID_PK, tableDescriptor));
+        zkClient.registerSchema(DATA1_TABLE_PATH_PK, DATA1_SCHEMA_PK);
+
+        logDir =
+                LogTestUtils.makeRandomLogTabletDir(
+                        tempDir,
+                        DATA1_TABLE_PATH_PK.getDatabaseName(),
+                        DATA1_TABLE_ID_PK,
+                        DATA1_TABLE_PATH_PK.getTableName());
+        scheduler = new FlussScheduler(1);
+        scheduler.startup();
+        clock = new ManualClock(System.currentTimeMillis());
+        logTablet = createLogTablet();
+        logCleaner =
+                new LogCleaner(
+                        tempDir,
+                        conf,
+                        zkClient,
+                        clock,
+                        () -> Collections.singletonList(logTablet));
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        logTablet.close();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testCleanSupersededBatches() throws Exception {
+        appendAndRoll(
+                Arrays.asList(ChangeType.INSERT, ChangeType.INSERT),
+                Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"}));
+        appendAndRoll(
+                Arrays.asList(ChangeType.UPDATE_BEFORE, ChangeType.UPDATE_AFTER),
+                Arrays.asList(new Object[] {1, "a"}, new Object[] {1, "a1"}));
+        appendAndRoll(
+                Collections.singletonList(ChangeType.DELETE),
+                Collections.singletonList(new Object[] {2, "b"}));
+        append(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {3, "c"}));
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        assertThat(readBatchBaseOffsets()).containsExactly(0L, 2L, 4L, 5L);
+
+        logCleaner.cleanLogs();
+        // the first batch only contains superseded changes, the tombstone of key 2 is retained
+        // as it hasn't been included in the kv snapshot yet
+        assertThat(readBatchBaseOffsets()).containsExactly(2L, 4L, 5L);
+        assertThat(logTablet.logSegments()).hasSize(4);
+        assertThat(logTablet.localLogStartOffset()).isEqualTo(0L);
+        assertThat(logTablet.localLogEndOffset()).isEqualTo(6L);
+
+        // cleaning again without new dirty segments changes nothing
+        logCleaner.cleanLogs();
+        assertThat(readBatchBaseOffsets()).containsExactly(2L, 4L, 5L);
+
+        // the tombstone is removed once it's older than the retention and in the kv snapshot
+        logTablet.updateMinRetainOffset(6L);
+        clock.advanceTime(2, TimeUnit.HOURS);
+        appendAndRoll(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {4, "d"}));
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        logCleaner.cleanLogs();
+        assertThat(readBatchBaseOffsets()).containsExactly(2L, 5L, 6L);
+        assertThat(new File(tempDir, LogCleaner.CLEANER_OFFSET_CHECKPOINT_FILE)).exists();
+
+        // the cleaned segments are recovered after restart
+        logTablet.close();
+        logTablet = createLogTablet();
+        assertThat(logTablet.localLogEndOffset()).isEqualTo(7L);
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        assertThat(readBatchBaseOffsets()).containsExactly(2L, 5L, 6L);
+    }
+
+    @Test
+    void testRetainLastBatchOfActiveWriter() throws Exception {
+        long writerId = 100L;
+        appendAndRoll(
+                writerId,
+                0,
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a"}));
+        appendAndRoll(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a1"}));
+        append(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {2, "b"}));
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+
+        logCleaner.cleanLogs();
+        // the superseded batch is retained as it's the last batch of the writer
+        assertThat(readBatchBaseOffsets()).containsExactly(0L, 1L, 2L);
+    }
+
+    @Test
+    void testBoundOffsetMapAtRecordBatch() throws Exception {
+        // the dedupe buffer only fits one record batch in each round
+        conf.set(ConfigOptions.LOG_CLEANER_DEDUPE_BUFFER_SIZE, MemorySize.parse("1b"));
+        logCleaner =
+                new LogCleaner(
+                        tempDir,
+                        conf,
+                        zkClient,
+                        clock,
+                        () -> Collections.singletonList(logTablet));
+        append(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a"}));
+        append(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a1"}));
+        appendAndRoll(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {2, "b"}));
+        append(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {2, "b1"}));
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+
+        // the batches after the end of the map are retained
+        logCleaner.cleanLogs();
+        assertThat(readBatchBaseOffsets()).containsExactly(0L, 1L, 2L, 3L);
+        logCleaner.cleanLogs();
+        assertThat(readBatchBaseOffsets()).containsExactly(1L, 2L, 3L);
+        // the active segment is never cleaned
+        logCleaner.cleanLogs();
+        assertThat(readBatchBaseOffsets()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void testDeleteReplacedSegmentAfterDelay() throws Exception {
+        logTablet.close();
+        conf.set(ConfigOptions.LOG_CLEANER_FILE_DELETE_DELAY, Duration.ofMillis(500));
+        logTablet = createLogTablet();
+        appendAndRoll(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a"}));
+        appendAndRoll(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a1"}));
+        append(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {2, "b"}));
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+
+        logCleaner.cleanLogs();
+        assertThat(readBatchBaseOffsets()).containsExactly(1L, 2L);
+        // the replaced segment is kept for the in-flight readers until the delay passes
+        File replacedFile =
+                new File(
+                        FlussPaths.logFile(logDir, 0L).getPath()
+                                + FlussPaths.DELETED_FILE_SUFFIX);
+        assertThat(replacedFile).exists();
+        retry(Duration.ofMinutes(1), () -> assertThat(replacedFile).doesNotExist());
+        assertThat(FlussPaths.logFile(logDir, 0L)).exists();
+    }
+
+    @Test
+    void testRecoverInterruptedSegmentReplacement() throws Exception {
+        appendAndRoll(
+                Collections.singletonList(ChangeType.INSERT),
+                Collections.singletonList(new Object[] {1, "a"}));
+        logTablet.close();
+
+        // a cleaned segment which hasn't been swapped in should be discarded
+        File cleanedFile =
+                new File(
+                        FlussPaths.logFile(logDir, 0L).getPath()
+                                + FlussPaths.CLEANED_FILE_SUFFIX);
+        assertThat(cleanedFile.createNewFile()).isTrue();
+        // a replaced segment waiting for the delayed deletion should be deleted
+        File replacedFile =
+                new File(
+                        FlussPaths.logFile(logDir, 1L).getPath()
+                                + FlussPaths.DELETED_FILE_SUFFIX);
+        assertThat(replacedFile.createNewFile()).isTrue();
+
+        logTablet = createLogTablet();
+        assertThat(cleanedFile).doesNotExist();
+        assertThat(replacedFile).doesNotExist();
+        logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        assertThat(readBatchBaseOffsets()).containsExactly(0L);
+    }
+
+    private LogTablet createLogTablet() throws Exception {
+        return LogTablet.create(
+                PhysicalTablePath.of(DATA1_TABLE_PATH_PK),
+                logDir,
+                conf,
+                TestingMetricGroups.TABLET_SERVER_METRICS,
+                0,
+                scheduler,
+                LogFormat.ARROW,
+                1,
+                true,
+                clock,
+                false);
+    }
+
+    private void append(List<ChangeType> changeTypes, List<Object[]> values) throws Exception {
+        append(NO_WRITER_ID, NO_BATCH_SEQUENCE, changeTypes, values);
+    }
+
+    private void append(
+            long writerId, int batchSequence, List<ChangeType> changeTypes, List<Object[]> values)
+            throws Exception {
+        MemoryLogRecords records =
+                createBasicMemoryLogRecords(
+                        DATA1_SCHEMA_PK.getRowType(),
+                        schemaId,
+                        0L,
+                        clock.milliseconds(),
+                        magic,
+                        writerId,
+                        batchSequence,
+                        changeTypes,
+                        values,
+                        LogFormat.ARROW,
+                        DEFAULT_COMPRESSION);
+        logTablet.appendAsLeader(records);
+    }
+
+    private void appendAndRoll(List<ChangeType> changeTypes, List<Object[]> values)
+            throws Exception {
+        appendAndRoll(NO_WRITER_ID, NO_BATCH_SEQUENCE, changeTypes, values);
+    }
+
+    private void appendAndRoll(
+            long writerId, int batchSequence, List<ChangeType> changeTypes, List<Object[]> values)
+            throws Exception {
+        append(writerId, batchSequence, changeTypes, values);
+        logTablet.roll(Optional.empty());
+    }
+
+    private List<Long> readBatchBaseOffsets() throws Exception {
+        List<Long> baseOffsets = new ArrayList<>();
+        long readOffset = logTablet.localLogStartOffset();
+        while (readOffset < logTablet.getHighWatermark()) {
+            FetchDataInfo fetchDataInfo =
+                    logTablet.read(
+                            readOffset, Integer.MAX_VALUE, FetchIsolation.LOG_END, true, null);
+            long nextOffset = readOffset;
+            for (LogRecordBatch batch : fetchDataInfo.getRecords().batches()) {
+                baseOffsets.add(batch.baseLogOffset());
+                nextOffset = batch.nextLogOffset();
+            }
+            if (nextOffset == readOffset) {
+                break;
+            }
+            readOffset = nextOffset;
+        }
+        return baseOffsets;
+    }
+}
@@ -21,8 +21,10 @@ import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.MemorySize;
 import org.apache.fluss.exception.LogSegmentOffsetOverflowException;
 import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.LogTestBase;
@@ -36,12 +38,15 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.server.log.LogSegment.FILTER_SCAN_SIZE_FACTOR;
 import static org.apache.fluss.testutils.DataTestUtils.assertLogRecordsEquals;
 import static org.apache.fluss.testutils.DataTestUtils.genLogRecordsWithBaseOffsetAndTimestamp;
 import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsWithBaseOffset;
@@ -141,6 +146,54 @@ final class LogSegmentTest extends LogTestBase {
         assertLogRecordsEquals(read.getRecords(), memoryRecords2);
     }
 
+    @Test
+    void testReadWithFilterBoundsScannedBytes() throws Exception {
+        LogSegment segment = createSegment(0);
+        int numBatches = FILTER_SCAN_SIZE_FACTOR * 4;
+        int recordsPerBatch = 200;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < recordsPerBatch; i++) {
+            rows.add(new Object[] {i, "value-" + i});
+        }
+        for (int i = 0; i < numBatches; i++) {
+            long baseOffset = (long) i * recordsPerBatch;
+            segment.append(
+                    baseOffset + recordsPerBatch - 1,
+                    -1L,
+                    -1L,
+                    genMemoryLogRecordsWithBaseOffset(baseOffset, rows));
+        }
+        int batchSize = segment.getSizeInBytes() / numBatches;
+        // no record matches the filter
+        LogRecordBatchFilter filter =
+                new LogRecordBatchFilter(
+                        new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, recordsPerBatch),
+                        LogFormat.ARROW,
+                        DATA1_ROW_TYPE);
+
+        long fetchOffset = 0L;
+        int reads = 0;
+        while (fetchOffset < (long) numBatches * recordsPerBatch) {
+            FetchDataInfo read =
+                    segment.read(
+                            fetchOffset, batchSize, segment.getSizeInBytes(), true, null, filter);
+            assertThat(read).isNotNull();
+            List<LogRecordBatch> batches = new ArrayList<>();
+            read.getRecords().batches().forEach(batches::add);
+            // only the filtered out batches in the scanned range are returned
+            assertThat(batches).isNotEmpty().hasSizeLessThanOrEqualTo(FILTER_SCAN_SIZE_FACTOR);
+            for (LogRecordBatch batch : batches) {
+                assertThat(batch.getRecordCount()).isEqualTo(0);
+            }
+            // the next read resumes from the end of the scanned range
+            assertThat(batches.get(0).baseLogOffset()).isEqualTo(fetchOffset);
+            fetchOffset = batches.get(batches.size() - 1).nextLogOffset();
+            reads++;
+        }
+        assertThat(fetchOffset).isEqualTo((long) numBatches * recordsPerBatch);
+        assertThat(reads).isGreaterThanOrEqualTo(4);
+    }
+
     @Test
     void testTruncate() throws Exception {
         // In a loop append two messages then truncate off the second of those messages and check
@@ -22,6 +22,7 @@ import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.server.coordinator.TestCoordinatorGateway;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
+import org.apache.fluss.server.entity.NotifyLeaderAndIsrResultForBucket;
 import org.apache.fluss.server.log.checkpoint.OffsetCheckpointFile;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 
@@ -30,6 +31,8 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.apache.fluss.record.TestData.ANOTHER_DATA1;
 import static org.apache.fluss.record.TestData.DATA1;
@@ -94,6 +97,8 @@ final class HighWatermarkPersistenceTest extends ReplicaTestBase {
 
         // add another replica and set highWatermark.
         TableBucket tableBucket1 = new TableBucket(DATA2_TABLE_ID, 0);
+        CompletableFuture<List<NotifyLeaderAndIsrResultForBucket>> future =
+                new CompletableFuture<>();
         replicaManager.becomeLeaderOrFollower(
                 INITIAL_COORDINATOR_EPOCH,
                 Collections.singletonList(
@@ -107,7 +112,8 @@ final class HighWatermarkPersistenceTest extends ReplicaTestBase {
                                         Collections.singletonList(TABLET_SERVER_ID),
                                         INITIAL_COORDINATOR_EPOCH,
                                         LeaderAndIsr.INITIAL_BUCKET_EPOCH))),
-                result -> {});
+                future::complete);
+        future.get();
 
         replicaManager.checkpointHighWatermarks();
         long highWatermark1 = highWatermarkFor(tableBucket1);
@@ -29,6 +29,8 @@ import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.ChangeType;
 import org.apache.fluss.record.DefaultValueRecordBatch;
 import org.apache.fluss.record.KvRecord;
@@ -38,6 +40,7 @@ import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.BinaryString;
 import org.apache.fluss.row.encode.CompactedKeyEncoder;
 import org.apache.fluss.row.encode.ValueEncoder;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
@@ -107,6 +110,7 @@ import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
 import static org.apache.fluss.record.TestData.DATA_1_WITH_KEY_AND_VALUE;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.apache.fluss.record.TestData.EXPECTED_LOG_RESULTS_FOR_DATA_1_WITH_PK;
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPbPredicate;
 import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
 import static org.apache.fluss.server.metadata.PartitionMetadata.DELETED_PARTITION_ID;
 import static org.apache.fluss.server.metadata.TableMetadata.DELETED_TABLE_ID;
@@ -300,6 +304,86 @@ class ReplicaManagerTest extends ReplicaTestBase {
         assertThat(records1.batches()).hasSize(0);
     }
 
+    @Test
+    void testFetchLogWithClientRack() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 1);
+        // server 1 in rack1 is the leader, server 2 in rack2 is in sync, server 3 in rack3 is not
+        makeLogTableAsLeader(tb, Arrays.asList(1, 2, 3), Arrays.asList(1, 2), false);
+
+        // the in-sync follower in the same rack as the client is the preferred read replica
+        assertThat(fetchWithClientRack(tb, "rack2").getPreferredReadReplica()).isEqualTo(2);
+        // the client in the same rack as the leader fetches from the leader
+        assertThat(fetchWithClientRack(tb, "rack1").getPreferredReadReplica()).isNull();
+        // the follower in the same rack as the client is not in sync
+        assertThat(fetchWithClientRack(tb, "rack3").getPreferredReadReplica()).isNull();
+        assertThat(fetchWithClientRack(tb, "rack4").getPreferredReadReplica()).isNull();
+    }
+
+    private FetchLogResultForBucket fetchWithClientRack(TableBucket tb, String clientRack)
+            throws Exception {
+        CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
+                new CompletableFuture<>();
+        replicaManager.fetchLogRecords(
+                new FetchParams(
+                        -1,
+                        clientRack,
+                        Integer.MAX_VALUE,
+                        FetchParams.DEFAULT_MIN_FETCH_BYTES,
+                        FetchParams.DEFAULT_MAX_WAIT_MS),
+                Collections.singletonMap(tb, new FetchReqInfo(tb.getTableId(), 0L, 1024 * 1024)),
+                future::complete);
+        FetchLogResultForBucket resultForBucket = future.get().get(tb);
+        assertThat(resultForBucket.failed()).isFalse();
+        return resultForBucket;
+    }
+
+    @Test
+    void testFetchLogWithFilter() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 1);
+        makeLogTableAsLeader(tb.getBucket());
+
+        // produce two batches to this bucket.
+        for (List<Object[]> data : Arrays.asList(DATA1, ANOTHER_DATA1)) {
+            CompletableFuture<List<ProduceLogResultForBucket>> future = new CompletableFuture<>();
+            replicaManager.appendRecordsToLog(
+                    20000,
+                    1,
+                    Collections.singletonMap(tb, genMemoryLogRecordsByObject(data)),
+                    future::complete);
+            assertThat(future.get().get(0).failed()).isFalse();
+        }
+
+        // fetch with a filter only matches the second batch, the first batch is returned as an
+        // empty batch to advance the fetch offset.
+        Predicate filter =
+                new PredicateBuilder(DATA1_ROW_TYPE).equal(1, BinaryString.fromString("c1"));
+        CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
+                new CompletableFuture<>();
+        replicaManager.fetchLogRecords(
+                buildFetchParams(-1),
+                Collections.singletonMap(
+                        tb,
+                        new FetchReqInfo(
+                                tb.getTableId(),
+                                0L,
+                                Integer.MAX_VALUE,
+                                null,
+                                toPbPredicate(filter))),
+                future::complete);
+        FetchLogResultForBucket resultForBucket = future.get().get(tb);
+        assertThat(resultForBucket.getHighWatermark()).isEqualTo(20L);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        resultForBucket.records().batches().forEach(batches::add);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).getRecordCount()).isEqualTo(0);
+        assertThat(batches.get(0).nextLogOffset()).isEqualTo(10L);
+        assertThat(batches.get(1).getRecordCount()).isEqualTo(ANOTHER_DATA1.size());
+        assertMemoryRecordsEquals(
+                DATA1_ROW_TYPE,
+                resultForBucket.records(),
+                Arrays.asList(Collections.emptyList(), ANOTHER_DATA1));
+    }
+
     @Test
     void testFetchLogWithMaxBytesLimit() throws Exception {
         TableBucket tb = new TableBucket(DATA1_TABLE_ID, 1);
@@ -691,6 +775,31 @@ class ReplicaManagerTest extends ReplicaTestBase {
                 ValueEncoder.encodeValue(DEFAULT_SCHEMA_ID, compactedRow(DATA1_ROW_TYPE, value1));
         verifyLookup(tb, key1Bytes, value1Bytes);
 
+        // lookup with projection, only the projected fields are returned.
+        CompletableFuture<Map<TableBucket, LookupResultForBucket>> projectedFuture =
+                new CompletableFuture<>();
+        replicaManager.lookups(
+                Collections.singletonMap(tb, Collections.singletonList(key1Bytes)),
+                new int[] {1, 0},
+                projectedFuture::complete);
+        RowType projectedRowType = DATA1_ROW_TYPE.project(new int[] {1, 0});
+        assertThat(projectedFuture.get().get(tb).lookupValues())
+                .containsExactly(
+                        ValueEncoder.encodeValue(
+                                DEFAULT_SCHEMA_ID,
+                                compactedRow(
+                                        projectedRowType, new Object[] {value1[1], value1[0]})));
+
+        // lookup with an out of bound projection.
+        CompletableFuture<Map<TableBucket, LookupResultForBucket>> invalidFuture =
+                new CompletableFuture<>();
+        replicaManager.lookups(
+                Collections.singletonMap(tb, Collections.singletonList(key1Bytes)),
+                new int[] {2},
+                invalidFuture::complete);
+        assertThat(invalidFuture.get().get(tb).getError().error())
+                .isEqualTo(Errors.INVALID_COLUMN_PROJECTION);
+
         // key = 3 is deleted, need return null.
         Object[] key3 = DATA_1_WITH_KEY_AND_VALUE.get(2).f0;
         byte[] key3Bytes = keyEncoder.encodeKey(row(key3));
@@ -701,6 +810,7 @@ class ReplicaManagerTest extends ReplicaTestBase {
         makeLogTableAsLeader(tb2.getBucket());
         replicaManager.lookups(
                 Collections.singletonMap(tb2, Collections.singletonList(key1Bytes)),
+                null,
                 (lookupResultForBuckets) -> {
                     LookupResultForBucket lookupResultForBucket = lookupResultForBuckets.get(tb2);
                     assertThat(lookupResultForBucket.failed()).isTrue();
@@ -787,6 +897,22 @@ class ReplicaManagerTest extends ReplicaTestBase {
                 Arrays.asList(prefixKey1Bytes, prefixKey2Bytes),
                 Arrays.asList(key1ExpectedValues, key2ExpectedValues));
 
+        // prefix lookup with projection, only the projected fields are returned.
+        CompletableFuture<Map<TableBucket, PrefixLookupResultForBucket>> projectedFuture =
+                new CompletableFuture<>();
+        replicaManager.prefixLookups(
+                Collections.singletonMap(tb, Collections.singletonList(prefixKey2Bytes)),
+                new int[] {3, 2},
+                projectedFuture::complete);
+        RowType projectedRowType = rowType.project(new int[] {3, 2});
+        List<List<byte[]>> projectedValues = projectedFuture.get().get(tb).prefixLookupValues();
+        assertThat(projectedValues).hasSize(1);
+        assertThat(projectedValues.get(0))
+                .containsExactly(
+                        ValueEncoder.encodeValue(
+                                DEFAULT_SCHEMA_ID,
+                                compactedRow(projectedRowType, new Object[] {"value4", 4L})));
+
         // Prefix lookup an unsupported prefixLookup table (a log table).
         tableId =
                 registerTableInZkClient(
@@ -799,6 +925,7 @@ class ReplicaManagerTest extends ReplicaTestBase {
         makeLogTableAsLeader(tb3, false);
         replicaManager.prefixLookups(
                 Collections.singletonMap(tb3, Collections.singletonList(prefixKey2Bytes)),
+                null,
                 (prefixLookupResultForBuckets) -> {
                     PrefixLookupResultForBucket lookupResultForBucket =
                             prefixLookupResultForBuckets.get(tb3);
@@ -1790,7 +1917,7 @@ class ReplicaManagerTest extends ReplicaTestBase {
 
         CompletableFuture<Map<TableBucket, PrefixLookupResultForBucket>> future =
                 new CompletableFuture<>();
-        replicaManager.prefixLookups(entriesPerBucket, future::complete);
+        replicaManager.prefixLookups(entriesPerBucket, null, future::complete);
         Map<TableBucket, PrefixLookupResultForBucket> prefixResult = future.get();
         assertThat(prefixResult.size()).isEqualTo(1);
         PrefixLookupResultForBucket resultForBucket = prefixResult.get(tb);
@@ -18,10 +18,12 @@
 package org.apache.fluss.server.replica;
 
 import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.exception.NotLeaderOrFollowerException;
 import org.apache.fluss.exception.OutOfOrderSequenceException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.ChangeType;
 import org.apache.fluss.record.KvRecordBatch;
@@ -55,6 +57,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -66,12 +71,14 @@ import static org.apache.fluss.record.TestData.DATA1;
 import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH;
 import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH_PK;
 import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
+import static org.apache.fluss.server.zk.data.LeaderAndIsr.INITIAL_BUCKET_EPOCH;
 import static org.apache.fluss.server.zk.data.LeaderAndIsr.INITIAL_LEADER_EPOCH;
 import static org.apache.fluss.testutils.DataTestUtils.assertLogRecordsEquals;
 import static org.apache.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
@@ -81,6 +88,7 @@ import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObje
 import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsWithWriterId;
 import static org.apache.fluss.testutils.DataTestUtils.getKeyValuePairs;
 import static org.apache.fluss.testutils.LogRecordsAssert.assertThatLogRecords;
+import static org.apache.fluss.testutils.common.CommonTestUtils.waitValue;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -168,6 +176,45 @@ final class ReplicaTest extends ReplicaTestBase {
         assertThat(logReplica.getLocalLogEndOffset()).isEqualTo(20);
     }
 
+    @Test
+    void testFetchRecordsFromFollower() throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID, 1);
+        Replica logReplica = makeLogReplica(DATA1_PHYSICAL_TABLE_PATH, tableBucket);
+        logReplica.makeFollower(
+                new NotifyLeaderAndIsrData(
+                        DATA1_PHYSICAL_TABLE_PATH,
+                        tableBucket,
+                        Arrays.asList(2, TABLET_SERVER_ID),
+                        new LeaderAndIsr(
+                                2,
+                                INITIAL_LEADER_EPOCH,
+                                Arrays.asList(2, TABLET_SERVER_ID),
+                                INITIAL_COORDINATOR_EPOCH,
+                                INITIAL_BUCKET_EPOCH)));
+        long writerId = 101L;
+        logReplica.appendRecordsToFollower(genMemoryLogRecordsWithWriterId(DATA1, writerId, 0, 0));
+        logReplica.appendRecordsToFollower(genMemoryLogRecordsWithWriterId(DATA1, writerId, 1, 10));
+        // the high watermark of follower is its log end offset
+        logReplica.getLogTablet().updateHighWatermark(20L);
+
+        // the client fetch without client rack can only be served by the leader
+        assertThatThrownBy(() -> fetchRecords(logReplica))
+                .isInstanceOf(NotLeaderOrFollowerException.class);
+
+        // the client fetch with client rack is served up to the high watermark of leader
+        logReplica.updateLeaderHighWatermark(10L);
+        LogReadInfo logReadInfo = fetchRecordsWithClientRack(logReplica, 0L);
+        assertThat(logReadInfo.getHighWatermark()).isEqualTo(10L);
+        assertLogRecordsEquals(DATA1_ROW_TYPE, logReadInfo.getFetchedData().getRecords(), DATA1);
+        logReadInfo = fetchRecordsWithClientRack(logReplica, 10L);
+        assertThat(logReadInfo.getFetchedData().getRecords().sizeInBytes()).isEqualTo(0);
+
+        logReplica.updateLeaderHighWatermark(20L);
+        logReadInfo = fetchRecordsWithClientRack(logReplica, 10L);
+        assertThat(logReadInfo.getHighWatermark()).isEqualTo(20L);
+        assertLogRecordsEquals(DATA1_ROW_TYPE, logReadInfo.getFetchedData().getRecords(), DATA1);
+    }
+
     @Test
     void testPartialPutRecordsToLeader() throws Exception {
         Replica kvReplica =
@@ -633,6 +680,208 @@ final class ReplicaTest extends ReplicaTestBase {
         verifyGetKeyValues(kvTablet, expectedKeyValues);
     }
 
+    @Test
+    void testEstimateLeaderInitCost(@TempDir Path snapshotKvTabletDirPath) throws Exception {
+        Replica logReplica =
+                makeLogReplica(DATA1_PHYSICAL_TABLE_PATH, new TableBucket(DATA1_TABLE_ID, 1));
+        // no kv tablet to restore for log table
+        assertThat(logReplica.estimateLeaderInitCost()).isEqualTo(0L);
+
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        TestSnapshotContext testKvSnapshotContext =
+                new TestSnapshotContext(snapshotKvTabletDirPath.toString());
+        Replica kvReplica =
+                makeKvReplica(DATA1_PHYSICAL_TABLE_PATH_PK, tableBucket, testKvSnapshotContext);
+        makeKvReplicaAsLeader(kvReplica);
+        putRecordsToLeader(
+                kvReplica,
+                DataTestUtils.genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+
+        // no kv snapshot, the whole log needs to be applied
+        long logSize = kvReplica.getLogTablet().logSize();
+        assertThat(logSize).isGreaterThan(0L);
+        assertThat(kvReplica.estimateLeaderInitCost()).isEqualTo(logSize);
+
+        // trigger one snapshot after rolling the log, only the log after it needs to be applied
+        kvReplica.getLogTablet().roll(Optional.empty());
+        testKvSnapshotContext.scheduledExecutorService.triggerNonPeriodicScheduledTask();
+        CompletedSnapshot completedSnapshot =
+                testKvSnapshotContext.testKvSnapshotStore.waitUntilSnapshotComplete(
+                        tableBucket, 0);
+        assertThat(kvReplica.getLogTablet().getMinRetainOffset())
+                .isEqualTo(completedSnapshot.getLogOffset());
+        assertThat(kvReplica.estimateLeaderInitCost()).isEqualTo(0L);
+        putRecordsToLeader(kvReplica, DataTestUtils.genKvRecordBatch(new Object[] {3, "c"}));
+        assertThat(kvReplica.estimateLeaderInitCost())
+                .isEqualTo(kvReplica.getLogTablet().logSize() - logSize);
+    }
+
+    @Test
+    void testRestoreInBulkMode(@TempDir Path snapshotKvTabletDirPath) throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        TestSnapshotContext testKvSnapshotContext =
+                new TestSnapshotContext(snapshotKvTabletDirPath.toString());
+        ExecutorService bulkLoadThreadPool = Executors.newFixedThreadPool(2);
+        testKvSnapshotContext.kvRecoverBulkLoadThreadPool = bulkLoadThreadPool;
+        try {
+            Replica kvReplica =
+                    makeKvReplica(DATA1_PHYSICAL_TABLE_PATH_PK, tableBucket, testKvSnapshotContext);
+            makeKvReplicaAsLeader(kvReplica);
+            putRecordsToLeader(
+                    kvReplica,
+                    DataTestUtils.genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+            putRecordsToLeader(
+                    kvReplica,
+                    DataTestUtils.genKvRecordBatch(new Object[] {2, "bb"}, new Object[] {3, "c"}));
+            putRecordsToLeader(
+                    kvReplica,
+                    DataTestUtils.genKvRecordBatch(
+                            Arrays.asList(
+                                    Tuple2.of(new Object[] {1}, null),
+                                    Tuple2.of(new Object[] {4}, new Object[] {4, "d"}))));
+            makeKvReplicaAsFollower(kvReplica, 1);
+
+            // make a kv replica again, should restore from log by ingesting sst files
+            makeKvReplicaAsLeader(kvReplica, 2);
+            KvTablet kvTablet = kvReplica.getKvTablet();
+            assertThat(kvTablet).isNotNull();
+            verifyGetKeyValues(
+                    kvTablet,
+                    getKeyValuePairs(
+                            genKvRecords(
+                                    new Object[] {2, "bb"},
+                                    new Object[] {3, "c"},
+                                    new Object[] {4, "d"})));
+            assertThat(kvTablet.getKvTabletDir().toPath().resolve("bulk-load")).doesNotExist();
+        } finally {
+            bulkLoadThreadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPromoteStandbyKv(@TempDir Path snapshotKvTabletDirPath) throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        Replica kvReplica =
+                makeKvReplica(
+                        DATA1_PHYSICAL_TABLE_PATH_PK,
+                        tableBucket,
+                        new TestSnapshotContext(snapshotKvTabletDirPath.toString()),
+                        standbyKvTableInfo());
+
+        // the follower keeps a standby kv tablet, which is built asynchronously
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        KvTablet standbyKvTablet = waitStandbyKvTablet(kvReplica);
+
+        // the standby kv tablet is kept when the leader changes
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 2);
+        assertThat(kvReplica.getKvTablet()).isSameAs(standbyKvTablet);
+
+        // replicate two batches from leader
+        kvReplica.appendRecordsToFollower(
+                logRecords(
+                        0L,
+                        Arrays.asList(ChangeType.INSERT, ChangeType.INSERT),
+                        Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"})));
+        kvReplica.appendRecordsToFollower(
+                logRecords(
+                        2L,
+                        Arrays.asList(ChangeType.UPDATE_BEFORE, ChangeType.UPDATE_AFTER),
+                        Arrays.asList(new Object[] {1, "a"}, new Object[] {1, "aa"})));
+
+        // only the committed batches are applied
+        kvReplica.applyToStandbyKv(3L);
+        assertThat(standbyKvTablet.getFlushedLogOffset()).isEqualTo(2L);
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(genKvRecords(new Object[] {1, "a"}, new Object[] {2, "b"})));
+
+        // promote the standby kv tablet, the log not applied is recovered
+        makeKvReplicaAsLeader(kvReplica, 3);
+        assertThat(kvReplica.getKvTablet()).isSameAs(standbyKvTablet);
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(genKvRecords(new Object[] {1, "aa"}, new Object[] {2, "b"})));
+    }
+
+    @Test
+    void testDropStandbyKvWhenTruncateFully(@TempDir Path snapshotKvTabletDirPath)
+            throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        Replica kvReplica =
+                makeKvReplica(
+                        DATA1_PHYSICAL_TABLE_PATH_PK,
+                        tableBucket,
+                        new TestSnapshotContext(snapshotKvTabletDirPath.toString()),
+                        standbyKvTableInfo());
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        waitStandbyKvTablet(kvReplica);
+
+        // there will be a gap between the applied log and the new log
+        kvReplica.truncateFullyAndStartAt(10L);
+        assertThat(kvReplica.getKvTablet()).isNull();
+
+        // the kv tablet is restored when becoming leader
+        makeKvReplicaAsLeader(kvReplica, 2);
+        assertThat(kvReplica.getKvTablet()).isNotNull();
+    }
+
+    @Test
+    void testApplyToStandbyKvIncrementally(@TempDir Path snapshotKvTabletDirPath)
+            throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        Replica kvReplica =
+                makeKvReplica(
+                        DATA1_PHYSICAL_TABLE_PATH_PK,
+                        tableBucket,
+                        new TestSnapshotContext(snapshotKvTabletDirPath.toString()),
+                        standbyKvTableInfo());
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        KvTablet standbyKvTablet = waitStandbyKvTablet(kvReplica);
+
+        // replicate more log than the max fetch log size in recovering kv
+        char[] chars = new char[256];
+        Arrays.fill(chars, 'a');
+        String value = new String(chars);
+        int batchCount = 10;
+        for (int i = 0; i < batchCount; i++) {
+            kvReplica.appendRecordsToFollower(
+                    logRecords(
+                            i,
+                            Collections.singletonList(ChangeType.INSERT),
+                            Collections.singletonList(new Object[] {i, value})));
+        }
+
+        // the log is applied incrementally
+        kvReplica.applyToStandbyKv(batchCount);
+        long flushedLogOffset = standbyKvTablet.getFlushedLogOffset();
+        assertThat(flushedLogOffset).isGreaterThan(0L).isLessThan(batchCount);
+        while (standbyKvTablet.getFlushedLogOffset() < batchCount) {
+            kvReplica.applyToStandbyKv(batchCount);
+            assertThat(standbyKvTablet.getFlushedLogOffset()).isGreaterThan(flushedLogOffset);
+            flushedLogOffset = standbyKvTablet.getFlushedLogOffset();
+        }
+        assertThat(flushedLogOffset).isEqualTo(batchCount);
+    }
+
+    private static KvTablet waitStandbyKvTablet(Replica replica) {
+        return waitValue(
+                () -> Optional.ofNullable(replica.getKvTablet()),
+                Duration.ofMinutes(1),
+                "Fail to wait for the standby kv tablet to be built.");
+    }
+
+    private static TableInfo standbyKvTableInfo() {
+        return TableInfo.of(
+                DATA1_TABLE_PATH_PK,
+                DATA1_TABLE_ID_PK,
+                1,
+                DATA1_TABLE_DESCRIPTOR_PK.withProperties(
+                        Collections.singletonMap(
+                                ConfigOptions.TABLE_KV_STANDBY_ENABLED.key(), "true")),
+                System.currentTimeMillis(),
+                System.currentTimeMillis());
+    }
+
     private void makeLogReplicaAsLeader(Replica replica) throws Exception {
         makeLeaderReplica(
                 replica,
@@ -655,13 +904,17 @@ final class ReplicaTest extends ReplicaTestBase {
     }
 
     private void makeKvReplicaAsFollower(Replica replica, int leaderEpoch) {
+        makeKvReplicaAsFollower(replica, TABLET_SERVER_ID, leaderEpoch);
+    }
+
+    private void makeKvReplicaAsFollower(Replica replica, int leader, int leaderEpoch) {
         replica.makeFollower(
                 new NotifyLeaderAndIsrData(
                         PhysicalTablePath.of(DATA1_TABLE_PATH_PK),
                         new TableBucket(DATA1_TABLE_ID_PK, 1),
                         Collections.singletonList(TABLET_SERVER_ID),
                         new LeaderAndIsr(
-                                TABLET_SERVER_ID,
+                                leader,
                                 leaderEpoch,
                                 Collections.singletonList(TABLET_SERVER_ID),
                                 INITIAL_COORDINATOR_EPOCH,
@@ -703,6 +956,25 @@ final class ReplicaTest extends ReplicaTestBase {
         return logReadInfo.getFetchedData().getRecords();
     }
 
+    private static LogReadInfo fetchRecordsWithClientRack(Replica replica, long offset)
+            throws IOException {
+        FetchParams fetchParams =
+                new FetchParams(
+                        -1,
+                        "rack1",
+                        Integer.MAX_VALUE,
+                        FetchParams.DEFAULT_MIN_FETCH_BYTES,
+                        FetchParams.DEFAULT_MAX_WAIT_MS);
+        fetchParams.setCurrentFetch(
+                replica.getTableBucket().getTableId(),
+                offset,
+                Integer.MAX_VALUE,
+                replica.getRowType(),
+                DEFAULT_COMPRESSION,
+                null);
+        return replica.fetchRecords(fetchParams);
+    }
+
     private static MemoryLogRecords logRecords(
             long baseOffset, List<ChangeType> changeTypes, List<Object[]> values) throws Exception {
         return createBasicMemoryLogRecords(
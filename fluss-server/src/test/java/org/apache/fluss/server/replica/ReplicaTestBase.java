@@ -27,6 +27,7 @@ import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.rpc.RpcClient;
@@ -36,6 +37,7 @@ import org.apache.fluss.server.coordinator.LakeCatalogDynamicLoader;
 import org.apache.fluss.server.coordinator.MetadataManager;
 import org.apache.fluss.server.coordinator.TestCoordinatorGateway;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
+import org.apache.fluss.server.entity.NotifyLeaderAndIsrResultForBucket;
 import org.apache.fluss.server.kv.KvManager;
 import org.apache.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshot;
@@ -84,6 +86,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -417,7 +420,11 @@ public class ReplicaTestBase {
     }
 
     protected void makeLeaderAndFollower(List<NotifyLeaderAndIsrData> notifyLeaderAndIsrDataList) {
-        replicaManager.becomeLeaderOrFollower(0, notifyLeaderAndIsrDataList, result -> {});
+        CompletableFuture<List<NotifyLeaderAndIsrResultForBucket>> future =
+                new CompletableFuture<>();
+        replicaManager.becomeLeaderOrFollower(0, notifyLeaderAndIsrDataList, future::complete);
+        // wait for the replicas becoming leader to be initialized
+        future.join();
     }
 
     protected Replica makeLogReplica(PhysicalTablePath physicalTablePath, TableBucket tableBucket)
@@ -433,6 +440,15 @@ public class ReplicaTestBase {
         return makeReplica(physicalTablePath, tableBucket, true, snapshotContext);
     }
 
+    protected Replica makeKvReplica(
+            PhysicalTablePath physicalTablePath,
+            TableBucket tableBucket,
+            SnapshotContext snapshotContext,
+            TableInfo tableInfo)
+            throws Exception {
+        return makeReplica(physicalTablePath, tableBucket, true, snapshotContext, tableInfo);
+    }
+
     protected Replica makeKvReplica(PhysicalTablePath physicalTablePath, TableBucket tableBucket)
             throws Exception {
         return makeReplica(physicalTablePath, tableBucket, true, null);
@@ -444,6 +460,17 @@ public class ReplicaTestBase {
             boolean isPkTable,
             @Nullable SnapshotContext snapshotContext)
             throws Exception {
+        return makeReplica(
+                physicalTablePath, tableBucket, isPkTable, snapshotContext, DATA1_TABLE_INFO);
+    }
+
+    private Replica makeReplica(
+            PhysicalTablePath physicalTablePath,
+            TableBucket tableBucket,
+            boolean isPkTable,
+            @Nullable SnapshotContext snapshotContext,
+            TableInfo tableInfo)
+            throws Exception {
         if (snapshotContext == null) {
             snapshotContext =
                     new TestSnapshotContext(conf.getString(ConfigOptions.REMOTE_DATA_DIR));
@@ -472,7 +499,7 @@ public class ReplicaTestBase {
                 serverMetadataCache,
                 NOPErrorHandler.INSTANCE,
                 metricGroup,
-                DATA1_TABLE_INFO,
+                tableInfo,
                 manualClock);
     }
 
@@ -555,6 +582,8 @@ public class ReplicaTestBase {
         protected ManuallyTriggeredScheduledExecutorService scheduledExecutorService;
         protected final TestingCompletedKvSnapshotCommitter testKvSnapshotStore;
         private final ExecutorService executorService;
+        // null if recovering kv in bulk mode is disabled
+        protected @Nullable ExecutorService kvRecoverBulkLoadThreadPool;
 
         public TestSnapshotContext(
                 String remoteKvTabletDir, TestingCompletedKvSnapshotCommitter testKvSnapshotStore)
@@ -651,6 +680,17 @@ public class ReplicaTestBase {
             return 1024;
         }
 
+        @Nullable
+        @Override
+        public ExecutorService getKvRecoverBulkLoadThreadPool() {
+            return kvRecoverBulkLoadThreadPool;
+        }
+
+        @Override
+        public long getKvRecoverBulkLoadBufferSize() {
+            return 1024;
+        }
+
         private void unchecked(ThrowingRunnable<?> throwingRunnable) {
             ThrowingRunnable.unchecked(throwingRunnable).run();
         }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.fetcher;
+
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link ReplicaCatchUpThrottle}. */
+class ReplicaCatchUpThrottleTest {
+
+    @Test
+    void testRecord() {
+        ManualClock clock = new ManualClock(0L);
+        ReplicaCatchUpThrottle throttle = new ReplicaCatchUpThrottle(1000L, clock);
+        assertThat(throttle.isUnlimited()).isFalse();
+
+        // within the quota
+        assertThat(throttle.record(600L)).isEqualTo(0L);
+        clock.advanceTime(Duration.ofMillis(200L));
+        assertThat(throttle.record(400L)).isEqualTo(0L);
+
+        // 1500 bytes take 1500ms at the quota rate, and 200ms have elapsed in the window
+        assertThat(throttle.record(500L)).isEqualTo(1300L);
+
+        // a new window starts after one second
+        clock.advanceTime(Duration.ofSeconds(1L));
+        assertThat(throttle.record(1000L)).isEqualTo(0L);
+    }
+
+    @Test
+    void testUnlimited() {
+        ReplicaCatchUpThrottle throttle =
+                new ReplicaCatchUpThrottle(Long.MAX_VALUE, new ManualClock());
+        assertThat(throttle.isUnlimited()).isTrue();
+        assertThat(throttle.record(Integer.MAX_VALUE)).isEqualTo(0L);
+
+        assertThatThrownBy(() -> new ReplicaCatchUpThrottle(0L, new ManualClock()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be positive");
+    }
+}
@@ -31,10 +31,12 @@ import org.apache.fluss.record.DefaultValueRecordBatch;
 import org.apache.fluss.row.encode.CompactedKeyEncoder;
 import org.apache.fluss.row.encode.ValueEncoder;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
 import org.apache.fluss.rpc.messages.ListOffsetsResponse;
+import org.apache.fluss.rpc.messages.LookupResponse;
 import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
 import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrResponse;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
@@ -441,6 +443,73 @@ public class TabletServiceITCase {
                         + "but the table test_db_1.test_indexed_table_1 is INDEXED format.");
     }
 
+    @Test
+    void testFetchLogWithSession() throws Exception {
+        long tableId =
+                createTable(
+                        FLUSS_CLUSTER_EXTENSION,
+                        TablePath.of("test_db_1", "test_fetch_session_table"),
+                        DATA1_TABLE_DESCRIPTOR);
+        TableBucket tb = new TableBucket(tableId, 0);
+
+        FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb);
+        int leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb);
+        TabletServerGateway leaderGateWay =
+                FLUSS_CLUSTER_EXTENSION.newTabletServerClientForNode(leader);
+        assertProduceLogResponse(
+                leaderGateWay
+                        .produceLog(
+                                newProduceLogRequest(
+                                        tableId, 0, 1, genMemoryLogRecordsByObject(DATA1)))
+                        .get(),
+                0,
+                0L);
+
+        // the full fetch request creates a new session.
+        FetchLogResponse response =
+                leaderGateWay
+                        .fetchLog(
+                                newFetchLogRequest(-1, tableId, 0, 0L)
+                                        .setSessionId(0)
+                                        .setSessionEpoch(0))
+                        .get();
+        assertFetchLogResponse(response, tableId, 0, 10L, DATA1);
+        assertThat(response.hasSessionId()).isTrue();
+        int sessionId = response.getSessionId();
+        assertThat(sessionId).isNotEqualTo(0);
+
+        // the updated bucket is always returned.
+        response =
+                leaderGateWay
+                        .fetchLog(
+                                newFetchLogRequest(-1, tableId, 0, 10L)
+                                        .setSessionId(sessionId)
+                                        .setSessionEpoch(1))
+                        .get();
+        assertThat(response.getSessionId()).isEqualTo(sessionId);
+        assertThat(response.getTablesRespsCount()).isEqualTo(1);
+        assertThat(response.getTablesRespAt(0).getBucketsRespAt(0).getHighWatermark())
+                .isEqualTo(10L);
+        assertThat(response.getTablesRespAt(0).getBucketsRespAt(0).getRecordsSize()).isEqualTo(0);
+
+        // the unchanged bucket without new records is not returned.
+        FetchLogRequest incrementalRequest =
+                new FetchLogRequest()
+                        .setFollowerServerId(-1)
+                        .setMaxBytes(Integer.MAX_VALUE)
+                        .setSessionId(sessionId)
+                        .setSessionEpoch(2);
+        response = leaderGateWay.fetchLog(incrementalRequest).get();
+        assertThat(response.hasErrorCode()).isFalse();
+        assertThat(response.getTablesRespsCount()).isEqualTo(0);
+
+        // the epoch is already used.
+        response = leaderGateWay.fetchLog(incrementalRequest).get();
+        assertThat(response.getErrorCode())
+                .isEqualTo(Errors.INVALID_FETCH_SESSION_EPOCH_EXCEPTION.code());
+        assertThat(response.getTablesRespsCount()).isEqualTo(0);
+    }
+
     @Test
     void testPutKv() throws Exception {
         long tableId =
@@ -513,6 +582,21 @@ public class TabletServiceITCase {
         assertLookupResponse(
                 leaderGateWay.lookup(newLookupRequest(tableId, 0, key1Bytes)).get(), value1Bytes);
 
+        // lookup with projection, the server acknowledges the projection in the response.
+        LookupResponse projectedResponse =
+                leaderGateWay
+                        .lookup(
+                                newLookupRequest(tableId, 0, key1Bytes)
+                                        .setProjectedFields(new int[] {1}))
+                        .get();
+        assertThat(projectedResponse.getProjectedFields()).containsExactly(1);
+        assertLookupResponse(
+                projectedResponse,
+                ValueEncoder.encodeValue(
+                        DEFAULT_SCHEMA_ID,
+                        compactedRow(
+                                DATA1_ROW_TYPE.project(new int[] {1}), new Object[] {value1[1]})));
+
         // key = 3 is deleted, need return null.
         Object[] key3 = DATA_1_WITH_KEY_AND_VALUE.get(2).f0;
         byte[] key3Bytes = keyEncoder.encodeKey(row(key3));
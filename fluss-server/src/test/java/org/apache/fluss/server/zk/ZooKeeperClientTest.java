@@ -21,6 +21,7 @@ import org.apache.fluss.cluster.Endpoint;
 import org.apache.fluss.cluster.TabletServerInfo;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.SchemaInfo;
 import org.apache.fluss.metadata.TableBucket;
@@ -33,6 +34,7 @@ import org.apache.fluss.server.zk.data.BucketSnapshot;
 import org.apache.fluss.server.zk.data.CoordinatorAddress;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 import org.apache.fluss.server.zk.data.PartitionAssignment;
+import org.apache.fluss.server.zk.data.RemoteLogManifestHandle;
 import org.apache.fluss.server.zk.data.TableAssignment;
 import org.apache.fluss.server.zk.data.TableRegistration;
 import org.apache.fluss.server.zk.data.TabletServerRegistration;
@@ -300,6 +302,40 @@ class ZooKeeperClientTest {
         }
     }
 
+    @Test
+    void testBatchUpdateRemoteLogManifestHandles() throws Exception {
+        Map<TableBucket, RemoteLogManifestHandle> handles = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            TableBucket tableBucket = new TableBucket(1, i);
+            RemoteLogManifestHandle handle =
+                    new RemoteLogManifestHandle(new FsPath("/remote/" + i + "/0.manifest"), 0);
+            zookeeperClient.upsertRemoteLogManifestHandle(tableBucket, handle);
+            handles.put(
+                    tableBucket,
+                    new RemoteLogManifestHandle(new FsPath("/remote/" + i + "/1.manifest"), 10));
+        }
+
+        zookeeperClient.batchUpdateRemoteLogManifestHandles(handles);
+        for (Map.Entry<TableBucket, RemoteLogManifestHandle> entry : handles.entrySet()) {
+            assertThat(zookeeperClient.getRemoteLogManifestHandle(entry.getKey()))
+                    .hasValue(entry.getValue());
+        }
+
+        // the batch fails as a whole if any remote log manifest doesn't exist yet
+        Map<TableBucket, RemoteLogManifestHandle> newHandles = new HashMap<>();
+        newHandles.put(
+                new TableBucket(1, 0),
+                new RemoteLogManifestHandle(new FsPath("/remote/0/2.manifest"), 20));
+        newHandles.put(
+                new TableBucket(1, 100),
+                new RemoteLogManifestHandle(new FsPath("/remote/100/0.manifest"), 0));
+        assertThatThrownBy(() -> zookeeperClient.batchUpdateRemoteLogManifestHandles(newHandles))
+                .isInstanceOf(Exception.class);
+        assertThat(zookeeperClient.getRemoteLogManifestHandle(new TableBucket(1, 0)))
+                .hasValue(handles.get(new TableBucket(1, 0)));
+        assertThat(zookeeperClient.getRemoteLogManifestHandle(new TableBucket(1, 100))).isEmpty();
+    }
+
     @Test
     void testTable() throws Exception {
         TablePath tablePath1 = TablePath.of("db", "tb1");
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.zk.data;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.utils.json.JsonSerdeTestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Test for {@link ReplicaReassignmentJsonSerde}. */
+class ReplicaReassignmentJsonSerdeTest extends JsonSerdeTestBase<ReplicaReassignment> {
+
+    ReplicaReassignmentJsonSerdeTest() {
+        super(ReplicaReassignmentJsonSerde.INSTANCE);
+    }
+
+    @Override
+    protected ReplicaReassignment[] createObjects() {
+        Map<TableBucket, List<Integer>> targetReplicas = new LinkedHashMap<>();
+        targetReplicas.put(new TableBucket(1, 0), Arrays.asList(1, 2, 3));
+        targetReplicas.put(new TableBucket(2, 10L, 1), Arrays.asList(3, 1));
+        return new ReplicaReassignment[] {
+            new ReplicaReassignment(targetReplicas), new ReplicaReassignment(Collections.emptyMap())
+        };
+    }
+
+    @Override
+    protected String[] expectedJsons() {
+        return new String[] {
+            "{\"version\":1,\"reassignments\":["
+                    + "{\"table_id\":1,\"bucket_id\":0,\"replicas\":[1,2,3]},"
+                    + "{\"table_id\":2,\"partition_id\":10,\"bucket_id\":1,\"replicas\":[3,1]}]}",
+            "{\"version\":1,\"reassignments\":[]}"
+        };
+    }
+}